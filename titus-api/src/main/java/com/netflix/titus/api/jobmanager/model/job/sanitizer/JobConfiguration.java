@@ -132,4 +132,10 @@ public interface JobConfiguration {
      */
     @DefaultValue("" + MAX_ENVIRONMENT_VARIABLES_SIZE_KB)
     int getMaxTotalEnvironmentVariableSizeKB();
+
+    /**
+     * Set to true to run the job sanitizers in the compiled mode (see {@link com.netflix.titus.common.model.sanitizer.EntitySanitizerBuilder#enableCompiledMode()}).
+     */
+    @DefaultValue("false")
+    boolean isCompiledSanitizerEnabled();
 }
@@ -42,6 +42,7 @@ public class JobSanitizerBuilder {
     private JobConfiguration jobConfiguration;
     private VerifierMode verifierMode = VerifierMode.Strict;
     private JobAssertions jobAssertions;
+    private boolean compiledMode;
 
     public JobSanitizerBuilder withVerifierMode(VerifierMode verifierMode) {
         this.verifierMode = verifierMode;
@@ -58,6 +59,11 @@ public class JobSanitizerBuilder {
         return this;
     }
 
+    public JobSanitizerBuilder withCompiledMode(boolean compiledMode) {
+        this.compiledMode = compiledMode;
+        return this;
+    }
+
     public EntitySanitizer build() {
         Preconditions.checkNotNull(jobConfiguration, "JobConfiguration not set");
         Preconditions.checkNotNull(jobAssertions, "Job assertions not set");
@@ -82,6 +88,9 @@ public class JobSanitizerBuilder {
                 })
                 .registerBean("constraints", jobConfiguration)
                 .registerBean("asserts", jobAssertions);
+        if (compiledMode) {
+            sanitizerBuilder.enableCompiledMode();
+        }
 
         return sanitizerBuilder.build();
     }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.titus.api.jobmanager.service;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.netflix.titus.common.util.tuple.Pair;
+
+/**
+ * Result of a cursor based query. The items are in the pagination cursor order, and follow the cursor position.
+ * <p>
+ * The number of matching items before the cursor position, and in total, requires evaluating the query for all items,
+ * so it is computed only when first requested.
+ */
+public class CursorQueryResult<T> {
+
+    private final List<T> items;
+    private final boolean hasMore;
+    private final Supplier<Pair<Integer, Integer>> offsetAndTotalSupplier;
+
+    private volatile Pair<Integer, Integer> offsetAndTotal;
+
+    /**
+     * @param hasMore                true if there are more matching items after the last item in the result
+     * @param offsetAndTotalSupplier computes the number of matching items ordered before or at the cursor position
+     *                               (left), and the total number of matching items (right)
+     */
+    public CursorQueryResult(List<T> items, boolean hasMore, Supplier<Pair<Integer, Integer>> offsetAndTotalSupplier) {
+        this.items = items;
+        this.hasMore = hasMore;
+        this.offsetAndTotalSupplier = offsetAndTotalSupplier;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    public int getOffset() {
+        return getOffsetAndTotal().getLeft();
+    }
+
+    public int getTotalItems() {
+        return getOffsetAndTotal().getRight();
+    }
+
+    private Pair<Integer, Integer> getOffsetAndTotal() {
+        // Concurrent callers may compute the counts more than once, which is harmless.
+        Pair<Integer, Integer> current = offsetAndTotal;
+        if (current == null) {
+            current = offsetAndTotalSupplier.get();
+            this.offsetAndTotal = current;
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return "CursorQueryResult{" +
+                "items=" + items.size() +
+                ", hasMore=" + hasMore +
+                '}';
+    }
+}
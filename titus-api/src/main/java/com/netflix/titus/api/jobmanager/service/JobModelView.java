@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.titus.api.jobmanager.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.common.util.tuple.Pair;
+
+/**
+ * Immutable, point in time view of the active jobs and their tasks. Unlike {@link ReadOnlyJobOperations#getJobsAndTasks()}
+ * and the other bulk read methods, a view does not have to copy the job data. Its collections are lazy, read-only
+ * wrappers, and the id lookup indexes are built on first use. Views with the same version have the same content.
+ */
+public interface JobModelView {
+
+    long getVersion();
+
+    int getJobCount();
+
+    /**
+     * Jobs in the same order as {@link ReadOnlyJobOperations#getJobs()}.
+     */
+    List<Job<?>> getJobs();
+
+    Optional<Job<?>> findJob(String jobId);
+
+    /**
+     * Iterates over tasks of all jobs, without materializing the task collection.
+     */
+    Iterable<Task> getTasks();
+
+    /**
+     * Returns tasks of the given job, or an empty list if the job is not found.
+     */
+    List<Task> getTasks(String jobId);
+
+    Optional<Pair<Job<?>, Task>> findTaskById(String taskId);
+
+    List<Pair<Job<?>, List<Task>>> getJobsAndTasks();
+}
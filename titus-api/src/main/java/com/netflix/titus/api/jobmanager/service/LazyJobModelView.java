@@ -0,0 +1,149 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.titus.api.jobmanager.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.common.util.tuple.Pair;
+
+/**
+ * {@link JobModelView} backed by an immutable list of source items, each holding a job and its tasks. Jobs and tasks
+ * are extracted from the source items on access.
+ */
+public class LazyJobModelView<S> implements JobModelView {
+
+    private static final AtomicLong COPY_VERSIONS = new AtomicLong();
+
+    private final long version;
+    private final List<S> source;
+    private final Function<S, Job<?>> jobMapper;
+    private final Function<S, List<Task>> tasksMapper;
+
+    private final List<Job<?>> jobs;
+    private final List<Pair<Job<?>, List<Task>>> jobsAndTasks;
+
+    private volatile Map<String, S> jobIndex;
+    private volatile Map<String, Pair<Job<?>, Task>> taskIndex;
+
+    /**
+     * @param source must not be modified after the view is created
+     */
+    public LazyJobModelView(long version, List<S> source, Function<S, Job<?>> jobMapper, Function<S, List<Task>> tasksMapper) {
+        this.version = version;
+        this.source = source;
+        this.jobMapper = jobMapper;
+        this.tasksMapper = tasksMapper;
+        this.jobs = Collections.unmodifiableList(Lists.transform(source, jobMapper::apply));
+        this.jobsAndTasks = Collections.unmodifiableList(Lists.transform(source, item -> Pair.of(jobMapper.apply(item), tasksMapper.apply(item))));
+    }
+
+    public List<S> getSource() {
+        return source;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public int getJobCount() {
+        return source.size();
+    }
+
+    @Override
+    public List<Job<?>> getJobs() {
+        return jobs;
+    }
+
+    @Override
+    public Optional<Job<?>> findJob(String jobId) {
+        return Optional.ofNullable(getJobIndex().get(jobId)).map(jobMapper);
+    }
+
+    @Override
+    public Iterable<Task> getTasks() {
+        return Iterables.unmodifiableIterable(Iterables.concat(Iterables.transform(source, tasksMapper::apply)));
+    }
+
+    @Override
+    public List<Task> getTasks(String jobId) {
+        S item = getJobIndex().get(jobId);
+        return item == null ? Collections.emptyList() : Collections.unmodifiableList(tasksMapper.apply(item));
+    }
+
+    @Override
+    public Optional<Pair<Job<?>, Task>> findTaskById(String taskId) {
+        return Optional.ofNullable(getTaskIndex().get(taskId));
+    }
+
+    @Override
+    public List<Pair<Job<?>, List<Task>>> getJobsAndTasks() {
+        return jobsAndTasks;
+    }
+
+    private Map<String, S> getJobIndex() {
+        // Concurrent callers may build the index more than once, which is harmless as the source does not change.
+        Map<String, S> index = jobIndex;
+        if (index == null) {
+            index = new HashMap<>();
+            for (S item : source) {
+                index.put(jobMapper.apply(item).getId(), item);
+            }
+            this.jobIndex = index;
+        }
+        return index;
+    }
+
+    private Map<String, Pair<Job<?>, Task>> getTaskIndex() {
+        Map<String, Pair<Job<?>, Task>> index = taskIndex;
+        if (index == null) {
+            index = new HashMap<>();
+            for (S item : source) {
+                Job<?> job = jobMapper.apply(item);
+                for (Task task : tasksMapper.apply(item)) {
+                    index.put(task.getId(), Pair.of(job, task));
+                }
+            }
+            this.taskIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Creates a view from a copy of the job data. Each such view gets a new version number.
+     */
+    public static LazyJobModelView<Pair<Job, List<Task>>> copyOf(List<Pair<Job, List<Task>>> jobsAndTasks) {
+        return new LazyJobModelView<>(
+                COPY_VERSIONS.incrementAndGet(),
+                jobsAndTasks,
+                jobAndTasks -> (Job<?>) jobAndTasks.getLeft(),
+                Pair::getRight
+        );
+    }
+}
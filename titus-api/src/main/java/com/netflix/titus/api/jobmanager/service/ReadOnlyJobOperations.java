@@ -51,6 +51,14 @@ public interface ReadOnlyJobOperations {
 
     Optional<Pair<Job<?>, Task>> findTaskById(String taskId);
 
+    /**
+     * Returns an immutable view of the active jobs and tasks. Implementations should override the default, which
+     * copies all the data, with one that shares the internal model.
+     */
+    default JobModelView getJobModelView() {
+        return LazyJobModelView.copyOf(getJobsAndTasks());
+    }
+
     default Observable<JobManagerEvent<?>> observeJobs() {
         return observeJobs(alwaysTrue(), alwaysTrue(), false);
     }
@@ -16,18 +16,22 @@
 
 package com.netflix.titus.api.jobmanager.service;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import com.netflix.titus.api.jobmanager.model.job.CapacityAttributes;
+import com.netflix.titus.api.jobmanager.model.job.Job;
 import com.netflix.titus.api.jobmanager.model.job.JobDescriptor;
 import com.netflix.titus.api.jobmanager.model.job.ServiceJobProcesses;
 import com.netflix.titus.api.jobmanager.model.job.Task;
 import com.netflix.titus.api.jobmanager.model.job.disruptionbudget.DisruptionBudget;
 import com.netflix.titus.api.model.callmetadata.CallMetadata;
 import com.netflix.titus.common.util.rx.ReactorExt;
+import com.netflix.titus.common.util.tuple.Pair;
 import reactor.core.publisher.Mono;
 import rx.Completable;
 import rx.Observable;
@@ -47,6 +51,18 @@ public interface V3JobOperations extends ReadOnlyJobOperations {
         Kube,
     }
 
+    /**
+     * Cursor based variant of {@link #findJobs(Predicate, int, int)}. Jobs are ordered by the creation time (first),
+     * and the job id (second), and the result starts with the first matching job ordered after the given position.
+     */
+    CursorQueryResult<Job<?>> findJobsAfter(Predicate<Pair<Job<?>, List<Task>>> queryPredicate, long cursorTimestamp, String cursorId, int limit);
+
+    /**
+     * Cursor based variant of {@link #findTasks(Predicate, int, int)}. Tasks are ordered by the creation time (first),
+     * and the task id (second), and the result starts with the first matching task ordered after the given position.
+     */
+    CursorQueryResult<Pair<Job<?>, Task>> findTasksAfter(Predicate<Pair<Job<?>, Task>> queryPredicate, long cursorTimestamp, String cursorId, int limit);
+
     /**
      * @deprecated Use {@link #createJobReactor(JobDescriptor, CallMetadata)}.
      */
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.titus.api.jobmanager.model.job.sanitizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import com.google.common.collect.ImmutableMap;
+import com.netflix.archaius.ConfigProxyFactory;
+import com.netflix.archaius.DefaultDecoder;
+import com.netflix.archaius.DefaultPropertyFactory;
+import com.netflix.archaius.config.MapConfig;
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.JobDescriptor;
+import com.netflix.titus.api.jobmanager.model.job.ext.BatchJobExt;
+import com.netflix.titus.api.jobmanager.model.job.ext.ServiceJobExt;
+import com.netflix.titus.api.model.ResourceDimension;
+import com.netflix.titus.common.model.sanitizer.EntitySanitizer;
+import com.netflix.titus.common.model.sanitizer.VerifierMode;
+import com.netflix.titus.testkit.model.job.JobDescriptorGenerator;
+import com.netflix.titus.testkit.model.job.JobGenerator;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the compiled mode sanitizers produce the same results as the interpreted ones for the test kit models.
+ */
+public class CompiledJobSanitizerTest {
+
+    private static final ResourceDimension MAX_CONTAINER_SIZE = new ResourceDimension(64, 16, 256_000_000, 256_000_000, 10_000, 64);
+
+    private static final MapConfig CONFIG = MapConfig.from(ImmutableMap.of(
+            "titusMaster.job.configuration.defaultSecurityGroups", "sg-12345,sg-34567",
+            "titusMaster.job.configuration.defaultIamRole", "iam-12345",
+            "titusMaster.job.configuration.containerHealthProviders", "eureka,healthCheckPoller"
+    ));
+
+    /**
+     * SpEL compiles an expression in the mixed mode after 100 interpreted evaluations, so each entity set is
+     * processed enough times to cover both the interpreted and the compiled phase.
+     */
+    private static final int ROUNDS = 5;
+
+    private final JobConfiguration constraints = new ConfigProxyFactory(CONFIG, DefaultDecoder.INSTANCE, new DefaultPropertyFactory(CONFIG))
+            .newProxy(JobConfiguration.class);
+
+    @Test
+    public void testStrictSanitizerEquivalence() {
+        checkEquivalence(VerifierMode.Strict);
+    }
+
+    @Test
+    public void testPermissiveSanitizerEquivalence() {
+        checkEquivalence(VerifierMode.Permissive);
+    }
+
+    private void checkEquivalence(VerifierMode verifierMode) {
+        EntitySanitizer interpreted = newJobSanitizer(verifierMode, false);
+        EntitySanitizer compiled = newJobSanitizer(verifierMode, true);
+
+        List<Object> entities = newEntities();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Object entity : entities) {
+                assertThat(compiled.validate(entity)).describedAs("Validation of %s", entity).isEqualTo(interpreted.validate(entity));
+                assertThat(compiled.sanitize(entity)).describedAs("Sanitization of %s", entity).isEqualTo(interpreted.sanitize(entity));
+            }
+        }
+    }
+
+    private List<Object> newEntities() {
+        List<Function<JobDescriptor<?>, JobDescriptor<?>>> variants = Arrays.asList(
+                jd -> jd,
+                jd -> jd.toBuilder().withApplicationName("  " + jd.getApplicationName() + "  ").build(),
+                jd -> jd.toBuilder().withCapacityGroup(null).build(),
+                jd -> jd.toBuilder().withContainer(null).build(),
+                jd -> jd.toBuilder().withContainer(jd.getContainer().but(c -> c.getContainerResources().toBuilder().withNetworkMbps(10).build())).build(),
+                jd -> jd.toBuilder().withContainer(jd.getContainer().but(c -> c.getContainerResources().toBuilder().withCpu(100).build())).build()
+        );
+
+        List<Object> entities = new ArrayList<>();
+        for (JobDescriptor<BatchJobExt> descriptor : JobDescriptorGenerator.batchJobDescriptors().toList(10)) {
+            for (Function<JobDescriptor<?>, JobDescriptor<?>> variant : variants) {
+                JobDescriptor<BatchJobExt> variantDescriptor = (JobDescriptor<BatchJobExt>) variant.apply(descriptor);
+                Job<BatchJobExt> job = JobGenerator.batchJobs(variantDescriptor).getValue();
+                entities.add(variantDescriptor);
+                entities.add(job);
+                entities.add(JobGenerator.batchTasks(job).getValue());
+            }
+        }
+        for (JobDescriptor<ServiceJobExt> descriptor : JobDescriptorGenerator.serviceJobDescriptors().toList(10)) {
+            for (Function<JobDescriptor<?>, JobDescriptor<?>> variant : variants) {
+                JobDescriptor<ServiceJobExt> variantDescriptor = (JobDescriptor<ServiceJobExt>) variant.apply(descriptor);
+                Job<ServiceJobExt> job = JobGenerator.serviceJobs(variantDescriptor).getValue();
+                entities.add(variantDescriptor);
+                entities.add(job);
+                entities.add(JobGenerator.serviceTasks(job).getValue());
+            }
+        }
+        return entities;
+    }
+
+    private EntitySanitizer newJobSanitizer(VerifierMode verifierMode, boolean compiledMode) {
+        return new JobSanitizerBuilder()
+                .withVerifierMode(verifierMode)
+                .withJobConstraintConfiguration(constraints)
+                .withJobAsserts(new JobAssertions(constraints, capacityGroup -> MAX_CONTAINER_SIZE))
+                .withCompiledMode(compiledMode)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.titus.api.jobmanager.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.netflix.titus.api.jobmanager.model.job.BatchJobTask;
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.ext.BatchJobExt;
+import com.netflix.titus.common.util.tuple.Pair;
+import com.netflix.titus.testkit.model.job.JobGenerator;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LazyJobModelViewTest {
+
+    @Test
+    public void testLookups() {
+        Job<BatchJobExt> job1 = JobGenerator.oneBatchJob();
+        Job<BatchJobExt> job2 = JobGenerator.oneBatchJob();
+        List<BatchJobTask> job1Tasks = JobGenerator.batchTasks(job1).getValues(2);
+
+        List<Pair<Job, List<Task>>> jobsAndTasks = new ArrayList<>();
+        jobsAndTasks.add(Pair.of(job1, new ArrayList<>(job1Tasks)));
+        jobsAndTasks.add(Pair.of(job2, new ArrayList<>()));
+        JobModelView view = LazyJobModelView.copyOf(jobsAndTasks);
+
+        assertThat(view.getJobCount()).isEqualTo(2);
+        assertThat(view.getJobs()).containsExactly(job1, job2);
+        assertThat(view.findJob(job2.getId())).contains(job2);
+        assertThat(view.findJob("missing")).isEmpty();
+        assertThat(view.getTasks()).containsExactlyElementsOf(job1Tasks);
+        assertThat(view.getTasks(job1.getId())).containsExactlyElementsOf(job1Tasks);
+        assertThat(view.getTasks(job2.getId())).isEmpty();
+        assertThat(view.getTasks("missing")).isEmpty();
+
+        Task task = job1Tasks.get(1);
+        assertThat(view.findTaskById(task.getId())).contains(Pair.of(job1, task));
+        assertThat(view.findTaskById("missing")).isEmpty();
+    }
+
+    @Test
+    public void testCopiesHaveDifferentVersions() {
+        List<Pair<Job, List<Task>>> jobsAndTasks = new ArrayList<>();
+        assertThat(LazyJobModelView.copyOf(jobsAndTasks).getVersion()).isNotEqualTo(LazyJobModelView.copyOf(jobsAndTasks).getVersion());
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.netflix.titus.api.jobmanager.model.job.BatchJobTask;
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.ext.BatchJobExt;
+import com.netflix.titus.testkit.model.job.JobGenerator;
+
+/**
+ * Benchmark data sets built with the test kit job generators.
+ */
+public final class BenchmarkDatasets {
+
+    private BenchmarkDatasets() {
+    }
+
+    public static List<Job<BatchJobExt>> newBatchJobs(int jobCount, int tasksPerJob) {
+        return JobGenerator.batchJobsOfSize(tasksPerJob).getValues(jobCount);
+    }
+
+    public static List<BatchJobTask> newBatchTasks(Job<BatchJobExt> job) {
+        return JobGenerator.batchTasks(job).getValues(job.getJobDescriptor().getExtensions().getSize());
+    }
+
+    public static List<Task> newBatchTasks(List<Job<BatchJobExt>> jobs) {
+        List<Task> tasks = new ArrayList<>();
+        jobs.forEach(job -> tasks.addAll(newBatchTasks(job)));
+        return tasks;
+    }
+
+    public static Map<String, Map<String, Task>> groupByJobId(List<Task> tasks) {
+        Map<String, Map<String, Task>> tasksByJobId = new HashMap<>();
+        tasks.forEach(task -> tasksByJobId.computeIfAbsent(task.getJobId(), jobId -> new HashMap<>()).put(task.getId(), task));
+        return tasksByJobId;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.benchmark;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.TaskState;
+import com.netflix.titus.api.jobmanager.model.job.TaskStatus;
+import com.netflix.titus.api.jobmanager.model.job.ext.BatchJobExt;
+import com.netflix.titus.common.framework.reconciler.EntityHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link EntityHolder} child updates, as done by the reconciliation framework for each task change.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityHolderBenchmark {
+
+    @Param({"10", "1000"})
+    public int childCount;
+
+    private EntityHolder root;
+
+    private List<EntityHolder> updatedChildren;
+    private int nextChild;
+
+    @Setup
+    public void setUp() {
+        Job<BatchJobExt> job = BenchmarkDatasets.newBatchJobs(1, childCount).get(0);
+        List<Task> tasks = BenchmarkDatasets.newBatchTasks(job).stream().map(task -> (Task) task).collect(Collectors.toList());
+
+        EntityHolder holder = EntityHolder.newRoot(job.getId(), job);
+        for (Task task : tasks) {
+            holder = holder.addChild(EntityHolder.newRoot(task.getId(), task));
+        }
+        this.root = holder;
+        this.updatedChildren = tasks.stream()
+                .map(task -> EntityHolder.newRoot(task.getId(), task.toBuilder().withStatus(TaskStatus.newBuilder().withState(TaskState.Launched).build()).build()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public EntityHolder updateChild() {
+        root = root.addChild(nextUpdatedChild());
+        return root;
+    }
+
+    @Benchmark
+    public Optional<EntityHolder> findChildById() {
+        return root.findChildById(nextUpdatedChild().getId());
+    }
+
+    @Benchmark
+    public EntityHolder removeAndAddChild() {
+        EntityHolder child = nextUpdatedChild();
+        root = root.removeChild(child.getId()).getLeft().addChild(child);
+        return root;
+    }
+
+    private EntityHolder nextUpdatedChild() {
+        EntityHolder child = updatedChildren.get(nextChild);
+        nextChild = (nextChild + 1) % updatedChildren.size();
+        return child;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.benchmark;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.titus.api.jobmanager.model.job.JobDescriptor;
+import com.netflix.titus.api.jobmanager.model.job.ext.ServiceJobExt;
+import com.netflix.titus.api.jobmanager.model.job.sanitizer.JobAssertions;
+import com.netflix.titus.api.jobmanager.model.job.sanitizer.JobConfiguration;
+import com.netflix.titus.api.jobmanager.model.job.sanitizer.JobSanitizerBuilder;
+import com.netflix.titus.api.model.ResourceDimension;
+import com.netflix.titus.common.model.sanitizer.EntitySanitizer;
+import com.netflix.titus.common.model.sanitizer.ValidationError;
+import com.netflix.titus.common.model.sanitizer.VerifierMode;
+import com.netflix.titus.common.util.archaius2.Archaius2Ext;
+import com.netflix.titus.testkit.model.job.JobDescriptorGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Job descriptor validation and sanitization with the interpreted, and the compiled mode job sanitizer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntitySanitizerBenchmark {
+
+    private static final ResourceDimension MAX_CONTAINER_SIZE = new ResourceDimension(64, 16, 256_000_000, 256_000_000, 10_000, 64);
+
+    @Param({"false", "true"})
+    public boolean compiledMode;
+
+    private EntitySanitizer sanitizer;
+
+    private JobDescriptor<ServiceJobExt> jobDescriptor;
+
+    @Setup
+    public void setUp() {
+        JobConfiguration configuration = Archaius2Ext.newConfiguration(JobConfiguration.class,
+                "titusMaster.job.configuration.defaultSecurityGroups", "sg-12345,sg-34567",
+                "titusMaster.job.configuration.defaultIamRole", "iam-12345"
+        );
+        this.sanitizer = new JobSanitizerBuilder()
+                .withVerifierMode(VerifierMode.Strict)
+                .withJobConstraintConfiguration(configuration)
+                .withJobAsserts(new JobAssertions(configuration, capacityGroup -> MAX_CONTAINER_SIZE))
+                .withCompiledMode(compiledMode)
+                .build();
+        this.jobDescriptor = JobDescriptorGenerator.serviceJobDescriptors().getValue();
+    }
+
+    @Benchmark
+    public Set<ValidationError> validate() {
+        return sanitizer.validate(jobDescriptor);
+    }
+
+    @Benchmark
+    public Optional<JobDescriptor<ServiceJobExt>> sanitize() {
+        return sanitizer.sanitize(jobDescriptor);
+    }
+}
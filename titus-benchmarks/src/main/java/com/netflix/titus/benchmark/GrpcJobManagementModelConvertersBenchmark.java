@@ -0,0 +1,86 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.LogStorageInfo;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.ext.ServiceJobExt;
+import com.netflix.titus.runtime.endpoint.common.EmptyLogStorageInfo;
+import com.netflix.titus.runtime.endpoint.v3.grpc.GrpcJobManagementModelConverters;
+import com.netflix.titus.testkit.model.job.JobDescriptorGenerator;
+import com.netflix.titus.testkit.model.job.JobGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Core to GRPC, and GRPC to core model conversions of a fully populated service job and its task.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GrpcJobManagementModelConvertersBenchmark {
+
+    private final LogStorageInfo<Task> logStorageInfo = EmptyLogStorageInfo.empty();
+
+    private Job<ServiceJobExt> coreJob;
+    private Task coreTask;
+
+    private com.netflix.titus.grpc.protogen.Job grpcJob;
+    private com.netflix.titus.grpc.protogen.Task grpcTask;
+
+    @Setup
+    public void setUp() {
+        this.coreJob = JobGenerator.serviceJobs(JobDescriptorGenerator.serviceJobDescriptors().getValue()).getValue();
+        this.coreTask = JobGenerator.serviceTasks(coreJob).getValue();
+        this.grpcJob = GrpcJobManagementModelConverters.toGrpcJob(coreJob);
+        this.grpcTask = GrpcJobManagementModelConverters.toGrpcTask(coreTask, logStorageInfo);
+    }
+
+    @Benchmark
+    public com.netflix.titus.grpc.protogen.Job toGrpcJob() {
+        return GrpcJobManagementModelConverters.toGrpcJob(coreJob);
+    }
+
+    @Benchmark
+    public com.netflix.titus.grpc.protogen.Task toGrpcTask() {
+        return GrpcJobManagementModelConverters.toGrpcTask(coreTask, logStorageInfo);
+    }
+
+    @Benchmark
+    public Job toCoreJob() {
+        return GrpcJobManagementModelConverters.toCoreJob(grpcJob);
+    }
+
+    @Benchmark
+    public Task toCoreTask() {
+        return GrpcJobManagementModelConverters.toCoreTask(coreJob, grpcTask);
+    }
+}
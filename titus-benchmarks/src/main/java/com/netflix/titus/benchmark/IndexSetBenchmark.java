@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.JobState;
+import com.netflix.titus.api.jobmanager.model.job.JobStatus;
+import com.netflix.titus.api.jobmanager.model.job.ext.BatchJobExt;
+import com.netflix.titus.common.framework.reconciler.EntityHolder;
+import com.netflix.titus.common.framework.reconciler.internal.IndexSet;
+import com.netflix.titus.master.jobmanager.service.JobReconciliationFrameworkFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reconciliation framework {@link IndexSet} updates with the job manager index comparators, as done after each
+ * reconciliation loop iteration with a model change. Each update replaces one job holder with a newer status, and
+ * keeps the holders in the framework engine order (the order the jobs were added in).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndexSetBenchmark {
+
+    @Param({"1000", "10000", "30000"})
+    public int holderCount;
+
+    private IndexSet<EntityHolder> indexSet;
+
+    private List<EntityHolder> holders;
+    private long nextTimestamp;
+    private int nextHolder;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(123);
+        this.holders = new ArrayList<>();
+        for (Job<BatchJobExt> job : BenchmarkDatasets.newBatchJobs(holderCount, 1)) {
+            Job<BatchJobExt> acceptedJob = job.toBuilder()
+                    .withStatus(JobStatus.newBuilder().withState(JobState.Accepted).withTimestamp(random.nextInt(holderCount * 1_000)).build())
+                    .withStatusHistory(Collections.emptyList())
+                    .build();
+            holders.add(EntityHolder.newRoot(acceptedJob.getId(), acceptedJob));
+        }
+        this.nextTimestamp = holderCount * 1_000L;
+        this.indexSet = IndexSet.<EntityHolder>newIndexSet(JobReconciliationFrameworkFactory.INDEX_COMPARATORS).apply(holders);
+    }
+
+    @Benchmark
+    public IndexSet<EntityHolder> apply() {
+        indexSet = indexSet.apply(nextUpdatedHolders());
+        return indexSet;
+    }
+
+    @Benchmark
+    public List<EntityHolder> applyAndReadOneIndex() {
+        indexSet = indexSet.apply(nextUpdatedHolders());
+        return indexSet.getOrdered(JobReconciliationFrameworkFactory.INDEX_COMPARATORS.keySet().iterator().next());
+    }
+
+    @Benchmark
+    public IndexSet<EntityHolder> applyAndReadAllIndexes() {
+        indexSet = indexSet.apply(nextUpdatedHolders());
+        for (Object indexId : JobReconciliationFrameworkFactory.INDEX_COMPARATORS.keySet()) {
+            indexSet.getOrdered(indexId);
+        }
+        return indexSet;
+    }
+
+    private List<EntityHolder> nextUpdatedHolders() {
+        EntityHolder holder = holders.get(nextHolder);
+        Job<?> job = holder.getEntity();
+        Job<?> updatedJob = job.toBuilder()
+                .withStatus(JobStatus.newBuilder().withState(JobState.Accepted).withTimestamp(nextTimestamp++).build())
+                .withStatusHistory(job.getStatusHistory().isEmpty() ? Collections.singletonList(job.getStatus()) : job.getStatusHistory())
+                .build();
+        holders.set(nextHolder, holder.setEntity(updatedJob));
+        nextHolder = (nextHolder + 1) % holders.size();
+        return holders;
+    }
+}
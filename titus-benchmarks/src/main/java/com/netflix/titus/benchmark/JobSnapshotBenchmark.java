@@ -0,0 +1,134 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.benchmark;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.JobStatus;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.TaskState;
+import com.netflix.titus.api.jobmanager.model.job.TaskStatus;
+import com.netflix.titus.api.jobmanager.model.job.ext.BatchJobExt;
+import com.netflix.titus.common.runtime.TitusRuntimes;
+import com.netflix.titus.common.util.tuple.Pair;
+import com.netflix.titus.runtime.connector.jobmanager.snapshot.JobSnapshot;
+import com.netflix.titus.runtime.connector.jobmanager.snapshot.PCollectionJobSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link PCollectionJobSnapshot} updates and queries. The updates are applied to the current snapshot, and the result
+ * replaces it, as it happens in the job replicator.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobSnapshotBenchmark {
+
+    @Param({"1000", "10000"})
+    public int jobCount;
+
+    @Param({"1", "10"})
+    public int tasksPerJob;
+
+    private JobSnapshot snapshot;
+
+    private List<Job<?>> updatedJobs;
+    private List<Task> updatedTasks;
+
+    private int nextJob;
+    private int nextTask;
+
+    @Setup
+    public void setUp() {
+        List<Job<BatchJobExt>> jobs = BenchmarkDatasets.newBatchJobs(jobCount, tasksPerJob);
+        List<Task> tasks = BenchmarkDatasets.newBatchTasks(jobs);
+
+        Map<String, Job<?>> jobsById = new HashMap<>();
+        jobs.forEach(job -> jobsById.put(job.getId(), job));
+        this.snapshot = PCollectionJobSnapshot.newInstance(
+                "benchmark", jobsById, BenchmarkDatasets.groupByJobId(tasks), false, false, message -> {
+                },
+                TitusRuntimes.internal()
+        );
+
+        this.updatedJobs = jobs.stream()
+                .<Job<?>>map(job -> job.toBuilder().withStatus(JobStatus.newBuilder(job.getStatus()).withReasonMessage("updated").build()).build())
+                .collect(Collectors.toList());
+        this.updatedTasks = tasks.stream()
+                .map(task -> task.toBuilder().withStatus(TaskStatus.newBuilder().withState(TaskState.Launched).build()).build())
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public JobSnapshot updateJob() {
+        Job<?> job = updatedJobs.get(nextJob);
+        nextJob = (nextJob + 1) % updatedJobs.size();
+        snapshot = snapshot.updateJob(job).orElse(snapshot);
+        return snapshot;
+    }
+
+    @Benchmark
+    public JobSnapshot updateTask() {
+        snapshot = snapshot.updateTask(nextUpdatedTask(), false).orElse(snapshot);
+        return snapshot;
+    }
+
+    @Benchmark
+    public Optional<Pair<Job<?>, Task>> findTaskById() {
+        return snapshot.findTaskById(nextUpdatedTask().getId());
+    }
+
+    @Benchmark
+    public List<Task> getTasks() {
+        return snapshot.getTasks();
+    }
+
+    /**
+     * A task update followed by a full task list query, which cannot reuse the task list computed for the previous
+     * snapshot.
+     */
+    @Benchmark
+    public List<Task> updateTaskAndGetTasks() {
+        snapshot = snapshot.updateTask(nextUpdatedTask(), false).orElse(snapshot);
+        return snapshot.getTasks();
+    }
+
+    private Task nextUpdatedTask() {
+        Task task = updatedTasks.get(nextTask);
+        nextTask = (nextTask + 1) % updatedTasks.size();
+        return task;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.ext.ServiceJobExt;
+import com.netflix.titus.api.json.ObjectMappers;
+import com.netflix.titus.testkit.model.job.JobDescriptorGenerator;
+import com.netflix.titus.testkit.model.job.JobGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JSON encoding and decoding of jobs and tasks with the {@link ObjectMappers#storeMapper()}, which is the codec used by
+ * {@link com.netflix.titus.ext.cassandra.store.CassandraJobStore} for each stored record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobStoreCodecBenchmark {
+
+    private final ObjectMapper mapper = ObjectMappers.storeMapper();
+
+    private Job<ServiceJobExt> job;
+    private Task task;
+
+    private String jobJson;
+    private String taskJson;
+
+    @Setup
+    public void setUp() {
+        this.job = JobGenerator.serviceJobs(JobDescriptorGenerator.serviceJobDescriptors().getValue()).getValue();
+        this.task = JobGenerator.serviceTasks(job).getValue();
+        this.jobJson = ObjectMappers.writeValueAsString(mapper, job);
+        this.taskJson = ObjectMappers.writeValueAsString(mapper, task);
+    }
+
+    @Benchmark
+    public String encodeJob() {
+        return ObjectMappers.writeValueAsString(mapper, job);
+    }
+
+    @Benchmark
+    public String encodeTask() {
+        return ObjectMappers.writeValueAsString(mapper, task);
+    }
+
+    @Benchmark
+    public Job decodeJob() {
+        return ObjectMappers.readValue(mapper, jobJson, Job.class);
+    }
+
+    @Benchmark
+    public Task decodeTask() {
+        return ObjectMappers.readValue(mapper, taskJson, Task.class);
+    }
+}
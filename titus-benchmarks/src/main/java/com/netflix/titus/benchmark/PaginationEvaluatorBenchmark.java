@@ -0,0 +1,88 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.model.Page;
+import com.netflix.titus.api.model.PageResult;
+import com.netflix.titus.api.model.PaginationEvaluator;
+import com.netflix.titus.runtime.jobmanager.JobManagerCursors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link PaginationEvaluator#takePage(Page, List)} with the task evaluator used by the job management API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaginationEvaluatorBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1000", "50000"})
+    public int taskCount;
+
+    private final PaginationEvaluator<Task> evaluator = JobManagerCursors.newCoreTaskPaginationEvaluator();
+
+    private List<Task> tasks;
+
+    private Page firstPage;
+    private Page pageWithCursor;
+    private Page pageByNumber;
+
+    @Setup
+    public void setUp() {
+        this.tasks = BenchmarkDatasets.newBatchTasks(BenchmarkDatasets.newBatchJobs(taskCount / 10, 10));
+
+        this.firstPage = Page.first(PAGE_SIZE);
+        int middlePageNumber = taskCount / PAGE_SIZE / 2;
+        this.pageByNumber = Page.newBuilder().withPageNumber(middlePageNumber).withPageSize(PAGE_SIZE).build();
+        String middleCursor = evaluator.takePage(pageByNumber, tasks).getPagination().getCursor();
+        this.pageWithCursor = Page.newBuilder().withPageSize(PAGE_SIZE).withCursor(middleCursor).build();
+    }
+
+    @Benchmark
+    public PageResult<Task> takeFirstPage() {
+        return evaluator.takePage(firstPage, tasks);
+    }
+
+    @Benchmark
+    public PageResult<Task> takePageByNumber() {
+        return evaluator.takePage(pageByNumber, tasks);
+    }
+
+    @Benchmark
+    public PageResult<Task> takePageWithCursor() {
+        return evaluator.takePage(pageWithCursor, tasks);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.ext.ServiceJobExt;
+import com.netflix.titus.common.util.CollectionsExt;
+import com.netflix.titus.common.util.ProtobufExt;
+import com.netflix.titus.runtime.endpoint.common.EmptyLogStorageInfo;
+import com.netflix.titus.runtime.endpoint.v3.grpc.GrpcJobManagementModelConverters;
+import com.netflix.titus.testkit.model.job.JobDescriptorGenerator;
+import com.netflix.titus.testkit.model.job.JobGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link ProtobufExt#copy(com.google.protobuf.Message, Set)} with field sets typical for the job management API
+ * queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtobufCopyBenchmark {
+
+    private static final Set<String> TOP_LEVEL_FIELDS = CollectionsExt.asSet("id", "status");
+
+    private static final Set<String> NESTED_FIELDS = CollectionsExt.asSet(
+            "id", "status.state", "jobDescriptor.owner", "jobDescriptor.applicationName", "jobDescriptor.attributes.owner"
+    );
+
+    private com.netflix.titus.grpc.protogen.Job grpcJob;
+    private com.netflix.titus.grpc.protogen.Task grpcTask;
+
+    @Setup
+    public void setUp() {
+        Job<ServiceJobExt> job = JobGenerator.serviceJobs(JobDescriptorGenerator.serviceJobDescriptors().getValue()).getValue();
+        this.grpcJob = GrpcJobManagementModelConverters.toGrpcJob(job);
+        this.grpcTask = GrpcJobManagementModelConverters.toGrpcTask(JobGenerator.serviceTasks(job).getValue(), EmptyLogStorageInfo.empty());
+    }
+
+    @Benchmark
+    public com.netflix.titus.grpc.protogen.Job copyJobTopLevelFields() {
+        return ProtobufExt.copy(grpcJob, TOP_LEVEL_FIELDS);
+    }
+
+    @Benchmark
+    public com.netflix.titus.grpc.protogen.Job copyJobNestedFields() {
+        return ProtobufExt.copy(grpcJob, NESTED_FIELDS);
+    }
+
+    @Benchmark
+    public com.netflix.titus.grpc.protogen.Task copyTaskTopLevelFields() {
+        return ProtobufExt.copy(grpcTask, TOP_LEVEL_FIELDS);
+    }
+}
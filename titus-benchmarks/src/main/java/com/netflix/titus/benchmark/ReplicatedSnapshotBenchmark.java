@@ -0,0 +1,151 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.titus.api.eviction.model.EvictionQuota;
+import com.netflix.titus.api.model.Tier;
+import com.netflix.titus.api.relocation.model.TaskRelocationPlan;
+import com.netflix.titus.runtime.connector.eviction.EvictionDataSnapshot;
+import com.netflix.titus.runtime.connector.relocation.TaskRelocationSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of applying one replicated event to {@link TaskRelocationSnapshot} and {@link EvictionDataSnapshot}, with
+ * a snapshot update per event, and with micro-batches of {@link #BATCH_SIZE} events applied in one update.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReplicatedSnapshotBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"1000", "50000"})
+    public int entryCount;
+
+    private TaskRelocationSnapshot relocationSnapshot;
+    private EvictionDataSnapshot evictionSnapshot;
+
+    private List<TaskRelocationPlan> updatedPlans;
+    private List<EvictionQuota> updatedJobQuotas;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        TaskRelocationSnapshot.Builder relocationBuilder = TaskRelocationSnapshot.newBuilder();
+        Map<String, EvictionQuota> jobQuotas = new HashMap<>();
+        this.updatedPlans = new ArrayList<>(entryCount);
+        this.updatedJobQuotas = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            String taskId = "task#" + i;
+            String jobId = "job#" + i;
+            relocationBuilder.addPlan(newPlan(taskId, 0));
+            jobQuotas.put(jobId, EvictionQuota.jobQuota(jobId, 1, "initial"));
+            updatedPlans.add(newPlan(taskId, 1));
+            updatedJobQuotas.add(EvictionQuota.jobQuota(jobId, 2, "updated"));
+        }
+        this.relocationSnapshot = relocationBuilder.build();
+
+        Map<Tier, EvictionQuota> tierQuotas = new HashMap<>();
+        tierQuotas.put(Tier.Flex, EvictionQuota.tierQuota(Tier.Flex, 100, "flex"));
+        tierQuotas.put(Tier.Critical, EvictionQuota.tierQuota(Tier.Critical, 100, "critical"));
+        this.evictionSnapshot = new EvictionDataSnapshot(
+                "benchmark",
+                EvictionQuota.systemQuota(100, "system"),
+                tierQuotas,
+                Collections.emptyMap(),
+                jobQuotas
+        );
+    }
+
+    @Benchmark
+    public TaskRelocationSnapshot relocationPlanUpdate() {
+        relocationSnapshot = relocationSnapshot.toBuilder().addPlan(nextPlan()).build();
+        return relocationSnapshot;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public TaskRelocationSnapshot relocationPlanUpdateMicroBatch() {
+        TaskRelocationSnapshot.Builder builder = relocationSnapshot.toBuilder();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            builder.addPlan(nextPlan());
+        }
+        relocationSnapshot = builder.build();
+        return relocationSnapshot;
+    }
+
+    @Benchmark
+    public EvictionDataSnapshot evictionJobQuotaUpdate() {
+        evictionSnapshot = evictionSnapshot.updateEvictionQuota(nextJobQuota()).get();
+        return evictionSnapshot;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public EvictionDataSnapshot evictionJobQuotaUpdateMicroBatch() {
+        EvictionDataSnapshot snapshot = evictionSnapshot;
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            snapshot = snapshot.updateEvictionQuota(nextJobQuota()).get();
+        }
+        evictionSnapshot = snapshot;
+        return evictionSnapshot;
+    }
+
+    private TaskRelocationPlan nextPlan() {
+        TaskRelocationPlan plan = updatedPlans.get(next);
+        next = (next + 1) % entryCount;
+        return plan;
+    }
+
+    private EvictionQuota nextJobQuota() {
+        EvictionQuota quota = updatedJobQuotas.get(next);
+        next = (next + 1) % entryCount;
+        return quota;
+    }
+
+    private static TaskRelocationPlan newPlan(String taskId, long decisionTime) {
+        return TaskRelocationPlan.newBuilder()
+                .withTaskId(taskId)
+                .withReason(TaskRelocationPlan.TaskRelocationReason.TaskMigration)
+                .withReasonMessage("benchmark")
+                .withDecisionTime(decisionTime)
+                .withRelocationTime(decisionTime)
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.titus.common.runtime.TitusRuntimes;
+import com.netflix.titus.common.util.proxy.ProxyCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Overhead of the Spectator proxy, which wraps the API services, compared to a direct call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpectatorProxyBenchmark {
+
+    public interface SampleService {
+        String echo(String value);
+    }
+
+    private static class SampleServiceImpl implements SampleService {
+        @Override
+        public String echo(String value) {
+            return value;
+        }
+    }
+
+    private SampleService direct;
+    private SampleService proxied;
+
+    @Setup
+    public void setUp() {
+        this.direct = new SampleServiceImpl();
+        this.proxied = ProxyCatalog.createSpectatorProxy("benchmark", SampleService.class, direct, TitusRuntimes.internal(), false);
+    }
+
+    @Benchmark
+    public String directCall() {
+        return direct.echo("hello");
+    }
+
+    @Benchmark
+    public String spectatorProxyCall() {
+        return proxied.echo("hello");
+    }
+}
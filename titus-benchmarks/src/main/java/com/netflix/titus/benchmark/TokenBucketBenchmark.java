@@ -0,0 +1,68 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.titus.common.util.limiter.Limiters;
+import com.netflix.titus.common.util.limiter.tokenbucket.TokenBucket;
+import com.netflix.titus.common.util.limiter.tokenbucket.internal.DefaultTokenBucket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link DefaultTokenBucket} throughput with a single, and with many threads sharing one bucket. The bucket is refilled
+ * faster than the tokens are taken, so the measurement covers the synchronization cost, not the rate limit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenBucketBenchmark {
+
+    private static final long CAPACITY = 1_000_000_000L;
+
+    private TokenBucket tokenBucket;
+
+    @Setup
+    public void setUp() {
+        this.tokenBucket = Limiters.createFixedIntervalTokenBucket("benchmark", CAPACITY, CAPACITY, CAPACITY, 1, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean tryTakeSingleThread() {
+        return tokenBucket.tryTake();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean tryTakeContended() {
+        return tokenBucket.tryTake();
+    }
+}
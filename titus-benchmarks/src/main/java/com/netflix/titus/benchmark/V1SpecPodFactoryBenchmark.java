@@ -0,0 +1,95 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.ext.ServiceJobExt;
+import com.netflix.titus.common.runtime.TitusRuntime;
+import com.netflix.titus.common.runtime.TitusRuntimes;
+import com.netflix.titus.common.util.archaius2.Archaius2Ext;
+import com.netflix.titus.common.util.tuple.Pair;
+import com.netflix.titus.master.kubernetes.pod.KubePodConfiguration;
+import com.netflix.titus.master.kubernetes.pod.legacy.DefaultAggregatingContainerEnvFactory;
+import com.netflix.titus.master.kubernetes.pod.legacy.TitusProvidedContainerEnvFactory;
+import com.netflix.titus.master.kubernetes.pod.legacy.UserProvidedContainerEnvFactory;
+import com.netflix.titus.master.kubernetes.pod.v1.V1SpecPodFactory;
+import com.netflix.titus.master.scheduler.SchedulerConfiguration;
+import com.netflix.titus.master.service.management.ApplicationSlaManagementService;
+import com.netflix.titus.runtime.endpoint.common.EmptyLogStorageInfo;
+import com.netflix.titus.testkit.model.job.JobDescriptorGenerator;
+import com.netflix.titus.testkit.model.job.JobGenerator;
+import io.kubernetes.client.openapi.models.V1Affinity;
+import io.kubernetes.client.openapi.models.V1Pod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@link V1SpecPodFactory#buildV1Pod(Job, Task)} for a fully populated service job. The affinity, toleration and
+ * topology factories return empty results, so only the pod spec assembly is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class V1SpecPodFactoryBenchmark {
+
+    private V1SpecPodFactory podFactory;
+
+    private Job<ServiceJobExt> job;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        TitusRuntime titusRuntime = TitusRuntimes.internal();
+        this.podFactory = new V1SpecPodFactory(
+                Archaius2Ext.newConfiguration(KubePodConfiguration.class),
+                mock(ApplicationSlaManagementService.class),
+                (job, task) -> Pair.of(new V1Affinity(), Collections.emptyMap()),
+                (job, task) -> Collections.emptyList(),
+                job -> Collections.emptyList(),
+                new DefaultAggregatingContainerEnvFactory(titusRuntime,
+                        UserProvidedContainerEnvFactory.getInstance(),
+                        TitusProvidedContainerEnvFactory.getInstance()),
+                EmptyLogStorageInfo.empty(),
+                Archaius2Ext.newConfiguration(SchedulerConfiguration.class)
+        );
+
+        this.job = JobGenerator.serviceJobs(JobDescriptorGenerator.serviceJobDescriptors().getValue()).getValue();
+        this.task = JobGenerator.serviceTasks(job).getValue();
+    }
+
+    @Benchmark
+    public V1Pod buildV1Pod() {
+        return podFactory.buildV1Pod(job, task);
+    }
+}
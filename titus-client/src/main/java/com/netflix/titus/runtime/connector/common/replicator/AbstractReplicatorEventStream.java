@@ -27,6 +27,11 @@ public abstract class AbstractReplicatorEventStream<SNAPSHOT, TRIGGER> implement
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractReplicatorEventStream.class);
 
+    /**
+     * Maximum number of events applied to a snapshot in one micro-batch, for event streams that support it.
+     */
+    protected static final int MICRO_BATCH_MAX_SIZE = 1_000;
+
     private final boolean serverSideKeepAlive;
     private final TRIGGER keepAliveEvent;
     protected final DataReplicatorMetrics metrics;
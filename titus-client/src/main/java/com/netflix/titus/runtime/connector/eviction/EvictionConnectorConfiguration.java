@@ -0,0 +1,32 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.runtime.connector.eviction;
+
+import com.netflix.archaius.api.annotations.Configuration;
+import com.netflix.archaius.api.annotations.DefaultValue;
+
+@Configuration(prefix = "titus.connector.evictionService")
+public interface EvictionConnectorConfiguration {
+
+    /**
+     * If set to a value greater than zero, the eviction events received within this interval are applied to the
+     * replicated snapshot together, and only one snapshot update is emitted. If set to zero, each event produces
+     * a new snapshot.
+     */
+    @DefaultValue("0")
+    long getReplicatorMicroBatchIntervalMs();
+}
@@ -17,7 +17,9 @@
 package com.netflix.titus.runtime.connector.eviction;
 
 import com.netflix.titus.api.eviction.service.ReadOnlyEvictionOperations;
+import com.netflix.titus.common.environment.MyEnvironment;
 import com.netflix.titus.common.runtime.TitusRuntime;
+import com.netflix.titus.common.util.archaius2.Archaius2Ext;
 import com.netflix.titus.runtime.connector.eviction.replicator.EvictionDataReplicatorProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -26,8 +28,15 @@ import org.springframework.context.annotation.Configuration;
 public class EvictionDataReplicationComponent {
 
     @Bean
-    public EvictionDataReplicator getEvictionDataReplicator(EvictionServiceClient client, TitusRuntime titusRuntime) {
-        return new EvictionDataReplicatorProvider(client, titusRuntime).get();
+    public EvictionConnectorConfiguration getEvictionConnectorConfiguration(MyEnvironment environment) {
+        return Archaius2Ext.newConfiguration(EvictionConnectorConfiguration.class, environment);
+    }
+
+    @Bean
+    public EvictionDataReplicator getEvictionDataReplicator(EvictionConnectorConfiguration configuration,
+                                                            EvictionServiceClient client,
+                                                            TitusRuntime titusRuntime) {
+        return new EvictionDataReplicatorProvider(configuration, client, titusRuntime).get();
     }
 
     @Bean
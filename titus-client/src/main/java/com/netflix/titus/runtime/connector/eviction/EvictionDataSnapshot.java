@@ -27,12 +27,14 @@ import com.netflix.titus.api.model.Level;
 import com.netflix.titus.api.model.Tier;
 import com.netflix.titus.api.model.reference.Reference;
 import com.netflix.titus.api.model.reference.TierReference;
-import com.netflix.titus.common.util.CollectionsExt;
 import com.netflix.titus.runtime.connector.common.replicator.ReplicatedSnapshot;
-
-import static com.netflix.titus.common.util.CollectionsExt.copyAndAdd;
+import org.pcollections.HashTreePMap;
+import org.pcollections.PMap;
 
 /**
+ * The quota maps are kept in persistent maps, so a quota update shares most of its state with the previous snapshot
+ * version, and costs O(log n) instead of a full copy.
+ * <p>
  * TODO Removed job cleanup (not critical, as forced reconnects and the snapshot rebuild will do the work).
  */
 public class EvictionDataSnapshot extends ReplicatedSnapshot {
@@ -48,9 +50,9 @@ public class EvictionDataSnapshot extends ReplicatedSnapshot {
     private final String snapshotId;
 
     private final EvictionQuota systemEvictionQuota;
-    private final Map<Tier, EvictionQuota> tierEvictionQuotas;
-    private final Map<String, EvictionQuota> capacityGroupEvictionQuotas;
-    private final Map<String, EvictionQuota> jobEvictionQuotas;
+    private final PMap<Tier, EvictionQuota> tierEvictionQuotas;
+    private final PMap<String, EvictionQuota> capacityGroupEvictionQuotas;
+    private final PMap<String, EvictionQuota> jobEvictionQuotas;
 
     private final String signature;
 
@@ -61,9 +63,9 @@ public class EvictionDataSnapshot extends ReplicatedSnapshot {
                                 Map<String, EvictionQuota> jobEvictionQuotas) {
         this.snapshotId = snapshotId;
         this.systemEvictionQuota = systemEvictionQuota;
-        this.tierEvictionQuotas = tierEvictionQuotas;
-        this.capacityGroupEvictionQuotas = capacityGroupEvictionQuotas;
-        this.jobEvictionQuotas = jobEvictionQuotas;
+        this.tierEvictionQuotas = toPMap(tierEvictionQuotas);
+        this.capacityGroupEvictionQuotas = toPMap(capacityGroupEvictionQuotas);
+        this.jobEvictionQuotas = toPMap(jobEvictionQuotas);
         this.signature = computeSignature();
     }
 
@@ -95,12 +97,15 @@ public class EvictionDataSnapshot extends ReplicatedSnapshot {
             case Tier:
                 return tierEvictionQuotas.get(Tier.valueOf(reference.getName()));
             case CapacityGroup:
-                return capacityGroupEvictionQuotas.computeIfAbsent(reference.getName(), c -> EvictionQuota.newBuilder()
-                        .withReference(Reference.capacityGroup(c))
+                EvictionQuota capacityGroupEvictionQuota = capacityGroupEvictionQuotas.get(reference.getName());
+                if (capacityGroupEvictionQuota != null) {
+                    return capacityGroupEvictionQuota;
+                }
+                return EvictionQuota.newBuilder()
+                        .withReference(Reference.capacityGroup(reference.getName()))
                         .withQuota(ReadOnlyEvictionOperations.VERY_HIGH_QUOTA)
                         .withMessage("Not supported yet")
-                        .build()
-                );
+                        .build();
             case Job:
                 EvictionQuota jobEvictionQuota = jobEvictionQuotas.get(reference.getName());
                 if (jobEvictionQuota == null) {
@@ -141,7 +146,7 @@ public class EvictionDataSnapshot extends ReplicatedSnapshot {
                 return Optional.of(new EvictionDataSnapshot(
                         snapshotId,
                         this.systemEvictionQuota,
-                        copyAndAdd(this.tierEvictionQuotas, ((TierReference) quota.getReference()).getTier(), quota),
+                        this.tierEvictionQuotas.plus(((TierReference) quota.getReference()).getTier(), quota),
                         this.capacityGroupEvictionQuotas,
                         jobEvictionQuotas
                 ));
@@ -150,7 +155,7 @@ public class EvictionDataSnapshot extends ReplicatedSnapshot {
                         snapshotId,
                         this.systemEvictionQuota,
                         this.tierEvictionQuotas,
-                        copyAndAdd(this.capacityGroupEvictionQuotas, quota.getReference().getName(), quota),
+                        this.capacityGroupEvictionQuotas.plus(quota.getReference().getName(), quota),
                         jobEvictionQuotas
                 ));
             case Job:
@@ -159,7 +164,7 @@ public class EvictionDataSnapshot extends ReplicatedSnapshot {
                         this.systemEvictionQuota,
                         this.tierEvictionQuotas,
                         this.capacityGroupEvictionQuotas,
-                        CollectionsExt.copyAndAdd(jobEvictionQuotas, quota.getReference().getName(), quota)
+                        jobEvictionQuotas.plus(quota.getReference().getName(), quota)
                 ));
         }
         return Optional.empty();
@@ -192,4 +197,8 @@ public class EvictionDataSnapshot extends ReplicatedSnapshot {
     public static EvictionDataSnapshot empty() {
         return EMPTY;
     }
+
+    private static <K> PMap<K, EvictionQuota> toPMap(Map<K, EvictionQuota> quotas) {
+        return quotas instanceof PMap ? (PMap<K, EvictionQuota>) quotas : HashTreePMap.from(quotas);
+    }
 }
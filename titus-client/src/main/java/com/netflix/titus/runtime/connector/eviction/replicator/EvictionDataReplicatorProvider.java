@@ -32,6 +32,7 @@ import com.netflix.titus.runtime.connector.common.replicator.DataReplicatorMetri
 import com.netflix.titus.runtime.connector.common.replicator.ReplicatorEvent;
 import com.netflix.titus.runtime.connector.common.replicator.RetryableReplicatorEventStream;
 import com.netflix.titus.runtime.connector.common.replicator.StreamDataReplicator;
+import com.netflix.titus.runtime.connector.eviction.EvictionConnectorConfiguration;
 import com.netflix.titus.runtime.connector.eviction.EvictionDataReplicator;
 import com.netflix.titus.runtime.connector.eviction.EvictionDataSnapshot;
 import com.netflix.titus.runtime.connector.eviction.EvictionServiceClient;
@@ -49,9 +50,11 @@ public class EvictionDataReplicatorProvider implements Provider<EvictionDataRepl
     private final EvictionDataReplicatorImpl replicator;
 
     @Inject
-    public EvictionDataReplicatorProvider(EvictionServiceClient client, TitusRuntime titusRuntime) {
+    public EvictionDataReplicatorProvider(EvictionConnectorConfiguration configuration,
+                                          EvictionServiceClient client,
+                                          TitusRuntime titusRuntime) {
         StreamDataReplicator<EvictionDataSnapshot, EvictionEvent> original = StreamDataReplicator.newStreamDataReplicator(
-                newReplicatorEventStream(client, titusRuntime),
+                newReplicatorEventStream(configuration, client, titusRuntime),
                 false,
                 new EvictionDataReplicatorMetrics(EVICTION_REPLICATOR, titusRuntime),
                 titusRuntime
@@ -70,9 +73,12 @@ public class EvictionDataReplicatorProvider implements Provider<EvictionDataRepl
         return replicator;
     }
 
-    private static RetryableReplicatorEventStream<EvictionDataSnapshot, EvictionEvent> newReplicatorEventStream(EvictionServiceClient client, TitusRuntime titusRuntime) {
+    private static RetryableReplicatorEventStream<EvictionDataSnapshot, EvictionEvent> newReplicatorEventStream(EvictionConnectorConfiguration configuration,
+                                                                                                         EvictionServiceClient client,
+                                                                                                         TitusRuntime titusRuntime) {
         GrpcEvictionReplicatorEventStream grpcEventStream = new GrpcEvictionReplicatorEventStream(
                 client,
+                configuration.getReplicatorMicroBatchIntervalMs(),
                 new EvictionDataReplicatorMetrics(EVICTION_REPLICATOR_GRPC_STREAM, titusRuntime),
                 titusRuntime,
                 Schedulers.parallel()
@@ -16,6 +16,7 @@
 
 package com.netflix.titus.runtime.connector.eviction.replicator;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -50,21 +51,41 @@ public class GrpcEvictionReplicatorEventStream extends AbstractReplicatorEventSt
     private static final Logger logger = LoggerFactory.getLogger(GrpcEvictionReplicatorEventStream.class);
 
     private final EvictionServiceClient client;
+    private final long microBatchIntervalMs;
 
     public GrpcEvictionReplicatorEventStream(EvictionServiceClient client,
                                              DataReplicatorMetrics metrics,
                                              TitusRuntime titusRuntime,
                                              Scheduler scheduler) {
+        this(client, 0, metrics, titusRuntime, scheduler);
+    }
+
+    /**
+     * @param microBatchIntervalMs if greater than zero, events received within this interval are applied to the
+     *                             snapshot together, and a single snapshot update is emitted
+     */
+    public GrpcEvictionReplicatorEventStream(EvictionServiceClient client,
+                                             long microBatchIntervalMs,
+                                             DataReplicatorMetrics metrics,
+                                             TitusRuntime titusRuntime,
+                                             Scheduler scheduler) {
         super(false, EvictionKeepAliveEvent.getInstance(), metrics, titusRuntime, scheduler);
         this.client = client;
+        this.microBatchIntervalMs = microBatchIntervalMs;
     }
 
     @Override
     protected Flux<ReplicatorEvent<EvictionDataSnapshot, EvictionEvent>> newConnection() {
         return Flux.defer(() -> {
             CacheUpdater cacheUpdater = new CacheUpdater();
-            logger.info("Connecting to the eviction event stream...");
-            return client.observeEvents(true).flatMap(cacheUpdater::onEvent);
+            logger.info("Connecting to the eviction event stream (microBatchIntervalMs={})...", microBatchIntervalMs);
+            Flux<EvictionEvent> events = client.observeEvents(true);
+            if (microBatchIntervalMs <= 0) {
+                return events.flatMap(cacheUpdater::onEvent);
+            }
+            return events
+                    .bufferTimeout(MICRO_BATCH_MAX_SIZE, Duration.ofMillis(microBatchIntervalMs), scheduler)
+                    .concatMap(cacheUpdater::onEvents);
         });
     }
 
@@ -89,7 +110,48 @@ public class GrpcEvictionReplicatorEventStream extends AbstractReplicatorEventSt
             return Flux.empty();
         }
 
+        /**
+         * Applies all events to the snapshot, and emits only the final version of it. The initial snapshot is emitted
+         * separately, if the snapshot end marker is in the batch.
+         */
+        private Flux<ReplicatorEvent<EvictionDataSnapshot, EvictionEvent>> onEvents(List<EvictionEvent> events) {
+            List<ReplicatorEvent<EvictionDataSnapshot, EvictionEvent>> result = new ArrayList<>(2);
+            EvictionDataSnapshot updatedSnapshot = null;
+            EvictionEvent lastEvent = null;
+            try {
+                for (EvictionEvent event : events) {
+                    if (lastSnapshotRef.get() != null) {
+                        if (event instanceof EvictionQuotaEvent) {
+                            EvictionDataSnapshot base = updatedSnapshot == null ? lastSnapshotRef.get() : updatedSnapshot;
+                            Optional<EvictionDataSnapshot> next = base.updateEvictionQuota(((EvictionQuotaEvent) event).getQuota());
+                            if (next.isPresent()) {
+                                updatedSnapshot = next.get();
+                                lastEvent = event;
+                            }
+                        } // Ignore all other events, as they are not relevant for snapshot
+                    } else if (event instanceof EvictionSnapshotEndEvent) {
+                        result.add(buildInitialSnapshot());
+                    } else {
+                        snapshotEvents.add(event);
+                    }
+                }
+            } catch (Exception e) {
+                logger.warn("Unexpected error when handling a batch of eviction events: size={}", events.size(), e);
+                return Flux.error(e); // Return error to force the cache reconnect.
+            }
+            if (updatedSnapshot != null) {
+                logger.debug("Processed eviction event batch: size={}", events.size());
+                lastSnapshotRef.set(updatedSnapshot);
+                result.add(new ReplicatorEvent<>(updatedSnapshot, lastEvent, titusRuntime.getClock().wallTime()));
+            }
+            return Flux.fromIterable(result);
+        }
+
         private Flux<ReplicatorEvent<EvictionDataSnapshot, EvictionEvent>> buildInitialCache() {
+            return Flux.just(buildInitialSnapshot());
+        }
+
+        private ReplicatorEvent<EvictionDataSnapshot, EvictionEvent> buildInitialSnapshot() {
             EvictionQuota systemEvictionQuota = null;
             Map<Tier, EvictionQuota> tierEvictionQuotas = new HashMap<>();
             Map<String, EvictionQuota> capacityGroupEvictionQuotas = new HashMap<>();
@@ -133,7 +195,7 @@ public class GrpcEvictionReplicatorEventStream extends AbstractReplicatorEventSt
             lastSnapshotRef.set(initialSnapshot);
             logger.info("Eviction snapshot loaded: {}", initialSnapshot.toSummaryString());
 
-            return Flux.just(new ReplicatorEvent<>(initialSnapshot, EvictionSnapshotEndEvent.getInstance(), titusRuntime.getClock().wallTime()));
+            return new ReplicatorEvent<>(initialSnapshot, EvictionSnapshotEndEvent.getInstance(), titusRuntime.getClock().wallTime());
         }
 
         private Flux<ReplicatorEvent<EvictionDataSnapshot, EvictionEvent>> processSnapshotUpdate(EvictionEvent event) {
@@ -28,4 +28,12 @@ public interface RelocationConnectorConfiguration {
      */
     @DefaultValue("true")
     boolean isEnabled();
+
+    /**
+     * If set to a value greater than zero, the relocation events received within this interval are applied to the
+     * replicated snapshot together, and only one snapshot update is emitted. If set to zero, each event produces
+     * a new snapshot.
+     */
+    @DefaultValue("0")
+    long getReplicatorMicroBatchIntervalMs();
 }
@@ -16,26 +16,29 @@
 
 package com.netflix.titus.runtime.connector.relocation;
 
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
 import com.netflix.titus.api.relocation.model.TaskRelocationPlan;
-import com.netflix.titus.common.util.Evaluators;
 import com.netflix.titus.runtime.connector.common.replicator.ReplicatedSnapshot;
+import org.pcollections.HashTreePMap;
+import org.pcollections.PMap;
 
+/**
+ * Task relocation plans keyed by task id. The plans are kept in a persistent map, so a snapshot update shares most of
+ * its state with the previous version, and costs O(log n) instead of a full copy.
+ */
 public class TaskRelocationSnapshot extends ReplicatedSnapshot {
 
     private static final TaskRelocationSnapshot EMPTY = newBuilder().build();
 
     private final String snapshotId;
-    private final Map<String, TaskRelocationPlan> plans;
+    private final PMap<String, TaskRelocationPlan> plans;
     private final String summaryString;
 
     public TaskRelocationSnapshot(String snapshotId, Map<String, TaskRelocationPlan> plans) {
         this.snapshotId = snapshotId;
-        this.plans = Collections.unmodifiableMap(plans);
+        this.plans = toPMap(plans);
         this.summaryString = computeSignature();
     }
 
@@ -73,36 +76,35 @@ public class TaskRelocationSnapshot extends ReplicatedSnapshot {
         return new Builder(UUID.randomUUID().toString());
     }
 
+    private static PMap<String, TaskRelocationPlan> toPMap(Map<String, TaskRelocationPlan> plans) {
+        return plans instanceof PMap ? (PMap<String, TaskRelocationPlan>) plans : HashTreePMap.from(plans);
+    }
+
     public static final class Builder {
         private final String snapshotId;
-        private Map<String, TaskRelocationPlan> plans;
+        private PMap<String, TaskRelocationPlan> plans = HashTreePMap.empty();
 
         private Builder(String snapshotId) {
             this.snapshotId = snapshotId;
         }
 
         public Builder withPlans(Map<String, TaskRelocationPlan> plans) {
-            this.plans = new HashMap<>(plans);
+            this.plans = toPMap(plans);
             return this;
         }
 
         public Builder addPlan(TaskRelocationPlan plan) {
-            if (plans == null) {
-                this.plans = new HashMap<>();
-            }
-            plans.put(plan.getTaskId(), plan);
+            this.plans = plans.plus(plan.getTaskId(), plan);
             return this;
         }
 
         public Builder removePlan(String taskId) {
-            if (plans != null) {
-                plans.remove(taskId);
-            }
+            this.plans = plans.minus(taskId);
             return this;
         }
 
         public TaskRelocationSnapshot build() {
-            return new TaskRelocationSnapshot(snapshotId, Evaluators.getOrDefault(plans, Collections.emptyMap()));
+            return new TaskRelocationSnapshot(snapshotId, plans);
         }
     }
 }
@@ -16,6 +16,7 @@
 
 package com.netflix.titus.runtime.connector.relocation.replicator;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
@@ -40,21 +41,41 @@ public class GrpcRelocationReplicatorEventStream extends AbstractReplicatorEvent
     private static final Logger logger = LoggerFactory.getLogger(GrpcRelocationReplicatorEventStream.class);
 
     private final RelocationServiceClient client;
+    private final long microBatchIntervalMs;
 
     public GrpcRelocationReplicatorEventStream(RelocationServiceClient client,
                                                DataReplicatorMetrics metrics,
                                                TitusRuntime titusRuntime,
                                                Scheduler scheduler) {
+        this(client, 0, metrics, titusRuntime, scheduler);
+    }
+
+    /**
+     * @param microBatchIntervalMs if greater than zero, events received within this interval are applied to the
+     *                             snapshot together, and a single snapshot update is emitted
+     */
+    public GrpcRelocationReplicatorEventStream(RelocationServiceClient client,
+                                               long microBatchIntervalMs,
+                                               DataReplicatorMetrics metrics,
+                                               TitusRuntime titusRuntime,
+                                               Scheduler scheduler) {
         super(false, TaskRelocationEvent.newKeepAliveEvent(), metrics, titusRuntime, scheduler);
         this.client = client;
+        this.microBatchIntervalMs = microBatchIntervalMs;
     }
 
     @Override
     protected Flux<ReplicatorEvent<TaskRelocationSnapshot, TaskRelocationEvent>> newConnection() {
         return Flux.defer(() -> {
             CacheUpdater cacheUpdater = new CacheUpdater();
-            logger.info("Connecting to the task relocation event stream...");
-            return client.events(TaskRelocationQuery.getDefaultInstance()).flatMap(cacheUpdater::onEvent);
+            logger.info("Connecting to the task relocation event stream (microBatchIntervalMs={})...", microBatchIntervalMs);
+            Flux<TaskRelocationEvent> events = client.events(TaskRelocationQuery.getDefaultInstance());
+            if (microBatchIntervalMs <= 0) {
+                return events.flatMap(cacheUpdater::onEvent);
+            }
+            return events
+                    .bufferTimeout(MICRO_BATCH_MAX_SIZE, Duration.ofMillis(microBatchIntervalMs), scheduler)
+                    .concatMap(cacheUpdater::onEvents);
         });
     }
 
@@ -79,7 +100,46 @@ public class GrpcRelocationReplicatorEventStream extends AbstractReplicatorEvent
             return Flux.empty();
         }
 
+        /**
+         * Applies all events to one snapshot builder. Returns the initial snapshot if the snapshot end marker is in
+         * the batch, followed by one snapshot update for the events received after it.
+         */
+        public Flux<ReplicatorEvent<TaskRelocationSnapshot, TaskRelocationEvent>> onEvents(List<TaskRelocationEvent> events) {
+            List<ReplicatorEvent<TaskRelocationSnapshot, TaskRelocationEvent>> result = new ArrayList<>(2);
+            TaskRelocationSnapshot.Builder builder = null;
+            TaskRelocationEvent lastEvent = null;
+            try {
+                for (TaskRelocationEvent event : events) {
+                    if (lastSnapshotRef.get() != null) {
+                        if (builder == null) {
+                            builder = lastSnapshotRef.get().toBuilder();
+                        }
+                        applyToBuilder(builder, event);
+                        lastEvent = event;
+                    } else if (event.equals(TaskRelocationEvent.newSnapshotEndEvent())) {
+                        result.add(buildInitialSnapshot());
+                    } else {
+                        snapshotEvents.add(event);
+                    }
+                }
+            } catch (Exception e) {
+                logger.warn("Unexpected error when handling a batch of relocation events: size={}", events.size(), e);
+                return Flux.error(e); // Return error to force the cache reconnect.
+            }
+            if (builder != null) {
+                logger.debug("Processed task relocation event batch: size={}", events.size());
+                TaskRelocationSnapshot newSnapshot = builder.build();
+                lastSnapshotRef.set(newSnapshot);
+                result.add(new ReplicatorEvent<>(newSnapshot, lastEvent, titusRuntime.getClock().wallTime()));
+            }
+            return Flux.fromIterable(result);
+        }
+
         private Flux<ReplicatorEvent<TaskRelocationSnapshot, TaskRelocationEvent>> buildInitialCache() {
+            return Flux.just(buildInitialSnapshot());
+        }
+
+        private ReplicatorEvent<TaskRelocationSnapshot, TaskRelocationEvent> buildInitialSnapshot() {
             TaskRelocationSnapshot.Builder builder = TaskRelocationSnapshot.newBuilder();
             snapshotEvents.forEach(event -> applyToBuilder(builder, event));
             TaskRelocationSnapshot snapshot = builder.build();
@@ -91,7 +151,7 @@ public class GrpcRelocationReplicatorEventStream extends AbstractReplicatorEvent
 
             lastSnapshotRef.set(snapshot);
 
-            return Flux.just(new ReplicatorEvent<>(snapshot, TaskRelocationEvent.newSnapshotEndEvent(), titusRuntime.getClock().wallTime()));
+            return new ReplicatorEvent<>(snapshot, TaskRelocationEvent.newSnapshotEndEvent(), titusRuntime.getClock().wallTime());
         }
 
         private Flux<ReplicatorEvent<TaskRelocationSnapshot, TaskRelocationEvent>> processSnapshotUpdate(TaskRelocationEvent event) {
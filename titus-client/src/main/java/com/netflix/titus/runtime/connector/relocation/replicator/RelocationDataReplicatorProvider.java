@@ -31,6 +31,7 @@ import com.netflix.titus.runtime.connector.common.replicator.DataReplicatorMetri
 import com.netflix.titus.runtime.connector.common.replicator.ReplicatorEvent;
 import com.netflix.titus.runtime.connector.common.replicator.RetryableReplicatorEventStream;
 import com.netflix.titus.runtime.connector.common.replicator.StreamDataReplicator;
+import com.netflix.titus.runtime.connector.relocation.RelocationConnectorConfiguration;
 import com.netflix.titus.runtime.connector.relocation.RelocationDataReplicator;
 import com.netflix.titus.runtime.connector.relocation.RelocationServiceClient;
 import com.netflix.titus.runtime.connector.relocation.TaskRelocationSnapshot;
@@ -55,10 +56,12 @@ public class RelocationDataReplicatorProvider implements Provider<RelocationData
     private final RelocationDataReplicatorImpl replicator;
 
     @Inject
-    public RelocationDataReplicatorProvider(RelocationServiceClient client, TitusRuntime titusRuntime) {
+    public RelocationDataReplicatorProvider(RelocationConnectorConfiguration configuration,
+                                            RelocationServiceClient client,
+                                            TitusRuntime titusRuntime) {
         StreamDataReplicator<TaskRelocationSnapshot, TaskRelocationEvent> original = StreamDataReplicator.newStreamDataReplicator(
                 new ReplicatorEvent<>(TaskRelocationSnapshot.empty(), STARTUP_EVENT, 0L),
-                newReplicatorEventStream(client, titusRuntime),
+                newReplicatorEventStream(configuration, client, titusRuntime),
                 false,
                 new RelocationDataReplicatorMetrics(RELOCATION_REPLICATOR, titusRuntime),
                 titusRuntime
@@ -77,9 +80,12 @@ public class RelocationDataReplicatorProvider implements Provider<RelocationData
         return replicator;
     }
 
-    private static RetryableReplicatorEventStream<TaskRelocationSnapshot, TaskRelocationEvent> newReplicatorEventStream(RelocationServiceClient client, TitusRuntime titusRuntime) {
+    private static RetryableReplicatorEventStream<TaskRelocationSnapshot, TaskRelocationEvent> newReplicatorEventStream(RelocationConnectorConfiguration configuration,
+                                                                                                                 RelocationServiceClient client,
+                                                                                                                 TitusRuntime titusRuntime) {
         GrpcRelocationReplicatorEventStream grpcEventStream = new GrpcRelocationReplicatorEventStream(
                 client,
+                configuration.getReplicatorMicroBatchIntervalMs(),
                 new DataReplicatorMetrics<>(RELOCATION_REPLICATOR_GRPC_STREAM, false, titusRuntime),
                 titusRuntime,
                 Schedulers.parallel()
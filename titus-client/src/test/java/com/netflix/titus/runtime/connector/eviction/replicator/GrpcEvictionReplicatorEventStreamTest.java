@@ -37,6 +37,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 public class GrpcEvictionReplicatorEventStreamTest {
 
+    private static final long MICRO_BATCH_INTERVAL_MS = 100;
+
     private final TitusRuntime titusRuntime = TitusRuntimes.test();
 
     private final JobComponentStub JobComponentStub = new JobComponentStub(titusRuntime);
@@ -101,12 +103,35 @@ public class GrpcEvictionReplicatorEventStreamTest {
                 .verify();
     }
 
-    private GrpcEvictionReplicatorEventStream newStream() {
-        return new GrpcEvictionReplicatorEventStream(client, new DataReplicatorMetrics("test", false, titusRuntime), titusRuntime, Schedulers.parallel());
+    @Test
+    public void testMicroBatching() {
+        evictionComponentStub.setJobQuota("job1", 1);
+        newConnectVerifier(MICRO_BATCH_INTERVAL_MS)
+                .thenAwait(Duration.ofMillis(MICRO_BATCH_INTERVAL_MS))
+                .assertNext(next -> assertThat(next.getSnapshot().findEvictionQuota(Reference.job("job1")).get().getQuota()).isEqualTo(1))
+                .then(() -> {
+                    evictionComponentStub.setJobQuota("job1", 3);
+                    evictionComponentStub.setJobQuota("job2", 4);
+                })
+                .thenAwait(Duration.ofMillis(MICRO_BATCH_INTERVAL_MS))
+                .assertNext(next -> {
+                    assertThat(next.getSnapshot().findEvictionQuota(Reference.job("job1")).get().getQuota()).isEqualTo(3);
+                    assertThat(next.getSnapshot().findEvictionQuota(Reference.job("job2")).get().getQuota()).isEqualTo(4);
+                })
+                .thenCancel()
+                .verify();
+    }
+
+    private GrpcEvictionReplicatorEventStream newStream(long microBatchIntervalMs) {
+        return new GrpcEvictionReplicatorEventStream(client, microBatchIntervalMs, new DataReplicatorMetrics("test", false, titusRuntime), titusRuntime, Schedulers.parallel());
     }
 
     private StepVerifier.FirstStep<ReplicatorEvent<EvictionDataSnapshot, EvictionEvent>> newConnectVerifier() {
-        return StepVerifier.withVirtualTime(() -> newStream().connect().log());
+        return newConnectVerifier(0);
+    }
+
+    private StepVerifier.FirstStep<ReplicatorEvent<EvictionDataSnapshot, EvictionEvent>> newConnectVerifier(long microBatchIntervalMs) {
+        return StepVerifier.withVirtualTime(() -> newStream(microBatchIntervalMs).connect().log());
     }
 
     private boolean isSystemQuotaUpdate(ReplicatorEvent<EvictionDataSnapshot, EvictionEvent> event, int expectedSystemQuota) {
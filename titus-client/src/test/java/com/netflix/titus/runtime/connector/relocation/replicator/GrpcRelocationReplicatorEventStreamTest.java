@@ -16,6 +16,8 @@
 
 package com.netflix.titus.runtime.connector.relocation.replicator;
 
+import java.time.Duration;
+
 import com.netflix.titus.api.relocation.model.TaskRelocationPlan;
 import com.netflix.titus.api.relocation.model.event.TaskRelocationEvent;
 import com.netflix.titus.common.runtime.TitusRuntime;
@@ -33,6 +35,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 public class GrpcRelocationReplicatorEventStreamTest {
 
+    private static final long MICRO_BATCH_INTERVAL_MS = 100;
+
     private final TitusRuntime titusRuntime = TitusRuntimes.test();
 
     private final RelocationComponentStub relocationConnectorStubs = new RelocationComponentStub(titusRuntime);
@@ -72,11 +76,37 @@ public class GrpcRelocationReplicatorEventStreamTest {
                 .verify();
     }
 
-    private GrpcRelocationReplicatorEventStream newStream() {
-        return new GrpcRelocationReplicatorEventStream(client, new DataReplicatorMetrics("test", false, titusRuntime), titusRuntime, Schedulers.parallel());
+    @Test
+    public void testMicroBatching() {
+        newConnectVerifier(MICRO_BATCH_INTERVAL_MS)
+                .thenAwait(Duration.ofMillis(MICRO_BATCH_INTERVAL_MS))
+                .assertNext(snapshotEvent -> {
+                    assertThat(snapshotEvent.getSnapshot().getPlans()).isEmpty();
+                })
+                .then(() -> {
+                    relocationConnectorStubs.addPlan(TaskRelocationPlan.newBuilder().withTaskId("task1").build());
+                    relocationConnectorStubs.addPlan(TaskRelocationPlan.newBuilder().withTaskId("task2").build());
+                    relocationConnectorStubs.removePlan("task1");
+                })
+                .thenAwait(Duration.ofMillis(MICRO_BATCH_INTERVAL_MS))
+                // All three events are applied in one snapshot update.
+                .assertNext(snapshotEvent -> {
+                    assertThat(snapshotEvent.getSnapshot().getPlans()).containsOnlyKeys("task2");
+                })
+
+                .thenCancel()
+                .verify();
+    }
+
+    private GrpcRelocationReplicatorEventStream newStream(long microBatchIntervalMs) {
+        return new GrpcRelocationReplicatorEventStream(client, microBatchIntervalMs, new DataReplicatorMetrics("test", false, titusRuntime), titusRuntime, Schedulers.parallel());
     }
 
     private StepVerifier.FirstStep<ReplicatorEvent<TaskRelocationSnapshot, TaskRelocationEvent>> newConnectVerifier() {
-        return StepVerifier.withVirtualTime(() -> newStream().connect().log());
+        return newConnectVerifier(0);
+    }
+
+    private StepVerifier.FirstStep<ReplicatorEvent<TaskRelocationSnapshot, TaskRelocationEvent>> newConnectVerifier(long microBatchIntervalMs) {
+        return StepVerifier.withVirtualTime(() -> newStream(microBatchIntervalMs).connect().log());
     }
 }
\ No newline at end of file
@@ -100,6 +100,34 @@ public final class PaginationUtil {
         return Pair.of(pageItems, pagination);
     }
 
+    /**
+     * Pagination data for a page of items that follow the cursor position, when the position was resolved by the data
+     * source. The result is the same as from {@link #takePageWithCursor(Page, List, Comparator, CursorIndexOf, Function)},
+     * except for an empty page, which returns the requested cursor.
+     *
+     * @param offset     number of items ordered before or at the cursor position
+     * @param totalItems total number of items
+     */
+    public static <T> Pagination newCursorPagination(Page page, int offset, List<T> pageItems, int totalItems, Function<T, String> cursorFactory) {
+        int endOffset = offset + pageItems.size();
+        int numberOfPages = numberOfPages(page, totalItems);
+        int pageNumber = Math.min(numberOfPages, offset / page.getPageSize());
+        String cursor;
+        if (totalItems == 0) {
+            cursor = "";
+        } else {
+            cursor = pageItems.isEmpty() ? page.getCursor() : cursorFactory.apply(pageItems.get(pageItems.size() - 1));
+        }
+        return new Pagination(
+                page.toBuilder().withPageNumber(pageNumber).build(),
+                totalItems > endOffset,
+                numberOfPages,
+                totalItems,
+                cursor,
+                totalItems == 0 ? 0 : endOffset - 1
+        );
+    }
+
     /**
      * {@link Page#getPageNumber() Number} (index) based pagination.
      * <p>
@@ -21,6 +21,8 @@ import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
 
 import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
 import reactor.core.publisher.Mono;
 
 public class JooqUtils {
@@ -33,4 +35,9 @@ public class JooqUtils {
     public static <T> Mono<T> executeAsyncMono(Supplier<T> supplier, DSLContext dslContext) {
         return Mono.fromCompletionStage(executeAsync(supplier, dslContext));
     }
+
+    // Returns a reference to the value proposed for insertion in an 'INSERT ... ON CONFLICT DO UPDATE' statement (Postgres)
+    public static <T> Field<T> excluded(Field<T> field) {
+        return DSL.field(DSL.name("excluded", field.getName()), field.getType());
+    }
 }
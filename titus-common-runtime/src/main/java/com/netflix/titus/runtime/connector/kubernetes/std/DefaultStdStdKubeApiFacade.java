@@ -306,6 +306,10 @@ public class DefaultStdStdKubeApiFacade implements StdKubeApiFacade {
                 this.persistentVolumeInformer = customizeInformer("persistentVolumeInformer", createPersistentVolumeInformer(sharedInformerFactory));
                 this.persistentVolumeClaimInformer = customizeInformer("persistentVolumeClaimInformer", createPersistentVolumeClaimInformer(sharedInformerFactory));
 
+                // Indexers must be added before the informers are started.
+                podInformer.addIndexers(StdKubeIndexers.podIndexers());
+                persistentVolumeInformer.addIndexers(StdKubeIndexers.persistentVolumeIndexers());
+
                 this.nodeInformerMetrics = new StdKubeInformerMetrics<>("node", nodeInformer, titusRuntime);
                 this.podInformerMetrics = new StdKubeInformerMetrics<>("pod", podInformer, titusRuntime);
                 this.persistentVolumeInformerMetrics = new StdKubeInformerMetrics<>("persistentvolume", persistentVolumeInformer, titusRuntime);
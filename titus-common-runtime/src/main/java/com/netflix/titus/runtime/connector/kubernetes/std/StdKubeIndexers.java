@@ -0,0 +1,109 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.runtime.connector.kubernetes.std;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.openapi.models.V1PersistentVolume;
+import io.kubernetes.client.openapi.models.V1Pod;
+
+/**
+ * Secondary indexes registered in the shared informers, so the informer cache clients can find the relevant
+ * entities without scanning the whole cache.
+ */
+public final class StdKubeIndexers {
+
+    /**
+     * Pods by the name of the node they are assigned to. Pods not assigned to any node are not indexed.
+     */
+    public static final String POD_BY_NODE_NAME = "podByNodeName";
+
+    /**
+     * Pods by their phase. Pods without a status are indexed with an empty string key.
+     */
+    public static final String POD_BY_PHASE = "podByPhase";
+
+    /**
+     * Pods with the deletion timestamp set are indexed with the {@link #DELETION_REQUESTED} key. Other pods are not
+     * indexed.
+     */
+    public static final String POD_BY_DELETION_TIMESTAMP = "podByDeletionTimestamp";
+
+    public static final String DELETION_REQUESTED = "deletionRequested";
+
+    /**
+     * Persistent volumes by their lower-cased phase (see {@link #persistentVolumePhaseKey(String)}), as the PV phases
+     * are matched case-insensitively. Persistent volumes without a status are indexed with an empty string key.
+     */
+    public static final String PERSISTENT_VOLUME_BY_PHASE = "persistentVolumeByPhase";
+
+    private StdKubeIndexers() {
+    }
+
+    public static Map<String, Function<V1Pod, List<String>>> podIndexers() {
+        Map<String, Function<V1Pod, List<String>>> indexers = new HashMap<>();
+        indexers.put(POD_BY_NODE_NAME, pod -> {
+            String nodeName = pod.getSpec() == null ? null : pod.getSpec().getNodeName();
+            return nodeName == null || nodeName.isEmpty() ? Collections.emptyList() : Collections.singletonList(nodeName);
+        });
+        indexers.put(POD_BY_PHASE, pod -> Collections.singletonList(
+                pod.getStatus() == null || pod.getStatus().getPhase() == null ? "" : pod.getStatus().getPhase()
+        ));
+        indexers.put(POD_BY_DELETION_TIMESTAMP, pod ->
+                pod.getMetadata() != null && pod.getMetadata().getDeletionTimestamp() != null
+                        ? Collections.singletonList(DELETION_REQUESTED)
+                        : Collections.emptyList()
+        );
+        return indexers;
+    }
+
+    public static Map<String, Function<V1PersistentVolume, List<String>>> persistentVolumeIndexers() {
+        return Collections.singletonMap(PERSISTENT_VOLUME_BY_PHASE, pv -> Collections.singletonList(
+                persistentVolumePhaseKey(pv.getStatus() == null ? null : pv.getStatus().getPhase())
+        ));
+    }
+
+    public static String persistentVolumePhaseKey(String phase) {
+        return phase == null ? "" : phase.toLowerCase(Locale.ROOT);
+    }
+
+    public static boolean hasIndex(SharedIndexInformer<?> informer, String indexName) {
+        try {
+            return informer.getIndexer().getIndexers().containsKey(indexName);
+        } catch (Exception ignore) {
+            // Informer implementations without index support
+            return false;
+        }
+    }
+
+    /**
+     * Returns the entities with the given index value, or {@link Optional#empty()} if the informer does not provide
+     * the requested index. In the latter case the caller should fall back to scanning the informer cache.
+     */
+    public static <T> Optional<List<T>> findByIndex(SharedIndexInformer<T> informer, String indexName, String indexKey) {
+        return hasIndex(informer, indexName)
+                ? Optional.of(informer.getIndexer().byIndex(indexName, indexKey))
+                : Optional.empty();
+    }
+}
@@ -19,19 +19,20 @@ package com.netflix.titus.runtime.clustermembership.service;
 import java.time.Duration;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.netflix.spectator.api.Registry;
 import com.netflix.titus.api.clustermembership.model.ClusterMember;
 import com.netflix.titus.api.clustermembership.model.ClusterMemberLeadership;
+import com.netflix.titus.api.clustermembership.model.ClusterMemberLeadershipState;
 import com.netflix.titus.api.clustermembership.model.event.ClusterMembershipChangeEvent;
 import com.netflix.titus.api.clustermembership.model.event.ClusterMembershipEvent;
 import com.netflix.titus.api.clustermembership.model.event.LeaderElectionChangeEvent;
 import com.netflix.titus.common.util.ExceptionExt;
+import com.netflix.titus.common.util.concurrency.AsyncRecordWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.Disposable;
-import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.Disposables;
 import reactor.core.publisher.Flux;
-import reactor.core.scheduler.Scheduler;
-import reactor.core.scheduler.Schedulers;
 
 class ClusterMembershipTransactionLogger {
 
@@ -41,80 +42,120 @@ class ClusterMembershipTransactionLogger {
 
     private static final int BUFFER_SIZE = 5000;
 
-    static Disposable logEvents(Flux<ClusterMembershipEvent> events) {
-        Scheduler scheduler = Schedulers.newSingle("ClusterMembershipTransactionLogger");
-        return events
-                .onBackpressureBuffer(BUFFER_SIZE, BufferOverflowStrategy.ERROR)
-                .publishOn(scheduler)
+    static Disposable logEvents(Flux<ClusterMembershipEvent> events, Registry registry) {
+        AsyncRecordWriter<ClusterMembershipTransactionRecord> writer = new AsyncRecordWriter<>(
+                "clusterMembershipTransactionLog",
+                BUFFER_SIZE,
+                ClusterMembershipTransactionRecord::getEventType,
+                record -> logger.info(record.format()),
+                registry
+        );
+        Disposable subscription = events
                 .onErrorResume(e -> {
                     logger.warn("Transactions may be missing in the log. The event stream has terminated with an error and must be re-subscribed: {}", ExceptionExt.toMessage(e));
                     return Flux.interval(RETRY_INTERVAL).take(1).flatMap(tick -> events);
                 })
                 .subscribe(
-                        event -> logger.info(doFormat(event)),
+                        event -> {
+                            ClusterMembershipTransactionRecord record = toRecord(event);
+                            if (record != null) {
+                                writer.write(record);
+                            }
+                        },
                         e -> logger.error("Event stream terminated with an error", e),
                         () -> logger.info("Event stream completed")
                 );
+        return Disposables.composite(subscription, writer::close);
     }
 
     @VisibleForTesting
     static String doFormat(ClusterMembershipEvent event) {
+        ClusterMembershipTransactionRecord record = toRecord(event);
+        return record == null ? null : record.format();
+    }
+
+    private static ClusterMembershipTransactionRecord toRecord(ClusterMembershipEvent event) {
         if (event instanceof ClusterMembershipChangeEvent) {
-            return doFormat((ClusterMembershipChangeEvent) event);
+            ClusterMembershipChangeEvent changeEvent = (ClusterMembershipChangeEvent) event;
+            ClusterMember member = changeEvent.getRevision().getCurrent();
+            return new ClusterMembershipTransactionRecord(
+                    "membership",
+                    member.getMemberId(),
+                    member.isActive(),
+                    member.isRegistered(),
+                    member.isEnabled(),
+                    changeEvent.getRevision().getRevision(),
+                    null,
+                    -1
+            );
         }
         if (event instanceof LeaderElectionChangeEvent) {
-            return doFormat((LeaderElectionChangeEvent) event);
+            LeaderElectionChangeEvent leaderEvent = (LeaderElectionChangeEvent) event;
+            ClusterMemberLeadership member = leaderEvent.getLeadershipRevision().getCurrent();
+            return new ClusterMembershipTransactionRecord(
+                    "leadership",
+                    member.getMemberId(),
+                    false,
+                    false,
+                    false,
+                    -1,
+                    member.getLeadershipState(),
+                    leaderEvent.getLeadershipRevision().getRevision()
+            );
         }
         return null;
     }
 
-    private static String doFormat(ClusterMembershipChangeEvent event) {
-        ClusterMember member = event.getRevision().getCurrent();
-        return doFormat(
-                "membership",
-                member.getMemberId(),
-                member.isActive() + "",
-                member.isRegistered() + "",
-                member.isEnabled() + "",
-                event.getRevision().getRevision() + "",
-                "n/a",
-                "n/a"
-        );
-    }
+    /**
+     * Compact copy of a cluster membership event data. Leadership events carry no membership data, and
+     * membership events no leadership data, which is logged as 'n/a'.
+     */
+    private static class ClusterMembershipTransactionRecord {
 
+        private final String eventType;
+        private final String memberId;
+        private final boolean memberActive;
+        private final boolean memberRegistered;
+        private final boolean memberEnabled;
+        private final long memberRevision;
+        private final ClusterMemberLeadershipState leadershipState;
+        private final long leadershipRevision;
 
-    private static String doFormat(LeaderElectionChangeEvent event) {
-        ClusterMemberLeadership member = event.getLeadershipRevision().getCurrent();
-        return doFormat(
-                "leadership",
-                member.getMemberId(),
-                "n/a",
-                "n/a",
-                "n/a",
-                "n/a",
-                member.getLeadershipState().name(),
-                event.getLeadershipRevision().getRevision() + ""
-        );
-    }
+        private ClusterMembershipTransactionRecord(String eventType,
+                                                   String memberId,
+                                                   boolean memberActive,
+                                                   boolean memberRegistered,
+                                                   boolean memberEnabled,
+                                                   long memberRevision,
+                                                   ClusterMemberLeadershipState leadershipState,
+                                                   long leadershipRevision) {
+            this.eventType = eventType;
+            this.memberId = memberId;
+            this.memberActive = memberActive;
+            this.memberRegistered = memberRegistered;
+            this.memberEnabled = memberEnabled;
+            this.memberRevision = memberRevision;
+            this.leadershipState = leadershipState;
+            this.leadershipRevision = leadershipRevision;
+        }
 
-    private static String doFormat(String eventType,
-                                   String memberId,
-                                   String memberActive,
-                                   String memberRegistered,
-                                   String memberEnabled,
-                                   String memberRevision,
-                                   String leadershipState,
-                                   String leadershipRevision) {
-        return String.format(
-                "eventType=[%6s] memberId=%s active=%-5s registered=%-5s enabled=%-4s memberRevision=%-8s leadershipState=%-10s leadershipRevision=%s",
-                eventType,
-                memberId,
-                memberActive,
-                memberRegistered,
-                memberEnabled,
-                memberRevision,
-                leadershipState,
-                leadershipRevision
-        );
+        private String getEventType() {
+            return eventType;
+        }
+
+        private String format() {
+            boolean membership = leadershipState == null;
+            return String.format(
+                    "eventType=[%6s] memberId=%s active=%-5s registered=%-5s enabled=%-4s memberRevision=%-8s leadershipState=%-10s leadershipRevision=%s",
+                    eventType,
+                    memberId,
+                    membership ? memberActive + "" : "n/a",
+                    membership ? memberRegistered + "" : "n/a",
+                    membership ? memberEnabled + "" : "n/a",
+                    membership ? memberRevision + "" : "n/a",
+                    membership ? "n/a" : leadershipState.name(),
+                    membership ? "n/a" : leadershipRevision + ""
+            );
+        }
     }
 }
@@ -95,7 +95,7 @@ public class DefaultClusterMembershipService implements ClusterMembershipService
                 Schedulers.parallel()
         );
 
-        this.transactionLogDisposable = ClusterMembershipTransactionLogger.logEvents(connector.membershipChangeEvents());
+        this.transactionLogDisposable = ClusterMembershipTransactionLogger.logEvents(connector.membershipChangeEvents(), titusRuntime.getRegistry());
     }
 
     public void shutdown() {
@@ -25,7 +25,10 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * TODO Optimize. This is expensive and inefficient implementation.
+ * A set of orderings of the same collection of items. A new index set is created on each model update, which only
+ * takes a snapshot of the items. Each ordering is computed on its first read, and kept until the next update. Model
+ * updates that are not followed by a read of an index do not pay for sorting it, so adding an index ordering that is
+ * read infrequently does not add a full sort to each model update.
  */
 public class IndexSet<T> {
 
@@ -38,8 +41,9 @@ public class IndexSet<T> {
     }
 
     public IndexSet<T> apply(Collection<T> added) {
+        List<T> snapshot = Collections.unmodifiableList(new ArrayList<>(added));
         Map<Object, Index<T>> copy = new HashMap<>();
-        indexes.forEach((k, v) -> copy.put(k, v.apply(added)));
+        indexes.forEach((k, v) -> copy.put(k, v.apply(snapshot)));
         return new IndexSet<>(copy);
     }
 
@@ -64,25 +68,33 @@ public class IndexSet<T> {
     static class Index<T> {
 
         private final Comparator<T> comparator;
-        private final List<T> ordered;
+        private final List<T> unordered;
 
-        private Index(Comparator<T> comparator, List<T> ordered) {
+        private volatile List<T> ordered;
+
+        private Index(Comparator<T> comparator, List<T> unordered, List<T> ordered) {
             this.comparator = comparator;
+            this.unordered = unordered;
             this.ordered = ordered;
         }
 
-        Index<T> apply(Collection<T> added) {
-            List<T> copy = new ArrayList<>(added);
-            copy.sort(comparator);
-            return new Index<>(comparator, copy);
+        Index<T> apply(List<T> snapshot) {
+            return new Index<>(comparator, snapshot, null);
         }
 
         List<T> getOrdered() {
-            return ordered;
+            // Concurrent readers may sort the same snapshot more than once, which is harmless.
+            List<T> current = ordered;
+            if (current == null) {
+                current = new ArrayList<>(unordered);
+                current.sort(comparator);
+                this.ordered = current;
+            }
+            return current;
         }
 
         static <T> Index<T> newIndex(Comparator<T> comparator) {
-            return new Index<>(comparator, Collections.emptyList());
+            return new Index<>(comparator, Collections.emptyList(), Collections.emptyList());
         }
     }
 }
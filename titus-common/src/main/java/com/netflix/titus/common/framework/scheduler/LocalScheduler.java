@@ -84,7 +84,8 @@ public interface LocalScheduler {
 
     /**
      * Schedule an action which is executed synchronously. If the action execution time is long (>1ms), set
-     * isolated flag to true. Isolated actions run on their own thread.
+     * isolated flag to true. Isolated actions run on a thread pool shared by all isolated schedules, but never
+     * more than one action of the same schedule at a time.
      */
     ScheduleReference schedule(ScheduleDescriptor scheduleDescriptor, Consumer<ExecutionContext> action, boolean isolated);
 
@@ -19,21 +19,27 @@ package com.netflix.titus.common.framework.scheduler.internal;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Stopwatch;
 import com.netflix.spectator.api.Registry;
 import com.netflix.titus.common.framework.scheduler.ExecutionContext;
@@ -52,6 +58,7 @@ import com.netflix.titus.common.framework.scheduler.model.event.ScheduleRemovedE
 import com.netflix.titus.common.framework.scheduler.model.event.ScheduleUpdateEvent;
 import com.netflix.titus.common.util.rx.ReactorExt;
 import com.netflix.titus.common.util.time.Clock;
+import com.netflix.titus.common.util.time.TestClock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.Disposable;
@@ -61,11 +68,29 @@ import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
+/**
+ * {@link LocalScheduler} implementation with a single event loop, that wakes up only when there is work to do. Each
+ * active schedule is evaluated when its current action is due to start (tracked in a deadline heap), or when its
+ * running action completed or was cancelled. The internal loop interval is the minimum time between two consecutive
+ * evaluations, so frequent action completions are handled in batches.
+ * <p>
+ * Isolated actions run on a shared, bounded thread pool. Actions of a single schedule are executed sequentially, so
+ * at most one pool thread is used by a schedule at any time. Workers running past their schedule timeout are replaced
+ * by extra pool threads (see {@link IsolatedThreadPool}), so hanging actions do not starve the other schedules.
+ */
 public class DefaultLocalScheduler implements LocalScheduler {
 
     private static final Logger logger = LoggerFactory.getLogger(DefaultLocalScheduler.class);
 
-    private static final ThreadGroup SCHEDULER_THREAD_GROUP = new ThreadGroup("LocalScheduler");
+    private static final String ISOLATED_POOL_NAME = "localScheduler-isolated";
+
+    public static final int DEFAULT_ISOLATED_POOL_SIZE = Math.max(8, 2 * Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Upper bound on the event loop sleep time. Running actions signal their completion, and new schedules and
+     * {@link TestClock} time advances wake up the event loop, so this is only a safety net.
+     */
+    private static final long MAX_IDLE_TIME_MS = 500;
 
     private static final Runnable DO_NOTHING = () -> {
     };
@@ -75,28 +100,60 @@ public class DefaultLocalScheduler implements LocalScheduler {
     private final Registry registry;
     private final Scheduler scheduler;
     private final Scheduler.Worker worker;
+    private final IsolatedThreadPool isolatedThreadPool;
 
     private final BlockingQueue<ScheduleHolder> newHolders = new LinkedBlockingQueue<>();
+    private final Queue<ScheduleHolder> signaledHolders = new ConcurrentLinkedQueue<>();
     private final ConcurrentMap<String, ScheduleHolder> activeHoldersById = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, Schedule> archivedSchedulesById = new ConcurrentHashMap<>();
     private final DirectProcessor<LocalSchedulerEvent> eventProcessor = DirectProcessor.create();
     private final SchedulerMetrics metrics;
     private final Disposable transactionLoggerDisposable;
+    private final Runnable clockAdvanceListenerRemover;
+
+    /**
+     * Schedule evaluation deadlines, ordered by time. Accessed from the event loop only.
+     */
+    private final PriorityQueue<Deadline> deadlines = new PriorityQueue<>(Comparator.comparingLong(Deadline::getTime));
+
+    private final Object wakeUpLock = new Object();
+    private long nextRunTime = Long.MAX_VALUE;
+    private long nextRunId;
+    private volatile long lastRunTime;
+    private volatile boolean shutdown;
 
     public DefaultLocalScheduler(Duration internalLoopInterval, Scheduler scheduler, Clock clock, Registry registry) {
+        this(internalLoopInterval, DEFAULT_ISOLATED_POOL_SIZE, scheduler, clock, registry);
+    }
+
+    public DefaultLocalScheduler(Duration internalLoopInterval,
+                                 int isolatedPoolSize,
+                                 Scheduler scheduler,
+                                 Clock clock,
+                                 Registry registry) {
         this.internalLoopIntervalMs = internalLoopInterval.toMillis();
         this.scheduler = scheduler;
         this.clock = clock;
         this.registry = registry;
         this.worker = scheduler.createWorker();
+        this.isolatedThreadPool = new IsolatedThreadPool(ISOLATED_POOL_NAME, isolatedPoolSize, clock, registry);
         this.metrics = new SchedulerMetrics(this, clock, registry);
-        this.transactionLoggerDisposable = LocalSchedulerTransactionLogger.logEvents(this);
+        this.transactionLoggerDisposable = LocalSchedulerTransactionLogger.logEvents(this, registry);
+        this.lastRunTime = clock.wallTime();
+        this.clockAdvanceListenerRemover = clock instanceof TestClock
+                ? ((TestClock) clock).addAdvanceListener(this::onClockAdvance)
+                : DO_NOTHING;
 
-        scheduleNextIteration();
+        requestRunAt(lastRunTime + internalLoopIntervalMs);
     }
 
     public void shutdown() {
+        synchronized (wakeUpLock) {
+            shutdown = true;
+        }
+        clockAdvanceListenerRemover.run();
         worker.dispose();
+        isolatedThreadPool.shutdown();
         metrics.shutdown();
         ReactorExt.safeDispose(transactionLoggerDisposable);
     }
@@ -135,15 +192,10 @@ public class DefaultLocalScheduler implements LocalScheduler {
 
     @Override
     public ScheduleReference schedule(ScheduleDescriptor scheduleDescriptor, Consumer<ExecutionContext> action, boolean isolated) {
-        ExecutorService executorService = isolated ?
-                Executors.newSingleThreadScheduledExecutor(r -> {
-                    Thread thread = new Thread(SCHEDULER_THREAD_GROUP, r, scheduleDescriptor.getName());
-                    thread.setDaemon(true);
-                    return thread;
-                })
-                :
-                null;
-        return schedule(scheduleDescriptor, action, executorService);
+        if (!isolated) {
+            return schedule(scheduleDescriptor, action, (ExecutorService) null);
+        }
+        return scheduleInternal(scheduleDescriptor, toMonoAction(action), newIsolatedScheduler(scheduleDescriptor), DO_NOTHING);
     }
 
     @Override
@@ -157,15 +209,30 @@ public class DefaultLocalScheduler implements LocalScheduler {
             actionScheduler = this.scheduler;
             cleanup = DO_NOTHING;
         }
+        return scheduleInternal(scheduleDescriptor, toMonoAction(action), actionScheduler, cleanup);
+    }
 
-        return scheduleInternal(scheduleDescriptor, executionContext -> Mono.defer(() -> {
+    private Function<ExecutionContext, Mono<Void>> toMonoAction(Consumer<ExecutionContext> action) {
+        return executionContext -> Mono.defer(() -> {
             try {
                 action.accept(executionContext);
                 return Mono.empty();
             } catch (Exception e) {
                 return Mono.error(e);
             }
-        }), actionScheduler, cleanup);
+        });
+    }
+
+    /**
+     * Creates a scheduler backed by the shared isolated thread pool, which executes the submitted tasks one at a time.
+     */
+    private Scheduler newIsolatedScheduler(ScheduleDescriptor descriptor) {
+        return Schedulers.fromExecutor(isolatedThreadPool.newSequentialExecutor(descriptor.getName(), descriptor.getTimeout()));
+    }
+
+    @VisibleForTesting
+    int getIsolatedPoolSize() {
+        return isolatedThreadPool.getPoolSize();
     }
 
     private ScheduleReference scheduleInternal(ScheduleDescriptor descriptor, Function<ExecutionContext, Mono<Void>> actionProducer, Scheduler scheduler, Runnable cleanup) {
@@ -173,6 +240,7 @@ public class DefaultLocalScheduler implements LocalScheduler {
 
         ScheduleHolder scheduleHolder = new ScheduleHolder(scheduleId, descriptor, actionProducer, scheduler, cleanup);
         newHolders.add(scheduleHolder);
+        requestEarliestRun();
 
         return scheduleHolder.getReference();
     }
@@ -185,33 +253,149 @@ public class DefaultLocalScheduler implements LocalScheduler {
                 throw LocalSchedulerException.scheduleNotFound(scheduleId);
             }
             holder.cancelInternal();
+            signal(holder);
         }, worker);
     }
 
-    private void scheduleNextIteration() {
-        worker.schedule(this::doRun, internalLoopIntervalMs, TimeUnit.MILLISECONDS);
+    /**
+     * Requests evaluation of the given schedule in the next event loop iteration.
+     */
+    private void signal(ScheduleHolder holder) {
+        signaledHolders.add(holder);
+        requestEarliestRun();
     }
 
-    private void doRun() {
-        Stopwatch timer = Stopwatch.createStarted();
+    private void requestEarliestRun() {
+        requestRunAt(lastRunTime + internalLoopIntervalMs);
+    }
 
-        List<ScheduleHolder> holders = new ArrayList<>();
-        newHolders.drainTo(holders);
-        holders.forEach(h -> {
-            activeHoldersById.put(h.getSchedule().getId(), h);
-            eventProcessor.onNext(new ScheduleAddedEvent(h.getSchedule()));
-        });
+    /**
+     * Schedules the event loop iteration at the given time, unless an iteration is already scheduled at the same
+     * or earlier time. Iterations scheduled for a later time become obsolete, and exit without doing anything.
+     */
+    private void requestRunAt(long runTime) {
+        synchronized (wakeUpLock) {
+            if (shutdown || runTime >= nextRunTime) {
+                return;
+            }
+            this.nextRunTime = runTime;
+            long runId = ++nextRunId;
+            long delayMs = Math.max(0, runTime - clock.wallTime());
+            worker.schedule(() -> doRun(runId), delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
 
+    /**
+     * The pending event loop iteration was scheduled with a real time delay computed from the clock time before the
+     * advance. It is replaced with an iteration scheduled for the same clock time, so deadlines reached by the advance
+     * are evaluated immediately. If no iteration is pending, one is running, and it schedules the next one using the
+     * advanced clock time.
+     */
+    private void onClockAdvance() {
+        synchronized (wakeUpLock) {
+            long runTime = nextRunTime;
+            if (shutdown || runTime == Long.MAX_VALUE) {
+                return;
+            }
+            this.nextRunTime = Long.MAX_VALUE;
+            requestRunAt(runTime);
+        }
+    }
+
+    private void doRun(long runId) {
+        synchronized (wakeUpLock) {
+            if (runId != nextRunId) {
+                return;
+            }
+            this.nextRunTime = Long.MAX_VALUE;
+        }
+
+        Stopwatch timer = Stopwatch.createStarted();
+        long now = clock.wallTime();
+        this.lastRunTime = now;
+
+        Set<ScheduleHolder> toEvaluate = new LinkedHashSet<>();
         try {
-            activeHoldersById.values().forEach(ScheduleHolder::handleExecution);
+            List<ScheduleHolder> holders = new ArrayList<>();
+            newHolders.drainTo(holders);
+            holders.forEach(h -> {
+                activeHoldersById.put(h.getSchedule().getId(), h);
+                eventProcessor.onNext(new ScheduleAddedEvent(h.getSchedule()));
+                toEvaluate.add(h);
+            });
+
+            ScheduleHolder signaled;
+            while ((signaled = signaledHolders.poll()) != null) {
+                toEvaluate.add(signaled);
+            }
+            while (!deadlines.isEmpty() && deadlines.peek().getTime() <= now) {
+                Deadline deadline = deadlines.poll();
+                if (deadline.isCurrent()) {
+                    toEvaluate.add(deadline.getHolder());
+                }
+            }
+
+            for (ScheduleHolder holder : toEvaluate) {
+                if (!holder.isActive()) {
+                    // Signal received after the schedule was removed.
+                    continue;
+                }
+                try {
+                    holder.handleExecution();
+                } catch (Exception e) {
+                    logger.warn("Unexpected error in the internal scheduler loop: scheduleName={}", holder.getSchedule().getDescriptor().getName(), e);
+                }
+                if (holder.isActive()) {
+                    holder.updateDeadline(now);
+                }
+            }
+            isolatedThreadPool.resizeForStuckWorkers();
         } catch (Exception e) {
             logger.warn("Unexpected error in the internal scheduler loop", e);
         } finally {
-            scheduleNextIteration();
+            scheduleNextRun(now);
             metrics.recordEvaluationTime(timer.elapsed(TimeUnit.MILLISECONDS));
         }
     }
 
+    private void scheduleNextRun(long now) {
+        while (!deadlines.isEmpty() && !deadlines.peek().isCurrent()) {
+            deadlines.poll();
+        }
+        long nextDeadline = deadlines.isEmpty() ? Long.MAX_VALUE : deadlines.peek().getTime();
+        if (!signaledHolders.isEmpty() || !newHolders.isEmpty()) {
+            nextDeadline = now;
+        }
+        long runTime = Math.min(nextDeadline, now + MAX_IDLE_TIME_MS);
+        requestRunAt(Math.max(runTime, now + internalLoopIntervalMs));
+    }
+
+    private static class Deadline {
+
+        private final long time;
+        private final ScheduleHolder holder;
+
+        private Deadline(long time, ScheduleHolder holder) {
+            this.time = time;
+            this.holder = holder;
+        }
+
+        private long getTime() {
+            return time;
+        }
+
+        private ScheduleHolder getHolder() {
+            return holder;
+        }
+
+        /**
+         * A deadline is replaced when the schedule is re-evaluated before it is reached.
+         */
+        private boolean isCurrent() {
+            return holder.deadline == this;
+        }
+    }
+
     private class ScheduleHolder {
 
         private final Runnable cleanup;
@@ -220,6 +404,11 @@ public class DefaultLocalScheduler implements LocalScheduler {
         private volatile ScheduledActionExecutor executor;
         private volatile boolean closed;
 
+        /**
+         * Next evaluation deadline. Accessed from the event loop only.
+         */
+        private Deadline deadline;
+
         private ScheduleHolder(String scheduleId,
                                ScheduleDescriptor descriptor,
                                Function<ExecutionContext, Mono<Void>> actionProducer,
@@ -241,7 +430,7 @@ public class DefaultLocalScheduler implements LocalScheduler {
                     .withCurrentAction(firstAction)
                     .withCompletedActions(Collections.emptyList())
                     .build();
-            this.executor = new ScheduledActionExecutor(schedule, new ScheduleMetrics(schedule, clock, registry), actionProducer, scheduler, clock);
+            this.executor = new ScheduledActionExecutor(schedule, new ScheduleMetrics(schedule, clock, registry), actionProducer, scheduler, () -> signal(this), clock);
 
             this.cleanup = cleanup;
             this.reference = new ScheduleReference() {
@@ -275,6 +464,10 @@ public class DefaultLocalScheduler implements LocalScheduler {
             return reference;
         }
 
+        private boolean isActive() {
+            return activeHoldersById.get(executor.getSchedule().getId()) == this;
+        }
+
         /**
          * Must be called from the within an event loop.
          */
@@ -292,13 +485,32 @@ public class DefaultLocalScheduler implements LocalScheduler {
             }
         }
 
+        /**
+         * Must be called from the within an event loop. Waiting actions are evaluated when they are due to start.
+         * Running or cancelled actions are evaluated when they complete (see {@link #signal(ScheduleHolder)}), and
+         * periodically as a safety net.
+         */
+        private void updateDeadline(long now) {
+            ScheduledAction action = executor.getAction();
+            long time = action.getStatus().getState() == SchedulingState.Waiting
+                    ? action.getStatus().getExpectedStartTime()
+                    : now + MAX_IDLE_TIME_MS;
+            // The previous deadline, if still in the queue, becomes obsolete, and is discarded when reached.
+            this.deadline = new Deadline(time, this);
+            deadlines.add(deadline);
+        }
+
         /**
          * Must be called from the within an event loop.
          */
         private void handleExecution() {
+            ScheduledAction actionBefore = executor.getAction();
             if (!executor.handleExecution()) {
                 return;
             }
+            if (actionBefore.getStatus().getState() == SchedulingState.Waiting) {
+                metrics.recordSchedulingLag(clock.wallTime() - actionBefore.getStatus().getExpectedStartTime());
+            }
             Schedule currentSchedule = executor.getSchedule();
             eventProcessor.onNext(new ScheduleUpdateEvent(currentSchedule));
 
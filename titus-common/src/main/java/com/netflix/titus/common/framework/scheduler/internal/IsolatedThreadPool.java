@@ -0,0 +1,167 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.titus.common.framework.scheduler.internal;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.patterns.PolledMeter;
+import com.netflix.spectator.api.patterns.ThreadPoolMonitor;
+import com.netflix.titus.common.util.time.Clock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Thread pool shared by the isolated schedules. An action that runs past its schedule timeout cannot be interrupted,
+ * and keeps its pool thread. Such workers are counted as stuck, and the pool is grown by one thread for each of them,
+ * so the remaining isolated schedules are not starved. The pool shrinks back to its base size when the stuck actions
+ * complete.
+ */
+class IsolatedThreadPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(IsolatedThreadPool.class);
+
+    private final String name;
+    private final int baseSize;
+    private final Clock clock;
+    private final Registry registry;
+    private final ThreadPoolExecutor executor;
+    private final Id stuckWorkersId;
+
+    private final ConcurrentMap<Thread, RunningAction> runningActions = new ConcurrentHashMap<>();
+
+    private volatile int stuckWorkers;
+
+    IsolatedThreadPool(String name, int baseSize, Clock clock, Registry registry) {
+        this.name = name;
+        this.baseSize = Math.max(1, baseSize);
+        this.clock = clock;
+        this.registry = registry;
+
+        ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                .setNameFormat(name + "-%d")
+                .setDaemon(true)
+                .build();
+        this.executor = new ThreadPoolExecutor(
+                this.baseSize, this.baseSize,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                threadFactory
+        );
+        ThreadPoolMonitor.attach(registry, executor, name);
+
+        this.stuckWorkersId = registry.createId(ScheduleMetrics.ROOT_NAME + "isolatedStuckWorkers");
+        PolledMeter.using(registry)
+                .withId(stuckWorkersId)
+                .monitorValue(this, self -> self.stuckWorkers);
+    }
+
+    void shutdown() {
+        PolledMeter.remove(registry, stuckWorkersId);
+        executor.shutdown();
+    }
+
+    int getPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    /**
+     * Returns an executor that runs the submitted tasks of one schedule on this pool one at a time. While a task is
+     * running, the schedule name is appended to the pool thread name, so it can be identified in thread dumps.
+     */
+    Executor newSequentialExecutor(String scheduleName, Duration timeout) {
+        Executor sequentialExecutor = MoreExecutors.newSequentialExecutor(executor);
+        return task -> sequentialExecutor.execute(() -> {
+            Thread thread = Thread.currentThread();
+            String threadName = thread.getName();
+            thread.setName(threadName + '-' + scheduleName);
+            long startTime = clock.wallTime();
+            long timeoutMs = timeout.toMillis();
+            long deadline = timeoutMs > Long.MAX_VALUE - startTime ? Long.MAX_VALUE : startTime + timeoutMs;
+            runningActions.put(thread, new RunningAction(scheduleName, deadline));
+            try {
+                task.run();
+            } finally {
+                runningActions.remove(thread);
+                thread.setName(threadName);
+            }
+        });
+    }
+
+    /**
+     * Resizes the pool to the base size plus the number of workers running past their timeout. Called from the
+     * scheduler event loop only.
+     */
+    void resizeForStuckWorkers() {
+        long now = clock.wallTime();
+        int stuck = 0;
+        for (RunningAction action : runningActions.values()) {
+            if (action.getDeadline() < now) {
+                stuck++;
+            }
+        }
+        if (stuck == stuckWorkers) {
+            return;
+        }
+        if (stuck > stuckWorkers) {
+            logger.warn("Isolated actions running past their timeout: pool={}, stuckWorkers={}, running={}", name, stuck, runningActions.values());
+        } else {
+            logger.info("Stuck isolated actions completed: pool={}, stuckWorkers={}", name, stuck);
+        }
+        this.stuckWorkers = stuck;
+
+        int newSize = baseSize + stuck;
+        if (newSize > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(newSize);
+            executor.setCorePoolSize(newSize);
+        } else {
+            executor.setCorePoolSize(newSize);
+            executor.setMaximumPoolSize(newSize);
+        }
+    }
+
+    private static class RunningAction {
+
+        private final String scheduleName;
+        private final long deadline;
+
+        private RunningAction(String scheduleName, long deadline) {
+            this.scheduleName = scheduleName;
+            this.deadline = deadline;
+        }
+
+        private long getDeadline() {
+            return deadline;
+        }
+
+        @Override
+        public String toString() {
+            return scheduleName;
+        }
+    }
+}
@@ -20,6 +20,7 @@ import java.time.Duration;
 import java.util.List;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.netflix.spectator.api.Registry;
 import com.netflix.titus.common.framework.scheduler.LocalScheduler;
 import com.netflix.titus.common.framework.scheduler.model.Schedule;
 import com.netflix.titus.common.framework.scheduler.model.ScheduledAction;
@@ -29,9 +30,11 @@ import com.netflix.titus.common.framework.scheduler.model.event.LocalSchedulerEv
 import com.netflix.titus.common.framework.scheduler.model.event.ScheduleAddedEvent;
 import com.netflix.titus.common.framework.scheduler.model.event.ScheduleRemovedEvent;
 import com.netflix.titus.common.framework.scheduler.model.event.ScheduleUpdateEvent;
+import com.netflix.titus.common.util.concurrency.AsyncRecordWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.Disposable;
+import reactor.core.Disposables;
 import reactor.util.retry.Retry;
 
 import static com.netflix.titus.common.util.CollectionsExt.last;
@@ -42,21 +45,37 @@ class LocalSchedulerTransactionLogger {
 
     private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
 
-    static Disposable logEvents(LocalScheduler localScheduler) {
-        return localScheduler.events()
+    private static final int BUFFER_SIZE = 5000;
+
+    static Disposable logEvents(LocalScheduler localScheduler, Registry registry) {
+        AsyncRecordWriter<LocalSchedulerTransactionRecord> writer = new AsyncRecordWriter<>(
+                "localSchedulerTransactionLog",
+                BUFFER_SIZE,
+                LocalSchedulerTransactionRecord::getEventType,
+                LocalSchedulerTransactionLogger::write,
+                registry
+        );
+        Disposable subscription = localScheduler.events()
                 .retryWhen(Retry.fixedDelay(1, RETRY_DELAY))
                 .subscribe(
                         event -> {
                             boolean failure = event.getSchedule().getCurrentAction().getStatus().getError().isPresent();
-                            if (failure) {
-                                logger.info(doFormat(event));
-                            } else {
-                                logger.debug(doFormat(event));
+                            if (failure || logger.isDebugEnabled()) {
+                                writer.write(new LocalSchedulerTransactionRecord(event, failure));
                             }
                         },
                         e -> logger.error("Event stream terminated with an error", e),
                         () -> logger.info("Event stream completed")
                 );
+        return Disposables.composite(subscription, writer::close);
+    }
+
+    private static void write(LocalSchedulerTransactionRecord record) {
+        if (record.isFailure()) {
+            logger.info(doFormat(record.getEvent()));
+        } else {
+            logger.debug(doFormat(record.getEvent()));
+        }
     }
 
     @VisibleForTesting
@@ -139,4 +158,31 @@ class LocalSchedulerTransactionLogger {
         ScheduledAction previousAction = last(schedule.getCompletedActions());
         return currentStatus.getTimestamp() - previousAction.getStatus().getTimestamp();
     }
+
+    /**
+     * Local scheduler events carry immutable schedule snapshots, so the record keeps a reference to the event, and
+     * the formatting is done on the writer thread.
+     */
+    private static class LocalSchedulerTransactionRecord {
+
+        private final LocalSchedulerEvent event;
+        private final boolean failure;
+
+        private LocalSchedulerTransactionRecord(LocalSchedulerEvent event, boolean failure) {
+            this.event = event;
+            this.failure = failure;
+        }
+
+        private LocalSchedulerEvent getEvent() {
+            return event;
+        }
+
+        private boolean isFailure() {
+            return failure;
+        }
+
+        private String getEventType() {
+            return event.getClass().getSimpleName();
+        }
+    }
 }
@@ -53,6 +53,8 @@ class ScheduledActionExecutor {
     private final ScheduleDescriptor descriptor;
     private final Function<ExecutionContext, Mono<Void>> actionProducer;
     private final Scheduler scheduler;
+    // Invoked when the action execution completes, so the owner can evaluate this executor without polling it.
+    private final Runnable onActionCompleted;
     private final Clock clock;
 
     private volatile Schedule schedule;
@@ -70,12 +72,14 @@ class ScheduledActionExecutor {
                             ScheduleMetrics scheduleMetrics,
                             Function<ExecutionContext, Mono<Void>> actionProducer,
                             Scheduler scheduler,
+                            Runnable onActionCompleted,
                             Clock clock) {
         this.schedule = schedule;
         this.descriptor = schedule.getDescriptor();
         this.scheduleMetrics = scheduleMetrics;
         this.actionProducer = actionProducer;
         this.scheduler = scheduler;
+        this.onActionCompleted = onActionCompleted;
         this.clock = clock;
 
         this.action = schedule.getCurrentAction();
@@ -134,6 +138,7 @@ class ScheduledActionExecutor {
                 scheduleMetrics,
                 actionProducer,
                 scheduler,
+                onActionCompleted,
                 clock
         );
     }
@@ -235,10 +240,12 @@ class ScheduledActionExecutor {
                                 ExceptionExt.silent(() -> descriptor.getOnErrorHandler().accept(action, finalEffectiveError));
                                 this.error = effectiveError;
                                 this.actionCompleted = true;
+                                onActionCompleted.run();
                             },
                             () -> {
                                 ExceptionExt.silent(() -> descriptor.getOnSuccessHandler().accept(action));
                                 this.actionCompleted = true;
+                                onActionCompleted.run();
                             }
 
                     );
@@ -33,9 +33,13 @@ class SchedulerMetrics {
     private final Id activeSchedulesId;
     private final Id archivedSchedulesId;
     private final Id lastEvaluationId;
+    private final Id maxSchedulingLagId;
     private final Timer evaluationTimer;
+    private final Timer schedulingLagTimer;
 
     private long lastEvaluationTime;
+    private volatile long maxSchedulingLagMs;
+    private long currentMaxSchedulingLagMs = -1;
 
     SchedulerMetrics(DefaultLocalScheduler scheduler, Clock clock, Registry registry) {
         this.clock = clock;
@@ -49,7 +53,7 @@ class SchedulerMetrics {
                 .monitorValue(this, self -> self.scheduler.getActiveSchedules().size());
         this.archivedSchedulesId = registry.createId(ScheduleMetrics.ROOT_NAME + "archived");
         PolledMeter.using(registry)
-                .withId(activeSchedulesId)
+                .withId(archivedSchedulesId)
                 .monitorValue(this, self -> self.scheduler.getArchivedSchedules().size());
 
         this.evaluationTimer = registry.timer(ScheduleMetrics.ROOT_NAME + "evaluationTime");
@@ -57,16 +61,41 @@ class SchedulerMetrics {
         PolledMeter.using(registry)
                 .withId(lastEvaluationId)
                 .monitorValue(this, self -> self.clock.wallTime() - self.lastEvaluationTime);
+
+        // Delay between the expected start time of an action, and the time it was actually started.
+        this.schedulingLagTimer = registry.timer(ScheduleMetrics.ROOT_NAME + "schedulingLag");
+        this.maxSchedulingLagId = registry.createId(ScheduleMetrics.ROOT_NAME + "maxSchedulingLagMs");
+        PolledMeter.using(registry)
+                .withId(maxSchedulingLagId)
+                .monitorValue(this, self -> self.maxSchedulingLagMs);
     }
 
     void shutdown() {
         PolledMeter.remove(registry, activeSchedulesId);
         PolledMeter.remove(registry, archivedSchedulesId);
         PolledMeter.remove(registry, lastEvaluationId);
+        PolledMeter.remove(registry, maxSchedulingLagId);
+    }
+
+    /**
+     * Called from the scheduler event loop only.
+     */
+    void recordSchedulingLag(long lagMs) {
+        long effectiveLagMs = Math.max(0, lagMs);
+        schedulingLagTimer.record(effectiveLagMs, TimeUnit.MILLISECONDS);
+        currentMaxSchedulingLagMs = Math.max(currentMaxSchedulingLagMs, effectiveLagMs);
     }
 
+    /**
+     * Called from the scheduler event loop only. The maximum scheduling lag gauge reports the largest lag observed
+     * in the last evaluation that started any action.
+     */
     void recordEvaluationTime(long evaluationTimeMs) {
         this.lastEvaluationTime = clock.wallTime();
         evaluationTimer.record(evaluationTimeMs, TimeUnit.MILLISECONDS);
+        if (currentMaxSchedulingLagMs >= 0) {
+            this.maxSchedulingLagMs = currentMaxSchedulingLagMs;
+            this.currentMaxSchedulingLagMs = -1;
+        }
     }
 }
@@ -42,6 +42,7 @@ public class EntitySanitizerBuilder {
     private Function<String, Optional<Object>> templateResolver = path -> Optional.empty();
     private boolean annotationSanitizersEnabled;
     private boolean stdValueSanitizersEnabled;
+    private boolean compiledModeEnabled;
 
     private Function<Class<?>, Boolean> includesPredicate = type -> false;
 
@@ -113,6 +114,16 @@ public class EntitySanitizerBuilder {
         return this;
     }
 
+    /**
+     * Enables the compiled mode, in which SpEL expressions are compiled to bytecode where possible, and entity fields
+     * and constructors are accessed via method handles resolved once per entity class, instead of reflection.
+     * The validation and sanitization results are the same as in the default (interpreted) mode.
+     */
+    public EntitySanitizerBuilder enableCompiledMode() {
+        this.compiledModeEnabled = true;
+        return this;
+    }
+
     /**
      * Adding template objects, implicitly enables template based sanitization. If a sanitized entity misses a value, the
      * value will be copied from its corresponding template.
@@ -147,7 +158,8 @@ public class EntitySanitizerBuilder {
 
     public EntitySanitizer build() {
         return new DefaultEntitySanitizer(verifierMode, sanitizers, annotationSanitizersEnabled, stdValueSanitizersEnabled,
-                includesPredicate, templateResolver, registeredFunctions, registeredBeans, applicationValidatorFactory);
+                includesPredicate, templateResolver, registeredFunctions, registeredBeans, applicationValidatorFactory,
+                compiledModeEnabled);
     }
 
     /**
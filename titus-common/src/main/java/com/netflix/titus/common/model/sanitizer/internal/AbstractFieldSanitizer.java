@@ -18,6 +18,7 @@ package com.netflix.titus.common.model.sanitizer.internal;
 
 import java.lang.reflect.Field;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
@@ -28,16 +29,37 @@ abstract class AbstractFieldSanitizer<CONTEXT> implements Function<Object, Optio
 
     static final Object NOTHING = new Object();
 
+    private final boolean compiled;
+
+    protected AbstractFieldSanitizer() {
+        this(false);
+    }
+
+    /**
+     * @param compiled if true, entity fields are accessed via pre-resolved method handles
+     */
+    protected AbstractFieldSanitizer(boolean compiled) {
+        this.compiled = compiled;
+    }
+
     protected Optional<Object> apply(Object entity, CONTEXT context) {
-        JavaBeanReflection javaBeanRefl = JavaBeanReflection.forType(entity.getClass());
+        JavaBeanReflection javaBeanRefl = JavaBeanReflection.forType(entity.getClass(), compiled);
 
-        Map<Field, Object> fixedValues = new HashMap<>();
-        javaBeanRefl.getFields().forEach(field -> {
-            Object fieldValue = javaBeanRefl.getFieldValue(entity, field);
-            sanitizeFieldValue(field, fieldValue, context).ifPresent(newValue -> fixedValues.put(field, newValue));
-        });
+        Map<Field, Object> fixedValues = null;
+        List<Field> fields = javaBeanRefl.getFields();
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            Object fieldValue = javaBeanRefl.getFieldValue(entity, i);
+            Optional<Object> newValue = sanitizeFieldValue(field, fieldValue, context);
+            if (newValue.isPresent()) {
+                if (fixedValues == null) {
+                    fixedValues = new HashMap<>();
+                }
+                fixedValues.put(field, newValue.get());
+            }
+        }
 
-        if (fixedValues.isEmpty()) {
+        if (fixedValues == null) {
             return Optional.empty();
         }
 
@@ -39,16 +39,29 @@ public class AnnotationBasedSanitizer extends AbstractFieldSanitizer<Object> {
 
     private static final SanitizerInfo EMPTY_SANITIZER_INFO = new SanitizerInfo(false, null, null, -1, -1);
 
-    private final static ConcurrentMap<Field, SanitizerInfo> FIELD_SANITIZER_INFOS = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Field, SanitizerInfo> fieldSanitizerInfos = new ConcurrentHashMap<>();
 
-    private final ExpressionParser parser = new SpelExpressionParser();
+    private final ExpressionParser parser;
     private final EvaluationContext spelContext;
     private final Function<Class<?>, Boolean> innerEntityPredicate;
 
     public AnnotationBasedSanitizer(EvaluationContext spelContext,
                                     Function<Class<?>, Boolean> innerEntityPredicate) {
+        this(spelContext, innerEntityPredicate, new SpelExpressionParser(), false);
+    }
+
+    /**
+     * @param parser parser for the adjuster expressions, possibly configured with the SpEL compiler
+     * @param compiled if true, entity fields are accessed via pre-resolved method handles
+     */
+    public AnnotationBasedSanitizer(EvaluationContext spelContext,
+                                    Function<Class<?>, Boolean> innerEntityPredicate,
+                                    ExpressionParser parser,
+                                    boolean compiled) {
+        super(compiled);
         this.innerEntityPredicate = innerEntityPredicate;
         this.spelContext = spelContext;
+        this.parser = parser;
     }
 
     @Override
@@ -142,7 +155,7 @@ public class AnnotationBasedSanitizer extends AbstractFieldSanitizer<Object> {
     }
 
     private SanitizerInfo getSanitizerInfo(Field field) {
-        return FIELD_SANITIZER_INFOS.computeIfAbsent(field, f -> {
+        return fieldSanitizerInfos.computeIfAbsent(field, f -> {
             FieldSanitizer annotation = f.getAnnotation(FieldSanitizer.class);
             return annotation == null ? EMPTY_SANITIZER_INFO : buildSanitizerInfo(field, annotation);
         });
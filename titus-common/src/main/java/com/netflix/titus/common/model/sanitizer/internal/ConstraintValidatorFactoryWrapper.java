@@ -25,6 +25,8 @@ import javax.validation.ConstraintValidatorFactory;
 import com.netflix.titus.common.model.sanitizer.VerifierMode;
 import org.hibernate.validator.internal.engine.constraintvalidation.ConstraintValidatorFactoryImpl;
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 
 /**
  */
@@ -34,23 +36,32 @@ public class ConstraintValidatorFactoryWrapper implements ConstraintValidatorFac
     private final VerifierMode verifierMode;
     private final Function<Class<?>, Optional<ConstraintValidator<?, ?>>> applicationConstraintValidatorFactory;
     private final Supplier<EvaluationContext> spelContextFactory;
+    private final ExpressionParser parser;
 
     public ConstraintValidatorFactoryWrapper(VerifierMode verifierMode,
                                              Function<Class<?>, Optional<ConstraintValidator<?, ?>>> applicationConstraintValidatorFactory,
                                              Supplier<EvaluationContext> spelContextFactory) {
+        this(verifierMode, applicationConstraintValidatorFactory, spelContextFactory, new SpelExpressionParser());
+    }
+
+    public ConstraintValidatorFactoryWrapper(VerifierMode verifierMode,
+                                             Function<Class<?>, Optional<ConstraintValidator<?, ?>>> applicationConstraintValidatorFactory,
+                                             Supplier<EvaluationContext> spelContextFactory,
+                                             ExpressionParser parser) {
         this.verifierMode = verifierMode;
         this.applicationConstraintValidatorFactory = applicationConstraintValidatorFactory;
         this.spelContextFactory = spelContextFactory;
+        this.parser = parser;
         this.delegate = new ConstraintValidatorFactoryImpl();
     }
 
     @Override
     public <T extends ConstraintValidator<?, ?>> T getInstance(Class<T> key) {
         if (key == SpELClassValidator.class) {
-            return (T) new SpELClassValidator(verifierMode, spelContextFactory);
+            return (T) new SpELClassValidator(verifierMode, spelContextFactory, parser);
         }
         if (key == SpELFieldValidator.class) {
-            return (T) new SpELFieldValidator(verifierMode, spelContextFactory);
+            return (T) new SpELFieldValidator(verifierMode, spelContextFactory, parser);
         }
         ConstraintValidator<?, ?> instance = applicationConstraintValidatorFactory.apply(key).orElseGet(() -> delegate.getInstance(key));
         return (T) instance;
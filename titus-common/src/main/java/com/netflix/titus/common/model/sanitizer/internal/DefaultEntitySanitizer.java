@@ -34,6 +34,10 @@ import com.netflix.titus.common.model.sanitizer.EntitySanitizer;
 import com.netflix.titus.common.model.sanitizer.ValidationError;
 import com.netflix.titus.common.model.sanitizer.VerifierMode;
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.ReflectiveMethodResolver;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
@@ -51,7 +55,8 @@ public class DefaultEntitySanitizer implements EntitySanitizer {
                                   Function<String, Optional<Object>> templateResolver,
                                   Map<String, Method> registeredFunctions,
                                   Map<String, Object> registeredBeans,
-                                  Function<Class<?>, Optional<ConstraintValidator<?, ?>>> applicationValidatorFactory) {
+                                  Function<Class<?>, Optional<ConstraintValidator<?, ?>>> applicationValidatorFactory,
+                                  boolean compiledModeEnabled) {
 
         Supplier<EvaluationContext> spelContextFactory = () -> {
             StandardEvaluationContext context = new StandardEvaluationContext();
@@ -61,24 +66,36 @@ public class DefaultEntitySanitizer implements EntitySanitizer {
             return context;
         };
 
+        ExpressionParser parser = newExpressionParser(compiledModeEnabled);
         this.validator = Validation.buildDefaultValidatorFactory()
                 .usingContext()
-                .constraintValidatorFactory(new ConstraintValidatorFactoryWrapper(verifierMode, applicationValidatorFactory, spelContextFactory))
-                .messageInterpolator(new SpELMessageInterpolator(spelContextFactory))
+                .constraintValidatorFactory(new ConstraintValidatorFactoryWrapper(verifierMode, applicationValidatorFactory, spelContextFactory, parser))
+                .messageInterpolator(new SpELMessageInterpolator(spelContextFactory, parser))
                 .getValidator();
 
         List<Function<Object, Optional<Object>>> allSanitizers = new ArrayList<>();
         if (annotationSanitizersEnabled) {
-            allSanitizers.add(new AnnotationBasedSanitizer(spelContextFactory.get(), includesPredicate));
+            allSanitizers.add(new AnnotationBasedSanitizer(spelContextFactory.get(), includesPredicate, parser, compiledModeEnabled));
         }
         if (stdValueSanitizersEnabled) {
-            allSanitizers.add(new StdValueSanitizer(includesPredicate));
+            allSanitizers.add(new StdValueSanitizer(includesPredicate, compiledModeEnabled));
         }
-        allSanitizers.add(new TemplateSanitizer(templateResolver, includesPredicate));
+        allSanitizers.add(new TemplateSanitizer(templateResolver, includesPredicate, compiledModeEnabled));
         allSanitizers.addAll(sanitizers);
         this.sanitizers = allSanitizers;
     }
 
+    /**
+     * In the compiled mode, SpEL expressions are compiled to bytecode after a few interpreted evaluations. Expressions
+     * (or their parts) that cannot be compiled, like bean references, keep being interpreted.
+     */
+    private static ExpressionParser newExpressionParser(boolean compiledModeEnabled) {
+        if (!compiledModeEnabled) {
+            return new SpelExpressionParser();
+        }
+        return new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, DefaultEntitySanitizer.class.getClassLoader()));
+    }
+
     @Override
     public <T> Set<ValidationError> validate(T entity) {
         return validator.validate(entity).stream()
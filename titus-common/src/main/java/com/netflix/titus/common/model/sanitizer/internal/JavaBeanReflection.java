@@ -16,10 +16,13 @@
 
 package com.netflix.titus.common.model.sanitizer.internal;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -31,14 +34,16 @@ import com.google.common.base.Preconditions;
 
 import static com.netflix.titus.common.util.ReflectionExt.getAllFields;
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static java.util.Arrays.stream;
 
 class JavaBeanReflection {
 
     private static final ConcurrentMap<Class<?>, JavaBeanReflection> CACHE = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, JavaBeanReflection> COMPILED_CACHE = new ConcurrentHashMap<>();
 
-    private final Constructor<?> constructor;
-    private final List<Field> fields;
+    protected final Constructor<?> constructor;
+    protected final List<Field> fields;
 
     JavaBeanReflection(Class<?> entityType) {
         Preconditions.checkArgument(entityType.getConstructors().length == 1, "Expected single constructor in class %s", entityType);
@@ -57,19 +62,15 @@ class JavaBeanReflection {
     }
 
     Object create(Object entity, Map<Field, Object> overrides) {
-        List<Object> newValues = new ArrayList<>();
-        for (Field field : fields) {
-            Object newValue = overrides.get(field);
-            if (newValue != null) {
-                newValues.add(newValue);
-            } else {
-                newValues.add(getFieldValue(entity, field));
-            }
+        Object[] newValues = new Object[fields.size()];
+        for (int i = 0; i < newValues.length; i++) {
+            Object newValue = overrides.get(fields.get(i));
+            newValues[i] = newValue != null ? newValue : getFieldValue(entity, i);
         }
         try {
-            return constructor.newInstance(newValues.toArray());
+            return newInstance(newValues);
         } catch (Exception e) {
-            throw new IllegalArgumentException(format("Cannot instantiate %s with constructor arguments %s", entity.getClass(), newValues), e);
+            throw new IllegalArgumentException(format("Cannot instantiate %s with constructor arguments %s", entity.getClass(), asList(newValues)), e);
         }
     }
 
@@ -85,7 +86,79 @@ class JavaBeanReflection {
         }
     }
 
+    /**
+     * Value of the field at the given position in {@link #getFields()}.
+     */
+    Object getFieldValue(Object entity, int fieldIndex) {
+        return getFieldValue(entity, fields.get(fieldIndex));
+    }
+
+    protected Object newInstance(Object[] arguments) throws Exception {
+        return constructor.newInstance(arguments);
+    }
+
     static JavaBeanReflection forType(Class<?> entityType) {
         return CACHE.computeIfAbsent(entityType, JavaBeanReflection::new);
     }
+
+    /**
+     * @param compiled if true, the returned instance reads the fields and calls the constructor via {@link MethodHandle}s
+     */
+    static JavaBeanReflection forType(Class<?> entityType, boolean compiled) {
+        return compiled ? COMPILED_CACHE.computeIfAbsent(entityType, CompiledJavaBeanReflection::new) : forType(entityType);
+    }
+
+    /**
+     * {@link JavaBeanReflection} variant which resolves {@link MethodHandle}s for the field getters and the constructor
+     * once, so the per entity access is not subject to the reflective access checks.
+     */
+    private static class CompiledJavaBeanReflection extends JavaBeanReflection {
+
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+        private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+        private final MethodHandle[] getters;
+        private final MethodHandle constructorHandle;
+
+        private CompiledJavaBeanReflection(Class<?> entityType) {
+            super(entityType);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            try {
+                this.getters = new MethodHandle[fields.size()];
+                for (int i = 0; i < getters.length; i++) {
+                    getters[i] = lookup.unreflectGetter(fields.get(i)).asType(GETTER_TYPE);
+                }
+                this.constructorHandle = lookup.unreflectConstructor(constructor)
+                        .asSpreader(Object[].class, fields.size())
+                        .asType(CONSTRUCTOR_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException(format("Cannot resolve method handles for class %s", entityType), e);
+            }
+        }
+
+        @Override
+        Object getFieldValue(Object entity, int fieldIndex) {
+            try {
+                return (Object) getters[fieldIndex].invokeExact(entity);
+            } catch (Throwable e) {
+                throw new IllegalStateException(format("Cannot access value of field %s on %s", fields.get(fieldIndex).getName(), entity.getClass()), e);
+            }
+        }
+
+        @Override
+        Object getFieldValue(Object entity, Field field) {
+            int fieldIndex = fields.indexOf(field);
+            return fieldIndex < 0 ? super.getFieldValue(entity, field) : getFieldValue(entity, fieldIndex);
+        }
+
+        @Override
+        protected Object newInstance(Object[] arguments) throws Exception {
+            try {
+                return (Object) constructorHandle.invokeExact(arguments);
+            } catch (Throwable e) {
+                // Same failure semantics as the reflective constructor call
+                throw new InvocationTargetException(e);
+            }
+        }
+    }
 }
@@ -35,7 +35,7 @@ import org.springframework.expression.spel.standard.SpelExpressionParser;
  */
 public class SpELClassValidator extends AbstractConstraintValidator<ClassInvariant, Object> {
 
-    private final ExpressionParser parser = new SpelExpressionParser();
+    private final ExpressionParser parser;
     private final VerifierMode verifierMode;
     private final Supplier<EvaluationContext> spelContextFactory;
 
@@ -45,8 +45,13 @@ public class SpELClassValidator extends AbstractConstraintValidator<ClassInvaria
     private EvaluationContext spelContext;
 
     public SpELClassValidator(VerifierMode verifierMode, Supplier<EvaluationContext> spelContextFactory) {
+        this(verifierMode, spelContextFactory, new SpelExpressionParser());
+    }
+
+    public SpELClassValidator(VerifierMode verifierMode, Supplier<EvaluationContext> spelContextFactory, ExpressionParser parser) {
         this.verifierMode = verifierMode;
         this.spelContextFactory = spelContextFactory;
+        this.parser = parser;
     }
 
     @Override
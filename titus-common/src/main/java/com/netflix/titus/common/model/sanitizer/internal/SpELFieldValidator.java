@@ -30,7 +30,7 @@ import org.springframework.expression.spel.standard.SpelExpressionParser;
 
 public class SpELFieldValidator extends AbstractConstraintValidator<FieldInvariant, Object> {
 
-    private final ExpressionParser parser = new SpelExpressionParser();
+    private final ExpressionParser parser;
     private final VerifierMode verifierMode;
     private final Supplier<EvaluationContext> spelContextFactory;
 
@@ -39,8 +39,13 @@ public class SpELFieldValidator extends AbstractConstraintValidator<FieldInvaria
     private EvaluationContext spelContext;
 
     public SpELFieldValidator(VerifierMode verifierMode, Supplier<EvaluationContext> spelContextFactory) {
+        this(verifierMode, spelContextFactory, new SpelExpressionParser());
+    }
+
+    public SpELFieldValidator(VerifierMode verifierMode, Supplier<EvaluationContext> spelContextFactory, ExpressionParser parser) {
         this.verifierMode = verifierMode;
         this.spelContextFactory = spelContextFactory;
+        this.parser = parser;
     }
 
     @Override
@@ -17,9 +17,12 @@
 package com.netflix.titus.common.model.sanitizer.internal;
 
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Supplier;
 import javax.validation.MessageInterpolator;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.netflix.titus.common.model.sanitizer.FieldInvariant;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
@@ -29,16 +32,31 @@ import org.springframework.expression.spel.standard.SpelExpressionParser;
 
 public class SpELMessageInterpolator implements MessageInterpolator {
 
-    private final ExpressionParser parser = new SpelExpressionParser();
+    private static final TemplateParserContext TEMPLATE_PARSER_CONTEXT = new TemplateParserContext();
+
+    private final ExpressionParser parser;
     private final Supplier<EvaluationContext> spelContextFactory;
 
+    /**
+     * Parsed message templates of the constraint annotations. Validators may also report messages built at runtime
+     * (for example with the invalid values), which are not cached, as their number is not bounded.
+     */
+    private final ConcurrentMap<String, Expression> expressionCache = new ConcurrentHashMap<>();
+
     public SpELMessageInterpolator(Supplier<EvaluationContext> spelContextFactory) {
+        this(spelContextFactory, new SpelExpressionParser());
+    }
+
+    public SpELMessageInterpolator(Supplier<EvaluationContext> spelContextFactory, ExpressionParser parser) {
         this.spelContextFactory = spelContextFactory;
+        this.parser = parser;
     }
 
     @Override
     public String interpolate(String messageTemplate, Context context) {
-        Expression expression = parser.parseExpression(messageTemplate, new TemplateParserContext());
+        Expression expression = messageTemplate.equals(context.getConstraintDescriptor().getMessageTemplate())
+                ? expressionCache.computeIfAbsent(messageTemplate, template -> parser.parseExpression(template, TEMPLATE_PARSER_CONTEXT))
+                : parser.parseExpression(messageTemplate, TEMPLATE_PARSER_CONTEXT);
 
         Object effectiveValue = context.getValidatedValue();
         if (context.getConstraintDescriptor().getAnnotation() instanceof FieldInvariant) {
@@ -51,4 +69,9 @@ public class SpELMessageInterpolator implements MessageInterpolator {
     public String interpolate(String messageTemplate, Context context, Locale locale) {
         return interpolate(messageTemplate, context);
     }
+
+    @VisibleForTesting
+    int getCachedExpressionCount() {
+        return expressionCache.size();
+    }
 }
@@ -25,6 +25,11 @@ public class StdValueSanitizer extends AbstractFieldSanitizer<Object> {
     private final Function<Class<?>, Boolean> innerEntityPredicate;
 
     public StdValueSanitizer(Function<Class<?>, Boolean> innerEntityPredicate) {
+        this(innerEntityPredicate, false);
+    }
+
+    public StdValueSanitizer(Function<Class<?>, Boolean> innerEntityPredicate, boolean compiled) {
+        super(compiled);
         this.innerEntityPredicate = innerEntityPredicate;
     }
 
@@ -34,6 +34,13 @@ public class TemplateSanitizer extends AbstractFieldSanitizer<String> {
 
     public TemplateSanitizer(Function<String, Optional<Object>> templateResolver,
                              Function<Class<?>, Boolean> innerEntityPredicate) {
+        this(templateResolver, innerEntityPredicate, false);
+    }
+
+    public TemplateSanitizer(Function<String, Optional<Object>> templateResolver,
+                             Function<Class<?>, Boolean> innerEntityPredicate,
+                             boolean compiled) {
+        super(compiled);
         this.templateResolver = templateResolver;
         this.innerEntityPredicate = innerEntityPredicate;
     }
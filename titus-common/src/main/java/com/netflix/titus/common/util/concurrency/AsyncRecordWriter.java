@@ -0,0 +1,153 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.common.util.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.patterns.PolledMeter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes log records on a dedicated background thread. Producers copy their data into compact records, and add them
+ * to a preallocated, bounded ring buffer. Adding a record does not wait for buffer space, but it takes the buffer lock
+ * briefly, so concurrent producers and the consumer may contend for it. The records are formatted and written by
+ * a single consumer thread, in the order they were added. If the buffer is full, the record is dropped, and counted
+ * in the 'titus.asyncRecordWriter.droppedRecords' metric, tagged with the writer name and the record type.
+ */
+public class AsyncRecordWriter<R> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncRecordWriter.class);
+
+    private static final String METRIC_ROOT = "titus.asyncRecordWriter.";
+
+    private static final int DRAIN_BATCH_SIZE = 512;
+
+    private static final long DROP_WARNING_INTERVAL_MS = 1_000;
+
+    private final String name;
+    private final ArrayBlockingQueue<R> buffer;
+    private final Function<R, String> recordTypeResolver;
+    private final Consumer<R> recordWriter;
+
+    private final Registry registry;
+    private final Id droppedRecordsId;
+    private final Id bufferedRecordsId;
+    private final ConcurrentMap<String, Counter> droppedRecordCounters = new ConcurrentHashMap<>();
+    private final AtomicLong droppedSinceLastWarning = new AtomicLong();
+    private final AtomicLong lastDropWarningTime = new AtomicLong();
+
+    private final Thread consumerThread;
+    private volatile boolean closed;
+
+    public AsyncRecordWriter(String name,
+                             int capacity,
+                             Function<R, String> recordTypeResolver,
+                             Consumer<R> recordWriter,
+                             Registry registry) {
+        this.name = name;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.recordTypeResolver = recordTypeResolver;
+        this.recordWriter = recordWriter;
+        this.registry = registry;
+        this.droppedRecordsId = registry.createId(METRIC_ROOT + "droppedRecords", "writer", name);
+
+        this.bufferedRecordsId = registry.createId(METRIC_ROOT + "bufferedRecords", "writer", name);
+        PolledMeter.using(registry)
+                .withId(bufferedRecordsId)
+                .monitorValue(buffer, ArrayBlockingQueue::size);
+
+        this.consumerThread = new Thread(this::consume, name + "-writer");
+        consumerThread.setDaemon(true);
+        consumerThread.start();
+    }
+
+    /**
+     * Stops the consumer thread, and removes the buffer size metric. Records that are already in the buffer are
+     * written before the thread terminates.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            consumerThread.interrupt();
+            PolledMeter.remove(registry, bufferedRecordsId);
+        }
+    }
+
+    /**
+     * Adds a record to the buffer. Returns false if the buffer is full, and the record was dropped.
+     */
+    public boolean write(R record) {
+        if (!closed && buffer.offer(record)) {
+            return true;
+        }
+        onDropped(record);
+        return false;
+    }
+
+    private void onDropped(R record) {
+        String recordType = recordTypeResolver.apply(record);
+        droppedRecordCounters.computeIfAbsent(recordType, type -> registry.counter(droppedRecordsId.withTag("recordType", type))).increment();
+
+        long dropped = droppedSinceLastWarning.incrementAndGet();
+        long now = System.currentTimeMillis();
+        long lastWarning = lastDropWarningTime.get();
+        if (now - lastWarning >= DROP_WARNING_INTERVAL_MS && lastDropWarningTime.compareAndSet(lastWarning, now)) {
+            droppedSinceLastWarning.addAndGet(-dropped);
+            logger.warn("Dropping records due to buffer overflow in {}: droppedCount={}", name, dropped);
+        }
+    }
+
+    private void consume() {
+        List<R> batch = new ArrayList<>(DRAIN_BATCH_SIZE);
+        while (!closed) {
+            try {
+                batch.add(buffer.take());
+                buffer.drainTo(batch, DRAIN_BATCH_SIZE - 1);
+                writeAll(batch);
+            } catch (InterruptedException e) {
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        buffer.drainTo(batch);
+        writeAll(batch);
+        logger.info("Record writer {} stopped", name);
+    }
+
+    private void writeAll(List<R> batch) {
+        for (R record : batch) {
+            try {
+                recordWriter.accept(record);
+            } catch (Exception e) {
+                logger.warn("Cannot write a record in {}: {}", name, e.getMessage());
+            }
+        }
+    }
+}
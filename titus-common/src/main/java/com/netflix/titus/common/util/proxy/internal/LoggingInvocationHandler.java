@@ -123,6 +123,9 @@ public class LoggingInvocationHandler<API, NATIVE> extends InterceptingInvocatio
     protected Observable<Object> afterObservable(Method method, Observable<Object> result, Long startTime) {
         long methodExitTime = clock.wallTime();
 
+        // Emitted items are buffered only to be printed on subscription completion or error, so skip it if none of these is logged.
+        boolean bufferEmittedItems = isEnabled(observableReplyLevel) || isEnabled(observableErrorLevel);
+
         AtomicInteger subscriptionCount = new AtomicInteger();
         return Observable.unsafeCreate(subscriber -> {
             long start = clock.wallTime();
@@ -134,7 +137,7 @@ public class LoggingInvocationHandler<API, NATIVE> extends InterceptingInvocatio
             AtomicInteger emittedCounter = new AtomicInteger();
             result.subscribe(
                     next -> {
-                        if (emittedCounter.getAndIncrement() < MAX_EMITTED_ITEMS_BUFFER) {
+                        if (emittedCounter.getAndIncrement() < MAX_EMITTED_ITEMS_BUFFER && bufferEmittedItems) {
                             emittedItems.add(next);
                         }
                         subscriber.onNext(next);
@@ -273,6 +276,19 @@ public class LoggingInvocationHandler<API, NATIVE> extends InterceptingInvocatio
         });
     }
 
+    private boolean isEnabled(LoggingProxyBuilder.Priority priority) {
+        switch (priority) {
+            case ERROR:
+                return logger.isErrorEnabled();
+            case INFO:
+                return logger.isInfoEnabled();
+            case DEBUG:
+                return logger.isDebugEnabled();
+            default:
+                return false;
+        }
+    }
+
     private void logWithPriority(LoggingProxyBuilder.Priority priority, Supplier<StringBuilder> logBuilder) {
         switch (priority) {
             case ERROR:
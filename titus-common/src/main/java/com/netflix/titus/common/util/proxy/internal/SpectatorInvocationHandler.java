@@ -20,13 +20,18 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.netflix.spectator.api.BasicTag;
+import com.netflix.spectator.api.Counter;
 import com.netflix.spectator.api.Id;
 import com.netflix.spectator.api.Registry;
 import com.netflix.spectator.api.Tag;
+import com.netflix.spectator.api.Timer;
 import com.netflix.titus.common.runtime.TitusRuntime;
 import com.netflix.titus.common.util.time.Clock;
 import reactor.core.Disposable;
@@ -39,7 +44,10 @@ import rx.Subscription;
 import static java.util.Arrays.asList;
 
 /**
- * Method invocation metrics collector.
+ * Method invocation metrics collector. The meters of each API method are resolved once, when the handler is created,
+ * so a proxied call or a subscription event does not go through the registry lookup. The only exception are the
+ * error counters, which are tagged with the exception name, and are resolved on the first occurrence of each
+ * exception type.
  */
 public class SpectatorInvocationHandler<API, NATIVE> extends InterceptingInvocationHandler<API, NATIVE, Long> {
 
@@ -61,6 +69,8 @@ public class SpectatorInvocationHandler<API, NATIVE> extends InterceptingInvocat
 
     private final List<Tag> commonTags;
 
+    private final ConcurrentMap<Method, MethodMetrics> methodMetrics = new ConcurrentHashMap<>();
+
     public SpectatorInvocationHandler(String instanceName, Class<API> apiInterface, TitusRuntime titusRuntime, boolean followObservableResults) {
         super(apiInterface, followObservableResults);
         this.registry = titusRuntime.getRegistry();
@@ -69,6 +79,7 @@ public class SpectatorInvocationHandler<API, NATIVE> extends InterceptingInvocat
                 new BasicTag("instance", instanceName),
                 new BasicTag("class", apiInterface.getName())
         );
+        getIncludedMethods().forEach(method -> methodMetrics.put(method, new MethodMetrics(method)));
     }
 
     @Override
@@ -78,89 +89,49 @@ public class SpectatorInvocationHandler<API, NATIVE> extends InterceptingInvocat
 
     @Override
     protected void after(Method method, Object result, Long startTime) {
-        registry.counter(
-                INVOCATION_COUNTER_METRIC_NAME,
-                tags(
-                        "method", method.getName(),
-                        "status", "success"
-                )
-        ).increment();
+        MethodMetrics metrics = metricsOf(method);
+        metrics.invocationSuccess.increment();
 
-        reportExecutionTime(method, startTime, TAG_STATUS_SUCCESS, TAG_CALL_STAGE_ON_METHOD_EXIT);
+        record(metrics.successOnMethodExit, startTime);
 
         if (!isAsynchronous(result)) {
-            reportExecutionTime(method, startTime, TAG_STATUS_SUCCESS, TAG_CALL_STAGE_ON_COMPLETED);
+            record(metrics.successOnCompleted, startTime);
         }
     }
 
     @Override
     protected void afterException(Method method, Throwable error, Long startTime) {
-        registry.counter(
-                INVOCATION_COUNTER_METRIC_NAME,
-                tags(
-                        "method", method.getName(),
-                        "status", "error",
-                        "exception", getExceptionName(error)
-                )
-        ).increment();
-
-        reportExecutionTime(method, startTime, TAG_STATUS_ERROR, TAG_CALL_STAGE_ON_METHOD_EXIT);
+        MethodMetrics metrics = metricsOf(method);
+        metrics.invocationError(getExceptionName(error)).increment();
+
+        record(metrics.errorOnMethodExit, startTime);
     }
 
     @Override
     protected Observable<Object> afterObservable(Method method, Observable<Object> result, Long startTime) {
+        MethodMetrics metrics = metricsOf(method);
         long methodExitTime = clock.wallTime();
 
         return Observable.unsafeCreate(subscriber -> {
             long subscriptionTime = clock.wallTime();
 
-            registry.counter(
-                    RESULT_SUBSCRIPTION_COUNT_METRIC_NAME,
-                    tags(
-                            "method", method.getName(),
-                            "subscriptionStage", "subscribed"
-                    )
-            ).increment();
-            reportSubscriptionExecutionTime(method, methodExitTime, subscriptionTime);
-
-            Subscription subscription = result.doOnUnsubscribe(() -> {
-                registry.counter(
-                        RESULT_SUBSCRIPTION_COUNT_METRIC_NAME,
-                        tags(
-                                "method", method.getName(),
-                                "subscriptionStage", "unsubscribed"
-                        )
-                ).increment();
-            }).subscribe(
+            metrics.subscribed.increment();
+            metrics.subscriptionTime.record(subscriptionTime - methodExitTime, TimeUnit.MILLISECONDS);
+
+            Subscription subscription = result.doOnUnsubscribe(metrics.unsubscribed::increment).subscribe(
                     next -> {
-                        registry.counter(
-                                RESULT_SUBSCRIPTION_EMITS_METRIC_NAME,
-                                tags("method", method.getName())
-                        ).increment();
+                        metrics.emits.increment();
                         subscriber.onNext(next);
                     },
                     error -> {
-                        registry.counter(
-                                RESULT_SUBSCRIPTION_COUNT_METRIC_NAME,
-                                tags(
-                                        "method", method.getName(),
-                                        "subscriptionStage", "onError",
-                                        "exception", getExceptionName(error)
-                                )
-                        ).increment();
-                        reportExecutionTime(method, subscriptionTime, TAG_STATUS_ERROR, TAG_CALL_STAGE_ON_COMPLETED);
+                        metrics.subscriptionError(getExceptionName(error)).increment();
+                        record(metrics.errorOnCompleted, subscriptionTime);
 
                         subscriber.onError(error);
                     },
                     () -> {
-                        registry.counter(
-                                RESULT_SUBSCRIPTION_COUNT_METRIC_NAME,
-                                tags(
-                                        "method", method.getName(),
-                                        "subscriptionStage", "onCompleted"
-                                )
-                        ).increment();
-                        reportExecutionTime(method, subscriptionTime, TAG_STATUS_SUCCESS, TAG_CALL_STAGE_ON_COMPLETED);
+                        metrics.completed.increment();
+                        record(metrics.successOnCompleted, subscriptionTime);
 
                         subscriber.onCompleted();
                     }
@@ -172,58 +143,29 @@ public class SpectatorInvocationHandler<API, NATIVE> extends InterceptingInvocat
 
     @Override
     protected Flux<Object> afterFlux(Method method, Flux<Object> result, Long startTime) {
+        MethodMetrics metrics = metricsOf(method);
         long methodExitTime = clock.wallTime();
 
         return Flux.create(emitter -> {
             long subscriptionTime = clock.wallTime();
 
-            registry.counter(
-                    RESULT_SUBSCRIPTION_COUNT_METRIC_NAME,
-                    tags(
-                            "method", method.getName(),
-                            "subscriptionStage", "subscribed"
-                    )
-            ).increment();
-            reportSubscriptionExecutionTime(method, methodExitTime, subscriptionTime);
-
-            Disposable subscription = result.doOnCancel(() -> {
-                registry.counter(
-                        RESULT_SUBSCRIPTION_COUNT_METRIC_NAME,
-                        tags(
-                                "method", method.getName(),
-                                "subscriptionStage", "unsubscribed"
-                        )
-                ).increment();
-            }).subscribe(
+            metrics.subscribed.increment();
+            metrics.subscriptionTime.record(subscriptionTime - methodExitTime, TimeUnit.MILLISECONDS);
+
+            Disposable subscription = result.doOnCancel(metrics.unsubscribed::increment).subscribe(
                     next -> {
-                        registry.counter(
-                                RESULT_SUBSCRIPTION_EMITS_METRIC_NAME,
-                                tags("method", method.getName())
-                        ).increment();
+                        metrics.emits.increment();
                         emitter.next(next);
                     },
                     error -> {
-                        registry.counter(
-                                RESULT_SUBSCRIPTION_COUNT_METRIC_NAME,
-                                tags(
-                                        "method", method.getName(),
-                                        "subscriptionStage", "onError",
-                                        "exception", getExceptionName(error)
-                                )
-                        ).increment();
-                        reportExecutionTime(method, subscriptionTime, TAG_STATUS_ERROR, TAG_CALL_STAGE_ON_COMPLETED);
+                        metrics.subscriptionError(getExceptionName(error)).increment();
+                        record(metrics.errorOnCompleted, subscriptionTime);
 
                         emitter.error(error);
                     },
                     () -> {
-                        registry.counter(
-                                RESULT_SUBSCRIPTION_COUNT_METRIC_NAME,
-                                tags(
-                                        "method", method.getName(),
-                                        "subscriptionStage", "onCompleted"
-                                )
-                        ).increment();
-                        reportExecutionTime(method, subscriptionTime, TAG_STATUS_SUCCESS, TAG_CALL_STAGE_ON_COMPLETED);
+                        metrics.completed.increment();
+                        record(metrics.successOnCompleted, subscriptionTime);
 
                         emitter.complete();
                     }
@@ -235,52 +177,26 @@ public class SpectatorInvocationHandler<API, NATIVE> extends InterceptingInvocat
 
     @Override
     protected Completable afterCompletable(Method method, Completable result, Long aLong) {
+        MethodMetrics metrics = metricsOf(method);
         long methodExitTime = clock.wallTime();
 
         return Completable.create(subscriber -> {
             long subscriptionTime = clock.wallTime();
 
-            registry.counter(
-                    RESULT_SUBSCRIPTION_COUNT_METRIC_NAME,
-                    tags(
-                            "method", method.getName(),
-                            "subscriptionStage", "subscribed"
-                    )
-            ).increment();
-            reportSubscriptionExecutionTime(method, methodExitTime, subscriptionTime);
+            metrics.subscribed.increment();
+            metrics.subscriptionTime.record(subscriptionTime - methodExitTime, TimeUnit.MILLISECONDS);
 
             Subscription subscription = result
-                    .doOnUnsubscribe(() -> {
-                        registry.counter(
-                                RESULT_SUBSCRIPTION_COUNT_METRIC_NAME,
-                                tags(
-                                        "method", method.getName(),
-                                        "subscriptionStage", "unsubscribed"
-                                )
-                        ).increment();
-                    }).subscribe(
+                    .doOnUnsubscribe(metrics.unsubscribed::increment).subscribe(
                             () -> {
-                                registry.counter(
-                                        RESULT_SUBSCRIPTION_COUNT_METRIC_NAME,
-                                        tags(
-                                                "method", method.getName(),
-                                                "subscriptionStage", "onCompleted"
-                                        )
-                                ).increment();
-                                reportExecutionTime(method, subscriptionTime, TAG_STATUS_SUCCESS, TAG_CALL_STAGE_ON_COMPLETED);
+                                metrics.completed.increment();
+                                record(metrics.successOnCompleted, subscriptionTime);
 
                                 subscriber.onCompleted();
                             },
                             error -> {
-                                registry.counter(
-                                        RESULT_SUBSCRIPTION_COUNT_METRIC_NAME,
-                                        tags(
-                                                "method", method.getName(),
-                                                "subscriptionStage", "onError",
-                                                "exception", getExceptionName(error)
-                                        )
-                                ).increment();
-                                reportExecutionTime(method, subscriptionTime, TAG_STATUS_ERROR, TAG_CALL_STAGE_ON_COMPLETED);
+                                metrics.subscriptionError(getExceptionName(error)).increment();
+                                record(metrics.errorOnCompleted, subscriptionTime);
 
                                 subscriber.onError(error);
                             }
@@ -292,69 +208,35 @@ public class SpectatorInvocationHandler<API, NATIVE> extends InterceptingInvocat
 
     @Override
     protected Mono<Object> afterMono(Method method, Mono<Object> result, Long aLong) {
+        MethodMetrics metrics = metricsOf(method);
         long methodExitTime = clock.wallTime();
 
         return Mono.create(sink -> {
             long subscriptionTime = clock.wallTime();
 
-            registry.counter(
-                    RESULT_SUBSCRIPTION_COUNT_METRIC_NAME,
-                    tags(
-                            "method", method.getName(),
-                            "subscriptionStage", "subscribed"
-                    )
-            ).increment();
-            reportSubscriptionExecutionTime(method, methodExitTime, subscriptionTime);
+            metrics.subscribed.increment();
+            metrics.subscriptionTime.record(subscriptionTime - methodExitTime, TimeUnit.MILLISECONDS);
 
             AtomicBoolean emittedValue = new AtomicBoolean();
             Disposable subscription = result
-                    .doOnCancel(() -> {
-                        registry.counter(
-                                RESULT_SUBSCRIPTION_COUNT_METRIC_NAME,
-                                tags(
-                                        "method", method.getName(),
-                                        "subscriptionStage", "unsubscribed"
-                                )
-                        ).increment();
-                    }).subscribe(
+                    .doOnCancel(metrics.unsubscribed::increment).subscribe(
                             next -> {
                                 emittedValue.set(true);
-                                registry.counter(
-                                        RESULT_SUBSCRIPTION_COUNT_METRIC_NAME,
-                                        tags(
-                                                "method", method.getName(),
-                                                "subscriptionStage", "onSuccess",
-                                                "monoWithValue", "true"
-                                        )
-                                ).increment();
-                                reportExecutionTime(method, subscriptionTime, TAG_STATUS_SUCCESS, TAG_CALL_STAGE_ON_MONO_SUCCESS);
+                                metrics.monoWithValue.increment();
+                                record(metrics.successOnMonoSuccess, subscriptionTime);
 
                                 sink.success(next);
                             },
                             error -> {
-                                registry.counter(
-                                        RESULT_SUBSCRIPTION_COUNT_METRIC_NAME,
-                                        tags(
-                                                "method", method.getName(),
-                                                "subscriptionStage", "onError",
-                                                "exception", getExceptionName(error)
-                                        )
-                                ).increment();
-                                reportExecutionTime(method, subscriptionTime, TAG_STATUS_ERROR, TAG_CALL_STAGE_ON_MONO_SUCCESS);
+                                metrics.subscriptionError(getExceptionName(error)).increment();
+                                record(metrics.errorOnMonoSuccess, subscriptionTime);
 
                                 sink.error(error);
                             },
                             () -> {
                                 if (!emittedValue.get()) {
-                                    registry.counter(
-                                            RESULT_SUBSCRIPTION_COUNT_METRIC_NAME,
-                                            tags(
-                                                    "method", method.getName(),
-                                                    "subscriptionStage", "onSuccess",
-                                                    "monoWithValue", "false"
-                                            )
-                                    ).increment();
-                                    reportExecutionTime(method, subscriptionTime, TAG_STATUS_SUCCESS, TAG_CALL_STAGE_ON_MONO_SUCCESS);
+                                    metrics.monoWithoutValue.increment();
+                                    record(metrics.successOnMonoSuccess, subscriptionTime);
 
                                     sink.success();
                                 }
@@ -365,18 +247,13 @@ public class SpectatorInvocationHandler<API, NATIVE> extends InterceptingInvocat
         });
     }
 
-    private void reportExecutionTime(Method method, Long startTime, Tag... tags) {
-        Id id = registry.createId(INVOCATION_TIME_METRIC_NAME,
-                tags("method", method.getName())
-        ).withTags(tags);
-        registry.timer(id).record(clock.wallTime() - startTime, TimeUnit.MILLISECONDS);
+    private MethodMetrics metricsOf(Method method) {
+        MethodMetrics metrics = methodMetrics.get(method);
+        return metrics != null ? metrics : methodMetrics.computeIfAbsent(method, MethodMetrics::new);
     }
 
-    private void reportSubscriptionExecutionTime(Method method, Long startTime, long endTime) {
-        registry.timer(
-                RESULT_SUBSCRIPTION_TIME_METRIC_NAME,
-                tags("method", method.getName())
-        ).record(endTime - startTime, TimeUnit.MILLISECONDS);
+    private void record(Timer timer, long startTime) {
+        timer.record(clock.wallTime() - startTime, TimeUnit.MILLISECONDS);
     }
 
     private boolean isAsynchronous(Object result) {
@@ -397,4 +274,78 @@ public class SpectatorInvocationHandler<API, NATIVE> extends InterceptingInvocat
         }
         return result;
     }
+
+    private class MethodMetrics {
+
+        private final String methodName;
+
+        private final Counter invocationSuccess;
+        private final ConcurrentMap<String, Counter> invocationErrors = new ConcurrentHashMap<>();
+
+        private final Counter subscribed;
+        private final Counter unsubscribed;
+        private final Counter completed;
+        private final Counter monoWithValue;
+        private final Counter monoWithoutValue;
+        private final Counter emits;
+        private final ConcurrentMap<String, Counter> subscriptionErrors = new ConcurrentHashMap<>();
+
+        private final Timer successOnMethodExit;
+        private final Timer errorOnMethodExit;
+        private final Timer successOnCompleted;
+        private final Timer errorOnCompleted;
+        private final Timer successOnMonoSuccess;
+        private final Timer errorOnMonoSuccess;
+        private final Timer subscriptionTime;
+
+        private MethodMetrics(Method method) {
+            this.methodName = method.getName();
+
+            this.invocationSuccess = registry.counter(INVOCATION_COUNTER_METRIC_NAME, tags("method", methodName, "status", "success"));
+
+            this.subscribed = subscriptionCounter("subscribed");
+            this.unsubscribed = subscriptionCounter("unsubscribed");
+            this.completed = subscriptionCounter("onCompleted");
+            this.monoWithValue = registry.counter(RESULT_SUBSCRIPTION_COUNT_METRIC_NAME,
+                    tags("method", methodName, "subscriptionStage", "onSuccess", "monoWithValue", "true")
+            );
+            this.monoWithoutValue = registry.counter(RESULT_SUBSCRIPTION_COUNT_METRIC_NAME,
+                    tags("method", methodName, "subscriptionStage", "onSuccess", "monoWithValue", "false")
+            );
+            this.emits = registry.counter(RESULT_SUBSCRIPTION_EMITS_METRIC_NAME, tags("method", methodName));
+
+            this.successOnMethodExit = executionTimer(TAG_STATUS_SUCCESS, TAG_CALL_STAGE_ON_METHOD_EXIT);
+            this.errorOnMethodExit = executionTimer(TAG_STATUS_ERROR, TAG_CALL_STAGE_ON_METHOD_EXIT);
+            this.successOnCompleted = executionTimer(TAG_STATUS_SUCCESS, TAG_CALL_STAGE_ON_COMPLETED);
+            this.errorOnCompleted = executionTimer(TAG_STATUS_ERROR, TAG_CALL_STAGE_ON_COMPLETED);
+            this.successOnMonoSuccess = executionTimer(TAG_STATUS_SUCCESS, TAG_CALL_STAGE_ON_MONO_SUCCESS);
+            this.errorOnMonoSuccess = executionTimer(TAG_STATUS_ERROR, TAG_CALL_STAGE_ON_MONO_SUCCESS);
+            this.subscriptionTime = registry.timer(RESULT_SUBSCRIPTION_TIME_METRIC_NAME, tags("method", methodName));
+        }
+
+        private Counter invocationError(String exceptionName) {
+            Counter counter = invocationErrors.get(exceptionName);
+            return counter != null ? counter : invocationErrors.computeIfAbsent(exceptionName, name -> registry.counter(
+                    INVOCATION_COUNTER_METRIC_NAME,
+                    tags("method", methodName, "status", "error", "exception", name)
+            ));
+        }
+
+        private Counter subscriptionError(String exceptionName) {
+            Counter counter = subscriptionErrors.get(exceptionName);
+            return counter != null ? counter : subscriptionErrors.computeIfAbsent(exceptionName, name -> registry.counter(
+                    RESULT_SUBSCRIPTION_COUNT_METRIC_NAME,
+                    tags("method", methodName, "subscriptionStage", "onError", "exception", name)
+            ));
+        }
+
+        private Counter subscriptionCounter(String stage) {
+            return registry.counter(RESULT_SUBSCRIPTION_COUNT_METRIC_NAME, tags("method", methodName, "subscriptionStage", stage));
+        }
+
+        private Timer executionTimer(Tag status, Tag callStage) {
+            Id id = registry.createId(INVOCATION_TIME_METRIC_NAME, tags("method", methodName)).withTags(status, callStage);
+            return registry.timer(id);
+        }
+    }
 }
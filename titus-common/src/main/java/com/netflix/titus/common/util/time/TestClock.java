@@ -31,6 +31,18 @@ public interface TestClock extends Clock {
         return advanceTime(duration.toMillis(), TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * Registers a listener called after each time advance. Components that wait in real time for a deadline expressed
+     * in this clock time use it to re-evaluate the deadline immediately. Clocks driven by a scheduler virtual time do
+     * not need it, and ignore the listener.
+     *
+     * @return action removing the listener
+     */
+    default Runnable addAdvanceListener(Runnable listener) {
+        return () -> {
+        };
+    }
+
     default TestClock resetDate(int year, Month month, int day) {
         throw new IllegalStateException("method not supported");
     }
@@ -20,12 +20,16 @@ import java.time.DayOfWeek;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
 import com.netflix.titus.common.util.DateTimeExt;
 
 class TestWorldClock implements TestClock {
 
+    private final List<Runnable> advanceListeners = new CopyOnWriteArrayList<>();
+
     private OffsetDateTime dateTime;
 
     TestWorldClock(String zoneId, int year, Month month, int day) {
@@ -39,9 +43,16 @@ class TestWorldClock implements TestClock {
     @Override
     public long advanceTime(long interval, TimeUnit timeUnit) {
         this.dateTime = dateTime.plusNanos(timeUnit.toNanos(interval));
+        advanceListeners.forEach(Runnable::run);
         return wallTime();
     }
 
+    @Override
+    public Runnable addAdvanceListener(Runnable listener) {
+        advanceListeners.add(listener);
+        return () -> advanceListeners.remove(listener);
+    }
+
     @Override
     public TestClock resetDate(int year, Month month, int dayOfMonth) {
         this.dateTime = dateTime.withYear(year).withMonth(month.getValue()).withDayOfMonth(dayOfMonth);
@@ -67,6 +78,7 @@ class TestWorldClock implements TestClock {
                 ? expected - current
                 : 7 - (current - expected);
         this.dateTime = dateTime.plusDays(plusDays);
+        advanceListeners.forEach(Runnable::run);
 
         return this;
     }
@@ -16,6 +16,8 @@
 
 package com.netflix.titus.common.util.time.internal;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.Preconditions;
@@ -27,10 +29,20 @@ public class DefaultTestClock implements TestClock {
 
     private volatile long elapsedTimeNs;
 
+    private final List<Runnable> advanceListeners = new CopyOnWriteArrayList<>();
+
     @Override
     public long advanceTime(long interval, TimeUnit timeUnit) {
         Preconditions.checkArgument(interval >= 0, "Time can move only forward, while requested" + interval + timeUnit);
-        return elapsedTimeNs += timeUnit.toNanos(interval);
+        long result = elapsedTimeNs += timeUnit.toNanos(interval);
+        advanceListeners.forEach(Runnable::run);
+        return result;
+    }
+
+    @Override
+    public Runnable addAdvanceListener(Runnable listener) {
+        advanceListeners.add(listener);
+        return () -> advanceListeners.remove(listener);
     }
 
     @Override
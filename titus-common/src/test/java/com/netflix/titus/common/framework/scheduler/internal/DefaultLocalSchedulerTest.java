@@ -17,6 +17,7 @@
 package com.netflix.titus.common.framework.scheduler.internal;
 
 import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -36,11 +37,13 @@ import com.netflix.titus.common.framework.scheduler.model.event.ScheduleRemovedE
 import com.netflix.titus.common.framework.scheduler.model.event.ScheduleUpdateEvent;
 import com.netflix.titus.common.util.retry.Retryers;
 import com.netflix.titus.common.util.time.Clocks;
+import com.netflix.titus.common.util.time.TestClock;
 import com.netflix.titus.testkit.rx.TitusRxSubscriber;
 import org.junit.Before;
 import org.junit.Test;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
+import reactor.test.scheduler.VirtualTimeScheduler;
 
 import static com.jayway.awaitility.Awaitility.await;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -162,6 +165,119 @@ public class DefaultLocalSchedulerTest {
         expectScheduleUpdateEvent(SchedulingState.Succeeded);
     }
 
+    @Test(timeout = 60_000)
+    public void testIsolatedActionsShareBoundedPool() throws Exception {
+        DefaultLocalScheduler singleThreadScheduler = new DefaultLocalScheduler(Duration.ofMillis(1), 1, Schedulers.parallel(), Clocks.system(), new DefaultRegistry());
+        try {
+            AtomicLong firstCounter = new AtomicLong();
+            AtomicLong secondCounter = new AtomicLong();
+            AtomicReference<String> threadName = new AtomicReference<>();
+            AtomicInteger concurrentExecutions = new AtomicInteger();
+            AtomicInteger maxConcurrentExecutions = new AtomicInteger();
+
+            singleThreadScheduler.schedule(
+                    scheduleDescriptor.toBuilder().withName("first").build(),
+                    context -> {
+                        maxConcurrentExecutions.accumulateAndGet(concurrentExecutions.incrementAndGet(), Math::max);
+                        threadName.set(Thread.currentThread().getName());
+                        firstCounter.incrementAndGet();
+                        concurrentExecutions.decrementAndGet();
+                    },
+                    true
+            );
+            singleThreadScheduler.schedule(
+                    scheduleDescriptor.toBuilder().withName("second").build(),
+                    context -> {
+                        maxConcurrentExecutions.accumulateAndGet(concurrentExecutions.incrementAndGet(), Math::max);
+                        secondCounter.incrementAndGet();
+                        concurrentExecutions.decrementAndGet();
+                    },
+                    true
+            );
+
+            await().atMost(30, TimeUnit.SECONDS).until(() -> firstCounter.get() > 5 && secondCounter.get() > 5);
+            assertThat(threadName.get()).startsWith("localScheduler-isolated").endsWith("-first");
+            assertThat(maxConcurrentExecutions.get()).isEqualTo(1);
+        } finally {
+            singleThreadScheduler.shutdown();
+        }
+    }
+
+    @Test(timeout = 60_000)
+    public void testBlockedIsolatedActionsDoNotStarveOtherSchedules() throws Exception {
+        DefaultLocalScheduler singleThreadScheduler = new DefaultLocalScheduler(Duration.ofMillis(1), 1, Schedulers.parallel(), Clocks.system(), new DefaultRegistry());
+        CountDownLatch unblockLatch = new CountDownLatch(1);
+        try {
+            AtomicLong blockedCounter = new AtomicLong();
+            AtomicLong otherCounter = new AtomicLong();
+
+            singleThreadScheduler.schedule(
+                    scheduleDescriptor.toBuilder().withName("blocked").withTimeout(Duration.ofMillis(100)).build(),
+                    context -> {
+                        blockedCounter.incrementAndGet();
+                        try {
+                            unblockLatch.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    },
+                    true
+            );
+            await().atMost(30, TimeUnit.SECONDS).until(() -> blockedCounter.get() == 1);
+
+            singleThreadScheduler.schedule(
+                    scheduleDescriptor.toBuilder().withName("other").build(),
+                    context -> otherCounter.incrementAndGet(),
+                    true
+            );
+
+            // The blocked worker is replaced after the action timeout, so the other schedule keeps running.
+            await().atMost(30, TimeUnit.SECONDS).until(() -> otherCounter.get() > 5);
+            assertThat(singleThreadScheduler.getIsolatedPoolSize()).isEqualTo(2);
+            assertThat(blockedCounter.get()).isEqualTo(1);
+
+            // Once the blocked action completes, the pool shrinks back to its base size.
+            unblockLatch.countDown();
+            await().atMost(30, TimeUnit.SECONDS).until(() -> singleThreadScheduler.getIsolatedPoolSize() == 1);
+        } finally {
+            unblockLatch.countDown();
+            singleThreadScheduler.shutdown();
+        }
+    }
+
+    /**
+     * The event loop runs on a virtual time scheduler that is never advanced, so only iterations scheduled without a
+     * delay are executed. The action due after the test clock advance must run without waiting for the idle timeout.
+     */
+    @Test(timeout = 60_000)
+    public void testTestClockAdvanceWakesUpEventLoop() {
+        TestClock testClock = Clocks.test();
+        DefaultLocalScheduler testClockScheduler = new DefaultLocalScheduler(Duration.ZERO, VirtualTimeScheduler.create(), testClock, new DefaultRegistry());
+        try {
+            AtomicLong tickCounter = new AtomicLong();
+            ScheduleReference reference = testClockScheduler.schedule(
+                    scheduleDescriptor.toBuilder()
+                            .withName("testClockAdvance")
+                            .withInitialDelay(Duration.ZERO)
+                            .withInterval(Duration.ofHours(1))
+                            .build(),
+                    context -> tickCounter.incrementAndGet(),
+                    true
+            );
+            // Wait until the next action is scheduled an hour after the first one completed.
+            await().atMost(30, TimeUnit.SECONDS).until(() -> {
+                Schedule schedule = reference.getSchedule();
+                return schedule.getCompletedActions().size() == 1 && schedule.getCurrentAction().getStatus().getState() == SchedulingState.Waiting;
+            });
+            assertThat(tickCounter.get()).isEqualTo(1);
+
+            testClock.advanceTime(Duration.ofHours(1));
+            await().atMost(30, TimeUnit.SECONDS).until(() -> tickCounter.get() == 2);
+        } finally {
+            testClockScheduler.shutdown();
+        }
+    }
+
     private void expectScheduleAdded(ScheduleReference reference) throws InterruptedException {
         assertThat(reference.isClosed()).isFalse();
 
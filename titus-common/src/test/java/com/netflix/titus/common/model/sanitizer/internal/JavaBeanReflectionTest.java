@@ -60,4 +60,20 @@ public class JavaBeanReflectionTest {
 
         assertThat(updatedRoot.getName()).isEqualTo("Root");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCompiledObjectCreate() throws Exception {
+        JavaBeanReflection jbr = JavaBeanReflection.forType(Root.class, true);
+
+        Root root = new Root(
+                "root",
+                new Child("child1", 1, 2),
+                new NullableChild("child2")
+        );
+        assertThat(jbr.getFieldValue(root, getField(Root.class, "name"))).isEqualTo("root");
+
+        Root updatedRoot = (Root) jbr.create(root, Collections.singletonMap(getField(Root.class, "name"), "Root"));
+        assertThat(updatedRoot.getName()).isEqualTo("Root");
+        assertThat(updatedRoot.getChild()).isSameAs(root.getChild());
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.titus.common.model.sanitizer.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+
+import com.netflix.titus.common.model.sanitizer.FieldInvariant;
+import com.netflix.titus.common.model.sanitizer.VerifierMode;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import static com.netflix.titus.common.util.CollectionsExt.first;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SpELMessageInterpolatorTest {
+
+    private final Supplier<EvaluationContext> spelContextFactory = StandardEvaluationContext::new;
+    private final SpELMessageInterpolator messageInterpolator = new SpELMessageInterpolator(spelContextFactory);
+
+    private Validator validator;
+
+    @Before
+    public void setUp() {
+        validator = Validation.buildDefaultValidatorFactory()
+                .usingContext()
+                .constraintValidatorFactory(new ConstraintValidatorFactoryWrapper(VerifierMode.Strict, type -> Optional.empty(), spelContextFactory))
+                .messageInterpolator(messageInterpolator)
+                .getValidator();
+    }
+
+    @Test
+    public void testAnnotationTemplatesAreCached() {
+        for (int i = 1; i <= 10; i++) {
+            Set<ConstraintViolation<PositiveValue>> violations = validator.validate(new PositiveValue(-i));
+            assertThat(violations).hasSize(1);
+            assertThat(first(violations).getMessage()).isEqualTo("'value' must be positive, not " + -i);
+        }
+        assertThat(messageInterpolator.getCachedExpressionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRuntimeMessagesAreNotCached() {
+        for (int i = 0; i < 10; i++) {
+            Map<String, String> mapWithNullValues = new HashMap<>();
+            mapWithNullValues.put("key" + i, null);
+
+            Set<ConstraintViolation<CollectionValidatorTest.MapWrapper>> violations = validator.validate(
+                    new CollectionValidatorTest.MapWrapper(mapWithNullValues)
+            );
+            assertThat(violations).hasSize(1);
+            assertThat(first(violations).getMessage()).isEqualTo("null values found for keys: [key" + i + "]");
+        }
+        assertThat(messageInterpolator.getCachedExpressionCount()).isZero();
+    }
+
+    static class PositiveValue {
+
+        @FieldInvariant(value = "value > 0", message = "'value' must be positive, not #{value}")
+        int value;
+
+        PositiveValue(int value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.common.util.concurrency;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import org.junit.After;
+import org.junit.Test;
+
+import static com.jayway.awaitility.Awaitility.await;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AsyncRecordWriterTest {
+
+    private final Registry registry = new DefaultRegistry();
+
+    private final List<String> written = new CopyOnWriteArrayList<>();
+
+    private AsyncRecordWriter<String> writer;
+
+    @After
+    public void tearDown() {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    @Test
+    public void testRecordsAreWrittenInOrder() {
+        writer = new AsyncRecordWriter<>("test", 100, record -> "string", written::add, registry);
+        for (int i = 0; i < 50; i++) {
+            assertThat(writer.write("record#" + i)).isTrue();
+        }
+        await().timeout(5, TimeUnit.SECONDS).until(() -> written.size() == 50);
+        for (int i = 0; i < 50; i++) {
+            assertThat(written.get(i)).isEqualTo("record#" + i);
+        }
+    }
+
+    @Test
+    public void testRecordsAreDroppedWhenBufferIsFull() throws Exception {
+        CountDownLatch blockedLatch = new CountDownLatch(1);
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        writer = new AsyncRecordWriter<>("test", 2, record -> record.split("#")[0], record -> {
+            blockedLatch.countDown();
+            try {
+                releaseLatch.await();
+            } catch (InterruptedException ignore) {
+            }
+            written.add(record);
+        }, registry);
+
+        // Block the consumer thread on the first record, so the next ones stay in the buffer.
+        assertThat(writer.write("first#0")).isTrue();
+        assertThat(blockedLatch.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(writer.write("buffered#1")).isTrue();
+        assertThat(writer.write("buffered#2")).isTrue();
+        assertThat(writer.write("dropped#3")).isFalse();
+        assertThat(registry.counter("titus.asyncRecordWriter.droppedRecords", "writer", "test", "recordType", "dropped").count()).isEqualTo(1);
+
+        releaseLatch.countDown();
+        await().timeout(5, TimeUnit.SECONDS).until(() -> written.size() == 3);
+        assertThat(written).containsExactly("first#0", "buffered#1", "buffered#2");
+    }
+}
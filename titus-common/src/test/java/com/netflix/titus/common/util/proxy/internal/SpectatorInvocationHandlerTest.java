@@ -16,6 +16,10 @@
 
 package com.netflix.titus.common.util.proxy.internal;
 
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.Tag;
 import com.netflix.titus.common.runtime.TitusRuntime;
 import com.netflix.titus.common.runtime.TitusRuntimes;
 import com.netflix.titus.common.util.proxy.MyApi;
@@ -23,6 +27,7 @@ import com.netflix.titus.common.util.proxy.ProxyCatalog;
 import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 
 public class SpectatorInvocationHandlerTest {
 
@@ -76,4 +81,38 @@ public class SpectatorInvocationHandlerTest {
     public void testMonoVoid() {
         assertThat(myApi.okMonoVoid().block()).isNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMetricsAreReportedWithMethodTags() {
+        myApi.echo("abc");
+        myApi.echo("abc");
+        catchThrowable(() -> myApi.echo(null));
+        myApi.observableEcho(MESSAGE).toBlocking().first();
+
+        Registry registry = titusRuntime.getRegistry();
+        assertThat(registry.counter(registry.createId("titusMaster.api.invocation.count").withTags(
+                "instance", "myInstance", "class", MyApi.class.getName(), "method", "echo", "status", "success"
+        )).count()).isEqualTo(2);
+        assertThat(registry.counters()
+                .filter(counter -> counter.id().name().equals("titusMaster.api.invocation.count"))
+                .filter(counter -> hasTag(counter.id(), "method", "echo") && hasTag(counter.id(), "status", "error"))
+                .mapToLong(Counter::count)
+                .sum()
+        ).isEqualTo(1);
+        assertThat(registry.counter(registry.createId("titusMaster.api.invocation.subscriptions").withTags(
+                "instance", "myInstance", "class", MyApi.class.getName(), "method", "observableEcho", "subscriptionStage", "subscribed"
+        )).count()).isEqualTo(1);
+        assertThat(registry.timer(registry.createId("titusMaster.api.invocation.executionTime").withTags(
+                "instance", "myInstance", "class", MyApi.class.getName(), "method", "echo", "status", "success", "callStage", "onMethodExit"
+        )).count()).isEqualTo(2);
+    }
+
+    private static boolean hasTag(Id id, String key, String value) {
+        for (Tag tag : id.tags()) {
+            if (tag.key().equals(key) && tag.value().equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -46,13 +46,13 @@ import com.netflix.titus.api.jobmanager.model.job.TaskState;
 import com.netflix.titus.api.jobmanager.model.job.event.JobManagerEvent;
 import com.netflix.titus.api.jobmanager.model.job.event.JobUpdateEvent;
 import com.netflix.titus.api.jobmanager.model.job.event.TaskUpdateEvent;
+import com.netflix.titus.api.jobmanager.service.JobModelView;
 import com.netflix.titus.api.jobmanager.service.ReadOnlyJobOperations;
 import com.netflix.titus.common.runtime.TitusRuntime;
 import com.netflix.titus.common.util.CollectionsExt;
 import com.netflix.titus.common.util.guice.annotation.Activator;
 import com.netflix.titus.common.util.rx.ReactorExt;
 import com.netflix.titus.common.util.rx.ReactorRetriers;
-import com.netflix.titus.common.util.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.Disposable;
@@ -213,19 +213,17 @@ public class EurekaContainerHealthService implements ContainerHealthService {
             return Flux.empty();
         }
 
-        List<Pair<Job, List<Task>>> allJobsAndTasks = jobOperations.getJobsAndTasks();
-        List<Task> allTasks = new ArrayList<>();
+        JobModelView jobModelView = jobOperations.getJobModelView();
         List<ContainerHealthEvent> events = new ArrayList<>();
 
-        allJobsAndTasks.forEach(jobAndTasks -> {
-            jobAndTasks.getRight().forEach(task -> {
-                handleTaskStateUpdate(jobAndTasks.getLeft(), task, state).ifPresent(events::add);
-                allTasks.add(task);
-            });
-        });
+        jobModelView.getJobsAndTasks().forEach(jobAndTasks ->
+                jobAndTasks.getRight().forEach(task -> handleTaskStateUpdate(jobAndTasks.getLeft(), task, state).ifPresent(events::add))
+        );
 
         // Cleanup, in case we have stale entries.
-        Set<String> unknownTaskIds = CollectionsExt.copyAndRemove(state.keySet(), allTasks.stream().map(Task::getId).collect(Collectors.toSet()));
+        Set<String> unknownTaskIds = state.keySet().stream()
+                .filter(taskId -> !jobModelView.findTaskById(taskId).isPresent())
+                .collect(Collectors.toSet());
         unknownTaskIds.forEach(taskId -> {
             state.remove(taskId);
 
@@ -34,15 +34,16 @@ public class JooqRelocationComponent {
 
     @Bean
     @DependsOn({"relocationSchemaManager"})
-    public TaskRelocationStore getTaskRelocationStore(DSLContext dslContext) {
-        return new JooqTaskRelocationStore(dslContext);
+    public TaskRelocationStore getTaskRelocationStore(JooqRelocationConfiguration configuration, DSLContext dslContext) {
+        return new JooqTaskRelocationStore(configuration, dslContext);
     }
 
     @Bean
     @DependsOn({"relocationSchemaManager"})
-    public TaskRelocationResultStore getTaskRelocationResultStore(DSLContext dslContext,
+    public TaskRelocationResultStore getTaskRelocationResultStore(JooqRelocationConfiguration configuration,
+                                                                  DSLContext dslContext,
                                                                   TitusRuntime titusRuntime) {
-        return new JooqTaskRelocationResultStore(dslContext, titusRuntime);
+        return new JooqTaskRelocationResultStore(configuration, dslContext, titusRuntime);
     }
 
     @Bean
@@ -35,4 +35,16 @@ public interface JooqRelocationConfiguration {
 
     @DefaultValue("1000")
     int getGcRowLimit();
+
+    /**
+     * Maximum number of rows written by a single multi-row insert/upsert statement.
+     */
+    @DefaultValue("500")
+    int getWriteBatchSize();
+
+    /**
+     * Maximum number of rows removed by a single GC delete statement. The GC deletes are executed in parallel.
+     */
+    @DefaultValue("200")
+    int getGcDeleteChunkSize();
 }
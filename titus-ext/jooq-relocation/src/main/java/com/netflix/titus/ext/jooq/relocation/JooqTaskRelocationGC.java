@@ -20,6 +20,7 @@ import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.annotation.PreDestroy;
@@ -28,6 +29,7 @@ import javax.inject.Singleton;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Stopwatch;
+import com.google.common.collect.Lists;
 import com.netflix.spectator.api.Counter;
 import com.netflix.spectator.api.Gauge;
 import com.netflix.titus.api.common.LeaderActivationListener;
@@ -36,6 +38,7 @@ import com.netflix.titus.common.framework.scheduler.model.ScheduleDescriptor;
 import com.netflix.titus.common.runtime.TitusRuntime;
 import com.netflix.titus.common.util.Evaluators;
 import com.netflix.titus.common.util.tuple.Pair;
+import com.netflix.titus.ext.jooq.JooqUtils;
 import com.netflix.titus.supplementary.relocation.store.TaskRelocationResultStore;
 import org.jooq.DSLContext;
 import org.jooq.Record2;
@@ -154,7 +157,7 @@ public class JooqTaskRelocationGC implements LeaderActivationListener {
                 .collect(Collectors.toList());
         logger.info("Records to remove: {}", toRemoveSet);
 
-        int removedFromDb = dslContext.delete(Relocation.RELOCATION.RELOCATION_STATUS).where(Relocation.RELOCATION.RELOCATION_STATUS.RELOCATION_EXECUTION_TIME.le(lastToRemove)).execute();
+        int removedFromDb = removeInParallel(toRemoveSet, lastToRemove);
 
         logger.info("Removed expired rows from 'relocation_status' table: {}", removedFromDb);
         gcCounter.increment(removedFromDb);
@@ -163,4 +166,20 @@ public class JooqTaskRelocationGC implements LeaderActivationListener {
 
         return removedFromDb;
     }
+
+    /**
+     * Removes the given rows in chunks, with the deletes executed concurrently on the DSL context executor. The
+     * timestamp condition guards against removing rows that were updated after they were selected for removal.
+     */
+    private int removeInParallel(List<Pair<String, Long>> toRemove, Timestamp lastToRemove) {
+        List<String> taskIds = toRemove.stream().map(Pair::getLeft).collect(Collectors.toList());
+        List<CompletableFuture<Integer>> deletes = Lists.partition(taskIds, Math.max(1, configuration.getGcDeleteChunkSize())).stream()
+                .map(chunk -> JooqUtils.executeAsync(() -> dslContext.delete(Relocation.RELOCATION.RELOCATION_STATUS)
+                        .where(Relocation.RELOCATION.RELOCATION_STATUS.TASK_ID.in(chunk))
+                        .and(Relocation.RELOCATION.RELOCATION_STATUS.RELOCATION_EXECUTION_TIME.le(lastToRemove))
+                        .execute(), dslContext).toCompletableFuture()
+                )
+                .collect(Collectors.toList());
+        return deletes.stream().mapToInt(CompletableFuture::join).sum();
+    }
 }
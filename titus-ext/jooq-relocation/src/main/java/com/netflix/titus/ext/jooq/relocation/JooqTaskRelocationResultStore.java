@@ -17,8 +17,10 @@
 package com.netflix.titus.ext.jooq.relocation;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -29,6 +31,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import com.netflix.titus.api.relocation.model.TaskRelocationPlan;
 import com.netflix.titus.api.relocation.model.TaskRelocationStatus;
 import com.netflix.titus.common.runtime.TitusRuntime;
@@ -36,12 +39,14 @@ import com.netflix.titus.common.util.cache.Cache;
 import com.netflix.titus.common.util.cache.Caches;
 import com.netflix.titus.common.util.tuple.Pair;
 import com.netflix.titus.ext.jooq.JooqUtils;
+import com.netflix.titus.ext.jooq.relocation.tables.RelocationStatus;
 import com.netflix.titus.ext.jooq.relocation.tables.records.RelocationStatusRecord;
 import com.netflix.titus.supplementary.relocation.store.TaskRelocationResultStore;
 import org.jooq.Configuration;
 import org.jooq.DSLContext;
+import org.jooq.InsertValuesStep9;
+import org.jooq.Query;
 import org.jooq.Result;
-import org.jooq.StoreQuery;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoProcessor;
 
@@ -50,12 +55,18 @@ public class JooqTaskRelocationResultStore implements TaskRelocationResultStore
 
     private static final int MAX_TEXT_LENGTH = 2048;
 
+    private static final RelocationStatus RELOCATION_STATUS = Relocation.RELOCATION.RELOCATION_STATUS;
+
+    private final JooqRelocationConfiguration configuration;
     private final DSLContext dslContext;
 
     private final Cache<String, TaskRelocationStatus> statusesByTaskId;
 
     @Inject
-    public JooqTaskRelocationResultStore(DSLContext dslContext, TitusRuntime titusRuntime) {
+    public JooqTaskRelocationResultStore(JooqRelocationConfiguration configuration,
+                                         DSLContext dslContext,
+                                         TitusRuntime titusRuntime) {
+        this.configuration = configuration;
         this.dslContext = dslContext;
         this.statusesByTaskId = Caches.instrumentedCacheWithMaxSize(
                 100_000,
@@ -66,23 +77,22 @@ public class JooqTaskRelocationResultStore implements TaskRelocationResultStore
 
     @VisibleForTesting
     Mono<Void> clearStore() {
-        return JooqUtils.executeAsyncMono(() -> dslContext.truncateTable(Relocation.RELOCATION.RELOCATION_STATUS).execute(), dslContext).then();
+        return JooqUtils.executeAsyncMono(() -> dslContext.truncateTable(RELOCATION_STATUS).execute(), dslContext).then();
     }
 
     @Override
     public Mono<Map<String, Optional<Throwable>>> createTaskRelocationStatuses(List<TaskRelocationStatus> taskRelocationStatuses) {
         return Mono.defer(() -> {
-            CompletionStage<int[]> asyncAction = JooqUtils.executeAsync(() -> {
-                loadToCache(findNotCached(taskRelocationStatuses), dslContext.configuration());
-
-                List<StoreQuery<RelocationStatusRecord>> queries = taskRelocationStatuses.stream()
-                        .map(this::newCreateOrUpdateQuery)
-                        .collect(Collectors.toList());
-
-                return dslContext
-                        .batch(queries)
-                        .execute();
-            }, dslContext);
+            if (taskRelocationStatuses.isEmpty()) {
+                return Mono.just(Collections.<String, Optional<Throwable>>emptyMap());
+            }
+            // A multi-row upsert cannot touch the same row twice, so only the last status for a task is kept.
+            Map<String, TaskRelocationStatus> latestByTaskId = new LinkedHashMap<>();
+            taskRelocationStatuses.forEach(status -> latestByTaskId.put(status.getTaskId(), status));
+            List<Query> queries = Lists.partition(new ArrayList<>(latestByTaskId.values()), Math.max(1, configuration.getWriteBatchSize())).stream()
+                    .map(this::newUpsertQuery)
+                    .collect(Collectors.toList());
+            CompletionStage<int[]> asyncAction = JooqUtils.executeAsync(() -> dslContext.batch(queries).execute(), dslContext);
 
             MonoProcessor<Map<String, Optional<Throwable>>> callerProcessor = MonoProcessor.create();
             asyncAction.handle((result, error) -> {
@@ -146,17 +156,10 @@ public class JooqTaskRelocationResultStore implements TaskRelocationResultStore
         });
     }
 
-    private Set<String> findNotCached(List<TaskRelocationStatus> taskRelocationStatuses) {
-        return taskRelocationStatuses.stream()
-                .map(TaskRelocationStatus::getTaskId)
-                .filter(taskId -> statusesByTaskId.getIfPresent(taskId) == null)
-                .collect(Collectors.toSet());
-    }
-
     private void loadToCache(Set<String> notCached, Configuration configuration) {
         Result<RelocationStatusRecord> loaded = configuration.dsl()
-                .selectFrom(Relocation.RELOCATION.RELOCATION_STATUS)
-                .where(Relocation.RELOCATION.RELOCATION_STATUS.TASK_ID.in(notCached)).fetch();
+                .selectFrom(RELOCATION_STATUS)
+                .where(RELOCATION_STATUS.TASK_ID.in(notCached)).fetch();
         loaded.forEach(record ->
                 statusesByTaskId.put(record.getTaskId(),
                         TaskRelocationStatus.newBuilder()
@@ -178,26 +181,43 @@ public class JooqTaskRelocationResultStore implements TaskRelocationResultStore
                 ));
     }
 
-    private StoreQuery<RelocationStatusRecord> newCreateOrUpdateQuery(TaskRelocationStatus relocationStatus) {
-        StoreQuery<RelocationStatusRecord> storeQuery;
-
-        if (statusesByTaskId.getIfPresent(relocationStatus.getTaskId()) != null) {
-            storeQuery = dslContext.updateQuery(Relocation.RELOCATION.RELOCATION_STATUS);
-        } else {
-            storeQuery = dslContext.insertQuery(Relocation.RELOCATION.RELOCATION_STATUS);
-            storeQuery.addValue(Relocation.RELOCATION.RELOCATION_STATUS.TASK_ID, relocationStatus.getTaskId());
+    private Query newUpsertQuery(List<TaskRelocationStatus> relocationStatuses) {
+        InsertValuesStep9<RelocationStatusRecord, String, String, String, String, String, String, Timestamp, Timestamp, Timestamp> insert = dslContext.insertInto(
+                RELOCATION_STATUS,
+                RELOCATION_STATUS.TASK_ID,
+                RELOCATION_STATUS.RELOCATION_STATE,
+                RELOCATION_STATUS.STATUS_CODE,
+                RELOCATION_STATUS.STATUS_MESSAGE,
+                RELOCATION_STATUS.REASON_CODE,
+                RELOCATION_STATUS.REASON_MESSAGE,
+                RELOCATION_STATUS.RELOCATION_DECISION_TIME,
+                RELOCATION_STATUS.RELOCATION_PLAN_TIME,
+                RELOCATION_STATUS.RELOCATION_EXECUTION_TIME
+        );
+        for (TaskRelocationStatus relocationStatus : relocationStatuses) {
+            TaskRelocationPlan plan = relocationStatus.getTaskRelocationPlan();
+            insert = insert.values(
+                    relocationStatus.getTaskId(),
+                    relocationStatus.getState().name(),
+                    relocationStatus.getStatusCode(),
+                    toLengthLimitedVarchar(relocationStatus.getStatusMessage()),
+                    plan.getReason().name(),
+                    toLengthLimitedVarchar(plan.getReasonMessage()),
+                    new Timestamp(plan.getDecisionTime()),
+                    new Timestamp(plan.getRelocationTime()),
+                    new Timestamp(relocationStatus.getTimestamp())
+            );
         }
-
-        storeQuery.addValue(Relocation.RELOCATION.RELOCATION_STATUS.RELOCATION_STATE, relocationStatus.getState().name());
-        storeQuery.addValue(Relocation.RELOCATION.RELOCATION_STATUS.STATUS_CODE, relocationStatus.getStatusCode());
-        storeQuery.addValue(Relocation.RELOCATION.RELOCATION_STATUS.STATUS_MESSAGE, toLengthLimitedVarchar(relocationStatus.getStatusMessage()));
-        storeQuery.addValue(Relocation.RELOCATION.RELOCATION_STATUS.REASON_CODE, relocationStatus.getTaskRelocationPlan().getReason().name());
-        storeQuery.addValue(Relocation.RELOCATION.RELOCATION_STATUS.REASON_MESSAGE, toLengthLimitedVarchar(relocationStatus.getTaskRelocationPlan().getReasonMessage()));
-        storeQuery.addValue(Relocation.RELOCATION.RELOCATION_STATUS.RELOCATION_DECISION_TIME, new Timestamp(relocationStatus.getTaskRelocationPlan().getDecisionTime()));
-        storeQuery.addValue(Relocation.RELOCATION.RELOCATION_STATUS.RELOCATION_PLAN_TIME, new Timestamp(relocationStatus.getTaskRelocationPlan().getRelocationTime()));
-        storeQuery.addValue(Relocation.RELOCATION.RELOCATION_STATUS.RELOCATION_EXECUTION_TIME, new Timestamp(relocationStatus.getTimestamp()));
-
-        return storeQuery;
+        return insert.onConflict(RELOCATION_STATUS.TASK_ID)
+                .doUpdate()
+                .set(RELOCATION_STATUS.RELOCATION_STATE, JooqUtils.excluded(RELOCATION_STATUS.RELOCATION_STATE))
+                .set(RELOCATION_STATUS.STATUS_CODE, JooqUtils.excluded(RELOCATION_STATUS.STATUS_CODE))
+                .set(RELOCATION_STATUS.STATUS_MESSAGE, JooqUtils.excluded(RELOCATION_STATUS.STATUS_MESSAGE))
+                .set(RELOCATION_STATUS.REASON_CODE, JooqUtils.excluded(RELOCATION_STATUS.REASON_CODE))
+                .set(RELOCATION_STATUS.REASON_MESSAGE, JooqUtils.excluded(RELOCATION_STATUS.REASON_MESSAGE))
+                .set(RELOCATION_STATUS.RELOCATION_DECISION_TIME, JooqUtils.excluded(RELOCATION_STATUS.RELOCATION_DECISION_TIME))
+                .set(RELOCATION_STATUS.RELOCATION_PLAN_TIME, JooqUtils.excluded(RELOCATION_STATUS.RELOCATION_PLAN_TIME))
+                .set(RELOCATION_STATUS.RELOCATION_EXECUTION_TIME, JooqUtils.excluded(RELOCATION_STATUS.RELOCATION_EXECUTION_TIME));
     }
 
     private String toLengthLimitedVarchar(String text) {
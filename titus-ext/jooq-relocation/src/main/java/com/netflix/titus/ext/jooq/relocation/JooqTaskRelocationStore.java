@@ -19,6 +19,7 @@ package com.netflix.titus.ext.jooq.relocation;
 import java.sql.Timestamp;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -31,27 +32,34 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import com.netflix.titus.api.relocation.model.TaskRelocationPlan;
 import com.netflix.titus.api.relocation.model.TaskRelocationPlan.TaskRelocationReason;
 import com.netflix.titus.ext.jooq.JooqUtils;
+import com.netflix.titus.ext.jooq.relocation.tables.RelocationPlan;
 import com.netflix.titus.ext.jooq.relocation.tables.records.RelocationPlanRecord;
 import com.netflix.titus.supplementary.relocation.store.TaskRelocationStore;
 import org.jooq.DSLContext;
 import org.jooq.Delete;
+import org.jooq.InsertValuesStep5;
+import org.jooq.Query;
 import org.jooq.Result;
-import org.jooq.StoreQuery;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoProcessor;
 
 @Singleton
 public class JooqTaskRelocationStore implements TaskRelocationStore {
 
+    private static final RelocationPlan RELOCATION_PLAN = Relocation.RELOCATION.RELOCATION_PLAN;
+
+    private final JooqRelocationConfiguration configuration;
     private final DSLContext dslContext;
 
     private final ConcurrentMap<String, TaskRelocationPlan> plansByTaskId = new ConcurrentHashMap<>();
 
     @Inject
-    public JooqTaskRelocationStore(DSLContext dslContext) {
+    public JooqTaskRelocationStore(JooqRelocationConfiguration configuration, DSLContext dslContext) {
+        this.configuration = configuration;
         this.dslContext = dslContext;
     }
 
@@ -62,11 +70,11 @@ public class JooqTaskRelocationStore implements TaskRelocationStore {
 
     @VisibleForTesting
     Mono<Void> clearStore() {
-        return JooqUtils.executeAsyncMono(() -> dslContext.truncateTable(Relocation.RELOCATION.RELOCATION_PLAN).execute(), dslContext).then();
+        return JooqUtils.executeAsyncMono(() -> dslContext.truncateTable(RELOCATION_PLAN).execute(), dslContext).then();
     }
 
     private void load() {
-        Result<RelocationPlanRecord> allRows = dslContext.selectFrom(Relocation.RELOCATION.RELOCATION_PLAN).fetch();
+        Result<RelocationPlanRecord> allRows = dslContext.selectFrom(RELOCATION_PLAN).fetch();
         for (RelocationPlanRecord record : allRows) {
             plansByTaskId.put(
                     record.getTaskId(),
@@ -88,19 +96,29 @@ public class JooqTaskRelocationStore implements TaskRelocationStore {
         }
 
         return Mono.defer(() -> {
-            List<StoreQuery<RelocationPlanRecord>> queries = taskRelocationPlans.stream().map(this::newCreateOrUpdateQuery).collect(Collectors.toList());
+            // Plans that are identical to the stored ones are not written again. A multi-row upsert cannot touch the
+            // same row twice, so only the last plan for a task is kept.
+            Map<String, TaskRelocationPlan> latestByTaskId = new LinkedHashMap<>();
+            taskRelocationPlans.forEach(plan -> latestByTaskId.put(plan.getTaskId(), plan));
+            List<TaskRelocationPlan> changed = latestByTaskId.values().stream()
+                    .filter(plan -> !plan.equals(plansByTaskId.get(plan.getTaskId())))
+                    .collect(Collectors.toList());
+            Map<String, Optional<Throwable>> resultMap = new HashMap<>();
+            taskRelocationPlans.forEach(p -> resultMap.put(p.getTaskId(), Optional.empty()));
+            if (changed.isEmpty()) {
+                return Mono.just(resultMap);
+            }
+
+            List<Query> queries = Lists.partition(changed, Math.max(1, configuration.getWriteBatchSize())).stream()
+                    .map(this::newUpsertQuery)
+                    .collect(Collectors.toList());
             CompletionStage<int[]> asyncAction = JooqUtils.executeAsync(() ->
                     dslContext.batch(queries).execute(), dslContext);
 
             MonoProcessor<Map<String, Optional<Throwable>>> callerProcessor = MonoProcessor.create();
             asyncAction.handle((result, error) -> {
-                Map<String, Optional<Throwable>> resultMap = new HashMap<>();
                 if (error == null) {
-                    taskRelocationPlans.forEach(p -> {
-                        resultMap.put(p.getTaskId(), Optional.empty());
-                        plansByTaskId.put(p.getTaskId(), p);
-                    });
-
+                    changed.forEach(p -> plansByTaskId.put(p.getTaskId(), p));
                     callerProcessor.onNext(resultMap);
                 } else {
                     callerProcessor.onError(error);
@@ -124,8 +142,10 @@ public class JooqTaskRelocationStore implements TaskRelocationStore {
         }
 
         return Mono.defer(() -> {
-            List<Delete<RelocationPlanRecord>> deletes = toRemove.stream()
+            List<String> stored = toRemove.stream()
                     .filter(plansByTaskId::containsKey)
+                    .collect(Collectors.toList());
+            List<Delete<RelocationPlanRecord>> deletes = Lists.partition(stored, Math.max(1, configuration.getWriteBatchSize())).stream()
                     .map(this::newDelete)
                     .collect(Collectors.toList());
 
@@ -149,25 +169,33 @@ public class JooqTaskRelocationStore implements TaskRelocationStore {
         });
     }
 
-    private StoreQuery<RelocationPlanRecord> newCreateOrUpdateQuery(TaskRelocationPlan relocationPlan) {
-        StoreQuery<RelocationPlanRecord> storeQuery;
-
-        if (plansByTaskId.containsKey(relocationPlan.getTaskId())) {
-            storeQuery = dslContext.updateQuery(Relocation.RELOCATION.RELOCATION_PLAN);
-        } else {
-            storeQuery = dslContext.insertQuery(Relocation.RELOCATION.RELOCATION_PLAN);
-            storeQuery.addValue(Relocation.RELOCATION.RELOCATION_PLAN.TASK_ID, relocationPlan.getTaskId());
+    private Query newUpsertQuery(List<TaskRelocationPlan> relocationPlans) {
+        InsertValuesStep5<RelocationPlanRecord, String, String, String, Timestamp, Timestamp> insert = dslContext.insertInto(
+                RELOCATION_PLAN,
+                RELOCATION_PLAN.TASK_ID,
+                RELOCATION_PLAN.REASON_CODE,
+                RELOCATION_PLAN.REASON_MESSAGE,
+                RELOCATION_PLAN.DECISION_TIME,
+                RELOCATION_PLAN.RELOCATION_TIME
+        );
+        for (TaskRelocationPlan relocationPlan : relocationPlans) {
+            insert = insert.values(
+                    relocationPlan.getTaskId(),
+                    relocationPlan.getReason().name(),
+                    relocationPlan.getReasonMessage(),
+                    new Timestamp(relocationPlan.getDecisionTime()),
+                    new Timestamp(relocationPlan.getRelocationTime())
+            );
         }
-
-        storeQuery.addValue(Relocation.RELOCATION.RELOCATION_PLAN.REASON_CODE, relocationPlan.getReason().name());
-        storeQuery.addValue(Relocation.RELOCATION.RELOCATION_PLAN.REASON_MESSAGE, relocationPlan.getReasonMessage());
-        storeQuery.addValue(Relocation.RELOCATION.RELOCATION_PLAN.DECISION_TIME, new Timestamp(relocationPlan.getDecisionTime()));
-        storeQuery.addValue(Relocation.RELOCATION.RELOCATION_PLAN.RELOCATION_TIME, new Timestamp(relocationPlan.getRelocationTime()));
-
-        return storeQuery;
+        return insert.onConflict(RELOCATION_PLAN.TASK_ID)
+                .doUpdate()
+                .set(RELOCATION_PLAN.REASON_CODE, JooqUtils.excluded(RELOCATION_PLAN.REASON_CODE))
+                .set(RELOCATION_PLAN.REASON_MESSAGE, JooqUtils.excluded(RELOCATION_PLAN.REASON_MESSAGE))
+                .set(RELOCATION_PLAN.DECISION_TIME, JooqUtils.excluded(RELOCATION_PLAN.DECISION_TIME))
+                .set(RELOCATION_PLAN.RELOCATION_TIME, JooqUtils.excluded(RELOCATION_PLAN.RELOCATION_TIME));
     }
 
-    private Delete<RelocationPlanRecord> newDelete(String taskId) {
-        return dslContext.delete(Relocation.RELOCATION.RELOCATION_PLAN).where(Relocation.RELOCATION.RELOCATION_PLAN.TASK_ID.eq(taskId));
+    private Delete<RelocationPlanRecord> newDelete(List<String> taskIds) {
+        return dslContext.delete(RELOCATION_PLAN).where(RELOCATION_PLAN.TASK_ID.in(taskIds));
     }
 }
@@ -145,8 +145,23 @@ public class JooqTaskRelocationResultStoreTest {
         assertThat(newTaskStatus).hasSize(1);
     }
 
+    @Test
+    public void testGCWithManyChunks() {
+        long now = System.currentTimeMillis();
+        List<TaskRelocationStatus> statusList = CollectionsExt.merge(
+                newRelocationStatuses("old", 500, now - 3_600_000),
+                newRelocationStatuses("new", 10, now - 60_000)
+        );
+        store.createTaskRelocationStatuses(statusList).block();
+
+        JooqTaskRelocationGC gc = new JooqTaskRelocationGC(configuration, jooqContext.getDslContext(), store, titusRuntime);
+        int removed = gc.removeExpiredData(now - 3_000_000);
+        assertThat(removed).isEqualTo(500);
+        assertThat(jooqContext.getDslContext().fetchCount(Relocation.RELOCATION.RELOCATION_STATUS)).isEqualTo(10);
+    }
+
     private JooqTaskRelocationResultStore newStore() {
-        return new JooqTaskRelocationResultStore(jooqContext.getDslContext(), titusRuntime);
+        return new JooqTaskRelocationResultStore(configuration, jooqContext.getDslContext(), titusRuntime);
     }
 
     private List<TaskRelocationStatus> newRelocationStatuses(String taskPrefix, int count, long executionTime) {
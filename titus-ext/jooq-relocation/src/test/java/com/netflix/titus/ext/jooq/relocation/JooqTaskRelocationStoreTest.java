@@ -17,6 +17,7 @@
 package com.netflix.titus.ext.jooq.relocation;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -63,6 +64,9 @@ public class JooqTaskRelocationStoreTest {
     @Autowired
     public JooqContext jooqContext;
 
+    @Autowired
+    public JooqRelocationConfiguration configuration;
+
     private JooqTaskRelocationStore store;
 
     @Before
@@ -122,8 +126,29 @@ public class JooqTaskRelocationStoreTest {
         assertThat(store.getAllTaskRelocationPlans().block()).hasSize(10_000);
     }
 
+    @Test
+    public void testUnchangedPlansAreNotWritten() {
+        List<TaskRelocationPlan> plans = newRelocationPlans(2);
+        store.createOrUpdateTaskRelocationPlans(plans).block();
+
+        // Modify the database content behind the store's back.
+        jooqContext.getDslContext().update(Relocation.RELOCATION.RELOCATION_PLAN)
+                .set(Relocation.RELOCATION.RELOCATION_PLAN.REASON_MESSAGE, "external")
+                .execute();
+
+        TaskRelocationPlan updatedPlan = plans.get(1).toBuilder().withReasonMessage("Updated...").build();
+        Map<String, Optional<Throwable>> result = store.createOrUpdateTaskRelocationPlans(Arrays.asList(plans.get(0), updatedPlan)).block();
+        assertThat(result).hasSize(2);
+
+        // Reboot (to force reload from the database).
+        this.store = newStore();
+        Map<String, TaskRelocationPlan> loaded = store.getAllTaskRelocationPlans().block();
+        assertThat(loaded.get(plans.get(0).getTaskId()).getReasonMessage()).isEqualTo("external");
+        assertThat(loaded.get(updatedPlan.getTaskId())).isEqualTo(updatedPlan);
+    }
+
     private JooqTaskRelocationStore newStore() {
-        JooqTaskRelocationStore store = new JooqTaskRelocationStore(jooqContext.getDslContext());
+        JooqTaskRelocationStore store = new JooqTaskRelocationStore(configuration, jooqContext.getDslContext());
         store.activate();
         return store;
     }
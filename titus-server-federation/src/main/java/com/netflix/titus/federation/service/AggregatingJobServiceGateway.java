@@ -23,7 +23,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -74,6 +76,9 @@ import com.netflix.titus.runtime.connector.jobmanager.JobEventPropagationUtil;
 import com.netflix.titus.runtime.endpoint.common.grpc.GrpcUtil;
 import com.netflix.titus.runtime.jobmanager.JobManagerCursors;
 import com.netflix.titus.runtime.jobmanager.gateway.JobServiceGateway;
+import io.grpc.Status;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
 import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -87,8 +92,6 @@ import static com.netflix.titus.api.jobmanager.JobAttributes.JOB_ATTRIBUTES_STAC
 import static com.netflix.titus.api.jobmanager.JobAttributes.JOB_ATTRIBUTE_ROUTING_CELL;
 import static com.netflix.titus.api.jobmanager.TaskAttributes.TASK_ATTRIBUTES_STACK;
 import static com.netflix.titus.federation.service.CellConnectorUtil.callToCell;
-import static com.netflix.titus.federation.service.PageAggregationUtil.combinePagination;
-import static com.netflix.titus.federation.service.PageAggregationUtil.takeCombinedPage;
 import static com.netflix.titus.runtime.connector.jobmanager.JobEventPropagationUtil.CHECKPOINT_FED_CLIENT;
 import static com.netflix.titus.runtime.endpoint.common.grpc.GrpcUtil.createRequestObservable;
 import static com.netflix.titus.runtime.endpoint.common.grpc.GrpcUtil.createWrappedStub;
@@ -109,6 +112,17 @@ public class AggregatingJobServiceGateway implements JobServiceGateway {
     private final AggregatingJobManagementServiceHelper jobManagementServiceHelper;
     private final TitusRuntime titusRuntime;
     private final CellRouter router;
+    private final CellLocationCache locationCache;
+    private final CellJobReplicaCache jobReplicaCache;
+
+    private final KWayMergePagination<Job> jobPagination = new KWayMergePagination<>(
+            JobManagerCursors.jobCursorOrderComparator(),
+            JobManagerCursors::newCursorFrom
+    );
+    private final KWayMergePagination<Task> taskPagination = new KWayMergePagination<>(
+            JobManagerCursors.taskCursorOrderComparator(),
+            JobManagerCursors::newTaskCursorFrom
+    );
 
     @Inject
     public AggregatingJobServiceGateway(GrpcConfiguration grpcConfiguration,
@@ -117,6 +131,8 @@ public class AggregatingJobServiceGateway implements JobServiceGateway {
                                         CellRouter router,
                                         AggregatingCellClient aggregatingClient,
                                         AggregatingJobManagementServiceHelper jobManagementServiceHelper,
+                                        CellLocationCache locationCache,
+                                        CellJobReplicaCache jobReplicaCache,
                                         TitusRuntime titusRuntime) {
 
         this.grpcConfiguration = grpcConfiguration;
@@ -125,6 +141,8 @@ public class AggregatingJobServiceGateway implements JobServiceGateway {
         this.router = router;
         this.aggregatingClient = aggregatingClient;
         this.jobManagementServiceHelper = jobManagementServiceHelper;
+        this.locationCache = locationCache;
+        this.jobReplicaCache = jobReplicaCache;
         this.titusRuntime = titusRuntime;
     }
 
@@ -151,7 +169,10 @@ public class AggregatingJobServiceGateway implements JobServiceGateway {
         return createRequestObservable(emitter -> {
             StreamObserver<JobId> streamObserver = GrpcUtil.createClientResponseObserver(
                     emitter,
-                    jobId -> emitter.onNext(jobId.getId()),
+                    jobId -> {
+                        locationCache.recordJobLocation(jobId.getId(), cell);
+                        emitter.onNext(jobId.getId());
+                    },
                     emitter::onError,
                     emitter::onCompleted
             );
@@ -161,79 +182,78 @@ public class AggregatingJobServiceGateway implements JobServiceGateway {
 
     @Override
     public Completable updateJobCapacity(JobCapacityUpdate request, CallMetadata callMetadata) {
-        Observable<Empty> result = jobManagementServiceHelper.findJobInAllCells(request.getJobId(), callMetadata)
-                .flatMap(response -> singleCellCall(response.getCell(),
-                        (client, streamObserver) -> client.updateJobCapacity(request, streamObserver),
-                        callMetadata)
-                );
+        Observable<Empty> result = jobCellCall(request.getJobId(),
+                (client, streamObserver) -> client.updateJobCapacity(request, streamObserver),
+                callMetadata
+        );
         return result.toCompletable();
     }
 
     @Override
     public Completable updateJobCapacityWithOptionalAttributes(JobCapacityUpdateWithOptionalAttributes request, CallMetadata callMetadata) {
-        Observable<Empty> result = jobManagementServiceHelper.findJobInAllCells(request.getJobId(), callMetadata)
-                .flatMap(response -> singleCellCall(response.getCell(),
-                        (client, streamObserver) -> client.updateJobCapacityWithOptionalAttributes(request, streamObserver),
-                        callMetadata)
-                );
+        Observable<Empty> result = jobCellCall(request.getJobId(),
+                (client, streamObserver) -> client.updateJobCapacityWithOptionalAttributes(request, streamObserver),
+                callMetadata
+        );
         return result.toCompletable();
     }
 
     @Override
     public Completable updateJobProcesses(JobProcessesUpdate request, CallMetadata callMetadata) {
-        Observable<Empty> result = jobManagementServiceHelper.findJobInAllCells(request.getJobId(), callMetadata)
-                .flatMap(response -> singleCellCall(response.getCell(),
-                        (client, streamObserver) -> client.updateJobProcesses(request, streamObserver),
-                        callMetadata)
-                );
+        Observable<Empty> result = jobCellCall(request.getJobId(),
+                (client, streamObserver) -> client.updateJobProcesses(request, streamObserver),
+                callMetadata
+        );
         return result.toCompletable();
     }
 
     @Override
     public Completable updateJobStatus(JobStatusUpdate request, CallMetadata callMetadata) {
-        Observable<Empty> result = jobManagementServiceHelper.findJobInAllCells(request.getId(), callMetadata)
-                .flatMap(response -> singleCellCall(response.getCell(),
-                        (client, streamObserver) -> client.updateJobStatus(request, streamObserver),
-                        callMetadata)
-                );
+        Observable<Empty> result = jobCellCall(request.getId(),
+                (client, streamObserver) -> client.updateJobStatus(request, streamObserver),
+                callMetadata
+        );
         return result.toCompletable();
     }
 
     @Override
     public Mono<Void> updateJobDisruptionBudget(JobDisruptionBudgetUpdate request, CallMetadata callMetadata) {
-        Mono<Empty> result = jobManagementServiceHelper.findJobInAllCellsReact(request.getJobId(), callMetadata)
-                .flatMap(response -> singleCellCallReact(response.getCell(),
-                        (client, streamObserver) -> client.updateJobDisruptionBudget(request, streamObserver),
-                        callMetadata)
-                );
+        Mono<Empty> result = ReactorExt.toMono(jobCellCall(request.getJobId(),
+                (client, streamObserver) -> client.updateJobDisruptionBudget(request, streamObserver),
+                callMetadata
+        ).toSingle());
         return result.ignoreElement().cast(Void.class);
     }
 
     @Override
     public Mono<Void> updateJobAttributes(JobAttributesUpdate request, CallMetadata callMetadata) {
-        Mono<Empty> result = jobManagementServiceHelper.findJobInAllCellsReact(request.getJobId(), callMetadata)
-                .flatMap(response -> singleCellCallReact(response.getCell(),
-                        (client, streamObserver) -> client.updateJobAttributes(request, streamObserver),
-                        callMetadata)
-                );
+        Mono<Empty> result = ReactorExt.toMono(jobCellCall(request.getJobId(),
+                (client, streamObserver) -> client.updateJobAttributes(request, streamObserver),
+                callMetadata
+        ).toSingle());
         return result.ignoreElement().cast(Void.class);
     }
 
     @Override
     public Mono<Void> deleteJobAttributes(JobAttributesDeleteRequest request, CallMetadata callMetadata) {
-        Mono<Empty> result = jobManagementServiceHelper.findJobInAllCellsReact(request.getJobId(), callMetadata)
-                .flatMap(response -> singleCellCallReact(response.getCell(),
-                        (client, streamObserver) -> client.deleteJobAttributes(request, streamObserver),
-                        callMetadata)
-                );
+        Mono<Empty> result = ReactorExt.toMono(jobCellCall(request.getJobId(),
+                (client, streamObserver) -> client.deleteJobAttributes(request, streamObserver),
+                callMetadata
+        ).toSingle());
         return result.ignoreElement().cast(Void.class);
     }
 
     @Override
     public Observable<Job> findJob(String jobId, CallMetadata callMetadata) {
-        return jobManagementServiceHelper.findJobInAllCells(jobId, callMetadata)
-                .map(CellResponse::getResult)
-                .map(this::addStackName);
+        JobId id = JobId.newBuilder().setId(jobId).build();
+        return replicaOrCellCall(() -> jobReplicaCache.findJob(jobId), () -> cachedCellCall(
+                locationCache.findJobCell(jobId),
+                (client, streamObserver) -> client.findJob(id, streamObserver),
+                false,
+                callMetadata,
+                () -> locationCache.invalidateJob(jobId),
+                Observable.defer(() -> findJobInAllCells(jobId, callMetadata).map(CellResponse::getResult))
+        )).map(this::addStackName);
     }
 
     @Override
@@ -262,54 +282,42 @@ public class AggregatingJobServiceGateway implements JobServiceGateway {
     }
 
     private Observable<JobQueryResult> findJobsWithCursorPagination(JobQuery request, Set<String> fields, CallMetadata callMetadata) {
-        return aggregatingClient.call(JobManagementServiceGrpc::newStub, findJobsInCell(request, callMetadata))
-                .map(CellResponse::getResult)
-                .map(this::addStackName)
-                .reduce(this::combineJobResults)
-                .map(combinedResults -> {
-                    Pair<List<Job>, Pagination> combinedPage = takeCombinedPage(
-                            request.getPage(),
-                            combinedResults.getItemsList(),
-                            combinedResults.getPagination(),
-                            JobManagerCursors.jobCursorOrderComparator(),
-                            JobManagerCursors::newCursorFrom
-                    );
-
-                    if (!CollectionsExt.isNullOrEmpty(fields)) {
-                        combinedPage = combinedPage.mapLeft(jobs -> jobs.stream()
-                                .map(job -> ProtobufExt.copy(job, fields))
-                                .collect(Collectors.toList())
-                        );
-                    }
-
-                    return JobQueryResult.newBuilder()
-                            .addAllItems(combinedPage.getLeft())
-                            .setPagination(combinedPage.getRight())
-                            .build();
-                });
-    }
-
-    private ClientCall<JobQueryResult> findJobsInCell(JobQuery request, CallMetadata callMetadata) {
-        return (client, streamObserver) -> wrap(client, callMetadata).findJobs(request, streamObserver);
-    }
-
-    private JobQueryResult combineJobResults(JobQueryResult one, JobQueryResult other) {
-        Pagination pagination = combinePagination(one.getPagination(), other.getPagination());
-        return JobQueryResult.newBuilder()
-                .setPagination(pagination)
-                .addAllItems(one.getItemsList())
-                .addAllItems(other.getItemsList())
-                .build();
+        return jobPagination.takePage(request.getPage(), cellConnector.getChannels().keySet(), (cell, page) -> {
+            JobQuery cellRequest = request.toBuilder().setPage(page).build();
+            return replicaOrCellCall(() -> jobReplicaCache.findJobs(cell, cellRequest), () -> singleCellCall(cell, findJobsInCell(cellRequest), callMetadata))
+                    .doOnNext(result -> result.getItemsList().forEach(job -> locationCache.recordJobLocation(job, cell)))
+                    .map(result -> Pair.of(result.getItemsList(), result.getPagination()));
+        }).map(combinedPage -> {
+            Pair<List<Job>, Pagination> page = combinedPage.mapLeft(jobs -> jobs.stream()
+                    .map(this::addStackName)
+                    .map(job -> CollectionsExt.isNullOrEmpty(fields) ? job : ProtobufExt.copy(job, fields))
+                    .collect(Collectors.toList())
+            );
+            return JobQueryResult.newBuilder()
+                    .addAllItems(page.getLeft())
+                    .setPagination(page.getRight())
+                    .build();
+        });
+    }
+
+    private ClientCall<JobQueryResult> findJobsInCell(JobQuery request) {
+        return (client, streamObserver) -> client.findJobs(request, streamObserver);
     }
 
     @Override
     public Observable<JobChangeNotification> observeJob(String jobId, CallMetadata callMetadata) {
         JobId request = JobId.newBuilder().setId(jobId).build();
-        return jobManagementServiceHelper.findJobInAllCells(jobId, callMetadata)
-                .flatMap(response -> singleCellCallWithNoDeadline(response.getCell(),
-                        (client, streamObserver) -> client.observeJob(request, streamObserver),
-                        callMetadata)
-                );
+        ClientCall<JobChangeNotification> clientCall = (client, streamObserver) -> client.observeJob(request, streamObserver);
+        return cachedCellCall(
+                locationCache.findJobCell(jobId),
+                clientCall,
+                true,
+                callMetadata,
+                () -> locationCache.invalidateJob(jobId),
+                Observable.defer(() -> findJobInAllCells(jobId, callMetadata)
+                        .flatMap(response -> singleCellCallWithNoDeadline(response.getCell(), clientCall, callMetadata))
+                )
+        );
     }
 
     @Override
@@ -321,7 +329,9 @@ public class AggregatingJobServiceGateway implements JobServiceGateway {
                     () -> emitter.onNext(buildJobSnapshotEndMarker())
             );
             clients.forEach((cell, client) -> {
-                StreamObserver<JobChangeNotification> streamObserver = new FilterOutFirstMarker(emitter, markersEmitted);
+                StreamObserver<JobChangeNotification> streamObserver = new CellLocationRecorder(
+                        cell, new FilterOutFirstMarker(emitter, markersEmitted)
+                );
                 wrapWithNoDeadline(client, callMetadata).observeJobs(query, streamObserver);
             });
         });
@@ -331,17 +341,24 @@ public class AggregatingJobServiceGateway implements JobServiceGateway {
     @Override
     public Completable killJob(String jobId, CallMetadata callMetadata) {
         JobId id = JobId.newBuilder().setId(jobId).build();
-        Observable<Empty> result = jobManagementServiceHelper.findJobInAllCells(jobId, callMetadata)
-                .flatMap(response -> singleCellCall(response.getCell(),
-                        (client, streamObserver) -> client.killJob(id, streamObserver),
-                        callMetadata)
-                );
+        Observable<Empty> result = jobCellCall(jobId,
+                (client, streamObserver) -> client.killJob(id, streamObserver),
+                callMetadata
+        );
         return result.toCompletable();
     }
 
     @Override
     public Observable<Task> findTask(String taskId, CallMetadata callMetadata) {
-        return findTaskInAllCells(taskId, callMetadata).map(CellResponse::getResult).map(this::addStackName);
+        TaskId id = TaskId.newBuilder().setId(taskId).build();
+        return replicaOrCellCall(() -> jobReplicaCache.findTask(taskId), () -> cachedCellCall(
+                locationCache.findTaskCell(taskId),
+                (client, streamObserver) -> client.findTask(id, streamObserver),
+                false,
+                callMetadata,
+                () -> locationCache.invalidateTask(taskId),
+                Observable.defer(() -> findTaskInAllCells(taskId, callMetadata).map(CellResponse::getResult))
+        )).map(this::addStackName);
     }
 
     private Observable<CellResponse<JobManagementServiceStub, Task>> findTaskInAllCells(String taskId, CallMetadata callMetadata) {
@@ -350,7 +367,8 @@ public class AggregatingJobServiceGateway implements JobServiceGateway {
                 .flatMap(response -> response.getResult()
                         .map(v -> Observable.just(CellResponse.ofValue(response)))
                         .onErrorGet(Observable::error)
-                );
+                )
+                .doOnNext(response -> locationCache.recordTaskLocation(response.getResult(), response.getCell()));
     }
 
     private ClientCall<Task> findTaskInCell(String taskId, CallMetadata callMetadata) {
@@ -384,80 +402,61 @@ public class AggregatingJobServiceGateway implements JobServiceGateway {
     }
 
     private Observable<TaskQueryResult> findTasksWithCursorPagination(TaskQuery request, Set<String> fields, CallMetadata callMetadata) {
-        return aggregatingClient.call(JobManagementServiceGrpc::newStub, findTasksInCell(request, callMetadata))
-                .map(CellResponse::getResult)
-                .map(this::addStackName)
-                .reduce(this::combineTaskResults)
-                .map(combinedResults -> {
-                    Pair<List<Task>, Pagination> combinedPage = takeCombinedPage(
-                            request.getPage(),
-                            combinedResults.getItemsList(),
-                            combinedResults.getPagination(),
-                            JobManagerCursors.taskCursorOrderComparator(),
-                            JobManagerCursors::newTaskCursorFrom
-                    );
-
-                    if (!CollectionsExt.isNullOrEmpty(fields)) {
-                        combinedPage = combinedPage.mapLeft(tasks -> tasks.stream()
-                                .map(task -> ProtobufExt.copy(task, fields))
-                                .collect(Collectors.toList())
-                        );
-                    }
-
-                    return TaskQueryResult.newBuilder()
-                            .addAllItems(combinedPage.getLeft())
-                            .setPagination(combinedPage.getRight())
-                            .build();
-                });
-    }
-
-    private ClientCall<TaskQueryResult> findTasksInCell(TaskQuery request, CallMetadata callMetadata) {
-        return (client, streamObserver) -> wrap(client, callMetadata).findTasks(request, streamObserver);
-    }
-
-    private TaskQueryResult combineTaskResults(TaskQueryResult one, TaskQueryResult other) {
-        Pagination pagination = combinePagination(one.getPagination(), other.getPagination());
-        return TaskQueryResult.newBuilder()
-                .setPagination(pagination)
-                .addAllItems(one.getItemsList())
-                .addAllItems(other.getItemsList())
-                .build();
+        return taskPagination.takePage(request.getPage(), cellConnector.getChannels().keySet(), (cell, page) -> {
+            TaskQuery cellRequest = request.toBuilder().setPage(page).build();
+            return replicaOrCellCall(() -> jobReplicaCache.findTasks(cell, cellRequest), () -> singleCellCall(cell, findTasksInCell(cellRequest), callMetadata))
+                    .doOnNext(result -> result.getItemsList().forEach(task -> locationCache.recordTaskLocation(task, cell)))
+                    .map(result -> Pair.of(result.getItemsList(), result.getPagination()));
+        }).map(combinedPage -> {
+            Pair<List<Task>, Pagination> page = combinedPage.mapLeft(tasks -> tasks.stream()
+                    .map(this::addStackName)
+                    .map(task -> CollectionsExt.isNullOrEmpty(fields) ? task : ProtobufExt.copy(task, fields))
+                    .collect(Collectors.toList())
+            );
+            return TaskQueryResult.newBuilder()
+                    .addAllItems(page.getLeft())
+                    .setPagination(page.getRight())
+                    .build();
+        });
+    }
+
+    private ClientCall<TaskQueryResult> findTasksInCell(TaskQuery request) {
+        return (client, streamObserver) -> client.findTasks(request, streamObserver);
     }
 
     @Override
     public Completable killTask(TaskKillRequest request, CallMetadata callMetadata) {
-        Observable<Empty> result = findTaskInAllCells(request.getTaskId(), callMetadata)
-                .flatMap(response -> singleCellCall(response.getCell(),
-                        (client, streamObserver) -> client.killTask(request, streamObserver),
-                        callMetadata)
-                );
+        Observable<Empty> result = taskCellCall(request.getTaskId(),
+                (client, streamObserver) -> client.killTask(request, streamObserver),
+                callMetadata
+        );
         return result.toCompletable();
     }
 
     @Override
     public Completable updateTaskAttributes(TaskAttributesUpdate attributesUpdate, CallMetadata callMetadata) {
-        Observable<Empty> result = findTaskInAllCells(attributesUpdate.getTaskId(), callMetadata)
-                .flatMap(response -> singleCellCall(response.getCell(),
-                        (client, streamObserver) -> client.updateTaskAttributes(attributesUpdate, streamObserver),
-                        callMetadata));
+        Observable<Empty> result = taskCellCall(attributesUpdate.getTaskId(),
+                (client, streamObserver) -> client.updateTaskAttributes(attributesUpdate, streamObserver),
+                callMetadata
+        );
         return result.toCompletable();
     }
 
     @Override
     public Completable deleteTaskAttributes(TaskAttributesDeleteRequest deleteRequest, CallMetadata callMetadata) {
-        Observable<Empty> result = findTaskInAllCells(deleteRequest.getTaskId(), callMetadata)
-                .flatMap(response -> singleCellCall(response.getCell(),
-                        (client, streamObserver) -> client.deleteTaskAttributes(deleteRequest, streamObserver),
-                        callMetadata));
+        Observable<Empty> result = taskCellCall(deleteRequest.getTaskId(),
+                (client, streamObserver) -> client.deleteTaskAttributes(deleteRequest, streamObserver),
+                callMetadata
+        );
         return result.toCompletable();
     }
 
     @Override
     public Completable moveTask(TaskMoveRequest taskMoveRequest, CallMetadata callMetadata) {
-        Observable<Empty> result = findTaskInAllCells(taskMoveRequest.getTaskId(), callMetadata)
-                .flatMap(response -> singleCellCall(response.getCell(),
-                        (client, streamObserver) -> client.moveTask(taskMoveRequest, streamObserver),
-                        callMetadata));
+        Observable<Empty> result = taskCellCall(taskMoveRequest.getTaskId(),
+                (client, streamObserver) -> client.moveTask(taskMoveRequest, streamObserver),
+                callMetadata
+        );
         return result.toCompletable();
     }
 
@@ -471,16 +470,6 @@ public class AggregatingJobServiceGateway implements JobServiceGateway {
                 .removeAttributes(JOB_ATTRIBUTES_FEDERATED_JOB_ID);
     }
 
-    private JobQueryResult addStackName(JobQueryResult result) {
-        List<Job> withStackName = result.getItemsList().stream().map(this::addStackName).collect(Collectors.toList());
-        return result.toBuilder().clearItems().addAllItems(withStackName).build();
-    }
-
-    private TaskQueryResult addStackName(TaskQueryResult result) {
-        List<Task> withStackName = result.getItemsList().stream().map(this::addStackName).collect(Collectors.toList());
-        return result.toBuilder().clearItems().addAllItems(withStackName).build();
-    }
-
     private JobDescriptor.Builder addStackName(JobDescriptor.Builder jobDescriptorBuilder) {
         return jobDescriptorBuilder.putAttributes(JOB_ATTRIBUTES_STACK, federationConfiguration.getStack());
     }
@@ -530,15 +519,93 @@ public class AggregatingJobServiceGateway implements JobServiceGateway {
         return createWrappedStub(client, callMetadata);
     }
 
+    private Observable<CellResponse<JobManagementServiceStub, Job>> findJobInAllCells(String jobId, CallMetadata callMetadata) {
+        return jobManagementServiceHelper.findJobInAllCells(jobId, callMetadata)
+                .doOnNext(response -> locationCache.recordJobLocation(jobId, response.getCell()));
+    }
+
+    /**
+     * Calls the cell owning the job. If the job location is not known, all cells are queried first to find it.
+     */
+    private <T> Observable<T> jobCellCall(String jobId, ClientCall<T> clientCall, CallMetadata callMetadata) {
+        return cachedCellCall(
+                locationCache.findJobCell(jobId),
+                clientCall,
+                false,
+                callMetadata,
+                () -> locationCache.invalidateJob(jobId),
+                Observable.defer(() -> findJobInAllCells(jobId, callMetadata)
+                        .flatMap(response -> singleCellCall(response.getCell(), clientCall, callMetadata))
+                )
+        );
+    }
+
+    /**
+     * Calls the cell owning the task. If the task location is not known, all cells are queried first to find it.
+     */
+    private <T> Observable<T> taskCellCall(String taskId, ClientCall<T> clientCall, CallMetadata callMetadata) {
+        return cachedCellCall(
+                locationCache.findTaskCell(taskId),
+                clientCall,
+                false,
+                callMetadata,
+                () -> locationCache.invalidateTask(taskId),
+                Observable.defer(() -> findTaskInAllCells(taskId, callMetadata)
+                        .flatMap(response -> singleCellCall(response.getCell(), clientCall, callMetadata))
+                )
+        );
+    }
+
+    /**
+     * Serves the request from the cell job replicas if they can answer it. Otherwise calls the cells.
+     */
+    private <T> Observable<T> replicaOrCellCall(Supplier<Optional<T>> replicaCall, Supplier<Observable<T>> cellCall) {
+        if (!jobReplicaCache.isEnabled()) {
+            return cellCall.get();
+        }
+        return Observable.defer(() -> replicaCall.get().map(Observable::just).orElseGet(cellCall));
+    }
+
+    /**
+     * Sends the request directly to the cached cell. Falls back to the scatter-gather variant if there is no cached
+     * location, the cell is no longer connected, or the cell does not know the entity (NOT_FOUND).
+     */
+    private <T> Observable<T> cachedCellCall(Optional<Cell> cachedCell,
+                                             ClientCall<T> clientCall,
+                                             boolean noDeadline,
+                                             CallMetadata callMetadata,
+                                             Runnable invalidate,
+                                             Observable<T> scatterGather) {
+        if (!cachedCell.isPresent() || !cellConnector.getChannelForCell(cachedCell.get()).isPresent()) {
+            return scatterGather;
+        }
+        Cell cell = cachedCell.get();
+        Observable<T> direct = noDeadline
+                ? singleCellCallWithNoDeadline(cell, clientCall, callMetadata)
+                : singleCellCall(cell, clientCall, callMetadata);
+        return Observable.defer(() -> {
+            // Count the saved calls once, when the owning cell confirms that it knows the entity.
+            AtomicBoolean confirmed = new AtomicBoolean();
+            return direct.doOnNext(next -> {
+                if (confirmed.compareAndSet(false, true)) {
+                    locationCache.recordFanOutSaved(cellConnector.getChannels().size() - 1);
+                }
+            });
+        }).onErrorResumeNext(error -> {
+            if (Status.fromThrowable(error).getCode() == Status.Code.NOT_FOUND) {
+                logger.debug("Cached cell {} does not own the requested entity; querying all cells", cell.getName());
+                invalidate.run();
+                return scatterGather;
+            }
+            return Observable.error(error);
+        });
+    }
+
     private <T> Observable<T> singleCellCall(Cell cell, ClientCall<T> clientCall, CallMetadata callMetadata) {
         return callToCell(cell, cellConnector, JobManagementServiceGrpc::newStub,
                 (client, streamObserver) -> clientCall.accept(wrap(client, callMetadata), streamObserver));
     }
 
-    private <T> Mono<T> singleCellCallReact(Cell cell, ClientCall<T> clientCall, CallMetadata callMetadata) {
-        return ReactorExt.toMono(singleCellCall(cell, clientCall, callMetadata).toSingle());
-    }
-
     private <T> Observable<T> singleCellCallWithNoDeadline(Cell cell, ClientCall<T> clientCall, CallMetadata callMetadata) {
         return callToCell(cell, cellConnector, JobManagementServiceGrpc::newStub,
                 (client, streamObserver) -> clientCall.accept(wrapWithNoDeadline(client, callMetadata), streamObserver));
@@ -547,5 +614,40 @@ public class AggregatingJobServiceGateway implements JobServiceGateway {
     private interface ClientCall<T> extends BiConsumer<JobManagementServiceStub, StreamObserver<T>> {
         // generics sanity
     }
+
+    /**
+     * Records job and task locations seen on a cell event stream, before passing the events downstream.
+     */
+    private class CellLocationRecorder implements ClientResponseObserver<Empty, JobChangeNotification> {
+
+        private final Cell cell;
+        private final ClientResponseObserver<Empty, JobChangeNotification> delegate;
+
+        private CellLocationRecorder(Cell cell, ClientResponseObserver<Empty, JobChangeNotification> delegate) {
+            this.cell = cell;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<Empty> requestStream) {
+            delegate.beforeStart(requestStream);
+        }
+
+        @Override
+        public void onNext(JobChangeNotification value) {
+            locationCache.recordLocation(value, cell);
+            delegate.onNext(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            delegate.onError(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            delegate.onCompleted();
+        }
+    }
 }
 
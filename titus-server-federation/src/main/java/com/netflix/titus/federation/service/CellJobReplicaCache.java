@@ -0,0 +1,316 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.federation.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import javax.annotation.PreDestroy;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.patterns.PolledMeter;
+import com.netflix.titus.api.federation.model.Cell;
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.LogStorageInfo;
+import com.netflix.titus.api.jobmanager.model.job.event.JobManagerEvent;
+import com.netflix.titus.api.model.PageResult;
+import com.netflix.titus.common.runtime.TitusRuntime;
+import com.netflix.titus.common.util.CollectionsExt;
+import com.netflix.titus.common.util.grpc.reactor.GrpcToReactorClientFactory;
+import com.netflix.titus.common.util.tuple.Pair;
+import com.netflix.titus.federation.startup.TitusFederationConfiguration;
+import com.netflix.titus.grpc.protogen.JobDescriptor;
+import com.netflix.titus.grpc.protogen.JobManagementServiceGrpc;
+import com.netflix.titus.grpc.protogen.JobQuery;
+import com.netflix.titus.grpc.protogen.JobQueryResult;
+import com.netflix.titus.grpc.protogen.Task;
+import com.netflix.titus.grpc.protogen.TaskQuery;
+import com.netflix.titus.grpc.protogen.TaskQueryResult;
+import com.netflix.titus.grpc.protogen.TaskStatus;
+import com.netflix.titus.runtime.connector.common.replicator.DataReplicatorMetrics;
+import com.netflix.titus.runtime.connector.common.replicator.ReplicatorEvent;
+import com.netflix.titus.runtime.connector.common.replicator.RetryableReplicatorEventStream;
+import com.netflix.titus.runtime.connector.jobmanager.JobConnectorConfiguration;
+import com.netflix.titus.runtime.connector.jobmanager.ReactorJobManagementServiceStub;
+import com.netflix.titus.runtime.connector.jobmanager.RemoteJobManagementClient;
+import com.netflix.titus.runtime.connector.jobmanager.replicator.GrpcJobReplicatorEventStream;
+import com.netflix.titus.runtime.connector.jobmanager.snapshot.JobSnapshot;
+import com.netflix.titus.runtime.connector.jobmanager.snapshot.JobSnapshotFactories;
+import com.netflix.titus.runtime.endpoint.JobQueryCriteria;
+import com.netflix.titus.runtime.endpoint.v3.grpc.GrpcJobManagementModelConverters;
+import com.netflix.titus.runtime.endpoint.v3.grpc.query.V3JobQueryCriteriaEvaluator;
+import com.netflix.titus.runtime.endpoint.v3.grpc.query.V3TaskQueryCriteriaEvaluator;
+import com.netflix.titus.runtime.jobmanager.JobManagerCursors;
+import io.grpc.ManagedChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import static com.netflix.titus.runtime.endpoint.common.grpc.CommonRuntimeGrpcModelConverters.toGrpcPagination;
+import static com.netflix.titus.runtime.endpoint.common.grpc.CommonRuntimeGrpcModelConverters.toPage;
+import static com.netflix.titus.runtime.endpoint.v3.grpc.GrpcJobQueryModelConverters.toJobQueryCriteria;
+
+/**
+ * Local replica of the job data of each cell, kept up to date by one job replicator event stream per cell. Queries
+ * are answered from a cell replica only if it is fresh, that is the last event (including the periodic keep alive
+ * events) was received within {@link TitusFederationConfiguration#getJobReplicaCacheMaxStalenessMs()}. Otherwise an
+ * empty result is returned, and the caller is expected to query the cell directly.
+ */
+public class CellJobReplicaCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CellJobReplicaCache.class);
+
+    private static final String METRIC_ROOT = "titus.federation.jobReplicaCache.";
+
+    private final TitusFederationConfiguration configuration;
+    private final LogStorageInfo<com.netflix.titus.api.jobmanager.model.job.Task> logStorageInfo;
+    private final TitusRuntime titusRuntime;
+    private final Map<Cell, CellReplica> replicas;
+
+    private final Counter localQueries;
+    private final Counter fallbackQueries;
+
+    public CellJobReplicaCache(TitusFederationConfiguration configuration,
+                               JobConnectorConfiguration connectorConfiguration,
+                               CellConnector cellConnector,
+                               GrpcToReactorClientFactory clientFactory,
+                               LogStorageInfo<com.netflix.titus.api.jobmanager.model.job.Task> logStorageInfo,
+                               TitusRuntime titusRuntime) {
+        this(configuration, newCellEventStreams(connectorConfiguration, cellConnector, clientFactory, titusRuntime), logStorageInfo, titusRuntime);
+    }
+
+    @VisibleForTesting
+    CellJobReplicaCache(TitusFederationConfiguration configuration,
+                        Map<Cell, Flux<ReplicatorEvent<JobSnapshot, JobManagerEvent<?>>>> cellEventStreams,
+                        LogStorageInfo<com.netflix.titus.api.jobmanager.model.job.Task> logStorageInfo,
+                        TitusRuntime titusRuntime) {
+        this.configuration = configuration;
+        this.logStorageInfo = logStorageInfo;
+        this.titusRuntime = titusRuntime;
+
+        Registry registry = titusRuntime.getRegistry();
+        this.localQueries = registry.counter(METRIC_ROOT + "queries", "result", "local");
+        this.fallbackQueries = registry.counter(METRIC_ROOT + "queries", "result", "fallback");
+
+        if (configuration.isJobReplicaCacheEnabled()) {
+            Map<Cell, CellReplica> replicas = new HashMap<>();
+            cellEventStreams.forEach((cell, eventStream) -> replicas.put(cell, new CellReplica(cell, eventStream, registry)));
+            this.replicas = Collections.unmodifiableMap(replicas);
+        } else {
+            this.replicas = Collections.emptyMap();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        replicas.values().forEach(CellReplica::shutdown);
+    }
+
+    public boolean isEnabled() {
+        return !replicas.isEmpty();
+    }
+
+    /**
+     * Returns the replica of the given cell, if it is fresh.
+     */
+    @VisibleForTesting
+    Optional<JobSnapshot> findFreshSnapshot(Cell cell) {
+        CellReplica replica = replicas.get(cell);
+        return replica == null ? Optional.empty() : replica.getFreshSnapshot();
+    }
+
+    /**
+     * Finds a job in the fresh cell replicas. Returns {@link Optional#empty()} if the job is not found in any of them.
+     */
+    public Optional<com.netflix.titus.grpc.protogen.Job> findJob(String jobId) {
+        return findInAllCells(snapshot -> snapshot.findJob(jobId).map(GrpcJobManagementModelConverters::toGrpcJob));
+    }
+
+    public Optional<Task> findTask(String taskId) {
+        return findInAllCells(snapshot -> snapshot.findTaskById(taskId)
+                .map(jobTaskPair -> GrpcJobManagementModelConverters.toGrpcTask(jobTaskPair.getRight(), logStorageInfo))
+        );
+    }
+
+    /**
+     * Evaluates a single cell page of the query against the cell replica, the same way as the cell would do it.
+     * The query fields filter is not applied. Returns {@link Optional#empty()} if the replica is not fresh.
+     */
+    public Optional<JobQueryResult> findJobs(Cell cell, JobQuery cellQuery) {
+        Optional<JobSnapshot> snapshotOpt = findFreshSnapshot(cell);
+        if (!snapshotOpt.isPresent()) {
+            fallbackQueries.increment();
+            return Optional.empty();
+        }
+        localQueries.increment();
+
+        JobSnapshot snapshot = snapshotOpt.get();
+        JobQueryCriteria<TaskStatus.TaskState, JobDescriptor.JobSpecCase> queryCriteria = toJobQueryCriteria(cellQuery);
+        V3JobQueryCriteriaEvaluator queryFilter = new V3JobQueryCriteriaEvaluator(queryCriteria, titusRuntime);
+
+        List<Job> matchingJobs = new ArrayList<>();
+        snapshot.getJobMap().forEach((jobId, job) -> {
+            List<com.netflix.titus.api.jobmanager.model.job.Task> tasks = new ArrayList<>(snapshot.getTasks(jobId).values());
+            if (queryFilter.test(Pair.of(job, tasks))) {
+                matchingJobs.add(job);
+            }
+        });
+
+        PageResult<Job> pageResult = JobManagerCursors.newCoreJobPaginationEvaluator().takePage(toPage(cellQuery.getPage()), matchingJobs);
+        JobQueryResult.Builder resultBuilder = JobQueryResult.newBuilder().setPagination(toGrpcPagination(pageResult.getPagination()));
+        pageResult.getItems().forEach(job -> resultBuilder.addItems(GrpcJobManagementModelConverters.toGrpcJob(job)));
+        return Optional.of(resultBuilder.build());
+    }
+
+    /**
+     * Task variant of {@link #findJobs(Cell, JobQuery)}.
+     */
+    public Optional<TaskQueryResult> findTasks(Cell cell, TaskQuery cellQuery) {
+        Optional<JobSnapshot> snapshotOpt = findFreshSnapshot(cell);
+        if (!snapshotOpt.isPresent()) {
+            fallbackQueries.increment();
+            return Optional.empty();
+        }
+        localQueries.increment();
+
+        JobSnapshot snapshot = snapshotOpt.get();
+        JobQueryCriteria<TaskStatus.TaskState, JobDescriptor.JobSpecCase> queryCriteria = toJobQueryCriteria(cellQuery);
+        V3TaskQueryCriteriaEvaluator queryFilter = new V3TaskQueryCriteriaEvaluator(queryCriteria, titusRuntime);
+
+        List<com.netflix.titus.api.jobmanager.model.job.Task> matchingTasks = new ArrayList<>();
+        snapshot.getJobMap().forEach((jobId, job) -> {
+            Map<String, com.netflix.titus.api.jobmanager.model.job.Task> tasks = snapshot.getTasks(jobId);
+            if (!CollectionsExt.isNullOrEmpty(tasks)) {
+                tasks.forEach((taskId, task) -> {
+                    if (queryFilter.test(Pair.of(job, task))) {
+                        matchingTasks.add(task);
+                    }
+                });
+            }
+        });
+
+        PageResult<com.netflix.titus.api.jobmanager.model.job.Task> pageResult = JobManagerCursors.newCoreTaskPaginationEvaluator()
+                .takePage(toPage(cellQuery.getPage()), matchingTasks);
+        TaskQueryResult.Builder resultBuilder = TaskQueryResult.newBuilder().setPagination(toGrpcPagination(pageResult.getPagination()));
+        pageResult.getItems().forEach(task -> resultBuilder.addItems(GrpcJobManagementModelConverters.toGrpcTask(task, logStorageInfo)));
+        return Optional.of(resultBuilder.build());
+    }
+
+    private <T> Optional<T> findInAllCells(Function<JobSnapshot, Optional<T>> finder) {
+        if (replicas.isEmpty()) {
+            return Optional.empty();
+        }
+        for (CellReplica replica : replicas.values()) {
+            Optional<T> result = replica.getFreshSnapshot().flatMap(finder);
+            if (result.isPresent()) {
+                localQueries.increment();
+                return result;
+            }
+        }
+        // Not found in the fresh replicas. The entity may belong to a stale cell or may have been just created, so let
+        // the caller ask the cells.
+        fallbackQueries.increment();
+        return Optional.empty();
+    }
+
+    private static Map<Cell, Flux<ReplicatorEvent<JobSnapshot, JobManagerEvent<?>>>> newCellEventStreams(JobConnectorConfiguration connectorConfiguration,
+                                                                                                        CellConnector cellConnector,
+                                                                                                        GrpcToReactorClientFactory clientFactory,
+                                                                                                        TitusRuntime titusRuntime) {
+        Map<Cell, Flux<ReplicatorEvent<JobSnapshot, JobManagerEvent<?>>>> streams = new HashMap<>();
+        cellConnector.getChannels().forEach((cell, channel) -> streams.put(cell, newCellEventStream(cell, channel, connectorConfiguration, clientFactory, titusRuntime)));
+        return streams;
+    }
+
+    private static Flux<ReplicatorEvent<JobSnapshot, JobManagerEvent<?>>> newCellEventStream(Cell cell,
+                                                                                             ManagedChannel channel,
+                                                                                             JobConnectorConfiguration connectorConfiguration,
+                                                                                             GrpcToReactorClientFactory clientFactory,
+                                                                                             TitusRuntime titusRuntime) {
+        return Flux.defer(() -> {
+            ReactorJobManagementServiceStub stub = clientFactory.apply(
+                    JobManagementServiceGrpc.newStub(channel),
+                    ReactorJobManagementServiceStub.class,
+                    JobManagementServiceGrpc.getServiceDescriptor()
+            );
+            GrpcJobReplicatorEventStream grpcEventStream = new GrpcJobReplicatorEventStream(
+                    new RemoteJobManagementClient("federationJobReplica-" + cell.getName(), stub, titusRuntime),
+                    JobSnapshotFactories.newDefault(false, false, error -> titusRuntime.getCodeInvariants().inconsistent(error), titusRuntime),
+                    connectorConfiguration,
+                    new DataReplicatorMetrics<>("federationJobReplicaGrpcStream-" + cell.getName(), false, titusRuntime),
+                    titusRuntime,
+                    Schedulers.parallel()
+            );
+            return new RetryableReplicatorEventStream<>(
+                    grpcEventStream,
+                    new DataReplicatorMetrics<>("federationJobReplicaRetryableStream-" + cell.getName(), false, titusRuntime),
+                    titusRuntime,
+                    Schedulers.parallel()
+            ).connect();
+        });
+    }
+
+    private class CellReplica {
+
+        private final Cell cell;
+        private final Disposable subscription;
+
+        private volatile ReplicatorEvent<JobSnapshot, JobManagerEvent<?>> lastEvent;
+
+        private CellReplica(Cell cell, Flux<ReplicatorEvent<JobSnapshot, JobManagerEvent<?>>> eventStream, Registry registry) {
+            this.cell = cell;
+            this.subscription = eventStream.subscribe(
+                    event -> this.lastEvent = event,
+                    error -> logger.warn("Job replica stream of cell {} terminated with an error", cell.getName(), error),
+                    () -> logger.info("Job replica stream of cell {} completed", cell.getName())
+            );
+            PolledMeter.using(registry)
+                    .withId(registry.createId(METRIC_ROOT + "stalenessMs", "cell", cell.getName()))
+                    .monitorValue(this, CellReplica::getStalenessMs);
+        }
+
+        private void shutdown() {
+            subscription.dispose();
+        }
+
+        private long getStalenessMs() {
+            ReplicatorEvent<JobSnapshot, JobManagerEvent<?>> current = lastEvent;
+            return current == null ? Long.MAX_VALUE : titusRuntime.getClock().wallTime() - current.getLastUpdateTime();
+        }
+
+        private Optional<JobSnapshot> getFreshSnapshot() {
+            ReplicatorEvent<JobSnapshot, JobManagerEvent<?>> current = lastEvent;
+            if (current == null) {
+                return Optional.empty();
+            }
+            long stalenessMs = titusRuntime.getClock().wallTime() - current.getLastUpdateTime();
+            if (stalenessMs > configuration.getJobReplicaCacheMaxStalenessMs()) {
+                logger.debug("Job replica of cell {} is stale: stalenessMs={}", cell.getName(), stalenessMs);
+                return Optional.empty();
+            }
+            return Optional.of(current.getSnapshot());
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.federation.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Registry;
+import com.netflix.titus.api.federation.model.Cell;
+import com.netflix.titus.common.runtime.TitusRuntime;
+import com.netflix.titus.common.util.StringExt;
+import com.netflix.titus.common.util.cache.Cache;
+import com.netflix.titus.common.util.cache.Caches;
+import com.netflix.titus.federation.startup.TitusFederationConfiguration;
+import com.netflix.titus.grpc.protogen.Job;
+import com.netflix.titus.grpc.protogen.JobChangeNotification;
+import com.netflix.titus.grpc.protogen.Task;
+
+/**
+ * Remembers which cell owns a given job or task, so requests addressed by an id can be sent to a single cell instead
+ * of all of them. The cache is populated from successful cell responses and from the per-cell job event streams.
+ * Entries are never trusted blindly: a caller must fall back to querying all cells on a miss, and must invalidate
+ * the entry if the cached cell responds with NOT_FOUND.
+ */
+@Singleton
+public class CellLocationCache {
+
+    private static final String METRIC_ROOT = "titus.federation.cellLocationCache.";
+
+    private static final String KIND_JOB = "job";
+    private static final String KIND_TASK = "task";
+
+    private final TitusFederationConfiguration configuration;
+
+    private final Cache<String, Cell> jobLocations;
+    private final Cache<String, Cell> taskLocations;
+
+    private final Counter jobHits;
+    private final Counter jobMisses;
+    private final Counter jobStaleEntries;
+    private final Counter taskHits;
+    private final Counter taskMisses;
+    private final Counter taskStaleEntries;
+    private final Counter fanOutSaved;
+
+    @Inject
+    public CellLocationCache(TitusFederationConfiguration configuration, TitusRuntime titusRuntime) {
+        this.configuration = configuration;
+
+        Registry registry = titusRuntime.getRegistry();
+        Duration ttl = Duration.ofMillis(Math.max(0, configuration.getCellLocationCacheTtlMs()));
+        long maxSize = Math.max(0, configuration.getCellLocationCacheMaxSize());
+        this.jobLocations = Caches.instrumentedCacheWithMaxSize(maxSize, ttl, METRIC_ROOT + KIND_JOB, registry);
+        this.taskLocations = Caches.instrumentedCacheWithMaxSize(maxSize, ttl, METRIC_ROOT + KIND_TASK, registry);
+
+        this.jobHits = registry.counter(METRIC_ROOT + "lookups", "kind", KIND_JOB, "result", "hit");
+        this.jobMisses = registry.counter(METRIC_ROOT + "lookups", "kind", KIND_JOB, "result", "miss");
+        this.jobStaleEntries = registry.counter(METRIC_ROOT + "staleEntries", "kind", KIND_JOB);
+        this.taskHits = registry.counter(METRIC_ROOT + "lookups", "kind", KIND_TASK, "result", "hit");
+        this.taskMisses = registry.counter(METRIC_ROOT + "lookups", "kind", KIND_TASK, "result", "miss");
+        this.taskStaleEntries = registry.counter(METRIC_ROOT + "staleEntries", "kind", KIND_TASK);
+        this.fanOutSaved = registry.counter(METRIC_ROOT + "fanOutSaved");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobLocations.shutdown();
+        taskLocations.shutdown();
+    }
+
+    public boolean isEnabled() {
+        return configuration.isCellLocationCacheEnabled();
+    }
+
+    public Optional<Cell> findJobCell(String jobId) {
+        return find(jobLocations, jobId, jobHits, jobMisses);
+    }
+
+    public Optional<Cell> findTaskCell(String taskId) {
+        return find(taskLocations, taskId, taskHits, taskMisses);
+    }
+
+    public void recordJobLocation(String jobId, Cell cell) {
+        if (isEnabled() && StringExt.isNotEmpty(jobId)) {
+            jobLocations.put(jobId, cell);
+        }
+    }
+
+    public void recordJobLocation(Job job, Cell cell) {
+        recordJobLocation(job.getId(), cell);
+    }
+
+    public void recordTaskLocation(Task task, Cell cell) {
+        if (isEnabled() && StringExt.isNotEmpty(task.getId())) {
+            taskLocations.put(task.getId(), cell);
+            recordJobLocation(task.getJobId(), cell);
+        }
+    }
+
+    public void recordLocation(JobChangeNotification notification, Cell cell) {
+        switch (notification.getNotificationCase()) {
+            case JOBUPDATE:
+                recordJobLocation(notification.getJobUpdate().getJob(), cell);
+                break;
+            case TASKUPDATE:
+                recordTaskLocation(notification.getTaskUpdate().getTask(), cell);
+                break;
+            default:
+        }
+    }
+
+    /**
+     * Called when the cached cell does not know the job anymore.
+     */
+    public void invalidateJob(String jobId) {
+        jobLocations.invalidate(jobId);
+        jobStaleEntries.increment();
+    }
+
+    /**
+     * Called when the cached cell does not know the task anymore.
+     */
+    public void invalidateTask(String taskId) {
+        taskLocations.invalidate(taskId);
+        taskStaleEntries.increment();
+    }
+
+    /**
+     * Records the number of cell calls avoided by routing a request directly to its owning cell.
+     */
+    public void recordFanOutSaved(int cellCallsSaved) {
+        if (cellCallsSaved > 0) {
+            fanOutSaved.increment(cellCallsSaved);
+        }
+    }
+
+    private Optional<Cell> find(Cache<String, Cell> locations, String id, Counter hits, Counter misses) {
+        if (!isEnabled() || StringExt.isEmpty(id)) {
+            return Optional.empty();
+        }
+        Cell cell = locations.getIfPresent(id);
+        if (cell == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(cell);
+    }
+}
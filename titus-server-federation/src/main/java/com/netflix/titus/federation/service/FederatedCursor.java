@@ -0,0 +1,228 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.federation.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.netflix.titus.common.util.StringExt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pagination cursor that records the position reached in each cell. It allows the federation to continue a
+ * k-way merge of the cell results, without asking all cells for a full page each time.
+ * <p>
+ * Cursors that were not created by the federation (for example cursors returned by a single cell) are accepted as
+ * legacy cursors. In that case all cells are positioned at the same cursor value.
+ */
+final class FederatedCursor {
+
+    private static final Logger logger = LoggerFactory.getLogger(FederatedCursor.class);
+
+    private static final String FORMAT_PREFIX = "fed1";
+    private static final String ENTRY_SEPARATOR = "\n";
+    private static final String FIELD_SEPARATOR = ":";
+
+    private static final FederatedCursor EMPTY = new FederatedCursor("", Collections.emptyMap());
+
+    /**
+     * Cursor of the last item returned to the client (the same value the legacy pagination would return). Used for
+     * cells that are not part of {@link #cellPositions}.
+     */
+    private final String lastItemCursor;
+    private final Map<String, CellPosition> cellPositions;
+
+    FederatedCursor(String lastItemCursor, Map<String, CellPosition> cellPositions) {
+        this.lastItemCursor = lastItemCursor;
+        this.cellPositions = cellPositions;
+    }
+
+    String getLastItemCursor() {
+        return lastItemCursor;
+    }
+
+    Map<String, CellPosition> getCellPositions() {
+        return cellPositions;
+    }
+
+    /**
+     * Returns the position in the given cell. Cells for which the position is not known (legacy cursor or a newly
+     * added cell) start from the last returned item.
+     */
+    CellPosition getCellPosition(String cellName) {
+        CellPosition position = cellPositions.get(cellName);
+        if (position != null) {
+            return position;
+        }
+        return CellPosition.startingAt(lastItemCursor);
+    }
+
+    String encode() {
+        StringBuilder sb = new StringBuilder(FORMAT_PREFIX).append(ENTRY_SEPARATOR).append(lastItemCursor);
+        cellPositions.forEach((cellName, position) -> sb.append(ENTRY_SEPARATOR)
+                .append(position.getCursor()).append(FIELD_SEPARATOR)
+                .append(position.getHeadCursor()).append(FIELD_SEPARATOR)
+                .append(position.getPosition()).append(FIELD_SEPARATOR)
+                .append(position.getTotalItems()).append(FIELD_SEPARATOR)
+                .append(position.isExhausted() ? 1 : 0).append(FIELD_SEPARATOR)
+                .append(cellName)
+        );
+        return Base64.getEncoder().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static FederatedCursor empty() {
+        return EMPTY;
+    }
+
+    static FederatedCursor decode(String cursor) {
+        if (StringExt.isEmpty(cursor)) {
+            return EMPTY;
+        }
+        return decodeFederated(cursor).orElseGet(() -> new FederatedCursor(cursor, Collections.emptyMap()));
+    }
+
+    private static Optional<FederatedCursor> decodeFederated(String cursor) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+        String[] entries = decoded.split(ENTRY_SEPARATOR, -1);
+        if (entries.length < 2 || !FORMAT_PREFIX.equals(entries[0])) {
+            return Optional.empty();
+        }
+        try {
+            Map<String, CellPosition> cellPositions = new HashMap<>();
+            for (int i = 2; i < entries.length; i++) {
+                String[] fields = entries[i].split(FIELD_SEPARATOR, 6);
+                cellPositions.put(fields[5], new CellPosition(
+                        fields[0],
+                        fields[1],
+                        Integer.parseInt(fields[2]),
+                        Integer.parseInt(fields[3]),
+                        "1".equals(fields[4])
+                ));
+            }
+            return Optional.of(new FederatedCursor(entries[1], cellPositions));
+        } catch (Exception e) {
+            logger.debug("Cannot decode federated cursor: {}", decoded, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Position of the k-way merge in a single cell.
+     */
+    static final class CellPosition {
+
+        private static final int UNKNOWN_POSITION = -1;
+
+        private final String cursor;
+        private final String headCursor;
+        private final int position;
+        private final int totalItems;
+        private final boolean exhausted;
+
+        /**
+         * @param cursor     cell cursor pointing to the last item consumed from the cell (empty if none were consumed)
+         * @param headCursor cursor of the next, not yet consumed item in the cell, or empty if not known
+         * @param position   number of items consumed from the cell, or -1 if not known
+         * @param totalItems total number of items in the cell, as reported by the last cell response
+         * @param exhausted  true if all cell items were consumed
+         */
+        CellPosition(String cursor, String headCursor, int position, int totalItems, boolean exhausted) {
+            this.cursor = cursor;
+            this.headCursor = headCursor;
+            this.position = position;
+            this.totalItems = totalItems;
+            this.exhausted = exhausted;
+        }
+
+        String getCursor() {
+            return cursor;
+        }
+
+        String getHeadCursor() {
+            return headCursor;
+        }
+
+        boolean hasHead() {
+            return !headCursor.isEmpty();
+        }
+
+        int getPosition() {
+            return position;
+        }
+
+        boolean isPositionKnown() {
+            return position != UNKNOWN_POSITION;
+        }
+
+        int getTotalItems() {
+            return totalItems;
+        }
+
+        boolean isExhausted() {
+            return exhausted;
+        }
+
+        static CellPosition startingAt(String cursor) {
+            return cursor.isEmpty()
+                    ? new CellPosition("", "", 0, 0, false)
+                    : new CellPosition(cursor, "", UNKNOWN_POSITION, 0, false);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CellPosition that = (CellPosition) o;
+            return position == that.position &&
+                    totalItems == that.totalItems &&
+                    exhausted == that.exhausted &&
+                    Objects.equals(cursor, that.cursor) &&
+                    Objects.equals(headCursor, that.headCursor);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(cursor, headCursor, position, totalItems, exhausted);
+        }
+
+        @Override
+        public String toString() {
+            return "CellPosition{" +
+                    "cursor='" + cursor + '\'' +
+                    ", headCursor='" + headCursor + '\'' +
+                    ", position=" + position +
+                    ", totalItems=" + totalItems +
+                    ", exhausted=" + exhausted +
+                    '}';
+        }
+    }
+}
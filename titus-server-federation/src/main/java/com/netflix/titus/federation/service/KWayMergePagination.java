@@ -0,0 +1,249 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.federation.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.netflix.titus.api.federation.model.Cell;
+import com.netflix.titus.common.util.tuple.Pair;
+import com.netflix.titus.federation.service.FederatedCursor.CellPosition;
+import com.netflix.titus.grpc.protogen.Page;
+import com.netflix.titus.grpc.protogen.Pagination;
+import com.netflix.titus.runtime.jobmanager.JobManagerCursors;
+import rx.Observable;
+
+/**
+ * Cursor based pagination across cells, implemented as a k-way merge of the per-cell result streams. The position
+ * reached in each cell is kept in a {@link FederatedCursor}, so a subsequent page is built as follows:
+ * <ul>
+ *     <li>cells whose next item is not known (their items were fully consumed) are asked for a full page</li>
+ *     <li>cells whose next item is known are asked only if that item can make it into the page, and only for as many
+ *     items as they can contribute</li>
+ *     <li>cells that were fully consumed are not asked at all</li>
+ * </ul>
+ * The item order must be consistent with the cursor key order (creation timestamp first, id second), which is the case
+ * for the job and task cursors.
+ */
+class KWayMergePagination<T> {
+
+    private static final Comparator<Pair<String, Long>> CURSOR_KEY_COMPARATOR = Comparator
+            .comparing((Pair<String, Long> key) -> key.getRight())
+            .thenComparing(Pair::getLeft);
+
+    private final Comparator<T> comparator;
+    private final Function<T, String> cursorFactory;
+
+    KWayMergePagination(Comparator<T> comparator, Function<T, String> cursorFactory) {
+        this.comparator = comparator;
+        this.cursorFactory = cursorFactory;
+    }
+
+    interface CellPageFetcher<T> {
+        Observable<Pair<List<T>, Pagination>> fetch(Cell cell, Page page);
+    }
+
+    Observable<Pair<List<T>, Pagination>> takePage(Page requested, Collection<Cell> cells, CellPageFetcher<T> fetcher) {
+        int pageSize = requested.getPageSize();
+        FederatedCursor cursor = FederatedCursor.decode(requested.getCursor());
+
+        Map<Cell, CellPosition> positions = new HashMap<>();
+        cells.forEach(cell -> positions.put(cell, cursor.getCellPosition(cell.getName())));
+
+        Map<Cell, Integer> firstRound = new HashMap<>();
+        positions.forEach((cell, position) -> {
+            if (!position.isExhausted() && !position.hasHead()) {
+                firstRound.put(cell, pageSize);
+            }
+        });
+
+        return fetchAll(firstRound, positions, fetcher).flatMap(firstResults -> {
+            List<T> firstItems = merge(firstResults, pageSize).getLeft();
+            Map<Cell, Integer> secondRound = new HashMap<>();
+            positions.forEach((cell, position) -> {
+                if (!position.isExhausted() && position.hasHead()) {
+                    int itemsBefore = countItemsBefore(firstItems, position.getHeadCursor());
+                    if (itemsBefore < pageSize) {
+                        secondRound.put(cell, pageSize - itemsBefore);
+                    }
+                }
+            });
+            return fetchAll(secondRound, positions, fetcher).map(secondResults -> {
+                Map<Cell, Pair<List<T>, Pagination>> allResults = new HashMap<>(firstResults);
+                allResults.putAll(secondResults);
+                return buildPage(requested, cursor, positions, allResults);
+            });
+        });
+    }
+
+    private Observable<Map<Cell, Pair<List<T>, Pagination>>> fetchAll(Map<Cell, Integer> pageSizes,
+                                                                      Map<Cell, CellPosition> positions,
+                                                                      CellPageFetcher<T> fetcher) {
+        List<Observable<Pair<Cell, Pair<List<T>, Pagination>>>> requests = pageSizes.entrySet().stream()
+                .map(entry -> {
+                    Cell cell = entry.getKey();
+                    String cellCursor = positions.get(cell).getCursor();
+                    Page.Builder pageBuilder = Page.newBuilder().setPageSize(entry.getValue());
+                    if (cellCursor.isEmpty()) {
+                        pageBuilder.setPageNumber(0);
+                    } else {
+                        pageBuilder.setCursor(cellCursor);
+                    }
+                    return fetcher.fetch(cell, pageBuilder.build()).map(result -> Pair.of(cell, result));
+                })
+                .collect(Collectors.toList());
+        return Observable.merge(requests).toMap(Pair::getLeft, Pair::getRight);
+    }
+
+    /**
+     * Number of items that are ordered before the item with the given cursor. Items beyond the page boundary are
+     * not relevant, so the result is never larger than the size of the given list.
+     */
+    private int countItemsBefore(List<T> sortedItems, String headCursor) {
+        Optional<Pair<String, Long>> headKey = JobManagerCursors.decode(headCursor);
+        if (!headKey.isPresent()) {
+            return 0;
+        }
+        int low = 0;
+        int high = sortedItems.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            Pair<String, Long> midKey = JobManagerCursors.decode(cursorFactory.apply(sortedItems.get(mid))).orElse(null);
+            if (midKey != null && CURSOR_KEY_COMPARATOR.compare(midKey, headKey.get()) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Merges the sorted per-cell results, and takes up to <tt>limit</tt> items.
+     *
+     * @return the merged items, and the number of items taken from each cell
+     */
+    private Pair<List<T>, Map<Cell, Integer>> merge(Map<Cell, Pair<List<T>, Pagination>> cellResults, int limit) {
+        PriorityQueue<CellHead<T>> heads = new PriorityQueue<>((first, second) -> comparator.compare(first.current(), second.current()));
+        Map<Cell, Integer> consumed = new HashMap<>();
+        cellResults.forEach((cell, result) -> {
+            consumed.put(cell, 0);
+            if (!result.getLeft().isEmpty()) {
+                heads.add(new CellHead<>(cell, result.getLeft()));
+            }
+        });
+
+        List<T> merged = new ArrayList<>();
+        while (merged.size() < limit && !heads.isEmpty()) {
+            CellHead<T> head = heads.poll();
+            merged.add(head.current());
+            consumed.put(head.cell, consumed.get(head.cell) + 1);
+            if (head.advance()) {
+                heads.add(head);
+            }
+        }
+        return Pair.of(merged, consumed);
+    }
+
+    private Pair<List<T>, Pagination> buildPage(Page requested,
+                                                FederatedCursor cursor,
+                                                Map<Cell, CellPosition> positions,
+                                                Map<Cell, Pair<List<T>, Pagination>> cellResults) {
+        int pageSize = requested.getPageSize();
+        Pair<List<T>, Map<Cell, Integer>> merged = merge(cellResults, pageSize);
+        List<T> pageItems = merged.getLeft();
+
+        Map<String, CellPosition> newPositions = new HashMap<>();
+        positions.forEach((cell, position) -> {
+            Pair<List<T>, Pagination> cellResult = cellResults.get(cell);
+            CellPosition newPosition = cellResult == null
+                    ? position
+                    : advance(position, cellResult.getLeft(), cellResult.getRight(), merged.getRight().get(cell));
+            newPositions.put(cell.getName(), newPosition);
+        });
+
+        int totalItems = 0;
+        int consumedItems = 0;
+        boolean hasMore = false;
+        for (CellPosition position : newPositions.values()) {
+            totalItems += position.getTotalItems();
+            consumedItems += Math.max(0, position.getPosition());
+            hasMore = hasMore || !position.isExhausted();
+        }
+
+        int firstItemPosition = Math.max(0, consumedItems - pageItems.size());
+        String lastItemCursor = pageItems.isEmpty()
+                ? cursor.getLastItemCursor()
+                : cursorFactory.apply(pageItems.get(pageItems.size() - 1));
+
+        Pagination pagination = Pagination.newBuilder()
+                .setCurrentPage(Page.newBuilder(requested).setPageNumber(firstItemPosition / pageSize))
+                .setHasMore(hasMore)
+                .setTotalPages((int) ((totalItems + (long) pageSize - 1) / pageSize))
+                .setTotalItems(totalItems)
+                .setCursor(totalItems == 0 ? "" : new FederatedCursor(lastItemCursor, newPositions).encode())
+                .setCursorPosition(totalItems == 0 ? 0 : Math.max(0, consumedItems - 1))
+                .build();
+        return Pair.of(pageItems, pagination);
+    }
+
+    private CellPosition advance(CellPosition position, List<T> items, Pagination pagination, int consumed) {
+        int returned = items.size();
+        int firstItemIndex;
+        if (returned > 0) {
+            firstItemIndex = pagination.getCursorPosition() - returned + 1;
+        } else {
+            firstItemIndex = pagination.getTotalItems() > 0 ? pagination.getCursorPosition() + 1 : 0;
+        }
+        return new CellPosition(
+                consumed > 0 ? cursorFactory.apply(items.get(consumed - 1)) : position.getCursor(),
+                consumed < returned ? cursorFactory.apply(items.get(consumed)) : "",
+                firstItemIndex + consumed,
+                pagination.getTotalItems(),
+                consumed == returned && !pagination.getHasMore()
+        );
+    }
+
+    private static class CellHead<T> {
+
+        private final Cell cell;
+        private final List<T> items;
+        private int index;
+
+        private CellHead(Cell cell, List<T> items) {
+            this.cell = cell;
+            this.items = items;
+        }
+
+        private T current() {
+            return items.get(index);
+        }
+
+        private boolean advance() {
+            index++;
+            return index < items.size();
+        }
+    }
+}
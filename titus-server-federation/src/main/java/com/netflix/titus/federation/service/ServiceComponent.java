@@ -16,8 +16,13 @@
 
 package com.netflix.titus.federation.service;
 
+import com.netflix.titus.api.jobmanager.model.job.LogStorageInfo;
+import com.netflix.titus.api.jobmanager.model.job.Task;
 import com.netflix.titus.common.runtime.TitusRuntime;
+import com.netflix.titus.common.util.archaius2.Archaius2Ext;
+import com.netflix.titus.common.util.grpc.reactor.GrpcToReactorClientFactory;
 import com.netflix.titus.federation.startup.TitusFederationConfiguration;
+import com.netflix.titus.runtime.connector.jobmanager.JobConnectorConfiguration;
 import com.netflix.titus.runtime.jobmanager.gateway.JobServiceGateway;
 import com.netflix.titus.runtime.service.TitusAgentSecurityGroupClient;
 import org.springframework.context.annotation.Bean;
@@ -32,6 +37,7 @@ import org.springframework.context.annotation.Primary;
 
         AggregatingJobManagementServiceHelper.class,
         AggregatingJobServiceGateway.class,
+        CellLocationCache.class,
         AggregatingAutoScalingService.class,
         AggregatingLoadbalancerService.class,
         DefaultAggregatingSchedulerService.class,
@@ -42,6 +48,19 @@ import org.springframework.context.annotation.Primary;
 })
 
 public class ServiceComponent {
+
+    @Bean
+    public CellJobReplicaCache getCellJobReplicaCache(TitusFederationConfiguration federationConfiguration,
+                                                      CellConnector cellConnector,
+                                                      GrpcToReactorClientFactory clientFactory,
+                                                      LogStorageInfo<Task> logStorageInfo,
+                                                      TitusRuntime titusRuntime) {
+        JobConnectorConfiguration connectorConfiguration = Archaius2Ext.newConfiguration(
+                JobConnectorConfiguration.class, "titus.federation.jobReplicaCache", titusRuntime.getMyEnvironment()
+        );
+        return new CellJobReplicaCache(federationConfiguration, connectorConfiguration, cellConnector, clientFactory, logStorageInfo, titusRuntime);
+    }
+
     @Bean
     @Primary
     public JobServiceGateway getFallbackJobServiceGateway(
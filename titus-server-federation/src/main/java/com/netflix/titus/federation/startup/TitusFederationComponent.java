@@ -18,6 +18,8 @@ package com.netflix.titus.federation.startup;
 
 import java.util.Arrays;
 
+import com.netflix.titus.api.jobmanager.model.job.LogStorageInfo;
+import com.netflix.titus.api.jobmanager.model.job.Task;
 import com.netflix.titus.federation.endpoint.FederationEndpointComponent;
 import com.netflix.titus.federation.service.AggregatingJobServiceGateway;
 import com.netflix.titus.federation.service.CellInfoResolver;
@@ -36,6 +38,7 @@ import com.netflix.titus.federation.service.router.ChainCellRouter;
 import com.netflix.titus.federation.service.router.FallbackCellRouter;
 import com.netflix.titus.federation.service.router.SpecialInstanceTypeRouter;
 import com.netflix.titus.runtime.TitusEntitySanitizerComponent;
+import com.netflix.titus.runtime.endpoint.common.EmptyLogStorageInfo;
 import com.netflix.titus.runtime.endpoint.resolver.HostCallerIdResolver;
 import com.netflix.titus.runtime.endpoint.resolver.NoOpHostCallerIdResolver;
 import com.netflix.titus.runtime.jobmanager.gateway.JobServiceGateway;
@@ -62,6 +65,11 @@ public class TitusFederationComponent {
         return NoOpHostCallerIdResolver.getInstance();
     }
 
+    @Bean
+    public LogStorageInfo<Task> getLogStorageInfo() {
+        return EmptyLogStorageInfo.empty();
+    }
+
     @Bean
     public WebClientFactory getWebClientFactory() {
         return SimpleWebClientFactory.getInstance();
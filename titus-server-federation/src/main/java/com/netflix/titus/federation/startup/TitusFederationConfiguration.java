@@ -45,4 +45,30 @@ public interface TitusFederationConfiguration {
 
     @DefaultValue("false")
     boolean isRemoteFederationEnabled();
+
+    /**
+     * If enabled, job and task id addressed calls are routed directly to the cell that owns the entity, if its location
+     * is known. Otherwise all cells are queried.
+     */
+    @DefaultValue("true")
+    boolean isCellLocationCacheEnabled();
+
+    @DefaultValue("500000")
+    long getCellLocationCacheMaxSize();
+
+    @DefaultValue("3600000")
+    long getCellLocationCacheTtlMs();
+
+    /**
+     * If enabled, each cell job data is replicated locally, and job/task queries are served from the replicas that
+     * are fresh. Queries to cells with a stale replica are sent to the cell directly.
+     */
+    @DefaultValue("false")
+    boolean isJobReplicaCacheEnabled();
+
+    /**
+     * Maximum time since the last event (or keep alive) received from a cell, for its replica to be used.
+     */
+    @DefaultValue("5000")
+    long getJobReplicaCacheMaxStalenessMs();
 }
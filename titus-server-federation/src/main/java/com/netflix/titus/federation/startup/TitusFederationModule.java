@@ -21,11 +21,14 @@ import javax.inject.Singleton;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
+import com.google.inject.TypeLiteral;
 import com.netflix.archaius.ConfigProxyFactory;
 import com.netflix.archaius.api.Config;
 import com.netflix.governator.guice.jersey.GovernatorJerseySupportModule;
 import com.netflix.spectator.api.DefaultRegistry;
 import com.netflix.spectator.api.Registry;
+import com.netflix.titus.api.jobmanager.model.job.LogStorageInfo;
+import com.netflix.titus.api.jobmanager.model.job.Task;
 import com.netflix.titus.api.model.callmetadata.CallMetadata;
 import com.netflix.titus.api.model.callmetadata.CallMetadataConstants;
 import com.netflix.titus.common.environment.MyEnvironments;
@@ -40,6 +43,7 @@ import com.netflix.titus.common.util.code.CodeInvariants;
 import com.netflix.titus.common.util.code.CompositeCodeInvariants;
 import com.netflix.titus.common.util.code.LoggingCodeInvariants;
 import com.netflix.titus.common.util.code.SpectatorCodeInvariants;
+import com.netflix.titus.common.util.grpc.reactor.GrpcToReactorClientFactory;
 import com.netflix.titus.common.util.grpc.reactor.GrpcToReactorServerFactory;
 import com.netflix.titus.common.util.grpc.reactor.server.DefaultGrpcToReactorServerFactory;
 import com.netflix.titus.common.util.guice.ContainerEventBusModule;
@@ -51,12 +55,21 @@ import com.netflix.titus.federation.service.router.ChainCellRouter;
 import com.netflix.titus.federation.service.router.FallbackCellRouter;
 import com.netflix.titus.federation.service.router.SpecialInstanceTypeRouter;
 import com.netflix.titus.runtime.TitusEntitySanitizerModule;
+import com.netflix.titus.runtime.connector.GrpcRequestConfiguration;
+import com.netflix.titus.runtime.connector.common.reactor.DefaultGrpcToReactorClientFactory;
+import com.netflix.titus.runtime.connector.jobmanager.JobConnectorConfiguration;
+import com.netflix.titus.runtime.endpoint.common.EmptyLogStorageInfo;
 import com.netflix.titus.runtime.endpoint.metadata.CallMetadataResolver;
+import com.netflix.titus.runtime.endpoint.metadata.CommonCallMetadataUtils;
 import com.netflix.titus.runtime.endpoint.resolver.HostCallerIdResolver;
 import com.netflix.titus.runtime.endpoint.resolver.NoOpHostCallerIdResolver;
 
 public class TitusFederationModule extends AbstractModule {
 
+    public static final TypeLiteral<LogStorageInfo<Task>> V3_LOG_STORAGE_INFO =
+            new TypeLiteral<LogStorageInfo<Task>>() {
+            };
+
     @Override
     protected void configure() {
         bind(Archaius2ConfigurationLogger.class).asEagerSingleton();
@@ -77,6 +90,7 @@ public class TitusFederationModule extends AbstractModule {
         bind(CellInfoResolver.class).to(DefaultCellInfoResolver.class);
         bind(RemoteFederationInfoResolver.class).to(DefaultRemoteFederationInfoResolver.class);
         bind(VpcServiceConnector.class).to(DefaultVpcServiceConnector.class);
+        bind(V3_LOG_STORAGE_INFO).toInstance(EmptyLogStorageInfo.INSTANCE);
 
 
         install(new FederationEndpointModule());
@@ -123,4 +137,27 @@ public class TitusFederationModule extends AbstractModule {
                 new FallbackCellRouter(cellInfoResolver)
         ));
     }
+
+    @Provides
+    @Singleton
+    public CellJobReplicaCache getCellJobReplicaCache(TitusFederationConfiguration federationConfiguration,
+                                                      CellConnector cellConnector,
+                                                      CallMetadataResolver callMetadataResolver,
+                                                      ConfigProxyFactory factory,
+                                                      LogStorageInfo<Task> logStorageInfo,
+                                                      TitusRuntime titusRuntime) {
+        GrpcToReactorClientFactory clientFactory = new DefaultGrpcToReactorClientFactory<>(
+                factory.newProxy(GrpcRequestConfiguration.class, "titus.federation.jobReplicaCache.grpc"),
+                CommonCallMetadataUtils.newGrpcStubDecorator(callMetadataResolver),
+                CallMetadata.class
+        );
+        return new CellJobReplicaCache(
+                federationConfiguration,
+                factory.newProxy(JobConnectorConfiguration.class, "titus.federation.jobReplicaCache"),
+                cellConnector,
+                clientFactory,
+                logStorageInfo,
+                titusRuntime
+        );
+    }
 }
@@ -19,6 +19,7 @@ package com.netflix.titus.federation.service;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -26,12 +27,14 @@ import java.util.Optional;
 import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.netflix.titus.api.federation.model.Cell;
+import com.netflix.titus.api.jobmanager.model.job.event.JobManagerEvent;
 import com.netflix.titus.api.jobmanager.service.JobManagerConstants;
 import com.netflix.titus.api.model.Page;
 import com.netflix.titus.api.service.TitusServiceException;
@@ -64,17 +67,24 @@ import com.netflix.titus.grpc.protogen.Task;
 import com.netflix.titus.grpc.protogen.TaskKillRequest;
 import com.netflix.titus.grpc.protogen.TaskQuery;
 import com.netflix.titus.grpc.protogen.TaskQueryResult;
+import com.netflix.titus.runtime.connector.common.replicator.ReplicatorEvent;
+import com.netflix.titus.runtime.connector.jobmanager.snapshot.JobSnapshot;
+import com.netflix.titus.runtime.connector.jobmanager.snapshot.JobSnapshotFactories;
+import com.netflix.titus.runtime.endpoint.common.EmptyLogStorageInfo;
 import com.netflix.titus.runtime.endpoint.v3.grpc.GrpcJobManagementModelConverters;
 import com.netflix.titus.runtime.jobmanager.JobManagerCursors;
 import com.netflix.titus.testkit.grpc.TestStreamObserver;
+import com.netflix.titus.testkit.model.job.JobGenerator;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
 import io.grpc.testing.GrpcServerRule;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.jupiter.api.BeforeEach;
+import reactor.core.publisher.Flux;
 import rx.observers.AssertableSubscriber;
 import rx.subjects.PublishSubject;
 
@@ -117,6 +127,12 @@ public class AggregatingJobServiceGatewayTest {
 
     private String stackName;
     private AggregatingJobServiceGateway service;
+    private CellLocationCache locationCache;
+    private CellJobReplicaCache jobReplicaCache;
+    private GrpcConfiguration grpcConfiguration;
+    private CellConnector cellConnector;
+    private ApplicationCellRouter cellRouter;
+    private AggregatingCellClient aggregatingCellClient;
     private List<Cell> cells;
     private Map<Cell, GrpcServerRule> cellToServiceMap;
     private TestClock clock;
@@ -126,16 +142,18 @@ public class AggregatingJobServiceGatewayTest {
     public void setUp() {
         stackName = UUID.randomUUID().toString();
 
-        GrpcConfiguration grpcConfiguration = mock(GrpcConfiguration.class);
+        grpcConfiguration = mock(GrpcConfiguration.class);
         when(grpcConfiguration.getRequestTimeoutMs()).thenReturn(GRPC_REQUEST_TIMEOUT_MS);
         when(grpcConfiguration.getPrimaryFallbackTimeoutMs()).thenReturn(GRPC_PRIMARY_FALLBACK_TIMEOUT_MS);
 
         when(titusFederationConfiguration.getStack()).thenReturn(stackName);
         when(titusFederationConfiguration.getCells()).thenReturn("one=1;two=2");
         when(titusFederationConfiguration.getRoutingRules()).thenReturn("one=(app1.*|app2.*);two=(app3.*)");
+        when(titusFederationConfiguration.getCellLocationCacheMaxSize()).thenReturn(1_000L);
+        when(titusFederationConfiguration.getCellLocationCacheTtlMs()).thenReturn(60_000L);
 
         CellInfoResolver cellInfoResolver = new DefaultCellInfoResolver(titusFederationConfiguration);
-        ApplicationCellRouter cellRouter = new ApplicationCellRouter(cellInfoResolver, titusFederationConfiguration);
+        cellRouter = new ApplicationCellRouter(cellInfoResolver, titusFederationConfiguration);
         cells = cellInfoResolver.resolve();
         cellToServiceMap = ImmutableMap.of(
                 cells.get(0), cellOne,
@@ -145,7 +163,7 @@ public class AggregatingJobServiceGatewayTest {
         RemoteFederationConnector fedConnector = mock(RemoteFederationConnector.class);
         when(fedConnector.getChannel()).thenReturn(remoteFederationRule.getChannel());
 
-        CellConnector cellConnector = mock(CellConnector.class);
+        cellConnector = mock(CellConnector.class);
         when(cellConnector.getChannels()).thenReturn(cellToServiceMap.entrySet().stream()
                 .collect(Collectors.toMap(Map.Entry::getKey, cellPairEntry -> cellPairEntry.getValue().getChannel()))
         );
@@ -154,16 +172,10 @@ public class AggregatingJobServiceGatewayTest {
                         .map(GrpcServerRule::getChannel)
         );
 
-        final AggregatingCellClient aggregatingCellClient = new AggregatingCellClient(cellConnector);
-        service = new AggregatingJobServiceGateway(
-                grpcConfiguration,
-                titusFederationConfiguration,
-                cellConnector,
-                cellRouter,
-                aggregatingCellClient,
-                new AggregatingJobManagementServiceHelper(aggregatingCellClient, grpcConfiguration),
-                titusRuntime
-        );
+        aggregatingCellClient = new AggregatingCellClient(cellConnector);
+        locationCache = new CellLocationCache(titusFederationConfiguration, titusRuntime);
+        jobReplicaCache = new CellJobReplicaCache(titusFederationConfiguration, Collections.emptyMap(), EmptyLogStorageInfo.empty(), titusRuntime);
+        service = newService();
 
         clock = Clocks.test();
         dataGenerator = new ServiceDataGenerator(clock, TASKS_IN_GENERATED_JOBS);
@@ -171,6 +183,8 @@ public class AggregatingJobServiceGatewayTest {
 
     @After
     public void tearDown() {
+        locationCache.shutdown();
+        jobReplicaCache.shutdown();
         cellOneUpdates.onCompleted();
         cellTwoUpdates.onCompleted();
     }
@@ -423,6 +437,80 @@ public class AggregatingJobServiceGatewayTest {
         assertThat(Status.fromThrowable(testSubscriber.getOnErrorEvents().get(0))).isEqualTo(UNAVAILABLE);
     }
 
+    @Test
+    public void findJobWithCachedCellLocation() {
+        when(titusFederationConfiguration.isCellLocationCacheEnabled()).thenReturn(true);
+
+        List<Job> cellOneSnapshot = new ArrayList<>(dataGenerator.newServiceJobs(10, GrpcJobManagementModelConverters::toGrpcJob));
+        AtomicInteger cellTwoFindJobCalls = new AtomicInteger();
+        cellOne.getServiceRegistry().addService(new CellWithFixedJobsService(cellOneSnapshot, cellOneUpdates.serialize()));
+        cellTwo.getServiceRegistry().addService(new CellWithFixedJobsService(Collections.emptyList(), cellTwoUpdates.serialize()) {
+            @Override
+            public void findJob(JobId request, StreamObserver<Job> responseObserver) {
+                cellTwoFindJobCalls.incrementAndGet();
+                super.findJob(request, responseObserver);
+            }
+        });
+
+        Job expected = withStackName(cellOneSnapshot.get(0));
+
+        // First call is a cache miss, and must query all cells.
+        AssertableSubscriber<Job> testSubscriber = service.findJob(expected.getId(), UNDEFINED_CALL_METADATA).test();
+        testSubscriber.awaitTerminalEvent(1, TimeUnit.SECONDS);
+        testSubscriber.assertNoErrors();
+        testSubscriber.assertValue(expected);
+        assertThat(cellTwoFindJobCalls.get()).isEqualTo(1);
+        assertThat(locationCache.findJobCell(expected.getId())).contains(cells.get(0));
+
+        // Second call goes to the owning cell only.
+        testSubscriber = service.findJob(expected.getId(), UNDEFINED_CALL_METADATA).test();
+        testSubscriber.awaitTerminalEvent(1, TimeUnit.SECONDS);
+        testSubscriber.assertNoErrors();
+        testSubscriber.assertValue(expected);
+        assertThat(cellTwoFindJobCalls.get()).isEqualTo(1);
+        assertThat(titusRuntime.getRegistry().counter("titus.federation.cellLocationCache.fanOutSaved").count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    public void findJobWithStaleCellLocationFallsBackToAllCells() {
+        when(titusFederationConfiguration.isCellLocationCacheEnabled()).thenReturn(true);
+
+        List<Job> cellOneSnapshot = new ArrayList<>(dataGenerator.newServiceJobs(10, GrpcJobManagementModelConverters::toGrpcJob));
+        cellOne.getServiceRegistry().addService(new CellWithFixedJobsService(cellOneSnapshot, cellOneUpdates.serialize()));
+        cellTwo.getServiceRegistry().addService(new CellWithFixedJobsService(Collections.emptyList(), cellTwoUpdates.serialize()));
+
+        Job expected = withStackName(cellOneSnapshot.get(0));
+        locationCache.recordJobLocation(expected.getId(), cells.get(1));
+
+        AssertableSubscriber<Job> testSubscriber = service.findJob(expected.getId(), UNDEFINED_CALL_METADATA).test();
+        testSubscriber.awaitTerminalEvent(1, TimeUnit.SECONDS);
+        testSubscriber.assertNoErrors();
+        testSubscriber.assertValue(expected);
+        assertThat(locationCache.findJobCell(expected.getId())).contains(cells.get(0));
+    }
+
+    @Test
+    public void killTaskWithCellLocationFromJobStream() {
+        when(titusFederationConfiguration.isCellLocationCacheEnabled()).thenReturn(true);
+
+        List<Task> cellTwoSnapshot = new ArrayList<>(dataGenerator.newBatchJobWithTasks());
+        CellWithFixedTasksService cellTwoService = new CellWithFixedTasksService(cellTwoSnapshot);
+        cellOne.getServiceRegistry().addService(new CellWithFailingJobManagementService(UNAVAILABLE));
+        cellTwo.getServiceRegistry().addService(cellTwoService);
+
+        Task toKill = cellTwoSnapshot.get(0);
+        locationCache.recordLocation(toNotification(toKill), cells.get(1));
+        assertThat(locationCache.findJobCell(toKill.getJobId())).contains(cells.get(1));
+
+        TaskKillRequest request = TaskKillRequest.newBuilder().setTaskId(toKill.getId()).setShrink(false).build();
+        AssertableSubscriber<Void> testSubscriber = service.killTask(request, UNDEFINED_CALL_METADATA).test();
+        testSubscriber.awaitTerminalEvent(1, TimeUnit.SECONDS);
+        // Cell one is unavailable, so without the cached location the call would fail.
+        testSubscriber.assertNoErrors();
+        testSubscriber.assertCompleted();
+        assertThat(cellTwoService.currentTasks()).doesNotContainKey(toKill.getId());
+    }
+
     @Test
     public void killJob() {
         Random random = new Random();
@@ -874,6 +962,124 @@ public class AggregatingJobServiceGatewayTest {
         assertThat(createdJob.get().getAttributesMap()).containsEntry(JOB_ATTRIBUTES_STACK, stackName);
     }
 
+    @Test
+    public void findJobsAndTasksFromCellJobReplicas() {
+        long now = titusRuntime.getClock().wallTime();
+        Pair<List<com.netflix.titus.api.jobmanager.model.job.Job<?>>, List<com.netflix.titus.api.jobmanager.model.job.Task>> cellOneData = newCoreJobsWithTasks(5);
+        Pair<List<com.netflix.titus.api.jobmanager.model.job.Job<?>>, List<com.netflix.titus.api.jobmanager.model.job.Task>> cellTwoData = newCoreJobsWithTasks(5);
+        useJobReplicas(ImmutableMap.of(
+                cells.get(0), newReplicatorEvent(cellOneData, now),
+                cells.get(1), newReplicatorEvent(cellTwoData, now)
+        ));
+
+        // Cells must not be called.
+        cellOne.getServiceRegistry().addService(new CellWithFailingJobManagementService(UNAVAILABLE));
+        cellTwo.getServiceRegistry().addService(new CellWithFailingJobManagementService(UNAVAILABLE));
+
+        List<Job> expectedJobs = Stream.concat(cellOneData.getLeft().stream(), cellTwoData.getLeft().stream())
+                .map(GrpcJobManagementModelConverters::toGrpcJob)
+                .sorted(JobManagerCursors.jobCursorOrderComparator())
+                .map(this::withStackName)
+                .collect(Collectors.toList());
+        assertThat(walkAllFindJobsPages(3)).containsExactlyElementsOf(expectedJobs);
+
+        List<Task> expectedTasks = Stream.concat(cellOneData.getRight().stream(), cellTwoData.getRight().stream())
+                .map(task -> GrpcJobManagementModelConverters.toGrpcTask(task, new EmptyLogStorageInfo<>()))
+                .sorted(JobManagerCursors.taskCursorOrderComparator())
+                .map(this::withStackName)
+                .collect(Collectors.toList());
+        assertThat(walkAllFindTasksPages(4)).containsExactlyElementsOf(expectedTasks);
+
+        Job expectedJob = expectedJobs.get(0);
+        AssertableSubscriber<Job> jobSubscriber = service.findJob(expectedJob.getId(), UNDEFINED_CALL_METADATA).test();
+        jobSubscriber.awaitTerminalEvent(1, TimeUnit.SECONDS);
+        jobSubscriber.assertNoErrors();
+        jobSubscriber.assertValue(expectedJob);
+
+        Task expectedTask = expectedTasks.get(0);
+        AssertableSubscriber<Task> taskSubscriber = service.findTask(expectedTask.getId(), UNDEFINED_CALL_METADATA).test();
+        taskSubscriber.awaitTerminalEvent(1, TimeUnit.SECONDS);
+        taskSubscriber.assertNoErrors();
+        taskSubscriber.assertValue(expectedTask);
+    }
+
+    @Test
+    public void findJobsWithStaleCellJobReplicaFallsBackToCell() {
+        long now = titusRuntime.getClock().wallTime();
+        Pair<List<com.netflix.titus.api.jobmanager.model.job.Job<?>>, List<com.netflix.titus.api.jobmanager.model.job.Task>> cellOneData = newCoreJobsWithTasks(5);
+        Pair<List<com.netflix.titus.api.jobmanager.model.job.Job<?>>, List<com.netflix.titus.api.jobmanager.model.job.Task>> cellTwoData = newCoreJobsWithTasks(5);
+        useJobReplicas(ImmutableMap.of(
+                cells.get(0), newReplicatorEvent(cellOneData, now - 60_000),
+                cells.get(1), newReplicatorEvent(cellTwoData, now)
+        ));
+
+        // Cell one replica is stale, so cell one is queried directly. Its replica content must not be used.
+        List<Job> cellOneSnapshot = dataGenerator.newServiceJobs(5, GrpcJobManagementModelConverters::toGrpcJob);
+        cellOne.getServiceRegistry().addService(new CellWithFixedJobsService(cellOneSnapshot, cellOneUpdates.serialize()));
+        // Cell two has no jobs, so the cell two jobs can be only returned from its replica.
+        cellTwo.getServiceRegistry().addService(new CellWithFixedJobsService(Collections.emptyList(), cellTwoUpdates.serialize()));
+
+        List<Job> expected = Stream.concat(cellOneSnapshot.stream(), cellTwoData.getLeft().stream().map(GrpcJobManagementModelConverters::toGrpcJob))
+                .sorted(JobManagerCursors.jobCursorOrderComparator())
+                .map(this::withStackName)
+                .collect(Collectors.toList());
+        assertThat(walkAllFindJobsPages(3)).containsExactlyElementsOf(expected);
+
+        Job cellOneJob = withStackName(cellOneSnapshot.get(0));
+        AssertableSubscriber<Job> testSubscriber = service.findJob(cellOneJob.getId(), UNDEFINED_CALL_METADATA).test();
+        testSubscriber.awaitTerminalEvent(1, TimeUnit.SECONDS);
+        testSubscriber.assertNoErrors();
+        testSubscriber.assertValue(cellOneJob);
+        assertThat(titusRuntime.getRegistry().counter("titus.federation.jobReplicaCache.queries", "result", "fallback").count()).isGreaterThanOrEqualTo(1);
+    }
+
+    private AggregatingJobServiceGateway newService() {
+        return new AggregatingJobServiceGateway(
+                grpcConfiguration,
+                titusFederationConfiguration,
+                cellConnector,
+                cellRouter,
+                aggregatingCellClient,
+                new AggregatingJobManagementServiceHelper(aggregatingCellClient, grpcConfiguration),
+                locationCache,
+                jobReplicaCache,
+                titusRuntime
+        );
+    }
+
+    private void useJobReplicas(Map<Cell, ReplicatorEvent<JobSnapshot, JobManagerEvent<?>>> cellEvents) {
+        when(titusFederationConfiguration.isJobReplicaCacheEnabled()).thenReturn(true);
+        when(titusFederationConfiguration.getJobReplicaCacheMaxStalenessMs()).thenReturn(30_000L);
+
+        Map<Cell, Flux<ReplicatorEvent<JobSnapshot, JobManagerEvent<?>>>> cellEventStreams = new HashMap<>();
+        cellEvents.forEach((cell, event) -> cellEventStreams.put(cell, Flux.just(event)));
+
+        jobReplicaCache.shutdown();
+        jobReplicaCache = new CellJobReplicaCache(titusFederationConfiguration, cellEventStreams, EmptyLogStorageInfo.empty(), titusRuntime);
+        service = newService();
+    }
+
+    private Pair<List<com.netflix.titus.api.jobmanager.model.job.Job<?>>, List<com.netflix.titus.api.jobmanager.model.job.Task>> newCoreJobsWithTasks(int jobCount) {
+        List<com.netflix.titus.api.jobmanager.model.job.Job<?>> jobs = new ArrayList<>();
+        List<com.netflix.titus.api.jobmanager.model.job.Task> tasks = new ArrayList<>();
+        dataGenerator.newBatchJobs(jobCount).forEach(job -> {
+            jobs.add(job);
+            tasks.addAll(JobGenerator.batchTasks(job).limit(2).toList());
+        });
+        return Pair.of(jobs, tasks);
+    }
+
+    private ReplicatorEvent<JobSnapshot, JobManagerEvent<?>> newReplicatorEvent(Pair<List<com.netflix.titus.api.jobmanager.model.job.Job<?>>, List<com.netflix.titus.api.jobmanager.model.job.Task>> data,
+                                                                                long timestamp) {
+        Map<String, com.netflix.titus.api.jobmanager.model.job.Job<?>> jobsById = new HashMap<>();
+        data.getLeft().forEach(job -> jobsById.put(job.getId(), job));
+        Map<String, Map<String, com.netflix.titus.api.jobmanager.model.job.Task>> tasksByJobId = new HashMap<>();
+        data.getRight().forEach(task -> tasksByJobId.computeIfAbsent(task.getJobId(), jobId -> new HashMap<>()).put(task.getId(), task));
+
+        JobSnapshot snapshot = JobSnapshotFactories.newDefault(titusRuntime).newSnapshot(jobsById, tasksByJobId);
+        return new ReplicatorEvent<>(snapshot, JobManagerEvent.snapshotMarker(), timestamp);
+    }
+
     private List<Job> walkAllFindJobsPages(int pageWalkSize) {
         return walkAllPages(
                 pageWalkSize,
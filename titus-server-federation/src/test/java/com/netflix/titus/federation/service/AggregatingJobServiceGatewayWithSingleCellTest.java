@@ -17,6 +17,7 @@
 package com.netflix.titus.federation.service;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -42,6 +43,7 @@ import com.netflix.titus.grpc.protogen.JobQueryResult;
 import com.netflix.titus.grpc.protogen.Task;
 import com.netflix.titus.grpc.protogen.TaskQuery;
 import com.netflix.titus.grpc.protogen.TaskQueryResult;
+import com.netflix.titus.runtime.endpoint.common.EmptyLogStorageInfo;
 import com.netflix.titus.runtime.endpoint.metadata.AnonymousCallMetadataResolver;
 import com.netflix.titus.runtime.endpoint.v3.grpc.GrpcJobManagementModelConverters;
 import com.netflix.titus.runtime.jobmanager.JobManagerCursors;
@@ -114,6 +116,8 @@ public class AggregatingJobServiceGatewayWithSingleCellTest {
                 cellRouter,
                 aggregatingCellClient,
                 new AggregatingJobManagementServiceHelper(aggregatingCellClient, grpcClientConfiguration),
+                new CellLocationCache(titusFederationConfiguration, titusRuntime),
+                new CellJobReplicaCache(titusFederationConfiguration, Collections.emptyMap(), EmptyLogStorageInfo.empty(), titusRuntime),
                 titusRuntime
         );
 
@@ -16,6 +16,7 @@
 
 package com.netflix.titus.federation.service;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,6 +34,7 @@ import com.netflix.titus.federation.service.router.ApplicationCellRouter;
 import com.netflix.titus.federation.startup.GrpcConfiguration;
 import com.netflix.titus.federation.startup.TitusFederationConfiguration;
 import com.netflix.titus.grpc.protogen.JobDescriptor;
+import com.netflix.titus.runtime.endpoint.common.EmptyLogStorageInfo;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.grpc.testing.GrpcServerRule;
@@ -112,6 +114,8 @@ public class FallbackJobServiceGatewayTest {
                 cellRouter,
                 aggregatingCellClient,
                 new AggregatingJobManagementServiceHelper(aggregatingCellClient, grpcConfiguration),
+                new CellLocationCache(fedConfig, titusRuntime),
+                new CellJobReplicaCache(fedConfig, Collections.emptyMap(), EmptyLogStorageInfo.empty(), titusRuntime),
                 titusRuntime
         );
 
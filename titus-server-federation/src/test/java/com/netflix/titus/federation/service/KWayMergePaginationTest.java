@@ -0,0 +1,162 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.federation.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.netflix.titus.api.federation.model.Cell;
+import com.netflix.titus.api.model.PaginationUtil;
+import com.netflix.titus.common.util.tuple.Pair;
+import com.netflix.titus.grpc.protogen.Job;
+import com.netflix.titus.grpc.protogen.JobStatus;
+import com.netflix.titus.grpc.protogen.Page;
+import com.netflix.titus.grpc.protogen.Pagination;
+import com.netflix.titus.runtime.jobmanager.JobManagerCursors;
+import org.junit.Test;
+import rx.Observable;
+
+import static com.netflix.titus.runtime.endpoint.v3.grpc.GrpcJobQueryModelConverters.toGrpcPagination;
+import static com.netflix.titus.runtime.endpoint.v3.grpc.GrpcJobQueryModelConverters.toPage;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KWayMergePaginationTest {
+
+    private static final Cell CELL_ONE = new Cell("one", "1");
+    private static final Cell CELL_TWO = new Cell("two", "2");
+    private static final Cell CELL_THREE = new Cell("three", "3");
+
+    private final KWayMergePagination<Job> pagination = new KWayMergePagination<>(
+            JobManagerCursors.jobCursorOrderComparator(),
+            JobManagerCursors::newCursorFrom
+    );
+
+    private final Map<Cell, List<Job>> cellJobs = new HashMap<>();
+    private final Map<Cell, Integer> cellCalls = new HashMap<>();
+
+    @Test
+    public void testInterleavedCells() {
+        cellJobs.put(CELL_ONE, newJobs("a", 0, 3, 30));
+        cellJobs.put(CELL_TWO, newJobs("b", 1, 3, 30));
+        cellJobs.put(CELL_THREE, newJobs("c", 2, 3, 30));
+
+        List<Job> all = walkAllPages(7);
+        assertThat(all).containsExactlyElementsOf(allJobsSorted());
+    }
+
+    @Test
+    public void testCellsWithUnusedItemsAreNotQueriedAgain() {
+        // Cell one jobs are all older than cell two and three jobs, so cells two and three are asked only once until
+        // all cell one jobs are returned.
+        cellJobs.put(CELL_ONE, newJobs("a", 0, 1, 50));
+        cellJobs.put(CELL_TWO, newJobs("b", 1_000, 1, 10));
+        cellJobs.put(CELL_THREE, newJobs("c", 2_000, 1, 10));
+
+        List<Job> all = walkAllPages(10);
+        assertThat(all).containsExactlyElementsOf(allJobsSorted());
+
+        // 7 pages in total. Page 1 asks all cells, and pages 2-5 ask cell one only (5 calls to cell one). Cell two and
+        // three heads are known after page 1, so both are asked again only on page 6, once cell one is exhausted. Cell
+        // two fills page 6, and cell three is asked one more time for page 7 (2 calls to cell two, 3 to cell three).
+        // Asking all cells for each page would cost 21 calls.
+        assertThat(cellCalls.get(CELL_ONE)).isEqualTo(5);
+        assertThat(cellCalls.get(CELL_TWO)).isEqualTo(2);
+        assertThat(cellCalls.get(CELL_THREE)).isEqualTo(3);
+    }
+
+    @Test
+    public void testLegacyCursorIsAccepted() {
+        cellJobs.put(CELL_ONE, newJobs("a", 0, 2, 10));
+        cellJobs.put(CELL_TWO, newJobs("b", 1, 2, 10));
+
+        List<Job> expected = allJobsSorted();
+        String legacyCursor = JobManagerCursors.newCursorFrom(expected.get(4));
+        Pair<List<Job>, Pagination> page = takePage(Page.newBuilder().setPageSize(5).setCursor(legacyCursor).build());
+        assertThat(page.getLeft()).containsExactlyElementsOf(expected.subList(5, 10));
+        assertThat(page.getRight().getCursorPosition()).isEqualTo(9);
+        assertThat(page.getRight().getHasMore()).isTrue();
+    }
+
+    @Test
+    public void testEmptyCells() {
+        cellJobs.put(CELL_ONE, new ArrayList<>());
+        cellJobs.put(CELL_TWO, new ArrayList<>());
+
+        Pair<List<Job>, Pagination> page = takePage(Page.newBuilder().setPageSize(5).build());
+        assertThat(page.getLeft()).isEmpty();
+        assertThat(page.getRight().getHasMore()).isFalse();
+        assertThat(page.getRight().getCursor()).isEmpty();
+    }
+
+    private List<Job> walkAllPages(int pageSize) {
+        List<Job> result = new ArrayList<>();
+        Page page = Page.newBuilder().setPageSize(pageSize).build();
+        int expectedPageNumber = 0;
+        while (true) {
+            Pair<List<Job>, Pagination> next = takePage(page);
+            result.addAll(next.getLeft());
+            assertThat(next.getRight().getCurrentPage().getPageNumber()).isEqualTo(expectedPageNumber++);
+            assertThat(next.getRight().getCursorPosition()).isEqualTo(result.size() - 1);
+            if (!next.getRight().getHasMore()) {
+                return result;
+            }
+            assertThat(next.getLeft()).hasSize(pageSize);
+            page = Page.newBuilder().setPageSize(pageSize).setCursor(next.getRight().getCursor()).build();
+        }
+    }
+
+    private Pair<List<Job>, Pagination> takePage(Page page) {
+        return pagination.takePage(page, cellJobs.keySet(), this::fetchCellPage).toBlocking().single();
+    }
+
+    private Observable<Pair<List<Job>, Pagination>> fetchCellPage(Cell cell, Page page) {
+        cellCalls.merge(cell, 1, Integer::sum);
+        Pair<List<Job>, com.netflix.titus.api.model.Pagination> cellPage = PaginationUtil.takePageWithCursor(
+                toPage(page),
+                cellJobs.get(cell),
+                JobManagerCursors.jobCursorOrderComparator(),
+                JobManagerCursors::jobIndexOf,
+                JobManagerCursors::newCursorFrom
+        );
+        return Observable.just(Pair.of(cellPage.getLeft(), toGrpcPagination(cellPage.getRight())));
+    }
+
+    private List<Job> allJobsSorted() {
+        return cellJobs.values().stream()
+                .flatMap(List::stream)
+                .sorted(JobManagerCursors.jobCursorOrderComparator())
+                .collect(Collectors.toList());
+    }
+
+    private static List<Job> newJobs(String prefix, long firstTimestamp, long step, int count) {
+        return Stream.iterate(0, i -> i + 1)
+                .limit(count)
+                .map(i -> Job.newBuilder()
+                        .setId(prefix + '-' + i)
+                        .setStatus(JobStatus.newBuilder()
+                                .setState(JobStatus.JobState.Accepted)
+                                .setTimestamp(firstTimestamp + i * step)
+                        )
+                        .build()
+                )
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.titus.master.appscale.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pending {@link AppScaleAction}s grouped by job. Actions for the same job are coalesced: a create or delete action
+ * replaces the pending one for the same scaling policy, and all scalable target updates of a job collapse into one.
+ * A job is handed out for processing at most once at a time, so actions of a job are never executed concurrently.
+ */
+class AppScaleActionQueue {
+
+    enum AddResult {
+        /**
+         * The job had no pending actions, and must be scheduled for processing.
+         */
+        Scheduled,
+        /**
+         * The job is already scheduled or being processed, and the action was added to its pending actions.
+         */
+        Queued,
+        /**
+         * The action replaced a pending action of the same kind.
+         */
+        Coalesced
+    }
+
+    private final Map<String, JobActions> actionsByJobId = new HashMap<>();
+
+    synchronized AddResult add(AppScaleAction action) {
+        JobActions jobActions = actionsByJobId.computeIfAbsent(action.getJobId(), id -> new JobActions());
+
+        boolean coalesced;
+        if (action.getType() == AppScaleAction.ActionType.UPDATE_SCALABLE_TARGET) {
+            coalesced = jobActions.targetUpdate != null;
+            jobActions.targetUpdate = action;
+        } else {
+            String policyRefId = action.getAutoScalingPolicy().map(policy -> policy.getRefId()).orElse(null);
+            coalesced = jobActions.policyActions.put(policyRefId, action) != null;
+        }
+
+        if (coalesced) {
+            return AddResult.Coalesced;
+        }
+        if (jobActions.scheduled || jobActions.processing) {
+            return AddResult.Queued;
+        }
+        jobActions.scheduled = true;
+        return AddResult.Scheduled;
+    }
+
+    /**
+     * Takes all pending actions of a job, with the scaling policy actions first. The job must be released with
+     * {@link #release(String)} once the actions are executed.
+     */
+    synchronized List<AppScaleAction> take(String jobId) {
+        JobActions jobActions = actionsByJobId.get(jobId);
+        if (jobActions == null) {
+            return new ArrayList<>();
+        }
+        jobActions.scheduled = false;
+        jobActions.processing = true;
+
+        List<AppScaleAction> actions = new ArrayList<>(jobActions.policyActions.values());
+        if (jobActions.targetUpdate != null) {
+            actions.add(jobActions.targetUpdate);
+        }
+        jobActions.policyActions.clear();
+        jobActions.targetUpdate = null;
+        return actions;
+    }
+
+    /**
+     * @return true if new actions were added while the job was processed, and the job must be scheduled again
+     */
+    synchronized boolean release(String jobId) {
+        JobActions jobActions = actionsByJobId.get(jobId);
+        if (jobActions == null) {
+            return false;
+        }
+        jobActions.processing = false;
+        if (jobActions.isEmpty()) {
+            actionsByJobId.remove(jobId);
+            return false;
+        }
+        jobActions.scheduled = true;
+        return true;
+    }
+
+    synchronized int getPendingJobs() {
+        return actionsByJobId.size();
+    }
+
+    private static class JobActions {
+
+        private final Map<String, AppScaleAction> policyActions = new LinkedHashMap<>();
+        private AppScaleAction targetUpdate;
+        private boolean scheduled;
+        private boolean processing;
+
+        private boolean isEmpty() {
+            return policyActions.isEmpty() && targetUpdate == null;
+        }
+    }
+}
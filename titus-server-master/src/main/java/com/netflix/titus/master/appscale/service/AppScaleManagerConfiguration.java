@@ -22,15 +22,19 @@ import com.netflix.archaius.api.annotations.DefaultValue;
 @Configuration(prefix = "titusMaster.appScaleManager")
 public interface AppScaleManagerConfiguration {
 
-    @DefaultValue("10")
-    long getReconcileTargetsIntervalMins();
-
-    @DefaultValue("15")
-    long getReconcileFinishedJobsIntervalMins();
+    /**
+     * Interval of the full sweep over all scaling policies. Policy changes and job updates are handled as they happen,
+     * so the sweep only catches up with changes that were missed, like job events lost during a stream resubscription.
+     */
+    @DefaultValue("30")
+    long getFullReconciliationIntervalMins();
 
     @DefaultValue("120")
     long getStoreInitTimeoutSeconds();
 
-    @DefaultValue("30")
-    long getReconcileAllPendingAndDeletingRequestsIntervalMins();
+    /**
+     * Maximum number of jobs whose pending actions are executed against the autoscaling connectors at the same time.
+     */
+    @DefaultValue("4")
+    int getMaxConcurrentActions();
 }
@@ -23,6 +23,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import com.netflix.spectator.api.Counter;
 import com.netflix.spectator.api.Id;
 import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.patterns.PolledMeter;
 import com.netflix.titus.api.appscale.model.AutoScalingPolicy;
 import com.netflix.titus.api.appscale.model.PolicyStatus;
 import com.netflix.titus.api.appscale.service.AutoScalePolicyException;
@@ -33,7 +34,7 @@ public class AppScaleManagerMetrics {
     private final Id errorMetricId;
     private Registry registry;
     private final AtomicInteger numTargets;
-    private final Counter droppedRequestsCount;
+    private final Counter coalescedActionsCount;
 
 
     private volatile Map<String, SpectatorExt.FsmMetrics<PolicyStatus>> fsmMetricsMap;
@@ -43,13 +44,14 @@ public class AppScaleManagerMetrics {
         fsmMetricsMap = new ConcurrentHashMap<>();
         numTargets = registry.gauge(METRIC_TITUS_APPSCALE_NUM_TARGETS, new AtomicInteger(0));
         this.registry = registry;
-        droppedRequestsCount = registry.counter(METRIC_BACK_PRESSURE_DROP_COUNT);
+        coalescedActionsCount = registry.counter(METRIC_COALESCED_ACTIONS_COUNT);
     }
 
     private static final String METRIC_APPSCALE_ERRORS = "titus.appScale.errors";
     private static final String METRIC_TITUS_APPSCALE_NUM_TARGETS = "titus.appScale.numTargets";
     private static final String METRIC_TITUS_APPSCALE_POLICY = "titus.appScale.policy.";
-    private static final String METRIC_BACK_PRESSURE_DROP_COUNT = "titus.appScale.droppedRequests";
+    private static final String METRIC_COALESCED_ACTIONS_COUNT = "titus.appScale.coalescedActions";
+    private static final String METRIC_PENDING_JOBS = "titus.appScale.pendingJobs";
 
     private Id stateIdOf(AutoScalingPolicy autoScalingPolicy) {
         return registry.createId(METRIC_TITUS_APPSCALE_POLICY, "t.jobId", autoScalingPolicy.getJobId());
@@ -80,7 +82,13 @@ public class AppScaleManagerMetrics {
         registry.counter(errorMetricId.withTag("errorCode", autoScalePolicyException.getErrorCode().name())).increment();
     }
 
-    public void reportDroppedRequest() {
-        droppedRequestsCount.increment();
+    public void reportCoalescedAction() {
+        coalescedActionsCount.increment();
+    }
+
+    void monitorActionQueue(AppScaleActionQueue actionQueue) {
+        PolledMeter.using(registry)
+                .withName(METRIC_PENDING_JOBS)
+                .monitorValue(actionQueue, AppScaleActionQueue::getPendingJobs);
     }
 }
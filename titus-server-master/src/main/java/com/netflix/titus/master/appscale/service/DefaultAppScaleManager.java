@@ -71,10 +71,10 @@ public class DefaultAppScaleManager implements AppScaleManager {
 
     private static final long SHUTDOWN_TIMEOUT_MS = 5_000;
     private static final String DEFAULT_JOB_GROUP_SEQ = "v000";
-    private static final int ASYNC_HANDLER_BUFFER_CAPACITY = 10_000;
 
     private final AppScaleManagerMetrics metrics;
-    private final SerializedSubject<AppScaleAction, AppScaleAction> appScaleActionsSubject;
+    private final AppScaleActionQueue actionQueue;
+    private final SerializedSubject<String, String> scheduledJobIdsSubject;
     private final AppScalePolicyStore appScalePolicyStore;
     private final CloudAlarmClient cloudAlarmClient;
     private final AppAutoScalingClient appAutoScalingClient;
@@ -83,9 +83,7 @@ public class DefaultAppScaleManager implements AppScaleManager {
     private TitusRuntime titusRuntime;
 
     private volatile Map<String, AutoScalableTarget> scalableTargets;
-    private volatile Subscription reconcileFinishedJobsSub;
-    private volatile Subscription reconcileAllPendingRequests;
-    private volatile Subscription reconcileScalableTargetsSub;
+    private volatile Subscription fullReconciliationSub;
 
     private volatile ExecutorService awsInteractionExecutor;
     private Subscription appScaleActionsSub;
@@ -99,7 +97,9 @@ public class DefaultAppScaleManager implements AppScaleManager {
                                   TitusRuntime titusRuntime) {
         this(appScalePolicyStore, cloudAlarmClient, applicationAutoScalingClient, v3JobOperations,
                 registry, appScaleManagerConfiguration,
-                ExecutorsExt.namedSingleThreadExecutor("DefaultAppScaleManager"), titusRuntime);
+                ExecutorsExt.instrumentedFixedSizeThreadPool(registry, "DefaultAppScaleManager",
+                        Math.max(1, appScaleManagerConfiguration.getMaxConcurrentActions())),
+                titusRuntime);
     }
 
 
@@ -131,14 +131,20 @@ public class DefaultAppScaleManager implements AppScaleManager {
         this.titusRuntime = titusRuntime;
         this.scalableTargets = new ConcurrentHashMap<>();
         this.metrics = new AppScaleManagerMetrics(registry);
-        this.appScaleActionsSubject = PublishSubject.<AppScaleAction>create().toSerialized();
-
-        this.appScaleActionsSub = appScaleActionsSubject
-                .onBackpressureDrop(appScaleAction -> {
-                    logger.warn("Dropping {}", appScaleAction);
-                    metrics.reportDroppedRequest();
-                })
-                .observeOn(awsInteractionScheduler, ASYNC_HANDLER_BUFFER_CAPACITY)
+        this.actionQueue = new AppScaleActionQueue();
+        this.scheduledJobIdsSubject = PublishSubject.<String>create().toSerialized();
+        metrics.monitorActionQueue(actionQueue);
+
+        // A job id is emitted only when the job has no scheduled actions yet, so the buffer is bounded by the number
+        // of jobs with auto scaling policies.
+        int maxConcurrentActions = Math.max(1, appScaleManagerConfiguration.getMaxConcurrentActions());
+        AppScaleActionHandler actionHandler = new AppScaleActionHandler();
+        this.appScaleActionsSub = scheduledJobIdsSubject
+                .onBackpressureBuffer()
+                .flatMap(jobId -> Observable.fromCallable(() -> processJobActions(jobId, actionHandler))
+                                .subscribeOn(awsInteractionScheduler),
+                        maxConcurrentActions
+                )
                 .doOnError(e -> logger.error("Exception in appScaleActionsSubject ", e))
                 .retryWhen(RetryHandlerBuilder.retryHandler()
                         .withUnlimitedRetries()
@@ -147,7 +153,7 @@ public class DefaultAppScaleManager implements AppScaleManager {
                         .withTitle("Auto-retry for appScaleActionsSubject")
                         .buildExponentialBackoff()
                 )
-                .subscribe(new AppScaleActionHandler());
+                .subscribe(jobId -> logger.debug("Processed pending actions of job {}", jobId));
     }
 
     @Activator
@@ -170,27 +176,14 @@ public class DefaultAppScaleManager implements AppScaleManager {
         checkForScalingPolicyActions().toCompletable().await(appScaleManagerConfiguration.getStoreInitTimeoutSeconds(),
                 TimeUnit.SECONDS);
 
-        reconcileAllPendingRequests = Observable.interval(
-                appScaleManagerConfiguration.getReconcileAllPendingAndDeletingRequestsIntervalMins(), TimeUnit.MINUTES,
-                Schedulers.io())
-                .flatMap(ignored -> titusRuntime.persistentStream(checkForScalingPolicyActions()))
-                .subscribe(policy -> logger.info("Reconciliation - policy request processed : {}.", policy.getPolicyId()),
-                        e -> logger.error("error in reconciliation (ReconcileAllPendingRequests) stream", e),
-                        () -> logger.info("reconciliation (ReconcileAllPendingRequests) stream closed"));
-
-        reconcileFinishedJobsSub = Observable.interval(appScaleManagerConfiguration.getReconcileFinishedJobsIntervalMins(), TimeUnit.MINUTES)
-                .observeOn(Schedulers.io())
-                .flatMap(ignored -> titusRuntime.persistentStream(reconcileFinishedJobs()))
-                .subscribe(jobId -> logger.info("reconciliation for FinishedJob : {} policies cleaned up.", jobId),
-                        e -> logger.error("error in reconciliation (FinishedJob) stream", e),
-                        () -> logger.info("reconciliation (FinishedJob) stream closed"));
-
-        reconcileScalableTargetsSub = Observable.interval(appScaleManagerConfiguration.getReconcileTargetsIntervalMins(), TimeUnit.MINUTES)
-                .observeOn(Schedulers.io())
-                .flatMap(ignored -> titusRuntime.persistentStream(reconcileScalableTargets()))
-                .subscribe(jobId -> logger.info("Reconciliation (TargetUpdated) : {} target updated", jobId),
-                        e -> logger.error("Error in reconciliation (TargetUpdated) stream", e),
-                        () -> logger.info("Reconciliation (TargetUpdated) stream closed"));
+        // Policy changes and job updates are handled as they happen. The full sweep is a safety net only.
+        long fullReconciliationIntervalMins = appScaleManagerConfiguration.getFullReconciliationIntervalMins();
+        fullReconciliationSub = Observable.interval(fullReconciliationIntervalMins, fullReconciliationIntervalMins, TimeUnit.MINUTES, Schedulers.io())
+                .onBackpressureDrop()
+                .concatMap(ignored -> titusRuntime.persistentStream(reconcileAllPolicies().count()))
+                .subscribe(count -> logger.info("Reconciliation of {} auto scaling policies finished", count),
+                        e -> logger.error("Error in reconciliation (FullReconciliation) stream", e),
+                        () -> logger.info("Reconciliation (FullReconciliation) stream closed"));
 
         titusRuntime.persistentStream(v3LiveStreamTargetUpdates())
                 .subscribe(jobId -> logger.info("(V3) Job {} scalable target updated.", jobId),
@@ -207,8 +200,7 @@ public class DefaultAppScaleManager implements AppScaleManager {
 
     @PreDestroy
     public void shutdown() {
-        ObservableExt.safeUnsubscribe(reconcileFinishedJobsSub, reconcileScalableTargetsSub,
-                reconcileAllPendingRequests, appScaleActionsSub);
+        ObservableExt.safeUnsubscribe(fullReconciliationSub, appScaleActionsSub);
         if (awsInteractionExecutor == null) {
             return; // nothing else to do
         }
@@ -239,27 +231,29 @@ public class DefaultAppScaleManager implements AppScaleManager {
                 });
     }
 
-    private Observable<String> reconcileFinishedJobs() {
+    /**
+     * Single pass over all policies, that queues the actions missed by the event driven processing: pending creates
+     * and deletes, clean up of policies of finished jobs, and stale scalable targets. Actions already pending for a
+     * job are coalesced with the ones queued here, so the sweep does not duplicate outbound calls.
+     */
+    private Observable<AutoScalingPolicy> reconcileAllPolicies() {
         return appScalePolicyStore.retrievePolicies(false)
-                .map(AutoScalingPolicy::getJobId)
-                .filter(jobId -> !isJobActive(jobId))
-                .flatMap(jobId -> removePoliciesForJob(jobId).andThen(Observable.just(jobId)))
-                .doOnError(e -> logger.error("Exception in reconcileFinishedJobs -> ", e))
-                .onErrorResumeNext(e -> saveStatusOnError(e).andThen(Observable.empty()));
-    }
-
-    private Observable<String> reconcileScalableTargets() {
-        return appScalePolicyStore.retrievePolicies(false)
-                .filter(autoScalingPolicy -> isJobActive(autoScalingPolicy.getJobId()))
-                .filter(autoScalingPolicy -> {
+                .flatMap(autoScalingPolicy -> Observable.defer(() -> {
                     String jobId = autoScalingPolicy.getJobId();
-                    return shouldRefreshScalableTargetForJob(jobId, getJobScalingConstraints(autoScalingPolicy.getRefId(),
-                            jobId));
-                })
-                .map(this::sendUpdateTargetAction)
-                .map(AppScaleAction::getJobId)
-                .doOnError(e -> logger.error("Exception in reconcileScalableTargets -> ", e))
-                .onErrorResumeNext(e -> Observable.empty());
+                    if (autoScalingPolicy.getStatus() == PolicyStatus.Deleting) {
+                        sendDeletePolicyAction(autoScalingPolicy);
+                    } else if (!isJobActive(jobId)) {
+                        return removeAutoScalingPolicy(autoScalingPolicy.getRefId()).andThen(Observable.just(autoScalingPolicy));
+                    } else if (autoScalingPolicy.getStatus() == PolicyStatus.Pending) {
+                        sendCreatePolicyAction(autoScalingPolicy);
+                    } else if (shouldRefreshScalableTargetForJob(jobId, getJobScalingConstraints(autoScalingPolicy.getRefId(), jobId))) {
+                        sendUpdateTargetAction(autoScalingPolicy);
+                    }
+                    return Observable.just(autoScalingPolicy);
+                }).onErrorResumeNext(e -> {
+                    logger.error("Exception in reconcileAllPolicies for policy {} -> ", autoScalingPolicy.getRefId(), e);
+                    return saveStatusOnError(e).andThen(Observable.empty());
+                }));
     }
 
 
@@ -477,6 +471,30 @@ public class DefaultAppScaleManager implements AppScaleManager {
         return Optional.empty();
     }
 
+    private String processJobActions(String jobId, AppScaleActionHandler actionHandler) {
+        try {
+            actionQueue.take(jobId).forEach(actionHandler::call);
+        } finally {
+            if (actionQueue.release(jobId)) {
+                scheduledJobIdsSubject.onNext(jobId);
+            }
+        }
+        return jobId;
+    }
+
+    private void enqueueAction(AppScaleAction appScaleAction) {
+        switch (actionQueue.add(appScaleAction)) {
+            case Scheduled:
+                scheduledJobIdsSubject.onNext(appScaleAction.getJobId());
+                break;
+            case Coalesced:
+                metrics.reportCoalescedAction();
+                break;
+            case Queued:
+                break;
+        }
+    }
+
     public class AppScaleActionHandler implements Action1<AppScaleAction> {
         @Override
         public void call(AppScaleAction appScaleAction) {
@@ -628,19 +646,19 @@ public class DefaultAppScaleManager implements AppScaleManager {
 
     private AppScaleAction sendUpdateTargetAction(AutoScalingPolicy autoScalingPolicy) {
         AppScaleAction updateTargetAction = AppScaleAction.newBuilder().buildUpdateTargetAction(autoScalingPolicy.getJobId(), autoScalingPolicy.getRefId());
-        appScaleActionsSubject.onNext(updateTargetAction);
+        enqueueAction(updateTargetAction);
         return updateTargetAction;
     }
 
     private AppScaleAction sendCreatePolicyAction(AutoScalingPolicy autoScalingPolicy) {
         AppScaleAction createPolicyAction = AppScaleAction.newBuilder().buildCreatePolicyAction(autoScalingPolicy.getJobId(), autoScalingPolicy);
-        appScaleActionsSubject.onNext(createPolicyAction);
+        enqueueAction(createPolicyAction);
         return createPolicyAction;
     }
 
     private AppScaleAction sendDeletePolicyAction(AutoScalingPolicy autoScalingPolicy) {
         AppScaleAction deletePolicyAction = AppScaleAction.newBuilder().buildDeletePolicyAction(autoScalingPolicy.getJobId(), autoScalingPolicy);
-        appScaleActionsSubject.onNext(deletePolicyAction);
+        enqueueAction(deletePolicyAction);
         return deletePolicyAction;
     }
 
@@ -29,6 +29,7 @@ import com.netflix.titus.api.jobmanager.model.job.ContainerResources;
 import com.netflix.titus.api.jobmanager.model.job.Job;
 import com.netflix.titus.api.jobmanager.model.job.Task;
 import com.netflix.titus.api.jobmanager.model.job.TaskState;
+import com.netflix.titus.api.jobmanager.service.JobModelView;
 import com.netflix.titus.api.jobmanager.service.ReadOnlyJobOperations;
 import com.netflix.titus.api.model.ApplicationSLA;
 import com.netflix.titus.common.util.tuple.Pair;
@@ -50,14 +51,14 @@ public class ReservationUsageCalculator {
     public Map<String, ReservationUsage> buildUsage() {
         Map<String, ResourceAccumulator> accumulatorMap = new HashMap<>();
 
-        List<Pair<Job, List<Task>>> jobsAndTasks = jobOperations.getJobsAndTasks();
+        List<Pair<Job<?>, List<Task>>> jobsAndTasks = jobOperations.getJobModelView().getJobsAndTasks();
 
         Set<String> capacityGroupNames = capacityManagementService.getApplicationSLAs().stream()
                 .map(ApplicationSLA::getAppName)
                 .collect(Collectors.toSet());
 
-        for (Pair<Job, List<Task>> jobAndTasks : jobsAndTasks) {
-            Job job = jobAndTasks.getLeft();
+        for (Pair<Job<?>, List<Task>> jobAndTasks : jobsAndTasks) {
+            Job<?> job = jobAndTasks.getLeft();
 
             String capacityGroup = capacityGroupNames.contains(job.getJobDescriptor().getCapacityGroup())
                     ? job.getJobDescriptor().getCapacityGroup()
@@ -67,7 +68,7 @@ public class ReservationUsageCalculator {
                     capacityGroup,
                     cp -> new ResourceAccumulator()
             );
-            processJob(accumulator, jobAndTasks);
+            processJob(accumulator, job, jobAndTasks.getRight());
         }
 
         Map<String, ReservationUsage> result = new HashMap<>();
@@ -88,23 +89,20 @@ public class ReservationUsageCalculator {
             return ReservationUsage.none();
         }
 
-        List<Pair<Job, List<Task>>> jobsAndTasks = jobOperations.getJobsAndTasks();
+        // Tasks are resolved only for the jobs that belong to the capacity group.
+        JobModelView jobModelView = jobOperations.getJobModelView();
 
         ResourceAccumulator accumulator = new ResourceAccumulator();
-        for (Pair<Job, List<Task>> jobAndTasks : jobsAndTasks) {
-            Job job = jobAndTasks.getLeft();
+        for (Job<?> job : jobModelView.getJobs()) {
             if (capacityGroupName.equals(job.getJobDescriptor().getCapacityGroup())) {
-                processJob(accumulator, jobAndTasks);
+                processJob(accumulator, job, jobModelView.getTasks(job.getId()));
             }
         }
 
         return accumulator.toReservationUsage();
     }
 
-    private void processJob(ResourceAccumulator accumulator, Pair<Job, List<Task>> jobAndTasks) {
-        Job job = jobAndTasks.getLeft();
-        List<Task> tasks = jobAndTasks.getRight();
-
+    private void processJob(ResourceAccumulator accumulator, Job<?> job, List<Task> tasks) {
         int running = 0;
         for (Task task : tasks) {
             if (TaskState.isRunning(task.getStatus().getState())) {
@@ -23,6 +23,7 @@ import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import com.netflix.titus.api.containerhealth.service.ContainerHealthService;
 import com.netflix.titus.api.eviction.model.EvictionQuota;
 import com.netflix.titus.api.eviction.model.event.EvictionEvent;
 import com.netflix.titus.api.eviction.service.EvictionException;
@@ -47,6 +48,7 @@ public class DefaultEvictionOperations implements EvictionOperations {
     private static final Logger logger = LoggerFactory.getLogger(DefaultEvictionOperations.class);
 
     private final V3JobOperations jobOperations;
+    private final ContainerHealthService containerHealthService;
     private final TitusQuotasManager quotaManager;
     private final TitusRuntime titusRuntime;
     private final Scheduler scheduler;
@@ -58,10 +60,12 @@ public class DefaultEvictionOperations implements EvictionOperations {
     @Inject
     public DefaultEvictionOperations(EvictionServiceConfiguration configuration,
                                      V3JobOperations jobOperations,
+                                     ContainerHealthService containerHealthService,
                                      TitusQuotasManager quotaManager,
                                      TitusRuntime titusRuntime) {
         this.configuration = configuration;
         this.jobOperations = jobOperations;
+        this.containerHealthService = containerHealthService;
         this.quotaManager = quotaManager;
         this.titusRuntime = titusRuntime;
 
@@ -75,7 +79,7 @@ public class DefaultEvictionOperations implements EvictionOperations {
 
     @Activator
     public void enterActiveMode() {
-        this.quotEventEmitter = new QuotaEventEmitter(configuration, jobOperations, quotaManager, titusRuntime);
+        this.quotEventEmitter = new QuotaEventEmitter(configuration, jobOperations, containerHealthService, quotaManager, titusRuntime);
         this.taskTerminationExecutor = new TaskTerminationExecutor(configuration, jobOperations, quotaManager, titusRuntime, scheduler);
     }
 
@@ -25,6 +25,14 @@ public interface EvictionServiceConfiguration {
     @DefaultValue("100")
     long getEventStreamQuotaUpdateIntervalMs();
 
+    /**
+     * Between the full refreshes, the event stream recomputes only the quotas of jobs with job, task or container
+     * health changes, and of jobs with time dependent quotas. A full refresh recomputes all job quotas, and bounds
+     * the staleness of quota changes that are not captured by any of those triggers.
+     */
+    @DefaultValue("60000")
+    long getEventStreamQuotaFullRefreshIntervalMs();
+
     /**
      * The queue size for pending task termination requests. Incoming requests above this limit are rejected.
      * The queue depth should be equal to at least the system disruption budget capacity.
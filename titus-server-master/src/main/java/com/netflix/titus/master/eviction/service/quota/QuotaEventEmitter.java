@@ -18,10 +18,12 @@ package com.netflix.titus.master.eviction.service.quota;
 
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
@@ -30,49 +32,102 @@ import javax.inject.Singleton;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Sets;
+import com.netflix.titus.api.containerhealth.model.event.ContainerHealthEvent;
+import com.netflix.titus.api.containerhealth.model.event.ContainerHealthUpdateEvent;
+import com.netflix.titus.api.containerhealth.service.ContainerHealthService;
 import com.netflix.titus.api.eviction.model.EvictionQuota;
 import com.netflix.titus.api.eviction.model.event.EvictionEvent;
 import com.netflix.titus.api.eviction.model.event.EvictionQuotaEvent;
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.event.JobManagerEvent;
+import com.netflix.titus.api.jobmanager.model.job.event.JobUpdateEvent;
+import com.netflix.titus.api.jobmanager.model.job.event.TaskUpdateEvent;
 import com.netflix.titus.api.jobmanager.service.V3JobOperations;
+import com.netflix.titus.api.model.Level;
 import com.netflix.titus.api.model.reference.Reference;
 import com.netflix.titus.common.framework.scheduler.ExecutionContext;
 import com.netflix.titus.common.framework.scheduler.ScheduleReference;
 import com.netflix.titus.common.framework.scheduler.model.ScheduleDescriptor;
 import com.netflix.titus.common.runtime.TitusRuntime;
 import com.netflix.titus.common.util.retry.Retryers;
+import com.netflix.titus.common.util.rx.ReactorExt;
+import com.netflix.titus.common.util.rx.ReactorRetriers;
+import com.netflix.titus.common.util.time.Clock;
 import com.netflix.titus.master.eviction.service.EvictionServiceConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 
 /**
- * {@link QuotaEventEmitter} emits quota updates at a regular interval. It is accomplished by polling periodically
- * all quota providers and computing the difference between the last and current state.
+ * {@link QuotaEventEmitter} emits quota updates at a regular interval. The quotas are computed once per interval,
+ * and shared by all subscribers. Only the quotas of jobs with job, task or container health changes, and of jobs
+ * with time dependent quotas are recomputed, with a full refresh at a longer interval. A subscriber receives the
+ * current state of all quotas first, and after that only the quotas that changed since the previous interval.
  */
 @Singleton
 public class QuotaEventEmitter {
 
+    private static final Logger logger = LoggerFactory.getLogger(QuotaEventEmitter.class);
+
+    private static final String NAME = QuotaEventEmitter.class.getSimpleName();
+
+    private static final Duration RETRY_INTERVAL = Duration.ofSeconds(5);
+
     private static final ScheduleDescriptor SCHEDULE_DESCRIPTOR = ScheduleDescriptor.newBuilder()
-            .withName(QuotaEventEmitter.class.getSimpleName())
+            .withName(NAME)
             .withDescription("Quota update events")
             .withInterval(Duration.ofSeconds(1))
             .withRetryerSupplier(Retryers::never)
             .withTimeout(Duration.ofSeconds(5))
             .build();
 
+    private final EvictionServiceConfiguration configuration;
     private final V3JobOperations jobOperations;
     private final TitusQuotasManager quotasManager;
+    private final Clock clock;
+
+    private final Disposable jobUpdateDisposable;
+    private final Disposable containerHealthUpdateDisposable;
     private final ScheduleReference scheduleReference;
 
     @VisibleForTesting
     final Set<SinkHolder> eventSubscriberSinks = Sets.newConcurrentHashSet();
 
+    private final Set<String> dirtyJobIds = Sets.newConcurrentHashSet();
+    private volatile boolean fullRefreshRequired = true;
+
+    /**
+     * Quotas emitted in the last interval. The system quota is always the first entry. Accessed from the refresh
+     * thread only, as are all fields below.
+     */
+    private final Map<Reference, EvictionQuota> currentQuotas = new LinkedHashMap<>();
+    private final Set<String> timeDependentJobIds = new HashSet<>();
+    private long lastFullRefreshTimestamp;
+
     @Inject
     public QuotaEventEmitter(EvictionServiceConfiguration configuration,
                              V3JobOperations jobOperations,
+                             ContainerHealthService containerHealthService,
                              TitusQuotasManager quotasManager,
                              TitusRuntime titusRuntime) {
+        this.configuration = configuration;
         this.jobOperations = jobOperations;
         this.quotasManager = quotasManager;
+        this.clock = titusRuntime.getClock();
+
+        // Events may be lost between retries, so each (re)subscription is followed by a full refresh.
+        this.jobUpdateDisposable = jobOperations.observeJobsReactor()
+                .doOnSubscribe(subscription -> fullRefreshRequired = true)
+                .transformDeferred(ReactorRetriers.instrumentedRetryer(NAME + "JobEvents", RETRY_INTERVAL, logger))
+                .subscribe(this::onJobManagerEvent);
+        this.containerHealthUpdateDisposable = containerHealthService.events(false)
+                .doOnSubscribe(subscription -> fullRefreshRequired = true)
+                .transformDeferred(ReactorRetriers.instrumentedRetryer(NAME + "ContainerHealthEvents", RETRY_INTERVAL, logger))
+                .subscribe(this::onContainerHealthEvent);
+
         this.scheduleReference = titusRuntime.getLocalScheduler().schedule(
                 SCHEDULE_DESCRIPTOR.toBuilder()
                         .withInterval(Duration.ofMillis(configuration.getEventStreamQuotaUpdateIntervalMs()))
@@ -85,31 +140,112 @@ public class QuotaEventEmitter {
     @PreDestroy
     public void shutdown() {
         scheduleReference.cancel();
+        ReactorExt.safeDispose(jobUpdateDisposable, containerHealthUpdateDisposable);
     }
 
     public Flux<EvictionEvent> events(boolean includeSnapshot) {
         return Flux.create(sink -> {
             Preconditions.checkState(scheduleReference != null && !scheduleReference.isClosed());
-            eventSubscriberSinks.add(new SinkHolder(sink, includeSnapshot));
-            sink.onDispose(() -> eventSubscriberSinks.remove(sink));
+            SinkHolder sinkHolder = new SinkHolder(sink, includeSnapshot);
+            eventSubscriberSinks.add(sinkHolder);
+            sink.onDispose(() -> eventSubscriberSinks.remove(sinkHolder));
         });
     }
 
+    private void onJobManagerEvent(JobManagerEvent<?> event) {
+        if (event instanceof JobUpdateEvent) {
+            dirtyJobIds.add(((Job<?>) event.getCurrent()).getId());
+        } else if (event instanceof TaskUpdateEvent) {
+            dirtyJobIds.add(((Task) event.getCurrent()).getJobId());
+        }
+    }
+
+    private void onContainerHealthEvent(ContainerHealthEvent event) {
+        if (event instanceof ContainerHealthUpdateEvent) {
+            String taskId = ((ContainerHealthUpdateEvent) event).getContainerHealthStatus().getTaskId();
+            jobOperations.findTaskById(taskId).ifPresent(jobTaskPair -> dirtyJobIds.add(jobTaskPair.getLeft().getId()));
+        }
+    }
+
     private void refresh(ExecutionContext context) {
-        eventSubscriberSinks.forEach(sinkHolder -> {
-            if (sinkHolder.getSink().isCancelled()) {
-                eventSubscriberSinks.remove(sinkHolder);
+        eventSubscriberSinks.removeIf(sinkHolder -> sinkHolder.getSink().isCancelled());
+
+        // Nobody is listening, so there is no point in tracking the quotas until the next subscription.
+        if (eventSubscriberSinks.isEmpty()) {
+            fullRefreshRequired = true;
+            dirtyJobIds.clear();
+            return;
+        }
+
+        List<EvictionQuotaEvent> changes;
+        try {
+            changes = updateQuotas();
+        } catch (RuntimeException e) {
+            fullRefreshRequired = true;
+            throw e;
+        }
+        eventSubscriberSinks.forEach(sinkHolder -> sinkHolder.refresh(changes));
+    }
+
+    private List<EvictionQuotaEvent> updateQuotas() {
+        List<EvictionQuotaEvent> changes = new ArrayList<>();
+        updateQuota(Reference.system(), quotasManager.findEvictionQuota(Reference.system()).get(), changes);
+
+        long now = clock.wallTime();
+        if (fullRefreshRequired || now - lastFullRefreshTimestamp >= configuration.getEventStreamQuotaFullRefreshIntervalMs()) {
+            fullRefreshRequired = false;
+            dirtyJobIds.clear();
+            lastFullRefreshTimestamp = now;
+
+            Set<String> jobIds = new HashSet<>();
+            jobOperations.getJobs().forEach(job -> jobIds.add(job.getId()));
+            currentQuotas.keySet().removeIf(reference -> reference.getLevel() == Level.Job && !jobIds.contains(reference.getName()));
+            timeDependentJobIds.retainAll(jobIds);
+            jobIds.forEach(jobId -> updateJobQuota(jobId, changes));
+        } else {
+            Set<String> jobIds = new HashSet<>(timeDependentJobIds);
+            for (Iterator<String> it = dirtyJobIds.iterator(); it.hasNext(); ) {
+                jobIds.add(it.next());
+                it.remove();
+            }
+            jobIds.forEach(jobId -> updateJobQuota(jobId, changes));
+        }
+        return changes;
+    }
+
+    private void updateJobQuota(String jobId, List<EvictionQuotaEvent> changes) {
+        Reference reference = Reference.job(jobId);
+        Optional<EvictionQuota> quotaOpt = quotasManager.findEvictionQuota(reference);
+        if (quotaOpt.isPresent()) {
+            updateQuota(reference, quotaOpt.get(), changes);
+            if (quotasManager.isTimeDependent(jobId)) {
+                timeDependentJobIds.add(jobId);
             } else {
-                sinkHolder.refresh();
+                timeDependentJobIds.remove(jobId);
             }
-        });
+            return;
+        }
+
+        currentQuotas.remove(reference);
+        timeDependentJobIds.remove(jobId);
+        // The quota controller of a newly created job may not be set up yet, so check it again in the next interval.
+        if (jobOperations.getJob(jobId).isPresent()) {
+            dirtyJobIds.add(jobId);
+        }
+    }
+
+    private void updateQuota(Reference reference, EvictionQuota quota, List<EvictionQuotaEvent> changes) {
+        EvictionQuota previous = currentQuotas.put(reference, quota);
+        if (previous == null || quota.getQuota() != previous.getQuota()) {
+            changes.add(EvictionEvent.newQuotaEvent(quota));
+        }
     }
 
     private class SinkHolder {
 
         private final FluxSink<EvictionEvent> sink;
-        private Map<Reference, EvictionQuota> emittedQuotas = Collections.emptyMap();
-        private boolean includeSnapshot;
+        private final boolean includeSnapshot;
+        private boolean initialized;
 
         private SinkHolder(FluxSink<EvictionEvent> sink, boolean includeSnapshot) {
             this.sink = sink;
@@ -120,65 +256,21 @@ public class QuotaEventEmitter {
             return sink;
         }
 
-        public void refresh() {
+        private void refresh(List<EvictionQuotaEvent> changes) {
             try {
-                if (includeSnapshot) {
-                    firstRefreshWithSnapshot();
-                } else if (emittedQuotas.isEmpty()) {
-                    refreshIfNoPreviousEmits();
+                if (initialized) {
+                    changes.forEach(sink::next);
                 } else {
-                    refreshWithPreviousEmits();
+                    currentQuotas.values().forEach(quota -> sink.next(EvictionEvent.newQuotaEvent(quota)));
+                    if (includeSnapshot) {
+                        sink.next(EvictionEvent.newSnapshotEndEvent());
+                    }
+                    this.initialized = true;
                 }
             } catch (Exception e) {
                 sink.error(e);
                 eventSubscriberSinks.remove(this);
             }
         }
-
-        private void firstRefreshWithSnapshot() {
-            HashMap<Reference, EvictionQuota> newlyEmittedQuotas = new HashMap<>();
-            buildSnapshot().forEach(event -> {
-                sink.next(event);
-                newlyEmittedQuotas.put(event.getQuota().getReference(), event.getQuota());
-            });
-            sink.next(EvictionEvent.newSnapshotEndEvent());
-            this.includeSnapshot = false;
-            this.emittedQuotas = newlyEmittedQuotas;
-        }
-
-        private void refreshIfNoPreviousEmits() {
-            HashMap<Reference, EvictionQuota> newlyEmittedQuotas = new HashMap<>();
-            buildSnapshot().forEach(event -> {
-                sink.next(event);
-                newlyEmittedQuotas.put(event.getQuota().getReference(), event.getQuota());
-            });
-            this.emittedQuotas = newlyEmittedQuotas;
-        }
-
-        private void refreshWithPreviousEmits() {
-            HashMap<Reference, EvictionQuota> newlyEmittedQuotas = new HashMap<>();
-            buildSnapshot().forEach(event -> {
-                EvictionQuota quota = event.getQuota();
-                EvictionQuota previous = emittedQuotas.get(quota.getReference());
-                if (previous == null || quota.getQuota() != previous.getQuota()) {
-                    sink.next(event);
-                }
-                newlyEmittedQuotas.put(quota.getReference(), quota);
-            });
-            this.emittedQuotas = newlyEmittedQuotas;
-        }
-
-        private List<EvictionQuotaEvent> buildSnapshot() {
-            List<EvictionQuotaEvent> snapshot = new ArrayList<>();
-
-            snapshot.add(EvictionEvent.newQuotaEvent(quotasManager.findEvictionQuota(Reference.system()).get()));
-            jobOperations.getJobs()
-                    .forEach(job -> quotasManager
-                            .findEvictionQuota(Reference.job(job.getId()))
-                            .ifPresent(quota -> snapshot.add(EvictionEvent.newQuotaEvent(quota)))
-                    );
-
-            return snapshot;
-        }
     }
 }
@@ -31,4 +31,12 @@ public interface QuotaTracker {
      * Returns current quota.
      */
     EvictionQuota getQuota(Reference reference);
+
+    /**
+     * Returns true if the quota may change with the passage of time alone, without any job, task or container health
+     * change. For example, a quota limited to a time window, or a rate limit with evictions still in its time interval.
+     */
+    default boolean isTimeDependent() {
+        return false;
+    }
 }
@@ -24,6 +24,7 @@ import com.netflix.titus.api.jobmanager.model.job.disruptionbudget.TimeWindow;
 import com.netflix.titus.api.jobmanager.model.job.disruptionbudget.TimeWindowFunctions;
 import com.netflix.titus.api.model.reference.Reference;
 import com.netflix.titus.common.runtime.TitusRuntime;
+import com.netflix.titus.common.util.CollectionsExt;
 
 /**
  * Time window quota oscillates between two states. No quota, if an instant is outside of the configured time
@@ -32,9 +33,11 @@ import com.netflix.titus.common.runtime.TitusRuntime;
 public class TimeWindowQuotaTracker implements QuotaTracker {
 
     private final Supplier<Boolean> predicate;
+    private final boolean timeDependent;
 
     public TimeWindowQuotaTracker(List<TimeWindow> timeWindows, TitusRuntime titusRuntime) {
         this.predicate = TimeWindowFunctions.isInTimeWindowPredicate(titusRuntime, timeWindows);
+        this.timeDependent = !CollectionsExt.isNullOrEmpty(timeWindows);
     }
 
     @Override
@@ -43,4 +46,9 @@ public class TimeWindowQuotaTracker implements QuotaTracker {
                 ? EvictionQuota.unlimited(reference)
                 : EvictionQuota.newBuilder().withReference(reference).withQuota(0).withMessage("outside time window").build();
     }
+
+    @Override
+    public boolean isTimeDependent() {
+        return timeDependent;
+    }
 }
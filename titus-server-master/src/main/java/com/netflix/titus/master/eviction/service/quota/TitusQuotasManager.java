@@ -137,6 +137,15 @@ public class TitusQuotasManager {
         return Optional.empty();
     }
 
+    /**
+     * Returns true if the quota of the given job may change with time, without any job, task or container health
+     * change (see {@link QuotaTracker#isTimeDependent()}).
+     */
+    public boolean isTimeDependent(String jobId) {
+        JobQuotaController jobQuotaController = jobQuotaControllersByJobId.get(jobId);
+        return jobQuotaController != null && jobQuotaController.isTimeDependent();
+    }
+
     private void updateJobController(Job newJob) {
         if (newJob.getStatus().getState() != JobState.Finished) {
             updateRunningJobController(newJob);
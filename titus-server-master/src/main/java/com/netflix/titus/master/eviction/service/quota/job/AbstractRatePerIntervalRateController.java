@@ -77,6 +77,14 @@ public abstract class AbstractRatePerIntervalRateController implements QuotaCont
                 : EvictionQuota.newBuilder().withReference(reference).withQuota(0).withMessage(rejectionResult.getRejectionReason().get()).build();
     }
 
+    /**
+     * The quota is restored gradually, as the evictions leave the rolling time interval.
+     */
+    @Override
+    public boolean isTimeDependent() {
+        return rollingCount.getCounts(titusRuntime.getClock().wallTime()) > 0;
+    }
+
     @Override
     public ConsumptionResult consume(String taskId) {
         long now = titusRuntime.getClock().wallTime();
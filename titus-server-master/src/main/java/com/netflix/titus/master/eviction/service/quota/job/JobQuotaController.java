@@ -96,6 +96,21 @@ public class JobQuotaController implements QuotaController<Job<?>> {
         return getMinSubQuota(reference);
     }
 
+    @Override
+    public boolean isTimeDependent() {
+        for (QuotaTracker tracker : quotaTrackers) {
+            if (tracker.isTimeDependent()) {
+                return true;
+            }
+        }
+        for (QuotaController<Job<?>> controller : quotaControllers) {
+            if (controller.isTimeDependent()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public ConsumptionResult consume(String taskId) {
         if (isLegacy()) {
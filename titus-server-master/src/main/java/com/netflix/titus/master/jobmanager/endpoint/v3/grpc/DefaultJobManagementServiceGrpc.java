@@ -38,6 +38,7 @@ import com.netflix.titus.api.jobmanager.model.job.disruptionbudget.DisruptionBud
 import com.netflix.titus.api.jobmanager.model.job.ext.BatchJobExt;
 import com.netflix.titus.api.jobmanager.model.job.ext.ServiceJobExt;
 import com.netflix.titus.api.jobmanager.model.job.sanitizer.CustomJobConfiguration;
+import com.netflix.titus.api.jobmanager.service.CursorQueryResult;
 import com.netflix.titus.api.jobmanager.service.JobManagerException;
 import com.netflix.titus.api.jobmanager.service.V3JobOperations;
 import com.netflix.titus.api.jobmanager.service.V3JobOperations.Trigger;
@@ -53,6 +54,7 @@ import com.netflix.titus.common.runtime.TitusRuntime;
 import com.netflix.titus.common.util.CollectionsExt;
 import com.netflix.titus.common.util.ExecutorsExt;
 import com.netflix.titus.common.util.ProtobufExt;
+import com.netflix.titus.common.util.StringExt;
 import com.netflix.titus.common.util.archaius2.ObjectConfigurationResolver;
 import com.netflix.titus.common.util.rx.ObservableExt;
 import com.netflix.titus.common.util.tuple.Pair;
@@ -230,20 +232,28 @@ public class DefaultJobManagementServiceGrpc extends JobManagementServiceGrpc.Jo
         }
 
         try {
-            // We need to find all jobs to get the total number of them.
-            List<com.netflix.titus.api.jobmanager.model.job.Job<?>> allFilteredJobs = jobOperations.findJobs(
-                    new V3JobQueryCriteriaEvaluator(toJobQueryCriteria(jobQuery), titusRuntime),
-                    0,
-                    Integer.MAX_VALUE / 2
-            );
-
-            Pair<List<com.netflix.titus.api.jobmanager.model.job.Job<?>>, Pagination> queryResult = PaginationUtil.takePageWithCursorAndKeyExtractor(
-                    toPage(jobQuery.getPage()),
-                    allFilteredJobs,
-                    JobComparators::createJobKeyOf,
-                    JobManagerCursors::coreJobIndexOf,
-                    JobManagerCursors::newJobCoreCursorFrom
-            );
+            com.netflix.titus.api.model.Page page = toPage(jobQuery.getPage());
+            V3JobQueryCriteriaEvaluator queryPredicate = new V3JobQueryCriteriaEvaluator(toJobQueryCriteria(jobQuery), titusRuntime);
+            Pair<List<com.netflix.titus.api.jobmanager.model.job.Job<?>>, Pagination> queryResult;
+            if (StringExt.isEmpty(page.getCursor())) {
+                // We need to find all jobs to get the total number of them.
+                List<com.netflix.titus.api.jobmanager.model.job.Job<?>> allFilteredJobs = jobOperations.findJobs(queryPredicate, 0, Integer.MAX_VALUE / 2);
+                queryResult = PaginationUtil.takePageWithCursorAndKeyExtractor(
+                        page,
+                        allFilteredJobs,
+                        JobComparators::createJobKeyOf,
+                        JobManagerCursors::coreJobIndexOf,
+                        JobManagerCursors::newJobCoreCursorFrom
+                );
+            } else {
+                Pair<String, Long> cursorKey = decodeCursor(page);
+                CursorQueryResult<com.netflix.titus.api.jobmanager.model.job.Job<?>> cursorResult = jobOperations.findJobsAfter(
+                        queryPredicate, cursorKey.getRight(), cursorKey.getLeft(), page.getPageSize()
+                );
+                queryResult = Pair.of(cursorResult.getItems(), PaginationUtil.newCursorPagination(
+                        page, cursorResult.getOffset(), cursorResult.getItems(), cursorResult.getTotalItems(), JobManagerCursors::newJobCoreCursorFrom
+                ));
+            }
             List<Job> grpcJobs = new ArrayList<>();
             for (com.netflix.titus.api.jobmanager.model.job.Job<?> job : queryResult.getLeft()) {
                 Job toGrpcJob = grpcObjectsCache.getJob(job);
@@ -293,25 +303,34 @@ public class DefaultJobManagementServiceGrpc extends JobManagementServiceGrpc.Jo
         }
 
         try {
-            // We need to find all tasks to get the total number of them.
-            List<com.netflix.titus.api.jobmanager.model.job.Task> allFilteredTasks = new ArrayList<>();
-            for (Pair<com.netflix.titus.api.jobmanager.model.job.Job<?>, com.netflix.titus.api.jobmanager.model.job.Task> jobTaskPair : jobOperations.findTasks(
-                    new V3TaskQueryCriteriaEvaluator(toJobQueryCriteria(taskQuery), titusRuntime),
-                    0,
-                    Integer.MAX_VALUE / 2
-            )) {
-                com.netflix.titus.api.jobmanager.model.job.Task right = jobTaskPair.getRight();
-                allFilteredTasks.add(right);
+            com.netflix.titus.api.model.Page page = toPage(taskQuery.getPage());
+            V3TaskQueryCriteriaEvaluator queryPredicate = new V3TaskQueryCriteriaEvaluator(toJobQueryCriteria(taskQuery), titusRuntime);
+            Pair<List<com.netflix.titus.api.jobmanager.model.job.Task>, Pagination> queryResult;
+            if (StringExt.isEmpty(page.getCursor())) {
+                // We need to find all tasks to get the total number of them.
+                List<com.netflix.titus.api.jobmanager.model.job.Task> allFilteredTasks = new ArrayList<>();
+                for (Pair<com.netflix.titus.api.jobmanager.model.job.Job<?>, com.netflix.titus.api.jobmanager.model.job.Task> jobTaskPair : jobOperations.findTasks(queryPredicate, 0, Integer.MAX_VALUE / 2)) {
+                    allFilteredTasks.add(jobTaskPair.getRight());
+                }
+                queryResult = PaginationUtil.takePageWithCursorAndKeyExtractor(
+                        page,
+                        allFilteredTasks,
+                        JobComparators::createTaskKeyOf,
+                        JobManagerCursors::coreTaskIndexOf,
+                        JobManagerCursors::newTaskCoreCursorFrom
+                );
+            } else {
+                // The cursor position is resolved in the job manager indexes, without copying and sorting all tasks.
+                Pair<String, Long> cursorKey = decodeCursor(page);
+                CursorQueryResult<Pair<com.netflix.titus.api.jobmanager.model.job.Job<?>, com.netflix.titus.api.jobmanager.model.job.Task>> cursorResult =
+                        jobOperations.findTasksAfter(queryPredicate, cursorKey.getRight(), cursorKey.getLeft(), page.getPageSize());
+                List<com.netflix.titus.api.jobmanager.model.job.Task> pageTasks = new ArrayList<>(cursorResult.getItems().size());
+                cursorResult.getItems().forEach(jobTaskPair -> pageTasks.add(jobTaskPair.getRight()));
+                queryResult = Pair.of(pageTasks, PaginationUtil.newCursorPagination(
+                        page, cursorResult.getOffset(), pageTasks, cursorResult.getTotalItems(), JobManagerCursors::newTaskCoreCursorFrom
+                ));
             }
 
-            Pair<List<com.netflix.titus.api.jobmanager.model.job.Task>, Pagination> queryResult = PaginationUtil.takePageWithCursorAndKeyExtractor(
-                    toPage(taskQuery.getPage()),
-                    allFilteredTasks,
-                    JobComparators::createTaskKeyOf,
-                    JobManagerCursors::coreTaskIndexOf,
-                    JobManagerCursors::newTaskCoreCursorFrom
-            );
-
             List<Task> grpcTasks = new ArrayList<>();
             for (com.netflix.titus.api.jobmanager.model.job.Task task : queryResult.getLeft()) {
                 Task toGrpcTask = grpcObjectsCache.getTask(task);
@@ -714,6 +733,10 @@ public class DefaultJobManagementServiceGrpc extends JobManagementServiceGrpc.Jo
         return Collections.emptySet();
     }
 
+    private static Pair<String, Long> decodeCursor(com.netflix.titus.api.model.Page page) {
+        return JobManagerCursors.decode(page.getCursor()).orElseThrow(() -> new IllegalArgumentException("Invalid cursor: " + page.getCursor()));
+    }
+
     private JobQueryResult toJobQueryResult(List<Job> jobs, Pagination runtimePagination) {
         return JobQueryResult.newBuilder()
                 .addAllItems(jobs)
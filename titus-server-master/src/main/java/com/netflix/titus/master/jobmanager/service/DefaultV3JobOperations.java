@@ -24,9 +24,12 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.PreDestroy;
@@ -34,8 +37,11 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import com.netflix.spectator.api.patterns.PolledMeter;
 import com.netflix.titus.api.FeatureActivationConfiguration;
 import com.netflix.titus.api.jobmanager.JobAttributes;
@@ -56,8 +62,11 @@ import com.netflix.titus.api.jobmanager.model.job.event.JobManagerEvent;
 import com.netflix.titus.api.jobmanager.model.job.event.JobUpdateEvent;
 import com.netflix.titus.api.jobmanager.model.job.event.TaskUpdateEvent;
 import com.netflix.titus.api.jobmanager.model.job.ext.ServiceJobExt;
+import com.netflix.titus.api.jobmanager.service.CursorQueryResult;
 import com.netflix.titus.api.jobmanager.service.JobManagerConstants;
 import com.netflix.titus.api.jobmanager.service.JobManagerException;
+import com.netflix.titus.api.jobmanager.service.JobModelView;
+import com.netflix.titus.api.jobmanager.service.LazyJobModelView;
 import com.netflix.titus.api.jobmanager.service.V3JobOperations;
 import com.netflix.titus.api.jobmanager.store.JobStore;
 import com.netflix.titus.api.model.callmetadata.CallMetadata;
@@ -95,6 +104,8 @@ import com.netflix.titus.master.jobmanager.service.service.action.MoveTaskBetwee
 import com.netflix.titus.master.service.management.ManagementSubsystemInitializer;
 import com.netflix.titus.runtime.endpoint.metadata.CallMetadataUtils;
 import com.netflix.titus.runtime.endpoint.v3.grpc.GrpcJobManagementModelConverters;
+import com.netflix.titus.runtime.jobmanager.JobCursorCounts;
+import com.netflix.titus.runtime.jobmanager.JobCursorIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
@@ -115,10 +126,19 @@ public class DefaultV3JobOperations implements V3JobOperations {
 
     private static final String METRIC_EVENT_STREAM_LAST_ERROR = MetricConstants.METRIC_ROOT + "jobManager.eventStreamLastError";
 
-    enum IndexKind {StatusCreationTime}
+    enum IndexKind {
+        StatusCreationTime,
+        /**
+         * Jobs and tasks in the pagination cursor order (creation time first, id second).
+         */
+        CreationTime
+    }
 
     private static final long RECONCILER_SHUTDOWN_TIMEOUT_MS = 30_000;
 
+    private static final int CURSOR_COUNTS_CACHE_SIZE = 100;
+    private static final long CURSOR_COUNTS_CACHE_EXPIRY_MS = 60_000;
+
     private final JobStore store;
     private final JobManagerConfiguration jobManagerConfiguration;
     private final JobServiceRuntime runtime;
@@ -130,6 +150,18 @@ public class DefaultV3JobOperations implements V3JobOperations {
     private final EntitySanitizer entitySanitizer;
     private final VersionSupplier versionSupplier;
 
+    private final AtomicReference<LazyJobModelView<EntityHolder>> jobModelViewRef = new AtomicReference<>();
+
+    /**
+     * Cursor query counts keyed by the query predicate. Each value is valid only for the reconciliation framework
+     * index version (ordered view instance) it was computed for, so subsequent pages of a query evaluate the predicate
+     * for all jobs or tasks only if the job data changed in between.
+     */
+    private final Cache<Predicate<?>, Pair<List<EntityHolder>, JobCursorCounts>> cursorCountsCache = CacheBuilder.newBuilder()
+            .maximumSize(CURSOR_COUNTS_CACHE_SIZE)
+            .expireAfterWrite(CURSOR_COUNTS_CACHE_EXPIRY_MS, TimeUnit.MILLISECONDS)
+            .build();
+
     private ReconciliationFramework<JobManagerReconcilerEvent> reconciliationFramework;
     private Subscription transactionLoggerSubscription;
     private Subscription reconcilerEventSubscription;
@@ -168,7 +200,7 @@ public class DefaultV3JobOperations implements V3JobOperations {
         // As we cannot fix the underlying issue yet, we have to be able to discover when it happens.
         AtomicLong eventStreamLastError = new AtomicLong();
         Clock clock = titusRuntime.getClock();
-        this.transactionLoggerSubscription = JobTransactionLogger.logEvents(reconciliationFramework, eventStreamLastError, clock);
+        this.transactionLoggerSubscription = JobTransactionLogger.logEvents(reconciliationFramework, eventStreamLastError, clock, titusRuntime.getRegistry());
         PolledMeter.using(titusRuntime.getRegistry())
                 .withName(METRIC_EVENT_STREAM_LAST_ERROR)
                 .monitorValue(eventStreamLastError, value -> value.get() <= 0 ? 0 : clock.wallTime() - value.get());
@@ -301,6 +333,34 @@ public class DefaultV3JobOperations implements V3JobOperations {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * The view wraps the job entity holders from the reconciliation framework index, which are immutable. A new view
+     * is created only when the index changes.
+     * <p>
+     * Only views stored in {@link #jobModelViewRef} are returned, so a view version always identifies the same
+     * content. The current view is read before the index, so a view built from an older index can never replace
+     * a newer one.
+     */
+    @Override
+    public JobModelView getJobModelView() {
+        while (true) {
+            LazyJobModelView<EntityHolder> current = jobModelViewRef.get();
+            List<EntityHolder> jobHolders = reconciliationFramework.orderedView(IndexKind.StatusCreationTime);
+            if (current != null && current.getSource() == jobHolders) {
+                return current;
+            }
+            LazyJobModelView<EntityHolder> next = new LazyJobModelView<>(
+                    current == null ? 1 : current.getVersion() + 1,
+                    jobHolders,
+                    EntityHolder::getEntity,
+                    jobHolder -> Lists.transform(jobHolder.getChildren(), EntityHolder::getEntity)
+            );
+            if (jobModelViewRef.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
     @Override
     public List<Job<?>> findJobs(Predicate<Pair<Job<?>, List<Task>>> queryPredicate, int offset, int limit) {
         if (limit <= 0) {
@@ -361,6 +421,57 @@ public class DefaultV3JobOperations implements V3JobOperations {
         return result;
     }
 
+    @Override
+    public CursorQueryResult<Job<?>> findJobsAfter(Predicate<Pair<Job<?>, List<Task>>> queryPredicate, long cursorTimestamp, String cursorId, int limit) {
+        List<EntityHolder> jobHolders = reconciliationFramework.orderedView(IndexKind.CreationTime);
+        Function<EntityHolder, List<Task>> tasksAccessor = jobHolder -> Lists.transform(jobHolder.getChildren(), EntityHolder::getEntity);
+        return JobCursorIndex.findJobsAfter(
+                jobHolders,
+                EntityHolder::getEntity,
+                tasksAccessor,
+                queryPredicate,
+                cursorTimestamp,
+                cursorId,
+                limit,
+                () -> getCursorCounts(queryPredicate, jobHolders,
+                        () -> JobCursorCounts.forJobs(jobHolders, EntityHolder::getEntity, tasksAccessor, queryPredicate)
+                )
+        );
+    }
+
+    /**
+     * The tasks of each job are kept in the cursor order by the job reconciliation engine index.
+     */
+    @Override
+    public CursorQueryResult<Pair<Job<?>, Task>> findTasksAfter(Predicate<Pair<Job<?>, Task>> queryPredicate, long cursorTimestamp, String cursorId, int limit) {
+        List<EntityHolder> jobHolders = reconciliationFramework.orderedView(IndexKind.CreationTime);
+        return JobCursorIndex.findTasksAfter(
+                jobHolders,
+                EntityHolder::getEntity,
+                jobHolder -> reconciliationFramework.findEngineByRootId(jobHolder.getId())
+                        .map(engine -> Lists.transform(engine.orderedView(IndexKind.CreationTime), EntityHolder::<Task>getEntity))
+                        .orElse(Collections.emptyList()),
+                queryPredicate,
+                cursorTimestamp,
+                cursorId,
+                limit,
+                () -> getCursorCounts(queryPredicate, jobHolders,
+                        () -> JobCursorCounts.forTasks(jobHolders, EntityHolder::getEntity,
+                                jobHolder -> Lists.transform(jobHolder.getChildren(), EntityHolder::getEntity), queryPredicate)
+                )
+        );
+    }
+
+    private JobCursorCounts getCursorCounts(Predicate<?> queryPredicate, List<EntityHolder> jobHolders, Supplier<JobCursorCounts> countsSupplier) {
+        Pair<List<EntityHolder>, JobCursorCounts> cached = cursorCountsCache.getIfPresent(queryPredicate);
+        if (cached != null && cached.getLeft() == jobHolders) {
+            return cached.getRight();
+        }
+        JobCursorCounts counts = countsSupplier.get();
+        cursorCountsCache.put(queryPredicate, Pair.of(jobHolders, counts));
+        return counts;
+    }
+
     @Override
     public Optional<Pair<Job<?>, Task>> findTaskById(String taskId) {
         return reconciliationFramework.findEngineByChildId(taskId)
@@ -17,12 +17,11 @@
 package com.netflix.titus.master.jobmanager.service;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -34,23 +33,21 @@ import com.netflix.spectator.api.Gauge;
 import com.netflix.spectator.api.Id;
 import com.netflix.spectator.api.Registry;
 import com.netflix.titus.api.jobmanager.model.job.Job;
-import com.netflix.titus.api.jobmanager.model.job.JobFunctions;
 import com.netflix.titus.api.jobmanager.model.job.Task;
 import com.netflix.titus.api.jobmanager.model.job.TaskState;
-import com.netflix.titus.api.jobmanager.model.job.TaskStatus;
 import com.netflix.titus.api.jobmanager.model.job.event.TaskUpdateEvent;
 import com.netflix.titus.api.jobmanager.service.V3JobOperations;
 import com.netflix.titus.api.model.ApplicationSLA;
 import com.netflix.titus.api.model.Tier;
 import com.netflix.titus.common.util.CollectionsExt;
 import com.netflix.titus.common.util.DateTimeExt;
-import com.netflix.titus.common.util.StringExt;
 import com.netflix.titus.common.util.guice.annotation.Activator;
 import com.netflix.titus.common.util.histogram.Histogram;
 import com.netflix.titus.common.util.histogram.HistogramDescriptor;
 import com.netflix.titus.common.util.rx.ObservableExt;
 import com.netflix.titus.common.util.tuple.Pair;
 import com.netflix.titus.master.MetricConstants;
+import com.netflix.titus.master.jobmanager.service.JobAndTaskMetricsAggregator.JobCategory;
 import com.netflix.titus.master.service.management.ApplicationSlaManagementService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,9 +56,10 @@ import rx.Subscription;
 import rx.schedulers.Schedulers;
 
 /**
- * Supplementary metrics based on both job/task state, and elapsed time. These metrics cannot be computed only
- * in response to system state change events. Instead, they are recomputed at regular interval.
- * <p>
+ * Supplementary metrics based on both job/task state, and elapsed time. The job and task aggregates are maintained
+ * from the job manager event stream (see {@link JobAndTaskMetricsAggregator}), and published at regular interval, as
+ * the time spent by tasks in their current state changes without any events. The aggregates are rebuilt from
+ * the job manager cache at a much lower frequency, to correct any drift.
  */
 @Singleton
 public class JobAndTaskMetrics {
@@ -75,13 +73,15 @@ public class JobAndTaskMetrics {
     private static final String TASK_IN_STATE_METRIC_NAME = TASK_IN_STATE_ROOT_METRIC_NAME + "duration";
     private static final String TASK_STATE_CHANGE_METRIC_NAME = MetricConstants.METRIC_ROOT + "jobManager.taskStateUpdates";
 
-    private static final List<String> TRACKED_STATES = Arrays.asList(
-            TaskState.Accepted.name(),
-            TaskState.Launched.name(),
-            TaskState.StartInitiated.name(),
-            TaskState.Started.name(),
-            TaskState.KillInitiated.name()
-    );
+    private static final Set<TaskState> TRACKED_TASK_STATES = Collections.unmodifiableSet(EnumSet.of(
+            TaskState.Accepted,
+            TaskState.Launched,
+            TaskState.StartInitiated,
+            TaskState.Started,
+            TaskState.KillInitiated
+    ));
+
+    private static final List<String> TRACKED_STATES = TRACKED_TASK_STATES.stream().map(TaskState::name).collect(Collectors.toList());
 
     private static final HistogramDescriptor HISTOGRAM_DESCRIPTOR = HistogramDescriptor.histogramOf(
             TimeUnit.MINUTES.toMillis(1),
@@ -102,13 +102,15 @@ public class JobAndTaskMetrics {
     private final JobManagerConfiguration configuration;
     private final Registry registry;
 
+    private final JobAndTaskMetricsAggregator aggregator = new JobAndTaskMetricsAggregator(TRACKED_TASK_STATES);
     private final Map<String, Map<String, List<Gauge>>> capacityGroupsMetrics = new HashMap<>();
     private final Id jobCountLimitId;
     private final Id jobCountId;
     private final Id taskCountId;
 
     private Subscription taskLivenessRefreshSubscription;
-    private Subscription taskStateUpdateSubscription;
+    private Subscription reconciliationSubscription;
+    private volatile Subscription taskStateUpdateSubscription;
 
     @Inject
     public JobAndTaskMetrics(ApplicationSlaManagementService applicationSlaManagementService,
@@ -128,15 +130,16 @@ public class JobAndTaskMetrics {
     @Activator
     public void enterActiveMode() {
         long intervalMs = Math.max(1_000, configuration.getTaskLivenessPollerIntervalMs());
+        long reconciliationIntervalMs = Math.max(intervalMs, configuration.getJobAndTaskMetricsReconciliationIntervalMs());
 
-        this.taskStateUpdateSubscription = v3JobOperations.observeJobs().subscribe(
-                event -> {
-                    if (event instanceof TaskUpdateEvent) {
-                        updateTaskMetrics((TaskUpdateEvent) event);
-                    }
-                },
-                e -> logger.error("Event stream terminated with an error", e),
-                () -> logger.info("Event stream completed")
+        subscribeToEvents();
+
+        // The first reconciliation builds the initial state.
+        this.reconciliationSubscription = ObservableExt.schedule(
+                TASK_IN_STATE_ROOT_METRIC_NAME + "scheduler", registry, "JobAndTaskMetricsReconciliationAction",
+                Completable.fromAction(this::reconcile), 0, reconciliationIntervalMs, TimeUnit.MILLISECONDS, Schedulers.computation()
+        ).subscribe(result ->
+                result.ifPresent(error -> logger.warn("Job and task metrics reconciliation error", error))
         );
 
         this.taskLivenessRefreshSubscription = ObservableExt.schedule(
@@ -149,10 +152,32 @@ public class JobAndTaskMetrics {
 
     @PreDestroy
     public void shutdown() {
-        ObservableExt.safeUnsubscribe(taskStateUpdateSubscription, taskLivenessRefreshSubscription);
+        ObservableExt.safeUnsubscribe(taskStateUpdateSubscription, reconciliationSubscription, taskLivenessRefreshSubscription);
         registry.gauge(jobCountLimitId).set(0);
     }
 
+    private void subscribeToEvents() {
+        this.taskStateUpdateSubscription = v3JobOperations.observeJobs().subscribe(
+                event -> {
+                    aggregator.apply(event);
+                    if (event instanceof TaskUpdateEvent) {
+                        updateTaskMetrics((TaskUpdateEvent) event);
+                    }
+                },
+                e -> logger.error("Event stream terminated with an error", e),
+                () -> logger.info("Event stream completed")
+        );
+    }
+
+    private void reconcile() {
+        // Events missed while the event stream was not subscribed are recovered by the reconciliation below.
+        if (taskStateUpdateSubscription == null || taskStateUpdateSubscription.isUnsubscribed()) {
+            logger.info("Resubscribing to the job manager event stream");
+            subscribeToEvents();
+        }
+        aggregator.reconcile(v3JobOperations::getJobsAndTasks);
+    }
+
     private void updateTaskMetrics(TaskUpdateEvent event) {
         Job<?> job = event.getCurrentJob();
         Task task = event.getCurrentTask();
@@ -170,15 +195,11 @@ public class JobAndTaskMetrics {
     private void refresh() {
         Map<String, Tier> tierMap = buildTierMap();
 
-        List<Pair<Job, List<Task>>> jobsAndTasks = v3JobOperations.getJobsAndTasks();
-        List<Job> jobs = v3JobOperations.getJobs();
-        List<Task> tasks = v3JobOperations.getTasks();
-
         registry.gauge(jobCountLimitId).set(configuration.getMaxActiveJobs());
-        updateJobCounts(jobsAndTasks);
-        updateTaskCounts(tasks);
+        updateJobCounts();
+        updateTaskCounts();
 
-        Map<String, Map<String, Histogram.Builder>> capacityGroupsHistograms = buildCapacityGroupsHistograms(tierMap.keySet(), jobs);
+        Map<String, Map<String, Histogram.Builder>> capacityGroupsHistograms = buildCapacityGroupsHistograms(tierMap.keySet());
         resetDroppedCapacityGroups(capacityGroupsHistograms.keySet());
         updateCapacityGroupCounters(capacityGroupsHistograms, tierMap);
     }
@@ -247,55 +268,23 @@ public class JobAndTaskMetrics {
         return gauges;
     }
 
-    /**
-     * Traverse all active jobs and update the count metrics
-     */
-    private void updateJobCounts(List<Pair<Job, List<Task>>> jobsAndTasks) {
-        int emptyJobs = 0;
-        int serviceJobsOwnedByKubeScheduler = 0;
-        int batchJobsOwnedByKubeScheduler = 0;
-
-        for (Pair<Job, List<Task>> jobAndTasks : jobsAndTasks) {
-            Job job = jobAndTasks.getLeft();
-            List<Task> tasks = jobAndTasks.getRight();
-
-            if (JobFunctions.getJobDesiredSize(job) == 0) {
-                emptyJobs++;
-            } else {
-                boolean serviceJob = JobFunctions.isServiceJob(job);
-                if (serviceJob) {
-                    serviceJobsOwnedByKubeScheduler++;
-                } else {
-                    batchJobsOwnedByKubeScheduler++;
-                }
-            }
-        }
-
-        registry.gauge(jobCountId.withTag("emptyJobs", "true")).set(emptyJobs);
+    private void updateJobCounts() {
+        registry.gauge(jobCountId.withTag("emptyJobs", "true")).set(aggregator.getJobCount(JobCategory.Empty));
 
         registry.gauge(jobCountId.withTags(
                 "jobType", "service",
                 "kubeScheduler", "true"
-        )).set(serviceJobsOwnedByKubeScheduler);
+        )).set(aggregator.getJobCount(JobCategory.Service));
 
         registry.gauge(jobCountId.withTags(
                 "jobType", "batch",
                 "kubeScheduler", "true"
-        )).set(batchJobsOwnedByKubeScheduler);
+        )).set(aggregator.getJobCount(JobCategory.Batch));
     }
 
-    /**
-     * Traverse all tasks and update the count metrics
-     */
-    private void updateTaskCounts(List<Task> tasks) {
-        int tasksOwnedByKubeScheduler = 0;
-        int tasksWithPodCreated = 0;
-        for (Task task : tasks) {
-            tasksOwnedByKubeScheduler++;
-            if (TaskStatus.hasPod(task)) {
-                tasksWithPodCreated++;
-            }
-        }
+    private void updateTaskCounts() {
+        int tasksOwnedByKubeScheduler = aggregator.getTaskCount();
+        int tasksWithPodCreated = aggregator.getTasksWithPodCount();
         registry.gauge(taskCountId.withTags(
                 "kubeScheduler", "true",
                 "podCreated", "true"
@@ -305,55 +294,25 @@ public class JobAndTaskMetrics {
                 "podCreated", "false"
         )).set(tasksOwnedByKubeScheduler - tasksWithPodCreated);
 
-        registry.gauge(taskCountId.withTag("kubeScheduler", "false")).set(tasks.size() - tasksOwnedByKubeScheduler);
+        registry.gauge(taskCountId.withTag("kubeScheduler", "false")).set(0);
     }
 
     /**
-     * Traverse all active tasks and collect their state and the time they stayed in this state (the latter in form of histogram).
+     * Collects the number of active tasks in each state, and the time they stayed in this state (the latter in form of histogram).
      *
      * @return mapOf(capacityGroupName - > mapOf ( taskState, histogram))
      */
-    private Map<String, Map<String, Histogram.Builder>> buildCapacityGroupsHistograms(Set<String> capacityGroups, List<Job> jobs) {
+    private Map<String, Map<String, Histogram.Builder>> buildCapacityGroupsHistograms(Set<String> capacityGroups) {
         Map<String, Map<String, Histogram.Builder>> capacityGroupsHistograms = newCapacityHistograms(capacityGroups);
-        jobs.forEach(job -> resolveCapacityGroup(job, capacityGroupsHistograms).ifPresent(capacityGroup ->
-                buildCapacityGroupHistogram(job, capacityGroup, capacityGroupsHistograms)
-        ));
+        aggregator.addLivenessHistograms(
+                capacityGroupsHistograms,
+                capacityGroup -> capacityGroups.contains(capacityGroup) ? capacityGroup : ApplicationSlaManagementService.DEFAULT_APPLICATION,
+                HISTOGRAM_DESCRIPTOR,
+                System.currentTimeMillis()
+        );
         return capacityGroupsHistograms;
     }
 
-    private void buildCapacityGroupHistogram(Job<?> job, String capacityGroup, Map<String, Map<String, Histogram.Builder>> capacityGroupsHistograms) {
-        // 'capacityGroupsHistograms' is pre-initialized, but to avoid race condition we make extra check here.
-        Map<String, Histogram.Builder> capacityGroupHistograms = capacityGroupsHistograms.computeIfAbsent(capacityGroup, k -> new HashMap<>());
-        List<Task> tasks;
-        try {
-            tasks = v3JobOperations.getTasks(job.getId());
-        } catch (Exception e) {
-            // We work on live data, which may be removed at any point in time.
-            return;
-        }
-        tasks.forEach(task -> {
-            long timestamp = task.getStatus().getTimestamp();
-            if (timestamp > 0) {
-                long durationMs = System.currentTimeMillis() - timestamp;
-                capacityGroupHistograms.computeIfAbsent(
-                        task.getStatus().getState().name(),
-                        name -> Histogram.newBuilder(HISTOGRAM_DESCRIPTOR)
-                ).increment(durationMs);
-            }
-        });
-    }
-
-    private Optional<String> resolveCapacityGroup(Job<?> job, Map<String, Map<String, Histogram.Builder>> capacityHistograms) {
-        String capacityGroup = job.getJobDescriptor().getCapacityGroup();
-        if (StringExt.isEmpty(capacityGroup)) {
-            capacityGroup = job.getJobDescriptor().getApplicationName();
-        }
-        if (StringExt.isEmpty(capacityGroup)) {
-            return Optional.of(ApplicationSlaManagementService.DEFAULT_APPLICATION);
-        }
-        return Optional.of(capacityHistograms.containsKey(capacityGroup) ? capacityGroup : ApplicationSlaManagementService.DEFAULT_APPLICATION);
-    }
-
     private Map<String, Tier> buildTierMap() {
         return applicationSlaManagementService.getApplicationSLAs().stream()
                 .collect(Collectors.toMap(ApplicationSLA::getAppName, ApplicationSLA::getTier));
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.titus.master.jobmanager.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.JobFunctions;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.TaskState;
+import com.netflix.titus.api.jobmanager.model.job.TaskStatus;
+import com.netflix.titus.api.jobmanager.model.job.event.JobManagerEvent;
+import com.netflix.titus.api.jobmanager.model.job.event.JobUpdateEvent;
+import com.netflix.titus.api.jobmanager.model.job.event.TaskUpdateEvent;
+import com.netflix.titus.common.util.StringExt;
+import com.netflix.titus.common.util.histogram.Histogram;
+import com.netflix.titus.common.util.histogram.HistogramDescriptor;
+import com.netflix.titus.common.util.tuple.Pair;
+import com.netflix.titus.master.service.management.ApplicationSlaManagementService;
+
+/**
+ * Job and task aggregates backing {@link JobAndTaskMetrics}, updated incrementally from the job manager events.
+ * Each event is applied in constant time. Task liveness is kept as the number of tasks per capacity group, task state,
+ * and a time slot in which the task entered its current state. The liveness histograms are built from these counters,
+ * without visiting individual tasks.
+ * <p>
+ * As events can be lost (for example when the event stream is restarted), the whole state is periodically rebuilt
+ * from the job manager cache (see {@link #reconcile(Supplier)}).
+ */
+class JobAndTaskMetricsAggregator {
+
+    /**
+     * Resolution of the task state timestamps. It is well below the smallest liveness histogram bucket (1 minute).
+     */
+    static final long SLOT_MS = 10_000;
+
+    private final Set<TaskState> trackedStates;
+
+    private State state = new State();
+
+    /**
+     * Events received while the reconciliation snapshot is built. They are applied again on top of the new state.
+     */
+    private List<JobManagerEvent<?>> pendingEvents;
+
+    JobAndTaskMetricsAggregator(Set<TaskState> trackedStates) {
+        this.trackedStates = trackedStates;
+    }
+
+    synchronized void apply(JobManagerEvent<?> event) {
+        if (pendingEvents != null) {
+            pendingEvents.add(event);
+        }
+        state.apply(event);
+    }
+
+    /**
+     * Rebuilds the state from the given snapshot. Events applied concurrently with the snapshot build are not lost.
+     */
+    void reconcile(Supplier<List<Pair<Job, List<Task>>>> snapshotSupplier) {
+        synchronized (this) {
+            this.pendingEvents = new ArrayList<>();
+        }
+        State newState = new State();
+        try {
+            for (Pair<Job, List<Task>> jobAndTasks : snapshotSupplier.get()) {
+                Job<?> job = jobAndTasks.getLeft();
+                newState.applyJob(job, false);
+                jobAndTasks.getRight().forEach(task -> newState.applyTask(job, task, false));
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                this.pendingEvents = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            pendingEvents.forEach(newState::apply);
+            this.pendingEvents = null;
+            this.state = newState;
+        }
+    }
+
+    synchronized int getJobCount(JobCategory category) {
+        return state.jobCounts[category.ordinal()];
+    }
+
+    synchronized int getTaskCount() {
+        return state.tasks.size();
+    }
+
+    synchronized int getTasksWithPodCount() {
+        return state.tasksWithPod;
+    }
+
+    /**
+     * Adds task liveness to the histograms keyed by capacity group and task state name. The capacity group names
+     * recorded in the tasks are mapped by the provided resolver (for example to the default capacity group, if the
+     * capacity group does not exist).
+     */
+    synchronized void addLivenessHistograms(Map<String, Map<String, Histogram.Builder>> capacityGroupsHistograms,
+                                            Function<String, String> capacityGroupResolver,
+                                            HistogramDescriptor histogramDescriptor,
+                                            long now) {
+        state.liveness.forEach((capacityGroup, byState) -> {
+            Map<String, Histogram.Builder> histograms = capacityGroupsHistograms.computeIfAbsent(
+                    capacityGroupResolver.apply(capacityGroup), k -> new HashMap<>()
+            );
+            byState.forEach((taskState, bySlot) -> {
+                Histogram.Builder builder = histograms.computeIfAbsent(taskState.name(), name -> Histogram.newBuilder(histogramDescriptor));
+                bySlot.forEach((slot, count) -> builder.add(now - slot * SLOT_MS, count));
+            });
+        });
+    }
+
+    static String capacityGroupOf(Job<?> job) {
+        String capacityGroup = job.getJobDescriptor().getCapacityGroup();
+        if (StringExt.isEmpty(capacityGroup)) {
+            capacityGroup = job.getJobDescriptor().getApplicationName();
+        }
+        return StringExt.isEmpty(capacityGroup) ? ApplicationSlaManagementService.DEFAULT_APPLICATION : capacityGroup;
+    }
+
+    enum JobCategory {
+        Empty,
+        Service,
+        Batch;
+
+        static JobCategory of(Job<?> job) {
+            if (JobFunctions.getJobDesiredSize(job) == 0) {
+                return Empty;
+            }
+            return JobFunctions.isServiceJob(job) ? Service : Batch;
+        }
+    }
+
+    private static class TaskEntry {
+
+        private final String capacityGroup;
+        private final TaskState taskState;
+        private final long slot;
+        private final boolean podCreated;
+
+        private TaskEntry(String capacityGroup, TaskState taskState, long slot, boolean podCreated) {
+            this.capacityGroup = capacityGroup;
+            this.taskState = taskState;
+            this.slot = slot;
+            this.podCreated = podCreated;
+        }
+    }
+
+    private class State {
+
+        private final Map<String, JobCategory> jobs = new HashMap<>();
+        private final int[] jobCounts = new int[JobCategory.values().length];
+        private final Map<String, TaskEntry> tasks = new HashMap<>();
+        private int tasksWithPod;
+
+        /**
+         * Capacity group -> task state -> state entry time slot -> number of tasks.
+         */
+        private final Map<String, Map<TaskState, Map<Long, Integer>>> liveness = new HashMap<>();
+
+        private void apply(JobManagerEvent<?> event) {
+            if (event instanceof JobUpdateEvent) {
+                applyJob(((JobUpdateEvent) event).getCurrent(), event.isArchived());
+            } else if (event instanceof TaskUpdateEvent) {
+                TaskUpdateEvent taskEvent = (TaskUpdateEvent) event;
+                applyTask(taskEvent.getCurrentJob(), taskEvent.getCurrentTask(), event.isArchived());
+            }
+        }
+
+        private void applyJob(Job<?> job, boolean archived) {
+            JobCategory previous = archived ? jobs.remove(job.getId()) : jobs.put(job.getId(), JobCategory.of(job));
+            if (previous != null) {
+                jobCounts[previous.ordinal()]--;
+            }
+            if (!archived) {
+                jobCounts[jobs.get(job.getId()).ordinal()]++;
+            }
+        }
+
+        private void applyTask(Job<?> job, Task task, boolean archived) {
+            TaskEntry previous = tasks.remove(task.getId());
+            if (previous != null) {
+                remove(previous);
+            }
+            if (!archived) {
+                TaskEntry entry = newTaskEntry(job, task);
+                tasks.put(task.getId(), entry);
+                add(entry);
+            }
+        }
+
+        private TaskEntry newTaskEntry(Job<?> job, Task task) {
+            TaskState taskState = task.getStatus().getState();
+            long timestamp = task.getStatus().getTimestamp();
+            long slot = timestamp > 0 && trackedStates.contains(taskState) ? timestamp / SLOT_MS : -1;
+            return new TaskEntry(capacityGroupOf(job), taskState, slot, TaskStatus.hasPod(task));
+        }
+
+        private void add(TaskEntry entry) {
+            if (entry.podCreated) {
+                tasksWithPod++;
+            }
+            if (entry.slot >= 0) {
+                liveness.computeIfAbsent(entry.capacityGroup, k -> new EnumMap<>(TaskState.class))
+                        .computeIfAbsent(entry.taskState, k -> new HashMap<>())
+                        .merge(entry.slot, 1, Integer::sum);
+            }
+        }
+
+        private void remove(TaskEntry entry) {
+            if (entry.podCreated) {
+                tasksWithPod--;
+            }
+            if (entry.slot < 0) {
+                return;
+            }
+            Map<TaskState, Map<Long, Integer>> byState = liveness.get(entry.capacityGroup);
+            if (byState == null) {
+                return;
+            }
+            Map<Long, Integer> bySlot = byState.get(entry.taskState);
+            if (bySlot == null) {
+                return;
+            }
+            bySlot.computeIfPresent(entry.slot, (slot, count) -> count > 1 ? count - 1 : null);
+            if (bySlot.isEmpty()) {
+                byState.remove(entry.taskState);
+                if (byState.isEmpty()) {
+                    liveness.remove(entry.capacityGroup);
+                }
+            }
+        }
+    }
+}
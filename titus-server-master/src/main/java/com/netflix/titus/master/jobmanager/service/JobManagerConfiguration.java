@@ -97,12 +97,27 @@ public interface JobManagerConfiguration {
     @DefaultValue("10000")
     long getTaskLivenessPollerIntervalMs();
 
+    /**
+     * Interval at which the job and task metrics aggregates, maintained from the job manager events, are rebuilt
+     * from the job manager cache.
+     */
+    @DefaultValue("300000")
+    long getJobAndTaskMetricsReconciliationIntervalMs();
+
     /**
      * Feature flag controlling job/task validation process.
      */
     @DefaultValue("false")
     boolean isFailOnDataValidation();
 
+    /**
+     * If enabled, a non-leader TitusMaster follows the job event stream of the leader, and validates the replicated
+     * jobs and tasks in advance. After the leader election, the store records with an already validated version are
+     * not validated again.
+     */
+    @DefaultValue("false")
+    boolean isStandbyModeEnabled();
+
     @DefaultValue("1000")
     long getSystemRetryerMinDelayMs();
 
@@ -28,7 +28,9 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import com.google.common.collect.ImmutableMap;
 import com.netflix.spectator.api.BasicTag;
+import com.netflix.spectator.api.Counter;
 import com.netflix.spectator.api.Gauge;
 import com.netflix.spectator.api.Registry;
 import com.netflix.spectator.api.Tag;
@@ -66,6 +68,7 @@ import com.netflix.titus.master.jobmanager.service.common.action.task.TaskTimeou
 import com.netflix.titus.master.jobmanager.service.event.JobEventFactory;
 import com.netflix.titus.master.jobmanager.service.event.JobManagerReconcilerEvent;
 import com.netflix.titus.master.service.management.ApplicationSlaManagementService;
+import com.netflix.titus.runtime.jobmanager.JobComparators;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Observable;
@@ -96,8 +99,12 @@ public class JobReconciliationFrameworkFactory {
 
     private static final JobEventFactory JOB_EVENT_FACTORY = new JobEventFactory();
 
-    private static final Map<Object, Comparator<EntityHolder>> INDEX_COMPARATORS = Collections.singletonMap(
-            IndexKind.StatusCreationTime, JobReconciliationFrameworkFactory::compareByStatusCreationTime
+    /**
+     * Orderings of the job holders in the framework, and of the task holders in each job reconciliation engine.
+     */
+    public static final Map<Object, Comparator<EntityHolder>> INDEX_COMPARATORS = ImmutableMap.of(
+            IndexKind.StatusCreationTime, JobReconciliationFrameworkFactory::compareByStatusCreationTime,
+            IndexKind.CreationTime, JobReconciliationFrameworkFactory::compareByCreationTime
     );
 
     private final DifferenceResolver<JobManagerReconcilerEvent> dispatchingResolver;
@@ -112,10 +119,13 @@ public class JobReconciliationFrameworkFactory {
     private final Registry registry;
     private final Clock clock;
     private final Optional<Scheduler> optionalScheduler;
+    private final Optional<StandbyJobModel> standbyJobModel;
 
     private final Gauge loadedJobs;
     private final Gauge loadedTasks;
     private final Gauge storeLoadTimeMs;
+    private final Counter standbyValidatedJobs;
+    private final Counter standbyValidatedTasks;
 
     @Inject
     public JobReconciliationFrameworkFactory(JobManagerConfiguration jobManagerConfiguration,
@@ -127,11 +137,12 @@ public class JobReconciliationFrameworkFactory {
                                              @Named(JOB_PERMISSIVE_SANITIZER) EntitySanitizer permissiveEntitySanitizer,
                                              @Named(JOB_STRICT_SANITIZER) EntitySanitizer strictEntitySanitizer,
                                              VersionSupplier versionSupplier,
+                                             StandbyJobModel standbyJobModel,
                                              TitusRuntime titusRuntime) {
         this(jobManagerConfiguration, featureConfiguration, batchDifferenceResolver, serviceDifferenceResolver, store,
                 capacityGroupService,
                 permissiveEntitySanitizer, strictEntitySanitizer, versionSupplier,
-                titusRuntime, Optional.empty());
+                titusRuntime, Optional.empty(), Optional.of(standbyJobModel));
     }
 
     public JobReconciliationFrameworkFactory(JobManagerConfiguration jobManagerConfiguration,
@@ -145,6 +156,24 @@ public class JobReconciliationFrameworkFactory {
                                              VersionSupplier versionSupplier,
                                              TitusRuntime titusRuntime,
                                              Optional<Scheduler> optionalScheduler) {
+        this(jobManagerConfiguration, featureConfiguration, batchDifferenceResolver, serviceDifferenceResolver, store,
+                capacityGroupService,
+                permissiveEntitySanitizer, strictEntitySanitizer, versionSupplier,
+                titusRuntime, optionalScheduler, Optional.empty());
+    }
+
+    private JobReconciliationFrameworkFactory(JobManagerConfiguration jobManagerConfiguration,
+                                              FeatureActivationConfiguration featureConfiguration,
+                                              DifferenceResolver<JobManagerReconcilerEvent> batchDifferenceResolver,
+                                              DifferenceResolver<JobManagerReconcilerEvent> serviceDifferenceResolver,
+                                              JobStore store,
+                                              ApplicationSlaManagementService capacityGroupService,
+                                              EntitySanitizer permissiveEntitySanitizer,
+                                              EntitySanitizer strictEntitySanitizer,
+                                              VersionSupplier versionSupplier,
+                                              TitusRuntime titusRuntime,
+                                              Optional<Scheduler> optionalScheduler,
+                                              Optional<StandbyJobModel> standbyJobModel) {
         this.jobManagerConfiguration = jobManagerConfiguration;
         this.featureConfiguration = featureConfiguration;
         this.store = store;
@@ -153,6 +182,7 @@ public class JobReconciliationFrameworkFactory {
         this.strictEntitySanitizer = strictEntitySanitizer;
         this.versionSupplier = versionSupplier;
         this.optionalScheduler = optionalScheduler;
+        this.standbyJobModel = standbyJobModel;
         this.errorCollector = new InitializationErrorCollector(jobManagerConfiguration, titusRuntime);
         this.titusRuntime = titusRuntime;
         this.registry = titusRuntime.getRegistry();
@@ -161,6 +191,8 @@ public class JobReconciliationFrameworkFactory {
         this.loadedJobs = registry.gauge(ROOT_METRIC_NAME + "loadedJobs");
         this.loadedTasks = registry.gauge(ROOT_METRIC_NAME + "loadedTasks");
         this.storeLoadTimeMs = registry.gauge(ROOT_METRIC_NAME + "storeLoadTimeMs");
+        this.standbyValidatedJobs = registry.counter(ROOT_METRIC_NAME + "standbyValidatedJobs");
+        this.standbyValidatedTasks = registry.counter(ROOT_METRIC_NAME + "standbyValidatedTasks");
 
         this.dispatchingResolver = DifferenceResolvers.dispatcher(rootModel -> {
             Job<?> job = rootModel.getEntity();
@@ -176,6 +208,9 @@ public class JobReconciliationFrameworkFactory {
     }
 
     ReconciliationFramework<JobManagerReconcilerEvent> newInstance() {
+        // This instance is the leader now, so there is nothing to follow anymore.
+        standbyJobModel.ifPresent(StandbyJobModel::stopReplication);
+
         List<Pair<Job, List<Task>>> jobsAndTasks = loadJobsAndTasksFromStore(errorCollector);
 
         // initialize fenzo with running tasks
@@ -186,12 +221,13 @@ public class JobReconciliationFrameworkFactory {
             InternalReconciliationEngine<JobManagerReconcilerEvent> engine = newRestoredEngine(job, tasks);
             engines.add(engine);
             for (Task task : tasks) {
-                Optional<Task> validatedTask = validateTask(task);
+                Optional<Task> validatedTask = validateTask(job, task);
                 if (!validatedTask.isPresent()) {
                     errorCollector.invalidTaskRecord(task.getId());
                 }
             }
         }
+        standbyJobModel.ifPresent(StandbyJobModel::clear);
 
         errorCollector.failIfTooManyBadRecords();
 
@@ -322,6 +358,11 @@ public class JobReconciliationFrameworkFactory {
     }
 
     private Optional<Job> validateJob(Job job) {
+        if (standbyJobModel.isPresent() && standbyJobModel.get().isValidated(job)) {
+            standbyValidatedJobs.increment();
+            return Optional.of(job);
+        }
+
         // Perform strict validation for reporting purposes
         Set<ValidationError> strictViolations = strictEntitySanitizer.validate(job);
         if (!strictViolations.isEmpty()) {
@@ -349,7 +390,12 @@ public class JobReconciliationFrameworkFactory {
         return Optional.of(jobWithVersion);
     }
 
-    private Optional<Task> validateTask(Task task) {
+    private Optional<Task> validateTask(Job<?> job, Task task) {
+        if (standbyJobModel.isPresent() && standbyJobModel.get().isValidated(job, task)) {
+            standbyValidatedTasks.increment();
+            return Optional.of(task);
+        }
+
         // Perform strict validation for reporting purposes
         Set<ValidationError> strictViolations = strictEntitySanitizer.validate(task);
         if (!strictViolations.isEmpty()) {
@@ -387,4 +433,11 @@ public class JobReconciliationFrameworkFactory {
         Task task2 = holder2.getEntity();
         return Long.compare(task1.getStatus().getTimestamp(), task2.getStatus().getTimestamp());
     }
+
+    private static int compareByCreationTime(EntityHolder holder1, EntityHolder holder2) {
+        if (holder1.getEntity() instanceof Job) {
+            return JobComparators.getJobTimestampComparator().compare(holder1.getEntity(), holder2.getEntity());
+        }
+        return JobComparators.getTaskTimestampComparator().compare(holder1.getEntity(), holder2.getEntity());
+    }
 }
@@ -16,16 +16,16 @@
 
 package com.netflix.titus.master.jobmanager.service;
 
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
+import com.netflix.spectator.api.Registry;
 import com.netflix.titus.api.jobmanager.model.job.Task;
 import com.netflix.titus.api.jobmanager.service.V3JobOperations;
 import com.netflix.titus.common.framework.reconciler.ModelActionHolder;
 import com.netflix.titus.common.framework.reconciler.ModelActionHolder.Model;
 import com.netflix.titus.common.framework.reconciler.ReconciliationFramework;
 import com.netflix.titus.common.util.ExceptionExt;
-import com.netflix.titus.common.util.rx.ObservableExt;
+import com.netflix.titus.common.util.concurrency.AsyncRecordWriter;
 import com.netflix.titus.common.util.time.Clock;
 import com.netflix.titus.master.jobmanager.service.common.action.TitusChangeAction;
 import com.netflix.titus.master.jobmanager.service.common.action.TitusModelAction;
@@ -35,9 +35,9 @@ import com.netflix.titus.master.jobmanager.service.event.JobManagerReconcilerEve
 import com.netflix.titus.master.jobmanager.service.event.JobModelReconcilerEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import rx.Observable;
 import rx.Subscription;
-import rx.schedulers.Schedulers;
+import rx.subscriptions.CompositeSubscription;
+import rx.subscriptions.Subscriptions;
 
 /**
  * Log all events in the following format:
@@ -50,36 +50,54 @@ class JobTransactionLogger {
 
     private static final Logger logger = LoggerFactory.getLogger("JobTransactionLogger");
 
-    private static final long BUFFER_SIZE = 5000;
+    private static final int BUFFER_SIZE = 20_000;
 
     static Subscription logEvents(ReconciliationFramework<JobManagerReconcilerEvent> reconciliationFramework,
                                   AtomicLong lastErrorRef,
-                                  Clock clock) {
+                                  Clock clock,
+                                  Registry registry) {
         lastErrorRef.set(-1);
-        return eventStreamWithBackpressure(reconciliationFramework)
-                .observeOn(Schedulers.io())
+        AsyncRecordWriter<JobTransactionRecord> writer = new AsyncRecordWriter<>(
+                "jobTransactionLog",
+                BUFFER_SIZE,
+                JobTransactionRecord::getRecordType,
+                JobTransactionLogger::write,
+                registry
+        );
+        Subscription subscription = reconciliationFramework.events()
                 .retryWhen(errors -> errors.flatMap(
                         e -> {
                             // BUG: event stream breaks permanently, and cannot be retried.
                             // As we cannot fix the underlying issue yet, we have to be able to discover when it happens.
                             lastErrorRef.set(clock.wallTime());
                             logger.warn("Transactions may be missing in the log. The event stream has terminated with an error and must be re-subscribed: {}", ExceptionExt.toMessage(e));
-                            return eventStreamWithBackpressure(reconciliationFramework);
+                            return reconciliationFramework.events();
                         }))
                 .subscribe(
                         event -> {
                             if (event instanceof JobCheckpointReconcilerEvent) {
-                                logger.debug("Checkpoint: {}", event);
+                                if (logger.isDebugEnabled()) {
+                                    writer.write(JobTransactionRecord.eventOnly(event));
+                                }
                             } else {
-                                logger.info(doFormat(event));
+                                writer.write(toRecord(event));
                             }
                         },
                         e -> logger.error("Event stream terminated with an error", e),
                         () -> logger.info("Event stream completed")
                 );
+        return new CompositeSubscription(subscription, Subscriptions.create(writer::close));
     }
 
     static String doFormat(JobManagerReconcilerEvent event) {
+        return toRecord(event).format();
+    }
+
+    /**
+     * Copies the event data needed for the log line. Formatting is done later by the {@link AsyncRecordWriter}
+     * consumer thread.
+     */
+    static JobTransactionRecord toRecord(JobManagerReconcilerEvent event) {
         if (event instanceof JobChangeReconcilerEvent.JobBeforeChangeReconcilerEvent) {
             return logJobBeforeChangeReconcilerEvent((JobChangeReconcilerEvent.JobBeforeChangeReconcilerEvent) event);
         }
@@ -98,24 +116,24 @@ class JobTransactionLogger {
         if (event instanceof JobModelReconcilerEvent.JobModelUpdateErrorReconcilerEvent) {
             return logJobModelUpdateErrorReconcilerEvent((JobModelReconcilerEvent.JobModelUpdateErrorReconcilerEvent) event);
         }
-        return "Unknown event type: " + event.getClass();
+        return JobTransactionRecord.eventOnly(event);
     }
 
-    private static Observable<JobManagerReconcilerEvent> eventStreamWithBackpressure(ReconciliationFramework<JobManagerReconcilerEvent> reconciliationFramework) {
-        return ObservableExt.onBackpressureDropAndNotify(
-                reconciliationFramework.events(),
-                BUFFER_SIZE,
-                droppedCount -> logger.warn("Dropping events due to buffer overflow in job transaction log: droppedCount={}", droppedCount),
-                1, TimeUnit.SECONDS
-        );
+    private static void write(JobTransactionRecord record) {
+        if (record.isCheckpoint()) {
+            logger.debug("Checkpoint: {}", record.getEvent());
+        } else {
+            logger.info(record.format());
+        }
     }
 
-    private static String logJobBeforeChangeReconcilerEvent(JobChangeReconcilerEvent.JobBeforeChangeReconcilerEvent event) {
+    private static JobTransactionRecord logJobBeforeChangeReconcilerEvent(JobChangeReconcilerEvent.JobBeforeChangeReconcilerEvent event) {
         TitusChangeAction changeAction = event.getChangeAction();
         String jobId = event.getJob().getId();
         String entityId = changeAction.getId();
 
-        return doFormat(
+        return new JobTransactionRecord(
+                event,
                 jobId,
                 event.getTransactionId(),
                 "ok",
@@ -132,12 +150,13 @@ class JobTransactionLogger {
         );
     }
 
-    private static String logJobAfterChangeReconcilerEvent(JobChangeReconcilerEvent.JobAfterChangeReconcilerEvent event) {
+    private static JobTransactionRecord logJobAfterChangeReconcilerEvent(JobChangeReconcilerEvent.JobAfterChangeReconcilerEvent event) {
         TitusChangeAction changeAction = event.getChangeAction();
         String jobId = event.getJob().getId();
         String entityId = changeAction.getId();
 
-        return doFormat(
+        return new JobTransactionRecord(
+                event,
                 jobId,
                 event.getTransactionId(),
                 "ok",
@@ -154,12 +173,13 @@ class JobTransactionLogger {
         );
     }
 
-    private static String logJobChangeErrorReconcilerEvent(JobChangeReconcilerEvent.JobChangeErrorReconcilerEvent event) {
+    private static JobTransactionRecord logJobChangeErrorReconcilerEvent(JobChangeReconcilerEvent.JobChangeErrorReconcilerEvent event) {
         TitusChangeAction changeAction = event.getChangeAction();
         String jobId = event.getJob().getId();
         String entityId = changeAction.getId();
 
-        return doFormat(
+        return new JobTransactionRecord(
+                event,
                 jobId,
                 event.getTransactionId(),
                 "error",
@@ -176,9 +196,10 @@ class JobTransactionLogger {
         );
     }
 
-    private static String logJobNewModelReconcilerEvent(JobModelReconcilerEvent.JobNewModelReconcilerEvent event) {
+    private static JobTransactionRecord logJobNewModelReconcilerEvent(JobModelReconcilerEvent.JobNewModelReconcilerEvent event) {
         String jobId = event.getJob().getId();
-        return doFormat(
+        return new JobTransactionRecord(
+                event,
                 jobId,
                 event.getTransactionId(),
                 "ok",
@@ -195,7 +216,7 @@ class JobTransactionLogger {
         );
     }
 
-    private static String logJobModelUpdateReconcilerEvent(JobModelReconcilerEvent.JobModelUpdateReconcilerEvent event) {
+    private static JobTransactionRecord logJobModelUpdateReconcilerEvent(JobModelReconcilerEvent.JobModelUpdateReconcilerEvent event) {
         String jobId = event.getJob().getId();
         String entityId = event.getChangedEntityHolder().getId();
 
@@ -205,7 +226,8 @@ class JobTransactionLogger {
                 ? action.getSummary() + "; " + taskChangeSummary(event)
                 : action.getSummary();
 
-        return doFormat(
+        return new JobTransactionRecord(
+                event,
                 jobId,
                 event.getTransactionId(),
                 "ok",
@@ -224,16 +246,17 @@ class JobTransactionLogger {
 
     private static String taskChangeSummary(JobModelReconcilerEvent.JobModelUpdateReconcilerEvent event) {
         Task currentTask = event.getChangedEntityHolder().getEntity();
-        return String.format("Task{state=%s}", currentTask.getStatus().getState());
+        return "Task{state=" + currentTask.getStatus().getState() + '}';
     }
 
-    private static String logJobModelUpdateErrorReconcilerEvent(JobModelReconcilerEvent.JobModelUpdateErrorReconcilerEvent event) {
+    private static JobTransactionRecord logJobModelUpdateErrorReconcilerEvent(JobModelReconcilerEvent.JobModelUpdateErrorReconcilerEvent event) {
         String jobId = event.getJob().getId();
         String entityId = event.getPreviousEntityHolder().getId();
 
         ModelActionHolder actionHolder = event.getModelActionHolder();
         TitusModelAction action = (TitusModelAction) actionHolder.getAction();
-        return doFormat(
+        return new JobTransactionRecord(
+                event,
                 jobId,
                 event.getTransactionId(),
                 "error",
@@ -250,38 +273,104 @@ class JobTransactionLogger {
         );
     }
 
-    private static String doFormat(String jobId,
-                                   String transactionId,
-                                   String status,
-                                   String type,
-                                   String action,
-                                   V3JobOperations.Trigger trigger,
-                                   String targetName,
-                                   String entityId,
-                                   long waitTimeMs,
-                                   long executionTime,
-                                   String callerID,
-                                   String callReason,
-                                   String summary) {
-        return String.format(
-                "jobId=%s entity=%s transactionId=%-5s target=%-4s status=%-5s type=%-22s action=%-45s trigger=%-10s callerId=%-15s callReason=%-20s %-16s %-15s summary=%s",
-                jobId,
-                entityId,
-                transactionId,
-                targetName,
-                status,
-                type,
-                action,
-                trigger,
-                callerID,
-                callReason,
-                "waited=" + waitTimeMs + "ms",
-                "elapsed=" + executionTime + "ms",
-                summary
-        );
-    }
-
     private static String toTargetName(String jobId, String entityId) {
         return jobId.equals(entityId) ? "job" : "task";
     }
+
+    /**
+     * Compact copy of a job transaction event data. The event itself is kept only in the records that are logged as
+     * is, so buffered records do not hold on to the job and task models referenced by the events.
+     */
+    static class JobTransactionRecord {
+
+        private final String recordType;
+        private final boolean checkpoint;
+        private final JobManagerReconcilerEvent event;
+        private final String jobId;
+        private final String transactionId;
+        private final String status;
+        private final String type;
+        private final String action;
+        private final V3JobOperations.Trigger trigger;
+        private final String targetName;
+        private final String entityId;
+        private final long waitTimeMs;
+        private final long executionTime;
+        private final String callerId;
+        private final String callReason;
+        private final String summary;
+
+        private JobTransactionRecord(JobManagerReconcilerEvent source,
+                                     String jobId,
+                                     String transactionId,
+                                     String status,
+                                     String type,
+                                     String action,
+                                     V3JobOperations.Trigger trigger,
+                                     String targetName,
+                                     String entityId,
+                                     long waitTimeMs,
+                                     long executionTime,
+                                     String callerId,
+                                     String callReason,
+                                     String summary) {
+            this.recordType = source.getClass().getSimpleName();
+            this.checkpoint = source instanceof JobCheckpointReconcilerEvent;
+            this.event = jobId == null ? source : null;
+            this.jobId = jobId;
+            this.transactionId = transactionId;
+            this.status = status;
+            this.type = type;
+            this.action = action;
+            this.trigger = trigger;
+            this.targetName = targetName;
+            this.entityId = entityId;
+            this.waitTimeMs = waitTimeMs;
+            this.executionTime = executionTime;
+            this.callerId = callerId;
+            this.callReason = callReason;
+            this.summary = summary;
+        }
+
+        /**
+         * Record for events that are logged as is (checkpoints, unknown event types).
+         */
+        private static JobTransactionRecord eventOnly(JobManagerReconcilerEvent event) {
+            return new JobTransactionRecord(event, null, null, null, null, null, null, null, null, 0, 0, null, null, null);
+        }
+
+        private JobManagerReconcilerEvent getEvent() {
+            return event;
+        }
+
+        private String getRecordType() {
+            return recordType;
+        }
+
+        private boolean isCheckpoint() {
+            return checkpoint;
+        }
+
+        String format() {
+            if (jobId == null) {
+                return "Unknown event type: " + event.getClass();
+            }
+            return String.format(
+                    "jobId=%s entity=%s transactionId=%-5s target=%-4s status=%-5s type=%-22s action=%-45s trigger=%-10s callerId=%-15s callReason=%-20s %-16s %-15s summary=%s",
+                    jobId,
+                    entityId,
+                    transactionId,
+                    targetName,
+                    status,
+                    type,
+                    action,
+                    trigger,
+                    callerId,
+                    callReason,
+                    "waited=" + waitTimeMs + "ms",
+                    "elapsed=" + executionTime + "ms",
+                    summary
+            );
+        }
+    }
 }
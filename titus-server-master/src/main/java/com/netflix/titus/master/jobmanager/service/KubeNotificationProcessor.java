@@ -64,6 +64,7 @@ import com.netflix.titus.master.kubernetes.client.model.PodWrapper;
 import com.netflix.titus.master.kubernetes.controller.KubeJobManagementReconciler;
 import io.kubernetes.client.openapi.models.V1ContainerState;
 import io.kubernetes.client.openapi.models.V1Node;
+import io.kubernetes.client.openapi.models.V1Pod;
 import io.kubernetes.client.openapi.models.V1PodStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -196,14 +197,22 @@ public class KubeNotificationProcessor {
     }
 
     private Mono<Void> handlePodUpdatedEvent(PodEvent event, Job job, Task task) {
+        // The pod object is resolved once, as each call may return a newer version of it.
+        V1Pod pod = event.getPod();
+        if (pod == null) {
+            // The pod was deleted after the event was created. The pending delete event carries its final state.
+            logger.debug("Pod no longer exists, skipping the notification: taskId={}, eventSequenceNumber={}", task.getId(), event.getSequenceNumber());
+            metricsNoChangesApplied.increment();
+            return Mono.empty();
+        }
         // This is basic sanity check. If it fails, we have a major problem with pod state.
-        if (event.getPod() == null || event.getPod().getStatus() == null || event.getPod().getStatus().getPhase() == null) {
-            logger.warn("Pod notification with pod without status or phase set: taskId={}, pod={}", task.getId(), event.getPod());
+        if (pod.getStatus() == null || pod.getStatus().getPhase() == null) {
+            logger.warn("Pod notification with pod without status or phase set: taskId={}, pod={}", task.getId(), pod);
             metricsNoChangesApplied.increment();
             return Mono.empty();
         }
 
-        PodWrapper podWrapper = new PodWrapper(event.getPod());
+        PodWrapper podWrapper = new PodWrapper(pod);
         Optional<V1Node> node;
         if (event instanceof PodUpdatedEvent) {
             node = ((PodUpdatedEvent) event).getNode();
@@ -243,7 +252,7 @@ public class KubeNotificationProcessor {
                 task.getId(),
                 current -> updateTaskStatus(podWrapper, newTaskStatus, node, current, false),
                 V3JobOperations.Trigger.Kube,
-                "Pod status updated from kubernetes node (k8phase='" + event.getPod().getStatus().getPhase() + "', taskState=" + task.getStatus().getState() + ")",
+                "Pod status updated from kubernetes node (k8phase='" + pod.getStatus().getPhase() + "', taskState=" + task.getStatus().getState() + ")",
                 KUBE_CALL_METADATA
         ));
     }
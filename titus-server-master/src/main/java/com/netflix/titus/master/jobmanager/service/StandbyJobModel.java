@@ -0,0 +1,351 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.titus.master.jobmanager.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.PreDestroy;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.patterns.PolledMeter;
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.LogStorageInfo;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.Version;
+import com.netflix.titus.api.jobmanager.model.job.event.JobManagerEvent;
+import com.netflix.titus.api.jobmanager.model.job.event.JobUpdateEvent;
+import com.netflix.titus.api.jobmanager.model.job.event.TaskUpdateEvent;
+import com.netflix.titus.api.model.callmetadata.CallMetadata;
+import com.netflix.titus.api.supervisor.model.MasterInstance;
+import com.netflix.titus.api.supervisor.model.MasterState;
+import com.netflix.titus.api.supervisor.model.ServerPort;
+import com.netflix.titus.api.supervisor.service.MasterMonitor;
+import com.netflix.titus.common.model.sanitizer.EntitySanitizer;
+import com.netflix.titus.common.runtime.TitusRuntime;
+import com.netflix.titus.common.util.rx.ReactorExt;
+import com.netflix.titus.common.util.tuple.Pair;
+import com.netflix.titus.grpc.protogen.JobManagementServiceGrpc;
+import com.netflix.titus.master.MetricConstants;
+import com.netflix.titus.runtime.connector.GrpcRequestConfiguration;
+import com.netflix.titus.runtime.connector.common.reactor.DefaultGrpcToReactorClientFactory;
+import com.netflix.titus.runtime.connector.common.replicator.DataReplicatorMetrics;
+import com.netflix.titus.runtime.connector.common.replicator.ReplicatorEvent;
+import com.netflix.titus.runtime.connector.common.replicator.RetryableReplicatorEventStream;
+import com.netflix.titus.runtime.connector.jobmanager.JobConnectorConfiguration;
+import com.netflix.titus.runtime.connector.jobmanager.ReactorJobManagementServiceStub;
+import com.netflix.titus.runtime.connector.jobmanager.RemoteJobManagementClient;
+import com.netflix.titus.runtime.connector.jobmanager.replicator.GrpcJobReplicatorEventStream;
+import com.netflix.titus.runtime.connector.jobmanager.snapshot.JobSnapshot;
+import com.netflix.titus.runtime.connector.jobmanager.snapshot.JobSnapshotFactories;
+import com.netflix.titus.runtime.endpoint.v3.grpc.GrpcJobManagementModelConverters;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Warm standby job model of a non-leader TitusMaster. It follows the job event stream of the elected leader, and
+ * validates each replicated job and task version as soon as it is received. When this instance is elected a leader,
+ * {@link JobReconciliationFrameworkFactory} still loads all jobs and tasks from the store, which is the source of truth,
+ * but skips the validation of the records that are equal to an entity validated here. The replicated entities are
+ * converted from their gRPC representation, which does not carry all the data, and adds the converter specific task
+ * context and log location attributes. A store record is therefore converted the same way before the comparison, and
+ * a matching version alone is never enough.
+ */
+public class StandbyJobModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(StandbyJobModel.class);
+
+    private static final String METRIC_ROOT = MetricConstants.METRIC_ROOT + "jobManager.standby.";
+
+    private static final String GRPC_PROTOCOL = "grpc";
+
+    private final EntitySanitizer permissiveEntitySanitizer;
+    private final EntitySanitizer strictEntitySanitizer;
+    private final LogStorageInfo<Task> logStorageInfo;
+    private final Registry registry;
+
+    private final ConcurrentMap<String, Job<?>> validatedJobs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Task> validatedTasks = new ConcurrentHashMap<>();
+
+    private volatile JobSnapshot lastSnapshot;
+    private volatile Disposable subscription;
+
+    public StandbyJobModel(JobManagerConfiguration configuration,
+                           JobConnectorConfiguration connectorConfiguration,
+                           GrpcRequestConfiguration grpcRequestConfiguration,
+                           MasterMonitor masterMonitor,
+                           EntitySanitizer permissiveEntitySanitizer,
+                           EntitySanitizer strictEntitySanitizer,
+                           LogStorageInfo<Task> logStorageInfo,
+                           TitusRuntime titusRuntime) {
+        this(
+                configuration,
+                newLeaderEventStream(connectorConfiguration, grpcRequestConfiguration, masterMonitor, titusRuntime),
+                permissiveEntitySanitizer,
+                strictEntitySanitizer,
+                logStorageInfo,
+                titusRuntime
+        );
+    }
+
+    @VisibleForTesting
+    StandbyJobModel(JobManagerConfiguration configuration,
+                    Flux<ReplicatorEvent<JobSnapshot, JobManagerEvent<?>>> leaderEventStream,
+                    EntitySanitizer permissiveEntitySanitizer,
+                    EntitySanitizer strictEntitySanitizer,
+                    LogStorageInfo<Task> logStorageInfo,
+                    TitusRuntime titusRuntime) {
+        this.permissiveEntitySanitizer = permissiveEntitySanitizer;
+        this.strictEntitySanitizer = strictEntitySanitizer;
+        this.logStorageInfo = logStorageInfo;
+        this.registry = titusRuntime.getRegistry();
+
+        PolledMeter.using(registry).withName(METRIC_ROOT + "validatedJobs").monitorSize(validatedJobs);
+        PolledMeter.using(registry).withName(METRIC_ROOT + "validatedTasks").monitorSize(validatedTasks);
+
+        if (configuration.isStandbyModeEnabled()) {
+            this.subscription = leaderEventStream.subscribe(
+                    this::onEvent,
+                    error -> logger.warn("Standby job model stream terminated with an error", error),
+                    () -> logger.info("Standby job model stream completed")
+            );
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopReplication();
+        PolledMeter.remove(registry, registry.createId(METRIC_ROOT + "validatedJobs"));
+        PolledMeter.remove(registry, registry.createId(METRIC_ROOT + "validatedTasks"));
+    }
+
+    /**
+     * Stops following the leader. The already validated versions are kept until {@link #clear()} is called.
+     */
+    public void stopReplication() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+            subscription = null;
+        }
+    }
+
+    public void clear() {
+        validatedJobs.clear();
+        validatedTasks.clear();
+        lastSnapshot = null;
+    }
+
+    /**
+     * Returns true if the same job, compared by content and not only by version, passed the validation. The job is
+     * compared in the form it would have after the replication from the leader.
+     */
+    public boolean isValidated(Job<?> job) {
+        Job<?> validated = validatedJobs.get(job.getId());
+        if (validated == null || !hasVersion(job.getVersion()) || !job.getVersion().equals(validated.getVersion())) {
+            return false;
+        }
+        return toReplicatedJob(job).equals(validated);
+    }
+
+    /**
+     * Task variant of {@link #isValidated(Job)}. The job the task belongs to is needed to rebuild the replicated form
+     * of the task.
+     */
+    public boolean isValidated(Job<?> job, Task task) {
+        Task validated = validatedTasks.get(task.getId());
+        if (validated == null || !hasVersion(task.getVersion()) || !task.getVersion().equals(validated.getVersion())) {
+            return false;
+        }
+        return toReplicatedTask(job, task).equals(validated);
+    }
+
+    /**
+     * Returns the job as it would be received by a standby instance from the leader.
+     */
+    @VisibleForTesting
+    static Job<?> toReplicatedJob(Job<?> job) {
+        return GrpcJobManagementModelConverters.toCoreJob(GrpcJobManagementModelConverters.toGrpcJob(job));
+    }
+
+    /**
+     * Returns the task as it would be received by a standby instance from the leader, which uses the same log storage
+     * configuration.
+     */
+    @VisibleForTesting
+    Task toReplicatedTask(Job<?> job, Task task) {
+        return GrpcJobManagementModelConverters.toCoreTask(job, GrpcJobManagementModelConverters.toGrpcTask(task, logStorageInfo));
+    }
+
+    private static boolean hasVersion(Version version) {
+        return version != null && version.getTimestamp() >= 0;
+    }
+
+    @VisibleForTesting
+    void onEvent(ReplicatorEvent<JobSnapshot, JobManagerEvent<?>> event) {
+        JobSnapshot snapshot = event.getSnapshot();
+        // The replicator stream re-emits the last event periodically if nothing changes.
+        if (snapshot == lastSnapshot) {
+            return;
+        }
+        this.lastSnapshot = snapshot;
+
+        JobManagerEvent<?> trigger = event.getTrigger();
+        if (trigger instanceof JobUpdateEvent) {
+            Job<?> job = ((JobUpdateEvent) trigger).getCurrent();
+            if (snapshot.findJob(job.getId()).isPresent()) {
+                validateJob(job);
+            } else {
+                validatedJobs.remove(job.getId());
+            }
+        } else if (trigger instanceof TaskUpdateEvent) {
+            Task task = ((TaskUpdateEvent) trigger).getCurrent();
+            if (snapshot.findTaskById(task.getId()).isPresent()) {
+                validateTask(task);
+            } else {
+                validatedTasks.remove(task.getId());
+            }
+        } else if (JobManagerEvent.snapshotMarker().equals(trigger)) {
+            resync(snapshot);
+        }
+    }
+
+    /**
+     * Called with the initial snapshot of each new connection to the leader. Only the entities which changed since the
+     * previous connection are validated again.
+     */
+    private void resync(JobSnapshot snapshot) {
+        Set<String> jobIds = new HashSet<>();
+        Set<String> taskIds = new HashSet<>();
+        snapshot.getJobsAndTasks().forEach(jobAndTasks -> {
+            Job<?> job = jobAndTasks.getLeft();
+            jobIds.add(job.getId());
+            validateJob(job);
+            jobAndTasks.getRight().forEach((taskId, task) -> {
+                taskIds.add(taskId);
+                validateTask(task);
+            });
+        });
+        validatedJobs.keySet().retainAll(jobIds);
+        validatedTasks.keySet().retainAll(taskIds);
+
+        logger.info("Standby job model synchronized with the leader: validatedJobs={}, validatedTasks={}", validatedJobs.size(), validatedTasks.size());
+    }
+
+    private void validateJob(Job<?> job) {
+        // Both are replicated entities here, so they can be compared directly.
+        if (job.equals(validatedJobs.get(job.getId()))) {
+            return;
+        }
+        if (permissiveEntitySanitizer.validate(job).isEmpty() && strictEntitySanitizer.validate(job).isEmpty()) {
+            validatedJobs.put(job.getId(), job);
+        } else {
+            // Leave it to the bootstrap process, which reports the violations.
+            validatedJobs.remove(job.getId());
+        }
+    }
+
+    private void validateTask(Task task) {
+        if (task.equals(validatedTasks.get(task.getId()))) {
+            return;
+        }
+        if (permissiveEntitySanitizer.validate(task).isEmpty() && strictEntitySanitizer.validate(task).isEmpty()) {
+            validatedTasks.put(task.getId(), task);
+        } else {
+            validatedTasks.remove(task.getId());
+        }
+    }
+
+    private static Flux<ReplicatorEvent<JobSnapshot, JobManagerEvent<?>>> newLeaderEventStream(JobConnectorConfiguration connectorConfiguration,
+                                                                                               GrpcRequestConfiguration grpcRequestConfiguration,
+                                                                                               MasterMonitor masterMonitor,
+                                                                                               TitusRuntime titusRuntime) {
+        return Flux.defer(() -> {
+            DataReplicatorMetrics<JobSnapshot, JobManagerEvent<?>> grpcStreamMetrics = new DataReplicatorMetrics<>("standbyJobReplicatorGrpcStream", false, titusRuntime);
+            DataReplicatorMetrics<JobSnapshot, JobManagerEvent<?>> retryableStreamMetrics = new DataReplicatorMetrics<>("standbyJobReplicatorRetryableStream", false, titusRuntime);
+            DefaultGrpcToReactorClientFactory<CallMetadata> clientFactory = new DefaultGrpcToReactorClientFactory<>(
+                    grpcRequestConfiguration,
+                    (stub, callMetadata) -> stub,
+                    CallMetadata.class
+            );
+
+            String localInstanceId = masterMonitor.getCurrentMasterInstance().getInstanceId();
+            return ReactorExt.toFlux(masterMonitor.observeMasters())
+                    .map(masters -> findLeaderGrpcAddress(masters, localInstanceId))
+                    .distinctUntilChanged()
+                    .switchMap(leaderAddress -> {
+                        if (!leaderAddress.isPresent()) {
+                            return Flux.empty();
+                        }
+                        String host = leaderAddress.get().getLeft();
+                        int port = leaderAddress.get().getRight();
+                        return Flux.using(
+                                () -> {
+                                    logger.info("Connecting standby job model to the leader: {}:{}", host, port);
+                                    return NettyChannelBuilder.forAddress(host, port).usePlaintext().build();
+                                },
+                                channel -> {
+                                    ReactorJobManagementServiceStub stub = clientFactory.apply(
+                                            JobManagementServiceGrpc.newStub(channel),
+                                            ReactorJobManagementServiceStub.class,
+                                            JobManagementServiceGrpc.getServiceDescriptor()
+                                    );
+                                    GrpcJobReplicatorEventStream grpcEventStream = new GrpcJobReplicatorEventStream(
+                                            new RemoteJobManagementClient("standbyJobModel", stub, titusRuntime),
+                                            JobSnapshotFactories.newDefault(false, false, error -> titusRuntime.getCodeInvariants().inconsistent(error), titusRuntime),
+                                            connectorConfiguration,
+                                            grpcStreamMetrics,
+                                            titusRuntime,
+                                            Schedulers.parallel()
+                                    );
+                                    return new RetryableReplicatorEventStream<>(grpcEventStream, retryableStreamMetrics, titusRuntime, Schedulers.parallel()).connect();
+                                },
+                                ManagedChannel::shutdownNow
+                        );
+                    });
+        });
+    }
+
+    /**
+     * Returns the gRPC address of the activated leader, or {@link Optional#empty()} if there is no leader or the local
+     * instance is the leader.
+     */
+    @VisibleForTesting
+    static Optional<Pair<String, Integer>> findLeaderGrpcAddress(List<MasterInstance> masters, String localInstanceId) {
+        for (MasterInstance master : masters) {
+            if (master.getStatus().getState() != MasterState.LeaderActivated || master.getInstanceId().equals(localInstanceId)) {
+                continue;
+            }
+            for (ServerPort serverPort : master.getServerPorts()) {
+                if (GRPC_PROTOCOL.equals(serverPort.getProtocol())) {
+                    return Optional.of(Pair.of(master.getIpAddress(), serverPort.getPortNumber()));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
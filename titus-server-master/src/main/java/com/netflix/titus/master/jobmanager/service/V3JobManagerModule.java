@@ -25,8 +25,12 @@ import com.google.inject.Provides;
 import com.google.inject.TypeLiteral;
 import com.google.inject.name.Names;
 import com.netflix.archaius.ConfigProxyFactory;
+import com.netflix.titus.api.jobmanager.model.job.LogStorageInfo;
+import com.netflix.titus.api.jobmanager.model.job.Task;
 import com.netflix.titus.api.jobmanager.service.ReadOnlyJobOperations;
 import com.netflix.titus.api.jobmanager.service.V3JobOperations;
+import com.netflix.titus.api.supervisor.service.MasterMonitor;
+import com.netflix.titus.common.model.sanitizer.EntitySanitizer;
 import com.netflix.titus.common.framework.reconciler.ReconciliationEngine.DifferenceResolver;
 import com.netflix.titus.common.runtime.TitusRuntime;
 import com.netflix.titus.common.util.limiter.Limiters;
@@ -39,15 +43,22 @@ import com.netflix.titus.master.jobmanager.service.limiter.JobSubmitLimiter;
 import com.netflix.titus.master.jobmanager.service.service.ServiceDifferenceResolver;
 import com.netflix.titus.master.jobmanager.store.ArchivedTasksGc;
 import com.netflix.titus.master.jobmanager.store.ArchivedTasksGcConfiguration;
+import com.netflix.titus.runtime.connector.GrpcRequestConfiguration;
+import com.netflix.titus.runtime.connector.jobmanager.JobConnectorConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static com.netflix.titus.api.jobmanager.model.job.sanitizer.JobSanitizerBuilder.JOB_PERMISSIVE_SANITIZER;
+import static com.netflix.titus.api.jobmanager.model.job.sanitizer.JobSanitizerBuilder.JOB_STRICT_SANITIZER;
+
 public class V3JobManagerModule extends AbstractModule {
 
     private static final Logger logger = LoggerFactory.getLogger(V3JobManagerModule.class);
 
     private static final String STUCK_IN_STATE = "stuckInStateTokenBucketConfig";
 
+    private static final String STANDBY_PREFIX = "titusMaster.jobManager.standby";
+
     private static final TypeLiteral<DifferenceResolver<JobManagerReconcilerEvent>> JOB_DIFFERENCE_RESOLVER =
             new TypeLiteral<DifferenceResolver<JobManagerReconcilerEvent>>() {
             };
@@ -104,4 +115,25 @@ public class V3JobManagerModule extends AbstractModule {
     public ArchivedTasksGcConfiguration getArchivedTasksGcConfiguration(ConfigProxyFactory factory) {
         return factory.newProxy(ArchivedTasksGcConfiguration.class);
     }
+
+    @Provides
+    @Singleton
+    public StandbyJobModel getStandbyJobModel(ConfigProxyFactory factory,
+                                              JobManagerConfiguration configuration,
+                                              MasterMonitor masterMonitor,
+                                              @Named(JOB_PERMISSIVE_SANITIZER) EntitySanitizer permissiveEntitySanitizer,
+                                              @Named(JOB_STRICT_SANITIZER) EntitySanitizer strictEntitySanitizer,
+                                              LogStorageInfo<Task> logStorageInfo,
+                                              TitusRuntime titusRuntime) {
+        return new StandbyJobModel(
+                configuration,
+                factory.newProxy(JobConnectorConfiguration.class, STANDBY_PREFIX),
+                factory.newProxy(GrpcRequestConfiguration.class, STANDBY_PREFIX),
+                masterMonitor,
+                permissiveEntitySanitizer,
+                strictEntitySanitizer,
+                logStorageInfo,
+                titusRuntime
+        );
+    }
 }
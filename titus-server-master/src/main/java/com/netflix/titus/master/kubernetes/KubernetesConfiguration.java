@@ -46,6 +46,13 @@ public interface KubernetesConfiguration {
     @DefaultValue("30000")
     long getReconcilerIntervalMs();
 
+    /**
+     * Between full checks, the reconciler only checks tasks that changed state, or whose pods were deleted. A full
+     * check compares all tasks with the pod informer cache. Set to 0 to run only the initial full check.
+     */
+    @DefaultValue("600000")
+    long getReconcilerFullCheckIntervalMs();
+
     @DefaultValue("60000")
     long getOrphanedPodTimeoutMs();
 
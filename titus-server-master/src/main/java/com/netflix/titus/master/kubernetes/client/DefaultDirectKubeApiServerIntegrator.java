@@ -16,8 +16,9 @@
 
 package com.netflix.titus.master.kubernetes.client;
 
+import java.lang.ref.WeakReference;
 import java.time.Duration;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -25,6 +26,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -44,11 +46,13 @@ import com.netflix.titus.common.util.rx.ReactorExt;
 import com.netflix.titus.master.kubernetes.KubeUtil;
 import com.netflix.titus.master.kubernetes.client.model.PodDeletedEvent;
 import com.netflix.titus.master.kubernetes.client.model.PodEvent;
+import com.netflix.titus.master.kubernetes.client.model.PodProjection;
 import com.netflix.titus.master.kubernetes.client.model.PodUpdatedEvent;
 import com.netflix.titus.master.kubernetes.pod.PodFactory;
 import com.netflix.titus.runtime.connector.kubernetes.KubeApiException;
 import com.netflix.titus.runtime.connector.kubernetes.std.StdKubeApiFacade;
 import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.informer.SharedIndexInformer;
 import io.kubernetes.client.openapi.models.V1Node;
 import io.kubernetes.client.openapi.models.V1Pod;
 import org.slf4j.Logger;
@@ -87,7 +91,11 @@ public class DefaultDirectKubeApiServerIntegrator implements DirectKubeApiServer
      */
     private final FluxSink<PodEvent> supplementaryPodEventSink = supplementaryPodEventProcessor.sink(FluxSink.OverflowStrategy.LATEST);
 
-    private final ConcurrentMap<String, V1Pod> pods = new ConcurrentHashMap<>();
+    /**
+     * Compact projections of the pods owned by the Titus scheduler. The full pod objects are kept only by the informer
+     * cache.
+     */
+    private final ConcurrentMap<String, PodProjection> pods = new ConcurrentHashMap<>();
 
     private final ExecutorService apiClientExecutor;
     private final Scheduler apiClientScheduler;
@@ -131,8 +139,8 @@ public class DefaultDirectKubeApiServerIntegrator implements DirectKubeApiServer
     }
 
     @Override
-    public Map<String, V1Pod> getPods() {
-        return new HashMap<>(pods);
+    public Map<String, PodProjection> getPods() {
+        return Collections.unmodifiableMap(pods);
     }
 
     @Override
@@ -213,7 +221,7 @@ public class DefaultDirectKubeApiServerIntegrator implements DirectKubeApiServer
                 fitKubeInjection.ifPresent(i -> i.beforeImmediate(KubeFitAction.ErrorKind.POD_CREATE_ERROR.name()));
 
                 kubeApiFacade.createNamespacedPod(KUBERNETES_NAMESPACE, v1Pod);
-                pods.putIfAbsent(task.getId(), v1Pod);
+                pods.putIfAbsent(task.getId(), PodProjection.of(v1Pod));
 
                 metrics.launchSuccess(task, v1Pod, timer.elapsed(TimeUnit.MILLISECONDS));
 
@@ -230,6 +238,7 @@ public class DefaultDirectKubeApiServerIntegrator implements DirectKubeApiServer
 
     private Flux<PodEvent> kubeInformerEvents() {
         return Flux.create(sink -> {
+            SharedIndexInformer<V1Pod> podInformer = kubeApiFacade.getPodInformer();
             ResourceEventHandler<V1Pod> handler = new ResourceEventHandler<V1Pod>() {
                 @Override
                 public void onAdd(V1Pod pod) {
@@ -240,23 +249,25 @@ public class DefaultDirectKubeApiServerIntegrator implements DirectKubeApiServer
                         }
                         String taskId = pod.getSpec().getContainers().get(0).getName();
 
-                        V1Pod old = pods.get(taskId);
-                        pods.put(taskId, pod);
+                        PodProjection projection = PodProjection.of(pod);
+                        PodProjection old = pods.put(taskId, projection);
 
                         PodEvent podEvent;
                         if (old != null) {
-                            podEvent = PodEvent.onUpdate(old, pod, findNode(pod));
+                            podEvent = PodEvent.onUpdate(old, projection, newPodResolver(podInformer, pod), findNode(pod));
                             metrics.onUpdate(pod);
                         } else {
-                            podEvent = PodEvent.onAdd(pod);
+                            podEvent = PodEvent.onAdd(projection, newPodResolver(podInformer, pod));
                             metrics.onAdd(pod);
                         }
                         sink.next(podEvent);
 
-                        logger.info("Pod Added: pod={}, sequenceNumber={}", formatPodEssentials(pod), podEvent.getSequenceNumber());
-                        logger.debug("complete pod data: {}", pod);
+                        if (logger.isDebugEnabled()) {
+                            logger.debug("Pod Added: pod={}, sequenceNumber={}", projection, podEvent.getSequenceNumber());
+                            logger.trace("complete pod data: {}", pod);
+                        }
                     } finally {
-                        logger.info("Pod informer onAdd: pod={}, elapsedMs={}", pod.getMetadata().getName(), stopwatch.elapsed().toMillis());
+                        metrics.eventProcessed("add", stopwatch.elapsed(TimeUnit.MILLISECONDS));
                     }
                 }
 
@@ -270,15 +281,23 @@ public class DefaultDirectKubeApiServerIntegrator implements DirectKubeApiServer
 
                         metrics.onUpdate(newPod);
 
-                        pods.put(newPod.getSpec().getContainers().get(0).getName(), newPod);
+                        PodProjection projection = PodProjection.of(newPod);
+                        pods.put(newPod.getSpec().getContainers().get(0).getName(), projection);
 
-                        PodUpdatedEvent podEvent = PodEvent.onUpdate(oldPod, newPod, findNode(newPod));
+                        PodUpdatedEvent podEvent = PodEvent.onUpdate(
+                                PodProjection.of(oldPod),
+                                projection,
+                                newPodResolver(podInformer, newPod),
+                                findNode(newPod)
+                        );
                         sink.next(podEvent);
 
-                        logger.info("Pod Updated: old={}, new={}, sequenceNumber={}", formatPodEssentials(oldPod), formatPodEssentials(newPod), podEvent.getSequenceNumber());
-                        logger.debug("Complete pod data: old={}, new={}", oldPod, newPod);
+                        if (logger.isDebugEnabled()) {
+                            logger.debug("Pod Updated: old={}, new={}, sequenceNumber={}", podEvent.getOldPod(), projection, podEvent.getSequenceNumber());
+                            logger.trace("Complete pod data: old={}, new={}", oldPod, newPod);
+                        }
                     } finally {
-                        logger.info("Pod informer onUpdate: pod={}, elapsedMs={}", newPod.getMetadata().getName(), stopwatch.elapsed().toMillis());
+                        metrics.eventProcessed("update", stopwatch.elapsed(TimeUnit.MILLISECONDS));
                     }
                 }
 
@@ -297,20 +316,36 @@ public class DefaultDirectKubeApiServerIntegrator implements DirectKubeApiServer
                         PodDeletedEvent podEvent = PodEvent.onDelete(pod, deletedFinalStateUnknown, findNode(pod));
                         sink.next(podEvent);
 
+                        // Deletes are rare compared to updates, and are needed to trace task terminations.
                         logger.info("Pod Deleted: {}, deletedFinalStateUnknown={}, sequenceNumber={}", formatPodEssentials(pod), deletedFinalStateUnknown, podEvent.getSequenceNumber());
-                        logger.debug("complete pod data: {}", pod);
+                        logger.trace("complete pod data: {}", pod);
                     } finally {
-                        logger.info("Pod informer onDelete: pod={}, elapsedMs={}", pod.getMetadata().getName(), stopwatch.elapsed().toMillis());
+                        metrics.eventProcessed("delete", stopwatch.elapsed(TimeUnit.MILLISECONDS));
                     }
                 }
             };
-            kubeApiFacade.getPodInformer().addEventHandler(handler);
+            podInformer.addEventHandler(handler);
 
             // A listener cannot be removed from shared informer.
             // sink.onCancel(() -> ???);
         });
     }
 
+    /**
+     * Add and update events do not hold the pod object, so a queued event does not keep it alive after the informer
+     * replaces it with a newer version. Until then, the object is kept by the informer cache, and the weak reference
+     * returns exactly the pod the event was created for. After that, the current version is read from the informer.
+     * Delete events hold the pod object, as it is no longer in the informer cache.
+     */
+    private Supplier<V1Pod> newPodResolver(SharedIndexInformer<V1Pod> podInformer, V1Pod pod) {
+        WeakReference<V1Pod> podRef = new WeakReference<>(pod);
+        String key = KUBERNETES_NAMESPACE + '/' + pod.getMetadata().getName();
+        return () -> {
+            V1Pod eventPod = podRef.get();
+            return eventPod != null ? eventPod : podInformer.getIndexer().getByKey(key);
+        };
+    }
+
     private void sendEvent(PodEvent podEvent) {
         supplementaryPodEventSink.next(podEvent);
     }
@@ -16,7 +16,7 @@
 
 package com.netflix.titus.master.kubernetes.client;
 
-import java.util.concurrent.ConcurrentMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import com.netflix.spectator.api.Id;
@@ -45,6 +45,7 @@ class DefaultDirectKubeApiServerIntegratorMetrics {
     private final Id launchCounterId;
     private final Id terminateCounterId;
     private final Id eventCounterId;
+    private final Id eventProcessingTimeId;
     private final Id persistentVolumeCreateCounterId;
     private final Id persistentVolumeClaimCreateCounterId;
 
@@ -56,6 +57,7 @@ class DefaultDirectKubeApiServerIntegratorMetrics {
         this.launchCounterId = registry.createId(ROOT + "launches");
         this.terminateCounterId = registry.createId(ROOT + "terminates");
         this.eventCounterId = registry.createId(ROOT + "events");
+        this.eventProcessingTimeId = registry.createId(ROOT + "eventProcessingTime");
         this.persistentVolumeCreateCounterId = registry.createId(PV_ROOT + "create");
         this.persistentVolumeClaimCreateCounterId = registry.createId(PVC_ROOT + "create");
 
@@ -70,7 +72,7 @@ class DefaultDirectKubeApiServerIntegratorMetrics {
         PolledMeter.remove(registry, podGaugeId);
     }
 
-    void observePodsCollection(ConcurrentMap<String, V1Pod> pods) {
+    void observePodsCollection(Map<String, ?> pods) {
         PolledMeter.using(registry).withId(podGaugeId).monitorSize(pods);
     }
 
@@ -140,4 +142,8 @@ class DefaultDirectKubeApiServerIntegratorMetrics {
                 "kind", "delete"
         )).increment();
     }
+
+    void eventProcessed(String kind, long elapsedMs) {
+        registry.timer(eventProcessingTimeId.withTag("kind", kind)).record(elapsedMs, TimeUnit.MILLISECONDS);
+    }
 }
@@ -20,14 +20,17 @@ import java.util.Map;
 
 import com.netflix.titus.master.jobmanager.service.ComputeProvider;
 import com.netflix.titus.master.kubernetes.client.model.PodEvent;
-import io.kubernetes.client.openapi.models.V1Pod;
+import com.netflix.titus.master.kubernetes.client.model.PodProjection;
 import reactor.core.publisher.Flux;
 
 public interface DirectKubeApiServerIntegrator extends ComputeProvider {
 
     String COMPONENT = "kubernetesIntegrator";
 
-    Map<String, V1Pod> getPods();
+    /**
+     * Returns compact projections of the pods owned by the Titus scheduler, keyed by the task id.
+     */
+    Map<String, PodProjection> getPods();
 
     Flux<PodEvent> events();
 }
\ No newline at end of file
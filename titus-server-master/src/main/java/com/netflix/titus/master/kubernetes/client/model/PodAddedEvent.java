@@ -16,7 +16,8 @@
 
 package com.netflix.titus.master.kubernetes.client.model;
 
-import com.netflix.titus.master.kubernetes.KubeObjectFormatter;
+import java.util.function.Supplier;
+
 import io.kubernetes.client.openapi.models.V1Pod;
 
 public class PodAddedEvent extends PodEvent {
@@ -25,12 +26,16 @@ public class PodAddedEvent extends PodEvent {
         super(pod);
     }
 
+    PodAddedEvent(PodProjection pod, Supplier<V1Pod> podResolver) {
+        super(pod, podResolver);
+    }
+
     @Override
     public String toString() {
         return "PodAddedEvent{" +
                 "taskId=" + taskId +
                 ", sequenceNumber=" + sequenceNumber +
-                ", pod=" + KubeObjectFormatter.formatPodEssentials(pod) +
+                ", pod=" + podProjection +
                 '}';
     }
 }
@@ -19,7 +19,6 @@ package com.netflix.titus.master.kubernetes.client.model;
 import java.util.Objects;
 import java.util.Optional;
 
-import com.netflix.titus.master.kubernetes.KubeObjectFormatter;
 import io.kubernetes.client.openapi.models.V1Node;
 import io.kubernetes.client.openapi.models.V1Pod;
 
@@ -68,7 +67,7 @@ public class PodDeletedEvent extends PodEvent {
         return "PodDeletedEvent{" +
                 "taskId='" + taskId + '\'' +
                 ", sequenceNumber=" + sequenceNumber +
-                ", pod=" + KubeObjectFormatter.formatPodEssentials(pod) +
+                ", pod=" + podProjection +
                 ", deletedFinalStateUnknown=" + deletedFinalStateUnknown +
                 ", node=" + node.map(n -> n.getMetadata().getName()).orElse("<not_assigned>") +
                 '}';
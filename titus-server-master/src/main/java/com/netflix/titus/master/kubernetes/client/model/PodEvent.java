@@ -19,10 +19,10 @@ package com.netflix.titus.master.kubernetes.client.model;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 import com.netflix.titus.api.jobmanager.model.job.Task;
 import com.netflix.titus.api.jobmanager.model.job.TaskStatus;
-import com.netflix.titus.master.kubernetes.KubeObjectFormatter;
 import io.kubernetes.client.openapi.models.V1Node;
 import io.kubernetes.client.openapi.models.V1Pod;
 
@@ -31,12 +31,19 @@ public abstract class PodEvent {
     private static final AtomicLong SEQUENCE_NUMBER = new AtomicLong();
 
     protected final String taskId;
-    protected final V1Pod pod;
+    protected final PodProjection podProjection;
     protected final long sequenceNumber;
 
+    private final Supplier<V1Pod> podResolver;
+
     protected PodEvent(V1Pod pod) {
-        this.taskId = pod.getMetadata().getName();
-        this.pod = pod;
+        this(PodProjection.of(pod), () -> pod);
+    }
+
+    protected PodEvent(PodProjection podProjection, Supplier<V1Pod> podResolver) {
+        this.taskId = podProjection.getName();
+        this.podProjection = podProjection;
+        this.podResolver = podResolver;
         this.sequenceNumber = SEQUENCE_NUMBER.getAndIncrement();
     }
 
@@ -44,8 +51,21 @@ public abstract class PodEvent {
         return taskId;
     }
 
+    /**
+     * Returns the full pod object. Events created by the informer handlers do not hold it, and resolve it on each
+     * call. If the pod object of the event was replaced by a newer version, the newer version is returned, and if
+     * the pod no longer exists, the result is null. The object is shared with the informer cache, and must not be
+     * modified.
+     */
     public V1Pod getPod() {
-        return pod;
+        return podResolver.get();
+    }
+
+    /**
+     * Returns the compact projection of the pod state carried by this event.
+     */
+    public PodProjection getPodProjection() {
+        return podProjection;
     }
 
     public long getSequenceNumber() {
@@ -61,12 +81,12 @@ public abstract class PodEvent {
             return false;
         }
         PodEvent podEvent = (PodEvent) o;
-        return sequenceNumber == podEvent.sequenceNumber && Objects.equals(taskId, podEvent.taskId) && Objects.equals(pod, podEvent.pod);
+        return sequenceNumber == podEvent.sequenceNumber && Objects.equals(taskId, podEvent.taskId) && Objects.equals(podProjection, podEvent.podProjection);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(taskId, pod, sequenceNumber);
+        return Objects.hash(taskId, podProjection, sequenceNumber);
     }
 
     @Override
@@ -74,7 +94,7 @@ public abstract class PodEvent {
         return "PodEvent{" +
                 "taskId='" + taskId + '\'' +
                 ", sequenceNumber=" + sequenceNumber +
-                ", pod=" + KubeObjectFormatter.formatPodEssentials(pod) +
+                ", pod=" + podProjection +
                 '}';
     }
 
@@ -86,8 +106,16 @@ public abstract class PodEvent {
         return new PodAddedEvent(pod);
     }
 
+    public static PodAddedEvent onAdd(PodProjection pod, Supplier<V1Pod> podResolver) {
+        return new PodAddedEvent(pod, podResolver);
+    }
+
     public static PodUpdatedEvent onUpdate(V1Pod oldPod, V1Pod newPod, Optional<V1Node> node) {
-        return new PodUpdatedEvent(oldPod, newPod, node);
+        return new PodUpdatedEvent(PodProjection.of(oldPod), PodProjection.of(newPod), () -> newPod, node);
+    }
+
+    public static PodUpdatedEvent onUpdate(PodProjection oldPod, PodProjection newPod, Supplier<V1Pod> podResolver, Optional<V1Node> node) {
+        return new PodUpdatedEvent(oldPod, newPod, podResolver, node);
     }
 
     public static PodDeletedEvent onDelete(V1Pod pod, boolean deletedFinalStateUnknown, Optional<V1Node> node) {
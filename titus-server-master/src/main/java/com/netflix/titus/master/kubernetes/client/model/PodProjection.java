@@ -0,0 +1,238 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.master.kubernetes.client.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import com.netflix.titus.common.util.CollectionsExt;
+import com.netflix.titus.common.util.StringExt;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodCondition;
+import io.kubernetes.client.openapi.models.V1PodSpec;
+import io.kubernetes.client.openapi.models.V1PodStatus;
+
+/**
+ * Compact, immutable copy of the pod fields that are needed after the pod event is processed. Unlike {@link V1Pod},
+ * it does not reference the pod spec, annotations, or container statuses, so it can be kept for every pod without
+ * retaining the full pod objects.
+ */
+public class PodProjection {
+
+    private final String name;
+    private final String resourceVersion;
+    private final String nodeName;
+    private final String phase;
+    private final String reason;
+    private final String message;
+    private final boolean deletionTimestampSet;
+    private final List<PodConditionProjection> conditions;
+
+    private PodProjection(String name,
+                          String resourceVersion,
+                          String nodeName,
+                          String phase,
+                          String reason,
+                          String message,
+                          boolean deletionTimestampSet,
+                          List<PodConditionProjection> conditions) {
+        this.name = name;
+        this.resourceVersion = resourceVersion;
+        this.nodeName = nodeName;
+        this.phase = phase;
+        this.reason = reason;
+        this.message = message;
+        this.deletionTimestampSet = deletionTimestampSet;
+        this.conditions = conditions;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getResourceVersion() {
+        return resourceVersion;
+    }
+
+    /**
+     * Returns the node name or an empty string, if the pod is not scheduled yet.
+     */
+    public String getNodeName() {
+        return nodeName;
+    }
+
+    public boolean isScheduled() {
+        return !nodeName.isEmpty();
+    }
+
+    /**
+     * Returns the pod phase as set by Kubernetes, or an empty string if the pod has no status yet.
+     */
+    public String getPhase() {
+        return phase;
+    }
+
+    public PodPhase getPodPhase() {
+        return phase.isEmpty() ? PodPhase.UNKNOWN : PodPhase.parse(phase);
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean hasDeletionTimestamp() {
+        return deletionTimestampSet;
+    }
+
+    public List<PodConditionProjection> getConditions() {
+        return conditions;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PodProjection that = (PodProjection) o;
+        return deletionTimestampSet == that.deletionTimestampSet &&
+                Objects.equals(name, that.name) &&
+                Objects.equals(resourceVersion, that.resourceVersion) &&
+                Objects.equals(nodeName, that.nodeName) &&
+                Objects.equals(phase, that.phase) &&
+                Objects.equals(reason, that.reason) &&
+                Objects.equals(message, that.message) &&
+                Objects.equals(conditions, that.conditions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, resourceVersion, nodeName, phase, reason, message, deletionTimestampSet, conditions);
+    }
+
+    @Override
+    public String toString() {
+        return "{name=" + name +
+                ", resourceVersion=" + resourceVersion +
+                ", nodeName=" + nodeName +
+                ", phase=" + phase +
+                ", reason=" + reason +
+                ", deletionTimestampSet=" + deletionTimestampSet +
+                '}';
+    }
+
+    public static PodProjection of(V1Pod pod) {
+        V1ObjectMeta metadata = pod.getMetadata();
+        V1PodSpec spec = pod.getSpec();
+        V1PodStatus status = pod.getStatus();
+
+        List<PodConditionProjection> conditions;
+        if (status == null || CollectionsExt.isNullOrEmpty(status.getConditions())) {
+            conditions = Collections.emptyList();
+        } else {
+            conditions = new ArrayList<>(status.getConditions().size());
+            for (V1PodCondition condition : status.getConditions()) {
+                conditions.add(new PodConditionProjection(
+                        StringExt.nonNull(condition.getType()),
+                        StringExt.nonNull(condition.getStatus()),
+                        StringExt.nonNull(condition.getReason()),
+                        StringExt.nonNull(condition.getMessage())
+                ));
+            }
+            conditions = Collections.unmodifiableList(conditions);
+        }
+
+        return new PodProjection(
+                metadata == null ? "" : StringExt.nonNull(metadata.getName()),
+                metadata == null ? "" : StringExt.nonNull(metadata.getResourceVersion()),
+                spec == null ? "" : StringExt.nonNull(spec.getNodeName()),
+                status == null ? "" : StringExt.nonNull(status.getPhase()),
+                status == null ? "" : StringExt.nonNull(status.getReason()),
+                status == null ? "" : StringExt.nonNull(status.getMessage()),
+                metadata != null && metadata.getDeletionTimestamp() != null,
+                conditions
+        );
+    }
+
+    public static class PodConditionProjection {
+
+        private final String type;
+        private final String status;
+        private final String reason;
+        private final String message;
+
+        PodConditionProjection(String type, String status, String reason, String message) {
+            this.type = type;
+            this.status = status;
+            this.reason = reason;
+            this.message = message;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            PodConditionProjection that = (PodConditionProjection) o;
+            return Objects.equals(type, that.type) &&
+                    Objects.equals(status, that.status) &&
+                    Objects.equals(reason, that.reason) &&
+                    Objects.equals(message, that.message);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, status, reason, message);
+        }
+
+        @Override
+        public String toString() {
+            return "{type=" + type +
+                    ", status=" + status +
+                    ", reason=" + reason +
+                    '}';
+        }
+    }
+}
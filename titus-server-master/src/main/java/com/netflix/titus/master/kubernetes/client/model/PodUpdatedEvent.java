@@ -18,23 +18,27 @@ package com.netflix.titus.master.kubernetes.client.model;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 
-import com.netflix.titus.master.kubernetes.KubeObjectFormatter;
 import io.kubernetes.client.openapi.models.V1Node;
 import io.kubernetes.client.openapi.models.V1Pod;
 
 public class PodUpdatedEvent extends PodEvent {
 
-    private final V1Pod oldPod;
+    private final PodProjection oldPod;
     private final Optional<V1Node> node;
 
-    PodUpdatedEvent(V1Pod oldPod, V1Pod newPod, Optional<V1Node> node) {
-        super(newPod);
+    PodUpdatedEvent(PodProjection oldPod, PodProjection newPod, Supplier<V1Pod> podResolver, Optional<V1Node> node) {
+        super(newPod, podResolver);
         this.oldPod = oldPod;
         this.node = node;
     }
 
-    public V1Pod getOldPod() {
+    /**
+     * Only the projection of the previous pod version is kept, so the superseded pod object can be garbage collected
+     * while the event is queued.
+     */
+    public PodProjection getOldPod() {
         return oldPod;
     }
 
@@ -68,8 +72,8 @@ public class PodUpdatedEvent extends PodEvent {
         return "PodUpdatedEvent{" +
                 "taskId='" + taskId + '\'' +
                 ", sequenceNumber=" + sequenceNumber +
-                ", pod=" + KubeObjectFormatter.formatPodEssentials(pod) +
-                ", oldPod=" + KubeObjectFormatter.formatPodEssentials(oldPod) +
+                ", pod=" + podProjection +
+                ", oldPod=" + oldPod +
                 ", node=" + node.map(n -> n.getMetadata().getName()).orElse("<not_assigned>") +
                 '}';
     }
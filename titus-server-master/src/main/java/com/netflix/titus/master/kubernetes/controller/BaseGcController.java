@@ -17,13 +17,24 @@
 package com.netflix.titus.master.kubernetes.controller;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.PreDestroy;
 import javax.inject.Named;
 
+import com.netflix.spectator.api.Counter;
 import com.netflix.spectator.api.Gauge;
+import com.netflix.spectator.api.Timer;
 import com.netflix.titus.common.framework.scheduler.LocalScheduler;
 import com.netflix.titus.common.framework.scheduler.ScheduleReference;
 import com.netflix.titus.common.framework.scheduler.model.ScheduleDescriptor;
@@ -53,12 +64,24 @@ public abstract class BaseGcController<T> {
 
     protected String metricRoot;
     protected ExecutorService executorService;
+    protected ExecutorService gcExecutorService;
     protected ScheduleReference schedulerRef;
     protected TokenBucket tokenBucket;
 
+    /**
+     * Items submitted to the GC executor, which have not been processed yet. An item still in flight after its
+     * iteration timed out is not resubmitted by the next iterations.
+     */
+    private final Set<T> inFlightItems = ConcurrentHashMap.newKeySet();
+
     protected final Gauge skippedGauge;
     protected final Gauge successesGauge;
     protected final Gauge failuresGauge;
+    protected final Gauge candidatesGauge;
+    protected final Counter successesCounter;
+    protected final Counter failuresCounter;
+    protected final Timer candidateSelectionTimer;
+    protected final Timer iterationTimer;
 
     public BaseGcController(
             String name,
@@ -78,6 +101,11 @@ public abstract class BaseGcController<T> {
         this.skippedGauge = titusRuntime.getRegistry().gauge(metricRoot, "type", "skipped");
         this.successesGauge = titusRuntime.getRegistry().gauge(metricRoot, "type", "successes");
         this.failuresGauge = titusRuntime.getRegistry().gauge(metricRoot, "type", "failures");
+        this.candidatesGauge = titusRuntime.getRegistry().gauge(metricRoot, "type", "candidates");
+        this.successesCounter = titusRuntime.getRegistry().counter(metricRoot + ".gcItems", "result", "success");
+        this.failuresCounter = titusRuntime.getRegistry().counter(metricRoot + ".gcItems", "result", "failure");
+        this.candidateSelectionTimer = titusRuntime.getRegistry().timer(metricRoot + ".latency", "step", "candidateSelection");
+        this.iterationTimer = titusRuntime.getRegistry().timer(metricRoot + ".latency", "step", "iteration");
         this.tokenBucketConfiguration = tokenBucketConfiguration;
         this.controllerConfiguration = controllerConfiguration;
     }
@@ -93,6 +121,12 @@ public abstract class BaseGcController<T> {
                 .build();
 
         executorService = ExecutorsExt.namedSingleThreadExecutor(name);
+        gcExecutorService = ExecutorsExt.instrumentedFixedSizeThreadPool(
+                titusRuntime.getRegistry(),
+                name + "-gc",
+                Math.max(1, controllerConfiguration.getControllerGcConcurrency())
+        );
+        inFlightItems.clear();
         schedulerRef = scheduler.schedule(gcScheduleDescriptor, e -> doGc(), executorService);
 
         tokenBucket = Limiters.createInstrumentedFixedIntervalTokenBucket(
@@ -107,6 +141,7 @@ public abstract class BaseGcController<T> {
     @PreDestroy
     public void shutdown() {
         Evaluators.acceptNotNull(executorService, ExecutorService::shutdown);
+        Evaluators.acceptNotNull(gcExecutorService, ExecutorService::shutdownNow);
         Evaluators.acceptNotNull(schedulerRef, ScheduleReference::cancel);
         resetGauges();
     }
@@ -125,43 +160,83 @@ public abstract class BaseGcController<T> {
 
     private void doGc() {
         if (!controllerConfiguration.isControllerEnabled() || !shouldGc()) {
-            logger.info("Skipping gc execution for: {}", name);
+            logger.debug("Skipping gc execution for: {}", name);
             resetGauges();
             return;
         }
 
+        long startTime = titusRuntime.getClock().wallTime();
         List<T> allItemsToGc = Collections.emptyList();
         try {
             allItemsToGc = getItemsToGc();
         } catch (Exception e) {
             logger.error("Unable to get items to GC due to:", e);
         }
+        candidateSelectionTimer.record(titusRuntime.getClock().wallTime() - startTime, TimeUnit.MILLISECONDS);
 
         int total = allItemsToGc.size();
-        int limitedNumberOfItemsToGc = (int) Math.min(total, tokenBucket.getNumberOfTokens());
+        List<T> notInFlightItems = inFlightItems.isEmpty()
+                ? allItemsToGc
+                : allItemsToGc.stream().filter(item -> !inFlightItems.contains(item)).collect(Collectors.toList());
+        int limitedNumberOfItemsToGc = (int) Math.min(notInFlightItems.size(), tokenBucket.getNumberOfTokens());
         int skipped = total - limitedNumberOfItemsToGc;
-        int successes = 0;
-        int failures = 0;
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
 
         if (limitedNumberOfItemsToGc > 0 && tokenBucket.tryTake(limitedNumberOfItemsToGc)) {
-            List<T> itemsToGc = allItemsToGc.subList(0, limitedNumberOfItemsToGc);
+            List<T> itemsToGc = notInFlightItems.subList(0, limitedNumberOfItemsToGc);
             logger.debug("Attempting to GC: {}", itemsToGc);
+            AtomicBoolean timedOut = new AtomicBoolean();
+            List<CompletableFuture<Void>> futures = new ArrayList<>(itemsToGc.size());
             for (T item : itemsToGc) {
-                try {
-                    if (gcItem(item)) {
-                        successes++;
-                    } else {
-                        failures++;
+                inFlightItems.add(item);
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        if (!timedOut.get()) {
+                            gcItemAndRecord(item, successes, failures);
+                        }
+                    } finally {
+                        inFlightItems.remove(item);
                     }
-                } catch (Exception e) {
-                    failures++;
-                    logger.error("Unable to GC: {} due to:", item, e);
-                }
+                }, gcExecutorService));
+            }
+            try {
+                // Leave some slack, so the scheduler timeout does not interrupt this iteration before it logs the results.
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                        .get(controllerConfiguration.getControllerTimeoutMs() * 9 / 10, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Items not started yet are dropped, and the ones being processed are skipped until they complete.
+                timedOut.set(true);
+                logger.warn("GC iteration of {} timed out with {} items not processed yet", name,
+                        futures.stream().filter(f -> !f.isDone()).count());
+            } catch (Exception e) {
+                logger.error("Unexpected error in GC iteration of {}", name, e);
+            }
+        }
+        setGauges(total, skipped, successes.get(), failures.get());
+        iterationTimer.record(titusRuntime.getClock().wallTime() - startTime, TimeUnit.MILLISECONDS);
+        if (total > 0) {
+            logger.info("Finished GC iteration total:{}, skipped: {}, successes: {}, failures: {}", total,
+                    skipped, successes.get(), failures.get());
+        } else {
+            logger.debug("Finished GC iteration with nothing to GC: {}", name);
+        }
+    }
+
+    private void gcItemAndRecord(T item, AtomicInteger successes, AtomicInteger failures) {
+        try {
+            if (gcItem(item)) {
+                successes.incrementAndGet();
+                successesCounter.increment();
+            } else {
+                failures.incrementAndGet();
+                failuresCounter.increment();
             }
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            failuresCounter.increment();
+            logger.error("Unable to GC: {} due to:", item, e);
         }
-        setGauges(skipped, successes, failures);
-        logger.info("Finished GC iteration total:{}, skipped: {}, successes: {}, failures: {}", total,
-                skipped, successes, failures);
     }
 
     public abstract boolean shouldGc();
@@ -170,13 +245,14 @@ public abstract class BaseGcController<T> {
 
     public abstract boolean gcItem(T item);
 
-    private void setGauges(int skipped, int successes, int failures) {
+    private void setGauges(int candidates, int skipped, int successes, int failures) {
+        candidatesGauge.set(candidates);
         skippedGauge.set(skipped);
         successesGauge.set(successes);
         failuresGauge.set(failures);
     }
 
     private void resetGauges() {
-        setGauges(0, 0, 0);
+        setGauges(0, 0, 0, 0);
     }
 }
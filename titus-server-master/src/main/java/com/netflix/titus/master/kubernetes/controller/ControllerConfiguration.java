@@ -45,4 +45,10 @@ public interface ControllerConfiguration {
      */
     @DefaultValue("60000")
     long getControllerTimeoutMs();
+
+    /**
+     * @return the maximum number of items the controller GCs concurrently.
+     */
+    @DefaultValue("4")
+    int getControllerGcConcurrency();
 }
@@ -19,10 +19,12 @@ package com.netflix.titus.master.kubernetes.controller;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -31,12 +33,14 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.netflix.spectator.api.Gauge;
 import com.netflix.spectator.api.Registry;
 import com.netflix.titus.api.jobmanager.TaskAttributes;
 import com.netflix.titus.api.jobmanager.model.job.Task;
 import com.netflix.titus.api.jobmanager.model.job.TaskState;
 import com.netflix.titus.api.jobmanager.model.job.TaskStatus;
+import com.netflix.titus.api.jobmanager.model.job.event.TaskUpdateEvent;
 import com.netflix.titus.api.jobmanager.service.V3JobOperations;
 import com.netflix.titus.common.framework.scheduler.ScheduleReference;
 import com.netflix.titus.common.framework.scheduler.model.ScheduleDescriptor;
@@ -47,8 +51,10 @@ import com.netflix.titus.common.util.StringExt;
 import com.netflix.titus.common.util.guice.annotation.Activator;
 import com.netflix.titus.common.util.guice.annotation.Deactivator;
 import com.netflix.titus.common.util.limiter.tokenbucket.FixedIntervalTokenBucketConfiguration;
+import com.netflix.titus.common.util.rx.ObservableExt;
 import com.netflix.titus.common.util.rx.ReactorExt;
 import com.netflix.titus.common.util.time.Clock;
+import com.netflix.titus.common.util.tuple.Pair;
 import com.netflix.titus.master.MetricConstants;
 import com.netflix.titus.master.kubernetes.client.DirectKubeConfiguration;
 import com.netflix.titus.master.kubernetes.client.model.PodEvent;
@@ -56,6 +62,7 @@ import com.netflix.titus.master.kubernetes.client.model.PodNotFoundEvent;
 import com.netflix.titus.master.kubernetes.KubernetesConfiguration;
 import com.netflix.titus.master.kubernetes.KubeUtil;
 import com.netflix.titus.runtime.connector.kubernetes.std.StdKubeApiFacade;
+import io.kubernetes.client.informer.ResourceEventHandler;
 import io.kubernetes.client.openapi.models.V1Node;
 import io.kubernetes.client.openapi.models.V1Pod;
 import org.slf4j.Logger;
@@ -63,6 +70,9 @@ import org.slf4j.LoggerFactory;
 import reactor.core.publisher.DirectProcessor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
+import rx.Subscription;
+
+import static com.netflix.titus.runtime.kubernetes.KubeConstants.DEFAULT_NAMESPACE;
 
 @Singleton
 public class DefaultKubeJobManagementReconciler implements KubeJobManagementReconciler {
@@ -100,6 +110,18 @@ public class DefaultKubeJobManagementReconciler implements KubeJobManagementReco
 
     private final Map<OrphanedKind, Gauge> orphanedTaskGauges;
 
+    /**
+     * Tasks that may have no pod in the API server. Populated from the task state change events, pod deletions, and
+     * the periodic full checks.
+     */
+    private final Set<String> suspectTaskIds = ConcurrentHashMap.newKeySet();
+
+    private volatile Subscription taskEventSubscription;
+    private volatile boolean podDeleteHandlerActive;
+    private boolean podDeleteHandlerRegistered;
+    private volatile boolean fullCheckRequested = true;
+    private long lastFullCheckTimestamp;
+
     private ScheduleReference schedulerRef;
 
     @Inject
@@ -127,6 +149,34 @@ public class DefaultKubeJobManagementReconciler implements KubeJobManagementReco
 
     @Activator
     public void enterActiveMode() {
+        // The Kubernetes client does not support removing informer handlers, so the handler is registered once, and
+        // detached by shutdown().
+        podDeleteHandlerActive = true;
+        if (!podDeleteHandlerRegistered) {
+            kubeApiFacade.getPodInformer().addEventHandler(new ResourceEventHandler<V1Pod>() {
+                @Override
+                public void onAdd(V1Pod pod) {
+                }
+
+                @Override
+                public void onUpdate(V1Pod oldPod, V1Pod newPod) {
+                }
+
+                @Override
+                public void onDelete(V1Pod pod, boolean deletedFinalStateUnknown) {
+                    if (!podDeleteHandlerActive) {
+                        return;
+                    }
+                    String podName = KubeUtil.getMetadataName(pod.getMetadata());
+                    if (StringExt.isNotEmpty(podName)) {
+                        suspectTaskIds.add(podName);
+                    }
+                }
+            });
+            podDeleteHandlerRegistered = true;
+        }
+        subscribeToTaskEvents();
+
         ScheduleDescriptor scheduleDescriptor = ScheduleDescriptor.newBuilder()
                 .withName("reconcileNodesAndPods")
                 .withDescription("Reconcile nodes and pods")
@@ -146,6 +196,10 @@ public class DefaultKubeJobManagementReconciler implements KubeJobManagementReco
     @PreDestroy
     public void shutdown() {
         Evaluators.acceptNotNull(schedulerRef, ScheduleReference::cancel);
+        ObservableExt.safeUnsubscribe(taskEventSubscription);
+        podDeleteHandlerActive = false;
+        suspectTaskIds.clear();
+        fullCheckRequested = true;
     }
 
     @Override
@@ -153,7 +207,8 @@ public class DefaultKubeJobManagementReconciler implements KubeJobManagementReco
         return podEventProcessor.transformDeferred(ReactorExt.badSubscriberHandler(logger));
     }
 
-    private void reconcile() {
+    @VisibleForTesting
+    void reconcile() {
         if (!kubernetesConfiguration.isReconcilerEnabled()) {
             logger.info("Skipping the job management / Kube reconciliation cycle: reconciler disabled");
             return;
@@ -165,40 +220,79 @@ public class DefaultKubeJobManagementReconciler implements KubeJobManagementReco
             return;
         }
 
-        List<V1Node> nodes = kubeApiFacade.getNodeInformer().getIndexer().list()
-                .stream()
-                .filter(n -> StringExt.isNotEmpty(KubeUtil.getMetadataName(n.getMetadata())))
-                .collect(Collectors.toList());
-        List<V1Pod> pods = kubeApiFacade.getPodInformer().getIndexer().list()
-                .stream()
-                .filter(p -> StringExt.isNotEmpty(KubeUtil.getMetadataName(p.getMetadata())))
-                .collect(Collectors.toList());
-        List<Task> tasks = v3JobOperations.getTasks();
-
-        Map<String, V1Node> nodesById = nodes.stream().collect(Collectors.toMap(
-                node -> KubeUtil.getMetadataName(node.getMetadata()),
-                Function.identity()
-        ));
-        Map<String, Task> currentTasks = tasks.stream().collect(Collectors.toMap(Task::getId, Function.identity()));
-        Set<String> currentPodNames = pods.stream().map(p -> KubeUtil.getMetadataName(p.getMetadata())).collect(Collectors.toSet());
+        if (taskEventSubscription == null || taskEventSubscription.isUnsubscribed()) {
+            // Events missed while the event stream was not subscribed are recovered by the full check.
+            subscribeToTaskEvents();
+            fullCheckRequested = true;
+        }
+        long now = clock.wallTime();
+        long fullCheckIntervalMs = kubernetesConfiguration.getReconcilerFullCheckIntervalMs();
+        if (fullCheckRequested || (fullCheckIntervalMs > 0 && now - lastFullCheckTimestamp >= fullCheckIntervalMs)) {
+            fullCheckRequested = false;
+            lastFullCheckTimestamp = now;
+            addAllTasksAsSuspects();
+        }
 
-        transitionOrphanedTasks(currentTasks, currentPodNames, nodesById);
+        transitionOrphanedTasks(findOrphanedTasks());
+    }
+
+    private void subscribeToTaskEvents() {
+        this.taskEventSubscription = v3JobOperations.observeJobs().subscribe(
+                event -> {
+                    if (event instanceof TaskUpdateEvent) {
+                        suspectTaskIds.add(((TaskUpdateEvent) event).getCurrentTask().getId());
+                    }
+                },
+                e -> logger.error("Event stream terminated with an error", e),
+                () -> logger.info("Event stream completed")
+        );
+    }
+
+    private void addAllTasksAsSuspects() {
+        int count = 0;
+        for (Task task : v3JobOperations.getJobModelView().getTasks()) {
+            if (shouldTaskBeInApiServer(task) || isAwaitingPod(task)) {
+                suspectTaskIds.add(task.getId());
+                count++;
+            }
+        }
+        logger.info("Full job management / Kube reconciliation check: tasks to verify={}", count);
     }
 
     /**
-     * Transition orphaned tasks to Finished that don't exist in Kubernetes.
+     * Checks the suspect tasks. A task stays a suspect while it has no pod, and it should have one now or in the
+     * future. Tasks that are no longer suspects are added again when their state changes, or when their pod is deleted.
      */
-    private void transitionOrphanedTasks(Map<String, Task> currentTasks, Set<String> currentPodNames, Map<String, V1Node> nodes) {
-        List<Task> tasksNotInApiServer = currentTasks.values().stream()
-                .filter(t -> shouldTaskBeInApiServer(t) && !currentPodNames.contains(t.getId()))
-                .collect(Collectors.toList());
+    private List<Task> findOrphanedTasks() {
+        List<Task> orphanedTasks = new ArrayList<>();
+        for (Iterator<String> it = suspectTaskIds.iterator(); it.hasNext(); ) {
+            String taskId = it.next();
+            Task task = v3JobOperations.findTaskById(taskId).map(Pair::getRight).orElse(null);
+            if (task == null || podExists(taskId)) {
+                it.remove();
+            } else if (shouldTaskBeInApiServer(task)) {
+                orphanedTasks.add(task);
+            } else if (!isAwaitingPod(task)) {
+                it.remove();
+            }
+        }
+        return orphanedTasks;
+    }
+
+    private boolean podExists(String taskId) {
+        return kubeApiFacade.getPodInformer().getIndexer().getByKey(DEFAULT_NAMESPACE + '/' + taskId) != null;
+    }
 
+    /**
+     * Transition orphaned tasks to Finished that don't exist in Kubernetes.
+     */
+    private void transitionOrphanedTasks(List<Task> tasksNotInApiServer) {
         Map<OrphanedKind, List<Task>> orphanedTasksByKind = new HashMap<>();
         for (Task task : tasksNotInApiServer) {
             if (task.getStatus().getState().equals(TaskState.KillInitiated)) {
                 orphanedTasksByKind.computeIfAbsent(OrphanedKind.KILL_INITIATED, s -> new ArrayList<>()).add(task);
             } else {
-                if (findNode(task, nodes).isPresent()) {
+                if (findNode(task).isPresent()) {
                     orphanedTasksByKind.computeIfAbsent(OrphanedKind.UNKNOWN, s -> new ArrayList<>()).add(task);
                 } else {
                     orphanedTasksByKind.computeIfAbsent(OrphanedKind.NODE_TERMINATED, s -> new ArrayList<>()).add(task);
@@ -243,7 +337,7 @@ public class DefaultKubeJobManagementReconciler implements KubeJobManagementReco
         });
     }
 
-    private Optional<V1Node> findNode(Task task, Map<String, V1Node> nodes) {
+    private Optional<V1Node> findNode(Task task) {
         // Node name may be different from agent instance id. We use the instance id attribute only as a fallback.
         String nodeName = task.getTaskContext().getOrDefault(
                 TaskAttributes.TASK_ATTRIBUTES_KUBE_NODE_NAME,
@@ -252,7 +346,7 @@ public class DefaultKubeJobManagementReconciler implements KubeJobManagementReco
         if (nodeName == null) {
             return Optional.empty();
         }
-        return Optional.ofNullable(nodes.get(nodeName));
+        return Optional.ofNullable(kubeApiFacade.getNodeInformer().getIndexer().getByKey(nodeName));
     }
 
     private boolean shouldTaskBeInApiServer(Task task) {
@@ -260,12 +354,16 @@ public class DefaultKubeJobManagementReconciler implements KubeJobManagementReco
         if (isRunning) {
             return true;
         }
-        if (task.getStatus().getState() == TaskState.Accepted && TaskStatus.hasPod(task)) {
+        if (isAwaitingPod(task)) {
             return clock.isPast(task.getStatus().getTimestamp() + kubernetesConfiguration.getOrphanedPodTimeoutMs());
         }
         return false;
     }
 
+    private boolean isAwaitingPod(Task task) {
+        return task.getStatus().getState() == TaskState.Accepted && TaskStatus.hasPod(task);
+    }
+
     private void publishEvent(Task task, TaskStatus finalTaskStatus) {
         publishPodEvent(task, finalTaskStatus);
     }
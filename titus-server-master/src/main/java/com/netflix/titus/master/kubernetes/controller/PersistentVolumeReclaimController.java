@@ -17,6 +17,7 @@
 package com.netflix.titus.master.kubernetes.controller;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -25,8 +26,11 @@ import javax.inject.Singleton;
 import com.google.common.annotations.VisibleForTesting;
 import com.netflix.titus.common.framework.scheduler.LocalScheduler;
 import com.netflix.titus.common.runtime.TitusRuntime;
+import com.netflix.titus.common.util.CollectionsExt;
 import com.netflix.titus.common.util.limiter.tokenbucket.FixedIntervalTokenBucketConfiguration;
 import com.netflix.titus.runtime.connector.kubernetes.std.StdKubeApiFacade;
+import com.netflix.titus.runtime.connector.kubernetes.std.StdKubeIndexers;
+import io.kubernetes.client.informer.SharedIndexInformer;
 import io.kubernetes.client.openapi.models.V1PersistentVolume;
 import io.kubernetes.client.openapi.models.V1PersistentVolumeBuilder;
 import io.kubernetes.client.openapi.models.V1PersistentVolumeSpec;
@@ -75,7 +79,14 @@ public class PersistentVolumeReclaimController extends BaseGcController<V1Persis
 
     @Override
     public List<V1PersistentVolume> getItemsToGc() {
-        return kubeApiFacade.getPersistentVolumeInformer().getIndexer().list().stream()
+        SharedIndexInformer<V1PersistentVolume> informer = kubeApiFacade.getPersistentVolumeInformer();
+        Optional<List<V1PersistentVolume>> released = StdKubeIndexers.findByIndex(informer, StdKubeIndexers.PERSISTENT_VOLUME_BY_PHASE,
+                StdKubeIndexers.persistentVolumePhaseKey("Released"));
+        Optional<List<V1PersistentVolume>> withoutPhase = StdKubeIndexers.findByIndex(informer, StdKubeIndexers.PERSISTENT_VOLUME_BY_PHASE, "");
+        List<V1PersistentVolume> candidates = released.isPresent() && withoutPhase.isPresent()
+                ? CollectionsExt.merge(released.get(), withoutPhase.get())
+                : informer.getIndexer().list();
+        return candidates.stream()
                 // Only consider PVs that have been Released (i.e., the PVC in its claimRef has been deleted).
                 .filter(this::isPvReleased)
                 .collect(Collectors.toList());
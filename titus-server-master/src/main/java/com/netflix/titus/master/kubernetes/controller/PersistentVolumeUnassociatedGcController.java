@@ -35,6 +35,7 @@ import com.netflix.titus.common.util.limiter.tokenbucket.FixedIntervalTokenBucke
 import com.netflix.titus.master.kubernetes.KubeUtil;
 import com.netflix.titus.runtime.connector.kubernetes.KubeApiException;
 import com.netflix.titus.runtime.connector.kubernetes.std.StdKubeApiFacade;
+import com.netflix.titus.runtime.connector.kubernetes.std.StdKubeIndexers;
 import io.kubernetes.client.openapi.models.V1ObjectMeta;
 import io.kubernetes.client.openapi.models.V1PersistentVolume;
 import io.kubernetes.client.openapi.models.V1PersistentVolumeStatus;
@@ -93,7 +94,12 @@ public class PersistentVolumeUnassociatedGcController extends BaseGcController<V
                 .flatMap(job -> job.getJobDescriptor().getContainer().getContainerResources().getEbsVolumes().stream())
                 .map(EbsVolume::getVolumeId)
                 .collect(Collectors.toSet());
-        return kubeApiFacade.getPersistentVolumeInformer().getIndexer().list().stream()
+        List<V1PersistentVolume> candidates = StdKubeIndexers.findByIndex(
+                kubeApiFacade.getPersistentVolumeInformer(),
+                StdKubeIndexers.PERSISTENT_VOLUME_BY_PHASE,
+                StdKubeIndexers.persistentVolumePhaseKey("Available")
+        ).orElseGet(() -> kubeApiFacade.getPersistentVolumeInformer().getIndexer().list());
+        return candidates.stream()
                 // Only consider PVs that are available (i.e., not bound)
                 .filter(pv -> (pv.getStatus() == null ? "" : pv.getStatus().getPhase()).equalsIgnoreCase("Available"))
                 // Only consider PVs that are not associated with active jobs
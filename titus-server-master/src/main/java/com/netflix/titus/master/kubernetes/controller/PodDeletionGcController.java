@@ -29,6 +29,7 @@ import com.netflix.titus.common.runtime.TitusRuntime;
 import com.netflix.titus.common.util.limiter.tokenbucket.FixedIntervalTokenBucketConfiguration;
 import com.netflix.titus.common.util.time.Clock;
 import com.netflix.titus.runtime.connector.kubernetes.std.StdKubeApiFacade;
+import com.netflix.titus.runtime.connector.kubernetes.std.StdKubeIndexers;
 import io.kubernetes.client.openapi.models.V1ObjectMeta;
 import io.kubernetes.client.openapi.models.V1Pod;
 import io.kubernetes.client.openapi.models.V1PodSpec;
@@ -76,8 +77,13 @@ public class PodDeletionGcController extends BaseGcController<V1Pod> {
 
     @Override
     public List<V1Pod> getItemsToGc() {
-        return kubeApiFacade.getPodInformer().getIndexer().list()
-                .stream()
+        // Both conditions require the deletion timestamp to be set, so only the pods from that index are checked.
+        List<V1Pod> candidates = StdKubeIndexers.findByIndex(
+                kubeApiFacade.getPodInformer(),
+                StdKubeIndexers.POD_BY_DELETION_TIMESTAMP,
+                StdKubeIndexers.DELETION_REQUESTED
+        ).orElseGet(() -> kubeApiFacade.getPodInformer().getIndexer().list());
+        return candidates.stream()
                 .filter(p -> isPodInPendingPhaseWithDeletionTimestamp(p) || isPodPastDeletionTimestamp(p))
                 .collect(Collectors.toList());
     }
@@ -16,6 +16,9 @@
 
 package com.netflix.titus.master.kubernetes.controller;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -30,6 +33,8 @@ import com.netflix.titus.common.util.StringExt;
 import com.netflix.titus.common.util.limiter.tokenbucket.FixedIntervalTokenBucketConfiguration;
 import com.netflix.titus.master.kubernetes.KubeUtil;
 import com.netflix.titus.runtime.connector.kubernetes.std.StdKubeApiFacade;
+import com.netflix.titus.runtime.connector.kubernetes.std.StdKubeIndexers;
+import io.kubernetes.client.informer.SharedIndexInformer;
 import io.kubernetes.client.openapi.models.V1Pod;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,8 +46,23 @@ public class PodOnUnknownNodeGcController extends BaseGcController<V1Pod> {
     public static final String POD_ON_UNKNOWN_NODE_GC_CONTROLLER_DESCRIPTION = "GC pods on unknown nodes.";
 
     private static final Logger logger = LoggerFactory.getLogger(PodOnUnknownNodeGcController.class);
+
+    /**
+     * Pods assigned to a node that was never observed by the node informer can be found only by scanning all pods.
+     * As this is rare, the full scan is done periodically only.
+     */
+    private static final int FULL_SCAN_INTERVAL = 10;
+
     private final StdKubeApiFacade kubeApiFacade;
 
+    /**
+     * Node names from the previous iteration, and unknown node names that still had pods assigned. Accessed from the
+     * controller thread only.
+     */
+    private Set<String> lastKnownNodeNames;
+    private Set<String> lastUnknownNodeNames = Collections.emptySet();
+    private int iterationsSinceFullScan;
+
     @Inject
     public PodOnUnknownNodeGcController(
             TitusRuntime titusRuntime,
@@ -73,10 +93,49 @@ public class PodOnUnknownNodeGcController extends BaseGcController<V1Pod> {
                 .stream()
                 .map(n -> KubeUtil.getMetadataName(n.getMetadata()))
                 .collect(Collectors.toSet());
-        return kubeApiFacade.getPodInformer().getIndexer().list()
-                .stream()
-                .filter(p -> isPodOnUnknownNode(p, knownNodeNames))
-                .collect(Collectors.toList());
+
+        List<V1Pod> result = null;
+        if (lastKnownNodeNames != null && iterationsSinceFullScan < FULL_SCAN_INTERVAL) {
+            result = findPodsOnRemovedNodes(knownNodeNames);
+        }
+        if (result == null) {
+            result = kubeApiFacade.getPodInformer().getIndexer().list()
+                    .stream()
+                    .filter(p -> isPodOnUnknownNode(p, knownNodeNames))
+                    .collect(Collectors.toList());
+            iterationsSinceFullScan = 0;
+        } else {
+            iterationsSinceFullScan++;
+        }
+
+        lastKnownNodeNames = knownNodeNames;
+        lastUnknownNodeNames = result.stream().map(p -> p.getSpec().getNodeName()).collect(Collectors.toSet());
+        return result;
+    }
+
+    /**
+     * Finds pods on nodes that disappeared since the last iteration, or that were unknown in the last iteration, using
+     * the pod by node name index. Returns null if the index is not available.
+     */
+    private List<V1Pod> findPodsOnRemovedNodes(Set<String> knownNodeNames) {
+        SharedIndexInformer<V1Pod> podInformer = kubeApiFacade.getPodInformer();
+        if (!StdKubeIndexers.hasIndex(podInformer, StdKubeIndexers.POD_BY_NODE_NAME)) {
+            return null;
+        }
+
+        Set<String> candidateNodeNames = new HashSet<>(lastUnknownNodeNames);
+        lastKnownNodeNames.stream().filter(name -> !knownNodeNames.contains(name)).forEach(candidateNodeNames::add);
+
+        List<V1Pod> result = new ArrayList<>();
+        for (String nodeName : candidateNodeNames) {
+            if (knownNodeNames.contains(nodeName)) {
+                continue;
+            }
+            podInformer.getIndexer().byIndex(StdKubeIndexers.POD_BY_NODE_NAME, nodeName).stream()
+                    .filter(p -> isPodOnUnknownNode(p, knownNodeNames))
+                    .forEach(result::add);
+        }
+        return result;
     }
 
     @Override
@@ -16,8 +16,11 @@
 
 package com.netflix.titus.master.kubernetes.controller;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
@@ -27,18 +30,26 @@ import javax.inject.Singleton;
 import com.google.common.annotations.VisibleForTesting;
 import com.netflix.titus.api.jobmanager.model.job.Task;
 import com.netflix.titus.api.jobmanager.model.job.TaskState;
+import com.netflix.titus.api.jobmanager.service.JobModelView;
 import com.netflix.titus.api.jobmanager.service.V3JobOperations;
 import com.netflix.titus.common.framework.scheduler.LocalScheduler;
 import com.netflix.titus.common.runtime.TitusRuntime;
 import com.netflix.titus.common.util.limiter.tokenbucket.FixedIntervalTokenBucketConfiguration;
 import com.netflix.titus.common.util.time.Clock;
+import com.netflix.titus.common.util.tuple.Pair;
 import com.netflix.titus.master.kubernetes.KubeUtil;
 import com.netflix.titus.runtime.connector.kubernetes.std.StdKubeApiFacade;
+import com.netflix.titus.runtime.connector.kubernetes.std.StdKubeIndexers;
+import io.kubernetes.client.informer.SharedIndexInformer;
 import io.kubernetes.client.openapi.models.V1Pod;
 import io.kubernetes.client.openapi.models.V1PodStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static com.netflix.titus.runtime.kubernetes.KubeConstants.DEFAULT_NAMESPACE;
+import static com.netflix.titus.runtime.kubernetes.KubeConstants.FAILED;
+import static com.netflix.titus.runtime.kubernetes.KubeConstants.SUCCEEDED;
+
 @Singleton
 public class PodTerminalGcController extends BaseGcController<V1Pod> {
     public static final String POD_TERMINAL_GC_CONTROLLER = "podTerminalGcController";
@@ -81,13 +92,39 @@ public class PodTerminalGcController extends BaseGcController<V1Pod> {
 
     @Override
     public List<V1Pod> getItemsToGc() {
-        Map<String, Task> currentTasks = v3JobOperations.getTasks().stream()
-                .collect(Collectors.toMap(Task::getId, Function.identity()));
-        return kubeApiFacade.getPodInformer().getIndexer().list().stream()
-                .filter(p -> isPodTerminal(p, currentTasks))
+        JobModelView jobModelView = v3JobOperations.getJobModelView();
+        Function<String, Task> taskById = taskId -> jobModelView.findTaskById(taskId).map(Pair::getRight).orElse(null);
+        return findCandidates(jobModelView.getTasks()).stream()
+                .filter(p -> isPodTerminal(p, taskById))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * A pod can be terminal only if it is in a terminal phase, or if its task is terminal. Both sets are resolved with
+     * the informer index lookups. If the indexes are not available, all pods are returned.
+     */
+    private Collection<V1Pod> findCandidates(Iterable<Task> currentTasks) {
+        SharedIndexInformer<V1Pod> podInformer = kubeApiFacade.getPodInformer();
+        Optional<List<V1Pod>> succeeded = StdKubeIndexers.findByIndex(podInformer, StdKubeIndexers.POD_BY_PHASE, SUCCEEDED);
+        Optional<List<V1Pod>> failed = StdKubeIndexers.findByIndex(podInformer, StdKubeIndexers.POD_BY_PHASE, FAILED);
+        if (!succeeded.isPresent() || !failed.isPresent()) {
+            return podInformer.getIndexer().list();
+        }
+
+        Map<String, V1Pod> candidates = new HashMap<>();
+        succeeded.get().forEach(pod -> candidates.put(KubeUtil.getMetadataName(pod.getMetadata()), pod));
+        failed.get().forEach(pod -> candidates.put(KubeUtil.getMetadataName(pod.getMetadata()), pod));
+        currentTasks.forEach(task -> {
+            if (TaskState.isTerminalState(task.getStatus().getState()) && !candidates.containsKey(task.getId())) {
+                V1Pod pod = podInformer.getIndexer().getByKey(DEFAULT_NAMESPACE + '/' + task.getId());
+                if (pod != null) {
+                    candidates.put(task.getId(), pod);
+                }
+            }
+        });
+        return candidates.values();
+    }
+
     @Override
     public boolean gcItem(V1Pod item) {
         return GcControllerUtil.deletePod(kubeApiFacade, logger, item);
@@ -95,8 +132,12 @@ public class PodTerminalGcController extends BaseGcController<V1Pod> {
 
     @VisibleForTesting
     boolean isPodTerminal(V1Pod pod, Map<String, Task> currentTasks) {
+        return isPodTerminal(pod, currentTasks::get);
+    }
+
+    private boolean isPodTerminal(V1Pod pod, Function<String, Task> taskById) {
         String podName = KubeUtil.getMetadataName(pod.getMetadata());
-        Task task = currentTasks.get(podName);
+        Task task = taskById.apply(podName);
         if (task != null) {
             if (TaskState.isTerminalState(task.getStatus().getState())) {
                 return clock.isPast(task.getStatus().getTimestamp() + kubeControllerConfiguration.getPodTerminalGracePeriodMs());
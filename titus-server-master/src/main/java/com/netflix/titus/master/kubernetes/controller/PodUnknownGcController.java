@@ -19,7 +19,7 @@ package com.netflix.titus.master.kubernetes.controller;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -27,6 +27,7 @@ import javax.inject.Singleton;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.service.JobModelView;
 import com.netflix.titus.api.jobmanager.service.V3JobOperations;
 import com.netflix.titus.common.framework.scheduler.LocalScheduler;
 import com.netflix.titus.common.runtime.TitusRuntime;
@@ -82,10 +83,9 @@ public class PodUnknownGcController extends BaseGcController<V1Pod> {
 
     @Override
     public List<V1Pod> getItemsToGc() {
-        Map<String, Task> currentTasks = v3JobOperations.getTasks().stream()
-                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        JobModelView jobModelView = v3JobOperations.getJobModelView();
         return kubeApiFacade.getPodInformer().getIndexer().list().stream()
-                .filter(p -> isPodUnknownToJobManagement(p, currentTasks))
+                .filter(p -> isPodUnknownToJobManagement(p, taskId -> jobModelView.findTaskById(taskId).isPresent()))
                 .collect(Collectors.toList());
     }
 
@@ -96,6 +96,10 @@ public class PodUnknownGcController extends BaseGcController<V1Pod> {
 
     @VisibleForTesting
     boolean isPodUnknownToJobManagement(V1Pod pod, Map<String, Task> currentTasks) {
+        return isPodUnknownToJobManagement(pod, currentTasks::containsKey);
+    }
+
+    private boolean isPodUnknownToJobManagement(V1Pod pod, Predicate<String> taskExists) {
         V1ObjectMeta metadata = pod.getMetadata();
         V1PodStatus status = pod.getStatus();
 
@@ -104,7 +108,7 @@ public class PodUnknownGcController extends BaseGcController<V1Pod> {
             return true;
         }
 
-        if (KubeUtil.isPodPhaseTerminal(status.getPhase()) || currentTasks.containsKey(metadata.getName())) {
+        if (KubeUtil.isPodPhaseTerminal(status.getPhase()) || taskExists.test(metadata.getName())) {
             return false;
         }
 
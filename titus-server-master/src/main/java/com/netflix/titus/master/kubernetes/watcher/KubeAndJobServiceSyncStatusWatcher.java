@@ -20,10 +20,8 @@ import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.stream.Collectors;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -33,6 +31,7 @@ import com.netflix.titus.api.jobmanager.model.job.Job;
 import com.netflix.titus.api.jobmanager.model.job.Task;
 import com.netflix.titus.api.jobmanager.model.job.TaskState;
 import com.netflix.titus.api.jobmanager.model.job.TaskStatus;
+import com.netflix.titus.api.jobmanager.service.JobModelView;
 import com.netflix.titus.api.jobmanager.service.ReadOnlyJobOperations;
 import com.netflix.titus.common.framework.scheduler.ExecutionContext;
 import com.netflix.titus.common.framework.scheduler.ScheduleReference;
@@ -136,25 +135,20 @@ public class KubeAndJobServiceSyncStatusWatcher {
         }
 
         try {
-            if (!jobService.getJobsAndTasks().isEmpty()) {
+            JobModelView jobModelView = jobService.getJobModelView();
+            if (jobModelView.getJobCount() > 0) {
                 // Remove tasks not found in job service
-                Set<String> taskIds = jobService.getJobsAndTasks().stream()
-                        .flatMap(jobAndTasks -> jobAndTasks.getRight().stream())
-                        .map(Task::getId)
-                        .collect(Collectors.toSet());
-                capturedState.keySet().retainAll(taskIds);
+                capturedState.keySet().removeIf(taskId -> !jobModelView.findTaskById(taskId).isPresent());
 
                 // Update job service task state
-                jobService.getJobsAndTasks().forEach(jobAndTasks ->
-                        jobAndTasks.getRight().forEach(task -> {
-                            TaskHolder taskHolder = capturedState.get(task.getId());
-                            if (taskHolder == null || taskHolder.getPod() == null) {
-                                capturedState.put(task.getId(), new TaskHolder(task));
-                            } else {
-                                capturedState.put(task.getId(), new TaskHolder(taskHolder.getPod(), taskHolder.isPodDeleted()));
-                            }
-                        })
-                );
+                jobModelView.getTasks().forEach(task -> {
+                    TaskHolder taskHolder = capturedState.get(task.getId());
+                    if (taskHolder == null || taskHolder.getPod() == null) {
+                        capturedState.put(task.getId(), new TaskHolder(task));
+                    } else {
+                        capturedState.put(task.getId(), new TaskHolder(taskHolder.getPod(), taskHolder.isPodDeleted()));
+                    }
+                });
             }
 
             logger.info("Captured state size: {}", (long) capturedState.values().size());
@@ -20,8 +20,12 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -49,13 +53,16 @@ import com.netflix.titus.common.util.CollectionsExt;
 import com.netflix.titus.common.util.rx.ObservableExt;
 import com.netflix.titus.common.util.rx.ReactorExt;
 import com.netflix.titus.common.util.rx.batch.Priority;
+import com.netflix.titus.common.util.spectator.ActionMetrics;
 import com.netflix.titus.common.util.spectator.ContinuousSubscriptionMetrics;
 import com.netflix.titus.common.util.spectator.SpectatorExt;
+import com.netflix.titus.master.loadbalancer.service.LoadBalancerJobOperations.JobTargets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Completable;
 import rx.Observable;
 import rx.Scheduler;
+import rx.Single;
 import rx.schedulers.Schedulers;
 
 import static com.netflix.titus.api.jobmanager.service.JobManagerException.ErrorCode.JobNotFound;
@@ -76,6 +83,12 @@ public class DefaultLoadBalancerReconciler implements LoadBalancerReconciler {
 
     private final ConcurrentMap<LoadBalancerTarget, Instant> ignored = new ConcurrentHashMap<>();
 
+    /**
+     * State of load balancers for which the last reconciliation found nothing to do. Reconciliation of a load balancer
+     * is skipped if its state did not change since, unless the full check interval has passed.
+     */
+    private final ConcurrentMap<String, ReconciledState> reconciledStates = new ConcurrentHashMap<>();
+
     // this is not being accessed by multiple threads at the same time, but we still use a ConcurrentMap to ensure
     // visibility across multiple reconciliation runs, which may run on different threads
     private final Set<JobLoadBalancer> markedAsOrphan = ConcurrentHashMap.newKeySet();
@@ -86,6 +99,8 @@ public class DefaultLoadBalancerReconciler implements LoadBalancerReconciler {
     // TODO: make dynamic and switch to a Supplier<Long>
     private final long delayMs;
     private final Supplier<Long> timeoutMs;
+    private final Supplier<Long> fullCheckIntervalMs;
+    private final int concurrencyLimit;
     private final Runnable afterReconciliation;
     private final Registry registry;
     private final Scheduler scheduler;
@@ -97,7 +112,9 @@ public class DefaultLoadBalancerReconciler implements LoadBalancerReconciler {
     private final ContinuousSubscriptionMetrics orphanUpdateMetrics;
     private final ContinuousSubscriptionMetrics removeMetrics;
     private final ContinuousSubscriptionMetrics removeTargetsMetrics;
-    private final ContinuousSubscriptionMetrics registeredIpsMetrics;
+    private final ActionMetrics registeredIpsMetrics;
+    private final ActionMetrics loadBalancerMetrics;
+    private final Counter skippedCounter;
     private final Id ignoredMetricsId;
     private final Id orphanMetricsId;
 
@@ -123,6 +140,8 @@ public class DefaultLoadBalancerReconciler implements LoadBalancerReconciler {
         this.jobOperations = loadBalancerJobOperations;
         this.delayMs = configuration.getReconciliationDelayMs();
         this.timeoutMs = configuration::getReconciliationTimeoutMs;
+        this.fullCheckIntervalMs = configuration::getReconciliationFullCheckIntervalMs;
+        this.concurrencyLimit = Math.max(1, configuration.getReconciliationConcurrencyLimit());
         this.afterReconciliation = afterReconciliation;
         this.registry = registry;
         this.scheduler = scheduler;
@@ -136,7 +155,9 @@ public class DefaultLoadBalancerReconciler implements LoadBalancerReconciler {
         this.orphanUpdateMetrics = SpectatorExt.continuousSubscriptionMetrics(METRIC_RECONCILER + ".orphanUpdates", tags, registry);
         this.removeMetrics = SpectatorExt.continuousSubscriptionMetrics(METRIC_RECONCILER + ".remove", tags, registry);
         this.removeTargetsMetrics = SpectatorExt.continuousSubscriptionMetrics(METRIC_RECONCILER + ".removeTargets", tags, registry);
-        this.registeredIpsMetrics = SpectatorExt.continuousSubscriptionMetrics(METRIC_RECONCILER + ".getRegisteredIps", tags, registry);
+        this.registeredIpsMetrics = SpectatorExt.actionMetrics(METRIC_RECONCILER + ".getRegisteredIps", tags, registry);
+        this.loadBalancerMetrics = SpectatorExt.actionMetrics(METRIC_RECONCILER + ".loadBalancer", tags, registry);
+        this.skippedCounter = registry.counter(METRIC_RECONCILER + ".skipped", tags);
         this.ignoredMetricsId = registry.createId(METRIC_RECONCILER + ".ignored", tags);
         this.orphanMetricsId = registry.createId(METRIC_RECONCILER + ".orphan", tags);
         PolledMeter.using(registry).withId(ignoredMetricsId).monitorSize(ignored);
@@ -155,7 +176,8 @@ public class DefaultLoadBalancerReconciler implements LoadBalancerReconciler {
     public void shutdown() {
         orphanUpdateMetrics.remove();
         removeMetrics.remove();
-        registeredIpsMetrics.remove();
+        registeredIpsMetrics.close();
+        loadBalancerMetrics.close();
         PolledMeter.remove(registry, ignoredMetricsId);
         PolledMeter.remove(registry, orphanMetricsId);
     }
@@ -167,7 +189,7 @@ public class DefaultLoadBalancerReconciler implements LoadBalancerReconciler {
 
         // full reconciliation run
         Observable<TargetStateBatchable> updatesForAll = cleanupOrphansAndSnapshot
-                .flatMap(entry -> reconcile(entry.getKey(), entry.getValue()), 1)
+                .flatMap(entry -> reconcile(entry.getKey(), entry.getValue()), concurrencyLimit)
                 .compose(ObservableExt.subscriptionTimeout(timeoutMs, TimeUnit.MILLISECONDS, scheduler))
                 .compose(fullReconciliationMetrics.asObservable())
                 .doOnError(e -> logger.error("reconciliation failed", e))
@@ -180,22 +202,66 @@ public class DefaultLoadBalancerReconciler implements LoadBalancerReconciler {
                         .doOnTerminate(afterReconciliation::run), 1);
     }
 
+    /**
+     * Load balancers are reconciled concurrently, so the metrics are recorded for each call separately.
+     */
     private Observable<TargetStateBatchable> reconcile(String loadBalancerId, List<JobLoadBalancerState> associations) {
-        Observable<TargetStateBatchable> updatesForLoadBalancer = connector.getLoadBalancer(loadBalancerId)
-                // merge known targets
-                .flatMap(loadBalancer -> ReactorExt.toSingle(
-                        store.getLoadBalancerTargets(loadBalancer.getId())
-                                .collect(Collectors.toSet())
-                                .map(knownTargets -> new LoadBalancerWithKnownTargets(loadBalancer, knownTargets))
-                ))
-                // the same metrics transformer can be used for all subscriptions only because they are all being
-                // serialized with flatMap(maxConcurrent: 1)
-                .compose(registeredIpsMetrics.asSingle())
-                .flatMapObservable(loadBalancerTargets -> updatesFor(loadBalancerTargets, associations));
-
-        return updatesForLoadBalancer
-                .doOnError(e -> logger.error("Error while reconciling load balancer {}", loadBalancerId, e))
-                .onErrorResumeNext(Observable.empty());
+        return Observable.defer(() -> {
+            long startTime = loadBalancerMetrics.start();
+            Map<String, JobTargets> targetsByJobId = resolveTargets(associations);
+            ReconciledState state = new ReconciledState(associations, targetsByJobId, scheduler.now());
+            if (canSkip(loadBalancerId, state)) {
+                skippedCounter.increment();
+                return Observable.empty();
+            }
+
+            Observable<TargetStateBatchable> updatesForLoadBalancer = getRegisteredIps(loadBalancerId)
+                    // merge known targets
+                    .flatMap(loadBalancer -> ReactorExt.toSingle(
+                            store.getLoadBalancerTargets(loadBalancer.getId())
+                                    .collect(Collectors.toSet())
+                                    .map(knownTargets -> new LoadBalancerWithKnownTargets(loadBalancer, knownTargets))
+                    ))
+                    .flatMapObservable(loadBalancerTargets -> updatesFor(loadBalancerTargets, associations, targetsByJobId, state));
+
+            return updatesForLoadBalancer
+                    .doOnCompleted(() -> loadBalancerMetrics.finish(startTime))
+                    .doOnError(e -> {
+                        loadBalancerMetrics.failure(startTime, e);
+                        logger.error("Error while reconciling load balancer {}", loadBalancerId, e);
+                    })
+                    .onErrorResumeNext(Observable.empty());
+        });
+    }
+
+    private Single<LoadBalancer> getRegisteredIps(String loadBalancerId) {
+        return Single.defer(() -> {
+            long startTime = registeredIpsMetrics.start();
+            return connector.getLoadBalancer(loadBalancerId)
+                    .doOnSuccess(loadBalancer -> registeredIpsMetrics.finish(startTime))
+                    .doOnError(e -> registeredIpsMetrics.failure(startTime, e));
+        });
+    }
+
+    private boolean canSkip(String loadBalancerId, ReconciledState state) {
+        ReconciledState previous = reconciledStates.get(loadBalancerId);
+        return previous != null
+                && state.timestamp - previous.timestamp < fullCheckIntervalMs.get()
+                && previous.isSameAs(state);
+    }
+
+    /**
+     * Targets of all jobs associated with the load balancer. Jobs for which the targets cannot be resolved are not
+     * included.
+     */
+    private Map<String, JobTargets> resolveTargets(List<JobLoadBalancerState> associations) {
+        Map<String, JobTargets> targetsByJobId = new HashMap<>();
+        for (JobLoadBalancerState association : associations) {
+            if (association.isStateAssociated()) {
+                targetsForJobSafe(association).ifPresent(targets -> targetsByJobId.put(association.getJobId(), targets));
+            }
+        }
+        return targetsByJobId;
     }
 
     /**
@@ -210,13 +276,23 @@ public class DefaultLoadBalancerReconciler implements LoadBalancerReconciler {
      * @param associations jobs currently associated to the load balancer
      */
     private Observable<TargetStateBatchable> updatesFor(LoadBalancerWithKnownTargets loadBalancer,
-                                                        List<JobLoadBalancerState> associations) {
+                                                        List<JobLoadBalancerState> associations,
+                                                        Map<String, JobTargets> targetsByJobId,
+                                                        ReconciledState state) {
         Instant now = now();
 
-        ReconciliationUpdates updates = (loadBalancer.current.getState().equals(LoadBalancer.State.ACTIVE)) ?
-                updatesForActiveLoadBalancer(loadBalancer, associations)
+        boolean active = loadBalancer.current.getState().equals(LoadBalancer.State.ACTIVE);
+        ReconciliationUpdates updates = active ?
+                updatesForActiveLoadBalancer(loadBalancer, associations, targetsByJobId)
                 : updatesForRemovedLoadBalancer(loadBalancer, associations);
 
+        boolean hasDissociated = associations.stream().anyMatch(JobLoadBalancerState::isStateDissociated);
+        if (active && !hasDissociated && updates.isEmpty() && state.isComplete()) {
+            reconciledStates.put(loadBalancer.current.getId(), state);
+        } else {
+            reconciledStates.remove(loadBalancer.current.getId());
+        }
+
         Completable cleanupTargets = (!updates.toRemove.isEmpty()) ?
                 ReactorExt.toCompletable(store.removeDeregisteredTargets(updates.toRemove))
                         // bring processing back the the Rx threads, otherwise it happens in the C* driver threadpool
@@ -246,10 +322,15 @@ public class DefaultLoadBalancerReconciler implements LoadBalancerReconciler {
                 .andThen(updatesForLoadBalancer);
     }
 
-    private ReconciliationUpdates updatesForActiveLoadBalancer(LoadBalancerWithKnownTargets loadBalancer, List<JobLoadBalancerState> associations) {
+    private ReconciliationUpdates updatesForActiveLoadBalancer(LoadBalancerWithKnownTargets loadBalancer,
+                                                               List<JobLoadBalancerState> associations,
+                                                               Map<String, JobTargets> targetsByJobId) {
+        String loadBalancerId = loadBalancer.current.getId();
         Set<LoadBalancerTarget> shouldBeRegistered = associations.stream()
                 .filter(JobLoadBalancerState::isStateAssociated)
-                .flatMap(association -> targetsForJobSafe(association).stream())
+                .map(association -> targetsByJobId.get(association.getJobId()))
+                .filter(Objects::nonNull)
+                .flatMap(targets -> targets.toTargets(loadBalancerId).stream())
                 .collect(Collectors.toSet());
 
         Set<LoadBalancerTarget> toRegister = shouldBeRegistered.stream()
@@ -310,9 +391,9 @@ public class DefaultLoadBalancerReconciler implements LoadBalancerReconciler {
         return !ignored.containsKey(update.getIdentifier());
     }
 
-    private List<LoadBalancerTarget> targetsForJobSafe(JobLoadBalancerState association) {
+    private Optional<JobTargets> targetsForJobSafe(JobLoadBalancerState association) {
         try {
-            return jobOperations.targetsForJob(association.getJobLoadBalancer());
+            return Optional.of(jobOperations.targetsForJob(association.getJobId()));
         } catch (RuntimeException e) {
             if (JobManagerException.hasErrorCode(e, JobNotFound)) {
                 logger.warn("Job is gone, ignoring its association and marking it to be GCed later {}", association);
@@ -320,7 +401,7 @@ public class DefaultLoadBalancerReconciler implements LoadBalancerReconciler {
             } else {
                 logger.error("Ignoring association, unable to fetch targets for {}", association, e);
             }
-            return Collections.emptyList();
+            return Optional.empty();
         }
     }
 
@@ -352,10 +433,10 @@ public class DefaultLoadBalancerReconciler implements LoadBalancerReconciler {
         return Observable.defer(() -> {
             cleanupExpiredIgnored();
             logger.debug("Snapshotting current associations");
-            Set<Map.Entry<String, List<JobLoadBalancerState>>> pairs = store.getAssociations().stream()
-                    .collect(Collectors.groupingBy(JobLoadBalancerState::getLoadBalancerId))
-                    .entrySet();
-            return Observable.from(pairs);
+            Map<String, List<JobLoadBalancerState>> associationsByLoadBalancer = store.getAssociations().stream()
+                    .collect(Collectors.groupingBy(JobLoadBalancerState::getLoadBalancerId));
+            reconciledStates.keySet().retainAll(associationsByLoadBalancer.keySet());
+            return Observable.from(associationsByLoadBalancer.entrySet());
         });
     }
 
@@ -367,6 +448,8 @@ public class DefaultLoadBalancerReconciler implements LoadBalancerReconciler {
             }
             if (ignored.remove(target, untilWhen) /* do not remove when changed */) {
                 logger.debug("Cooldown expired for target {}", target);
+                // updates for the target were filtered out during the cooldown, so its load balancer must not be skipped
+                reconciledStates.remove(target.getLoadBalancerId());
             }
         });
     }
@@ -412,6 +495,37 @@ public class DefaultLoadBalancerReconciler implements LoadBalancerReconciler {
         }
     }
 
+    /**
+     * Load balancer associations, and versions of the targets of the associated jobs.
+     */
+    private static class ReconciledState {
+        private final Set<JobLoadBalancerState> associations;
+        private final Map<String, Long> targetVersions;
+        private final boolean complete;
+        private final long timestamp;
+
+        private ReconciledState(List<JobLoadBalancerState> associations, Map<String, JobTargets> targetsByJobId, long timestamp) {
+            this.associations = new HashSet<>(associations);
+            this.targetVersions = new HashMap<>();
+            targetsByJobId.forEach((jobId, targets) -> targetVersions.put(jobId, targets.getVersion()));
+            this.complete = associations.stream()
+                    .filter(JobLoadBalancerState::isStateAssociated)
+                    .allMatch(association -> targetsByJobId.containsKey(association.getJobId()));
+            this.timestamp = timestamp;
+        }
+
+        /**
+         * False if the targets of some of the associated jobs could not be resolved.
+         */
+        private boolean isComplete() {
+            return complete;
+        }
+
+        private boolean isSameAs(ReconciledState other) {
+            return associations.equals(other.associations) && targetVersions.equals(other.targetVersions);
+        }
+    }
+
     private class ReconciliationUpdates {
         private final String loadBalancerId;
         private final Set<LoadBalancerTarget> toRegister;
@@ -428,6 +542,10 @@ public class DefaultLoadBalancerReconciler implements LoadBalancerReconciler {
             report();
         }
 
+        private boolean isEmpty() {
+            return toRegister.isEmpty() && toDeregister.isEmpty() && toRemove.isEmpty();
+        }
+
         private void report() {
             boolean found = false;
             if (!toRegister.isEmpty()) {
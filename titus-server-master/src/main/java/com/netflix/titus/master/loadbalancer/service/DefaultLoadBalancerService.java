@@ -86,11 +86,25 @@ public class DefaultLoadBalancerService implements LoadBalancerService {
                                       LoadBalancerStore loadBalancerStore,
                                       V3JobOperations v3JobOperations,
                                       LoadBalancerJobValidator validator) {
+        this(runtime, configuration, loadBalancerConnector, loadBalancerStore, new LoadBalancerJobOperations(v3JobOperations),
+                validator);
+    }
+
+    /**
+     * The engine and the reconciler share the job operations, so the reconciler can use the job targets cached from
+     * the engine job event stream.
+     */
+    private DefaultLoadBalancerService(TitusRuntime runtime,
+                                       LoadBalancerConfiguration configuration,
+                                       LoadBalancerConnector loadBalancerConnector,
+                                       LoadBalancerStore loadBalancerStore,
+                                       LoadBalancerJobOperations loadBalancerJobOperations,
+                                       LoadBalancerJobValidator validator) {
         this(runtime, configuration, loadBalancerConnector, loadBalancerStore,
-                new LoadBalancerJobOperations(v3JobOperations),
+                loadBalancerJobOperations,
                 new DefaultLoadBalancerReconciler(
                         configuration, loadBalancerStore, loadBalancerConnector,
-                        new LoadBalancerJobOperations(v3JobOperations), runtime.getRegistry(), Schedulers.computation()
+                        loadBalancerJobOperations, runtime.getRegistry(), Schedulers.computation()
                 ), validator, Schedulers.computation()
         );
     }
@@ -51,6 +51,20 @@ public interface LoadBalancerConfiguration {
     @DefaultValue("30000")
     long getReconciliationDelayMs();
 
+    /**
+     * How many load balancers are reconciled concurrently during a full reconciliation.
+     */
+    @DefaultValue("10")
+    int getReconciliationConcurrencyLimit();
+
+    /**
+     * Load balancers for which the last reconciliation found nothing to do, and whose associations and job targets did
+     * not change since, are not reconciled again until this interval passes. Changes made to the load balancers outside
+     * of Titus are detected with this delay. Set to 0 to reconcile all load balancers in each run.
+     */
+    @DefaultValue("300000")
+    long getReconciliationFullCheckIntervalMs();
+
     /**
      * Minimum time that items are held in a buffer for batching.
      */
@@ -16,25 +16,47 @@
 
 package com.netflix.titus.master.loadbalancer.service;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import com.netflix.titus.api.jobmanager.TaskAttributes;
 import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.JobState;
+import com.netflix.titus.api.jobmanager.model.job.Task;
 import com.netflix.titus.api.jobmanager.model.job.event.JobManagerEvent;
+import com.netflix.titus.api.jobmanager.model.job.event.JobUpdateEvent;
+import com.netflix.titus.api.jobmanager.model.job.event.TaskUpdateEvent;
 import com.netflix.titus.api.jobmanager.service.JobManagerException;
 import com.netflix.titus.api.jobmanager.service.V3JobOperations;
 import com.netflix.titus.api.loadbalancer.model.JobLoadBalancer;
 import com.netflix.titus.api.loadbalancer.model.LoadBalancerTarget;
+import com.netflix.titus.common.util.StringExt;
 import rx.Observable;
 
 /**
  * Wrapper for the V3 engines with some load balancer specific logic.
+ * <p>
+ * The targets of each job (see {@link #targetsForJob(String)}) are cached while the job event stream returned by
+ * {@link #observeJobs()} is subscribed, and kept up to date from its events. Without an active subscription the cache
+ * is not used, as it could not be kept up to date.
  */
 class LoadBalancerJobOperations {
+
+    private static final AtomicLong VERSION_SEQUENCE = new AtomicLong();
+
     private final V3JobOperations v3JobOperations;
 
+    private final ConcurrentMap<String, JobTargets> targetsByJobId = new ConcurrentHashMap<>();
+    private final AtomicInteger eventSubscriptions = new AtomicInteger();
+
     LoadBalancerJobOperations(V3JobOperations v3JobOperations) {
         this.v3JobOperations = v3JobOperations;
     }
@@ -56,11 +78,116 @@ class LoadBalancerJobOperations {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Same as {@link #targetsForJob(JobLoadBalancer)}, but not bound to a load balancer, and served from the cache when
+     * possible.
+     *
+     * @throws JobManagerException when the job is not present anymore
+     */
+    JobTargets targetsForJob(String jobId) {
+        if (eventSubscriptions.get() == 0) {
+            return loadJobTargets(jobId);
+        }
+        // Computing under the map lock serializes the load with the event updates for the same job.
+        return targetsByJobId.computeIfAbsent(jobId, this::loadJobTargets);
+    }
+
+    /**
+     * Only one subscriber (the {@link LoadBalancerEngine}) is expected, but the stream may be subscribed more than once.
+     */
     Observable<JobManagerEvent<?>> observeJobs() {
-        return v3JobOperations.observeJobs();
+        return v3JobOperations.observeJobs()
+                .doOnSubscribe(() -> {
+                    // Events may have been missed before the subscription
+                    eventSubscriptions.incrementAndGet();
+                    targetsByJobId.clear();
+                })
+                .doOnUnsubscribe(() -> {
+                    eventSubscriptions.decrementAndGet();
+                    targetsByJobId.clear();
+                })
+                .doOnNext(this::updateTargets);
     }
 
     Optional<Job<?>> getJob(String jobId) {
         return v3JobOperations.getJob(jobId);
     }
+
+    private JobTargets loadJobTargets(String jobId) {
+        Map<String, String> ipsByTaskId = new HashMap<>();
+        for (Task task : v3JobOperations.getTasks(jobId)) {
+            if (TaskHelpers.isStartedWithIp(task)) {
+                ipsByTaskId.put(task.getId(), task.getTaskContext().get(TaskAttributes.TASK_ATTRIBUTES_CONTAINER_IP));
+            }
+        }
+        return new JobTargets(ipsByTaskId);
+    }
+
+    private void updateTargets(JobManagerEvent<?> event) {
+        if (event instanceof TaskUpdateEvent) {
+            Task task = ((TaskUpdateEvent) event).getCurrentTask();
+            targetsByJobId.computeIfPresent(task.getJobId(), (jobId, targets) -> targets.update(task));
+            if (((TaskUpdateEvent) event).isMovedFromAnotherJob()) {
+                String sourceJobId = task.getTaskContext().get(TaskAttributes.TASK_ATTRIBUTES_MOVED_FROM_JOB);
+                if (StringExt.isNotEmpty(sourceJobId)) {
+                    targetsByJobId.computeIfPresent(sourceJobId, (jobId, targets) -> targets.remove(task.getId()));
+                }
+            }
+        } else if (event instanceof JobUpdateEvent) {
+            Job<?> job = ((JobUpdateEvent) event).getCurrent();
+            if (job.getStatus().getState() == JobState.Finished) {
+                targetsByJobId.remove(job.getId());
+            }
+        }
+    }
+
+    /**
+     * Immutable ip addresses of the job tasks that should be registered. Each change produces a new version.
+     */
+    static class JobTargets {
+
+        private final long version;
+        private final Map<String, String> ipsByTaskId;
+
+        JobTargets(Map<String, String> ipsByTaskId) {
+            this.version = VERSION_SEQUENCE.incrementAndGet();
+            this.ipsByTaskId = Collections.unmodifiableMap(ipsByTaskId);
+        }
+
+        long getVersion() {
+            return version;
+        }
+
+        Map<String, String> getIpsByTaskId() {
+            return ipsByTaskId;
+        }
+
+        List<LoadBalancerTarget> toTargets(String loadBalancerId) {
+            return ipsByTaskId.entrySet().stream()
+                    .map(entry -> new LoadBalancerTarget(loadBalancerId, entry.getKey(), entry.getValue()))
+                    .collect(Collectors.toList());
+        }
+
+        private JobTargets update(Task task) {
+            if (!TaskHelpers.isStartedWithIp(task)) {
+                return remove(task.getId());
+            }
+            String ipAddress = task.getTaskContext().get(TaskAttributes.TASK_ATTRIBUTES_CONTAINER_IP);
+            if (ipAddress.equals(ipsByTaskId.get(task.getId()))) {
+                return this;
+            }
+            Map<String, String> newIpsByTaskId = new HashMap<>(ipsByTaskId);
+            newIpsByTaskId.put(task.getId(), ipAddress);
+            return new JobTargets(newIpsByTaskId);
+        }
+
+        private JobTargets remove(String taskId) {
+            if (!ipsByTaskId.containsKey(taskId)) {
+                return this;
+            }
+            Map<String, String> newIpsByTaskId = new HashMap<>(ipsByTaskId);
+            newIpsByTaskId.remove(taskId);
+            return new JobTargets(newIpsByTaskId);
+        }
+    }
 }
@@ -23,7 +23,6 @@ import com.google.inject.Injector;
 import com.netflix.titus.api.jobmanager.model.job.Job;
 import com.netflix.titus.api.jobmanager.model.job.Task;
 import com.netflix.titus.api.jobmanager.service.V3JobOperations;
-import com.netflix.titus.common.util.CollectionsExt;
 import com.netflix.titus.common.util.tuple.Pair;
 import com.netflix.titus.grpc.protogen.SchedulerServiceGrpc;
 import com.netflix.titus.grpc.protogen.SchedulingResultEvent.Failure;
@@ -31,12 +30,12 @@ import com.netflix.titus.grpc.protogen.SchedulingResultEvent.Failures;
 import com.netflix.titus.grpc.protogen.SchedulingResultEvent.Success;
 import com.netflix.titus.grpc.protogen.SchedulingResultRequest;
 import com.netflix.titus.master.kubernetes.client.DirectKubeApiServerIntegrator;
+import com.netflix.titus.master.kubernetes.client.model.PodProjection;
+import com.netflix.titus.master.kubernetes.client.model.PodProjection.PodConditionProjection;
 import com.netflix.titus.runtime.endpoint.metadata.CallMetadataResolver;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
-import io.kubernetes.client.openapi.models.V1Pod;
-import io.kubernetes.client.openapi.models.V1PodCondition;
 
 @Singleton
 public class DefaultSchedulerServiceGrpc extends SchedulerServiceGrpc.SchedulerServiceImplBase {
@@ -60,7 +59,7 @@ public class DefaultSchedulerServiceGrpc extends SchedulerServiceGrpc.SchedulerS
         }
 
         DirectKubeApiServerIntegrator directIntegrator = injector.getInstance(DirectKubeApiServerIntegrator.class);
-        V1Pod pod = directIntegrator.getPods().get(taskId);
+        PodProjection pod = directIntegrator.getPods().get(taskId);
         if (pod != null) {
             responseObserver.onNext(toGrpcSchedulingResultEvent(pod));
             responseObserver.onCompleted();
@@ -70,8 +69,8 @@ public class DefaultSchedulerServiceGrpc extends SchedulerServiceGrpc.SchedulerS
         responseObserver.onError(new StatusRuntimeException(Status.NOT_FOUND.withDescription("No scheduling result available for task: " + taskId)));
     }
 
-    private com.netflix.titus.grpc.protogen.SchedulingResultEvent toGrpcSchedulingResultEvent(V1Pod pod) {
-        if ("TASK_RUNNING".equalsIgnoreCase(pod.getStatus().getPhase())) {
+    private com.netflix.titus.grpc.protogen.SchedulingResultEvent toGrpcSchedulingResultEvent(PodProjection pod) {
+        if ("TASK_RUNNING".equalsIgnoreCase(pod.getPhase())) {
             return com.netflix.titus.grpc.protogen.SchedulingResultEvent.newBuilder()
                     .setSuccess(Success.newBuilder().setMessage("Running now"))
                     .build();
@@ -79,16 +78,16 @@ public class DefaultSchedulerServiceGrpc extends SchedulerServiceGrpc.SchedulerS
 
         Failures.Builder failuresBuilder = Failures.newBuilder();
 
-        if (CollectionsExt.isNullOrEmpty(pod.getStatus().getConditions())) {
+        if (pod.getConditions().isEmpty()) {
             failuresBuilder.addFailures(Failure.newBuilder()
                     .setReason("Task not scheduled yet, but no placement issues found")
                     .setFailureCount(1)
             );
         } else {
-            for (V1PodCondition v1PodCondition : pod.getStatus().getConditions()) {
+            for (PodConditionProjection condition : pod.getConditions()) {
                 failuresBuilder.addFailures(Failure.newBuilder()
                         .setReason(String.format("Pod scheduling failure: reason=%s, message=%s",
-                                v1PodCondition.getReason(), v1PodCondition.getMessage()
+                                condition.getReason(), condition.getMessage()
                         ))
                         .setFailureCount(1)
                 );
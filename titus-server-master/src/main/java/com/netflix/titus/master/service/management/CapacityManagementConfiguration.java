@@ -51,4 +51,18 @@ public interface CapacityManagementConfiguration {
     @DefaultValue("fenzo")
     String getDefaultSchedulerName();
 
+    /**
+     * Interval at which the resource consumption snapshot is updated. Only jobs changed since the last update
+     * are re-evaluated.
+     */
+    @DefaultValue("1000")
+    long getResourceConsumptionUpdateIntervalMs();
+
+    /**
+     * Interval at which the resource consumption of all jobs is evaluated from scratch, to recover from missed job
+     * manager events.
+     */
+    @DefaultValue("300000")
+    long getResourceConsumptionFullRefreshIntervalMs();
+
 }
\ No newline at end of file
@@ -36,8 +36,10 @@ import com.netflix.titus.common.util.guice.ProxyType;
 import com.netflix.titus.common.util.guice.annotation.Activator;
 import com.netflix.titus.common.util.guice.annotation.ProxyConfiguration;
 import com.netflix.titus.common.util.rx.ObservableExt;
+import com.netflix.titus.common.util.time.Clocks;
 import com.netflix.titus.master.MetricConstants;
 import com.netflix.titus.master.service.management.ApplicationSlaManagementService;
+import com.netflix.titus.master.service.management.CapacityManagementConfiguration;
 import com.netflix.titus.master.service.management.CompositeResourceConsumption;
 import com.netflix.titus.master.service.management.ResourceConsumption;
 import com.netflix.titus.master.service.management.ResourceConsumption.ConsumptionLevel;
@@ -58,9 +60,8 @@ import rx.subjects.PublishSubject;
 import static com.netflix.titus.common.util.CollectionsExt.copyAndRemove;
 
 /**
- * Periodically checks for SLA violations, and a pre-configured interval.
- *
- * @TODO Improve this implementation by immediately reacting to state changes in the system.
+ * Periodically publishes the resource consumption, at a pre-configured interval. The consumption is evaluated
+ * incrementally (see {@link IncrementalResourceConsumptionEvaluator}), so the interval can be short.
  */
 @Singleton
 @ProxyConfiguration(types = ProxyType.ActiveGuard)
@@ -70,9 +71,8 @@ public class DefaultResourceConsumptionService implements ResourceConsumptionSer
 
     private static final String METRIC_CONSUMPTION = MetricConstants.METRIC_CAPACITY_MANAGEMENT + "consumption.";
 
-    static final long UPDATE_INTERVAL_MS = 5000;
-
     private final Supplier<ConsumptionEvaluationResult> evaluator;
+    private final long updateIntervalMs;
     private final Registry registry;
     private final Scheduler.Worker worker;
 
@@ -86,15 +86,28 @@ public class DefaultResourceConsumptionService implements ResourceConsumptionSer
     @Inject
     public DefaultResourceConsumptionService(ApplicationSlaManagementService applicationSlaManagementService,
                                              V3JobOperations v3JobOperations,
+                                             CapacityManagementConfiguration configuration,
                                              Registry registry) {
-        this(ResourceConsumptionEvaluator.newEvaluator(applicationSlaManagementService, v3JobOperations), registry, Schedulers.computation());
+        this(
+                new IncrementalResourceConsumptionEvaluator(
+                        applicationSlaManagementService,
+                        v3JobOperations,
+                        configuration.getResourceConsumptionFullRefreshIntervalMs(),
+                        Clocks.system()
+                ),
+                configuration.getResourceConsumptionUpdateIntervalMs(),
+                registry,
+                Schedulers.computation()
+        );
     }
 
     @VisibleForTesting
     DefaultResourceConsumptionService(Supplier<ConsumptionEvaluationResult> evaluator,
+                                      long updateIntervalMs,
                                       Registry registry,
                                       Scheduler scheduler) {
         this.evaluator = evaluator;
+        this.updateIntervalMs = updateIntervalMs;
         this.registry = registry;
         this.worker = scheduler.createWorker();
     }
@@ -103,7 +116,7 @@ public class DefaultResourceConsumptionService implements ResourceConsumptionSer
     public Observable<Void> enterActiveMode() {
         logger.info("Entering active mode");
         this.metrics = new ResourceConsumptionServiceMetrics(registry.createId(METRIC_CONSUMPTION), registry);
-        this.subscription = worker.schedulePeriodically(this::updateInfo, 0, UPDATE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        this.subscription = worker.schedulePeriodically(this::updateInfo, 0, updateIntervalMs, TimeUnit.MILLISECONDS);
         return Observable.empty();
     }
 
@@ -113,6 +126,9 @@ public class DefaultResourceConsumptionService implements ResourceConsumptionSer
             subscription.unsubscribe();
         }
         worker.unsubscribe();
+        if (evaluator instanceof IncrementalResourceConsumptionEvaluator) {
+            ((IncrementalResourceConsumptionEvaluator) evaluator).shutdown();
+        }
         eventsSubject.onCompleted();
     }
 
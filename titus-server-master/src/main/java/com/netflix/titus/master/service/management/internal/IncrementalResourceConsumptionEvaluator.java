@@ -0,0 +1,280 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.titus.master.service.management.internal;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.event.JobUpdateEvent;
+import com.netflix.titus.api.jobmanager.model.job.event.TaskUpdateEvent;
+import com.netflix.titus.api.jobmanager.service.JobModelView;
+import com.netflix.titus.api.jobmanager.service.V3JobOperations;
+import com.netflix.titus.api.model.ApplicationSLA;
+import com.netflix.titus.common.util.rx.ObservableExt;
+import com.netflix.titus.common.util.time.Clock;
+import com.netflix.titus.master.service.management.ApplicationSlaManagementService;
+import com.netflix.titus.master.service.management.ResourceConsumption;
+import com.netflix.titus.master.service.management.internal.DefaultResourceConsumptionService.ConsumptionEvaluationResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Subscription;
+
+import static com.netflix.titus.master.service.management.ApplicationSlaManagementService.DEFAULT_APPLICATION;
+
+/**
+ * Resource consumption evaluator that keeps the per job consumption, and the per capacity group aggregates between
+ * evaluations. Jobs are marked as changed by the job manager events, and only the changed jobs and the capacity groups
+ * they belong to are recomputed. The result is equivalent to the one computed by {@link ResourceConsumptionEvaluator}.
+ * <p>
+ * To recover from missed events (for example when the event stream terminates), the whole state is periodically
+ * recomputed from scratch.
+ * <p>
+ * The {@link #get()} method must be called from a single thread.
+ */
+class IncrementalResourceConsumptionEvaluator implements Supplier<ConsumptionEvaluationResult> {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalResourceConsumptionEvaluator.class);
+
+    private final ApplicationSlaManagementService applicationSlaManagementService;
+    private final V3JobOperations v3JobOperations;
+    private final long fullRefreshIntervalMs;
+    private final Clock clock;
+
+    private final Set<String> changedJobIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean fullRefreshRequested = true;
+    private volatile Subscription eventSubscription;
+
+    private final Map<String, JobEntry> jobEntries = new HashMap<>();
+    private final Map<String, Set<String>> jobIdsByCapacityGroup = new HashMap<>();
+    private final Map<String, Map<String, ResourceConsumption>> appConsumptionsByCapacityGroup = new HashMap<>();
+    private Set<String> definedCapacityGroups = Collections.emptySet();
+    private long lastFullRefreshTimestamp;
+
+    IncrementalResourceConsumptionEvaluator(ApplicationSlaManagementService applicationSlaManagementService,
+                                            V3JobOperations v3JobOperations,
+                                            long fullRefreshIntervalMs,
+                                            Clock clock) {
+        this.applicationSlaManagementService = applicationSlaManagementService;
+        this.v3JobOperations = v3JobOperations;
+        this.fullRefreshIntervalMs = fullRefreshIntervalMs;
+        this.clock = clock;
+    }
+
+    void shutdown() {
+        ObservableExt.safeUnsubscribe(eventSubscription);
+    }
+
+    @Override
+    public ConsumptionEvaluationResult get() {
+        if (eventSubscription == null || eventSubscription.isUnsubscribed()) {
+            // Events missed while the event stream was not subscribed are recovered by the full refresh.
+            subscribeToEvents();
+            fullRefreshRequested = true;
+        }
+
+        Collection<ApplicationSLA> applicationSLAs = applicationSlaManagementService.getApplicationSLAs();
+        Map<String, ApplicationSLA> applicationSlaMap = applicationSLAs.stream().collect(Collectors.toMap(ApplicationSLA::getAppName, Function.identity()));
+        Set<String> newDefinedCapacityGroups = applicationSlaMap.keySet();
+
+        long now = clock.wallTime();
+        if (fullRefreshRequested || now - lastFullRefreshTimestamp >= fullRefreshIntervalMs) {
+            fullRefresh(newDefinedCapacityGroups);
+            lastFullRefreshTimestamp = now;
+        } else {
+            incrementalRefresh(newDefinedCapacityGroups);
+        }
+
+        Map<String, Map<String, ResourceConsumption>> consumptionMap = new HashMap<>(appConsumptionsByCapacityGroup);
+        definedCapacityGroups.forEach(capacityGroup -> consumptionMap.putIfAbsent(capacityGroup, Collections.emptyMap()));
+
+        return new ConsumptionEvaluationResult(
+                definedCapacityGroups,
+                getUndefinedCapacityGroups(),
+                ResourceConsumptionEvaluator.buildSystemConsumption(applicationSlaMap, consumptionMap)
+        );
+    }
+
+    private void subscribeToEvents() {
+        this.eventSubscription = v3JobOperations.observeJobs().subscribe(
+                event -> {
+                    if (event instanceof JobUpdateEvent) {
+                        changedJobIds.add(((JobUpdateEvent) event).getCurrent().getId());
+                    } else if (event instanceof TaskUpdateEvent) {
+                        changedJobIds.add(((TaskUpdateEvent) event).getCurrentTask().getJobId());
+                    }
+                },
+                e -> logger.error("Event stream terminated with an error", e),
+                () -> logger.info("Event stream completed")
+        );
+    }
+
+    private void fullRefresh(Set<String> newDefinedCapacityGroups) {
+        // Clear the changes before reading the job model, so changes made after the read are processed next time.
+        fullRefreshRequested = false;
+        changedJobIds.clear();
+        JobModelView view = v3JobOperations.getJobModelView();
+
+        this.definedCapacityGroups = new HashSet<>(newDefinedCapacityGroups);
+        jobEntries.clear();
+        jobIdsByCapacityGroup.clear();
+        appConsumptionsByCapacityGroup.clear();
+
+        view.getJobsAndTasks().forEach(jobAndTasks -> {
+            Job<?> job = jobAndTasks.getLeft();
+            JobEntry entry = newJobEntry(job, jobAndTasks.getRight());
+            jobEntries.put(job.getId(), entry);
+            jobIdsByCapacityGroup.computeIfAbsent(entry.capacityGroup, g -> new HashSet<>()).add(job.getId());
+        });
+        jobIdsByCapacityGroup.keySet().forEach(this::rebuildCapacityGroup);
+    }
+
+    private void incrementalRefresh(Set<String> newDefinedCapacityGroups) {
+        Set<String> jobIds = new HashSet<>(changedJobIds);
+        changedJobIds.removeAll(jobIds);
+        JobModelView view = v3JobOperations.getJobModelView();
+
+        Set<String> changedCapacityGroups = new HashSet<>();
+        if (!definedCapacityGroups.equals(newDefinedCapacityGroups)) {
+            this.definedCapacityGroups = new HashSet<>(newDefinedCapacityGroups);
+            regroupAll(changedCapacityGroups);
+        }
+
+        for (String jobId : jobIds) {
+            JobEntry previous = jobEntries.remove(jobId);
+            if (previous != null) {
+                removeFromCapacityGroup(jobId, previous.capacityGroup);
+                changedCapacityGroups.add(previous.capacityGroup);
+            }
+            Optional<Job<?>> jobOpt = view.findJob(jobId);
+            if (jobOpt.isPresent()) {
+                JobEntry entry = newJobEntry(jobOpt.get(), view.getTasks(jobId));
+                jobEntries.put(jobId, entry);
+                jobIdsByCapacityGroup.computeIfAbsent(entry.capacityGroup, g -> new HashSet<>()).add(jobId);
+                changedCapacityGroups.add(entry.capacityGroup);
+            }
+        }
+
+        changedCapacityGroups.forEach(this::rebuildCapacityGroup);
+    }
+
+    /**
+     * The capacity group assignment depends on the set of defined capacity groups, so when it changes all jobs are
+     * assigned again. The job consumptions do not change, and are reused.
+     */
+    private void regroupAll(Set<String> changedCapacityGroups) {
+        changedCapacityGroups.addAll(jobIdsByCapacityGroup.keySet());
+        jobIdsByCapacityGroup.clear();
+
+        Map<String, JobEntry> regrouped = new HashMap<>();
+        jobEntries.forEach((jobId, entry) -> {
+            JobEntry newEntry = entry.regroup(definedCapacityGroups);
+            regrouped.put(jobId, newEntry);
+            jobIdsByCapacityGroup.computeIfAbsent(newEntry.capacityGroup, g -> new HashSet<>()).add(jobId);
+            changedCapacityGroups.add(newEntry.capacityGroup);
+        });
+        jobEntries.putAll(regrouped);
+    }
+
+    private void removeFromCapacityGroup(String jobId, String capacityGroup) {
+        Set<String> groupJobIds = jobIdsByCapacityGroup.get(capacityGroup);
+        if (groupJobIds != null) {
+            groupJobIds.remove(jobId);
+            if (groupJobIds.isEmpty()) {
+                jobIdsByCapacityGroup.remove(capacityGroup);
+            }
+        }
+    }
+
+    private void rebuildCapacityGroup(String capacityGroup) {
+        Set<String> groupJobIds = jobIdsByCapacityGroup.get(capacityGroup);
+        if (groupJobIds == null) {
+            appConsumptionsByCapacityGroup.remove(capacityGroup);
+            return;
+        }
+        Map<String, Map<String, ResourceConsumption>> groupConsumptionMap = new HashMap<>();
+        groupJobIds.forEach(jobId -> {
+            JobEntry entry = jobEntries.get(jobId);
+            ResourceConsumptionEvaluator.updateConsumptionMap(entry.appName, capacityGroup, entry.consumption, groupConsumptionMap);
+        });
+        appConsumptionsByCapacityGroup.put(capacityGroup, groupConsumptionMap.get(capacityGroup));
+    }
+
+    /**
+     * Jobs with an undefined capacity group are assigned to the {@link ApplicationSlaManagementService#DEFAULT_APPLICATION}
+     * capacity group, so only its jobs have to be checked.
+     */
+    private Set<String> getUndefinedCapacityGroups() {
+        Set<String> undefined = new HashSet<>();
+        jobIdsByCapacityGroup.getOrDefault(DEFAULT_APPLICATION, Collections.emptySet()).forEach(jobId -> {
+            JobEntry entry = jobEntries.get(jobId);
+            if (entry.undefinedCapacityGroup != null) {
+                undefined.add(entry.undefinedCapacityGroup);
+            }
+        });
+        return undefined;
+    }
+
+    private JobEntry newJobEntry(Job<?> job, List<Task> tasks) {
+        String appName = ResourceConsumptionEvaluator.resolveAppName(job);
+        return JobEntry.of(job, appName, ResourceConsumptionEvaluator.buildJobConsumption(job, appName, tasks), definedCapacityGroups);
+    }
+
+    private static class JobEntry {
+
+        private final Job<?> job;
+        private final String appName;
+        private final ResourceConsumption consumption;
+        private final String capacityGroup;
+
+        /**
+         * Capacity group set in the job descriptor, if it is not defined. Such jobs are assigned to the
+         * {@link ApplicationSlaManagementService#DEFAULT_APPLICATION} capacity group.
+         */
+        private final String undefinedCapacityGroup;
+
+        private JobEntry(Job<?> job, String appName, ResourceConsumption consumption, String capacityGroup, String undefinedCapacityGroup) {
+            this.job = job;
+            this.appName = appName;
+            this.consumption = consumption;
+            this.capacityGroup = capacityGroup;
+            this.undefinedCapacityGroup = undefinedCapacityGroup;
+        }
+
+        private JobEntry regroup(Set<String> definedCapacityGroups) {
+            return of(job, appName, consumption, definedCapacityGroups);
+        }
+
+        private static JobEntry of(Job<?> job, String appName, ResourceConsumption consumption, Set<String> definedCapacityGroups) {
+            Set<String> undefined = new HashSet<>(1);
+            String capacityGroup = ResourceConsumptionEvaluator.resolveCapacityGroup(definedCapacityGroups, undefined, job, appName);
+            return new JobEntry(job, appName, consumption, capacityGroup, undefined.isEmpty() ? null : undefined.iterator().next());
+        }
+    }
+}
@@ -41,7 +41,6 @@ import com.netflix.titus.api.jobmanager.service.V3JobOperations;
 import com.netflix.titus.api.model.ApplicationSLA;
 import com.netflix.titus.api.model.ResourceDimension;
 import com.netflix.titus.api.model.Tier;
-import com.netflix.titus.common.util.CollectionsExt;
 import com.netflix.titus.common.util.Evaluators;
 import com.netflix.titus.common.util.tuple.Pair;
 import com.netflix.titus.master.model.ResourceDimensions;
@@ -56,7 +55,6 @@ import org.slf4j.LoggerFactory;
 import static com.netflix.titus.common.util.CollectionsExt.copyAndRemove;
 import static com.netflix.titus.master.service.management.ApplicationSlaManagementService.DEFAULT_APPLICATION;
 import static com.netflix.titus.master.service.management.ResourceConsumption.SYSTEM_CONSUMER;
-import static java.util.stream.Collectors.groupingBy;
 
 /**
  * Computes current resource consumption.
@@ -80,7 +78,7 @@ class ResourceConsumptionEvaluator {
         this.applicationSlaMap = applicationSLAs.stream().collect(Collectors.toMap(ApplicationSLA::getAppName, Function.identity()));
 
         Pair<Map<String, Map<String, ResourceConsumption>>, Set<String>> allocationsByCapacityGroupPair = computeAllocationsByCapacityGroupAndAppName();
-        this.systemConsumption = buildSystemConsumption(allocationsByCapacityGroupPair.getLeft());
+        this.systemConsumption = buildSystemConsumption(applicationSlaMap, allocationsByCapacityGroupPair.getLeft());
         this.undefinedCapacityGroups = allocationsByCapacityGroupPair.getRight();
     }
 
@@ -96,7 +94,8 @@ class ResourceConsumptionEvaluator {
         return systemConsumption;
     }
 
-    private CompositeResourceConsumption buildSystemConsumption(Map<String, Map<String, ResourceConsumption>> capacityGroupConsumptionMap) {
+    static CompositeResourceConsumption buildSystemConsumption(Map<String, ApplicationSLA> applicationSlaMap,
+                                                               Map<String, Map<String, ResourceConsumption>> capacityGroupConsumptionMap) {
         // Capacity group level
         Map<Tier, List<CompositeResourceConsumption>> tierConsumptions = new HashMap<>();
         capacityGroupConsumptionMap.forEach((capacityGroup, appConsumptions) -> {
@@ -136,50 +135,12 @@ class ResourceConsumptionEvaluator {
         Map<String, Map<String, ResourceConsumption>> consumptionMap = new HashMap<>();
         Set<String> undefinedCapacityGroups = new HashSet<>();
 
-        v3JobOperations.getJobsAndTasks().forEach(jobsAndTasks -> {
-            Job job = jobsAndTasks.getLeft();
-            List<Task> tasks = jobsAndTasks.getRight();
-            List<Task> runningTasks = getRunningWorkers(tasks);
+        v3JobOperations.getJobModelView().getJobsAndTasks().forEach(jobsAndTasks -> {
+            Job<?> job = jobsAndTasks.getLeft();
+            String appName = resolveAppName(job);
+            ResourceConsumption jobConsumption = buildJobConsumption(job, appName, jobsAndTasks.getRight());
 
-            ResourceDimension taskResources = perTaskResourceDimension(job);
-            String appName = Evaluators.getOrDefault(job.getJobDescriptor().getApplicationName(), DEFAULT_APPLICATION);
-            ResourceDimension currentConsumption = ResourceDimensions.multiply(taskResources, runningTasks.size());
-            ResourceDimension maxConsumption = ResourceDimensions.multiply(taskResources, getMaxJobSize(job));
-
-            Map<String, List<Task>> tasksByInstanceType = tasks.stream().collect(
-                    groupingBy(task -> task.getTaskContext()
-                            .getOrDefault(TaskAttributes.TASK_ATTRIBUTES_AGENT_ITYPE, "unknown"))
-            );
-            Map<String, ResourceConsumption> consumptionByInstanceType = CollectionsExt.mapValuesWithKeys(
-                    tasksByInstanceType,
-                    (instanceType, instanceTypeTasks) -> {
-                        List<Task> runningInstanceTypeTasks = getRunningWorkers(instanceTypeTasks);
-                        ResourceDimension instanceTypeConsumption = ResourceDimensions.multiply(
-                                taskResources,
-                                runningInstanceTypeTasks.size()
-                        );
-                        return new ResourceConsumption(
-                                instanceType,
-                                ConsumptionLevel.InstanceType,
-                                instanceTypeConsumption,
-                                instanceTypeConsumption, // maxConsumption is not relevant at ConsumptionLevel.InstanceType
-                                getWorkerStateMap(instanceTypeTasks)
-                        );
-                    },
-                    HashMap::new
-            );
-            ResourceConsumption jobConsumption = new CompositeResourceConsumption(
-                    appName,
-                    ConsumptionLevel.Application,
-                    currentConsumption,
-                    maxConsumption,
-                    maxConsumption, // allowedConsumption is not relevant at ConsumptionLevel.Application
-                    getWorkerStateMap(tasks),
-                    consumptionByInstanceType,
-                    false // we consider a job is always within its allowed usage since it can't go over its max
-            );
-
-            String capacityGroup = resolveCapacityGroup(undefinedCapacityGroups, job, appName);
+            String capacityGroup = resolveCapacityGroup(definedCapacityGroups, undefinedCapacityGroups, job, appName);
             updateConsumptionMap(appName, capacityGroup, jobConsumption, consumptionMap);
         });
 
@@ -191,7 +152,59 @@ class ResourceConsumptionEvaluator {
         return Pair.of(consumptionMap, undefinedCapacityGroups);
     }
 
-    private void updateConsumptionMap(String applicationName,
+    static String resolveAppName(Job<?> job) {
+        return Evaluators.getOrDefault(job.getJobDescriptor().getApplicationName(), DEFAULT_APPLICATION);
+    }
+
+    /**
+     * Computes the job consumption in a single pass over its tasks.
+     *
+     * @return job level consumption, with the instance type level consumptions as contributors
+     */
+    static ResourceConsumption buildJobConsumption(Job<?> job, String appName, List<Task> tasks) {
+        ResourceDimension taskResources = perTaskResourceDimension(job);
+
+        Map<String, Object> jobTaskStates = newTaskStateMap();
+        Map<String, InstanceTypeTasks> tasksByInstanceType = new HashMap<>();
+        int running = 0;
+        for (Task task : tasks) {
+            TaskState taskState = task.getStatus().getState();
+            String instanceType = task.getTaskContext().getOrDefault(TaskAttributes.TASK_ATTRIBUTES_AGENT_ITYPE, "unknown");
+            InstanceTypeTasks instanceTypeTasks = tasksByInstanceType.computeIfAbsent(instanceType, t -> new InstanceTypeTasks());
+            incrementTaskState(jobTaskStates, taskState);
+            incrementTaskState(instanceTypeTasks.taskStates, taskState);
+            if (TaskState.isRunning(taskState)) {
+                running++;
+                instanceTypeTasks.running++;
+            }
+        }
+
+        Map<String, ResourceConsumption> consumptionByInstanceType = new HashMap<>();
+        tasksByInstanceType.forEach((instanceType, instanceTypeTasks) -> {
+            ResourceDimension instanceTypeConsumption = ResourceDimensions.multiply(taskResources, instanceTypeTasks.running);
+            consumptionByInstanceType.put(instanceType, new ResourceConsumption(
+                    instanceType,
+                    ConsumptionLevel.InstanceType,
+                    instanceTypeConsumption,
+                    instanceTypeConsumption, // maxConsumption is not relevant at ConsumptionLevel.InstanceType
+                    instanceTypeTasks.taskStates
+            ));
+        });
+
+        ResourceDimension maxConsumption = ResourceDimensions.multiply(taskResources, getMaxJobSize(job));
+        return new CompositeResourceConsumption(
+                appName,
+                ConsumptionLevel.Application,
+                ResourceDimensions.multiply(taskResources, running),
+                maxConsumption,
+                maxConsumption, // allowedConsumption is not relevant at ConsumptionLevel.Application
+                jobTaskStates,
+                consumptionByInstanceType,
+                false // we consider a job is always within its allowed usage since it can't go over its max
+        );
+    }
+
+    static void updateConsumptionMap(String applicationName,
                                       String capacityGroup,
                                       ResourceConsumption jobConsumption,
                                       Map<String, Map<String, ResourceConsumption>> consumptionMap) {
@@ -208,21 +221,17 @@ class ResourceConsumptionEvaluator {
         }
     }
 
-    private int getMaxJobSize(Job<?> job) {
+    private static int getMaxJobSize(Job<?> job) {
         return JobFunctions.isServiceJob(job)
                 ? ((Job<ServiceJobExt>) job).getJobDescriptor().getExtensions().getCapacity().getMax()
                 : ((Job<BatchJobExt>) job).getJobDescriptor().getExtensions().getSize();
     }
 
-    private Map<String, Object> getWorkerStateMap(List<Task> tasks) {
-        Map<String, Object> tasksStates = newTaskStateMap();
-        tasks.stream().map(task -> task.getStatus().getState()).forEach(taskState ->
-                tasksStates.put(taskState.name(), (int) tasksStates.get(taskState.name()) + 1)
-        );
-        return tasksStates;
+    private static void incrementTaskState(Map<String, Object> tasksStates, TaskState taskState) {
+        tasksStates.put(taskState.name(), (int) tasksStates.get(taskState.name()) + 1);
     }
 
-    private Map<String, Object> newTaskStateMap() {
+    private static Map<String, Object> newTaskStateMap() {
         Map<String, Object> tasksStates = new HashMap<>();
         for (TaskState state : TaskState.values()) {
             tasksStates.put(state.name(), 0);
@@ -230,7 +239,7 @@ class ResourceConsumptionEvaluator {
         return tasksStates;
     }
 
-    private String resolveCapacityGroup(Set<String> undefinedCapacityGroups, Job job, String appName) {
+    static String resolveCapacityGroup(Set<String> definedCapacityGroups, Set<String> undefinedCapacityGroups, Job<?> job, String appName) {
         String capacityGroup = job.getJobDescriptor().getCapacityGroup();
         if (capacityGroup == null) {
             if (appName != null && definedCapacityGroups.contains(appName)) {
@@ -274,7 +283,9 @@ class ResourceConsumptionEvaluator {
                 0);
     }
 
-    private List<Task> getRunningWorkers(List<Task> tasks) {
-        return tasks.stream().filter(t -> TaskState.isRunning(t.getStatus().getState())).collect(Collectors.toList());
+    private static class InstanceTypeTasks {
+
+        private final Map<String, Object> taskStates = newTaskStateMap();
+        private int running;
     }
 }
\ No newline at end of file
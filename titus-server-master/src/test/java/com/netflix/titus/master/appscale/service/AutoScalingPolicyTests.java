@@ -18,6 +18,7 @@ package com.netflix.titus.master.appscale.service;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BooleanSupplier;
 
 import com.netflix.titus.api.appscale.model.AlarmConfiguration;
@@ -45,59 +46,59 @@ import static org.mockito.Mockito.when;
 
 public class AutoScalingPolicyTests {
     public static class MockAlarmClient implements CloudAlarmClient {
-        int numOfAlarmsCreated = 0;
+        final AtomicInteger numOfAlarmsCreated = new AtomicInteger();
 
         @Override
         public Observable<String> createOrUpdateAlarm(String policyRefId, String jobId, AlarmConfiguration alarmConfiguration,
                                                       String autoScalingGroup, List<String> actions) {
-            numOfAlarmsCreated++;
+            numOfAlarmsCreated.incrementAndGet();
             return Observable.just("alarmARM");
         }
 
         @Override
         public Completable deleteAlarm(String jobId, String alarmName) {
-            numOfAlarmsCreated--;
+            numOfAlarmsCreated.decrementAndGet();
             return Completable.complete();
         }
 
         public int getNumOfAlarmsCreated() {
-            return numOfAlarmsCreated;
+            return numOfAlarmsCreated.get();
         }
     }
 
     public static class MockAppAutoScalingClient implements AppAutoScalingClient {
-        int numScalableTargets = 0;
-        int numPolicies = 0;
+        final AtomicInteger numScalableTargets = new AtomicInteger();
+        final AtomicInteger numPolicies = new AtomicInteger();
 
         public int getNumScalableTargets() {
-            return numScalableTargets;
+            return numScalableTargets.get();
         }
 
         public int getNumPolicies() {
-            return numPolicies;
+            return numPolicies.get();
         }
 
         @Override
         public Completable createScalableTarget(String jobId, int minCapacity, int maxCapacity) {
-            numScalableTargets++;
+            numScalableTargets.incrementAndGet();
             return Completable.complete();
         }
 
         @Override
         public Observable<String> createOrUpdateScalingPolicy(String policyRefId, String jobId, PolicyConfiguration policyConfiguration) {
-            numPolicies++;
+            numPolicies.incrementAndGet();
             return Observable.just("policyARN");
         }
 
         @Override
         public Completable deleteScalableTarget(String jobId) {
-            numScalableTargets--;
+            numScalableTargets.decrementAndGet();
             return Completable.complete();
         }
 
         @Override
         public Completable deleteScalingPolicy(String policyRefId, String jobId) {
-            numPolicies--;
+            numPolicies.decrementAndGet();
             return Completable.complete();
         }
 
@@ -181,8 +182,8 @@ public class AutoScalingPolicyTests {
 
     public static AppScaleManagerConfiguration mockAppScaleManagerConfiguration() {
         AppScaleManagerConfiguration appScaleManagerConfiguration = mock(AppScaleManagerConfiguration.class);
-        when(appScaleManagerConfiguration.getReconcileFinishedJobsIntervalMins()).thenReturn(1L);
-        when(appScaleManagerConfiguration.getReconcileTargetsIntervalMins()).thenReturn(1L);
+        when(appScaleManagerConfiguration.getFullReconciliationIntervalMins()).thenReturn(1L);
+        when(appScaleManagerConfiguration.getMaxConcurrentActions()).thenReturn(4);
         when(appScaleManagerConfiguration.getStoreInitTimeoutSeconds()).thenReturn(5L);
         return appScaleManagerConfiguration;
     }
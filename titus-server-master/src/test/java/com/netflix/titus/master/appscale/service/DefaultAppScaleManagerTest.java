@@ -17,6 +17,7 @@
 package com.netflix.titus.master.appscale.service;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -24,13 +25,17 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import com.netflix.spectator.api.DefaultRegistry;
 import com.netflix.titus.api.appscale.model.AutoScalableTarget;
 import com.netflix.titus.api.appscale.model.AutoScalingPolicy;
+import com.netflix.titus.api.appscale.model.PolicyConfiguration;
+import com.netflix.titus.api.appscale.model.PolicyStatus;
 import com.netflix.titus.api.appscale.model.PolicyType;
 import com.netflix.titus.api.appscale.service.AutoScalePolicyException;
+import com.netflix.titus.api.connector.cloud.noop.NoOpAppAutoScalingClient;
 import com.netflix.titus.api.jobmanager.model.job.Capacity;
 import com.netflix.titus.api.jobmanager.model.job.Job;
 import com.netflix.titus.api.jobmanager.model.job.JobDescriptor;
@@ -53,6 +58,7 @@ import org.slf4j.LoggerFactory;
 import rx.Completable;
 import rx.Observable;
 import rx.schedulers.Schedulers;
+import rx.schedulers.TestScheduler;
 
 import static com.jayway.awaitility.Awaitility.await;
 import static java.util.Arrays.asList;
@@ -297,6 +303,139 @@ public class DefaultAppScaleManagerTest {
         await().timeout(30, TimeUnit.SECONDS).until(() -> mockAppAutoScalingClient.getNumPolicies() == totalJobs);
     }
 
+    @Test
+    public void checkActionsForSameJobAreCoalesced() {
+        String jobId = UUID.randomUUID().toString();
+        InMemoryPolicyStore policyStore = new InMemoryPolicyStore();
+        CountingAppAutoScalingClient appAutoScalingClient = new CountingAppAutoScalingClient();
+        TestScheduler testScheduler = Schedulers.test();
+        V3JobOperations v3JobOperations = mockV3OperationsForJobs(Collections.singletonList(jobId));
+        Job<?> job = v3JobOperations.getJob(jobId).get();
+        when(job.getStatus()).thenReturn(JobModel.newJobStatus().withState(JobState.Accepted).build());
+        DefaultAppScaleManager appScaleManager = new DefaultAppScaleManager(policyStore,
+                new AutoScalingPolicyTests.MockAlarmClient(),
+                appAutoScalingClient,
+                v3JobOperations,
+                new DefaultRegistry(),
+                AutoScalingPolicyTests.mockAppScaleManagerConfiguration(),
+                testScheduler,
+                mock(TitusRuntime.class));
+
+        String policyRefId = appScaleManager.createAutoScalingPolicy(AutoScalingPolicyTests.buildTargetTrackingPolicy(jobId))
+                .toBlocking().single();
+
+        // Policy updates and job events arriving before the queued actions are executed.
+        AutoScalingPolicy update = AutoScalingPolicy.newBuilder()
+                .withRefId(policyRefId)
+                .withPolicyConfiguration(AutoScalingPolicyTests.buildTargetTrackingPolicy(jobId).getPolicyConfiguration())
+                .build();
+        appScaleManager.updateAutoScalingPolicy(update).await();
+        appScaleManager.updateAutoScalingPolicy(update).await();
+        for (int i = 0; i < 3; i++) {
+            appScaleManager.v3LiveStreamTargetUpdates().toList().toBlocking().single();
+        }
+        Assertions.assertThat(appAutoScalingClient.getScalingPolicyUpdates()).isZero();
+
+        testScheduler.triggerActions();
+
+        // One policy create/update, and one scalable target update on top of the target created with the policy.
+        Assertions.assertThat(appAutoScalingClient.getScalingPolicyUpdates()).isEqualTo(1);
+        Assertions.assertThat(appAutoScalingClient.getScalableTargetUpdates()).isEqualTo(2);
+        Assertions.assertThat(policyStore.retrievePolicyForRefId(policyRefId).toBlocking().single().getStatus())
+                .isEqualTo(PolicyStatus.Applied);
+
+        // Nothing is left in the queue.
+        testScheduler.triggerActions();
+        Assertions.assertThat(appAutoScalingClient.getScalingPolicyUpdates()).isEqualTo(1);
+    }
+
+    @Test
+    public void checkConcurrentActionsAreBounded() {
+        int totalJobs = 20;
+        int maxConcurrentActions = 3;
+        List<String> jobIds = new ArrayList<>(totalJobs);
+        for (int i = 0; i < totalJobs; i++) {
+            jobIds.add(UUID.randomUUID().toString());
+        }
+
+        AppScaleManagerConfiguration configuration = AutoScalingPolicyTests.mockAppScaleManagerConfiguration();
+        when(configuration.getMaxConcurrentActions()).thenReturn(maxConcurrentActions);
+        CountingAppAutoScalingClient appAutoScalingClient = new CountingAppAutoScalingClient(10);
+        DefaultAppScaleManager appScaleManager = new DefaultAppScaleManager(new InMemoryPolicyStore(),
+                new AutoScalingPolicyTests.MockAlarmClient(),
+                appAutoScalingClient,
+                mockV3OperationsForJobs(jobIds),
+                new DefaultRegistry(),
+                configuration,
+                Schedulers.io(),
+                mock(TitusRuntime.class));
+
+        jobIds.forEach(jobId -> appScaleManager.createAutoScalingPolicy(AutoScalingPolicyTests.buildStepScalingPolicy(jobId))
+                .toBlocking().single());
+
+        await().timeout(30, TimeUnit.SECONDS).until(() -> appAutoScalingClient.getScalingPolicyUpdates() == totalJobs);
+        Assertions.assertThat(appAutoScalingClient.getMaxConcurrentCalls()).isLessThanOrEqualTo(maxConcurrentActions);
+    }
+
+    private static class CountingAppAutoScalingClient extends NoOpAppAutoScalingClient {
+
+        private final long callDelayMs;
+
+        private final AtomicInteger scalableTargetUpdates = new AtomicInteger();
+        private final AtomicInteger scalingPolicyUpdates = new AtomicInteger();
+        private final AtomicInteger concurrentCalls = new AtomicInteger();
+        private final AtomicInteger maxConcurrentCalls = new AtomicInteger();
+
+        private CountingAppAutoScalingClient() {
+            this(0);
+        }
+
+        private CountingAppAutoScalingClient(long callDelayMs) {
+            this.callDelayMs = callDelayMs;
+        }
+
+        @Override
+        public Completable createScalableTarget(String jobId, int minCapacity, int maxCapacity) {
+            return Completable.fromAction(() -> {
+                scalableTargetUpdates.incrementAndGet();
+                simulateCall();
+            }).andThen(super.createScalableTarget(jobId, minCapacity, maxCapacity));
+        }
+
+        @Override
+        public Observable<String> createOrUpdateScalingPolicy(String policyRefId, String jobId, PolicyConfiguration policyConfiguration) {
+            return Completable.fromAction(() -> {
+                scalingPolicyUpdates.incrementAndGet();
+                simulateCall();
+            }).andThen(super.createOrUpdateScalingPolicy(policyRefId, jobId, policyConfiguration));
+        }
+
+        private void simulateCall() {
+            maxConcurrentCalls.accumulateAndGet(concurrentCalls.incrementAndGet(), Math::max);
+            try {
+                if (callDelayMs > 0) {
+                    Thread.sleep(callDelayMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrentCalls.decrementAndGet();
+            }
+        }
+
+        private int getScalableTargetUpdates() {
+            return scalableTargetUpdates.get();
+        }
+
+        private int getScalingPolicyUpdates() {
+            return scalingPolicyUpdates.get();
+        }
+
+        private int getMaxConcurrentCalls() {
+            return maxConcurrentCalls.get();
+        }
+    }
+
     public static class AppScaleClientWithScalingPolicyConstraints extends AutoScalingPolicyTests.MockAppAutoScalingClient {
 
         Map<String, JobScalingConstraints> scalingPolicyConstraints;
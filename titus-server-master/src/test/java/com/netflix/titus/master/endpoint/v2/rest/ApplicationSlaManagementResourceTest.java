@@ -23,6 +23,7 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 
 import com.netflix.titus.api.endpoint.v2.rest.representation.ApplicationSlaRepresentation;
+import com.netflix.titus.api.jobmanager.service.LazyJobModelView;
 import com.netflix.titus.api.jobmanager.service.ReadOnlyJobOperations;
 import com.netflix.titus.api.model.ApplicationSLA;
 import com.netflix.titus.common.util.archaius2.Archaius2Ext;
@@ -94,7 +95,7 @@ public class ApplicationSlaManagementResourceTest {
 
     @BeforeClass
     public static void setUpClass() {
-        when(jobOperations.getJobsAndTasks()).thenReturn(Collections.emptyList());
+        when(jobOperations.getJobModelView()).thenReturn(LazyJobModelView.copyOf(Collections.emptyList()));
 
         baseURI = jaxRsServer.getBaseURI() + ApplicationSlaManagementEndpoint.PATH_API_V2_MANAGEMENT_APPLICATIONS + '/';
         testClient = WebTestClient.bindToServer()
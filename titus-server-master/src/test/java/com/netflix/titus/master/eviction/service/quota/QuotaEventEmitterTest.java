@@ -23,10 +23,15 @@ import java.util.concurrent.TimeUnit;
 
 import com.jayway.awaitility.Awaitility;
 import com.jayway.awaitility.core.ConditionFactory;
+import com.netflix.titus.api.containerhealth.model.ContainerHealthStatus;
+import com.netflix.titus.api.containerhealth.model.event.ContainerHealthEvent;
+import com.netflix.titus.api.containerhealth.service.ContainerHealthService;
 import com.netflix.titus.api.eviction.model.EvictionQuota;
 import com.netflix.titus.api.eviction.model.event.EvictionEvent;
 import com.netflix.titus.api.eviction.model.event.EvictionQuotaEvent;
 import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.TaskState;
 import com.netflix.titus.api.jobmanager.model.job.ext.BatchJobExt;
 import com.netflix.titus.api.model.reference.Reference;
 import com.netflix.titus.common.runtime.TitusRuntime;
@@ -38,6 +43,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import reactor.core.publisher.Sinks;
 
 import static com.netflix.titus.testkit.model.eviction.DisruptionBudgetGenerator.budget;
 import static com.netflix.titus.testkit.model.eviction.DisruptionBudgetGenerator.hourlyRatePercentage;
@@ -56,6 +62,8 @@ public class QuotaEventEmitterTest {
 
     private static final long UPDATE_INTERVAL_MS = 10L;
 
+    private static final long FULL_REFRESH_INTERVAL_MS = 3_600_000L;
+
     private static final EvictionQuota SYSTEM_EVICTION_QUOTA = EvictionQuota.systemQuota(100, "Test");
 
     private static final Duration EVENT_TIMEOUT = Duration.ofSeconds(5);
@@ -66,21 +74,30 @@ public class QuotaEventEmitterTest {
 
     private final TitusQuotasManager quotasManager = mock(TitusQuotasManager.class);
 
-    private final QuotaEventEmitter quotaEventEmitter = new QuotaEventEmitter(
-            CONFIGURATION,
-            jobComponentStub.getJobOperations(),
-            quotasManager,
-            titusRuntime
-    );
+    private final ContainerHealthService containerHealthService = mock(ContainerHealthService.class);
+
+    private final Sinks.Many<ContainerHealthEvent> containerHealthEvents = Sinks.many().multicast().directBestEffort();
+
+    private QuotaEventEmitter quotaEventEmitter;
 
     @BeforeClass
     public static void setUpClass() {
         when(CONFIGURATION.getEventStreamQuotaUpdateIntervalMs()).thenReturn(UPDATE_INTERVAL_MS);
+        when(CONFIGURATION.getEventStreamQuotaFullRefreshIntervalMs()).thenReturn(FULL_REFRESH_INTERVAL_MS);
     }
 
     @Before
     public void setUp() throws Exception {
         when(quotasManager.findEvictionQuota(Reference.system())).thenReturn(Optional.of(SYSTEM_EVICTION_QUOTA));
+        when(containerHealthService.events(false)).thenReturn(containerHealthEvents.asFlux());
+
+        this.quotaEventEmitter = new QuotaEventEmitter(
+                CONFIGURATION,
+                jobComponentStub.getJobOperations(),
+                containerHealthService,
+                quotasManager,
+                titusRuntime
+        );
     }
 
     @After
@@ -100,17 +117,56 @@ public class QuotaEventEmitterTest {
         when(quotasManager.findEvictionQuota(Reference.job(job.getId()))).thenReturn(Optional.of(EvictionQuota.jobQuota(job.getId(), 2, "Test")));
 
         jobComponentStub.createJob(job);
-        jobComponentStub.createDesiredTasks(job);
+        List<Task> tasks = jobComponentStub.createDesiredTasks(job);
 
         expectJobQuotaEvent(eventSubscriber, job, 2);
 
-        // Now change the quota
+        // Now change the quota, and trigger its recomputation with a task update
         when(quotasManager.findEvictionQuota(Reference.job(job.getId()))).thenReturn(Optional.of(EvictionQuota.jobQuota(job.getId(), 5, "Test")));
+        jobComponentStub.moveTaskToState(tasks.get(0), TaskState.Launched);
         expectJobQuotaEvent(eventSubscriber, job, 5);
 
         cancelSubscriptionAndCheckIfSucceeded(eventSubscriber);
     }
 
+    @Test
+    public void testContainerHealthChangeTriggersQuotaRecomputation() throws Exception {
+        TitusRxSubscriber<EvictionEvent> eventSubscriber = subscribeAndCheckSnapshot();
+        Job<BatchJobExt> job = createJobWithQuota(2);
+        expectJobQuotaEvent(eventSubscriber, job, 2);
+
+        when(quotasManager.findEvictionQuota(Reference.job(job.getId()))).thenReturn(Optional.of(EvictionQuota.jobQuota(job.getId(), 1, "Test")));
+        String taskId = jobComponentStub.getJobOperations().getTasks(job.getId()).get(0).getId();
+        containerHealthEvents.tryEmitNext(ContainerHealthEvent.healthChanged(ContainerHealthStatus.unhealthy(taskId, "Test", 0)));
+
+        expectJobQuotaEvent(eventSubscriber, job, 1);
+    }
+
+    @Test
+    public void testTimeDependentQuotaIsRecomputedInEachInterval() throws Exception {
+        TitusRxSubscriber<EvictionEvent> eventSubscriber = subscribeAndCheckSnapshot();
+        Job<BatchJobExt> job = createJobWithQuota(2);
+        when(quotasManager.isTimeDependent(job.getId())).thenReturn(true);
+        expectJobQuotaEvent(eventSubscriber, job, 2);
+
+        // No job, task or container health change
+        when(quotasManager.findEvictionQuota(Reference.job(job.getId()))).thenReturn(Optional.of(EvictionQuota.jobQuota(job.getId(), 0, "Test")));
+        expectJobQuotaEvent(eventSubscriber, job, 0);
+    }
+
+    @Test
+    public void testNewSubscriberReceivesCurrentQuotas() throws Exception {
+        TitusRxSubscriber<EvictionEvent> firstSubscriber = subscribeAndCheckSnapshot();
+        Job<BatchJobExt> job = createJobWithQuota(2);
+        expectJobQuotaEvent(firstSubscriber, job, 2);
+
+        TitusRxSubscriber<EvictionEvent> secondSubscriber = new TitusRxSubscriber<>();
+        quotaEventEmitter.events(true).subscribe(secondSubscriber);
+        expectSystemQuota(secondSubscriber);
+        expectJobQuotaEvent(secondSubscriber, job, 2);
+        expectSnapshotEnd(secondSubscriber);
+    }
+
     @Test
     public void testManySubscriptions() throws InterruptedException {
         List<TitusRxSubscriber<EvictionEvent>> subscribers = asList(subscribeAndCheckSnapshot(), subscribeAndCheckSnapshot());
@@ -120,6 +176,17 @@ public class QuotaEventEmitterTest {
         assertThat(remaining.isOpen()).isTrue();
     }
 
+    private Job<BatchJobExt> createJobWithQuota(int quota) {
+        Job<BatchJobExt> job = newBatchJob(
+                5,
+                budget(numberOfHealthyPolicy(8), hourlyRatePercentage(50), singletonList(officeHourTimeWindow()))
+        );
+        when(quotasManager.findEvictionQuota(Reference.job(job.getId()))).thenReturn(Optional.of(EvictionQuota.jobQuota(job.getId(), quota, "Test")));
+        jobComponentStub.createJob(job);
+        jobComponentStub.createDesiredTasks(job);
+        return job;
+    }
+
     private TitusRxSubscriber<EvictionEvent> subscribeAndCheckSnapshot() throws InterruptedException {
         TitusRxSubscriber<EvictionEvent> eventSubscriber = new TitusRxSubscriber<>();
         quotaEventEmitter.events(true).subscribe(eventSubscriber);
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.titus.master.integration.v3.job.other;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Registry;
+import com.netflix.titus.grpc.protogen.Job;
+import com.netflix.titus.grpc.protogen.JobId;
+import com.netflix.titus.grpc.protogen.JobManagementServiceGrpc;
+import com.netflix.titus.grpc.protogen.JobQuery;
+import com.netflix.titus.grpc.protogen.Page;
+import com.netflix.titus.master.integration.BaseIntegrationTest;
+import com.netflix.titus.testkit.embedded.federation.EmbeddedTitusFederation;
+import com.netflix.titus.testkit.junit.category.IntegrationTest;
+import com.netflix.titus.testkit.junit.master.TitusStackResource;
+import io.grpc.StatusRuntimeException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static com.jayway.awaitility.Awaitility.await;
+import static com.netflix.titus.runtime.endpoint.v3.grpc.GrpcJobManagementModelConverters.toGrpcJobDescriptor;
+import static com.netflix.titus.testkit.embedded.cell.EmbeddedTitusCells.basicKubeCell;
+import static com.netflix.titus.testkit.model.job.JobDescriptorGenerator.oneTaskBatchJobDescriptor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the federation with the job replica cache enabled in front of two embedded cells, and checks which queries are
+ * answered from the cell replicas, and which are sent to the cells.
+ */
+@Category(IntegrationTest.class)
+public class JobReplicaCacheFederationTest extends BaseIntegrationTest {
+
+    private static final String CELL_A = "cellA";
+    private static final String CELL_B = "cellB";
+
+    private static final String MAX_STALENESS_PROPERTY = "titus.federation.jobReplicaCacheMaxStalenessMs";
+
+    private final EmbeddedTitusFederation federation = EmbeddedTitusFederation.aDefaultTitusFederation()
+            .withProperty("titus.federation.jobReplicaCacheEnabled", "true")
+            .withProperty(MAX_STALENESS_PROPERTY, "3000")
+            .withCell("a.*", basicKubeCell(CELL_A, 2))
+            .withCell("b.*", basicKubeCell(CELL_B, 2))
+            .build();
+
+    @Rule
+    public final TitusStackResource titusStackResource = new TitusStackResource(federation);
+
+    private JobManagementServiceGrpc.JobManagementServiceBlockingStub blockingJobClient;
+
+    private Counter localQueries;
+    private Counter fallbackQueries;
+
+    private String cellAJobId;
+    private String cellBJobId;
+
+    @Before
+    public void setUp() {
+        this.blockingJobClient = titusStackResource.getOperations().getV3BlockingGrpcClient();
+
+        Registry registry = federation.getInstance(Registry.class);
+        this.localQueries = registry.counter("titus.federation.jobReplicaCache.queries", "result", "local");
+        this.fallbackQueries = registry.counter("titus.federation.jobReplicaCache.queries", "result", "fallback");
+
+        this.cellAJobId = blockingJobClient.createJob(toGrpcJobDescriptor(oneTaskBatchJobDescriptor().toBuilder().withCapacityGroup("a123").build())).getId();
+        this.cellBJobId = blockingJobClient.createJob(toGrpcJobDescriptor(oneTaskBatchJobDescriptor().toBuilder().withCapacityGroup("b123").build())).getId();
+
+        // The replicas catch up with the cells asynchronously, so wait until both jobs can be found in them.
+        await().timeout(10, TimeUnit.SECONDS).until(() -> isServedLocally(cellAJobId) && isServedLocally(cellBJobId));
+    }
+
+    @Test(timeout = LONG_TEST_TIMEOUT_MS)
+    public void testQueriesAreServedFromFreshReplicas() {
+        long localBefore = localQueries.count();
+        long fallbackBefore = fallbackQueries.count();
+
+        assertThat(blockingJobClient.findJob(JobId.newBuilder().setId(cellBJobId).build()).getId()).isEqualTo(cellBJobId);
+        assertThat(findAllJobIds()).contains(cellAJobId, cellBJobId);
+
+        // One local hit for findJob, and one for each cell page of findJobs.
+        assertThat(localQueries.count()).isEqualTo(localBefore + 3);
+        assertThat(fallbackQueries.count()).isEqualTo(fallbackBefore);
+    }
+
+    @Test(timeout = LONG_TEST_TIMEOUT_MS)
+    public void testStaleReplicasFallBackToCellCalls() {
+        federation.setProperty(MAX_STALENESS_PROPERTY, "-1");
+
+        long localBefore = localQueries.count();
+        long fallbackBefore = fallbackQueries.count();
+
+        assertThat(blockingJobClient.findJob(JobId.newBuilder().setId(cellAJobId).build()).getId()).isEqualTo(cellAJobId);
+        assertThat(blockingJobClient.findJob(JobId.newBuilder().setId(cellBJobId).build()).getId()).isEqualTo(cellBJobId);
+        assertThat(findAllJobIds()).contains(cellAJobId, cellBJobId);
+
+        assertThat(localQueries.count()).isEqualTo(localBefore);
+        assertThat(fallbackQueries.count()).isEqualTo(fallbackBefore + 4);
+    }
+
+    @Test(timeout = LONG_TEST_TIMEOUT_MS)
+    public void testDisconnectedReplicaIsNotUsed() {
+        federation.getCell(CELL_B).getGateway().shutdown();
+
+        // The disconnected replica keeps its last snapshot, which must not be served once it gets stale. The call
+        // falls back to the cells, and fails as cell B is not reachable.
+        await().timeout(10, TimeUnit.SECONDS).until(() -> {
+            try {
+                blockingJobClient.findJob(JobId.newBuilder().setId(cellBJobId).build());
+                return false;
+            } catch (StatusRuntimeException e) {
+                return true;
+            }
+        });
+        long fallbackBefore = fallbackQueries.count();
+        assertThatThrownBy(() -> blockingJobClient.findJob(JobId.newBuilder().setId(cellBJobId).build()))
+                .isInstanceOf(StatusRuntimeException.class);
+        assertThat(fallbackQueries.count()).isEqualTo(fallbackBefore + 1);
+
+        // Cell A replica is still connected and fresh.
+        assertThat(isServedLocally(cellAJobId)).isTrue();
+    }
+
+    private boolean isServedLocally(String jobId) {
+        long localBefore = localQueries.count();
+        long fallbackBefore = fallbackQueries.count();
+        Job job = blockingJobClient.findJob(JobId.newBuilder().setId(jobId).build());
+        return job.getId().equals(jobId) && localQueries.count() == localBefore + 1 && fallbackQueries.count() == fallbackBefore;
+    }
+
+    private List<String> findAllJobIds() {
+        return blockingJobClient.findJobs(JobQuery.newBuilder().setPage(Page.newBuilder().setPageSize(100)).build())
+                .getItemsList()
+                .stream()
+                .map(Job::getId)
+                .collect(Collectors.toList());
+    }
+}
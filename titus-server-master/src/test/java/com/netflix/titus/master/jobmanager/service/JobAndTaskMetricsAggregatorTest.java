@@ -0,0 +1,126 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.titus.master.jobmanager.service;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.titus.api.jobmanager.model.job.BatchJobTask;
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.TaskState;
+import com.netflix.titus.api.jobmanager.model.job.TaskStatus;
+import com.netflix.titus.api.jobmanager.model.job.event.JobUpdateEvent;
+import com.netflix.titus.api.jobmanager.model.job.event.TaskUpdateEvent;
+import com.netflix.titus.api.jobmanager.model.job.ext.BatchJobExt;
+import com.netflix.titus.common.util.histogram.Histogram;
+import com.netflix.titus.common.util.histogram.HistogramDescriptor;
+import com.netflix.titus.common.util.tuple.Pair;
+import com.netflix.titus.master.jobmanager.service.JobAndTaskMetricsAggregator.JobCategory;
+import com.netflix.titus.testkit.model.job.JobGenerator;
+import org.junit.Test;
+
+import static com.netflix.titus.api.jobmanager.service.JobManagerConstants.UNDEFINED_CALL_METADATA;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JobAndTaskMetricsAggregatorTest {
+
+    private static final HistogramDescriptor HISTOGRAM_DESCRIPTOR = HistogramDescriptor.histogramOf(
+            TimeUnit.MINUTES.toMillis(1),
+            TimeUnit.HOURS.toMillis(1)
+    );
+
+    private static final long NOW = TimeUnit.DAYS.toMillis(100);
+
+    private final JobAndTaskMetricsAggregator aggregator = new JobAndTaskMetricsAggregator(
+            EnumSet.of(TaskState.Accepted, TaskState.Started)
+    );
+
+    private final Job<BatchJobExt> job = JobGenerator.oneBatchJob();
+
+    @Test
+    public void testEventsUpdateCountersAndLiveness() {
+        aggregator.apply(JobUpdateEvent.newJob(job, UNDEFINED_CALL_METADATA));
+        assertThat(aggregator.getJobCount(JobCategory.Batch)).isEqualTo(1);
+
+        BatchJobTask accepted = newTask(TaskState.Accepted, NOW - TimeUnit.MINUTES.toMillis(30));
+        aggregator.apply(TaskUpdateEvent.newTask(job, accepted, UNDEFINED_CALL_METADATA));
+        assertThat(aggregator.getTaskCount()).isEqualTo(1);
+        assertThat(liveness()).containsEntry("Accepted", Pair.of(0L, 1L));
+
+        // State change moves the task to another histogram.
+        BatchJobTask started = accepted.toBuilder()
+                .withStatus(TaskStatus.newBuilder().withState(TaskState.Started).withTimestamp(NOW - TimeUnit.HOURS.toMillis(2)).build())
+                .build();
+        aggregator.apply(TaskUpdateEvent.taskChange(job, started, accepted, UNDEFINED_CALL_METADATA));
+        assertThat(aggregator.getTaskCount()).isEqualTo(1);
+        assertThat(liveness()).doesNotContainKey("Accepted").containsEntry("Started", Pair.of(0L, 0L));
+
+        // Archived task and job are removed.
+        aggregator.apply(TaskUpdateEvent.taskArchived(job, started, UNDEFINED_CALL_METADATA));
+        aggregator.apply(JobUpdateEvent.jobArchived(job, UNDEFINED_CALL_METADATA));
+        assertThat(aggregator.getTaskCount()).isZero();
+        assertThat(aggregator.getJobCount(JobCategory.Batch)).isZero();
+        assertThat(liveness()).isEmpty();
+    }
+
+    @Test
+    public void testReconciliationReplacesState() {
+        BatchJobTask lost = newTask(TaskState.Accepted, NOW);
+        aggregator.apply(TaskUpdateEvent.newTask(job, lost, UNDEFINED_CALL_METADATA));
+
+        BatchJobTask task = newTask(TaskState.Started, NOW - TimeUnit.MINUTES.toMillis(5));
+        List<Pair<Job, List<Task>>> snapshot = Collections.singletonList(Pair.of(job, Collections.singletonList(task)));
+        aggregator.reconcile(() -> {
+            // Event received while the snapshot is built.
+            aggregator.apply(JobUpdateEvent.newJob(JobGenerator.oneServiceJob(), UNDEFINED_CALL_METADATA));
+            return snapshot;
+        });
+
+        assertThat(aggregator.getJobCount(JobCategory.Batch)).isEqualTo(1);
+        assertThat(aggregator.getJobCount(JobCategory.Service)).isEqualTo(1);
+        assertThat(aggregator.getTaskCount()).isEqualTo(1);
+        assertThat(liveness()).containsOnlyKeys("Started");
+    }
+
+    private BatchJobTask newTask(TaskState state, long timestamp) {
+        BatchJobTask task = JobGenerator.batchTasks(job).getValue();
+        return task.toBuilder()
+                .withStatus(TaskStatus.newBuilder().withState(state).withTimestamp(timestamp).build())
+                .build();
+    }
+
+    /**
+     * Returns task state -> (count in the first bucket, count in the second bucket) for the job capacity group.
+     */
+    private Map<String, Pair<Long, Long>> liveness() {
+        Map<String, Map<String, Histogram.Builder>> histograms = new HashMap<>();
+        aggregator.addLivenessHistograms(histograms, capacityGroup -> capacityGroup, HISTOGRAM_DESCRIPTOR, NOW);
+
+        Map<String, Pair<Long, Long>> result = new HashMap<>();
+        histograms.getOrDefault(JobAndTaskMetricsAggregator.capacityGroupOf(job), Collections.emptyMap()).forEach((state, builder) -> {
+            List<Long> counters = builder.build().getCounters();
+            result.put(state, Pair.of(counters.get(0), counters.get(1)));
+        });
+        return result;
+    }
+}
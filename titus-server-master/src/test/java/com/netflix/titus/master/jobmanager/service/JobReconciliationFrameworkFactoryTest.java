@@ -0,0 +1,191 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.titus.master.jobmanager.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.netflix.titus.api.FeatureActivationConfiguration;
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.Version;
+import com.netflix.titus.api.jobmanager.model.job.event.JobManagerEvent;
+import com.netflix.titus.api.jobmanager.model.job.ext.BatchJobExt;
+import com.netflix.titus.api.jobmanager.store.JobStore;
+import com.netflix.titus.common.framework.reconciler.ReconciliationEngine.DifferenceResolver;
+import com.netflix.titus.common.framework.reconciler.ReconciliationFramework;
+import com.netflix.titus.common.model.sanitizer.EntitySanitizer;
+import com.netflix.titus.common.runtime.TitusRuntime;
+import com.netflix.titus.common.runtime.TitusRuntimes;
+import com.netflix.titus.common.util.tuple.Pair;
+import com.netflix.titus.master.jobmanager.service.event.JobManagerReconcilerEvent;
+import com.netflix.titus.master.service.management.ApplicationSlaManagementService;
+import com.netflix.titus.runtime.connector.common.replicator.ReplicatorEvent;
+import com.netflix.titus.runtime.connector.jobmanager.snapshot.JobSnapshot;
+import com.netflix.titus.runtime.connector.jobmanager.snapshot.JobSnapshotFactories;
+import com.netflix.titus.runtime.endpoint.common.EmptyLogStorageInfo;
+import com.netflix.titus.runtime.endpoint.v3.grpc.GrpcJobManagementModelConverters;
+import com.netflix.titus.testkit.model.job.JobGenerator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import rx.Completable;
+import rx.Observable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class JobReconciliationFrameworkFactoryTest {
+
+    private final TitusRuntime titusRuntime = TitusRuntimes.internal();
+
+    private final JobManagerConfiguration configuration = mock(JobManagerConfiguration.class);
+    private final JobStore store = mock(JobStore.class);
+    private final EntitySanitizer permissiveSanitizer = mock(EntitySanitizer.class);
+    private final EntitySanitizer strictSanitizer = mock(EntitySanitizer.class);
+
+    private final Job<BatchJobExt> job = withVersion(JobGenerator.oneBatchJob(), 1);
+    private final List<Task> tasks = withVersion(JobGenerator.batchTasks(job).getValues(3), 1);
+
+    private StandbyJobModel standbyJobModel;
+    private ReconciliationFramework<JobManagerReconcilerEvent> framework;
+
+    @Before
+    public void setUp() {
+        when(configuration.isStandbyModeEnabled()).thenReturn(true);
+        when(configuration.getMaxFailedJobs()).thenReturn(Long.MAX_VALUE);
+        when(configuration.getMaxFailedTasks()).thenReturn(Long.MAX_VALUE);
+        when(permissiveSanitizer.validate(any())).thenReturn(Collections.emptySet());
+        when(strictSanitizer.validate(any())).thenReturn(Collections.emptySet());
+
+        standbyJobModel = new StandbyJobModel(configuration, Flux.never(), permissiveSanitizer, strictSanitizer, EmptyLogStorageInfo.empty(), titusRuntime);
+    }
+
+    @After
+    public void tearDown() {
+        if (framework != null) {
+            framework.stop(0);
+        }
+        standbyJobModel.shutdown();
+    }
+
+    @Test
+    public void testBootstrapSkipsValidationOfRecordsValidatedByStandby() {
+        standbyJobModel.onEvent(snapshotEvent(job, tasks));
+        clearInvocations(permissiveSanitizer, strictSanitizer);
+
+        Task sameVersionOtherContent = tasks.get(1).toBuilder().addToTaskContext("storeOnlyAttribute", "value").build();
+        Task otherVersion = withVersion(tasks.get(2), 2);
+        List<Task> storeTasks = Arrays.asList(tasks.get(0), sameVersionOtherContent, otherVersion);
+        mockStore(job, storeTasks);
+
+        framework = newFactory().newInstance();
+
+        assertThat(framework.findEngineByRootId(job.getId())).hasValueSatisfying(engine ->
+                assertThat(engine.getReferenceView().getChildren()).hasSize(3)
+        );
+        verify(permissiveSanitizer, never()).validate(job);
+        verify(permissiveSanitizer, never()).validate(tasks.get(0));
+        verify(strictSanitizer, never()).validate(tasks.get(0));
+
+        // The records that differ from the standby entities, by version or by content, are validated.
+        verify(permissiveSanitizer, times(1)).validate(sameVersionOtherContent);
+        verify(strictSanitizer, times(1)).validate(sameVersionOtherContent);
+        verify(permissiveSanitizer, times(1)).validate(otherVersion);
+        verify(strictSanitizer, times(1)).validate(otherVersion);
+
+        // The standby model is dropped once the bootstrap completes.
+        assertThat(standbyJobModel.isValidated(job, tasks.get(0))).isFalse();
+    }
+
+    @Test
+    public void testBootstrapValidatesRecordsNotSeenByStandby() {
+        mockStore(job, tasks);
+
+        framework = newFactory().newInstance();
+
+        verify(permissiveSanitizer, times(1)).validate(job);
+        tasks.forEach(task -> verify(permissiveSanitizer, times(1)).validate(task));
+    }
+
+    @SuppressWarnings("unchecked")
+    private JobReconciliationFrameworkFactory newFactory() {
+        return new JobReconciliationFrameworkFactory(
+                configuration,
+                mock(FeatureActivationConfiguration.class),
+                mock(DifferenceResolver.class),
+                mock(DifferenceResolver.class),
+                store,
+                mock(ApplicationSlaManagementService.class),
+                permissiveSanitizer,
+                strictSanitizer,
+                VersionSuppliers.newInstance(titusRuntime.getClock()),
+                standbyJobModel,
+                titusRuntime
+        );
+    }
+
+    private void mockStore(Job<?> job, List<Task> tasks) {
+        when(store.init()).thenReturn(Completable.complete());
+        when(store.retrieveJobs()).thenReturn(Observable.just(Pair.of(Collections.<Job<?>>singletonList(job), 0)));
+        when(store.retrieveTasksForJob(job.getId())).thenReturn(Observable.just(Pair.of(tasks, 0)));
+    }
+
+    /**
+     * Builds the snapshot event from the entities converted to gRPC and back, as the standby model receives them from
+     * the leader. The converted tasks carry extra task context and attributes, which the store records do not have.
+     */
+    private ReplicatorEvent<JobSnapshot, JobManagerEvent<?>> snapshotEvent(Job<?> job, List<Task> tasks) {
+        Job<?> replicatedJob = GrpcJobManagementModelConverters.toCoreJob(GrpcJobManagementModelConverters.toGrpcJob(job));
+        Map<String, Task> taskMap = new HashMap<>();
+        tasks.forEach(task -> taskMap.put(
+                task.getId(),
+                GrpcJobManagementModelConverters.toCoreTask(replicatedJob, GrpcJobManagementModelConverters.toGrpcTask(task, EmptyLogStorageInfo.empty()))
+        ));
+        JobSnapshot snapshot = JobSnapshotFactories.newDefault(titusRuntime).newSnapshot(
+                Collections.singletonMap(job.getId(), replicatedJob),
+                Collections.singletonMap(job.getId(), taskMap)
+        );
+        return new ReplicatorEvent<>(snapshot, JobManagerEvent.snapshotMarker(), 0);
+    }
+
+    private static <E> Job<E> withVersion(Job<E> job, long timestamp) {
+        return job.toBuilder().withVersion(Version.newBuilder().withTimestamp(timestamp).build()).build();
+    }
+
+    private static Task withVersion(Task task, long timestamp) {
+        return task.toBuilder().withVersion(Version.newBuilder().withTimestamp(timestamp).build()).build();
+    }
+
+    private static List<Task> withVersion(List<? extends Task> tasks, long timestamp) {
+        List<Task> result = new ArrayList<>();
+        tasks.forEach(task -> result.add(withVersion(task, timestamp)));
+        return result;
+    }
+}
@@ -42,6 +42,7 @@ import com.netflix.titus.grpc.protogen.NetworkConfiguration;
 import com.netflix.titus.master.kubernetes.ContainerResultCodeResolver;
 import com.netflix.titus.master.kubernetes.client.DirectKubeApiServerIntegrator;
 import com.netflix.titus.master.kubernetes.client.model.PodEvent;
+import com.netflix.titus.master.kubernetes.client.model.PodProjection;
 import com.netflix.titus.master.kubernetes.client.model.PodWrapper;
 import com.netflix.titus.master.kubernetes.controller.KubeJobManagementReconciler;
 import com.netflix.titus.testkit.model.job.JobGenerator;
@@ -76,6 +77,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -201,6 +203,14 @@ public class KubeNotificationProcessorTest {
                 eq("Pod status updated from kubernetes node (k8phase='Failed', taskState=Accepted)"), any());
     }
 
+    @Test
+    public void testEventOfDeletedPodIsSkipped() {
+        V1Pod pod = newPod(TASK.getId(), andRunning());
+        podEvents.onNext(PodEvent.onAdd(PodProjection.of(pod), () -> null));
+
+        verify(jobOperations, never()).updateTask(any(), any(), any(), anyString(), any());
+    }
+
     @Test
     public void testTaskStateDoesNotMoveBack() {
         V1Pod pod = newPod(TASK.getId(), andRunning());
@@ -264,7 +274,7 @@ public class KubeNotificationProcessorTest {
         }
 
         @Override
-        public Map<String, V1Pod> getPods() {
+        public Map<String, PodProjection> getPods() {
             throw new UnsupportedOperationException("not needed");
         }
 
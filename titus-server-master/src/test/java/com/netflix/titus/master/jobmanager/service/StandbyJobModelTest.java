@@ -0,0 +1,269 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.titus.master.jobmanager.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.netflix.titus.api.jobmanager.TaskAttributes;
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.LogStorageInfo;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.Version;
+import com.netflix.titus.api.jobmanager.model.job.event.JobManagerEvent;
+import com.netflix.titus.api.jobmanager.model.job.event.JobUpdateEvent;
+import com.netflix.titus.api.jobmanager.model.job.event.TaskUpdateEvent;
+import com.netflix.titus.api.jobmanager.model.job.ext.BatchJobExt;
+import com.netflix.titus.api.jobmanager.service.JobManagerConstants;
+import com.netflix.titus.api.supervisor.model.MasterInstance;
+import com.netflix.titus.api.supervisor.model.MasterState;
+import com.netflix.titus.api.supervisor.model.MasterStatus;
+import com.netflix.titus.api.supervisor.model.ServerPort;
+import com.netflix.titus.common.model.sanitizer.EntitySanitizer;
+import com.netflix.titus.common.model.sanitizer.ValidationError;
+import com.netflix.titus.common.runtime.TitusRuntime;
+import com.netflix.titus.common.runtime.TitusRuntimes;
+import com.netflix.titus.common.util.tuple.Pair;
+import com.netflix.titus.runtime.connector.common.replicator.ReplicatorEvent;
+import com.netflix.titus.runtime.connector.jobmanager.snapshot.JobSnapshot;
+import com.netflix.titus.runtime.connector.jobmanager.snapshot.JobSnapshotFactories;
+import com.netflix.titus.runtime.endpoint.v3.grpc.GrpcJobManagementModelConverters;
+import com.netflix.titus.testkit.model.job.JobGenerator;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class StandbyJobModelTest {
+
+    private final TitusRuntime titusRuntime = TitusRuntimes.internal();
+
+    private final JobManagerConfiguration configuration = mock(JobManagerConfiguration.class);
+    private final EntitySanitizer permissiveSanitizer = mock(EntitySanitizer.class);
+    private final EntitySanitizer strictSanitizer = mock(EntitySanitizer.class);
+    private final LogStorageInfo<Task> logStorageInfo = new UiLinkLogStorageInfo();
+
+    private final Job<BatchJobExt> job = withVersion(JobGenerator.oneBatchJob(), 1);
+    private final Task task = withVersion(JobGenerator.batchTasks(job).getValue(), 1);
+
+    private StandbyJobModel standbyJobModel;
+
+    @Before
+    public void setUp() {
+        when(configuration.isStandbyModeEnabled()).thenReturn(true);
+        when(permissiveSanitizer.validate(any())).thenReturn(Collections.emptySet());
+        when(strictSanitizer.validate(any())).thenReturn(Collections.emptySet());
+
+        standbyJobModel = new StandbyJobModel(configuration, Flux.never(), permissiveSanitizer, strictSanitizer, logStorageInfo, titusRuntime);
+    }
+
+    @Test
+    public void testInitialSnapshotIsValidated() {
+        standbyJobModel.onEvent(snapshotEvent(newSnapshot(job, task)));
+
+        assertThat(standbyJobModel.isValidated(job)).isTrue();
+        assertThat(standbyJobModel.isValidated(job, task)).isTrue();
+        assertThat(standbyJobModel.isValidated(withVersion(job, 2))).isFalse();
+        assertThat(standbyJobModel.isValidated(job, withVersion(task, 2))).isFalse();
+    }
+
+    @Test
+    public void testStoreRecordsAreComparedWithTheirReplicatedForm() {
+        standbyJobModel.onEvent(snapshotEvent(newSnapshot(job, task)));
+
+        // The gRPC conversion adds the task identity fields to the task context, and the log links to the attributes.
+        Task replicatedTask = replicatedTask(task);
+        assertThat(replicatedTask).isNotEqualTo(task);
+        assertThat(replicatedTask.getTaskContext()).containsKeys(
+                TaskAttributes.TASK_ATTRIBUTES_TASK_ORIGINAL_ID,
+                TaskAttributes.TASK_ATTRIBUTES_RESUBMIT_NUMBER,
+                TaskAttributes.TASK_ATTRIBUTES_TASK_INDEX
+        );
+        assertThat(replicatedTask.getAttributes()).containsEntry(TaskAttributes.TASK_ATTRIBUTE_LOG_UI_LOCATION, "http://titus-ui/" + task.getId());
+
+        assertThat(standbyJobModel.isValidated(job, task)).isTrue();
+    }
+
+    @Test
+    public void testSameVersionWithDifferentContentIsNotValidated() {
+        standbyJobModel.onEvent(snapshotEvent(newSnapshot(job, task)));
+
+        Task storeTask = task.toBuilder().addToTaskContext("storeOnlyAttribute", "value").build();
+        assertThat(storeTask.getVersion()).isEqualTo(task.getVersion());
+        assertThat(standbyJobModel.isValidated(job, storeTask)).isFalse();
+
+        Job<BatchJobExt> storeJob = job.toBuilder().withJobDescriptor(
+                job.getJobDescriptor().toBuilder().withApplicationName("otherApp").build()
+        ).build();
+        assertThat(standbyJobModel.isValidated(storeJob)).isFalse();
+    }
+
+    @Test
+    public void testUpdatesAreValidatedIncrementally() {
+        JobSnapshot snapshot = newSnapshot(job, task);
+        standbyJobModel.onEvent(snapshotEvent(snapshot));
+
+        Task updatedTask = withVersion(task, 2);
+        Task replicatedUpdatedTask = replicatedTask(updatedTask);
+        JobSnapshot updatedSnapshot = snapshot.updateTask(replicatedUpdatedTask, false).get();
+        TaskUpdateEvent taskUpdateEvent = TaskUpdateEvent.taskChange(replicatedJob(job), replicatedUpdatedTask, replicatedTask(task), JobManagerConstants.UNDEFINED_CALL_METADATA);
+        standbyJobModel.onEvent(new ReplicatorEvent<>(updatedSnapshot, taskUpdateEvent, 0));
+
+        assertThat(standbyJobModel.isValidated(job, updatedTask)).isTrue();
+        assertThat(standbyJobModel.isValidated(job, task)).isFalse();
+
+        // The job was validated once, and the task once per version.
+        verify(permissiveSanitizer, times(1)).validate(replicatedJob(job));
+        verify(permissiveSanitizer, times(1)).validate(replicatedTask(task));
+        verify(permissiveSanitizer, times(1)).validate(replicatedUpdatedTask);
+
+        // Re-emitted event is not processed again.
+        standbyJobModel.onEvent(new ReplicatorEvent<>(updatedSnapshot, taskUpdateEvent, 1));
+        verify(permissiveSanitizer, times(1)).validate(replicatedUpdatedTask);
+    }
+
+    @Test
+    public void testInvalidEntitiesAreNotRecorded() {
+        when(strictSanitizer.validate(replicatedTask(task))).thenReturn(Collections.singleton(new ValidationError("field", "bad value")));
+
+        standbyJobModel.onEvent(snapshotEvent(newSnapshot(job, task)));
+
+        assertThat(standbyJobModel.isValidated(job)).isTrue();
+        assertThat(standbyJobModel.isValidated(job, task)).isFalse();
+    }
+
+    @Test
+    public void testReconnectRemovesEntitiesNotInTheNewSnapshot() {
+        standbyJobModel.onEvent(snapshotEvent(newSnapshot(job, task)));
+
+        Job<BatchJobExt> otherJob = withVersion(JobGenerator.oneBatchJob(), 1);
+        standbyJobModel.onEvent(snapshotEvent(newSnapshot(otherJob, null)));
+
+        assertThat(standbyJobModel.isValidated(job)).isFalse();
+        assertThat(standbyJobModel.isValidated(job, task)).isFalse();
+        assertThat(standbyJobModel.isValidated(otherJob)).isTrue();
+    }
+
+    @Test
+    public void testJobRemovedFromSnapshotIsDropped() {
+        JobSnapshot snapshot = newSnapshot(job, null);
+        standbyJobModel.onEvent(snapshotEvent(snapshot));
+
+        Job<?> replicatedJob = replicatedJob(job);
+        JobSnapshot updatedSnapshot = snapshot.removeArchivedJob(replicatedJob).get();
+        standbyJobModel.onEvent(new ReplicatorEvent<>(updatedSnapshot, JobUpdateEvent.jobArchived(replicatedJob, JobManagerConstants.UNDEFINED_CALL_METADATA), 0));
+
+        assertThat(standbyJobModel.isValidated(job)).isFalse();
+    }
+
+    @Test
+    public void testClear() {
+        standbyJobModel.onEvent(snapshotEvent(newSnapshot(job, task)));
+        standbyJobModel.clear();
+
+        assertThat(standbyJobModel.isValidated(job)).isFalse();
+        assertThat(standbyJobModel.isValidated(job, task)).isFalse();
+    }
+
+    @Test
+    public void testFindLeaderGrpcAddress() {
+        MasterInstance leader = newMasterInstance("leader", MasterState.LeaderActivated);
+        MasterInstance follower = newMasterInstance("follower", MasterState.NonLeader);
+
+        assertThat(StandbyJobModel.findLeaderGrpcAddress(Arrays.asList(follower, leader), "follower"))
+                .contains(Pair.of("10.0.0.1", 7104));
+        assertThat(StandbyJobModel.findLeaderGrpcAddress(Arrays.asList(follower, leader), "leader")).isEmpty();
+        assertThat(StandbyJobModel.findLeaderGrpcAddress(Collections.singletonList(follower), "follower")).isEmpty();
+    }
+
+    /**
+     * Builds a snapshot with the entities converted the same way as in the replicator stream from the leader.
+     */
+    private JobSnapshot newSnapshot(Job<?> job, Task task) {
+        Map<String, Job<?>> jobs = Collections.singletonMap(job.getId(), replicatedJob(job));
+        Map<String, Map<String, Task>> tasks = new HashMap<>();
+        if (task != null) {
+            tasks.put(job.getId(), Collections.singletonMap(task.getId(), replicatedTask(task)));
+        }
+        return JobSnapshotFactories.newDefault(titusRuntime).newSnapshot(jobs, tasks);
+    }
+
+    private static Job<?> replicatedJob(Job<?> job) {
+        return GrpcJobManagementModelConverters.toCoreJob(GrpcJobManagementModelConverters.toGrpcJob(job));
+    }
+
+    private Task replicatedTask(Task task) {
+        return GrpcJobManagementModelConverters.toCoreTask(replicatedJob(job), GrpcJobManagementModelConverters.toGrpcTask(task, logStorageInfo));
+    }
+
+    private ReplicatorEvent<JobSnapshot, JobManagerEvent<?>> snapshotEvent(JobSnapshot snapshot) {
+        return new ReplicatorEvent<>(snapshot, JobManagerEvent.snapshotMarker(), 0);
+    }
+
+    private static <E> Job<E> withVersion(Job<E> job, long timestamp) {
+        return job.toBuilder().withVersion(Version.newBuilder().withTimestamp(timestamp).build()).build();
+    }
+
+    private static Task withVersion(Task task, long timestamp) {
+        return task.toBuilder().withVersion(Version.newBuilder().withTimestamp(timestamp).build()).build();
+    }
+
+    private static MasterInstance newMasterInstance(String instanceId, MasterState state) {
+        return MasterInstance.newBuilder()
+                .withInstanceId(instanceId)
+                .withInstanceGroupId("masters")
+                .withIpAddress("leader".equals(instanceId) ? "10.0.0.1" : "10.0.0.2")
+                .withStatus(MasterStatus.newBuilder().withState(state).withMessage("test").build())
+                .withStatusHistory(Collections.emptyList())
+                .withServerPorts(Collections.singletonList(ServerPort.newBuilder()
+                        .withPortNumber(7104)
+                        .withProtocol("grpc")
+                        .withSecure(false)
+                        .withDescription("gRPC")
+                        .build()
+                ))
+                .build();
+    }
+
+    private static class UiLinkLogStorageInfo implements LogStorageInfo<Task> {
+
+        @Override
+        public LogLinks getLinks(Task task) {
+            return new LogLinks(Optional.empty(), Optional.empty(), Optional.empty());
+        }
+
+        @Override
+        public Optional<String> getTitusUiLink(Task task) {
+            return Optional.of("http://titus-ui/" + task.getId());
+        }
+
+        @Override
+        public Optional<S3LogLocation> getS3LogLocation(Task task, boolean onlyIfScheduled) {
+            return Optional.empty();
+        }
+    }
+}
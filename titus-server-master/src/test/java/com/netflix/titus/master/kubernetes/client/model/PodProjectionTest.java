@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.master.kubernetes.client.model;
+
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodCondition;
+import io.kubernetes.client.openapi.models.V1PodSpec;
+import io.kubernetes.client.openapi.models.V1PodStatus;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PodProjectionTest {
+
+    @Test
+    public void testProjectionOfScheduledPod() {
+        V1Pod pod = new V1Pod()
+                .metadata(new V1ObjectMeta().name("task1").resourceVersion("12").deletionTimestamp(OffsetDateTime.now()))
+                .spec(new V1PodSpec().nodeName("node1"))
+                .status(new V1PodStatus()
+                        .phase("Running")
+                        .reason("reason1")
+                        .message("message1")
+                        .conditions(Collections.singletonList(new V1PodCondition().type("PodScheduled").status("True").reason("ok")))
+                );
+
+        PodProjection projection = PodProjection.of(pod);
+        assertThat(projection.getName()).isEqualTo("task1");
+        assertThat(projection.getResourceVersion()).isEqualTo("12");
+        assertThat(projection.isScheduled()).isTrue();
+        assertThat(projection.getNodeName()).isEqualTo("node1");
+        assertThat(projection.getPodPhase()).isEqualTo(PodPhase.RUNNING);
+        assertThat(projection.getReason()).isEqualTo("reason1");
+        assertThat(projection.getMessage()).isEqualTo("message1");
+        assertThat(projection.hasDeletionTimestamp()).isTrue();
+        assertThat(projection.getConditions()).hasSize(1);
+        assertThat(projection.getConditions().get(0).getType()).isEqualTo("PodScheduled");
+        assertThat(projection.getConditions().get(0).getMessage()).isEmpty();
+    }
+
+    @Test
+    public void testProjectionOfPodWithoutStatus() {
+        V1Pod pod = new V1Pod().metadata(new V1ObjectMeta().name("task1")).spec(new V1PodSpec());
+
+        PodProjection projection = PodProjection.of(pod);
+        assertThat(projection.isScheduled()).isFalse();
+        assertThat(projection.getPhase()).isEmpty();
+        assertThat(projection.getPodPhase()).isEqualTo(PodPhase.UNKNOWN);
+        assertThat(projection.hasDeletionTimestamp()).isFalse();
+        assertThat(projection.getConditions()).isEmpty();
+    }
+
+    @Test
+    public void testUpdateEventKeepsOnlyProjectionOfOldPod() {
+        V1Pod oldPod = new V1Pod().metadata(new V1ObjectMeta().name("task1")).spec(new V1PodSpec());
+        V1Pod newPod = new V1Pod()
+                .metadata(new V1ObjectMeta().name("task1"))
+                .spec(new V1PodSpec().nodeName("node1"))
+                .status(new V1PodStatus().phase("Running"));
+
+        PodUpdatedEvent event = PodEvent.onUpdate(oldPod, newPod, Optional.empty());
+        assertThat(event.getPod()).isSameAs(newPod);
+        assertThat(event.getOldPod()).isEqualTo(PodProjection.of(oldPod));
+        assertThat(event.getPodProjection()).isEqualTo(PodProjection.of(newPod));
+        assertThat(event.getPodProjection()).isSameAs(event.getPodProjection());
+    }
+
+    @Test
+    public void testEventResolvesPodOnAccess() {
+        V1Pod pod = new V1Pod()
+                .metadata(new V1ObjectMeta().name("task1"))
+                .spec(new V1PodSpec().nodeName("node1"))
+                .status(new V1PodStatus().phase("Running"));
+        AtomicInteger resolveCount = new AtomicInteger();
+
+        PodUpdatedEvent event = PodEvent.onUpdate(PodProjection.of(pod), PodProjection.of(pod), () -> {
+            resolveCount.incrementAndGet();
+            return pod;
+        }, Optional.empty());
+        assertThat(event.getTaskId()).isEqualTo("task1");
+        assertThat(event.getPodProjection().getNodeName()).isEqualTo("node1");
+        assertThat(event.toString()).contains("task1");
+        assertThat(resolveCount).hasValue(0);
+
+        assertThat(event.getPod()).isSameAs(pod);
+        assertThat(resolveCount).hasValue(1);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.titus.master.kubernetes.controller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.netflix.titus.common.framework.scheduler.ExecutionContext;
+import com.netflix.titus.common.framework.scheduler.LocalScheduler;
+import com.netflix.titus.common.framework.scheduler.model.ScheduleDescriptor;
+import com.netflix.titus.common.runtime.TitusRuntime;
+import com.netflix.titus.common.runtime.TitusRuntimes;
+import com.netflix.titus.common.util.limiter.tokenbucket.FixedIntervalTokenBucketConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static com.jayway.awaitility.Awaitility.await;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BaseGcControllerTest {
+
+    private static final long CONTROLLER_TIMEOUT_MS = 200;
+
+    private final TitusRuntime titusRuntime = TitusRuntimes.internal();
+    private final FixedIntervalTokenBucketConfiguration tokenBucketConfiguration = mock(FixedIntervalTokenBucketConfiguration.class);
+    private final ControllerConfiguration controllerConfiguration = mock(ControllerConfiguration.class);
+    private final LocalScheduler scheduler = mock(LocalScheduler.class);
+
+    private final List<String> gcCalls = new CopyOnWriteArrayList<>();
+
+    private TestGcController controller;
+    private Consumer<ExecutionContext> gcAction;
+
+    @AfterEach
+    public void tearDown() {
+        if (controller != null) {
+            controller.shutdown();
+        }
+    }
+
+    @Test
+    void itemsAreGcConcurrently() {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        startController(2, item -> {
+            // Both items must be processed at the same time to pass the barrier.
+            barrier.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+
+        controller.items = Arrays.asList("item1", "item2");
+        gcAction.accept(null);
+
+        assertThat(gcCalls).containsExactlyInAnyOrder("item1", "item2");
+        assertThat(gaugeValue("successes")).isEqualTo(2);
+        assertThat(gaugeValue("failures")).isEqualTo(0);
+    }
+
+    @Test
+    void timedOutItemsAreNotResubmittedWhileInFlight() throws Exception {
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        startController(1, item -> {
+            if (item.equals("blocked")) {
+                releaseLatch.await();
+            }
+            return true;
+        });
+
+        // The blocked item times out the iteration, and the queued item is dropped.
+        controller.items = Arrays.asList("blocked", "queued");
+        gcAction.accept(null);
+        assertThat(gcCalls).containsExactly("blocked");
+
+        // The blocked item is still being processed, so it is skipped.
+        controller.items = Collections.singletonList("blocked");
+        gcAction.accept(null);
+        assertThat(gaugeValue("skipped")).isEqualTo(1);
+        assertThat(gcCalls).containsExactly("blocked");
+
+        releaseLatch.countDown();
+
+        // Once the executor is free, the dropped item is processed by a new iteration only.
+        controller.items = Collections.singletonList("queued");
+        await().timeout(5, TimeUnit.SECONDS).until(() -> {
+            gcAction.accept(null);
+            return gcCalls.contains("queued");
+        });
+        assertThat(gcCalls).containsExactly("blocked", "queued");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void startController(int concurrency, GcFunction gcFunction) {
+        when(tokenBucketConfiguration.getCapacity()).thenReturn(100L);
+        when(tokenBucketConfiguration.getInitialNumberOfTokens()).thenReturn(100L);
+        when(tokenBucketConfiguration.getIntervalMs()).thenReturn(1_000L);
+        when(tokenBucketConfiguration.getNumberOfTokensPerInterval()).thenReturn(100L);
+        when(controllerConfiguration.isControllerEnabled()).thenReturn(true);
+        when(controllerConfiguration.getControllerIntervalMs()).thenReturn(1_000L);
+        when(controllerConfiguration.getControllerTimeoutMs()).thenReturn(CONTROLLER_TIMEOUT_MS);
+        when(controllerConfiguration.getControllerGcConcurrency()).thenReturn(concurrency);
+
+        controller = new TestGcController(gcFunction);
+        controller.enterActiveMode();
+
+        ArgumentCaptor<Consumer<ExecutionContext>> actionCaptor = ArgumentCaptor.forClass(Consumer.class);
+        verify(scheduler).schedule(any(ScheduleDescriptor.class), actionCaptor.capture(), any(ExecutorService.class));
+        gcAction = actionCaptor.getValue();
+    }
+
+    private double gaugeValue(String type) {
+        return titusRuntime.getRegistry().gauge(controller.getMetricRoot(), "type", type).value();
+    }
+
+    private interface GcFunction {
+        boolean gc(String item) throws Exception;
+    }
+
+    private class TestGcController extends BaseGcController<String> {
+
+        private final GcFunction gcFunction;
+
+        private volatile List<String> items = new ArrayList<>();
+
+        private TestGcController(GcFunction gcFunction) {
+            super("testGcController", "Test GC controller", titusRuntime, scheduler, tokenBucketConfiguration, controllerConfiguration);
+            this.gcFunction = gcFunction;
+        }
+
+        @Override
+        public boolean shouldGc() {
+            return true;
+        }
+
+        @Override
+        public List<String> getItemsToGc() {
+            return items;
+        }
+
+        @Override
+        public boolean gcItem(String item) {
+            gcCalls.add(item);
+            try {
+                return gcFunction.gc(item);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
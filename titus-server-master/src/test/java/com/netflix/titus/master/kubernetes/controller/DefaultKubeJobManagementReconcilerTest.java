@@ -0,0 +1,269 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.titus.master.kubernetes.controller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.netflix.titus.api.jobmanager.TaskAttributes;
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.JobFunctions;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.TaskState;
+import com.netflix.titus.api.jobmanager.model.job.TaskStatus;
+import com.netflix.titus.api.jobmanager.model.job.event.JobManagerEvent;
+import com.netflix.titus.api.jobmanager.model.job.event.TaskUpdateEvent;
+import com.netflix.titus.api.jobmanager.model.job.ext.BatchJobExt;
+import com.netflix.titus.api.jobmanager.service.JobManagerConstants;
+import com.netflix.titus.api.jobmanager.service.LazyJobModelView;
+import com.netflix.titus.api.jobmanager.service.V3JobOperations;
+import com.netflix.titus.common.runtime.TitusRuntime;
+import com.netflix.titus.common.runtime.TitusRuntimes;
+import com.netflix.titus.common.util.limiter.tokenbucket.FixedIntervalTokenBucketConfiguration;
+import com.netflix.titus.common.util.time.TestClock;
+import com.netflix.titus.common.util.time.internal.DefaultTestClock;
+import com.netflix.titus.common.util.tuple.Pair;
+import com.netflix.titus.master.kubernetes.KubernetesConfiguration;
+import com.netflix.titus.master.kubernetes.client.DirectKubeConfiguration;
+import com.netflix.titus.master.kubernetes.client.model.PodNotFoundEvent;
+import com.netflix.titus.runtime.connector.kubernetes.std.StdKubeApiFacade;
+import com.netflix.titus.testkit.model.job.JobGenerator;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.cache.Indexer;
+import io.kubernetes.client.openapi.models.V1Node;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Pod;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import rx.subjects.PublishSubject;
+
+import static com.netflix.titus.runtime.kubernetes.KubeConstants.DEFAULT_NAMESPACE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DefaultKubeJobManagementReconcilerTest {
+
+    private static final long FULL_CHECK_INTERVAL_MS = 60_000;
+
+    private static final String KNOWN_NODE = "known-node";
+    private static final String UNKNOWN_NODE = "unknown-node";
+
+    private final TestClock clock = new DefaultTestClock();
+    private final TitusRuntime titusRuntime = TitusRuntimes.test(clock);
+
+    private final KubernetesConfiguration configuration = mock(KubernetesConfiguration.class);
+    private final StdKubeApiFacade kubeApiFacade = mock(StdKubeApiFacade.class);
+    private final V3JobOperations v3JobOperations = mock(V3JobOperations.class);
+
+    @SuppressWarnings("unchecked")
+    private final SharedIndexInformer<V1Pod> podInformer = mock(SharedIndexInformer.class);
+    @SuppressWarnings("unchecked")
+    private final SharedIndexInformer<V1Node> nodeInformer = mock(SharedIndexInformer.class);
+
+    private final Map<String, V1Pod> pods = new ConcurrentHashMap<>();
+    private final Map<String, V1Node> nodes = new ConcurrentHashMap<>();
+    private final Map<String, Task> tasks = new ConcurrentHashMap<>();
+    private final PublishSubject<JobManagerEvent<?>> jobEvents = PublishSubject.create();
+
+    private final Job<BatchJobExt> job = JobGenerator.oneBatchJob();
+    private final List<PodNotFoundEvent> podNotFoundEvents = new ArrayList<>();
+
+    private DefaultKubeJobManagementReconciler reconciler;
+    private ResourceEventHandler<V1Pod> podEventHandler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        when(configuration.isReconcilerEnabled()).thenReturn(true);
+        // The tests call reconcile() directly, so the scheduled runs are pushed far into the future.
+        when(configuration.getReconcilerInitialDelayMs()).thenReturn(3_600_000L);
+        when(configuration.getReconcilerIntervalMs()).thenReturn(3_600_000L);
+        when(configuration.getReconcilerFullCheckIntervalMs()).thenReturn(FULL_CHECK_INTERVAL_MS);
+        when(configuration.getOrphanedPodTimeoutMs()).thenReturn(60_000L);
+
+        Indexer<V1Pod> podIndexer = mock(Indexer.class);
+        when(podInformer.getIndexer()).thenReturn(podIndexer);
+        when(podInformer.hasSynced()).thenReturn(true);
+        when(podIndexer.getByKey(anyString())).thenAnswer(invocation -> pods.get(invocation.<String>getArgument(0)));
+        when(kubeApiFacade.getPodInformer()).thenReturn(podInformer);
+
+        Indexer<V1Node> nodeIndexer = mock(Indexer.class);
+        when(nodeInformer.getIndexer()).thenReturn(nodeIndexer);
+        when(nodeInformer.hasSynced()).thenReturn(true);
+        when(nodeIndexer.getByKey(anyString())).thenAnswer(invocation -> nodes.get(invocation.<String>getArgument(0)));
+        when(kubeApiFacade.getNodeInformer()).thenReturn(nodeInformer);
+        nodes.put(KNOWN_NODE, new V1Node().metadata(new V1ObjectMeta().name(KNOWN_NODE)));
+
+        when(v3JobOperations.observeJobs()).thenReturn(jobEvents);
+        when(v3JobOperations.getJobModelView()).thenAnswer(invocation -> LazyJobModelView.copyOf(
+                Collections.singletonList(Pair.<Job, List<Task>>of(job, new ArrayList<>(tasks.values())))
+        ));
+        when(v3JobOperations.findTaskById(anyString())).thenAnswer(invocation ->
+                Optional.ofNullable(tasks.get(invocation.<String>getArgument(0))).map(task -> Pair.of(job, task))
+        );
+
+        reconciler = new DefaultKubeJobManagementReconciler(
+                configuration,
+                mock(DirectKubeConfiguration.class),
+                mock(FixedIntervalTokenBucketConfiguration.class),
+                kubeApiFacade,
+                v3JobOperations,
+                titusRuntime
+        );
+        reconciler.getPodEventSource().subscribe(event -> {
+            if (event instanceof PodNotFoundEvent) {
+                podNotFoundEvents.add((PodNotFoundEvent) event);
+            }
+        });
+        reconciler.enterActiveMode();
+
+        ArgumentCaptor<ResourceEventHandler<V1Pod>> handlerCaptor = ArgumentCaptor.forClass(ResourceEventHandler.class);
+        verify(podInformer, times(1)).addEventHandler(handlerCaptor.capture());
+        podEventHandler = handlerCaptor.getValue();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        reconciler.shutdown();
+    }
+
+    @Test
+    public void testInitialFullCheckClassifiesOrphanedTasks() {
+        Task withPod = addTask(TaskState.Started, KNOWN_NODE, true);
+        Task killInitiated = addTask(TaskState.KillInitiated, KNOWN_NODE, false);
+        Task onKnownNode = addTask(TaskState.Started, KNOWN_NODE, false);
+        Task onUnknownNode = addTask(TaskState.Started, UNKNOWN_NODE, false);
+
+        reconciler.reconcile();
+
+        assertThat(podNotFoundEvents).hasSize(3);
+        assertThat(findFinalStatus(withPod)).isEmpty();
+        assertThat(findFinalStatus(killInitiated)).hasValueSatisfying(status -> {
+            assertThat(status.getState()).isEqualTo(TaskState.Finished);
+            assertThat(status.getReasonCode()).isEqualTo(TaskStatus.REASON_TASK_KILLED);
+        });
+        assertThat(findFinalStatus(onUnknownNode)).hasValueSatisfying(status -> {
+            assertThat(status.getState()).isEqualTo(TaskState.Finished);
+            assertThat(status.getReasonCode()).isEqualTo(TaskStatus.REASON_TASK_LOST);
+            assertThat(status.getReasonMessage()).contains("underlying host machine");
+        });
+        assertThat(findFinalStatus(onKnownNode)).hasValueSatisfying(status -> {
+            assertThat(status.getState()).isEqualTo(TaskState.Finished);
+            assertThat(status.getReasonCode()).isEqualTo(TaskStatus.REASON_TASK_LOST);
+            assertThat(status.getReasonMessage()).contains("unknown state");
+        });
+    }
+
+    @Test
+    public void testTaskEventMakesTaskSuspect() {
+        Task task = addTask(TaskState.Started, KNOWN_NODE, true);
+        reconciler.reconcile();
+        assertThat(podNotFoundEvents).isEmpty();
+
+        // The pod is gone, but without an event the task is not checked again until the next full check.
+        pods.remove(podKey(task));
+        reconciler.reconcile();
+        assertThat(podNotFoundEvents).isEmpty();
+
+        jobEvents.onNext(TaskUpdateEvent.taskChange(job, task, task, JobManagerConstants.UNDEFINED_CALL_METADATA));
+        reconciler.reconcile();
+        assertThat(findFinalStatus(task)).isPresent();
+    }
+
+    @Test
+    public void testPodDeleteMakesTaskSuspect() {
+        Task task = addTask(TaskState.Started, KNOWN_NODE, true);
+        reconciler.reconcile();
+        assertThat(podNotFoundEvents).isEmpty();
+
+        V1Pod pod = pods.remove(podKey(task));
+        podEventHandler.onDelete(pod, false);
+        reconciler.reconcile();
+        assertThat(findFinalStatus(task)).isPresent();
+    }
+
+    @Test
+    public void testPeriodicFullCheck() {
+        Task task = addTask(TaskState.Started, KNOWN_NODE, true);
+        reconciler.reconcile();
+
+        pods.remove(podKey(task));
+        clock.advanceTime(FULL_CHECK_INTERVAL_MS - 1, TimeUnit.MILLISECONDS);
+        reconciler.reconcile();
+        assertThat(podNotFoundEvents).isEmpty();
+
+        clock.advanceTime(1, TimeUnit.MILLISECONDS);
+        reconciler.reconcile();
+        assertThat(findFinalStatus(task)).isPresent();
+    }
+
+    @Test
+    public void testPodHandlerIsDetachedOnShutdown() {
+        Task task = addTask(TaskState.Started, KNOWN_NODE, true);
+        reconciler.reconcile();
+
+        reconciler.shutdown();
+        V1Pod pod = pods.remove(podKey(task));
+        podEventHandler.onDelete(pod, false);
+
+        // Reactivation reuses the registered handler, and starts with a full check.
+        reconciler.enterActiveMode();
+        verify(podInformer, times(1)).addEventHandler(any());
+        reconciler.reconcile();
+        assertThat(findFinalStatus(task)).isPresent();
+    }
+
+    private Task addTask(TaskState taskState, String nodeName, boolean withPod) {
+        Task task = JobGenerator.batchTasks(job).getValues(tasks.size() + 1).get(tasks.size());
+        task = JobFunctions.changeTaskStatus(task, TaskStatus.newBuilder()
+                .withState(taskState)
+                .withTimestamp(clock.wallTime())
+                .build()
+        );
+        task = task.toBuilder().addToTaskContext(TaskAttributes.TASK_ATTRIBUTES_KUBE_NODE_NAME, nodeName).build();
+        tasks.put(task.getId(), task);
+        if (withPod) {
+            pods.put(podKey(task), new V1Pod().metadata(new V1ObjectMeta().name(task.getId()).namespace(DEFAULT_NAMESPACE)));
+        }
+        return task;
+    }
+
+    private Optional<TaskStatus> findFinalStatus(Task task) {
+        return podNotFoundEvents.stream()
+                .filter(event -> event.getTask().getId().equals(task.getId()))
+                .map(PodNotFoundEvent::getFinalTaskStatus)
+                .findFirst();
+    }
+
+    private static String podKey(Task task) {
+        return DEFAULT_NAMESPACE + '/' + task.getId();
+    }
+}
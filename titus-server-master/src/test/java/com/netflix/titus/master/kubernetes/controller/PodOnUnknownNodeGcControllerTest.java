@@ -16,6 +16,7 @@
 
 package com.netflix.titus.master.kubernetes.controller;
 
+import java.util.Arrays;
 import java.util.Collections;
 
 import com.netflix.titus.common.framework.scheduler.LocalScheduler;
@@ -25,6 +26,10 @@ import com.netflix.titus.common.util.limiter.tokenbucket.FixedIntervalTokenBucke
 import com.netflix.titus.common.util.time.TestClock;
 import com.netflix.titus.common.util.time.internal.DefaultTestClock;
 import com.netflix.titus.runtime.connector.kubernetes.std.StdKubeApiFacade;
+import com.netflix.titus.runtime.connector.kubernetes.std.StdKubeIndexers;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.cache.Indexer;
+import io.kubernetes.client.openapi.models.V1Node;
 import io.kubernetes.client.openapi.models.V1ObjectMeta;
 import io.kubernetes.client.openapi.models.V1Pod;
 import io.kubernetes.client.openapi.models.V1PodSpec;
@@ -32,6 +37,9 @@ import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class PodOnUnknownNodeGcControllerTest {
     private static final String NODE_NAME = "node-name";
@@ -77,4 +85,43 @@ public class PodOnUnknownNodeGcControllerTest {
 
         Assertions.assertThat(podGcController.isPodOnUnknownNode(pod, Collections.singleton(NODE_NAME))).isFalse();
     }
-}
\ No newline at end of file
+
+    /**
+     * After the first full scan, pods on removed nodes are found with the pod by node name index.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void podsOnRemovedNodeAreFoundWithIndex() {
+        V1Node nodeA = new V1Node().metadata(new V1ObjectMeta().name("node-a"));
+        V1Node nodeB = new V1Node().metadata(new V1ObjectMeta().name("node-b"));
+        V1Pod podOnA = new V1Pod().metadata(new V1ObjectMeta().name("pod-a")).spec(new V1PodSpec().nodeName("node-a"));
+        V1Pod podOnB = new V1Pod().metadata(new V1ObjectMeta().name("pod-b")).spec(new V1PodSpec().nodeName("node-b"));
+
+        SharedIndexInformer<V1Node> nodeInformer = mock(SharedIndexInformer.class);
+        Indexer<V1Node> nodeIndexer = mock(Indexer.class);
+        when(kubeApiFacade.getNodeInformer()).thenReturn(nodeInformer);
+        when(nodeInformer.getIndexer()).thenReturn(nodeIndexer);
+
+        SharedIndexInformer<V1Pod> podInformer = mock(SharedIndexInformer.class);
+        Indexer<V1Pod> podIndexer = mock(Indexer.class);
+        when(kubeApiFacade.getPodInformer()).thenReturn(podInformer);
+        when(podInformer.getIndexer()).thenReturn(podIndexer);
+        when(podIndexer.getIndexers()).thenReturn(StdKubeIndexers.podIndexers());
+        when(podIndexer.list()).thenReturn(Arrays.asList(podOnA, podOnB));
+        when(podIndexer.byIndex(StdKubeIndexers.POD_BY_NODE_NAME, "node-b")).thenReturn(Collections.singletonList(podOnB));
+
+        // First iteration does a full scan.
+        when(nodeIndexer.list()).thenReturn(Arrays.asList(nodeA, nodeB));
+        Assertions.assertThat(podGcController.getItemsToGc()).isEmpty();
+
+        // Node b is removed.
+        when(nodeIndexer.list()).thenReturn(Collections.singletonList(nodeA));
+        Assertions.assertThat(podGcController.getItemsToGc()).containsExactly(podOnB);
+
+        // Pod b was not removed yet, so it is checked again.
+        Assertions.assertThat(podGcController.getItemsToGc()).containsExactly(podOnB);
+
+        verify(podIndexer, times(1)).list();
+        verify(podIndexer, times(2)).byIndex(StdKubeIndexers.POD_BY_NODE_NAME, "node-b");
+    }
+}
@@ -17,12 +17,16 @@
 package com.netflix.titus.master.kubernetes.controller;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 
+import com.netflix.titus.api.jobmanager.model.job.Job;
 import com.netflix.titus.api.jobmanager.model.job.Task;
 import com.netflix.titus.api.jobmanager.model.job.TaskState;
 import com.netflix.titus.api.jobmanager.model.job.TaskStatus;
+import com.netflix.titus.api.jobmanager.service.JobModelView;
 import com.netflix.titus.api.jobmanager.service.V3JobOperations;
 import com.netflix.titus.common.framework.scheduler.LocalScheduler;
 import com.netflix.titus.common.runtime.TitusRuntime;
@@ -31,16 +35,25 @@ import com.netflix.titus.common.util.DateTimeExt;
 import com.netflix.titus.common.util.limiter.tokenbucket.FixedIntervalTokenBucketConfiguration;
 import com.netflix.titus.common.util.time.TestClock;
 import com.netflix.titus.common.util.time.internal.DefaultTestClock;
+import com.netflix.titus.common.util.tuple.Pair;
 import com.netflix.titus.runtime.connector.kubernetes.std.StdKubeApiFacade;
+import com.netflix.titus.runtime.connector.kubernetes.std.StdKubeIndexers;
 import com.netflix.titus.testkit.model.job.JobGenerator;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.cache.Indexer;
 import io.kubernetes.client.openapi.models.V1ObjectMeta;
 import io.kubernetes.client.openapi.models.V1Pod;
 import io.kubernetes.client.openapi.models.V1PodStatus;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import static com.netflix.titus.runtime.kubernetes.KubeConstants.DEFAULT_NAMESPACE;
+import static com.netflix.titus.runtime.kubernetes.KubeConstants.FAILED;
 import static com.netflix.titus.runtime.kubernetes.KubeConstants.RUNNING;
+import static com.netflix.titus.runtime.kubernetes.KubeConstants.SUCCEEDED;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class PodTerminalGcControllerTest {
@@ -132,4 +145,53 @@ public class PodTerminalGcControllerTest {
         Map<String, Task> currentTasks = Collections.singletonMap(POD_NAME, task);
         Assertions.assertThat(podGcController.isPodTerminal(pod, currentTasks)).isTrue();
     }
-}
\ No newline at end of file
+
+    /**
+     * Candidates are pods in a terminal phase, found with the pod by phase index, and pods of terminal tasks, found by
+     * their key. Other pods are not visited.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void terminalPodsAreFoundWithIndex() {
+        when(kubeControllerConfiguration.getPodTerminalGracePeriodMs()).thenReturn(POD_TERMINAL_GRACE_PERIOD);
+
+        Task finishedTask = newTask("finished-task", TaskState.Finished);
+        Task runningTask = newTask("running-task", TaskState.Started);
+        V1Pod succeededPod = newPod("succeeded-pod", SUCCEEDED);
+        V1Pod finishedTaskPod = newPod(finishedTask.getId(), RUNNING);
+
+        SharedIndexInformer<V1Pod> podInformer = mock(SharedIndexInformer.class);
+        Indexer<V1Pod> podIndexer = mock(Indexer.class);
+        when(kubeApiFacade.getPodInformer()).thenReturn(podInformer);
+        when(podInformer.getIndexer()).thenReturn(podIndexer);
+        when(podIndexer.getIndexers()).thenReturn(StdKubeIndexers.podIndexers());
+        when(podIndexer.byIndex(StdKubeIndexers.POD_BY_PHASE, SUCCEEDED)).thenReturn(Collections.singletonList(succeededPod));
+        when(podIndexer.byIndex(StdKubeIndexers.POD_BY_PHASE, FAILED)).thenReturn(Collections.emptyList());
+        when(podIndexer.getByKey(DEFAULT_NAMESPACE + '/' + finishedTask.getId())).thenReturn(finishedTaskPod);
+
+        JobModelView jobModelView = mock(JobModelView.class);
+        when(v3JobOperations.getJobModelView()).thenReturn(jobModelView);
+        when(jobModelView.getTasks()).thenReturn(Arrays.asList(finishedTask, runningTask));
+        when(jobModelView.findTaskById(finishedTask.getId())).thenReturn(Optional.of(Pair.<Job<?>, Task>of(JobGenerator.oneBatchJob(), finishedTask)));
+        when(jobModelView.findTaskById("succeeded-pod")).thenReturn(Optional.empty());
+
+        clock.advanceTime(Duration.ofMillis(POD_TERMINAL_GRACE_PERIOD + 1));
+
+        Assertions.assertThat(podGcController.getItemsToGc()).containsExactlyInAnyOrder(succeededPod, finishedTaskPod);
+        verify(podIndexer, never()).list();
+        verify(podIndexer, never()).getByKey(DEFAULT_NAMESPACE + '/' + runningTask.getId());
+    }
+
+    private Task newTask(String taskId, TaskState taskState) {
+        return JobGenerator.oneBatchTask().toBuilder()
+                .withId(taskId)
+                .withStatus(TaskStatus.newBuilder().withState(taskState).withTimestamp(clock.wallTime()).build())
+                .build();
+    }
+
+    private V1Pod newPod(String podName, String phase) {
+        return new V1Pod()
+                .metadata(new V1ObjectMeta().name(podName).namespace(DEFAULT_NAMESPACE).creationTimestamp(DateTimeExt.fromMillis(clock.wallTime())))
+                .status(new V1PodStatus().phase(phase));
+    }
+}
@@ -29,6 +29,9 @@ import com.netflix.titus.api.connector.cloud.LoadBalancer;
 import com.netflix.titus.api.connector.cloud.LoadBalancerConnector;
 import com.netflix.titus.api.jobmanager.TaskAttributes;
 import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.event.JobManagerEvent;
+import com.netflix.titus.api.jobmanager.model.job.event.TaskUpdateEvent;
+import com.netflix.titus.api.jobmanager.service.JobManagerConstants;
 import com.netflix.titus.api.jobmanager.service.JobManagerException;
 import com.netflix.titus.api.jobmanager.service.V3JobOperations;
 import com.netflix.titus.api.loadbalancer.model.JobLoadBalancer;
@@ -46,15 +49,19 @@ import org.junit.Test;
 import org.mockito.stubbing.OngoingStubbing;
 import rx.Completable;
 import rx.Single;
+import rx.Subscription;
 import rx.observers.AssertableSubscriber;
 import rx.schedulers.Schedulers;
 import rx.schedulers.TestScheduler;
+import rx.subjects.PublishSubject;
 
 import static com.jayway.awaitility.Awaitility.await;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class DefaultLoadBalancerReconcilerTest {
@@ -459,6 +466,144 @@ public class DefaultLoadBalancerReconcilerTest {
                 ));
     }
 
+    @Test(timeout = TEST_TIMEOUT_MS)
+    public void unchangedLoadBalancersAreSkipped() {
+        PublishSubject<JobManagerEvent<?>> jobEvents = PublishSubject.create();
+        when(v3JobOperations.observeJobs()).thenReturn(jobEvents);
+        LoadBalancerJobOperations loadBalancerJobOperations = new LoadBalancerJobOperations(v3JobOperations);
+        restartReconciler(mockConfigWithFullCheckInterval(delayMs, 10 * delayMs), loadBalancerJobOperations);
+        // the cache of job targets is used only while the job event stream is subscribed
+        Subscription jobEventSubscription = loadBalancerJobOperations.observeJobs().subscribe();
+
+        List<Task> tasks = LoadBalancerTests.buildTasksStarted(2, jobId);
+        when(v3JobOperations.getTasks(jobId)).thenReturn(tasks);
+        reset(connector);
+        when(connector.getLoadBalancer(loadBalancerId)).thenReturn(Single.just(new LoadBalancer(
+                loadBalancerId, LoadBalancer.State.ACTIVE, CollectionsExt.asSet("1.1.1.1", "2.2.2.2")
+        )));
+        store.addOrUpdateLoadBalancer(new JobLoadBalancer(jobId, loadBalancerId), State.ASSOCIATED).await();
+        store.addOrUpdateTargets(
+                new LoadBalancerTargetState(new LoadBalancerTarget(loadBalancerId, tasks.get(0).getId(), "1.1.1.1"), LoadBalancerTarget.State.REGISTERED),
+                new LoadBalancerTargetState(new LoadBalancerTarget(loadBalancerId, tasks.get(1).getId(), "2.2.2.2"), LoadBalancerTarget.State.REGISTERED)
+        ).block();
+
+        // nothing to do, and the load balancer is not checked again until something changes
+        awaitReconciliationRuns(2);
+        subscriber.assertNotCompleted().assertNoValues();
+        verify(connector, times(1)).getLoadBalancer(loadBalancerId);
+        verify(v3JobOperations, times(1)).getTasks(jobId);
+
+        // a new task started in the associated job
+        Task newTask = LoadBalancerTests.buildTasksStarted(3, jobId).get(2);
+        jobEvents.onNext(TaskUpdateEvent.newTask(null, newTask, JobManagerConstants.UNDEFINED_CALL_METADATA));
+        awaitReconciliationRuns(1);
+        subscriber.assertNotCompleted().assertValueCount(1);
+        assertThat(subscriber.getOnNextEvents().get(0).getState()).isEqualTo(LoadBalancerTarget.State.REGISTERED);
+        assertThat(subscriber.getOnNextEvents().get(0).getIpAddress()).isEqualTo("3.3.3.3");
+        verify(connector, times(2)).getLoadBalancer(loadBalancerId);
+        // the job targets were updated from the event
+        verify(v3JobOperations, times(1)).getTasks(jobId);
+
+        jobEventSubscription.unsubscribe();
+    }
+
+    @Test(timeout = TEST_TIMEOUT_MS)
+    public void unchangedLoadBalancersAreCheckedAfterFullCheckInterval() {
+        PublishSubject<JobManagerEvent<?>> jobEvents = PublishSubject.create();
+        when(v3JobOperations.observeJobs()).thenReturn(jobEvents);
+        LoadBalancerJobOperations loadBalancerJobOperations = new LoadBalancerJobOperations(v3JobOperations);
+        restartReconciler(mockConfigWithFullCheckInterval(delayMs, 2 * delayMs), loadBalancerJobOperations);
+        Subscription jobEventSubscription = loadBalancerJobOperations.observeJobs().subscribe();
+
+        when(v3JobOperations.getTasks(jobId)).thenReturn(Collections.emptyList());
+        store.addOrUpdateLoadBalancer(new JobLoadBalancer(jobId, loadBalancerId), State.ASSOCIATED).await();
+
+        awaitReconciliationRuns(1);
+        verify(connector, times(1)).getLoadBalancer(loadBalancerId);
+
+        // skipped in the second run, and checked again in the third one after the full check interval passed
+        awaitReconciliationRuns(2);
+        subscriber.assertNotCompleted().assertNoValues();
+        verify(connector, times(2)).getLoadBalancer(loadBalancerId);
+
+        jobEventSubscription.unsubscribe();
+    }
+
+    @Test(timeout = TEST_TIMEOUT_MS)
+    public void loadBalancersAreCheckedAgainWhenCooldownExpires() {
+        PublishSubject<JobManagerEvent<?>> jobEvents = PublishSubject.create();
+        when(v3JobOperations.observeJobs()).thenReturn(jobEvents);
+        LoadBalancerJobOperations loadBalancerJobOperations = new LoadBalancerJobOperations(v3JobOperations);
+        restartReconciler(mockConfigWithFullCheckInterval(delayMs, 10 * delayMs), loadBalancerJobOperations);
+        Subscription jobEventSubscription = loadBalancerJobOperations.observeJobs().subscribe();
+
+        List<Task> tasks = LoadBalancerTests.buildTasksStarted(2, jobId);
+        when(v3JobOperations.getTasks(jobId)).thenReturn(tasks);
+        reset(connector);
+        when(connector.getLoadBalancer(loadBalancerId)).thenReturn(Single.just(new LoadBalancer(
+                loadBalancerId, LoadBalancer.State.ACTIVE, CollectionsExt.asSet("1.1.1.1", "2.2.2.2")
+        )));
+        store.addOrUpdateLoadBalancer(new JobLoadBalancer(jobId, loadBalancerId), State.ASSOCIATED).await();
+        LoadBalancerTarget target = new LoadBalancerTarget(loadBalancerId, tasks.get(0).getId(), "1.1.1.1");
+        store.addOrUpdateTargets(
+                new LoadBalancerTargetState(target, LoadBalancerTarget.State.REGISTERED),
+                new LoadBalancerTargetState(new LoadBalancerTarget(loadBalancerId, tasks.get(1).getId(), "2.2.2.2"), LoadBalancerTarget.State.REGISTERED)
+        ).block();
+        awaitReconciliationRuns(1);
+        subscriber.assertNotCompleted().assertNoValues();
+
+        // the target disappears from the load balancer while it is in a cooldown
+        when(connector.getLoadBalancer(loadBalancerId)).thenReturn(Single.just(new LoadBalancer(
+                loadBalancerId, LoadBalancer.State.ACTIVE, CollectionsExt.asSet("2.2.2.2")
+        )));
+        reconciler.activateCooldownFor(target, 2 * delayMs, TimeUnit.MILLISECONDS);
+        awaitReconciliationRuns(1);
+        subscriber.assertNotCompleted().assertNoValues();
+
+        // the first run after the cooldown expired checks the load balancer, even though nothing else changed
+        awaitReconciliationRuns(1);
+        subscriber.assertNotCompleted().assertValueCount(1);
+        assertThat(subscriber.getOnNextEvents().get(0).getState()).isEqualTo(LoadBalancerTarget.State.REGISTERED);
+        assertThat(subscriber.getOnNextEvents().get(0).getIpAddress()).isEqualTo("1.1.1.1");
+
+        jobEventSubscription.unsubscribe();
+    }
+
+    @Test(timeout = TEST_TIMEOUT_MS)
+    public void loadBalancersAreReconciledConcurrently() {
+        restartReconciler(mockConfigWithFullCheckInterval(delayMs, 0), new LoadBalancerJobOperations(v3JobOperations));
+
+        // a load balancer that does not respond does not block the reconciliation of the other one
+        String slowLoadBalancerId = UUID.randomUUID().toString();
+        String slowJobId = UUID.randomUUID().toString();
+        when(connector.getLoadBalancer(slowLoadBalancerId)).thenReturn(Single.never());
+        when(v3JobOperations.getTasks(slowJobId)).thenReturn(LoadBalancerTests.buildTasksStarted(1, slowJobId));
+        store.addOrUpdateLoadBalancer(new JobLoadBalancer(slowJobId, slowLoadBalancerId), State.ASSOCIATED).await();
+
+        when(v3JobOperations.getTasks(jobId)).thenReturn(LoadBalancerTests.buildTasksStarted(3, jobId));
+        store.addOrUpdateLoadBalancer(new JobLoadBalancer(jobId, loadBalancerId), State.ASSOCIATED).await();
+
+        testScheduler.advanceTimeBy(delayMs, TimeUnit.MILLISECONDS);
+        await().atMost(2, TimeUnit.SECONDS).until(() -> subscriber.getValueCount() == 3);
+        subscriber.assertNotCompleted();
+        subscriber.getOnNextEvents().forEach(update -> assertThat(update.getLoadBalancerId()).isEqualTo(loadBalancerId));
+    }
+
+    private void restartReconciler(LoadBalancerConfiguration configuration, LoadBalancerJobOperations loadBalancerJobOperations) {
+        subscriber.unsubscribe();
+        reconciler.shutdown();
+        reconciler = new DefaultLoadBalancerReconciler(configuration, store, connector, loadBalancerJobOperations,
+                () -> reconciliationCount.incrementAndGet(), new NoopRegistry(), testScheduler);
+        subscriber = reconciler.events().test();
+    }
+
+    private LoadBalancerConfiguration mockConfigWithFullCheckInterval(long delayMs, long fullCheckIntervalMs) {
+        LoadBalancerConfiguration configuration = mockConfigWithDelay(delayMs);
+        when(configuration.getReconciliationConcurrencyLimit()).thenReturn(4);
+        when(configuration.getReconciliationFullCheckIntervalMs()).thenReturn(fullCheckIntervalMs);
+        return configuration;
+    }
+
     private LoadBalancerConfiguration mockConfigWithDelay(long delayMs) {
         LoadBalancerConfiguration configuration = mock(LoadBalancerConfiguration.class);
         when(configuration.getReconciliationDelayMs()).thenReturn(delayMs);
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.titus.master.service.management.internal;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.netflix.titus.api.jobmanager.model.job.ContainerResources;
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.JobDescriptor;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.TaskState;
+import com.netflix.titus.api.jobmanager.service.V3JobOperations;
+import com.netflix.titus.common.runtime.TitusRuntime;
+import com.netflix.titus.common.runtime.TitusRuntimes;
+import com.netflix.titus.common.util.time.Clocks;
+import com.netflix.titus.common.util.time.TestClock;
+import com.netflix.titus.common.util.tuple.Pair;
+import com.netflix.titus.master.service.management.ApplicationSlaManagementService;
+import com.netflix.titus.master.service.management.internal.DefaultResourceConsumptionService.ConsumptionEvaluationResult;
+import com.netflix.titus.testkit.model.job.JobComponentStub;
+import com.netflix.titus.testkit.model.job.JobDescriptorGenerator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IncrementalResourceConsumptionEvaluatorTest {
+
+    private static final long FULL_REFRESH_INTERVAL_MS = 60_000;
+
+    private static final ContainerResources CONTAINER_RESOURCES = ContainerResources.newBuilder()
+            .withCpu(1)
+            .withMemoryMB(1024)
+            .withDiskMB(512)
+            .withNetworkMbps(128)
+            .build();
+
+    private final TitusRuntime titusRuntime = TitusRuntimes.test();
+
+    private final TestClock clock = Clocks.test();
+
+    private final ApplicationSlaManagementService applicationSlaManagementService = mock(ApplicationSlaManagementService.class);
+
+    private final V3JobOperations v3JobOperations = mock(V3JobOperations.class);
+
+    private final JobComponentStub jobComponentStub = new JobComponentStub(titusRuntime);
+
+    private final V3JobOperations jobOperations = jobComponentStub.getJobOperations();
+
+    private IncrementalResourceConsumptionEvaluator evaluator;
+
+    @Before
+    public void setUp() throws Exception {
+        when(v3JobOperations.getJobModelView()).then(invocation -> jobOperations.getJobModelView());
+        when(v3JobOperations.observeJobs()).then(invocation -> jobOperations.observeJobs());
+        when(applicationSlaManagementService.getApplicationSLAs()).thenReturn(asList(
+                ConsumptionModelGenerator.DEFAULT_SLA, ConsumptionModelGenerator.CRITICAL_SLA_1, ConsumptionModelGenerator.NOT_USED_SLA
+        ));
+
+        this.evaluator = new IncrementalResourceConsumptionEvaluator(applicationSlaManagementService, v3JobOperations, FULL_REFRESH_INTERVAL_MS, clock);
+    }
+
+    @After
+    public void tearDown() {
+        evaluator.shutdown();
+    }
+
+    @Test
+    public void testTaskStateChanges() {
+        Pair<Job, List<Task>> criticalJob = newServiceJob("criticalJob",
+                jd -> jd.toBuilder().withCapacityGroup(ConsumptionModelGenerator.CRITICAL_SLA_1.getAppName()).build()
+        );
+        Pair<Job, List<Task>> defaultJob = newServiceJob("defaultJob",
+                jd -> jd.toBuilder().withCapacityGroup(ConsumptionModelGenerator.DEFAULT_SLA.getAppName()).build()
+        );
+        newServiceJob("undefinedJob", jd -> jd.toBuilder().withCapacityGroup("missingCapacityGroup").build());
+        assertSameAsFullEvaluation();
+
+        criticalJob.getRight().forEach(task -> jobComponentStub.moveTaskToState(task, TaskState.Started));
+        assertSameAsFullEvaluation();
+
+        jobComponentStub.moveTaskToState(criticalJob.getRight().get(0), TaskState.KillInitiated);
+        jobComponentStub.moveTaskToState(defaultJob.getRight().get(0), TaskState.Finished);
+        assertSameAsFullEvaluation();
+    }
+
+    @Test
+    public void testNewJobs() {
+        newServiceJob("criticalJob",
+                jd -> jd.toBuilder().withCapacityGroup(ConsumptionModelGenerator.CRITICAL_SLA_1.getAppName()).build()
+        );
+        assertSameAsFullEvaluation();
+
+        newServiceJob("criticalJob2",
+                jd -> jd.toBuilder().withCapacityGroup(ConsumptionModelGenerator.CRITICAL_SLA_1.getAppName()).build()
+        );
+        newServiceJob("undefinedJob", jd -> jd.toBuilder().withCapacityGroup("missingCapacityGroup").build());
+        assertSameAsFullEvaluation();
+    }
+
+    @Test
+    public void testCapacityGroupDefinitionChange() {
+        newServiceJob("criticalJob",
+                jd -> jd.toBuilder().withCapacityGroup(ConsumptionModelGenerator.CRITICAL_SLA_1.getAppName()).build()
+        );
+        newServiceJob("notUsedJob",
+                jd -> jd.toBuilder().withCapacityGroup(ConsumptionModelGenerator.NOT_USED_SLA.getAppName()).build()
+        );
+        assertSameAsFullEvaluation();
+
+        // Jobs of the removed capacity group move to the default capacity group.
+        when(applicationSlaManagementService.getApplicationSLAs()).thenReturn(asList(
+                ConsumptionModelGenerator.DEFAULT_SLA, ConsumptionModelGenerator.CRITICAL_SLA_1
+        ));
+        ConsumptionEvaluationResult result = assertSameAsFullEvaluation();
+        assertThat(result.getUndefinedCapacityGroups()).containsExactly(ConsumptionModelGenerator.NOT_USED_SLA.getAppName());
+    }
+
+    @Test
+    public void testResubscribeTriggersFullRefresh() {
+        Pair<Job, List<Task>> criticalJob = newServiceJob("criticalJob",
+                jd -> jd.toBuilder().withCapacityGroup(ConsumptionModelGenerator.CRITICAL_SLA_1.getAppName()).build()
+        );
+        assertSameAsFullEvaluation();
+
+        // Changes done while not subscribed are recovered by the full refresh that follows the resubscription.
+        evaluator.shutdown();
+        criticalJob.getRight().forEach(task -> jobComponentStub.moveTaskToState(task, TaskState.Started));
+        assertSameAsFullEvaluation();
+    }
+
+    private ConsumptionEvaluationResult assertSameAsFullEvaluation() {
+        ConsumptionEvaluationResult result = evaluator.get();
+        ResourceConsumptionEvaluator expected = new ResourceConsumptionEvaluator(applicationSlaManagementService, v3JobOperations);
+
+        assertThat(result.getDefinedCapacityGroups()).isEqualTo(expected.getDefinedCapacityGroups());
+        assertThat(result.getUndefinedCapacityGroups()).isEqualTo(expected.getUndefinedCapacityGroups());
+        assertThat(result.getSystemConsumption()).isEqualTo(expected.getSystemConsumption());
+        return result;
+    }
+
+    private Pair<Job, List<Task>> newServiceJob(String name, Function<JobDescriptor, JobDescriptor> transformer) {
+        jobComponentStub.addJobTemplate(name, JobDescriptorGenerator.serviceJobDescriptors()
+                .map(jd -> jd.but(self -> self.getContainer().but(c -> CONTAINER_RESOURCES)))
+                .map(transformer::apply)
+        );
+        return jobComponentStub.createJobAndTasks(name);
+    }
+}
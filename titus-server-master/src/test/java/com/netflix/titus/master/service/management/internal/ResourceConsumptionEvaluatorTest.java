@@ -70,7 +70,7 @@ public class ResourceConsumptionEvaluatorTest {
 
     @Before
     public void setUp() throws Exception {
-        when(v3JobOperations.getJobsAndTasks()).then(invocation -> jobOperations.getJobsAndTasks());
+        when(v3JobOperations.getJobModelView()).then(invocation -> jobOperations.getJobModelView());
     }
 
     @Test
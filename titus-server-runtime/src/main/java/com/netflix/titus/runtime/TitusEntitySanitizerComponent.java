@@ -87,6 +87,7 @@ public class TitusEntitySanitizerComponent {
                 .withVerifierMode(verifierMode)
                 .withJobConstraintConfiguration(jobConfiguration)
                 .withJobAsserts(jobAssertions)
+                .withCompiledMode(jobConfiguration.isCompiledSanitizerEnabled())
                 .build();
     }
 
@@ -94,6 +94,7 @@ public class TitusEntitySanitizerModule extends AbstractModule {
                 .withVerifierMode(verifierMode)
                 .withJobConstraintConfiguration(jobConfiguration)
                 .withJobAsserts(jobAssertions)
+                .withCompiledMode(jobConfiguration.isCompiledSanitizerEnabled())
                 .build();
     }
 
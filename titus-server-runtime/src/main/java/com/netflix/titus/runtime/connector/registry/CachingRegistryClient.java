@@ -0,0 +1,111 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.runtime.connector.registry;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.PreDestroy;
+
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Registry;
+import com.netflix.titus.common.runtime.TitusRuntime;
+import com.netflix.titus.common.util.cache.Cache;
+import com.netflix.titus.common.util.cache.Caches;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link RegistryClient} decorator that caches the resolved image digests, and coalesces concurrent lookups of the
+ * same image into a single registry request. Tag lookups are cached for a short time, as tags may be moved to a
+ * different image. Digest lookups are immutable, and are cached much longer. A successful tag lookup also records the
+ * resolved digest as known. Errors are never cached.
+ */
+public class CachingRegistryClient implements RegistryClient {
+
+    private static final String METRIC_ROOT = "titus.registryClient.digestCache.";
+
+    private final RegistryClient delegate;
+
+    private final Cache<String, String> tagCache;
+    private final Cache<String, String> digestCache;
+    private final ConcurrentMap<String, Mono<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter coalescedRequests;
+
+    public CachingRegistryClient(RegistryClient delegate,
+                                 TitusRegistryClientConfiguration configuration,
+                                 TitusRuntime titusRuntime) {
+        this.delegate = delegate;
+
+        Registry registry = titusRuntime.getRegistry();
+        long maxSize = Math.max(1, configuration.getDigestCacheMaxSize());
+        this.tagCache = Caches.instrumentedCacheWithMaxSize(
+                maxSize, Duration.ofMillis(Math.max(0, configuration.getDigestCacheTagTtlMs())), METRIC_ROOT + "tag", registry
+        );
+        this.digestCache = Caches.instrumentedCacheWithMaxSize(
+                maxSize, Duration.ofMillis(Math.max(0, configuration.getDigestCacheDigestTtlMs())), METRIC_ROOT + "digest", registry
+        );
+        this.coalescedRequests = registry.counter(METRIC_ROOT + "coalescedRequests");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        tagCache.shutdown();
+        digestCache.shutdown();
+    }
+
+    @Override
+    public Mono<String> getImageDigest(String repository, String reference) {
+        return Mono.defer(() -> {
+            boolean digestReference = isDigest(reference);
+            Cache<String, String> cache = digestReference ? digestCache : tagCache;
+            String key = toKey(repository, reference);
+
+            String cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+
+            Mono<String> pending = inFlight.get(key);
+            if (pending != null) {
+                coalescedRequests.increment();
+                return pending;
+            }
+            return inFlight.computeIfAbsent(key, k -> delegate.getImageDigest(repository, reference)
+                    .doOnNext(digest -> {
+                        cache.put(k, digest);
+                        if (!digestReference) {
+                            digestCache.put(toKey(repository, digest), digest);
+                        }
+                    })
+                    .doFinally(signal -> inFlight.remove(k))
+                    .cache()
+            );
+        });
+    }
+
+    /**
+     * Docker image digests have the form 'algorithm:hex'. The ':' character is not allowed in tags.
+     */
+    private static boolean isDigest(String reference) {
+        return reference.indexOf(':') >= 0;
+    }
+
+    private static String toKey(String repository, String reference) {
+        return isDigest(reference) ? repository + '@' + reference : repository + ':' + reference;
+    }
+}
@@ -21,13 +21,23 @@ import javax.inject.Singleton;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.netflix.archaius.ConfigProxyFactory;
+import com.netflix.titus.common.runtime.TitusRuntime;
 import com.netflix.titus.runtime.endpoint.admission.JobImageSanitizerConfiguration;
 import com.netflix.titus.runtime.endpoint.admission.ServiceMeshImageSanitizerConfiguration;
 
 public class TitusContainerRegistryModule extends AbstractModule {
     @Override
     protected void configure() {
-        bind(RegistryClient.class).to(DefaultDockerRegistryClient.class);
+    }
+
+    @Provides
+    @Singleton
+    public RegistryClient getRegistryClient(DefaultDockerRegistryClient registryClient,
+                                            TitusRegistryClientConfiguration configuration,
+                                            TitusRuntime titusRuntime) {
+        return configuration.isDigestCacheEnabled()
+                ? new CachingRegistryClient(registryClient, configuration, titusRuntime)
+                : registryClient;
     }
 
     @Provides
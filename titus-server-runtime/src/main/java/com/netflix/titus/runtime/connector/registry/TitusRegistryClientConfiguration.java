@@ -36,4 +36,26 @@ public interface TitusRegistryClientConfiguration {
 
     @DefaultValue("5")
     int getRegistryRetryDelayMs();
+
+    /**
+     * If enabled, resolved image digests are cached, and concurrent lookups of the same image share a single
+     * registry request.
+     */
+    @DefaultValue("true")
+    boolean isDigestCacheEnabled();
+
+    /**
+     * Cache TTL of tag lookups. Tags are mutable, so this value should be short.
+     */
+    @DefaultValue("10000")
+    long getDigestCacheTagTtlMs();
+
+    /**
+     * Cache TTL of digest lookups. Digests are immutable, so they can be kept much longer than tags.
+     */
+    @DefaultValue("3600000")
+    long getDigestCacheDigestTtlMs();
+
+    @DefaultValue("10000")
+    long getDigestCacheMaxSize();
 }
@@ -19,6 +19,7 @@ package com.netflix.titus.runtime.endpoint.v3.grpc.query;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
@@ -37,12 +38,18 @@ import com.netflix.titus.runtime.endpoint.JobQueryCriteria;
 import com.netflix.titus.runtime.endpoint.common.QueryUtils;
 import com.netflix.titus.runtime.endpoint.v3.grpc.GrpcJobManagementModelConverters;
 
+/**
+ * Evaluators are equal if they are of the same type, and are created from equal query criteria, so they can be used
+ * as cache keys for query results.
+ */
 public abstract class V3AbstractQueryCriteriaEvaluator<TASK_OR_SET> implements Predicate<Pair<Job<?>, TASK_OR_SET>> {
 
+    private final JobQueryCriteria<TaskStatus.TaskState, JobDescriptor.JobSpecCase> criteria;
     private final Predicate<Pair<Job<?>, TASK_OR_SET>> queryPredicate;
 
     protected V3AbstractQueryCriteriaEvaluator(List<Predicate<Pair<Job<?>, TASK_OR_SET>>> taskPredicates,
                                                JobQueryCriteria<TaskStatus.TaskState, JobDescriptor.JobSpecCase> criteria) {
+        this.criteria = criteria;
         List<Predicate<Pair<Job<?>, TASK_OR_SET>>> predicates = createJobPredicates(criteria);
         predicates.addAll(taskPredicates);
         this.queryPredicate = matchAll(predicates);
@@ -53,6 +60,23 @@ public abstract class V3AbstractQueryCriteriaEvaluator<TASK_OR_SET> implements P
         return queryPredicate.test(jobListPair);
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        V3AbstractQueryCriteriaEvaluator<?> that = (V3AbstractQueryCriteriaEvaluator<?>) o;
+        return Objects.equals(criteria, that.criteria);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass(), criteria);
+    }
+
     private List<Predicate<Pair<Job<?>, TASK_OR_SET>>> createJobPredicates(JobQueryCriteria<TaskStatus.TaskState, JobDescriptor.JobSpecCase> criteria) {
         List<Predicate<Pair<Job<?>, TASK_OR_SET>>> predicates = new ArrayList<>();
 
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.titus.runtime.jobmanager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.common.util.tuple.Pair;
+
+/**
+ * Cursor keys (creation time, id) of all jobs or tasks matching a query, in the pagination cursor order. Computing it
+ * requires evaluating the query for all items, but once computed, the number of matching items before any cursor
+ * position is found with a binary search. A single instance can be thus shared by all pages of a query, as long as
+ * the underlying job data does not change.
+ */
+public class JobCursorCounts {
+
+    private final long[] timestamps;
+    private final String[] ids;
+
+    private JobCursorCounts(long[] timestamps, String[] ids) {
+        this.timestamps = timestamps;
+        this.ids = ids;
+    }
+
+    public int getTotalItems() {
+        return ids.length;
+    }
+
+    /**
+     * @return the number of matching items ordered before or at the cursor position (left), and the total number of
+     * matching items (right)
+     */
+    public Pair<Integer, Integer> getOffsetAndTotal(long cursorTimestamp, String cursorId) {
+        int low = 0;
+        int high = ids.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (JobCursorIndex.compareToCursor(timestamps[mid], ids[mid], cursorTimestamp, cursorId) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return Pair.of(low, ids.length);
+    }
+
+    /**
+     * @param jobs jobs in the cursor order
+     */
+    public static <J> JobCursorCounts forJobs(List<J> jobs,
+                                              Function<J, Job<?>> jobAccessor,
+                                              Function<J, List<Task>> tasksAccessor,
+                                              Predicate<Pair<Job<?>, List<Task>>> queryPredicate) {
+        long[] timestamps = new long[jobs.size()];
+        String[] ids = new String[jobs.size()];
+        int count = 0;
+        for (J item : jobs) {
+            Job<?> job = jobAccessor.apply(item);
+            if (queryPredicate.test(Pair.of(job, tasksAccessor.apply(item)))) {
+                timestamps[count] = JobComparators.getJobCreateTimestamp(job);
+                ids[count] = job.getId();
+                count++;
+            }
+        }
+        return new JobCursorCounts(Arrays.copyOf(timestamps, count), Arrays.copyOf(ids, count));
+    }
+
+    /**
+     * @param jobs jobs in any order
+     */
+    public static <J> JobCursorCounts forTasks(List<J> jobs,
+                                               Function<J, Job<?>> jobAccessor,
+                                               Function<J, List<Task>> tasksAccessor,
+                                               Predicate<Pair<Job<?>, Task>> queryPredicate) {
+        List<Task> matching = new ArrayList<>();
+        for (J item : jobs) {
+            Job<?> job = jobAccessor.apply(item);
+            for (Task task : tasksAccessor.apply(item)) {
+                if (queryPredicate.test(Pair.of(job, task))) {
+                    matching.add(task);
+                }
+            }
+        }
+        matching.sort(JobComparators.getTaskTimestampComparator());
+
+        long[] timestamps = new long[matching.size()];
+        String[] ids = new String[matching.size()];
+        for (int i = 0; i < matching.size(); i++) {
+            Task task = matching.get(i);
+            timestamps[i] = JobComparators.getTaskCreateTimestamp(task);
+            ids[i] = task.getId();
+        }
+        return new JobCursorCounts(timestamps, ids);
+    }
+}
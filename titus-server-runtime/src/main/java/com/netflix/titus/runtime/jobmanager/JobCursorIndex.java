@@ -0,0 +1,203 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.runtime.jobmanager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.service.CursorQueryResult;
+import com.netflix.titus.common.util.tuple.Pair;
+
+/**
+ * Cursor queries over jobs and tasks that are already kept in the pagination cursor order (creation time first, id
+ * second). The cursor position is found with a binary search, and only the items following it are visited, so the
+ * cost of a page does not depend on how many items precede the cursor. Nothing is copied or sorted. The number of
+ * matching items before the cursor position and in total is computed only when requested from the result. It is
+ * taken from {@link JobCursorCounts}, which callers may keep for the subsequent pages of the same query.
+ * <p>
+ * Jobs must be provided in the cursor order, and the tasks of each job must be in the cursor order as well. The task
+ * order across jobs is restored with a k-way merge of the per-job task lists.
+ */
+public final class JobCursorIndex {
+
+    private JobCursorIndex() {
+    }
+
+    /**
+     * @param jobs          jobs in the cursor order
+     * @param jobAccessor   returns the job of a list element
+     * @param tasksAccessor returns the tasks of a list element
+     */
+    public static <J> CursorQueryResult<Job<?>> findJobsAfter(List<J> jobs,
+                                                              Function<J, Job<?>> jobAccessor,
+                                                              Function<J, List<Task>> tasksAccessor,
+                                                              Predicate<Pair<Job<?>, List<Task>>> queryPredicate,
+                                                              long cursorTimestamp,
+                                                              String cursorId,
+                                                              int limit) {
+        return findJobsAfter(jobs, jobAccessor, tasksAccessor, queryPredicate, cursorTimestamp, cursorId, limit,
+                () -> JobCursorCounts.forJobs(jobs, jobAccessor, tasksAccessor, queryPredicate)
+        );
+    }
+
+    /**
+     * @param countsSupplier returns {@link JobCursorCounts} computed for the same jobs and query predicate
+     */
+    public static <J> CursorQueryResult<Job<?>> findJobsAfter(List<J> jobs,
+                                                              Function<J, Job<?>> jobAccessor,
+                                                              Function<J, List<Task>> tasksAccessor,
+                                                              Predicate<Pair<Job<?>, List<Task>>> queryPredicate,
+                                                              long cursorTimestamp,
+                                                              String cursorId,
+                                                              int limit,
+                                                              Supplier<JobCursorCounts> countsSupplier) {
+        int start = indexAfter(jobs, item -> {
+            Job<?> job = jobAccessor.apply(item);
+            return compareToCursor(JobComparators.getJobCreateTimestamp(job), job.getId(), cursorTimestamp, cursorId);
+        });
+
+        List<Job<?>> result = new ArrayList<>(Math.max(0, Math.min(limit, jobs.size() - start)));
+        for (int i = start; i < jobs.size(); i++) {
+            J item = jobs.get(i);
+            Job<?> job = jobAccessor.apply(item);
+            if (queryPredicate.test(Pair.of(job, tasksAccessor.apply(item)))) {
+                if (result.size() == limit) {
+                    return new CursorQueryResult<>(result, true, () -> countsSupplier.get().getOffsetAndTotal(cursorTimestamp, cursorId));
+                }
+                result.add(job);
+            }
+        }
+        return new CursorQueryResult<>(result, false, () -> countsSupplier.get().getOffsetAndTotal(cursorTimestamp, cursorId));
+    }
+
+    /**
+     * @param jobs                 jobs in any order
+     * @param jobAccessor          returns the job of a list element
+     * @param orderedTasksAccessor returns the tasks of a list element in the cursor order
+     */
+    public static <J> CursorQueryResult<Pair<Job<?>, Task>> findTasksAfter(List<J> jobs,
+                                                                           Function<J, Job<?>> jobAccessor,
+                                                                           Function<J, List<Task>> orderedTasksAccessor,
+                                                                           Predicate<Pair<Job<?>, Task>> queryPredicate,
+                                                                           long cursorTimestamp,
+                                                                           String cursorId,
+                                                                           int limit) {
+        return findTasksAfter(jobs, jobAccessor, orderedTasksAccessor, queryPredicate, cursorTimestamp, cursorId, limit,
+                () -> JobCursorCounts.forTasks(jobs, jobAccessor, orderedTasksAccessor, queryPredicate)
+        );
+    }
+
+    /**
+     * @param countsSupplier returns {@link JobCursorCounts} computed for the same jobs and query predicate
+     */
+    public static <J> CursorQueryResult<Pair<Job<?>, Task>> findTasksAfter(List<J> jobs,
+                                                                           Function<J, Job<?>> jobAccessor,
+                                                                           Function<J, List<Task>> orderedTasksAccessor,
+                                                                           Predicate<Pair<Job<?>, Task>> queryPredicate,
+                                                                           long cursorTimestamp,
+                                                                           String cursorId,
+                                                                           int limit,
+                                                                           Supplier<JobCursorCounts> countsSupplier) {
+        List<JobTasksHead> heads = new ArrayList<>();
+        for (J item : jobs) {
+            List<Task> tasks = orderedTasksAccessor.apply(item);
+            int start = indexAfter(tasks, task ->
+                    compareToCursor(JobComparators.getTaskCreateTimestamp(task), task.getId(), cursorTimestamp, cursorId)
+            );
+            if (start < tasks.size()) {
+                heads.add(new JobTasksHead(jobAccessor.apply(item), tasks, start));
+            }
+        }
+
+        PriorityQueue<JobTasksHead> queue = new PriorityQueue<>(heads);
+        List<Pair<Job<?>, Task>> result = new ArrayList<>(Math.min(limit, heads.size()));
+        while (!queue.isEmpty()) {
+            JobTasksHead head = queue.poll();
+            Pair<Job<?>, Task> jobAndTask = Pair.of(head.job, head.current());
+            if (queryPredicate.test(jobAndTask)) {
+                if (result.size() == limit) {
+                    return new CursorQueryResult<>(result, true,
+                            () -> countsSupplier.get().getOffsetAndTotal(cursorTimestamp, cursorId));
+                }
+                result.add(jobAndTask);
+            }
+            if (head.advance()) {
+                queue.add(head);
+            }
+        }
+        return new CursorQueryResult<>(result, false,
+                () -> countsSupplier.get().getOffsetAndTotal(cursorTimestamp, cursorId));
+    }
+
+    static int compareToCursor(long timestamp, String id, long cursorTimestamp, String cursorId) {
+        int cmp = Long.compare(timestamp, cursorTimestamp);
+        return cmp != 0 ? cmp : id.compareTo(cursorId);
+    }
+
+    /**
+     * Index of the first item ordered after the cursor position.
+     *
+     * @param cursorComparator compares a list item to the cursor position
+     */
+    private static <T> int indexAfter(List<T> items, ToIntFunction<T> cursorComparator) {
+        int low = 0;
+        int high = items.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cursorComparator.applyAsInt(items.get(mid)) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static class JobTasksHead implements Comparable<JobTasksHead> {
+
+        private final Job<?> job;
+        private final List<Task> tasks;
+        private int index;
+
+        private JobTasksHead(Job<?> job, List<Task> tasks, int index) {
+            this.job = job;
+            this.tasks = tasks;
+            this.index = index;
+        }
+
+        private Task current() {
+            return tasks.get(index);
+        }
+
+        private boolean advance() {
+            index++;
+            return index < tasks.size();
+        }
+
+        @Override
+        public int compareTo(JobTasksHead other) {
+            return JobComparators.getTaskTimestampComparator().compare(current(), other.current());
+        }
+    }
+}
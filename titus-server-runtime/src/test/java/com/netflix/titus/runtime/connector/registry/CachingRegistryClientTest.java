@@ -0,0 +1,131 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.runtime.connector.registry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.netflix.titus.common.runtime.TitusRuntime;
+import com.netflix.titus.common.runtime.TitusRuntimes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CachingRegistryClientTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private static final String REPOSITORY = "titusops/alpine";
+    private static final String TAG = "latest";
+    private static final String DIGEST = "sha256:f9f5bb506406b80454a4255b33ed2e4383b9e4a32fb94d6f7e51922704e818fa";
+
+    private final TitusRuntime titusRuntime = TitusRuntimes.internal();
+
+    private final TitusRegistryClientConfiguration configuration = mock(TitusRegistryClientConfiguration.class);
+
+    private final StubRegistryClient stub = new StubRegistryClient();
+
+    private CachingRegistryClient client;
+
+    @Before
+    public void setUp() {
+        when(configuration.getDigestCacheMaxSize()).thenReturn(100L);
+        when(configuration.getDigestCacheTagTtlMs()).thenReturn(60_000L);
+        when(configuration.getDigestCacheDigestTtlMs()).thenReturn(3_600_000L);
+        client = new CachingRegistryClient(stub, configuration, titusRuntime);
+    }
+
+    @After
+    public void tearDown() {
+        client.shutdown();
+    }
+
+    @Test
+    public void testConcurrentLookupsShareOneRequest() {
+        Sinks.One<String> response = Sinks.one();
+        stub.response = response.asMono();
+
+        StepVerifier.FirstStep<String> first = StepVerifier.create(client.getImageDigest(REPOSITORY, TAG));
+        StepVerifier.FirstStep<String> second = StepVerifier.create(client.getImageDigest(REPOSITORY, TAG));
+
+        // Subscribe both before the registry responds.
+        StepVerifier firstVerifier = first.expectNext(DIGEST).expectComplete().verifyLater();
+        StepVerifier secondVerifier = second.expectNext(DIGEST).expectComplete().verifyLater();
+        response.tryEmitValue(DIGEST);
+
+        firstVerifier.verify(TIMEOUT);
+        secondVerifier.verify(TIMEOUT);
+        assertThat(stub.calls.get()).isEqualTo(1);
+        assertThat(titusRuntime.getRegistry().counter("titus.registryClient.digestCache.coalescedRequests").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testTagLookupIsCached() {
+        stub.response = Mono.just(DIGEST);
+
+        assertThat(client.getImageDigest(REPOSITORY, TAG).block(TIMEOUT)).isEqualTo(DIGEST);
+        assertThat(client.getImageDigest(REPOSITORY, TAG).block(TIMEOUT)).isEqualTo(DIGEST);
+        assertThat(stub.calls.get()).isEqualTo(1);
+
+        // The digest resolved from the tag is known to exist.
+        assertThat(client.getImageDigest(REPOSITORY, DIGEST).block(TIMEOUT)).isEqualTo(DIGEST);
+        assertThat(stub.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testTagAndDigestOfDifferentRepositoriesAreNotShared() {
+        stub.response = Mono.just(DIGEST);
+
+        client.getImageDigest(REPOSITORY, TAG).block(TIMEOUT);
+        client.getImageDigest("other/repository", TAG).block(TIMEOUT);
+        client.getImageDigest("other/repository", DIGEST).block(TIMEOUT);
+        assertThat(stub.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testErrorsAreNotCached() {
+        stub.response = Mono.error(TitusRegistryException.imageNotFound(REPOSITORY, TAG));
+        StepVerifier.create(client.getImageDigest(REPOSITORY, TAG))
+                .expectError(TitusRegistryException.class)
+                .verify(TIMEOUT);
+
+        stub.response = Mono.just(DIGEST);
+        assertThat(client.getImageDigest(REPOSITORY, TAG).block(TIMEOUT)).isEqualTo(DIGEST);
+        assertThat(stub.calls.get()).isEqualTo(2);
+    }
+
+    private static class StubRegistryClient implements RegistryClient {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile Mono<String> response;
+
+        @Override
+        public Mono<String> getImageDigest(String repository, String reference) {
+            return Mono.defer(() -> {
+                calls.incrementAndGet();
+                return response;
+            });
+        }
+    }
+}
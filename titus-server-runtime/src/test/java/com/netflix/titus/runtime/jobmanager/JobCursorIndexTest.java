@@ -0,0 +1,179 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.titus.runtime.jobmanager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.JobState;
+import com.netflix.titus.api.jobmanager.model.job.JobStatus;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.TaskState;
+import com.netflix.titus.api.jobmanager.model.job.TaskStatus;
+import com.netflix.titus.api.jobmanager.service.CursorQueryResult;
+import com.netflix.titus.common.util.tuple.Pair;
+import com.netflix.titus.testkit.model.job.JobGenerator;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JobCursorIndexTest {
+
+    private final Job<?> job1 = newJob("job1", 20);
+    private final Job<?> job2 = newJob("job2", 10);
+
+    private final Task task1 = newTask(job1, "task1", 30);
+    private final Task task2 = newTask(job2, "task2", 10);
+    private final Task task3 = newTask(job1, "task3", 20);
+    private final Task task4 = newTask(job2, "task4", 20);
+
+    /**
+     * Jobs, and the tasks of each job in the cursor order.
+     */
+    private final List<Pair<Job<?>, List<Task>>> jobsAndTasks = Arrays.asList(
+            Pair.of(job2, Arrays.asList(task2, task4)),
+            Pair.of(job1, Arrays.asList(task3, task1))
+    );
+
+    @Test
+    public void testFindJobsAfter() {
+        CursorQueryResult<Job<?>> result = findJobsAfter(jobAndTasks -> true, 10, "job2", 10);
+        assertThat(result.getItems()).containsExactly(job1);
+        assertThat(result.hasMore()).isFalse();
+        assertThat(result.getOffset()).isEqualTo(1);
+        assertThat(result.getTotalItems()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFindJobsAfterWithMore() {
+        CursorQueryResult<Job<?>> result = findJobsAfter(jobAndTasks -> true, 0, "", 1);
+        assertThat(result.getItems()).containsExactly(job2);
+        assertThat(result.hasMore()).isTrue();
+    }
+
+    @Test
+    public void testFindTasksAfter() {
+        CursorQueryResult<Pair<Job<?>, Task>> result = findTasksAfter(jobAndTask -> true, 10, "task2", 2);
+        assertThat(tasksOf(result)).containsExactly(task3, task4);
+        assertThat(result.hasMore()).isTrue();
+        assertThat(result.getOffset()).isEqualTo(1);
+        assertThat(result.getTotalItems()).isEqualTo(4);
+    }
+
+    @Test
+    public void testFindTasksAfterRemovedTaskPosition() {
+        // No task with this id, so the result starts with the first task ordered after the position.
+        CursorQueryResult<Pair<Job<?>, Task>> result = findTasksAfter(jobAndTask -> true, 20, "task35", 10);
+        assertThat(tasksOf(result)).containsExactly(task4, task1);
+        assertThat(result.hasMore()).isFalse();
+        assertThat(result.getOffset()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFindTasksAfterWithPredicate() {
+        CursorQueryResult<Pair<Job<?>, Task>> result = findTasksAfter(
+                jobAndTask -> jobAndTask.getLeft().getId().equals("job1"), 10, "task2", 10
+        );
+        assertThat(tasksOf(result)).containsExactly(task3, task1);
+        assertThat(result.hasMore()).isFalse();
+        assertThat(result.getOffset()).isEqualTo(0);
+        assertThat(result.getTotalItems()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFindTasksAfterHasMoreIgnoresNotMatchingTasks() {
+        CursorQueryResult<Pair<Job<?>, Task>> result = findTasksAfter(
+                jobAndTask -> jobAndTask.getLeft().getId().equals("job2"), 0, "", 2
+        );
+        assertThat(tasksOf(result)).containsExactly(task2, task4);
+        assertThat(result.hasMore()).isFalse();
+    }
+
+    @Test
+    public void testFindTasksAfterLastTask() {
+        CursorQueryResult<Pair<Job<?>, Task>> result = findTasksAfter(jobAndTask -> true, 30, "task1", 10);
+        assertThat(result.getItems()).isEmpty();
+        assertThat(result.hasMore()).isFalse();
+        assertThat(result.getOffset()).isEqualTo(4);
+        assertThat(result.getTotalItems()).isEqualTo(4);
+    }
+
+    @Test
+    public void testCountsAreSharedAcrossPages() {
+        Predicate<Pair<Job<?>, Task>> predicate = jobAndTask -> true;
+        JobCursorCounts counts = JobCursorCounts.forTasks(jobsAndTasks, Pair::getLeft, Pair::getRight, predicate);
+        AtomicInteger countsRequests = new AtomicInteger();
+
+        CursorQueryResult<Pair<Job<?>, Task>> firstPage = JobCursorIndex.findTasksAfter(jobsAndTasks, Pair::getLeft, Pair::getRight,
+                predicate, 10, "task2", 2, () -> {
+                    countsRequests.incrementAndGet();
+                    return counts;
+                });
+        assertThat(countsRequests.get()).isEqualTo(0);
+        assertThat(firstPage.getOffset()).isEqualTo(1);
+        assertThat(firstPage.getTotalItems()).isEqualTo(4);
+        assertThat(countsRequests.get()).isEqualTo(1);
+
+        CursorQueryResult<Pair<Job<?>, Task>> secondPage = JobCursorIndex.findTasksAfter(jobsAndTasks, Pair::getLeft, Pair::getRight,
+                predicate, 20, "task4", 2, () -> counts);
+        assertThat(tasksOf(secondPage)).containsExactly(task1);
+        assertThat(secondPage.getOffset()).isEqualTo(3);
+        assertThat(secondPage.getTotalItems()).isEqualTo(4);
+    }
+
+    private CursorQueryResult<Job<?>> findJobsAfter(Predicate<Pair<Job<?>, List<Task>>> predicate, long timestamp, String id, int limit) {
+        return JobCursorIndex.findJobsAfter(jobsAndTasks, Pair::getLeft, Pair::getRight, predicate, timestamp, id, limit);
+    }
+
+    private CursorQueryResult<Pair<Job<?>, Task>> findTasksAfter(Predicate<Pair<Job<?>, Task>> predicate, long timestamp, String id, int limit) {
+        return JobCursorIndex.findTasksAfter(jobsAndTasks, Pair::getLeft, Pair::getRight, predicate, timestamp, id, limit);
+    }
+
+    private List<Task> tasksOf(CursorQueryResult<Pair<Job<?>, Task>> result) {
+        List<Task> tasks = new ArrayList<>();
+        result.getItems().forEach(jobAndTask -> tasks.add(jobAndTask.getRight()));
+        return tasks;
+    }
+
+    private Job<?> newJob(String jobId, long timestamp) {
+        return JobGenerator.oneBatchJob().toBuilder()
+                .withId(jobId)
+                .withStatus(JobStatus.newBuilder()
+                        .withState(JobState.Accepted)
+                        .withTimestamp(timestamp)
+                        .build()
+                )
+                .build();
+    }
+
+    private Task newTask(Job<?> job, String taskId, long timestamp) {
+        return JobGenerator.oneBatchTask().toBuilder()
+                .withId(taskId)
+                .withJobId(job.getId())
+                .withStatus(TaskStatus.newBuilder()
+                        .withState(TaskState.Accepted)
+                        .withTimestamp(timestamp)
+                        .build()
+                )
+                .build();
+    }
+}
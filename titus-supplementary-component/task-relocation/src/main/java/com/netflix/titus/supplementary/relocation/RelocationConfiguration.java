@@ -92,4 +92,10 @@ public interface RelocationConfiguration {
     @DefaultValue("300")
     int getNodeTaintTransitionTimeThresholdSeconds();
 
+    /**
+     * Interval at which the relocation view is rebuilt from scratch. In between, only the jobs changed since the
+     * last workflow iteration are reread from the job cache.
+     */
+    @DefaultValue("300000")
+    long getRelocationViewFullRefreshIntervalMs();
 }
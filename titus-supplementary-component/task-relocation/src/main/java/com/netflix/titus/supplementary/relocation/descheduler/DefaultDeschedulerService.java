@@ -22,7 +22,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -30,7 +29,6 @@ import com.google.common.annotations.VisibleForTesting;
 import com.netflix.titus.api.eviction.service.ReadOnlyEvictionOperations;
 import com.netflix.titus.api.jobmanager.model.job.Job;
 import com.netflix.titus.api.jobmanager.model.job.Task;
-import com.netflix.titus.api.jobmanager.service.ReadOnlyJobOperations;
 import com.netflix.titus.api.relocation.model.TaskRelocationPlan;
 import com.netflix.titus.api.relocation.model.TaskRelocationPlan.TaskRelocationReason;
 import com.netflix.titus.common.runtime.TitusRuntime;
@@ -39,11 +37,12 @@ import com.netflix.titus.common.util.time.Clock;
 import com.netflix.titus.common.util.tuple.Pair;
 import com.netflix.titus.runtime.connector.eviction.EvictionConfiguration;
 import com.netflix.titus.supplementary.relocation.connector.TitusNode;
-import com.netflix.titus.supplementary.relocation.connector.NodeDataResolver;
 import com.netflix.titus.supplementary.relocation.model.DeschedulingFailure;
 import com.netflix.titus.supplementary.relocation.model.DeschedulingResult;
 import com.netflix.titus.supplementary.relocation.util.RelocationPredicates;
 import com.netflix.titus.supplementary.relocation.util.RelocationUtil;
+import com.netflix.titus.supplementary.relocation.view.RelocationView;
+import com.netflix.titus.supplementary.relocation.view.RelocationViewSnapshot;
 
 import static com.netflix.titus.api.jobmanager.model.job.JobFunctions.hasDisruptionBudget;
 
@@ -53,23 +52,20 @@ import static com.netflix.titus.api.jobmanager.model.job.JobFunctions.hasDisrupt
 @Singleton
 public class DefaultDeschedulerService implements DeschedulerService {
 
-    private final ReadOnlyJobOperations jobOperations;
+    private final RelocationView relocationView;
     private final ReadOnlyEvictionOperations evictionOperations;
-    private final NodeDataResolver nodeDataResolver;
 
     private final TitusRuntime titusRuntime;
     private final EvictionConfiguration evictionConfiguration;
     private final Clock clock;
 
     @Inject
-    public DefaultDeschedulerService(ReadOnlyJobOperations jobOperations,
+    public DefaultDeschedulerService(RelocationView relocationView,
                                      ReadOnlyEvictionOperations evictionOperations,
-                                     NodeDataResolver nodeDataResolver,
                                      EvictionConfiguration evictionConfiguration,
                                      TitusRuntime titusRuntime) {
-        this.jobOperations = jobOperations;
+        this.relocationView = relocationView;
         this.evictionOperations = evictionOperations;
-        this.nodeDataResolver = nodeDataResolver;
         this.evictionConfiguration = evictionConfiguration;
         this.clock = titusRuntime.getClock();
         this.titusRuntime = titusRuntime;
@@ -77,12 +73,10 @@ public class DefaultDeschedulerService implements DeschedulerService {
 
     @Override
     public List<DeschedulingResult> deschedule(Map<String, TaskRelocationPlan> plannedAheadTaskRelocationPlans) {
-        List<Pair<Job, List<Task>>> allJobsAndTasks = jobOperations.getJobsAndTasks();
-        Map<String, Job<?>> jobs = allJobsAndTasks.stream().map(Pair::getLeft).collect(Collectors.toMap(Job::getId, j -> j));
-        Map<String, Task> tasksById = allJobsAndTasks.stream()
-                .flatMap(p -> p.getRight().stream())
-                .collect(Collectors.toMap(Task::getId, t -> t));
-        EvacuatedAgentsAllocationTracker evacuatedAgentsAllocationTracker = new EvacuatedAgentsAllocationTracker(nodeDataResolver.resolve(), tasksById);
+        RelocationViewSnapshot snapshot = relocationView.getSnapshot();
+        Map<String, Job<?>> jobs = snapshot.getJobs();
+        Map<String, Task> tasksById = snapshot.getTasks();
+        EvacuatedAgentsAllocationTracker evacuatedAgentsAllocationTracker = new EvacuatedAgentsAllocationTracker(snapshot);
         EvictionQuotaTracker evictionQuotaTracker = new EvictionQuotaTracker(evictionOperations, jobs);
 
         TaskMigrationDescheduler taskMigrationDescheduler = new TaskMigrationDescheduler(
@@ -169,7 +163,7 @@ public class DefaultDeschedulerService implements DeschedulerService {
         TaskRelocationPlan plannedAheadTaskRelocationPlan = plannedAheadTaskRelocationPlans.get(task.getId());
         if (plannedAheadTaskRelocationPlan == null) {
             // recheck if a self managed plan is needed
-            jobOperations.getJob(task.getJobId()).ifPresent(job ->
+            Optional.ofNullable(relocationView.getSnapshot().getJobs().get(task.getJobId())).ifPresent(job ->
                     RelocationPredicates.checkIfNeedsRelocationPlan(job, task, agent).ifPresent(reason -> {
                         if (RelocationPredicates.isSelfManaged(job) && hasDisruptionBudget(job)) {
                             result.set(Optional.of(RelocationUtil.buildSelfManagedRelocationPlan(job, task, reason, clock.wallTime())));
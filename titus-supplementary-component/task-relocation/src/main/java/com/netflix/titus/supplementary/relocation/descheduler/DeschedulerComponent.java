@@ -17,10 +17,9 @@
 package com.netflix.titus.supplementary.relocation.descheduler;
 
 import com.netflix.titus.api.eviction.service.ReadOnlyEvictionOperations;
-import com.netflix.titus.api.jobmanager.service.ReadOnlyJobOperations;
 import com.netflix.titus.common.runtime.TitusRuntime;
 import com.netflix.titus.runtime.connector.eviction.EvictionConfiguration;
-import com.netflix.titus.supplementary.relocation.connector.NodeDataResolver;
+import com.netflix.titus.supplementary.relocation.view.RelocationView;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -28,11 +27,10 @@ import org.springframework.context.annotation.Configuration;
 public class DeschedulerComponent {
 
     @Bean
-    public DeschedulerService getDeschedulerService(ReadOnlyJobOperations jobOperations,
+    public DeschedulerService getDeschedulerService(RelocationView relocationView,
                                                     ReadOnlyEvictionOperations evictionOperations,
-                                                    NodeDataResolver nodeDataResolver,
                                                     EvictionConfiguration evictionConfiguration,
                                                     TitusRuntime titusRuntime) {
-        return new DefaultDeschedulerService(jobOperations, evictionOperations, nodeDataResolver, evictionConfiguration, titusRuntime);
+        return new DefaultDeschedulerService(relocationView, evictionOperations, evictionConfiguration, titusRuntime);
     }
 }
@@ -21,12 +21,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import com.google.common.base.Preconditions;
 import com.netflix.titus.api.jobmanager.model.job.Task;
 import com.netflix.titus.common.util.tuple.Pair;
 import com.netflix.titus.supplementary.relocation.connector.TitusNode;
 import com.netflix.titus.supplementary.relocation.util.RelocationUtil;
+import com.netflix.titus.supplementary.relocation.view.RelocationViewSnapshot;
 
 import static com.netflix.titus.common.util.CollectionsExt.copyAndRemove;
 import static com.netflix.titus.common.util.CollectionsExt.transformValues;
@@ -36,18 +38,18 @@ class EvacuatedAgentsAllocationTracker {
     private final Map<String, TitusNode> removableAgentsById;
     private final Map<String, Pair<TitusNode, List<Task>>> removableAgentsAndTasksByAgentId;
     private final Set<String> descheduledTasks = new HashSet<>();
-    private final Map<String, TitusNode> agentsByTaskId;
+    private final RelocationViewSnapshot snapshot;
     private final Map<String, TitusNode> removableAgentsByTaskId = new HashMap<>();
 
-    EvacuatedAgentsAllocationTracker(Map<String, TitusNode> nodesById, Map<String, Task> tasksById) {
-        this.agentsByTaskId = RelocationUtil.buildTasksToInstanceMap(nodesById, tasksById);
+    EvacuatedAgentsAllocationTracker(RelocationViewSnapshot snapshot) {
+        this.snapshot = snapshot;
         this.removableAgentsById = new HashMap<>();
-        nodesById.forEach((nodeId, node) -> {
+        snapshot.getNodes().forEach((nodeId, node) -> {
             if ((node.isServerGroupRelocationRequired() && !node.isRelocationNotAllowed()) || node.isRelocationRequired()) {
                 removableAgentsById.put(nodeId, node);
             }
         });
-        this.removableAgentsAndTasksByAgentId = transformValues(removableAgentsById, i -> Pair.of(i, RelocationUtil.findTasksOnInstance(i, tasksById.values())));
+        this.removableAgentsAndTasksByAgentId = transformValues(removableAgentsById, i -> Pair.of(i, findTasksOnAgent(i)));
 
         for (Pair<TitusNode, List<Task>> agentTasksPair : removableAgentsAndTasksByAgentId.values()) {
             agentTasksPair.getRight().forEach(task -> removableAgentsByTaskId.put(task.getId(), agentTasksPair.getLeft()));
@@ -79,6 +81,12 @@ class EvacuatedAgentsAllocationTracker {
     }
 
     TitusNode getAgent(Task task) {
-        return agentsByTaskId.get(task.getId());
+        return snapshot.findTaskNode(task.getId()).orElse(null);
+    }
+
+    private List<Task> findTasksOnAgent(TitusNode agent) {
+        return snapshot.getNodeTasks(agent.getId()).stream()
+                .filter(RelocationUtil::isAssignedToAgent)
+                .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.supplementary.relocation.view;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+
+import com.google.common.base.Stopwatch;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Registry;
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.event.JobUpdateEvent;
+import com.netflix.titus.api.jobmanager.model.job.event.TaskUpdateEvent;
+import com.netflix.titus.api.jobmanager.service.ReadOnlyJobOperations;
+import com.netflix.titus.common.runtime.TitusRuntime;
+import com.netflix.titus.common.util.rx.ReactorExt;
+import com.netflix.titus.common.util.time.Clock;
+import com.netflix.titus.common.util.tuple.Pair;
+import com.netflix.titus.supplementary.relocation.RelocationConfiguration;
+import com.netflix.titus.supplementary.relocation.RelocationMetrics;
+import com.netflix.titus.supplementary.relocation.connector.NodeDataResolver;
+import com.netflix.titus.supplementary.relocation.connector.TitusNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+
+/**
+ * Relocation view shared by all steps of a relocation workflow iteration. Jobs are marked as changed by the job
+ * replicator events, and on each {@link #refresh()} only the changed jobs are reread from the job cache, and
+ * reindexed in a new {@link RelocationViewSnapshot}. Nodes are resolved once per refresh, as their relocation
+ * attributes depend on time and on dynamic configuration, so they cannot be derived from node update events alone.
+ * <p>
+ * To recover from missed events (for example when the event stream terminates or the job replicator reconnects),
+ * the whole view is periodically rebuilt from scratch.
+ * <p>
+ * The {@link #refresh()} method should be called from a single thread.
+ */
+public class RelocationView {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelocationView.class);
+
+    private static final String METRIC_ROOT = RelocationMetrics.METRIC_ROOT + "view.";
+
+    private final RelocationConfiguration configuration;
+    private final NodeDataResolver nodeDataResolver;
+    private final ReadOnlyJobOperations jobOperations;
+    private final Clock clock;
+
+    private final Set<String> changedJobIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean fullRefreshRequested = true;
+    private volatile Disposable eventSubscription;
+
+    private volatile RelocationViewSnapshot snapshot = RelocationViewSnapshot.empty();
+    private long lastFullRefreshTimestamp;
+
+    private final Counter fullRefreshCounter;
+    private final Counter incrementalRefreshCounter;
+    private final Counter changedJobsCounter;
+
+    public RelocationView(RelocationConfiguration configuration,
+                          NodeDataResolver nodeDataResolver,
+                          ReadOnlyJobOperations jobOperations,
+                          TitusRuntime titusRuntime) {
+        this.configuration = configuration;
+        this.nodeDataResolver = nodeDataResolver;
+        this.jobOperations = jobOperations;
+        this.clock = titusRuntime.getClock();
+
+        Registry registry = titusRuntime.getRegistry();
+        this.fullRefreshCounter = registry.counter(METRIC_ROOT + "refreshes", "type", "full");
+        this.incrementalRefreshCounter = registry.counter(METRIC_ROOT + "refreshes", "type", "incremental");
+        this.changedJobsCounter = registry.counter(METRIC_ROOT + "changedJobs");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ReactorExt.safeDispose(eventSubscription);
+    }
+
+    /**
+     * Returns the snapshot built by the last {@link #refresh()} call.
+     */
+    public RelocationViewSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Requests the next {@link #refresh()} to rebuild the whole view, for example after the job replicator was
+     * reconnected, as the events for the changes applied during the reconnect are not delivered.
+     */
+    public void requestFullRefresh() {
+        this.fullRefreshRequested = true;
+    }
+
+    /**
+     * Brings the view up to date with the job cache and the current node state, and returns the new snapshot.
+     */
+    public synchronized RelocationViewSnapshot refresh() {
+        if (eventSubscription == null || eventSubscription.isDisposed()) {
+            // Events missed while the event stream was not subscribed are recovered by the full refresh.
+            subscribeToEvents();
+            fullRefreshRequested = true;
+        }
+
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        Map<String, TitusNode> nodes = nodeDataResolver.resolve();
+
+        long now = clock.wallTime();
+        if (fullRefreshRequested || now - lastFullRefreshTimestamp >= configuration.getRelocationViewFullRefreshIntervalMs()) {
+            this.snapshot = fullRefresh(nodes);
+            this.lastFullRefreshTimestamp = now;
+            fullRefreshCounter.increment();
+            logger.info("Relocation view rebuilt in {}ms: {}", stopwatch.elapsed(TimeUnit.MILLISECONDS), snapshot);
+        } else {
+            this.snapshot = incrementalRefresh(nodes);
+            incrementalRefreshCounter.increment();
+            logger.debug("Relocation view updated in {}ms: {}", stopwatch.elapsed(TimeUnit.MILLISECONDS), snapshot);
+        }
+        return snapshot;
+    }
+
+    private void subscribeToEvents() {
+        this.eventSubscription = jobOperations.observeJobsReactor().subscribe(
+                event -> {
+                    if (event instanceof JobUpdateEvent) {
+                        changedJobIds.add(((JobUpdateEvent) event).getCurrent().getId());
+                    } else if (event instanceof TaskUpdateEvent) {
+                        TaskUpdateEvent taskUpdateEvent = (TaskUpdateEvent) event;
+                        changedJobIds.add(taskUpdateEvent.getCurrentTask().getJobId());
+                        // A task moved to another job must be removed from the indexes of its previous job.
+                        taskUpdateEvent.getPreviousTask().ifPresent(previous -> changedJobIds.add(previous.getJobId()));
+                    }
+                },
+                e -> logger.error("Job event stream terminated with an error", e),
+                () -> logger.info("Job event stream completed")
+        );
+    }
+
+    private RelocationViewSnapshot fullRefresh(Map<String, TitusNode> nodes) {
+        // Clear the changes before reading the jobs, so changes made after the read are processed next time.
+        fullRefreshRequested = false;
+        changedJobIds.clear();
+
+        RelocationViewSnapshot.Builder builder = RelocationViewSnapshot.empty().toBuilder().withNodes(nodes);
+        for (Pair<Job, List<Task>> jobAndTasks : jobOperations.getJobsAndTasks()) {
+            builder.updateJob(jobAndTasks.getLeft(), jobAndTasks.getRight());
+        }
+        return builder.build();
+    }
+
+    private RelocationViewSnapshot incrementalRefresh(Map<String, TitusNode> nodes) {
+        Set<String> jobIds = new HashSet<>(changedJobIds);
+        changedJobIds.removeAll(jobIds);
+        changedJobsCounter.increment(jobIds.size());
+
+        RelocationViewSnapshot.Builder builder = snapshot.toBuilder().withNodes(nodes);
+        for (String jobId : jobIds) {
+            Optional<Job<?>> jobOpt = jobOperations.getJob(jobId);
+            if (jobOpt.isPresent()) {
+                builder.updateJob(jobOpt.get(), jobOperations.getTasks(jobId));
+            } else {
+                builder.removeJob(jobId);
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.supplementary.relocation.view;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.netflix.titus.api.jobmanager.TaskAttributes;
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.supplementary.relocation.connector.TitusNode;
+import org.pcollections.HashTreePMap;
+import org.pcollections.HashTreePSet;
+import org.pcollections.PMap;
+import org.pcollections.PSet;
+
+/**
+ * Immutable view of the jobs, tasks and nodes, with the task to node, node to tasks, and job to tasks indexes.
+ * The indexes are kept in persistent collections, so a new snapshot with a few jobs updated shares most of its
+ * state with the previous one.
+ */
+public class RelocationViewSnapshot {
+
+    private static final RelocationViewSnapshot EMPTY = new RelocationViewSnapshot(
+            Collections.emptyMap(), HashTreePMap.empty(), HashTreePMap.empty(), HashTreePMap.empty(), HashTreePMap.empty()
+    );
+
+    private final Map<String, TitusNode> nodes;
+    private final PMap<String, Job<?>> jobs;
+    private final PMap<String, Task> tasks;
+    private final PMap<String, PSet<String>> taskIdsByJobId;
+    private final PMap<String, PSet<String>> taskIdsByNodeId;
+
+    private RelocationViewSnapshot(Map<String, TitusNode> nodes,
+                                   PMap<String, Job<?>> jobs,
+                                   PMap<String, Task> tasks,
+                                   PMap<String, PSet<String>> taskIdsByJobId,
+                                   PMap<String, PSet<String>> taskIdsByNodeId) {
+        this.nodes = Collections.unmodifiableMap(nodes);
+        this.jobs = jobs;
+        this.tasks = tasks;
+        this.taskIdsByJobId = taskIdsByJobId;
+        this.taskIdsByNodeId = taskIdsByNodeId;
+    }
+
+    public Map<String, TitusNode> getNodes() {
+        return nodes;
+    }
+
+    public Map<String, Job<?>> getJobs() {
+        return jobs;
+    }
+
+    public Map<String, Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Returns tasks of the given job, or an empty list if the job is not found.
+     */
+    public List<Task> getJobTasks(String jobId) {
+        return resolveTasks(taskIdsByJobId.get(jobId));
+    }
+
+    /**
+     * Returns all tasks with the given node id in their context, including the ones that are no longer running on it.
+     */
+    public List<Task> getNodeTasks(String nodeId) {
+        return resolveTasks(taskIdsByNodeId.get(nodeId));
+    }
+
+    /**
+     * Returns the node the task is assigned to, if the node is known.
+     */
+    public Optional<TitusNode> findTaskNode(String taskId) {
+        Task task = tasks.get(taskId);
+        if (task == null) {
+            return Optional.empty();
+        }
+        String nodeId = getNodeId(task);
+        return nodeId == null ? Optional.empty() : Optional.ofNullable(nodes.get(nodeId));
+    }
+
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    @Override
+    public String toString() {
+        return "RelocationViewSnapshot{" +
+                "nodes=" + nodes.size() +
+                ", jobs=" + jobs.size() +
+                ", tasks=" + tasks.size() +
+                '}';
+    }
+
+    private List<Task> resolveTasks(PSet<String> taskIds) {
+        if (taskIds == null || taskIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Task> result = new ArrayList<>(taskIds.size());
+        taskIds.forEach(taskId -> {
+            Task task = tasks.get(taskId);
+            if (task != null) {
+                result.add(task);
+            }
+        });
+        return result;
+    }
+
+    public static RelocationViewSnapshot empty() {
+        return EMPTY;
+    }
+
+    private static String getNodeId(Task task) {
+        return task.getTaskContext().get(TaskAttributes.TASK_ATTRIBUTES_AGENT_INSTANCE_ID);
+    }
+
+    public static final class Builder {
+
+        private Map<String, TitusNode> nodes;
+        private PMap<String, Job<?>> jobs;
+        private PMap<String, Task> tasks;
+        private PMap<String, PSet<String>> taskIdsByJobId;
+        private PMap<String, PSet<String>> taskIdsByNodeId;
+
+        private Builder(RelocationViewSnapshot snapshot) {
+            this.nodes = snapshot.nodes;
+            this.jobs = snapshot.jobs;
+            this.tasks = snapshot.tasks;
+            this.taskIdsByJobId = snapshot.taskIdsByJobId;
+            this.taskIdsByNodeId = snapshot.taskIdsByNodeId;
+        }
+
+        public Builder withNodes(Map<String, TitusNode> nodes) {
+            this.nodes = nodes;
+            return this;
+        }
+
+        /**
+         * Replaces the job and all its tasks. Tasks that are not in the given collection are removed, unless they
+         * were moved to another job in the meantime.
+         */
+        public Builder updateJob(Job<?> job, Collection<Task> jobTasks) {
+            String jobId = job.getId();
+            jobs = jobs.plus(jobId, job);
+
+            PSet<String> previousTaskIds = taskIdsByJobId.getOrDefault(jobId, HashTreePSet.empty());
+            PSet<String> currentTaskIds = HashTreePSet.empty();
+            for (Task task : jobTasks) {
+                updateTask(task);
+                currentTaskIds = currentTaskIds.plus(task.getId());
+            }
+            for (String taskId : previousTaskIds) {
+                if (!currentTaskIds.contains(taskId)) {
+                    removeTaskOfJob(jobId, taskId);
+                }
+            }
+            return this;
+        }
+
+        public Builder removeJob(String jobId) {
+            jobs = jobs.minus(jobId);
+            PSet<String> taskIds = taskIdsByJobId.get(jobId);
+            if (taskIds != null) {
+                taskIds.forEach(taskId -> removeTaskOfJob(jobId, taskId));
+            }
+            return this;
+        }
+
+        public RelocationViewSnapshot build() {
+            return new RelocationViewSnapshot(nodes, jobs, tasks, taskIdsByJobId, taskIdsByNodeId);
+        }
+
+        private void updateTask(Task task) {
+            Task previous = tasks.get(task.getId());
+            if (previous == task) {
+                return;
+            }
+            if (previous != null) {
+                unindex(previous);
+            }
+            tasks = tasks.plus(task.getId(), task);
+            taskIdsByJobId = addToIndex(taskIdsByJobId, task.getJobId(), task.getId());
+            String nodeId = getNodeId(task);
+            if (nodeId != null) {
+                taskIdsByNodeId = addToIndex(taskIdsByNodeId, nodeId, task.getId());
+            }
+        }
+
+        private void removeTaskOfJob(String jobId, String taskId) {
+            Task task = tasks.get(taskId);
+            if (task != null && task.getJobId().equals(jobId)) {
+                unindex(task);
+                tasks = tasks.minus(taskId);
+            }
+        }
+
+        private void unindex(Task task) {
+            taskIdsByJobId = removeFromIndex(taskIdsByJobId, task.getJobId(), task.getId());
+            String nodeId = getNodeId(task);
+            if (nodeId != null) {
+                taskIdsByNodeId = removeFromIndex(taskIdsByNodeId, nodeId, task.getId());
+            }
+        }
+
+        private static PMap<String, PSet<String>> addToIndex(PMap<String, PSet<String>> index, String key, String taskId) {
+            PSet<String> taskIds = index.getOrDefault(key, HashTreePSet.empty());
+            return taskIds.contains(taskId) ? index : index.plus(key, taskIds.plus(taskId));
+        }
+
+        private static PMap<String, PSet<String>> removeFromIndex(PMap<String, PSet<String>> index, String key, String taskId) {
+            PSet<String> taskIds = index.get(key);
+            if (taskIds == null || !taskIds.contains(taskId)) {
+                return index;
+            }
+            PSet<String> updated = taskIds.minus(taskId);
+            return updated.isEmpty() ? index.minus(key) : index.plus(key, updated);
+        }
+    }
+}
@@ -50,6 +50,7 @@ import com.netflix.titus.supplementary.relocation.descheduler.DeschedulerService
 import com.netflix.titus.supplementary.relocation.model.DeschedulingResult;
 import com.netflix.titus.supplementary.relocation.store.TaskRelocationResultStore;
 import com.netflix.titus.supplementary.relocation.store.TaskRelocationStore;
+import com.netflix.titus.supplementary.relocation.view.RelocationView;
 import com.netflix.titus.supplementary.relocation.workflow.step.DeschedulerStep;
 import com.netflix.titus.supplementary.relocation.workflow.step.MustBeRelocatedSelfManagedTaskCollectorStep;
 import com.netflix.titus.supplementary.relocation.workflow.step.MustBeRelocatedTaskStoreUpdateStep;
@@ -79,6 +80,7 @@ public class DefaultRelocationWorkflowExecutor implements RelocationWorkflowExec
 
     private final NodeDataResolver nodeDataResolver;
     private final JobDataReplicator jobDataReplicator;
+    private final RelocationView relocationView;
 
     private final EvictionDataReplicator evictionDataReplicator;
 
@@ -106,6 +108,7 @@ public class DefaultRelocationWorkflowExecutor implements RelocationWorkflowExec
                                              NodeDataResolver nodeDataResolver,
                                              JobDataReplicator jobDataReplicator,
                                              ReadOnlyJobOperations jobOperations,
+                                             RelocationView relocationView,
                                              EvictionDataReplicator evictionDataReplicator,
                                              EvictionServiceClient evictionServiceClient,
                                              DeschedulerService deschedulerService,
@@ -115,6 +118,7 @@ public class DefaultRelocationWorkflowExecutor implements RelocationWorkflowExec
         this.configuration = configuration;
         this.nodeDataResolver = nodeDataResolver;
         this.jobDataReplicator = jobDataReplicator;
+        this.relocationView = relocationView;
         this.evictionDataReplicator = evictionDataReplicator;
         this.metrics = new WorkflowMetrics(titusRuntime);
         this.titusRuntime = titusRuntime;
@@ -124,8 +128,8 @@ public class DefaultRelocationWorkflowExecutor implements RelocationWorkflowExec
         ensureReplicatorsReady();
 
         RelocationTransactionLogger transactionLog = new RelocationTransactionLogger(jobOperations);
-        this.relocationMetricsStep = new RelocationMetricsStep(nodeDataResolver, jobOperations, titusRuntime);
-        this.mustBeRelocatedSelfManagedTaskCollectorStep = new MustBeRelocatedSelfManagedTaskCollectorStep(nodeDataResolver, jobOperations, titusRuntime);
+        this.relocationMetricsStep = new RelocationMetricsStep(relocationView, titusRuntime);
+        this.mustBeRelocatedSelfManagedTaskCollectorStep = new MustBeRelocatedSelfManagedTaskCollectorStep(relocationView, titusRuntime);
         this.mustBeRelocatedTaskStoreUpdateStep = new MustBeRelocatedTaskStoreUpdateStep(configuration, activeStore, transactionLog, titusRuntime);
         this.deschedulerStep = new DeschedulerStep(deschedulerService, transactionLog, titusRuntime);
         this.taskEvictionStep = new TaskEvictionStep(evictionServiceClient, titusRuntime, transactionLog, Schedulers.parallel());
@@ -235,9 +239,14 @@ public class DefaultRelocationWorkflowExecutor implements RelocationWorkflowExec
     private boolean doWork(boolean descheduling) {
         if (hasStaleData()) {
             logger.info("Stale data. Skipping the task relocation iteration");
+            // The job replicator may reconnect while stale, and the changes it applies are not emitted as events.
+            relocationView.requestFullRefresh();
             return false;
         }
 
+        // All steps below work on the same snapshot of jobs, tasks and nodes.
+        relocationView.refresh();
+
         // Metrics
         relocationMetricsStep.updateMetrics();
 
@@ -29,6 +29,7 @@ import com.netflix.titus.supplementary.relocation.connector.NodeDataResolver;
 import com.netflix.titus.supplementary.relocation.descheduler.DeschedulerService;
 import com.netflix.titus.supplementary.relocation.store.TaskRelocationResultStore;
 import com.netflix.titus.supplementary.relocation.store.TaskRelocationStore;
+import com.netflix.titus.supplementary.relocation.view.RelocationView;
 import org.springframework.context.annotation.Bean;
 import org.springframework.stereotype.Component;
 
@@ -44,11 +45,20 @@ public class TaskRelocationWorkflowComponent {
         return Archaius2Ext.newConfiguration(EvictionConfiguration.class, titusRuntime.getMyEnvironment());
     }
 
+    @Bean
+    public RelocationView getRelocationView(RelocationConfiguration configuration,
+                                            NodeDataResolver nodeDataResolver,
+                                            ReadOnlyJobOperations jobOperations,
+                                            TitusRuntime titusRuntime) {
+        return new RelocationView(configuration, nodeDataResolver, jobOperations, titusRuntime);
+    }
+
     @Bean
     public RelocationWorkflowExecutor getRelocationWorkflowExecutor(RelocationConfiguration configuration,
                                                                     NodeDataResolver nodeDataResolver,
                                                                     JobDataReplicator jobDataReplicator,
                                                                     ReadOnlyJobOperations jobOperations,
+                                                                    RelocationView relocationView,
                                                                     EvictionDataReplicator evictionDataReplicator,
                                                                     EvictionServiceClient evictionServiceClient,
                                                                     DeschedulerService deschedulerService,
@@ -60,6 +70,7 @@ public class TaskRelocationWorkflowComponent {
                 nodeDataResolver,
                 jobDataReplicator,
                 jobOperations,
+                relocationView,
                 evictionDataReplicator,
                 evictionServiceClient,
                 deschedulerService,
@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.Stopwatch;
@@ -28,15 +29,14 @@ import com.netflix.titus.api.jobmanager.model.job.Job;
 import com.netflix.titus.api.jobmanager.model.job.Task;
 import com.netflix.titus.api.jobmanager.model.job.TaskState;
 import com.netflix.titus.api.jobmanager.model.job.disruptionbudget.SelfManagedDisruptionBudgetPolicy;
-import com.netflix.titus.api.jobmanager.service.ReadOnlyJobOperations;
 import com.netflix.titus.api.relocation.model.TaskRelocationPlan;
 import com.netflix.titus.api.relocation.model.TaskRelocationPlan.TaskRelocationReason;
 import com.netflix.titus.common.runtime.TitusRuntime;
 import com.netflix.titus.common.util.time.Clock;
 import com.netflix.titus.common.util.tuple.Triple;
 import com.netflix.titus.supplementary.relocation.connector.TitusNode;
-import com.netflix.titus.supplementary.relocation.connector.NodeDataResolver;
-import com.netflix.titus.supplementary.relocation.util.RelocationUtil;
+import com.netflix.titus.supplementary.relocation.view.RelocationView;
+import com.netflix.titus.supplementary.relocation.view.RelocationViewSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,18 +51,15 @@ public class MustBeRelocatedSelfManagedTaskCollectorStep {
 
     private static final Logger logger = LoggerFactory.getLogger(MustBeRelocatedSelfManagedTaskCollectorStep.class);
 
-    private final NodeDataResolver nodeDataResolver;
-    private final ReadOnlyJobOperations jobOperations;
+    private final RelocationView relocationView;
     private final StepMetrics metrics;
     private final Clock clock;
 
     private Map<String, TaskRelocationPlan> lastResult = Collections.emptyMap();
 
-    public MustBeRelocatedSelfManagedTaskCollectorStep(NodeDataResolver nodeDataResolver,
-                                                       ReadOnlyJobOperations jobOperations,
+    public MustBeRelocatedSelfManagedTaskCollectorStep(RelocationView relocationView,
                                                        TitusRuntime titusRuntime) {
-        this.nodeDataResolver = nodeDataResolver;
-        this.jobOperations = jobOperations;
+        this.relocationView = relocationView;
         this.clock = titusRuntime.getClock();
         this.metrics = new StepMetrics("mustBeRelocatedTaskCollectorStep", titusRuntime);
     }
@@ -82,8 +79,7 @@ public class MustBeRelocatedSelfManagedTaskCollectorStep {
     }
 
     private Map<String, TaskRelocationPlan> buildRelocationPlans() {
-        Map<String, TitusNode> nodes = nodeDataResolver.resolve();
-        List<Triple<Job<?>, Task, TitusNode>> allItems = findAllJobTaskAgentTriples(nodes);
+        List<Triple<Job<?>, Task, TitusNode>> allItems = findAllJobTaskAgentTriples(relocationView.getSnapshot());
 
         Map<String, TaskRelocationPlan> result = new HashMap<>();
 
@@ -105,17 +101,15 @@ public class MustBeRelocatedSelfManagedTaskCollectorStep {
         return result;
     }
 
-    private List<Triple<Job<?>, Task, TitusNode>> findAllJobTaskAgentTriples(Map<String, TitusNode> nodes) {
-        Map<String, TitusNode> taskToInstanceMap = RelocationUtil.buildTasksToInstanceMap(nodes, jobOperations);
-
+    private List<Triple<Job<?>, Task, TitusNode>> findAllJobTaskAgentTriples(RelocationViewSnapshot snapshot) {
         List<Triple<Job<?>, Task, TitusNode>> result = new ArrayList<>();
-        jobOperations.getJobs().forEach(job -> {
-            jobOperations.getTasks(job.getId()).forEach(task -> {
+        snapshot.getJobs().values().forEach(job -> {
+            snapshot.getJobTasks(job.getId()).forEach(task -> {
                 TaskState taskState = task.getStatus().getState();
                 if (taskState == TaskState.StartInitiated || taskState == TaskState.Started) {
-                    TitusNode instance = taskToInstanceMap.get(task.getId());
-                    if (instance != null) {
-                        result.add(Triple.of(job, task, instance));
+                    Optional<TitusNode> instance = snapshot.findTaskNode(task.getId());
+                    if (instance.isPresent()) {
+                        result.add(Triple.of(job, task, instance.get()));
                     } else {
                         logger.debug("Task in active state with no agent instance: taskId={}, state={}", task.getId(), task.getStatus().getState());
                     }
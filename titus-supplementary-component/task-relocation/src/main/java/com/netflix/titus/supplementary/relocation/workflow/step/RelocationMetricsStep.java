@@ -30,16 +30,15 @@ import com.netflix.spectator.api.Registry;
 import com.netflix.spectator.api.Tag;
 import com.netflix.titus.api.jobmanager.model.job.Job;
 import com.netflix.titus.api.jobmanager.model.job.Task;
-import com.netflix.titus.api.jobmanager.service.ReadOnlyJobOperations;
 import com.netflix.titus.common.runtime.TitusRuntime;
 import com.netflix.titus.common.util.Evaluators;
 import com.netflix.titus.common.util.tuple.Pair;
 import com.netflix.titus.supplementary.relocation.RelocationMetrics;
 import com.netflix.titus.supplementary.relocation.connector.TitusNode;
-import com.netflix.titus.supplementary.relocation.connector.NodeDataResolver;
 import com.netflix.titus.supplementary.relocation.util.RelocationPredicates;
 import com.netflix.titus.supplementary.relocation.util.RelocationPredicates.RelocationTrigger;
-import com.netflix.titus.supplementary.relocation.util.RelocationUtil;
+import com.netflix.titus.supplementary.relocation.view.RelocationView;
+import com.netflix.titus.supplementary.relocation.view.RelocationViewSnapshot;
 
 /**
  * Reports current relocation needs.
@@ -49,30 +48,25 @@ public class RelocationMetricsStep {
     private static final String JOB_REMAINING_RELOCATION_METRICS = RelocationMetrics.METRIC_ROOT + "jobs";
     private static final String TASK_REMAINING_RELOCATION_METRICS = RelocationMetrics.METRIC_ROOT + "tasks";
 
-    private final NodeDataResolver nodeDataResolver;
-    private final ReadOnlyJobOperations jobOperations;
+    private final RelocationView relocationView;
     private final Registry registry;
 
     private final Map<String, JobMetrics> metrics = new HashMap<>();
 
-    public RelocationMetricsStep(NodeDataResolver nodeDataResolver,
-                                 ReadOnlyJobOperations jobOperations,
+    public RelocationMetricsStep(RelocationView relocationView,
                                  TitusRuntime titusRuntime) {
-        this.nodeDataResolver = nodeDataResolver;
-        this.jobOperations = jobOperations;
+        this.relocationView = relocationView;
         this.registry = titusRuntime.getRegistry();
     }
 
     public void updateMetrics() {
-        Map<String, TitusNode> nodes = nodeDataResolver.resolve();
-        Map<String, TitusNode> taskToInstanceMap = RelocationUtil.buildTasksToInstanceMap(nodes, jobOperations);
+        RelocationViewSnapshot snapshot = relocationView.getSnapshot();
 
         Set<String> jobIds = new HashSet<>();
 
-        jobOperations.getJobsAndTasks().forEach(jobAndTask -> {
-            Job<?> job = jobAndTask.getLeft();
+        snapshot.getJobs().values().forEach(job -> {
             jobIds.add(job.getId());
-            metrics.computeIfAbsent(job.getId(), jid -> new JobMetrics(job)).update(job, jobAndTask.getRight(), taskToInstanceMap);
+            metrics.computeIfAbsent(job.getId(), jid -> new JobMetrics(job)).update(job, snapshot.getJobTasks(job.getId()), snapshot);
         });
 
         // Remove jobs no longer running.
@@ -110,22 +104,22 @@ public class RelocationMetricsStep {
             return job;
         }
 
-        void update(Job<?> latestJob, List<Task> latestTasks, Map<String, TitusNode> taskToInstanceMap) {
+        void update(Job<?> latestJob, List<Task> latestTasks, RelocationViewSnapshot snapshot) {
             this.job = latestJob;
             this.tasks = latestTasks;
 
-            updateJobWithDisruptionBudget(taskToInstanceMap);
+            updateJobWithDisruptionBudget(snapshot);
         }
 
-        private void updateJobWithDisruptionBudget(Map<String, TitusNode> taskToInstanceMap) {
+        private void updateJobWithDisruptionBudget(RelocationViewSnapshot snapshot) {
             if (tasks.isEmpty()) {
                 remove();
             } else {
-                updateTasks(taskToInstanceMap);
+                updateTasks(snapshot);
             }
         }
 
-        private void updateTasks(Map<String, TitusNode> taskToInstanceMap) {
+        private void updateTasks(RelocationViewSnapshot snapshot) {
             int noRelocation = 0;
             int evacuatedAgentMatches = 0;
             int jobRelocationRequestMatches = 0;
@@ -133,7 +127,7 @@ public class RelocationMetricsStep {
             int taskRelocationUnrecognized = 0;
 
             for (Task task : tasks) {
-                TitusNode instance = taskToInstanceMap.get(task.getId());
+                TitusNode instance = snapshot.findTaskNode(task.getId()).orElse(null);
                 if (instance == null) {
                     noRelocation++;
                 } else {
@@ -23,6 +23,7 @@ import com.google.common.base.Preconditions;
 import com.netflix.titus.api.eviction.service.ReadOnlyEvictionOperations;
 import com.netflix.titus.api.jobmanager.model.job.Job;
 import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.TaskState;
 import com.netflix.titus.api.jobmanager.service.ReadOnlyJobOperations;
 import com.netflix.titus.common.runtime.TitusRuntime;
 import com.netflix.titus.common.runtime.TitusRuntimes;
@@ -138,6 +139,17 @@ public class RelocationConnectorStubs {
         return this;
     }
 
+    public void moveTaskToState(String taskId, TaskState newState) {
+        jobComponentStub.moveTaskToState(taskId, newState);
+    }
+
+    public void finishJob(String jobId) {
+        Job<?> job = jobOperations.getJob(jobId).orElseThrow(() -> new IllegalArgumentException("Job not found: " + jobId));
+        jobComponentStub.moveJobToKillInitiatedState(job);
+        jobOperations.getTasks(jobId).forEach(jobComponentStub::forget);
+        jobComponentStub.finishJob(job);
+    }
+
     public void addJobAttribute(String jobId, String attributeName, Object attributeValue) {
         jobComponentStub.addJobAttribute(jobId, attributeName, "" + attributeValue);
     }
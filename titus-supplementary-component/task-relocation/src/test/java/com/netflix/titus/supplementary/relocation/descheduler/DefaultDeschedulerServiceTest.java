@@ -37,10 +37,10 @@ import com.netflix.titus.common.util.time.TestClock;
 import com.netflix.titus.runtime.RelocationAttributes;
 import com.netflix.titus.supplementary.relocation.RelocationConfiguration;
 import com.netflix.titus.supplementary.relocation.RelocationConnectorStubs;
-import com.netflix.titus.supplementary.relocation.TestDataFactory;
-import com.netflix.titus.supplementary.relocation.connector.KubernetesNodeDataResolver;
 import com.netflix.titus.supplementary.relocation.connector.TitusNode;
 import com.netflix.titus.supplementary.relocation.model.DeschedulingResult;
+import com.netflix.titus.supplementary.relocation.view.RelocationView;
+import com.netflix.titus.supplementary.relocation.view.RelocationViewSnapshot;
 import com.netflix.titus.testkit.model.job.JobGenerator;
 import org.junit.Test;
 
@@ -79,10 +79,16 @@ public class DefaultDeschedulerServiceTest {
 
     private final ReadOnlyJobOperations jobOperations = dataGenerator.getJobOperations();
 
-    private final DefaultDeschedulerService deschedulerService = new DefaultDeschedulerService(
+    private final RelocationView relocationView = new RelocationView(
+            configuration,
+            dataGenerator.getNodeDataResolver(),
             dataGenerator.getJobOperations(),
+            titusRuntime
+    );
+
+    private final DefaultDeschedulerService deschedulerService = new DefaultDeschedulerService(
+            relocationView,
             dataGenerator.getEvictionOperations(),
-            dataGenerator.getNodeDataResolver(),
             () -> "foo|bar",
             titusRuntime
     );
@@ -103,6 +109,7 @@ public class DefaultDeschedulerServiceTest {
         Task taskImmediate = jobOperations.getTasks("jobImmediate").get(0);
         dataGenerator.place("active1", taskImmediate);
 
+        relocationView.refresh();
         List<DeschedulingResult> results = deschedulerService.deschedule(Collections.emptyMap());
         assertThat(results).hasSize(5);
         for (DeschedulingResult result : results) {
@@ -137,11 +144,10 @@ public class DefaultDeschedulerServiceTest {
     }
 
     private void verifyRelocationPlan(long relocationDelay, String reasonMessage) {
-        ReadOnlyJobOperations jobOperations = mock(ReadOnlyJobOperations.class);
+        RelocationView relocationView = mock(RelocationView.class);
         DefaultDeschedulerService dds = new DefaultDeschedulerService(
-                jobOperations,
+                relocationView,
                 mock(ReadOnlyEvictionOperations.class),
-                new KubernetesNodeDataResolver(configuration, TestDataFactory.mockFabric8IOConnector(), node -> true),
                 () -> "foo|bar",
                 titusRuntime
         );
@@ -153,7 +159,10 @@ public class DefaultDeschedulerServiceTest {
                 .getValue();
 
         ServiceJobTask task = JobGenerator.serviceTasks(job).getValue();
-        when(jobOperations.getJob(job.getId())).thenReturn(Optional.of(job));
+        when(relocationView.getSnapshot()).thenReturn(RelocationViewSnapshot.empty().toBuilder()
+                .updateJob(job, Collections.singletonList(task))
+                .build()
+        );
 
         TitusNode node = TitusNode.newBuilder()
                 .withId("node1")
@@ -41,6 +41,7 @@ import com.netflix.titus.supplementary.relocation.connector.TitusNode;
 import com.netflix.titus.supplementary.relocation.connector.NodeDataResolver;
 import com.netflix.titus.supplementary.relocation.model.DeschedulingFailure;
 import com.netflix.titus.supplementary.relocation.model.DeschedulingResult;
+import com.netflix.titus.supplementary.relocation.view.RelocationViewSnapshot;
 import com.netflix.titus.testkit.model.job.JobGenerator;
 import com.netflix.titus.testkit.model.job.JobTestFunctions;
 import org.junit.Before;
@@ -242,7 +243,7 @@ public class TaskMigrationDeschedulerTest {
         //noinspection unchecked
         return new TaskMigrationDescheduler(
                 plannedAheadTaskRelocationPlans,
-                new EvacuatedAgentsAllocationTracker(nodeDataResolver.resolve(), tasksById),
+                new EvacuatedAgentsAllocationTracker(newSnapshot()),
                 new EvictionQuotaTracker(relocationConnectorStubs.getEvictionOperations(), JobTestFunctions.toJobMap(jobOperations.getJobs())),
                 () -> "foo|bar",
                 jobOperations.getJobs().stream().collect(Collectors.toMap(Job::getId, j -> j)),
@@ -255,11 +256,17 @@ public class TaskMigrationDeschedulerTest {
         //noinspection unchecked
         return new TaskMigrationDescheduler(
                 Collections.emptyMap(),
-                new EvacuatedAgentsAllocationTracker(nodeDataResolver.resolve(), tasksById),
+                new EvacuatedAgentsAllocationTracker(newSnapshot()),
                 evictionQuotaTracker,
                 evictionConfiguration,
                 jobOperations.getJobs().stream().collect(Collectors.toMap(Job::getId, j -> j)),
                 tasksById,
                 titusRuntime);
     }
-}
\ No newline at end of file
+
+    private RelocationViewSnapshot newSnapshot() {
+        RelocationViewSnapshot.Builder builder = RelocationViewSnapshot.empty().toBuilder().withNodes(nodeDataResolver.resolve());
+        jobOperations.getJobs().forEach(job -> builder.updateJob(job, jobOperations.getTasks(job.getId())));
+        return builder.build();
+    }
+}
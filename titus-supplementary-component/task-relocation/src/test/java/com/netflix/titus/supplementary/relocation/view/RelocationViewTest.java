@@ -0,0 +1,129 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.supplementary.relocation.view;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.netflix.titus.api.jobmanager.model.job.Job;
+import com.netflix.titus.api.jobmanager.model.job.Task;
+import com.netflix.titus.api.jobmanager.model.job.TaskState;
+import com.netflix.titus.api.jobmanager.model.job.ext.BatchJobExt;
+import com.netflix.titus.supplementary.relocation.AbstractTaskRelocationTest;
+import com.netflix.titus.supplementary.relocation.TestDataFactory;
+import com.netflix.titus.supplementary.relocation.connector.TitusNode;
+import org.junit.After;
+import org.junit.Test;
+
+import static com.netflix.titus.supplementary.relocation.TestDataFactory.newSelfManagedDisruptionBudget;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RelocationViewTest extends AbstractTaskRelocationTest {
+
+    private static final String ACTIVE_NODE_ID = TestDataFactory.ACTIVE_INSTANCE_GROUP_ID + "#0";
+    private static final String REMOVABLE_NODE_ID = TestDataFactory.REMOVABLE_INSTANCE_GROUP_ID + "#0";
+
+    private final RelocationView relocationView;
+
+    public RelocationViewTest() {
+        super(TestDataFactory.activeRemovableSetup());
+        this.relocationView = new RelocationView(configuration, nodeDataResolver, jobOperations, titusRuntime);
+    }
+
+    @After
+    public void tearDown() {
+        relocationView.shutdown();
+    }
+
+    @Test
+    public void testTaskPlacementUpdatesIndexes() {
+        Job<BatchJobExt> job = TestDataFactory.newBatchJob("job1", 2, newSelfManagedDisruptionBudget(1_000));
+        relocationConnectorStubs.addJob(job);
+        RelocationViewSnapshot snapshot = relocationView.refresh();
+        assertThat(snapshot.getJobTasks("job1")).hasSize(2);
+        assertThat(snapshot.getNodeTasks(REMOVABLE_NODE_ID)).isEmpty();
+
+        Task task = jobOperations.getTasks("job1").get(0);
+        relocationConnectorStubs.placeOnAgent(REMOVABLE_NODE_ID, task);
+        snapshot = relocationView.refresh();
+        assertThat(snapshot.findTaskNode(task.getId()).map(TitusNode::getId)).contains(REMOVABLE_NODE_ID);
+        assertThat(taskIdsOf(snapshot.getNodeTasks(REMOVABLE_NODE_ID))).containsExactly(task.getId());
+
+        // Move the task to another node.
+        relocationConnectorStubs.placeOnAgent(ACTIVE_NODE_ID, task);
+        snapshot = relocationView.refresh();
+        assertThat(snapshot.findTaskNode(task.getId()).map(TitusNode::getId)).contains(ACTIVE_NODE_ID);
+        assertThat(snapshot.getNodeTasks(REMOVABLE_NODE_ID)).isEmpty();
+        assertThat(taskIdsOf(snapshot.getNodeTasks(ACTIVE_NODE_ID))).containsExactly(task.getId());
+        assertThat(snapshot.getJobTasks("job1")).hasSize(2);
+
+        assertThat(titusRuntime.getRegistry().counter("titus.relocation.view.refreshes", "type", "full").count()).isEqualTo(1);
+        assertThat(titusRuntime.getRegistry().counter("titus.relocation.view.refreshes", "type", "incremental").count()).isEqualTo(2);
+    }
+
+    @Test
+    public void testTaskStateChangeIsVisible() {
+        Job<BatchJobExt> job = TestDataFactory.newBatchJob("job1", 1, newSelfManagedDisruptionBudget(1_000));
+        relocationConnectorStubs.addJob(job);
+        Task task = jobOperations.getTasks("job1").get(0);
+        relocationConnectorStubs.placeOnAgent(REMOVABLE_NODE_ID, task);
+        relocationView.refresh();
+
+        relocationConnectorStubs.moveTaskToState(task.getId(), TaskState.KillInitiated);
+        RelocationViewSnapshot snapshot = relocationView.refresh();
+        assertThat(snapshot.getTasks().get(task.getId()).getStatus().getState()).isEqualTo(TaskState.KillInitiated);
+        assertThat(snapshot.getNodeTasks(REMOVABLE_NODE_ID).get(0).getStatus().getState()).isEqualTo(TaskState.KillInitiated);
+    }
+
+    @Test
+    public void testFinishedJobIsRemoved() {
+        relocationConnectorStubs.addJob(TestDataFactory.newBatchJob("job1", 1, newSelfManagedDisruptionBudget(1_000)));
+        relocationConnectorStubs.addJob(TestDataFactory.newBatchJob("job2", 1, newSelfManagedDisruptionBudget(1_000)));
+        Task task = jobOperations.getTasks("job1").get(0);
+        relocationConnectorStubs.placeOnAgent(REMOVABLE_NODE_ID, task);
+        relocationView.refresh();
+
+        relocationConnectorStubs.finishJob("job1");
+        RelocationViewSnapshot snapshot = relocationView.refresh();
+        assertThat(snapshot.getJobs()).containsOnlyKeys("job2");
+        assertThat(snapshot.getTasks()).doesNotContainKey(task.getId());
+        assertThat(snapshot.getJobTasks("job1")).isEmpty();
+        assertThat(snapshot.getNodeTasks(REMOVABLE_NODE_ID)).isEmpty();
+        assertThat(snapshot.getJobTasks("job2")).hasSize(1);
+    }
+
+    @Test
+    public void testNodeChangesAreVisibleWithoutJobChanges() {
+        relocationView.refresh();
+        assertThat(relocationView.getSnapshot().getNodes().get(ACTIVE_NODE_ID).isRelocationRequired()).isFalse();
+
+        relocationConnectorStubs.markNodeRelocationRequired(ACTIVE_NODE_ID);
+        assertThat(relocationView.refresh().getNodes().get(ACTIVE_NODE_ID).isRelocationRequired()).isTrue();
+    }
+
+    @Test
+    public void testRequestedFullRefresh() {
+        relocationView.refresh();
+        relocationView.requestFullRefresh();
+        relocationView.refresh();
+        assertThat(titusRuntime.getRegistry().counter("titus.relocation.view.refreshes", "type", "full").count()).isEqualTo(2);
+    }
+
+    private static List<String> taskIdsOf(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).collect(Collectors.toList());
+    }
+}
@@ -27,6 +27,7 @@ import com.netflix.titus.api.relocation.model.TaskRelocationPlan;
 import com.netflix.titus.common.util.time.TestClock;
 import com.netflix.titus.supplementary.relocation.AbstractTaskRelocationTest;
 import com.netflix.titus.supplementary.relocation.TestDataFactory;
+import com.netflix.titus.supplementary.relocation.view.RelocationView;
 import org.junit.Test;
 
 import static com.netflix.titus.supplementary.relocation.TestDataFactory.newSelfManagedDisruptionBudget;
@@ -34,11 +35,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 public class MustBeRelocatedSelfManagedTaskCollectorStepTest extends AbstractTaskRelocationTest {
 
+    private final RelocationView relocationView;
     private final MustBeRelocatedSelfManagedTaskCollectorStep step;
 
     public MustBeRelocatedSelfManagedTaskCollectorStepTest() {
         super(TestDataFactory.activeRemovableSetup());
-        this.step = new MustBeRelocatedSelfManagedTaskCollectorStep(nodeDataResolver, jobOperations, titusRuntime);
+        this.relocationView = new RelocationView(configuration, nodeDataResolver, jobOperations, titusRuntime);
+        this.step = new MustBeRelocatedSelfManagedTaskCollectorStep(relocationView, titusRuntime);
     }
 
     @Test
@@ -47,7 +50,7 @@ public class MustBeRelocatedSelfManagedTaskCollectorStepTest extends AbstractTas
         relocationConnectorStubs.addJob(job);
         relocationConnectorStubs.place(TestDataFactory.REMOVABLE_INSTANCE_GROUP_ID, jobOperations.getTasks().get(0));
 
-        Map<String, TaskRelocationPlan> result = step.collectTasksThatMustBeRelocated();
+        Map<String, TaskRelocationPlan> result = collectTasksThatMustBeRelocated();
         assertThat(result).hasSize(1);
     }
 
@@ -57,7 +60,7 @@ public class MustBeRelocatedSelfManagedTaskCollectorStepTest extends AbstractTas
         relocationConnectorStubs.addJob(job);
         relocationConnectorStubs.place(TestDataFactory.REMOVABLE_INSTANCE_GROUP_ID, jobOperations.getTasks().get(0));
 
-        Map<String, TaskRelocationPlan> result = step.collectTasksThatMustBeRelocated();
+        Map<String, TaskRelocationPlan> result = collectTasksThatMustBeRelocated();
         assertThat(result).isEmpty();
     }
 
@@ -68,16 +71,21 @@ public class MustBeRelocatedSelfManagedTaskCollectorStepTest extends AbstractTas
         Task task = jobOperations.getTasks().get(0);
         relocationConnectorStubs.place(TestDataFactory.REMOVABLE_INSTANCE_GROUP_ID, task);
 
-        Map<String, TaskRelocationPlan> firstResult = step.collectTasksThatMustBeRelocated();
+        Map<String, TaskRelocationPlan> firstResult = collectTasksThatMustBeRelocated();
         assertThat(firstResult).hasSize(1);
         TaskRelocationPlan first = firstResult.get(task.getId());
 
         ((TestClock) titusRuntime.getClock()).advanceTime(1, TimeUnit.SECONDS);
 
-        Map<String, TaskRelocationPlan> secondResult = step.collectTasksThatMustBeRelocated();
+        Map<String, TaskRelocationPlan> secondResult = collectTasksThatMustBeRelocated();
         assertThat(secondResult).hasSize(1);
         TaskRelocationPlan second = secondResult.get(task.getId());
 
         assertThat(first).isEqualTo(second);
     }
-}
\ No newline at end of file
+
+    private Map<String, TaskRelocationPlan> collectTasksThatMustBeRelocated() {
+        relocationView.refresh();
+        return step.collectTasksThatMustBeRelocated();
+    }
+}
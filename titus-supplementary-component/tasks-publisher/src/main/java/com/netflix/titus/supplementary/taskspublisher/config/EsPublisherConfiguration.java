@@ -39,6 +39,21 @@ public class EsPublisherConfiguration {
     @Value("${titus.es.publish.enabled}")
     private boolean enabled;
 
+    @Value("${titus.es.publish.initialBulkSize:100}")
+    private int initialBulkSize;
+
+    @Value("${titus.es.publish.minBulkSize:10}")
+    private int minBulkSize;
+
+    @Value("${titus.es.publish.maxBulkSize:1000}")
+    private int maxBulkSize;
+
+    @Value("${titus.es.publish.maxConcurrency:20}")
+    private int maxConcurrency;
+
+    @Value("${titus.es.publish.bulkLatencyTargetMs:2000}")
+    private long bulkLatencyTargetMs;
+
     public String getTaskDocumentEsIndexDateSuffixPattern() {
         return taskDocumentEsIndexDateSuffixPattern;
     }
@@ -62,4 +77,34 @@ public class EsPublisherConfiguration {
     public boolean isEnabled() {
         return enabled;
     }
+
+    /**
+     * Bulk size used when the publisher is activated. It is adjusted afterwards between {@link #getMinBulkSize()}
+     * and {@link #getMaxBulkSize()}, depending on the observed bulk request latency and errors.
+     */
+    public int getInitialBulkSize() {
+        return initialBulkSize;
+    }
+
+    public int getMinBulkSize() {
+        return minBulkSize;
+    }
+
+    public int getMaxBulkSize() {
+        return maxBulkSize;
+    }
+
+    /**
+     * Upper bound for the number of bulk requests in flight. The actual limit is adjusted between 1 and this value.
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Bulk requests slower than this value reduce the bulk size and the number of concurrent requests.
+     */
+    public long getBulkLatencyTargetMs() {
+        return bulkLatencyTargetMs;
+    }
 }
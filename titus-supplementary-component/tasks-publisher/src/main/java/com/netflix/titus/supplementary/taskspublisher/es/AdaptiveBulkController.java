@@ -0,0 +1,186 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.titus.supplementary.taskspublisher.es;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.patterns.PolledMeter;
+import com.netflix.titus.supplementary.taskspublisher.config.EsPublisherConfiguration;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Adjusts the bulk size and the number of concurrent bulk requests to the Elasticsearch response times (AIMD).
+ * Each bulk request that completes within the latency target increases the bulk size by a fixed step, and the
+ * concurrency limit by one. A slow request halves the bulk size and decreases the concurrency limit by one. A failed
+ * request halves both.
+ */
+class AdaptiveBulkController {
+
+    private final int minBulkSize;
+    private final int maxBulkSize;
+    private final int initialBulkSize;
+    private final int maxConcurrency;
+    private final long latencyTargetMs;
+
+    private volatile int bulkSize;
+    private volatile int concurrencyLimit;
+
+    /**
+     * Incremented on each {@link #reset()}. Permits granted before a reset are not counted in {@link #inFlight}, so
+     * their releases are ignored.
+     */
+    private long generation;
+    private int inFlight;
+    private final Queue<MonoSink<Long>> waiting = new LinkedList<>();
+
+    AdaptiveBulkController(EsPublisherConfiguration configuration, Registry registry) {
+        this.minBulkSize = Math.max(1, configuration.getMinBulkSize());
+        this.maxBulkSize = Math.max(minBulkSize, configuration.getMaxBulkSize());
+        this.initialBulkSize = Math.min(maxBulkSize, Math.max(minBulkSize, configuration.getInitialBulkSize()));
+        this.maxConcurrency = Math.max(1, configuration.getMaxConcurrency());
+        this.latencyTargetMs = configuration.getBulkLatencyTargetMs();
+        reset();
+
+        PolledMeter.using(registry)
+                .withId(registry.createId(EsTaskPublisherMetrics.METRIC_ES_PUBLISHER + "bulkSize"))
+                .monitorValue(this, AdaptiveBulkController::getBulkSize);
+        PolledMeter.using(registry)
+                .withId(registry.createId(EsTaskPublisherMetrics.METRIC_ES_PUBLISHER + "concurrencyLimit"))
+                .monitorValue(this, AdaptiveBulkController::getConcurrencyLimit);
+    }
+
+    int getMaxBulkSize() {
+        return maxBulkSize;
+    }
+
+    int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    int getBulkSize() {
+        return bulkSize;
+    }
+
+    int getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    /**
+     * Restores the initial limits, and drops all pending permit requests. Called when the publisher is (re)activated.
+     * Requests still outstanding from before the reset do not count against the new concurrency limit.
+     */
+    synchronized void reset() {
+        this.generation++;
+        this.bulkSize = initialBulkSize;
+        this.concurrencyLimit = maxConcurrency;
+        this.inFlight = 0;
+        this.waiting.clear();
+    }
+
+    /**
+     * Splits the documents into bulks of the current bulk size.
+     */
+    <T> List<List<T>> split(List<T> documents) {
+        int size = bulkSize;
+        if (documents.size() <= size) {
+            return documents.isEmpty() ? new ArrayList<>() : Collections.singletonList(documents);
+        }
+        List<List<T>> bulks = new ArrayList<>();
+        for (int from = 0; from < documents.size(); from += size) {
+            bulks.add(documents.subList(from, Math.min(documents.size(), from + size)));
+        }
+        return bulks;
+    }
+
+    /**
+     * Emits the permit generation when a new bulk request can be sent. Each successful acquire must be followed by
+     * {@link #release(long)} with the emitted value.
+     */
+    Mono<Long> acquire() {
+        return Mono.create(sink -> {
+            boolean granted;
+            long grantedGeneration;
+            synchronized (this) {
+                granted = inFlight < concurrencyLimit;
+                grantedGeneration = generation;
+                if (granted) {
+                    inFlight++;
+                } else {
+                    waiting.add(sink);
+                    sink.onCancel(() -> {
+                        synchronized (this) {
+                            waiting.remove(sink);
+                        }
+                    });
+                }
+            }
+            if (granted) {
+                sink.success(grantedGeneration);
+            }
+        });
+    }
+
+    void release(long permitGeneration) {
+        List<MonoSink<Long>> toGrant;
+        long currentGeneration;
+        synchronized (this) {
+            if (permitGeneration != generation) {
+                return;
+            }
+            inFlight--;
+            toGrant = takeGrantable();
+            currentGeneration = generation;
+        }
+        toGrant.forEach(sink -> sink.success(currentGeneration));
+    }
+
+    void onSuccess(long latencyMs) {
+        List<MonoSink<Long>> toGrant;
+        long currentGeneration;
+        synchronized (this) {
+            if (latencyMs <= latencyTargetMs) {
+                bulkSize = Math.min(maxBulkSize, bulkSize + minBulkSize);
+                concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1);
+            } else {
+                bulkSize = Math.max(minBulkSize, bulkSize / 2);
+                concurrencyLimit = Math.max(1, concurrencyLimit - 1);
+            }
+            toGrant = takeGrantable();
+            currentGeneration = generation;
+        }
+        toGrant.forEach(sink -> sink.success(currentGeneration));
+    }
+
+    synchronized void onError() {
+        bulkSize = Math.max(minBulkSize, bulkSize / 2);
+        concurrencyLimit = Math.max(1, concurrencyLimit / 2);
+    }
+
+    private List<MonoSink<Long>> takeGrantable() {
+        List<MonoSink<Long>> toGrant = new ArrayList<>();
+        while (inFlight < concurrencyLimit && !waiting.isEmpty()) {
+            inFlight++;
+            toGrant.add(waiting.poll());
+        }
+        return toGrant;
+    }
+}
@@ -17,15 +17,21 @@ package com.netflix.titus.supplementary.taskspublisher.es;
 
 import java.text.SimpleDateFormat;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
+import com.netflix.spectator.api.Counter;
 import com.netflix.spectator.api.Functions;
 import com.netflix.spectator.api.Registry;
 import com.netflix.spectator.api.patterns.PolledMeter;
 import com.netflix.titus.api.common.LeaderActivationListener;
 import com.netflix.titus.common.util.rx.ReactorExt;
 import com.netflix.titus.ext.elasticsearch.EsClient;
+import com.netflix.titus.ext.elasticsearch.model.BulkEsIndexResp;
 import com.netflix.titus.supplementary.taskspublisher.TaskDocument;
 import com.netflix.titus.supplementary.taskspublisher.TaskEventsGenerator;
 import com.netflix.titus.supplementary.taskspublisher.TaskPublisherRetryUtil;
@@ -36,19 +42,24 @@ import org.slf4j.LoggerFactory;
 import reactor.core.Disposable;
 import reactor.core.publisher.BufferOverflowStrategy;
 import reactor.core.publisher.ConnectableFlux;
+import reactor.core.publisher.Mono;
 
 public class EsPublisher implements TasksPublisher, LeaderActivationListener {
     private static final Logger logger = LoggerFactory.getLogger(EsPublisher.class);
-    private static final int MAX_CONCURRENCY = 20;
     private static final String ES_RECORD_TYPE = "default";
 
-    private static final int MAX_BATCH_SIZE = 100;
+    private static final Duration MAX_BATCH_DELAY = Duration.ofSeconds(5);
     private static final int MAX_BACKPRESSURE_BUFFER = 1000;
 
     private final TaskEventsGenerator taskEventsGenerator;
     private final EsClient<TaskDocument> esClient;
     private final EsPublisherConfiguration esPublisherConfiguration;
     private final Registry registry;
+    private final AdaptiveBulkController bulkController;
+
+    private final Counter documentsReceived;
+    private final Counter documentsCoalesced;
+    private final Counter documentsPublished;
 
     private AtomicInteger numErrors = new AtomicInteger(0);
     private AtomicInteger numTasksUpdated = new AtomicInteger(0);
@@ -65,23 +76,22 @@ public class EsPublisher implements TasksPublisher, LeaderActivationListener {
         this.esPublisherConfiguration = esPublisherConfiguration;
         this.indexDateFormat = new SimpleDateFormat(esPublisherConfiguration.getTaskDocumentEsIndexDateSuffixPattern());
         this.registry = registry;
+        this.bulkController = new AdaptiveBulkController(esPublisherConfiguration, registry);
+        this.documentsReceived = registry.counter(EsTaskPublisherMetrics.METRIC_ES_PUBLISHER + "documentsReceived");
+        this.documentsCoalesced = registry.counter(EsTaskPublisherMetrics.METRIC_ES_PUBLISHER + "documentsCoalesced");
+        this.documentsPublished = registry.counter(EsTaskPublisherMetrics.METRIC_ES_PUBLISHER + "documentsPublished");
         configureMetrics();
     }
 
     @Override
     public void activate() {
+        bulkController.reset();
         ConnectableFlux<TaskDocument> taskEvents = taskEventsGenerator.getTaskEvents();
-        subscription = taskEvents.bufferTimeout(MAX_BATCH_SIZE, Duration.ofSeconds(5))
+        subscription = taskEvents.bufferTimeout(bulkController.getMaxBulkSize(), MAX_BATCH_DELAY)
                 .onBackpressureBuffer(MAX_BACKPRESSURE_BUFFER, BufferOverflowStrategy.ERROR)
-                .flatMap(taskDocuments ->
-                                esClient.bulkIndexDocuments(
-                                        taskDocuments,
-                                        ElasticSearchUtils.buildEsIndexNameCurrent(esPublisherConfiguration.getTaskDocumentEsIndexName(), indexDateFormat),
-                                        ES_RECORD_TYPE)
-                                        .retryWhen(TaskPublisherRetryUtil.buildRetryHandler(
-                                                TaskPublisherRetryUtil.INITIAL_RETRY_DELAY_MS,
-                                                TaskPublisherRetryUtil.MAX_RETRY_DELAY_MS, 3)),
-                        MAX_CONCURRENCY)
+                .map(this::coalesce)
+                .flatMapIterable(bulkController::split)
+                .flatMap(this::bulkIndex, bulkController.getMaxConcurrency())
                 .doOnError(e -> {
                     logger.error("Error in indexing documents (Retrying) : ", e);
                     numErrors.incrementAndGet();
@@ -89,11 +99,13 @@ public class EsPublisher implements TasksPublisher, LeaderActivationListener {
                 .retryWhen(TaskPublisherRetryUtil.buildRetryHandler(TaskPublisherRetryUtil.INITIAL_RETRY_DELAY_MS,
                         TaskPublisherRetryUtil.MAX_RETRY_DELAY_MS, -1))
                 .subscribe(bulkIndexResp -> {
-                            logger.info("Received bulk response for {} items", bulkIndexResp.getItems().size());
+                            logger.debug("Received bulk response for {} items", bulkIndexResp.getItems().size());
                             lastPublishedTimestamp.set(registry.clock().wallTime());
+                            documentsPublished.increment(bulkIndexResp.getItems().size());
                             bulkIndexResp.getItems().forEach(bulkEsIndexRespItem -> {
-                                String indexedItemId = bulkEsIndexRespItem.getIndex().getId();
-                                logger.info("Index result <{}> for task ID {}", bulkEsIndexRespItem.getIndex().getResult(), indexedItemId);
+                                if (logger.isDebugEnabled()) {
+                                    logger.debug("Index result <{}> for task ID {}", bulkEsIndexRespItem.getIndex().getResult(), bulkEsIndexRespItem.getIndex().getId());
+                                }
                                 numTasksUpdated.incrementAndGet();
                             });
                         },
@@ -101,6 +113,37 @@ public class EsPublisher implements TasksPublisher, LeaderActivationListener {
         taskEventsSourceConnection = taskEvents.connect();
     }
 
+    /**
+     * Keeps only the latest document for each task in the batch. Task events are emitted in order, so the last
+     * document for a task id supersedes all the previous ones.
+     */
+    private List<TaskDocument> coalesce(List<TaskDocument> taskDocuments) {
+        Map<String, TaskDocument> latest = new LinkedHashMap<>();
+        taskDocuments.forEach(taskDocument -> latest.put(taskDocument.getId(), taskDocument));
+        documentsReceived.increment(taskDocuments.size());
+        documentsCoalesced.increment(taskDocuments.size() - latest.size());
+        return new ArrayList<>(latest.values());
+    }
+
+    private Mono<BulkEsIndexResp> bulkIndex(List<TaskDocument> taskDocuments) {
+        String indexName = ElasticSearchUtils.buildEsIndexNameCurrent(esPublisherConfiguration.getTaskDocumentEsIndexName(), indexDateFormat);
+        Mono<BulkEsIndexResp> timedRequest = Mono.defer(() -> {
+            long startTime = registry.clock().monotonicTime();
+            return esClient.bulkIndexDocuments(taskDocuments, indexName, ES_RECORD_TYPE)
+                    .doOnSuccess(response -> bulkController.onSuccess(
+                            Duration.ofNanos(registry.clock().monotonicTime() - startTime).toMillis()
+                    ))
+                    .doOnError(e -> bulkController.onError());
+        });
+        return bulkController.acquire().flatMap(permitGeneration ->
+                timedRequest
+                        .retryWhen(TaskPublisherRetryUtil.buildRetryHandler(
+                                TaskPublisherRetryUtil.INITIAL_RETRY_DELAY_MS,
+                                TaskPublisherRetryUtil.MAX_RETRY_DELAY_MS, 3))
+                        .doFinally(signal -> bulkController.release(permitGeneration))
+        );
+    }
+
     @Override
     public void deactivate() {
         ReactorExt.safeDispose(subscription, taskEventsSourceConnection);
@@ -80,6 +80,11 @@ public class TaskEventsGeneratorTest {
         EsPublisherConfiguration mockConfig = mock(EsPublisherConfiguration.class);
         when(mockConfig.getTaskDocumentEsIndexName()).thenReturn("tasks_");
         when(mockConfig.getTaskDocumentEsIndexDateSuffixPattern()).thenReturn("yyyyMM");
+        when(mockConfig.getInitialBulkSize()).thenReturn(100);
+        when(mockConfig.getMinBulkSize()).thenReturn(10);
+        when(mockConfig.getMaxBulkSize()).thenReturn(1000);
+        when(mockConfig.getMaxConcurrency()).thenReturn(20);
+        when(mockConfig.getBulkLatencyTargetMs()).thenReturn(2000L);
         return mockConfig;
     }
 
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.supplementary.taskspublisher.es;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.titus.supplementary.taskspublisher.config.EsPublisherConfiguration;
+import org.junit.Test;
+import reactor.core.Disposable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AdaptiveBulkControllerTest {
+
+    private final AdaptiveBulkController controller = new AdaptiveBulkController(newConfiguration(), new DefaultRegistry());
+
+    @Test
+    public void testBulkSizeAdjustsToLatency() {
+        assertThat(controller.getBulkSize()).isEqualTo(20);
+
+        controller.onSuccess(100);
+        assertThat(controller.getBulkSize()).isEqualTo(30);
+
+        controller.onSuccess(5_000);
+        assertThat(controller.getBulkSize()).isEqualTo(15);
+        assertThat(controller.getConcurrencyLimit()).isEqualTo(1);
+
+        controller.onError();
+        assertThat(controller.getBulkSize()).isEqualTo(10);
+        assertThat(controller.getConcurrencyLimit()).isEqualTo(1);
+
+        for (int i = 0; i < 100; i++) {
+            controller.onSuccess(100);
+        }
+        assertThat(controller.getBulkSize()).isEqualTo(50);
+        assertThat(controller.getConcurrencyLimit()).isEqualTo(2);
+    }
+
+    @Test
+    public void testSplit() {
+        List<Integer> documents = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21);
+        List<List<Integer>> bulks = controller.split(documents);
+        assertThat(bulks).hasSize(2);
+        assertThat(bulks.get(0)).hasSize(20);
+        assertThat(bulks.get(1)).containsExactly(21);
+    }
+
+    @Test
+    public void testConcurrencyLimit() {
+        controller.onSuccess(5_000);
+        assertThat(controller.getConcurrencyLimit()).isEqualTo(1);
+
+        AtomicReference<Long> first = new AtomicReference<>();
+        AtomicReference<Long> second = new AtomicReference<>();
+        controller.acquire().subscribe(first::set);
+        Disposable secondSubscription = controller.acquire().subscribe(second::set);
+        assertThat(first.get()).isNotNull();
+        assertThat(second.get()).isNull();
+
+        controller.release(first.get());
+        assertThat(second.get()).isNotNull();
+        secondSubscription.dispose();
+    }
+
+    @Test
+    public void testReleaseOfPermitsGrantedBeforeResetIsIgnored() {
+        controller.onSuccess(5_000);
+        assertThat(controller.getConcurrencyLimit()).isEqualTo(1);
+
+        AtomicReference<Long> beforeReset = new AtomicReference<>();
+        controller.acquire().subscribe(beforeReset::set);
+        assertThat(beforeReset.get()).isNotNull();
+
+        controller.reset();
+        assertThat(controller.getConcurrencyLimit()).isEqualTo(2);
+
+        AtomicReference<Long> first = new AtomicReference<>();
+        AtomicReference<Long> second = new AtomicReference<>();
+        AtomicReference<Long> third = new AtomicReference<>();
+        controller.acquire().subscribe(first::set);
+        controller.acquire().subscribe(second::set);
+        Disposable thirdSubscription = controller.acquire().subscribe(third::set);
+        assertThat(first.get()).isNotNull();
+        assertThat(second.get()).isNotNull();
+        assertThat(third.get()).isNull();
+
+        // A stale release must not free a slot held by the current generation.
+        controller.release(beforeReset.get());
+        assertThat(third.get()).isNull();
+
+        controller.release(first.get());
+        assertThat(third.get()).isNotNull();
+        thirdSubscription.dispose();
+    }
+
+    private static EsPublisherConfiguration newConfiguration() {
+        EsPublisherConfiguration configuration = mock(EsPublisherConfiguration.class);
+        when(configuration.getInitialBulkSize()).thenReturn(20);
+        when(configuration.getMinBulkSize()).thenReturn(10);
+        when(configuration.getMaxBulkSize()).thenReturn(50);
+        when(configuration.getMaxConcurrency()).thenReturn(2);
+        when(configuration.getBulkLatencyTargetMs()).thenReturn(1_000L);
+        return configuration;
+    }
+}
@@ -151,6 +151,19 @@ public class EmbeddedTitusFederation {
         return new ArrayList<>(cells.values().stream().map(CellInfo::getCell).collect(Collectors.toList()));
     }
 
+    /**
+     * Changes a configuration property of the running federation. Dynamic configuration proxies see the new value
+     * immediately.
+     */
+    public void setProperty(String name, String value) {
+        config.setProperty(name, value);
+    }
+
+    public <I> I getInstance(Class<I> instanceType) {
+        Preconditions.checkNotNull(injector);
+        return injector.getInstance(instanceType);
+    }
+
     public EmbeddedTitusOperations getTitusOperations() {
         return titusOperations;
     }
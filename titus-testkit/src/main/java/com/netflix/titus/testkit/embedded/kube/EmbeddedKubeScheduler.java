@@ -45,12 +45,23 @@ class EmbeddedKubeScheduler {
     void doSchedule() {
         Map<String, V1Pod> pods = embeddedKubeCluster.getPods();
         pods.forEach((name, pod) -> {
-            if (pod.getStatus() == null || pod.getStatus().getHostIP() == null) {
+            if (isUnassigned(pod)) {
                 trySchedulePod(pod);
             }
         });
     }
 
+    /**
+     * The embedded cluster never sets the host IP, so a pod assigned to a node is recognized by its node name.
+     * Without this check, every scheduling round would move running pods back to the scheduled state.
+     */
+    private boolean isUnassigned(V1Pod pod) {
+        if (pod.getSpec() != null && pod.getSpec().getNodeName() != null) {
+            return false;
+        }
+        return pod.getStatus() == null || pod.getStatus().getHostIP() == null;
+    }
+
     private void trySchedulePod(V1Pod pod) {
         Set<String> zoneConstraints = getZonesOfPod(pod);
         Map<String, EmbeddedKubeNode> nodes = getNodesOf(pod, zoneConstraints);
@@ -86,12 +86,24 @@ class SharedInformerIndexer<ApiType extends KubernetesObject> implements Indexer
 
     @Override
     public Object get(ApiType obj) {
-        return null;
+        return cache.get(obj.getMetadata().getName());
     }
 
+    /**
+     * The cache is keyed by name, so the namespace part of a 'namespace/name' key is matched against the object.
+     */
     @Override
     public ApiType getByKey(String key) {
-        return null;
+        int separatorIdx = key.indexOf('/');
+        if (separatorIdx < 0) {
+            return cache.get(key);
+        }
+        ApiType value = cache.get(key.substring(separatorIdx + 1));
+        if (value == null) {
+            return null;
+        }
+        String namespace = value.getMetadata().getNamespace();
+        return namespace == null || namespace.equals(key.substring(0, separatorIdx)) ? value : null;
     }
 
     @Override
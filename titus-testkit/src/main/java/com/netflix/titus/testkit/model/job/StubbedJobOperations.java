@@ -37,10 +37,13 @@ import com.netflix.titus.api.jobmanager.model.job.event.JobManagerEvent;
 import com.netflix.titus.api.jobmanager.model.job.event.JobUpdateEvent;
 import com.netflix.titus.api.jobmanager.model.job.event.TaskUpdateEvent;
 import com.netflix.titus.api.jobmanager.model.job.ext.ServiceJobExt;
+import com.netflix.titus.api.jobmanager.service.CursorQueryResult;
 import com.netflix.titus.api.jobmanager.service.V3JobOperations;
 import com.netflix.titus.api.model.callmetadata.CallMetadata;
 import com.netflix.titus.common.util.rx.ReactorExt;
 import com.netflix.titus.common.util.tuple.Pair;
+import com.netflix.titus.runtime.jobmanager.JobComparators;
+import com.netflix.titus.runtime.jobmanager.JobCursorIndex;
 import reactor.core.publisher.Mono;
 import rx.Completable;
 import rx.Observable;
@@ -104,6 +107,30 @@ class StubbedJobOperations implements V3JobOperations {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorQueryResult<Job<?>> findJobsAfter(Predicate<Pair<Job<?>, List<Task>>> queryPredicate, long cursorTimestamp, String cursorId, int limit) {
+        return JobCursorIndex.findJobsAfter(sortedJobsAndTasks(), Pair::getLeft, Pair::getRight, queryPredicate, cursorTimestamp, cursorId, limit);
+    }
+
+    @Override
+    public CursorQueryResult<Pair<Job<?>, Task>> findTasksAfter(Predicate<Pair<Job<?>, Task>> queryPredicate, long cursorTimestamp, String cursorId, int limit) {
+        return JobCursorIndex.findTasksAfter(sortedJobsAndTasks(), Pair::getLeft, Pair::getRight, queryPredicate, cursorTimestamp, cursorId, limit);
+    }
+
+    /**
+     * Jobs and their tasks in the cursor order, as expected by {@link JobCursorIndex}.
+     */
+    private List<Pair<Job<?>, List<Task>>> sortedJobsAndTasks() {
+        List<Pair<Job<?>, List<Task>>> jobsAndTasks = (List) getJobsAndTasks();
+        return jobsAndTasks.stream()
+                .map(jobAndTasks -> jobAndTasks.mapRight(tasks -> tasks.stream()
+                        .sorted(JobComparators.getTaskTimestampComparator())
+                        .collect(Collectors.toList())
+                ))
+                .sorted((first, second) -> JobComparators.getJobTimestampComparator().compare(first.getLeft(), second.getLeft()))
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Optional<Pair<Job<?>, Task>> findTaskById(String taskId) {
         return stubbedJobData
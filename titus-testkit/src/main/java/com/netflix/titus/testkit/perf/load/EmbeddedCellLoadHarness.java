@@ -0,0 +1,405 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.testkit.perf.load;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.Timer;
+import com.netflix.titus.api.jobmanager.model.job.Capacity;
+import com.netflix.titus.api.jobmanager.model.job.JobDescriptor;
+import com.netflix.titus.api.jobmanager.model.job.JobFunctions;
+import com.netflix.titus.api.jobmanager.model.job.ext.BatchJobExt;
+import com.netflix.titus.api.jobmanager.model.job.ext.ServiceJobExt;
+import com.netflix.titus.common.util.time.Clocks;
+import com.netflix.titus.grpc.protogen.JobCapacityUpdate;
+import com.netflix.titus.grpc.protogen.JobChangeNotification;
+import com.netflix.titus.grpc.protogen.JobManagementServiceGrpc.JobManagementServiceBlockingStub;
+import com.netflix.titus.grpc.protogen.JobManagementServiceGrpc.JobManagementServiceStub;
+import com.netflix.titus.grpc.protogen.JobQuery;
+import com.netflix.titus.grpc.protogen.JobStatus;
+import com.netflix.titus.grpc.protogen.ObserveJobsQuery;
+import com.netflix.titus.grpc.protogen.Page;
+import com.netflix.titus.grpc.protogen.TaskKillRequest;
+import com.netflix.titus.testkit.embedded.cell.EmbeddedTitusCell;
+import com.netflix.titus.testkit.embedded.cell.EmbeddedTitusCells;
+import com.netflix.titus.testkit.embedded.kube.EmbeddedKubeCluster;
+import com.netflix.titus.testkit.embedded.kube.EmbeddedKubePod;
+import com.netflix.titus.testkit.model.job.JobDescriptorGenerator;
+import io.kubernetes.client.openapi.models.V1Pod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.netflix.titus.runtime.connector.jobmanager.JobEventPropagationUtil.CHECKPOINT_GATEWAY_CLIENT;
+import static com.netflix.titus.runtime.connector.jobmanager.JobEventPropagationUtil.CHECKPOINT_GATEWAY_INTERNAL;
+import static com.netflix.titus.runtime.connector.jobmanager.JobEventPropagationUtil.CHECKPOINT_TJC_INTERNAL;
+import static com.netflix.titus.runtime.endpoint.v3.grpc.GrpcJobManagementModelConverters.toGrpcJobDescriptor;
+
+/**
+ * Drives an {@link EmbeddedTitusCell} (master, gateway and embedded Kubernetes cluster in one JVM) with a
+ * production-like workload, and collects the data for a {@link LoadReport}:
+ * <ul>
+ *     <li>API latency percentiles of all calls made through the gateway (in microseconds)</li>
+ *     <li>end-to-end event propagation latency, measured by the observeJobs watchers from the event propagation
+ *     trace of each job and task update (in milliseconds)</li>
+ *     <li>reconciliation loop execution time, and heap usage sampled at a fixed interval</li>
+ * </ul>
+ * The run starts with the submission of all batch and service jobs. After that, until the configured duration
+ * elapses, service jobs are scaled, tasks are killed, nodes are replaced, job queries are executed, and completed
+ * batch jobs are replaced with new ones.
+ */
+public class EmbeddedCellLoadHarness {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedCellLoadHarness.class);
+
+    static final String CHECKPOINT_LOAD_HARNESS = "loadHarness";
+
+    private static final List<String> PROPAGATION_LABELS = Arrays.asList(
+            CHECKPOINT_TJC_INTERNAL,
+            CHECKPOINT_GATEWAY_CLIENT,
+            CHECKPOINT_GATEWAY_INTERNAL,
+            CHECKPOINT_LOAD_HARNESS
+    );
+
+    private static final String RECONCILIATION_LOOP_METRIC = "titus.reconciliation.framework.executionTime";
+
+    private static final int QUERY_PAGE_SIZE = 100;
+    private static final int MAX_REPLACED_JOBS_PER_ROUND = 50;
+
+    private final LoadConfiguration configuration;
+    private final EmbeddedTitusCell cell;
+    private final Random random = new Random();
+
+    private final LatencyRecorder apiRecorder = new LatencyRecorder();
+    private final LatencyRecorder propagationRecorder = new LatencyRecorder();
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final List<LoadReport.ResourceSample> samples = new CopyOnWriteArrayList<>();
+    private final List<JobEventWatcher> watchers = new ArrayList<>();
+
+    private final Set<String> batchJobIds = ConcurrentHashMap.newKeySet();
+    private final Set<String> serviceJobIds = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger jobSequence = new AtomicInteger();
+
+    private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+    private long lastLoopCount;
+    private long lastLoopTotalTimeNs;
+
+    private EmbeddedKubeCluster kubeCluster;
+    private JobManagementServiceBlockingStub client;
+
+    public EmbeddedCellLoadHarness(LoadConfiguration configuration) {
+        this.configuration = configuration;
+        this.cell = EmbeddedTitusCells.basicKubeCell(configuration.getKubeNodesPerServerGroup());
+    }
+
+    public LoadReport run() throws InterruptedException {
+        logger.info("Starting load harness: {}", configuration);
+        long startTime = System.currentTimeMillis();
+
+        cell.boot();
+        this.kubeCluster = cell.getEmbeddedKubeCluster();
+        this.client = cell.getTitusOperations().getV3BlockingGrpcClient();
+        EmbeddedKubeDriver kubeDriver = new EmbeddedKubeDriver(kubeCluster, batchJobIds::contains, configuration.getBatchTaskRuntimeMs());
+        Timer loopTimer = cell.getMaster().getInstance(Registry.class).timer(RECONCILIATION_LOOP_METRIC);
+
+        ScheduledExecutorService kubeExecutor = Executors.newSingleThreadScheduledExecutor(newThreadFactory("load-kube"));
+        ScheduledExecutorService workloadExecutor = Executors.newScheduledThreadPool(4, newThreadFactory("load-workload"));
+        ExecutorService apiExecutor = Executors.newFixedThreadPool(configuration.getApiConcurrency(), newThreadFactory("load-api"));
+        try {
+            workloadExecutor.scheduleAtFixedRate(
+                    () -> safely("sample", () -> sample(loopTimer)), 0, configuration.getSampleIntervalMs(), TimeUnit.MILLISECONDS
+            );
+            kubeExecutor.scheduleWithFixedDelay(
+                    () -> safely("kubeDriver", kubeDriver::runOnce), 0, configuration.getKubeDriverIntervalMs(), TimeUnit.MILLISECONDS
+            );
+            startWatchers(cell.getTitusOperations().getV3GrpcClient());
+
+            submitInitialJobs(apiExecutor);
+            logger.info("Submitted initial jobs in {}ms", System.currentTimeMillis() - startTime);
+
+            workloadExecutor.scheduleWithFixedDelay(
+                    () -> safely("scale", this::scaleServiceJob), 0, configuration.getScaleIntervalMs(), TimeUnit.MILLISECONDS
+            );
+            workloadExecutor.scheduleWithFixedDelay(
+                    () -> safely("kill", this::killTask), 0, configuration.getKillIntervalMs(), TimeUnit.MILLISECONDS
+            );
+            workloadExecutor.scheduleWithFixedDelay(
+                    () -> safely("query", this::queryJobs), 0, configuration.getQueryIntervalMs(), TimeUnit.MILLISECONDS
+            );
+            workloadExecutor.scheduleWithFixedDelay(
+                    () -> safely("replaceBatchJobs", this::replaceCompletedBatchJobs), 1_000, 1_000, TimeUnit.MILLISECONDS
+            );
+            kubeExecutor.scheduleWithFixedDelay(
+                    () -> safely("nodeChurn", () -> churnNode(kubeDriver)),
+                    configuration.getNodeChurnIntervalMs(), configuration.getNodeChurnIntervalMs(), TimeUnit.MILLISECONDS
+            );
+
+            long remainingMs = startTime + configuration.getDurationMs() - System.currentTimeMillis();
+            if (remainingMs > 0) {
+                Thread.sleep(remainingMs);
+            }
+            safely("sample", () -> sample(loopTimer));
+        } finally {
+            workloadExecutor.shutdownNow();
+            kubeExecutor.shutdownNow();
+            apiExecutor.shutdownNow();
+            watchers.forEach(JobEventWatcher::close);
+        }
+
+        recordWatcherCounters();
+        LoadReport report = new LoadReport(
+                configuration,
+                startTime,
+                System.currentTimeMillis(),
+                toCounterValues(),
+                apiRecorder,
+                propagationRecorder,
+                new ArrayList<>(samples)
+        );
+        cell.shutdown();
+        return report;
+    }
+
+    private void startWatchers(JobManagementServiceStub asyncClient) {
+        for (int i = 0; i < configuration.getWatchers(); i++) {
+            // The first watcher also tracks the job lifecycle, so completed jobs can be replaced.
+            JobEventWatcher watcher = new JobEventWatcher(
+                    "watcher#" + i,
+                    CHECKPOINT_LOAD_HARNESS,
+                    PROPAGATION_LABELS,
+                    propagationRecorder,
+                    Clocks.system(),
+                    i == 0 ? this::trackJobState : notification -> {
+                    }
+            );
+            asyncClient.observeJobs(ObserveJobsQuery.newBuilder().build(), watcher);
+            watchers.add(watcher);
+        }
+    }
+
+    private void trackJobState(JobChangeNotification notification) {
+        if (notification.getNotificationCase() != JobChangeNotification.NotificationCase.JOBUPDATE) {
+            return;
+        }
+        com.netflix.titus.grpc.protogen.Job job = notification.getJobUpdate().getJob();
+        if (job.getStatus().getState() == JobStatus.JobState.Finished) {
+            if (batchJobIds.remove(job.getId())) {
+                increment("batchJobsCompleted");
+            }
+            serviceJobIds.remove(job.getId());
+        }
+    }
+
+    private void submitInitialJobs(ExecutorService apiExecutor) throws InterruptedException {
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < configuration.getBatchJobs(); i++) {
+            futures.add(apiExecutor.submit(this::submitBatchJob));
+        }
+        for (int i = 0; i < configuration.getServiceJobs(); i++) {
+            futures.add(apiExecutor.submit(this::submitServiceJob));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                logger.warn("Job submission failure: {}", e.getCause().getMessage());
+            }
+        }
+    }
+
+    private void submitBatchJob() {
+        JobDescriptor<BatchJobExt> jobDescriptor = JobDescriptorGenerator.batchJobDescriptor(configuration.getBatchJobSize());
+        callApi("createJob", () -> client.createJob(toGrpcJobDescriptor(jobDescriptor)).getId()).ifPresent(jobId -> {
+            batchJobIds.add(jobId);
+            increment("batchJobsSubmitted");
+        });
+    }
+
+    /**
+     * Service jobs with the same application name, stack, detail and sequence are rejected, so each job gets its own
+     * sequence number.
+     */
+    private void submitServiceJob() {
+        JobDescriptor<ServiceJobExt> template = JobFunctions.changeServiceJobCapacity(
+                JobDescriptorGenerator.oneTaskServiceJobDescriptor(),
+                Capacity.newBuilder()
+                        .withMin(0)
+                        .withDesired(configuration.getServiceJobDesired())
+                        .withMax(Math.max(configuration.getServiceJobDesired(), configuration.getServiceJobMax()))
+                        .build()
+        );
+        JobDescriptor<ServiceJobExt> jobDescriptor = template.toBuilder()
+                .withJobGroupInfo(template.getJobGroupInfo().toBuilder()
+                        .withSequence(String.format("%06d", jobSequence.getAndIncrement()))
+                        .build()
+                )
+                .build();
+        callApi("createJob", () -> client.createJob(toGrpcJobDescriptor(jobDescriptor)).getId()).ifPresent(jobId -> {
+            serviceJobIds.add(jobId);
+            increment("serviceJobsSubmitted");
+        });
+    }
+
+    private void replaceCompletedBatchJobs() {
+        int missing = Math.min(MAX_REPLACED_JOBS_PER_ROUND, configuration.getBatchJobs() - batchJobIds.size());
+        for (int i = 0; i < missing; i++) {
+            submitBatchJob();
+        }
+    }
+
+    private void scaleServiceJob() {
+        pickRandom(serviceJobIds).ifPresent(jobId -> {
+            int max = Math.max(configuration.getServiceJobDesired(), configuration.getServiceJobMax());
+            com.netflix.titus.grpc.protogen.Capacity capacity = com.netflix.titus.grpc.protogen.Capacity.newBuilder()
+                    .setMin(0)
+                    .setDesired(1 + random.nextInt(max))
+                    .setMax(max)
+                    .build();
+            callApi("updateJobCapacity", () -> client.updateJobCapacity(
+                    JobCapacityUpdate.newBuilder().setJobId(jobId).setCapacity(capacity).build()
+            )).ifPresent(ignored -> increment("serviceJobsScaled"));
+        });
+    }
+
+    private void killTask() {
+        List<String> runningTaskIds = new ArrayList<>();
+        for (EmbeddedKubePod embeddedPod : kubeCluster.getEmbeddedPods().values()) {
+            V1Pod pod = embeddedPod.getV1Pod();
+            if (pod.getStatus() != null && "Running".equals(pod.getStatus().getPhase()) && pod.getMetadata().getDeletionTimestamp() == null) {
+                runningTaskIds.add(pod.getMetadata().getName());
+            }
+        }
+        pickRandom(runningTaskIds).ifPresent(taskId ->
+                callApi("killTask", () -> client.killTask(TaskKillRequest.newBuilder().setTaskId(taskId).setShrink(false).build()))
+                        .ifPresent(ignored -> increment("tasksKilled"))
+        );
+    }
+
+    private void queryJobs() {
+        callApi("findJobs", () -> client.findJobs(JobQuery.newBuilder()
+                .setPage(Page.newBuilder().setPageSize(QUERY_PAGE_SIZE))
+                .build()
+        ));
+    }
+
+    private void churnNode(EmbeddedKubeDriver kubeDriver) {
+        String nodeName = kubeDriver.churnNode();
+        if (nodeName != null) {
+            logger.info("Replaced node {}", nodeName);
+            increment("nodesReplaced");
+        }
+    }
+
+    private void sample(Timer loopTimer) {
+        long loopCount = loopTimer.count();
+        long loopTotalTimeNs = loopTimer.totalTime();
+        long iterations = loopCount - lastLoopCount;
+        long loopTimeNs = loopTotalTimeNs - lastLoopTotalTimeNs;
+        lastLoopCount = loopCount;
+        lastLoopTotalTimeNs = loopTotalTimeNs;
+
+        samples.add(new LoadReport.ResourceSample(
+                System.currentTimeMillis(),
+                memoryBean.getHeapMemoryUsage().getUsed(),
+                iterations,
+                iterations == 0 ? 0.0 : loopTimeNs / 1_000_000.0 / iterations
+        ));
+    }
+
+    private <T> Optional<T> callApi(String operation, Supplier<T> action) {
+        long startTime = System.nanoTime();
+        try {
+            T result = action.get();
+            apiRecorder.record(operation, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime));
+            return Optional.of(result);
+        } catch (Exception e) {
+            apiRecorder.recordError(operation);
+            logger.debug("API call {} failed: {}", operation, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private <T> Optional<T> pickRandom(Iterable<T> items) {
+        List<T> snapshot = new ArrayList<>();
+        items.forEach(snapshot::add);
+        return snapshot.isEmpty() ? Optional.empty() : Optional.of(snapshot.get(random.nextInt(snapshot.size())));
+    }
+
+    private void recordWatcherCounters() {
+        long receivedEvents = 0;
+        long terminated = 0;
+        for (JobEventWatcher watcher : watchers) {
+            receivedEvents += watcher.getReceivedEvents();
+            terminated += watcher.isTerminated() ? 1 : 0;
+        }
+        counters.put("watchers", new AtomicLong(watchers.size()));
+        counters.put("watcherEventsReceived", new AtomicLong(receivedEvents));
+        counters.put("watchersTerminated", new AtomicLong(terminated));
+    }
+
+    private void increment(String counter) {
+        counters.computeIfAbsent(counter, c -> new AtomicLong()).incrementAndGet();
+    }
+
+    private Map<String, Long> toCounterValues() {
+        Map<String, Long> result = new HashMap<>();
+        counters.forEach((name, value) -> result.put(name, value.get()));
+        return result;
+    }
+
+    /**
+     * Scheduled executors stop running a periodic action after it throws an exception, so all errors are logged here.
+     */
+    private static void safely(String action, Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (Exception e) {
+            logger.warn("Load harness action {} failed", action, e);
+        }
+    }
+
+    private static ThreadFactory newThreadFactory(String namePrefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + '-' + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.testkit.perf.load;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.netflix.titus.testkit.util.cli.CommandLineBuilder;
+import com.netflix.titus.testkit.util.cli.CommandLineFacade;
+import org.apache.commons.cli.Option;
+import org.apache.log4j.PropertyConfigurator;
+
+/**
+ * Runs {@link EmbeddedCellLoadHarness} from the command line, and writes the report to a file.
+ */
+public class EmbeddedCellLoadRunner {
+
+    static {
+        PropertyConfigurator.configure(EmbeddedCellLoadRunner.class.getClassLoader().getResource("load-log4j.properties"));
+    }
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        CommandLineFacade cliFacade = buildCliFacade(args);
+
+        LoadConfiguration configuration = LoadConfiguration.newBuilder()
+                .withKubeNodesPerServerGroup(cliFacade.getInt("n"))
+                .withBatchJobs(cliFacade.getInt("b"))
+                .withServiceJobs(cliFacade.getInt("s"))
+                .withWatchers(cliFacade.getInt("w"))
+                .withDurationMs(cliFacade.getInt("d") * 1_000L)
+                .withNodeChurnIntervalMs(cliFacade.getInt("c") * 1_000L)
+                .withReportFile(cliFacade.getString("r"))
+                .build();
+
+        LoadReport report = new EmbeddedCellLoadHarness(configuration).run();
+        report.writeTo(new File(configuration.getReportFile()));
+
+        System.out.println(report.toText());
+        System.out.println("Report written to " + configuration.getReportFile());
+        System.exit(0);
+    }
+
+    private static CommandLineFacade buildCliFacade(String[] args) {
+        LoadConfiguration defaults = LoadConfiguration.newBuilder().build();
+        CommandLineFacade cliFacade = CommandLineBuilder.newApacheCli()
+                .withOption(intOption("n", "nodes", "Number of nodes in each server group", defaults.getKubeNodesPerServerGroup()),
+                        defaults.getKubeNodesPerServerGroup())
+                .withOption(intOption("b", "batch", "Number of active batch jobs", defaults.getBatchJobs()),
+                        defaults.getBatchJobs())
+                .withOption(intOption("s", "service", "Number of service jobs", defaults.getServiceJobs()),
+                        defaults.getServiceJobs())
+                .withOption(intOption("w", "watchers", "Number of observeJobs watchers", defaults.getWatchers()),
+                        defaults.getWatchers())
+                .withOption(intOption("d", "duration", "Run duration in seconds", (int) (defaults.getDurationMs() / 1_000)),
+                        (int) (defaults.getDurationMs() / 1_000))
+                .withOption(intOption("c", "churn", "Node replacement interval in seconds", (int) (defaults.getNodeChurnIntervalMs() / 1_000)),
+                        (int) (defaults.getNodeChurnIntervalMs() / 1_000))
+                .withOption(Option.builder("r").longOpt("report").argName("file").hasArg()
+                                .desc(String.format("Report file (default %s)", defaults.getReportFile()))
+                                .build(),
+                        defaults.getReportFile())
+                .build(args);
+
+        if (cliFacade.hasHelpOption()) {
+            cliFacade.printHelp("EmbeddedCellLoadRunner");
+            System.exit(-1);
+        }
+
+        return cliFacade;
+    }
+
+    private static Option intOption(String name, String longName, String description, int defaultValue) {
+        return Option.builder(name).longOpt(longName).argName("value").hasArg().type(Number.class)
+                .desc(String.format("%s (default %s)", description, defaultValue))
+                .build();
+    }
+}
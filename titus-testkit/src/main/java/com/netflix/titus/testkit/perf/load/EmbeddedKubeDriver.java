@@ -0,0 +1,153 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.testkit.perf.load;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import com.netflix.titus.runtime.kubernetes.KubeConstants;
+import com.netflix.titus.testkit.embedded.kube.EmbeddedKubeCluster;
+import com.netflix.titus.testkit.embedded.kube.EmbeddedKubeNode;
+import com.netflix.titus.testkit.embedded.kube.EmbeddedKubePod;
+import io.kubernetes.client.openapi.models.V1Pod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Plays the role of the Kubernetes scheduler and kubelets for the embedded cluster. Each round schedules the pending
+ * pods, starts the newly placed ones, completes the terminations requested by the master, finishes batch tasks after
+ * their configured runtime, and garbage collects the finished pods. It is not thread safe, and must be called from
+ * a single thread.
+ */
+class EmbeddedKubeDriver {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedKubeDriver.class);
+
+    private static final long FINISHED_POD_RETENTION_MS = 60_000;
+
+    private final EmbeddedKubeCluster kubeCluster;
+    private final Predicate<String> batchJobPredicate;
+    private final long batchTaskRuntimeMs;
+    private final Random random = new Random();
+
+    private final Map<String, Long> runningSince = new HashMap<>();
+    private final Map<String, Long> finishedSince = new HashMap<>();
+
+    EmbeddedKubeDriver(EmbeddedKubeCluster kubeCluster, Predicate<String> batchJobPredicate, long batchTaskRuntimeMs) {
+        this.kubeCluster = kubeCluster;
+        this.batchJobPredicate = batchJobPredicate;
+        this.batchTaskRuntimeMs = batchTaskRuntimeMs;
+        kubeCluster.allowPodTermination(true);
+    }
+
+    void runOnce() {
+        kubeCluster.schedule();
+
+        long now = System.currentTimeMillis();
+        Map<String, EmbeddedKubePod> pods = kubeCluster.getEmbeddedPods();
+        pods.forEach((podName, embeddedPod) -> {
+            try {
+                advancePod(podName, embeddedPod.getV1Pod(), now);
+            } catch (Exception e) {
+                logger.warn("Cannot advance pod state: podName={}, error={}", podName, e.getMessage());
+            }
+        });
+        runningSince.keySet().retainAll(pods.keySet());
+        finishedSince.keySet().retainAll(pods.keySet());
+    }
+
+    /**
+     * Simulates a node failure. All pods running on a randomly selected node are failed, the node is removed, and
+     * a replacement node is added to the same server group.
+     *
+     * @return the name of the terminated node, or null if there was no node with pods
+     */
+    String churnNode() {
+        List<EmbeddedKubeNode> candidates = new ArrayList<>();
+        kubeCluster.getFleet().getNodes().values().forEach(node -> {
+            if (!node.getAssignedPods().isEmpty()) {
+                candidates.add(node);
+            }
+        });
+        if (candidates.isEmpty()) {
+            return null;
+        }
+
+        EmbeddedKubeNode node = candidates.get(random.nextInt(candidates.size()));
+        for (String podName : new ArrayList<>(node.getAssignedPods().keySet())) {
+            try {
+                kubeCluster.moveToFinishedFailed(podName, "Node terminated");
+            } catch (Exception e) {
+                logger.warn("Cannot fail pod of a terminated node: podName={}, error={}", podName, e.getMessage());
+            }
+        }
+        kubeCluster.deleteNode(node.getName());
+        kubeCluster.addNodeToServerGroup(node.getServerGroup().getName());
+        return node.getName();
+    }
+
+    private void advancePod(String podName, V1Pod pod, long now) {
+        String phase = pod.getStatus() == null ? null : pod.getStatus().getPhase();
+        if ("Succeeded".equals(phase) || "Failed".equals(phase)) {
+            long finishedAt = finishedSince.computeIfAbsent(podName, name -> now);
+            if (now - finishedAt >= FINISHED_POD_RETENTION_MS) {
+                kubeCluster.removePod(podName);
+            }
+            return;
+        }
+        if (pod.getMetadata().getDeletionTimestamp() != null) {
+            finishPod(podName);
+            return;
+        }
+        if ("SCHEDULED".equals(pod.getStatus().getReason())) {
+            kubeCluster.moveToStartInitiatedState(podName);
+            kubeCluster.moveToStartedState(podName);
+            runningSince.put(podName, now);
+            return;
+        }
+        if ("Running".equals(phase) && isBatchPod(pod)) {
+            long startedAt = runningSince.computeIfAbsent(podName, name -> now);
+            if (now - startedAt >= batchTaskRuntimeMs) {
+                finishPod(podName);
+            }
+        }
+    }
+
+    /**
+     * A pod assigned to a node that no longer exists cannot go through the regular transition, so it is deleted.
+     */
+    private void finishPod(String podName) {
+        try {
+            kubeCluster.moveToFinishedSuccess(podName);
+        } catch (NullPointerException e) {
+            kubeCluster.deletePod(podName, 0);
+        }
+    }
+
+    private boolean isBatchPod(V1Pod pod) {
+        Map<String, String> labels = pod.getMetadata().getLabels();
+        if (labels == null) {
+            return false;
+        }
+        String jobId = labels.get(KubeConstants.POD_LABEL_JOB_ID);
+        return jobId != null && batchJobPredicate.test(jobId);
+    }
+}
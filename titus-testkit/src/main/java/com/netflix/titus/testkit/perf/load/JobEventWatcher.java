@@ -0,0 +1,134 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.testkit.perf.load;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.netflix.titus.common.util.event.EventPropagationUtil;
+import com.netflix.titus.common.util.time.Clock;
+import com.netflix.titus.grpc.protogen.Job;
+import com.netflix.titus.grpc.protogen.JobChangeNotification;
+import com.netflix.titus.grpc.protogen.ObserveJobsQuery;
+import com.netflix.titus.grpc.protogen.Task;
+import com.netflix.titus.runtime.connector.jobmanager.JobEventPropagationUtil;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An observeJobs subscriber, which adds its own checkpoint to the event propagation trace of each received job and
+ * task update, and records the per stage and total propagation delays. Events replayed in the initial snapshot
+ * are not measured.
+ */
+class JobEventWatcher implements ClientResponseObserver<ObserveJobsQuery, JobChangeNotification> {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobEventWatcher.class);
+
+    private final String name;
+    private final String checkpoint;
+    private final List<String> labels;
+    private final LatencyRecorder propagationRecorder;
+    private final Clock clock;
+    private final Consumer<JobChangeNotification> listener;
+
+    private final AtomicLong receivedEvents = new AtomicLong();
+
+    private volatile ClientCallStreamObserver<ObserveJobsQuery> requestStream;
+    private volatile boolean snapshotCompleted;
+    private volatile boolean terminated;
+
+    JobEventWatcher(String name,
+                    String checkpoint,
+                    List<String> labels,
+                    LatencyRecorder propagationRecorder,
+                    Clock clock,
+                    Consumer<JobChangeNotification> listener) {
+        this.name = name;
+        this.checkpoint = checkpoint;
+        this.labels = labels;
+        this.propagationRecorder = propagationRecorder;
+        this.clock = clock;
+        this.listener = listener;
+    }
+
+    long getReceivedEvents() {
+        return receivedEvents.get();
+    }
+
+    boolean isTerminated() {
+        return terminated;
+    }
+
+    void close() {
+        if (requestStream != null && !terminated) {
+            requestStream.cancel("Load harness stopped", null);
+        }
+    }
+
+    @Override
+    public void beforeStart(ClientCallStreamObserver<ObserveJobsQuery> requestStream) {
+        this.requestStream = requestStream;
+    }
+
+    @Override
+    public void onNext(JobChangeNotification notification) {
+        receivedEvents.incrementAndGet();
+        switch (notification.getNotificationCase()) {
+            case SNAPSHOTEND:
+                snapshotCompleted = true;
+                break;
+            case JOBUPDATE:
+                Job job = JobEventPropagationUtil.recordChannelLatency(checkpoint, notification.getJobUpdate().getJob(), notification.getTimestamp(), clock);
+                recordTrace("job", job.getJobDescriptor().getAttributesMap(), job.getVersion().getTimestamp());
+                break;
+            case TASKUPDATE:
+                Task task = JobEventPropagationUtil.recordChannelLatency(checkpoint, notification.getTaskUpdate().getTask(), notification.getTimestamp(), clock);
+                recordTrace("task", task.getAttributesMap(), task.getVersion().getTimestamp());
+                break;
+            default:
+                break;
+        }
+        listener.accept(notification);
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        terminated = true;
+        propagationRecorder.recordError("watcherTerminated");
+        logger.warn("Job event watcher {} terminated with an error: {}", name, error.getMessage());
+    }
+
+    @Override
+    public void onCompleted() {
+        terminated = true;
+        logger.info("Job event watcher {} completed", name);
+    }
+
+    private void recordTrace(String type, Map<String, String> attributes, long lastUpdateTimestamp) {
+        if (!snapshotCompleted) {
+            return;
+        }
+        EventPropagationUtil.parseTrace(attributes, false, lastUpdateTimestamp, labels).ifPresent(trace -> {
+            propagationRecorder.record(type + ".total", trace.getTotalDelayMs());
+            trace.getStages().forEach((stage, delayMs) -> propagationRecorder.record(type + "." + stage, delayMs));
+        });
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.testkit.perf.load;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Collects latency distributions and error counts, keyed by a name. The time unit is chosen by the caller. Safe to use
+ * from multiple threads.
+ */
+class LatencyRecorder {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> errors = new ConcurrentHashMap<>();
+
+    void record(String name, long latencyMs) {
+        histograms.computeIfAbsent(name, n -> new ConcurrentHistogram(SIGNIFICANT_DIGITS)).recordValue(Math.max(0, latencyMs));
+    }
+
+    void recordError(String name) {
+        errors.computeIfAbsent(name, n -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Returns a copy of the current histograms, sorted by name.
+     */
+    Map<String, Histogram> getHistograms() {
+        Map<String, Histogram> result = new TreeMap<>();
+        histograms.forEach((name, histogram) -> result.put(name, histogram.copy()));
+        return result;
+    }
+
+    Map<String, Long> getErrors() {
+        Map<String, Long> result = new TreeMap<>();
+        errors.forEach((name, counter) -> result.put(name, counter.get()));
+        return result;
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.testkit.perf.load;
+
+/**
+ * Load profile of {@link EmbeddedCellLoadHarness}. All intervals are in milliseconds.
+ */
+public class LoadConfiguration {
+
+    private final int kubeNodesPerServerGroup;
+    private final int batchJobs;
+    private final int batchJobSize;
+    private final long batchTaskRuntimeMs;
+    private final int serviceJobs;
+    private final int serviceJobDesired;
+    private final int serviceJobMax;
+    private final int watchers;
+    private final int apiConcurrency;
+    private final long durationMs;
+    private final long scaleIntervalMs;
+    private final long killIntervalMs;
+    private final long nodeChurnIntervalMs;
+    private final long queryIntervalMs;
+    private final long kubeDriverIntervalMs;
+    private final long sampleIntervalMs;
+    private final String reportFile;
+
+    private LoadConfiguration(Builder builder) {
+        this.kubeNodesPerServerGroup = builder.kubeNodesPerServerGroup;
+        this.batchJobs = builder.batchJobs;
+        this.batchJobSize = builder.batchJobSize;
+        this.batchTaskRuntimeMs = builder.batchTaskRuntimeMs;
+        this.serviceJobs = builder.serviceJobs;
+        this.serviceJobDesired = builder.serviceJobDesired;
+        this.serviceJobMax = builder.serviceJobMax;
+        this.watchers = builder.watchers;
+        this.apiConcurrency = builder.apiConcurrency;
+        this.durationMs = builder.durationMs;
+        this.scaleIntervalMs = builder.scaleIntervalMs;
+        this.killIntervalMs = builder.killIntervalMs;
+        this.nodeChurnIntervalMs = builder.nodeChurnIntervalMs;
+        this.queryIntervalMs = builder.queryIntervalMs;
+        this.kubeDriverIntervalMs = builder.kubeDriverIntervalMs;
+        this.sampleIntervalMs = builder.sampleIntervalMs;
+        this.reportFile = builder.reportFile;
+    }
+
+    public int getKubeNodesPerServerGroup() {
+        return kubeNodesPerServerGroup;
+    }
+
+    /**
+     * Number of batch jobs kept active. Batch jobs that complete are replaced with new ones.
+     */
+    public int getBatchJobs() {
+        return batchJobs;
+    }
+
+    public int getBatchJobSize() {
+        return batchJobSize;
+    }
+
+    /**
+     * Time after which a running batch task is moved to the finished state.
+     */
+    public long getBatchTaskRuntimeMs() {
+        return batchTaskRuntimeMs;
+    }
+
+    public int getServiceJobs() {
+        return serviceJobs;
+    }
+
+    public int getServiceJobDesired() {
+        return serviceJobDesired;
+    }
+
+    public int getServiceJobMax() {
+        return serviceJobMax;
+    }
+
+    public int getWatchers() {
+        return watchers;
+    }
+
+    public int getApiConcurrency() {
+        return apiConcurrency;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public long getScaleIntervalMs() {
+        return scaleIntervalMs;
+    }
+
+    public long getKillIntervalMs() {
+        return killIntervalMs;
+    }
+
+    public long getNodeChurnIntervalMs() {
+        return nodeChurnIntervalMs;
+    }
+
+    public long getQueryIntervalMs() {
+        return queryIntervalMs;
+    }
+
+    public long getKubeDriverIntervalMs() {
+        return kubeDriverIntervalMs;
+    }
+
+    public long getSampleIntervalMs() {
+        return sampleIntervalMs;
+    }
+
+    public String getReportFile() {
+        return reportFile;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadConfiguration{" +
+                "kubeNodesPerServerGroup=" + kubeNodesPerServerGroup +
+                ", batchJobs=" + batchJobs +
+                ", batchJobSize=" + batchJobSize +
+                ", batchTaskRuntimeMs=" + batchTaskRuntimeMs +
+                ", serviceJobs=" + serviceJobs +
+                ", serviceJobDesired=" + serviceJobDesired +
+                ", serviceJobMax=" + serviceJobMax +
+                ", watchers=" + watchers +
+                ", apiConcurrency=" + apiConcurrency +
+                ", durationMs=" + durationMs +
+                ", scaleIntervalMs=" + scaleIntervalMs +
+                ", killIntervalMs=" + killIntervalMs +
+                ", nodeChurnIntervalMs=" + nodeChurnIntervalMs +
+                ", queryIntervalMs=" + queryIntervalMs +
+                ", kubeDriverIntervalMs=" + kubeDriverIntervalMs +
+                ", sampleIntervalMs=" + sampleIntervalMs +
+                ", reportFile='" + reportFile + '\'' +
+                '}';
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private int kubeNodesPerServerGroup = 100;
+        private int batchJobs = 1_000;
+        private int batchJobSize = 2;
+        private long batchTaskRuntimeMs = 60_000;
+        private int serviceJobs = 1_000;
+        private int serviceJobDesired = 2;
+        private int serviceJobMax = 10;
+        private int watchers = 100;
+        private int apiConcurrency = 16;
+        private long durationMs = 10 * 60_000;
+        private long scaleIntervalMs = 200;
+        private long killIntervalMs = 200;
+        private long nodeChurnIntervalMs = 30_000;
+        private long queryIntervalMs = 1_000;
+        private long kubeDriverIntervalMs = 100;
+        private long sampleIntervalMs = 5_000;
+        private String reportFile = "load-report.txt";
+
+        private Builder() {
+        }
+
+        public Builder withKubeNodesPerServerGroup(int kubeNodesPerServerGroup) {
+            this.kubeNodesPerServerGroup = kubeNodesPerServerGroup;
+            return this;
+        }
+
+        public Builder withBatchJobs(int batchJobs) {
+            this.batchJobs = batchJobs;
+            return this;
+        }
+
+        public Builder withBatchJobSize(int batchJobSize) {
+            this.batchJobSize = batchJobSize;
+            return this;
+        }
+
+        public Builder withBatchTaskRuntimeMs(long batchTaskRuntimeMs) {
+            this.batchTaskRuntimeMs = batchTaskRuntimeMs;
+            return this;
+        }
+
+        public Builder withServiceJobs(int serviceJobs) {
+            this.serviceJobs = serviceJobs;
+            return this;
+        }
+
+        public Builder withServiceJobDesired(int serviceJobDesired) {
+            this.serviceJobDesired = serviceJobDesired;
+            return this;
+        }
+
+        public Builder withServiceJobMax(int serviceJobMax) {
+            this.serviceJobMax = serviceJobMax;
+            return this;
+        }
+
+        public Builder withWatchers(int watchers) {
+            this.watchers = watchers;
+            return this;
+        }
+
+        public Builder withApiConcurrency(int apiConcurrency) {
+            this.apiConcurrency = apiConcurrency;
+            return this;
+        }
+
+        public Builder withDurationMs(long durationMs) {
+            this.durationMs = durationMs;
+            return this;
+        }
+
+        public Builder withScaleIntervalMs(long scaleIntervalMs) {
+            this.scaleIntervalMs = scaleIntervalMs;
+            return this;
+        }
+
+        public Builder withKillIntervalMs(long killIntervalMs) {
+            this.killIntervalMs = killIntervalMs;
+            return this;
+        }
+
+        public Builder withNodeChurnIntervalMs(long nodeChurnIntervalMs) {
+            this.nodeChurnIntervalMs = nodeChurnIntervalMs;
+            return this;
+        }
+
+        public Builder withQueryIntervalMs(long queryIntervalMs) {
+            this.queryIntervalMs = queryIntervalMs;
+            return this;
+        }
+
+        public Builder withKubeDriverIntervalMs(long kubeDriverIntervalMs) {
+            this.kubeDriverIntervalMs = kubeDriverIntervalMs;
+            return this;
+        }
+
+        public Builder withSampleIntervalMs(long sampleIntervalMs) {
+            this.sampleIntervalMs = sampleIntervalMs;
+            return this;
+        }
+
+        public Builder withReportFile(String reportFile) {
+            this.reportFile = reportFile;
+            return this;
+        }
+
+        public LoadConfiguration build() {
+            return new LoadConfiguration(this);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.testkit.perf.load;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Result of a {@link EmbeddedCellLoadHarness} run.
+ */
+public class LoadReport {
+
+    private static final long MB = 1024 * 1024;
+
+    private final LoadConfiguration configuration;
+    private final long startTime;
+    private final long endTime;
+    private final Map<String, Long> counters;
+    private final Map<String, Histogram> apiLatencies;
+    private final Map<String, Long> apiErrors;
+    private final Map<String, Histogram> propagationLatencies;
+    private final Map<String, Long> propagationErrors;
+    private final List<ResourceSample> samples;
+
+    LoadReport(LoadConfiguration configuration,
+               long startTime,
+               long endTime,
+               Map<String, Long> counters,
+               LatencyRecorder apiRecorder,
+               LatencyRecorder propagationRecorder,
+               List<ResourceSample> samples) {
+        this.configuration = configuration;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.counters = new TreeMap<>(counters);
+        this.apiLatencies = apiRecorder.getHistograms();
+        this.apiErrors = apiRecorder.getErrors();
+        this.propagationLatencies = propagationRecorder.getHistograms();
+        this.propagationErrors = propagationRecorder.getErrors();
+        this.samples = samples;
+    }
+
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    public Map<String, Histogram> getApiLatencies() {
+        return apiLatencies;
+    }
+
+    public Map<String, Histogram> getPropagationLatencies() {
+        return propagationLatencies;
+    }
+
+    public List<ResourceSample> getSamples() {
+        return samples;
+    }
+
+    public void writeTo(File file) throws IOException {
+        try (Writer writer = new FileWriter(file)) {
+            writer.write(toText());
+        }
+    }
+
+    public String toText() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Embedded cell load report\n");
+        sb.append("=========================\n");
+        sb.append(configuration).append('\n');
+        sb.append(String.format("Duration: %ds%n%n", (endTime - startTime) / 1_000));
+
+        sb.append("Counters\n");
+        counters.forEach((name, value) -> sb.append(String.format("  %-32s %d%n", name, value)));
+        sb.append('\n');
+
+        sb.append("API latency [ms]\n");
+        appendHistograms(sb, apiLatencies, apiErrors);
+        sb.append('\n');
+
+        sb.append("Event propagation latency [ms]\n");
+        appendHistograms(sb, propagationLatencies, propagationErrors);
+        sb.append('\n');
+
+        appendResourceUsage(sb);
+        return sb.toString();
+    }
+
+    private void appendHistograms(StringBuilder sb, Map<String, Histogram> histograms, Map<String, Long> errors) {
+        sb.append(String.format("  %-32s %10s %8s %8s %8s %8s %8s %8s%n", "name", "count", "p50", "p90", "p99", "p99.9", "max", "errors"));
+        histograms.forEach((name, histogram) -> sb.append(String.format("  %-32s %10d %8d %8d %8d %8d %8d %8d%n",
+                name,
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(90),
+                histogram.getValueAtPercentile(99),
+                histogram.getValueAtPercentile(99.9),
+                histogram.getMaxValue(),
+                errors.getOrDefault(name, 0L)
+        )));
+        errors.forEach((name, count) -> {
+            if (!histograms.containsKey(name)) {
+                sb.append(String.format("  %-32s %10d %8s %8s %8s %8s %8s %8d%n", name, 0, "-", "-", "-", "-", "-", count));
+            }
+        });
+    }
+
+    private void appendResourceUsage(StringBuilder sb) {
+        if (samples.isEmpty()) {
+            return;
+        }
+        long peakHeap = 0;
+        double peakLoopTimeMs = 0;
+        long iterations = 0;
+        double totalLoopTimeMs = 0;
+        for (ResourceSample sample : samples) {
+            peakHeap = Math.max(peakHeap, sample.getHeapUsedBytes());
+            peakLoopTimeMs = Math.max(peakLoopTimeMs, sample.getAverageLoopTimeMs());
+            iterations += sample.getLoopIterations();
+            totalLoopTimeMs += sample.getAverageLoopTimeMs() * sample.getLoopIterations();
+        }
+
+        sb.append("Heap [MB]\n");
+        sb.append(String.format("  initial=%d, peak=%d, final=%d%n%n",
+                samples.get(0).getHeapUsedBytes() / MB, peakHeap / MB, samples.get(samples.size() - 1).getHeapUsedBytes() / MB
+        ));
+
+        sb.append("Reconciliation loop\n");
+        sb.append(String.format("  iterations=%d, averageTimeMs=%.2f, peakSampleAverageTimeMs=%.2f%n%n",
+                iterations, iterations == 0 ? 0.0 : totalLoopTimeMs / iterations, peakLoopTimeMs
+        ));
+
+        sb.append("Samples\n");
+        sb.append(String.format("  %8s %10s %12s %14s%n", "time[s]", "heap[MB]", "iterations", "avgLoop[ms]"));
+        for (ResourceSample sample : samples) {
+            sb.append(String.format("  %8d %10d %12d %14.2f%n",
+                    (sample.getTimestamp() - startTime) / 1_000,
+                    sample.getHeapUsedBytes() / MB,
+                    sample.getLoopIterations(),
+                    sample.getAverageLoopTimeMs()
+            ));
+        }
+    }
+
+    /**
+     * Heap usage and reconciliation loop statistics collected over one sampling interval.
+     */
+    public static class ResourceSample {
+
+        private final long timestamp;
+        private final long heapUsedBytes;
+        private final long loopIterations;
+        private final double averageLoopTimeMs;
+
+        ResourceSample(long timestamp, long heapUsedBytes, long loopIterations, double averageLoopTimeMs) {
+            this.timestamp = timestamp;
+            this.heapUsedBytes = heapUsedBytes;
+            this.loopIterations = loopIterations;
+            this.averageLoopTimeMs = averageLoopTimeMs;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public long getHeapUsedBytes() {
+            return heapUsedBytes;
+        }
+
+        public long getLoopIterations() {
+            return loopIterations;
+        }
+
+        public double getAverageLoopTimeMs() {
+            return averageLoopTimeMs;
+        }
+    }
+}
@@ -60,6 +60,12 @@ public class CommandLineBuilder {
         return this;
     }
 
+    public CommandLineBuilder withOption(Option option, Object defaultValue) {
+        this.options.addOption(option);
+        defaults.put(option.getOpt(), defaultValue);
+        return this;
+    }
+
     public CommandLineFacade build(String[] args) {
         if(hasHelpOption(args)) {
             return new CommandLineFacade(options);
@@ -100,6 +100,22 @@ public class EmbeddedKubeClusterTest {
         assertThat(pod1Finished.getStatus().getPhase()).isEqualTo("Failed");
     }
 
+    @Test
+    public void testScheduleDoesNotMoveAssignedPods() {
+        V1Pod pod1 = NodeAndPodCatalog.newPod(RESOURCE_POOL_ELASTIC);
+        String pod1Name = pod1.getMetadata().getName();
+
+        embeddedKubeCluster.addPod(pod1);
+        embeddedKubeCluster.schedule();
+        embeddedKubeCluster.moveToStartInitiatedState(pod1Name);
+        embeddedKubeCluster.moveToStartedState(pod1Name);
+
+        embeddedKubeCluster.schedule();
+        V1Pod pod1AfterSchedule = embeddedKubeCluster.getPods().get(pod1Name);
+        assertThat(pod1AfterSchedule.getStatus().getPhase()).isEqualTo("Running");
+        assertThat(pod1AfterSchedule.getStatus().getReason()).isEqualTo("TASK_RUNNING");
+    }
+
     private void expectPodEvent(Iterator<EmbeddedKubeEvent<V1Pod>> eventIt, EmbeddedKubeEvent.Kind expectedKind, V1Pod expected) {
         assertThat(eventIt.hasNext()).isTrue();
         EmbeddedKubeEvent<V1Pod> event = eventIt.next();
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2022 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.titus.testkit.perf.load;
+
+import com.netflix.titus.testkit.junit.category.IntegrationTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Category(IntegrationTest.class)
+public class EmbeddedCellLoadHarnessTest {
+
+    @Test(timeout = 120_000)
+    public void testSmallLoadRun() throws Exception {
+        LoadConfiguration configuration = LoadConfiguration.newBuilder()
+                .withKubeNodesPerServerGroup(5)
+                .withBatchJobs(5)
+                .withBatchTaskRuntimeMs(2_000)
+                .withServiceJobs(5)
+                .withWatchers(3)
+                .withDurationMs(20_000)
+                .withScaleIntervalMs(1_000)
+                .withKillIntervalMs(1_000)
+                .withNodeChurnIntervalMs(5_000)
+                .withSampleIntervalMs(1_000)
+                .build();
+
+        LoadReport report = new EmbeddedCellLoadHarness(configuration).run();
+
+        assertThat(report.getCounters()).containsEntry("serviceJobsSubmitted", 5L);
+        assertThat(report.getCounters().get("batchJobsSubmitted")).isGreaterThanOrEqualTo(5L);
+        assertThat(report.getCounters()).containsEntry("watchersTerminated", 0L);
+        assertThat(report.getApiLatencies()).containsKeys("createJob", "findJobs");
+        assertThat(report.getPropagationLatencies()).containsKeys("job.total", "task.total");
+        assertThat(report.getSamples()).isNotEmpty();
+        assertThat(report.toText()).contains("Event propagation latency");
+    }
+}